@@ -334,7 +334,7 @@ class CglibAopProxy implements AopProxy, Serializable {
 			for (int x = 0; x < methods.length; x++) {
 				List<Object> chain = this.advised.getInterceptorsAndDynamicInterceptionAdvice(methods[x], rootClass);
 				fixedCallbacks[x] = new FixedChainStaticTargetInterceptor(
-						chain, this.advised.getTargetSource().getTarget(), this.advised.getTargetClass());
+						chain, this.advised.getTargetSource().getTarget(), this.advised.getTargetClass(), exposeProxy);
 				this.fixedInterceptorMap.put(methods[x].toString(), x);
 			}
 
@@ -624,6 +624,7 @@ class CglibAopProxy implements AopProxy, Serializable {
 
 	/**
 	 * Interceptor used specifically for advised methods on a frozen, static proxy.
+	 * Exposes the proxy to {@link AopContext} around the invocation if necessary.
 	 */
 	private static class FixedChainStaticTargetInterceptor implements MethodInterceptor, Serializable {
 
@@ -635,23 +636,37 @@ class CglibAopProxy implements AopProxy, Serializable {
 		@Nullable
 		private final Class<?> targetClass;
 
-		public FixedChainStaticTargetInterceptor(
-				List<Object> adviceChain, @Nullable Object target, @Nullable Class<?> targetClass) {
+		private final boolean exposeProxy;
+
+		public FixedChainStaticTargetInterceptor(List<Object> adviceChain, @Nullable Object target,
+				@Nullable Class<?> targetClass, boolean exposeProxy) {
 
 			this.adviceChain = adviceChain;
 			this.target = target;
 			this.targetClass = targetClass;
+			this.exposeProxy = exposeProxy;
 		}
 
 		@Override
 		@Nullable
 		public Object intercept(Object proxy, Method method, Object[] args, MethodProxy methodProxy) throws Throwable {
-			MethodInvocation invocation = new CglibMethodInvocation(proxy, this.target, method, args,
-					this.targetClass, this.adviceChain, methodProxy);
-			// If we get here, we need to create a MethodInvocation.
-			Object retVal = invocation.proceed();
-			retVal = processReturnType(proxy, this.target, method, retVal);
-			return retVal;
+			Object oldProxy = null;
+			if (this.exposeProxy) {
+				oldProxy = AopContext.setCurrentProxy(proxy);
+			}
+			try {
+				MethodInvocation invocation = new CglibMethodInvocation(proxy, this.target, method, args,
+						this.targetClass, this.adviceChain, methodProxy);
+				// If we get here, we need to create a MethodInvocation.
+				Object retVal = invocation.proceed();
+				retVal = processReturnType(proxy, this.target, method, retVal);
+				return retVal;
+			}
+			finally {
+				if (this.exposeProxy) {
+					AopContext.setCurrentProxy(oldProxy);
+				}
+			}
 		}
 	}
 
@@ -874,15 +889,9 @@ class CglibAopProxy implements AopProxy, Serializable {
 			boolean isStatic = this.advised.getTargetSource().isStatic();
 			boolean isFrozen = this.advised.isFrozen();
 			if (haveAdvice || !isFrozen) {
-				// If exposing the proxy, then AOP_PROXY must be used.
-				if (exposeProxy) {
-					if (logger.isTraceEnabled()) {
-						logger.trace("Must expose proxy on advised method: " + method);
-					}
-					return AOP_PROXY;
-				}
 				String key = method.toString();
-				// Check to see if we have fixed interceptor to serve this method.
+				// Check to see if we have fixed interceptor to serve this method,
+				// which also takes care of exposing the proxy if necessary.
 				// Else use the AOP_PROXY.
 				if (isStatic && isFrozen && this.fixedInterceptorMap.containsKey(key)) {
 					if (logger.isTraceEnabled()) {
@@ -892,6 +901,13 @@ class CglibAopProxy implements AopProxy, Serializable {
 					int index = this.fixedInterceptorMap.get(key);
 					return (index + this.fixedInterceptorOffset);
 				}
+				// If exposing the proxy, then AOP_PROXY must be used.
+				else if (exposeProxy) {
+					if (logger.isTraceEnabled()) {
+						logger.trace("Must expose proxy on advised method: " + method);
+					}
+					return AOP_PROXY;
+				}
 				else {
 					if (logger.isTraceEnabled()) {
 						logger.trace("Unable to apply any optimizations to advised method: " + method);
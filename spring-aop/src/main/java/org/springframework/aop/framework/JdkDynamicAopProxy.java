@@ -23,16 +23,22 @@ import org.springframework.aop.AopInvocationException;
 import org.springframework.aop.RawTargetAccess;
 import org.springframework.aop.TargetSource;
 import org.springframework.aop.support.AopUtils;
+import org.springframework.cglib.reflect.FastClass;
 import org.springframework.core.DecoratingProxy;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
 
 import java.io.Serializable;
 import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.lang.reflect.Proxy;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * JDK-based {@link AopProxy} implementation for the Spring AOP framework,
@@ -52,6 +58,12 @@ import java.util.List;
  * <p>Proxies are serializable so long as all Advisors (including Advices
  * and Pointcuts) and the TargetSource are serializable.
  *
+ * <p>For a {@link ProxyConfig#isFrozen() frozen} configuration with a
+ * {@link TargetSource#isStatic() static} target, the interceptor chain of each
+ * method is bound once on first invocation, and the target method is called
+ * through a CGLIB-generated {@link FastClass} rather than through reflection
+ * where possible - analogous to the fixed chain optimization in CGLIB proxies.
+ *
  * @author Rod Johnson
  * @author Juergen Hoeller
  * @author Rob Harrop
@@ -101,6 +113,16 @@ final class JdkDynamicAopProxy implements AopProxy, InvocationHandler /* 重要
 	 */
 	private boolean hashCodeDefined;
 
+	/**
+	 * Whether the interceptor chains can be bound per method for the lifetime
+	 * of this proxy, i.e. whether the config is frozen and the target is static.
+	 */
+	private final boolean fixedChains;
+
+	/** Lazily built fixed chain dispatchers, keyed by proxied method. */
+	@Nullable
+	private transient volatile Map<Method, FixedChainDispatcher> fixedChainDispatchers;
+
 
 	/**
 	 * Construct a new JdkDynamicAopProxy for the given AOP configuration.
@@ -114,6 +136,7 @@ final class JdkDynamicAopProxy implements AopProxy, InvocationHandler /* 重要
 			throw new AopConfigException("No advisors and no TargetSource specified");
 		}
 		this.advised = config;
+		this.fixedChains = (config.isFrozen() && config.getTargetSource().isStatic());
 	}
 
 
@@ -214,7 +237,15 @@ final class JdkDynamicAopProxy implements AopProxy, InvocationHandler /* 重要
 
 			// Get the interception chain for this method.
             // 获得当前方法拦截的拦截器链
-			List<Object> chain = this.advised.getInterceptorsAndDynamicInterceptionAdvice(method, targetClass);
+			FixedChainDispatcher dispatcher = null;
+			List<Object> chain;
+			if (this.fixedChains) {
+				dispatcher = getFixedChainDispatcher(method, targetClass);
+				chain = dispatcher.getChain();
+			}
+			else {
+				chain = this.advised.getInterceptorsAndDynamicInterceptionAdvice(method, targetClass);
+			}
 
 			// Check whether we have any advice. If we don't, we can fallback on direct
 			// reflective invocation of the target, and avoid creating a MethodInvocation.
@@ -224,12 +255,15 @@ final class JdkDynamicAopProxy implements AopProxy, InvocationHandler /* 重要
 				// Note that the final invoker must be an InvokerInterceptor so we know it does
 				// nothing but a reflective operation on the target, and no hot swapping or fancy proxying.
 				Object[] argsToUse = AopProxyUtils.adaptArgumentsIfNecessary(method, args);
-				retVal = AopUtils.invokeJoinpointUsingReflection(target, method, argsToUse);
+				retVal = (dispatcher != null ? dispatcher.invokeTarget(target, argsToUse) :
+						AopUtils.invokeJoinpointUsingReflection(target, method, argsToUse));
 			} else {
 			    // 创建 ReflectiveMethodInvocation 对象
                 // 将拦截器链封装到该对象，以便使其 proceed 方法执行时，进行拦截处理
 				// We need to create a method invocation...
-				invocation = new ReflectiveMethodInvocation(proxy, target, method, args, targetClass, chain);
+				invocation = (dispatcher != null ?
+						new FixedChainMethodInvocation(proxy, target, method, args, targetClass, chain, dispatcher) :
+						new ReflectiveMethodInvocation(proxy, target, method, args, targetClass, chain));
 				// Proceed to the joinpoint through the interceptor chain.
                 // 执行拦截器和方法
 				retVal = invocation.proceed();
@@ -267,6 +301,25 @@ final class JdkDynamicAopProxy implements AopProxy, InvocationHandler /* 重要
 		}
 	}
 
+	/**
+	 * Obtain the fixed chain dispatcher for the given method, binding the
+	 * interceptor chain on first invocation of the method.
+	 */
+	private FixedChainDispatcher getFixedChainDispatcher(Method method, @Nullable Class<?> targetClass) {
+		Map<Method, FixedChainDispatcher> dispatchers = this.fixedChainDispatchers;
+		if (dispatchers == null) {
+			dispatchers = new ConcurrentHashMap<>(32);
+			this.fixedChainDispatchers = dispatchers;
+		}
+		FixedChainDispatcher dispatcher = dispatchers.get(method);
+		if (dispatcher == null) {
+			dispatcher = new FixedChainDispatcher(method, targetClass,
+					this.advised.getInterceptorsAndDynamicInterceptionAdvice(method, targetClass));
+			dispatchers.put(method, dispatcher);
+		}
+		return dispatcher;
+	}
+
 
 	/**
 	 * Equality means interfaces, advisors and TargetSource are equal.
@@ -310,4 +363,117 @@ final class JdkDynamicAopProxy implements AopProxy, InvocationHandler /* 重要
 		return JdkDynamicAopProxy.class.hashCode() * 13 + this.advised.getTargetSource().hashCode();
 	}
 
+
+	/**
+	 * Interceptor chain bound to a specific method of a frozen proxy with a
+	 * static target, also calling the target method through a generated
+	 * {@link FastClass} for the target class if possible.
+	 */
+	private static final class FixedChainDispatcher {
+
+		/** Generated classes keyed by target class, with an empty marker for failed generation. */
+		private static final Map<Class<?>, Object> fastClassCache = new ConcurrentReferenceHashMap<>(64);
+
+		private static final Object NO_FAST_CLASS = new Object();
+
+		private final Method method;
+
+		private final List<Object> chain;
+
+		@Nullable
+		private final Class<?> targetClass;
+
+		@Nullable
+		private final FastClass fastClass;
+
+		private final int index;
+
+		public FixedChainDispatcher(Method method, @Nullable Class<?> targetClass, List<Object> chain) {
+			this.method = method;
+			this.chain = chain;
+			this.targetClass = targetClass;
+			FastClass fastClass = (targetClass != null && isDirectlyInvocable(method, targetClass) ?
+					getFastClass(targetClass) : null);
+			int index = (fastClass != null ? fastClass.getIndex(method.getName(), method.getParameterTypes()) : -1);
+			this.fastClass = (index >= 0 ? fastClass : null);
+			this.index = index;
+		}
+
+		public List<Object> getChain() {
+			return this.chain;
+		}
+
+		/**
+		 * Invoke the target method, directly through the generated class if
+		 * available, or reflectively otherwise.
+		 * <p>Callers will see exactly the exception thrown by the target.
+		 */
+		@Nullable
+		public Object invokeTarget(@Nullable Object target, Object[] args) throws Throwable {
+			FastClass fastClass = this.fastClass;
+			if (fastClass != null && target != null && target.getClass() == this.targetClass) {
+				try {
+					return fastClass.invoke(this.index, target, args);
+				}
+				catch (InvocationTargetException ex) {
+					throw ex.getTargetException();
+				}
+			}
+			return AopUtils.invokeJoinpointUsingReflection(target, this.method, args);
+		}
+
+		private static boolean isDirectlyInvocable(Method method, Class<?> targetClass) {
+			return (Modifier.isPublic(method.getModifiers()) && method.getDeclaringClass() != Object.class &&
+					Modifier.isPublic(targetClass.getModifiers()) && targetClass.getClassLoader() != null &&
+					!Proxy.isProxyClass(targetClass));
+		}
+
+		@Nullable
+		private static FastClass getFastClass(Class<?> targetClass) {
+			Object cached = fastClassCache.get(targetClass);
+			if (cached == null) {
+				try {
+					FastClass.Generator generator = new FastClass.Generator();
+					generator.setType(targetClass);
+					generator.setContextClass(targetClass);
+					generator.setClassLoader(targetClass.getClassLoader());
+					cached = generator.create();
+				}
+				catch (Throwable ex) {
+					if (logger.isDebugEnabled()) {
+						logger.debug("Failed to generate invoker class for [" + targetClass.getName() +
+								"] - falling back to reflective target invocation", ex);
+					}
+					cached = NO_FAST_CLASS;
+				}
+				fastClassCache.put(targetClass, cached);
+			}
+			return (cached != NO_FAST_CLASS ? (FastClass) cached : null);
+		}
+	}
+
+
+	/**
+	 * MethodInvocation for a fixed interceptor chain, invoking the joinpoint
+	 * through the corresponding {@link FixedChainDispatcher}.
+	 */
+	private static class FixedChainMethodInvocation extends ReflectiveMethodInvocation {
+
+		private final FixedChainDispatcher dispatcher;
+
+		public FixedChainMethodInvocation(Object proxy, @Nullable Object target, Method method,
+				@Nullable Object[] arguments, @Nullable Class<?> targetClass,
+				List<Object> interceptorsAndDynamicMethodMatchers, FixedChainDispatcher dispatcher) {
+
+			super(proxy, target, method, arguments, targetClass, interceptorsAndDynamicMethodMatchers);
+			this.dispatcher = dispatcher;
+		}
+
+		@Override
+		@Nullable
+		protected Object invokeJoinpoint() throws Throwable {
+			return this.dispatcher.invokeTarget(this.target, this.arguments);
+		}
+	}
+
 }
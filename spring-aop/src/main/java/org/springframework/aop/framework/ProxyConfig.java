@@ -134,6 +134,10 @@ public class ProxyConfig implements Serializable {
 	 * <p>When a config is frozen, no advice changes can be made. This is
 	 * useful for optimization, and useful when we don't want callers to
 	 * be able to manipulate configuration after casting to Advised.
+	 * <p>In combination with a static target, JDK and CGLIB proxies bind
+	 * the interceptor chain of each proxied method once and invoke the
+	 * target method directly rather than through reflection where possible.
+	 * Such proxies do not pick up any advice changes made after unfreezing.
 	 */
 	public void setFrozen(boolean frozen) {
 		this.frozen = frozen;
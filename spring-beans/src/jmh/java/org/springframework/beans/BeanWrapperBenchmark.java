@@ -0,0 +1,139 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks for property access through {@link BeanWrapperImpl} and
+ * {@link DirectFieldAccessor}, covering simple, converted and nested paths.
+ */
+@BenchmarkMode(Mode.Throughput)
+public class BeanWrapperBenchmark {
+
+	@Benchmark
+	public Object setSimpleProperty(BenchmarkState state) {
+		state.beanWrapper.setPropertyValue("name", "Juergen");
+		return state.bean;
+	}
+
+	@Benchmark
+	public Object setConvertedProperty(BenchmarkState state) {
+		state.beanWrapper.setPropertyValue("age", "42");
+		return state.bean;
+	}
+
+	@Benchmark
+	public Object setNestedProperty(BenchmarkState state) {
+		state.beanWrapper.setPropertyValue("address.city", "Linz");
+		return state.bean;
+	}
+
+	@Benchmark
+	public Object getNestedProperty(BenchmarkState state) {
+		return state.beanWrapper.getPropertyValue("address.city");
+	}
+
+	@Benchmark
+	public Object newBeanWrapperAndSetProperties() {
+		BeanWrapper beanWrapper = new BeanWrapperImpl(new Person());
+		beanWrapper.setAutoGrowNestedPaths(true);
+		beanWrapper.setPropertyValue("name", "Juergen");
+		beanWrapper.setPropertyValue("age", "42");
+		beanWrapper.setPropertyValue("address.city", "Linz");
+		return beanWrapper.getWrappedInstance();
+	}
+
+	@Benchmark
+	public Object setDirectFieldProperty(BenchmarkState state) {
+		state.fieldAccessor.setPropertyValue("name", "Juergen");
+		return state.bean;
+	}
+
+
+	@State(Scope.Thread)
+	public static class BenchmarkState {
+
+		public Person bean;
+
+		public BeanWrapper beanWrapper;
+
+		public ConfigurablePropertyAccessor fieldAccessor;
+
+		@Setup
+		public void setup() {
+			this.bean = new Person();
+			this.beanWrapper = new BeanWrapperImpl(this.bean);
+			this.beanWrapper.setAutoGrowNestedPaths(true);
+			this.fieldAccessor = new DirectFieldAccessor(this.bean);
+		}
+	}
+
+
+	public static class Person {
+
+		private String name;
+
+		private int age;
+
+		private Address address;
+
+		public String getName() {
+			return this.name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+		public int getAge() {
+			return this.age;
+		}
+
+		public void setAge(int age) {
+			this.age = age;
+		}
+
+		public Address getAddress() {
+			return this.address;
+		}
+
+		public void setAddress(Address address) {
+			this.address = address;
+		}
+	}
+
+
+	public static class Address {
+
+		private String city;
+
+		public String getCity() {
+			return this.city;
+		}
+
+		public void setCity(String city) {
+			this.city = city;
+		}
+	}
+
+}
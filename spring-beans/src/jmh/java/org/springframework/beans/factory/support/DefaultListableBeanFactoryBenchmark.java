@@ -0,0 +1,133 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans.factory.support;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
+
+/**
+ * Benchmarks for bean retrieval and creation through {@link DefaultListableBeanFactory}:
+ * cached singletons, prototypes with constructor and property injection,
+ * and lookups by type.
+ */
+@BenchmarkMode(Mode.Throughput)
+public class DefaultListableBeanFactoryBenchmark {
+
+	@Benchmark
+	public Object getSingletonByName(BenchmarkState state) {
+		return state.beanFactory.getBean("repository");
+	}
+
+	@Benchmark
+	public Object getSingletonByType(BenchmarkState state) {
+		return state.beanFactory.getBean(Repository.class);
+	}
+
+	@Benchmark
+	public Object getPrototypeWithConstructorInjection(BenchmarkState state) {
+		return state.beanFactory.getBean("constructorService");
+	}
+
+	@Benchmark
+	public Object getPrototypeWithPropertyInjection(BenchmarkState state) {
+		return state.beanFactory.getBean("propertyService");
+	}
+
+	@Benchmark
+	public Object getBeanNamesForType(BenchmarkState state) {
+		return state.beanFactory.getBeanNamesForType(Service.class);
+	}
+
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		@Param({"10", "1000"})
+		public int additionalBeans;
+
+		public DefaultListableBeanFactory beanFactory;
+
+		@Setup
+		public void setup() {
+			this.beanFactory = new DefaultListableBeanFactory();
+
+			RootBeanDefinition repository = new RootBeanDefinition(Repository.class);
+			this.beanFactory.registerBeanDefinition("repository", repository);
+
+			RootBeanDefinition constructorService = new RootBeanDefinition(Service.class);
+			constructorService.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+			constructorService.getConstructorArgumentValues().addGenericArgumentValue(
+					new RuntimeBeanReference("repository"));
+			this.beanFactory.registerBeanDefinition("constructorService", constructorService);
+
+			RootBeanDefinition propertyService = new RootBeanDefinition(Service.class);
+			propertyService.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+			propertyService.getPropertyValues().add("repository", new RuntimeBeanReference("repository"));
+			propertyService.getPropertyValues().add("name", "property");
+			this.beanFactory.registerBeanDefinition("propertyService", propertyService);
+
+			for (int i = 0; i < this.additionalBeans; i++) {
+				this.beanFactory.registerBeanDefinition("bean" + i, new RootBeanDefinition(Object.class));
+			}
+			this.beanFactory.preInstantiateSingletons();
+		}
+	}
+
+
+	public static class Repository {
+	}
+
+
+	public static class Service {
+
+		private Repository repository;
+
+		private String name;
+
+		public Service() {
+		}
+
+		public Service(Repository repository) {
+			this.repository = repository;
+		}
+
+		public Repository getRepository() {
+			return this.repository;
+		}
+
+		public void setRepository(Repository repository) {
+			this.repository = repository;
+		}
+
+		public String getName() {
+			return this.name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+	}
+
+}
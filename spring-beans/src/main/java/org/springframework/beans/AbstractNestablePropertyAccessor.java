@@ -42,6 +42,7 @@ import org.springframework.core.convert.ConverterNotFoundException;
 import org.springframework.core.convert.TypeDescriptor;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentLruCache;
 import org.springframework.util.ObjectUtils;
 import org.springframework.util.StringUtils;
 
@@ -76,6 +77,20 @@ public abstract class AbstractNestablePropertyAccessor extends AbstractPropertyA
 	 */
 	private static final Log logger = LogFactory.getLog(AbstractNestablePropertyAccessor.class);
 
+	/**
+	 * Cache of parsed property name tokens, keyed by property name.
+	 * Cached token holders are never handed out, only copies of them.
+	 */
+	private static final ConcurrentLruCache<String, PropertyTokenHolder> propertyNameTokensCache =
+			new ConcurrentLruCache<>(1024, AbstractNestablePropertyAccessor::parsePropertyNameTokens);
+
+	/**
+	 * Cache of property paths split at their first nested property separator,
+	 * keyed by property path: an empty array for a path without nesting.
+	 */
+	private static final ConcurrentLruCache<String, String[]> nestedPropertyPathCache =
+			new ConcurrentLruCache<>(1024, AbstractNestablePropertyAccessor::splitNestedPropertyPath);
+
 	private int autoGrowCollectionLimit = Integer.MAX_VALUE;
 
 	@Nullable
@@ -808,13 +823,11 @@ public abstract class AbstractNestablePropertyAccessor extends AbstractPropertyA
 	 */
 	@SuppressWarnings("unchecked")  // avoid nested generic
 	protected AbstractNestablePropertyAccessor getPropertyAccessorForPropertyPath(String propertyPath) {
-		int pos = PropertyAccessorUtils.getFirstNestedPropertySeparatorIndex(propertyPath);
+		String[] nestedPathParts = nestedPropertyPathCache.get(propertyPath);
 		// Handle nested properties recursively.
-		if (pos > -1) {
-			String nestedProperty = propertyPath.substring(0, pos);
-			String nestedPath = propertyPath.substring(pos + 1);
-			AbstractNestablePropertyAccessor nestedPa = getNestedPropertyAccessor(nestedProperty);
-			return nestedPa.getPropertyAccessorForPropertyPath(nestedPath);
+		if (nestedPathParts.length > 0) {
+			AbstractNestablePropertyAccessor nestedPa = getNestedPropertyAccessor(nestedPathParts[0]);
+			return nestedPa.getPropertyAccessorForPropertyPath(nestedPathParts[1]);
 		}
 		else {
 			return this;
@@ -921,11 +934,25 @@ public abstract class AbstractNestablePropertyAccessor extends AbstractPropertyA
 	}
 
 	/**
-	 * Parse the given property name into the corresponding property name tokens.
+	 * Obtain the property name tokens for the given property name,
+	 * parsing it if not cached already.
 	 * @param propertyName the property name to parse
 	 * @return representation of the parsed property tokens
 	 */
 	private PropertyTokenHolder getPropertyNameTokens(String propertyName) {
+		PropertyTokenHolder cached = propertyNameTokensCache.get(propertyName);
+		PropertyTokenHolder tokens = new PropertyTokenHolder(cached.actualName);
+		tokens.canonicalName = cached.canonicalName;
+		tokens.keys = (cached.keys != null ? cached.keys.clone() : null);
+		return tokens;
+	}
+
+	/**
+	 * Parse the given property name into the corresponding property name tokens.
+	 * @param propertyName the property name to parse
+	 * @return representation of the parsed property tokens
+	 */
+	private static PropertyTokenHolder parsePropertyNameTokens(String propertyName) {
 		String actualName = null;
 		List<String> keys = new ArrayList<>(2);
 		int searchIndex = 0;
@@ -958,6 +985,20 @@ public abstract class AbstractNestablePropertyAccessor extends AbstractPropertyA
 		return tokens;
 	}
 
+	/**
+	 * Split the given property path at its first nested property separator.
+	 * @param propertyPath the property path to split
+	 * @return the nested property and the remaining path,
+	 * or an empty array if the path does not contain any nesting
+	 */
+	private static String[] splitNestedPropertyPath(String propertyPath) {
+		int pos = PropertyAccessorUtils.getFirstNestedPropertySeparatorIndex(propertyPath);
+		if (pos > -1) {
+			return new String[] {propertyPath.substring(0, pos), propertyPath.substring(pos + 1)};
+		}
+		return new String[0];
+	}
+
 	@Override
 	public String toString() {
 		StringBuilder sb = new StringBuilder(getClass().getName());
@@ -28,6 +28,7 @@ import org.springframework.core.ResolvableType;
 import org.springframework.core.convert.Property;
 import org.springframework.core.convert.TypeDescriptor;
 import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
 import org.springframework.util.ReflectionUtils;
 
 /**
@@ -42,6 +43,10 @@ import org.springframework.util.ReflectionUtils;
  * across the application). See the base class
  * {@link PropertyEditorRegistrySupport} for details.
  *
+ * <p>Property read and write methods are invoked reflectively by default.
+ * Set the {@link CachedIntrospectionResults#GENERATE_ACCESSORS_PROPERTY_NAME}
+ * system property to "true" for invoking them through a generated class instead.
+ *
  * <p><b>NOTE: As of Spring 2.5, this is - for almost all purposes - an
  * internal class.</b> It is just public in order to allow for access from
  * other framework packages. For standard application access purposes, use the
@@ -62,6 +67,8 @@ import org.springframework.util.ReflectionUtils;
  */
 public class BeanWrapperImpl extends AbstractNestablePropertyAccessor implements BeanWrapper {
 
+	private static final Object[] NO_ARGS = new Object[0];
+
 	/**
 	 * Cached introspections results for this object, to prevent encountering
 	 * the cost of JavaBeans introspection every time.
@@ -304,6 +311,13 @@ public class BeanWrapperImpl extends AbstractNestablePropertyAccessor implements
 				}
 			}
 			else {
+				GeneratedPropertyAccessor accessor = getCachedIntrospectionResults().getGeneratedAccessor();
+				if (accessor != null) {
+					int index = accessor.getMethodIndex(readMethod);
+					if (index >= 0) {
+						return accessor.invoke(index, getWrappedInstance(), NO_ARGS);
+					}
+				}
 				ReflectionUtils.makeAccessible(readMethod);
 				return readMethod.invoke(getWrappedInstance(), (Object[]) null);
 			}
@@ -328,6 +342,16 @@ public class BeanWrapperImpl extends AbstractNestablePropertyAccessor implements
 				}
 			}
 			else {
+				GeneratedPropertyAccessor accessor = getCachedIntrospectionResults().getGeneratedAccessor();
+				if (accessor != null) {
+					int index = accessor.getMethodIndex(writeMethod);
+					// Leave values that do not match the parameter type to reflection,
+					// for the same exception behavior in that case...
+					if (index >= 0 && ClassUtils.isAssignableValue(writeMethod.getParameterTypes()[0], value)) {
+						accessor.invoke(index, getWrappedInstance(), new Object[] {value});
+						return;
+					}
+				}
 				ReflectionUtils.makeAccessible(writeMethod);
 				writeMethod.invoke(getWrappedInstance(), value);
 			}
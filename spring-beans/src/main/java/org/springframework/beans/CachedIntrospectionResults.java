@@ -92,6 +92,21 @@ public final class CachedIntrospectionResults {
 	 */
 	public static final String IGNORE_BEANINFO_PROPERTY_NAME = "spring.beaninfo.ignore";
 
+	/**
+	 * System property that instructs Spring to generate accessor classes for the
+	 * read and write methods of introspected bean classes:
+	 * "spring.beaninfo.generateAccessors", with a value of "true" letting
+	 * {@link BeanWrapperImpl} call property methods through a CGLIB-generated class
+	 * instead of through reflection.
+	 * <p>The default is "false", invoking all property methods reflectively. Consider
+	 * switching this flag to "true" for applications that bind or read properties of
+	 * the same bean classes many times, e.g. for web data binding or JDBC row mapping,
+	 * at the expense of generating an additional class per bean class. Non-public
+	 * bean classes and methods are accessed reflectively in any case.
+	 * @since 5.1.1
+	 */
+	public static final String GENERATE_ACCESSORS_PROPERTY_NAME = "spring.beaninfo.generateAccessors";
+
 
 	private static final boolean shouldIntrospectorIgnoreBeaninfoClasses =
 			SpringProperties.getFlag(IGNORE_BEANINFO_PROPERTY_NAME);
@@ -259,6 +274,13 @@ public final class CachedIntrospectionResults {
 	/** TypeDescriptor objects keyed by PropertyDescriptor. */
 	private final ConcurrentMap<PropertyDescriptor, TypeDescriptor> typeDescriptorCache;
 
+	/** Whether to (still) attempt to generate an accessor class for the bean class. */
+	private volatile boolean generateAccessor;
+
+	/** Generated accessor class for the bean class, lazily initialized. */
+	@Nullable
+	private volatile GeneratedPropertyAccessor generatedAccessor;
+
 
 	/**
 	 * Create a new CachedIntrospectionResults instance for the given class.
@@ -304,6 +326,7 @@ public final class CachedIntrospectionResults {
 			}
 
 			this.typeDescriptorCache = new ConcurrentReferenceHashMap<>();
+			this.generateAccessor = SpringProperties.getFlag(GENERATE_ACCESSORS_PROPERTY_NAME);
 		}
 		catch (IntrospectionException ex) {
 			throw new FatalBeanException("Failed to obtain BeanInfo for class [" + beanClass.getName() + "]", ex);
@@ -382,4 +405,24 @@ public final class CachedIntrospectionResults {
 		return this.typeDescriptorCache.get(pd);
 	}
 
+	/**
+	 * Return the generated accessor class for the bean class, if enabled
+	 * through {@link #GENERATE_ACCESSORS_PROPERTY_NAME} and available.
+	 * @since 5.1.1
+	 */
+	@Nullable
+	GeneratedPropertyAccessor getGeneratedAccessor() {
+		GeneratedPropertyAccessor accessor = this.generatedAccessor;
+		if (accessor == null && this.generateAccessor) {
+			accessor = GeneratedPropertyAccessor.forClass(getBeanClass());
+			if (accessor != null) {
+				this.generatedAccessor = accessor;
+			}
+			else {
+				this.generateAccessor = false;
+			}
+		}
+		return accessor;
+	}
+
 }
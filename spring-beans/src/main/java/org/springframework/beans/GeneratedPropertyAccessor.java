@@ -0,0 +1,131 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.cglib.reflect.FastClass;
+import org.springframework.lang.Nullable;
+
+/**
+ * Internal helper that invokes the read and write methods of a bean class
+ * through a CGLIB-generated {@link FastClass}, i.e. through a class that calls
+ * each method directly by index rather than through reflective
+ * {@link Method#invoke}.
+ *
+ * <p>Obtained from {@link CachedIntrospectionResults} if the
+ * {@link CachedIntrospectionResults#GENERATE_ACCESSORS_PROPERTY_NAME}
+ * flag has been set. Methods which cannot be dispatched that way, e.g.
+ * non-public methods, are reported with an index of -1 and need to be
+ * invoked reflectively by the caller.
+ *
+ * @author agent (agent@local)
+ * @since 5.1.1
+ * @see BeanWrapperImpl
+ */
+final class GeneratedPropertyAccessor {
+
+	private static final Log logger = LogFactory.getLog(GeneratedPropertyAccessor.class);
+
+
+	private final FastClass fastClass;
+
+	private final ConcurrentMap<Method, Integer> methodIndexCache = new ConcurrentHashMap<>(32);
+
+
+	private GeneratedPropertyAccessor(FastClass fastClass) {
+		this.fastClass = fastClass;
+	}
+
+
+	/**
+	 * Return the index of the given method in the generated class.
+	 * @param method the read or write method to look up
+	 * @return the method index, or -1 if the method cannot be invoked
+	 * through the generated class
+	 */
+	public int getMethodIndex(Method method) {
+		Integer index = this.methodIndexCache.get(method);
+		if (index == null) {
+			index = resolveMethodIndex(method);
+			this.methodIndexCache.put(method, index);
+		}
+		return index;
+	}
+
+	private int resolveMethodIndex(Method method) {
+		int modifiers = method.getModifiers();
+		if (!Modifier.isPublic(modifiers) || Modifier.isStatic(modifiers) ||
+				!method.getDeclaringClass().isAssignableFrom(this.fastClass.getJavaClass())) {
+			return -1;
+		}
+		return this.fastClass.getIndex(method.getName(), method.getParameterTypes());
+	}
+
+	/**
+	 * Invoke the method with the given index on the given target instance.
+	 * <p>Exceptions thrown by the target method are wrapped in an
+	 * {@link InvocationTargetException}, like with reflective invocation.
+	 * @param index the method index, as returned by {@link #getMethodIndex}
+	 * @param target the bean instance to invoke the method on
+	 * @param args the method arguments
+	 * @return the method's return value, or {@code null} for a void method
+	 * @throws InvocationTargetException if the target method threw an exception
+	 */
+	@Nullable
+	public Object invoke(int index, Object target, Object[] args) throws InvocationTargetException {
+		return this.fastClass.invoke(index, target, args);
+	}
+
+
+	/**
+	 * Generate an accessor class for the given bean class, if possible.
+	 * @param beanClass the bean class to generate an accessor class for
+	 * @return the accessor, or {@code null} if the given class is not eligible
+	 * (not public or loaded by the bootstrap ClassLoader) or if generation failed
+	 */
+	@Nullable
+	static GeneratedPropertyAccessor forClass(Class<?> beanClass) {
+		ClassLoader classLoader = beanClass.getClassLoader();
+		if (classLoader == null || !Modifier.isPublic(beanClass.getModifiers()) ||
+				beanClass.isInterface() || beanClass.isArray()) {
+			return null;
+		}
+		try {
+			FastClass.Generator generator = new FastClass.Generator();
+			generator.setType(beanClass);
+			generator.setContextClass(beanClass);
+			generator.setClassLoader(classLoader);
+			return new GeneratedPropertyAccessor(generator.create());
+		}
+		catch (Throwable ex) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Failed to generate accessor class for [" + beanClass.getName() +
+						"] - falling back to reflective property access", ex);
+			}
+			return null;
+		}
+	}
+
+}
@@ -21,6 +21,7 @@ import org.springframework.beans.*;
 import org.springframework.beans.factory.*;
 import org.springframework.beans.factory.config.*;
 import org.springframework.core.*;
+import org.springframework.core.metrics.StartupStep;
 import org.springframework.lang.Nullable;
 import org.springframework.util.*;
 
@@ -1851,21 +1852,39 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
         // <2> 后处理器，before
 		Object wrappedBean = bean;
 		if (mbd == null || !mbd.isSynthetic()) {
-			wrappedBean = applyBeanPostProcessorsBeforeInitialization(wrappedBean, beanName);
+			StartupStep postProcess = getApplicationStartup().start("spring.beans.post-process.before-initialization")
+					.tag("beanName", beanName);
+			try {
+				wrappedBean = applyBeanPostProcessorsBeforeInitialization(wrappedBean, beanName);
+			}
+			finally {
+				postProcess.end();
+			}
 		}
 
         // <3> 激活用户自定义的 init 方法
+		StartupStep initMethods = getApplicationStartup().start("spring.beans.init-methods")
+				.tag("beanName", beanName);
 		try {
 			invokeInitMethods(beanName, wrappedBean, mbd);
 		} catch (Throwable ex) {
 			throw new BeanCreationException(
 					(mbd != null ? mbd.getResourceDescription() : null),
 					beanName, "Invocation of init method failed", ex);
+		} finally {
+			initMethods.end();
 		}
 
         // <2> 后处理器，after
 		if (mbd == null || !mbd.isSynthetic()) {
-			wrappedBean = applyBeanPostProcessorsAfterInitialization(wrappedBean, beanName);
+			StartupStep postProcess = getApplicationStartup().start("spring.beans.post-process.after-initialization")
+					.tag("beanName", beanName);
+			try {
+				wrappedBean = applyBeanPostProcessorsAfterInitialization(wrappedBean, beanName);
+			}
+			finally {
+				postProcess.end();
+			}
 		}
 
 		return wrappedBean;
@@ -801,11 +801,14 @@ class ConstructorResolver {
 							"] - did you specify the correct bean references as arguments?");
 				}
 				try {
+					Set<String> argumentBeanNames = new LinkedHashSet<>(2);
 					Object autowiredArgument = resolveAutowiredArgument(
-							methodParam, beanName, autowiredBeanNames, converter, fallback);
+							methodParam, beanName, argumentBeanNames, converter, fallback);
+					autowiredBeanNames.addAll(argumentBeanNames);
 					args.rawArguments[paramIndex] = autowiredArgument;
 					args.arguments[paramIndex] = autowiredArgument;
-					args.preparedArguments[paramIndex] = new AutowiredArgumentMarker();
+					args.preparedArguments[paramIndex] = new AutowiredArgumentMarker(
+							determineShortcut(argumentBeanNames, paramType, autowiredArgument));
 					args.resolveNecessary = true;
 				}
 				catch (BeansException ex) {
@@ -845,7 +848,10 @@ class ConstructorResolver {
 			MethodParameter methodParam = MethodParameter.forExecutable(executable, argIndex);
 			GenericTypeResolver.resolveParameterType(methodParam, executable.getDeclaringClass());
 			if (argValue instanceof AutowiredArgumentMarker) {
-				argValue = resolveAutowiredArgument(methodParam, beanName, null, converter, fallback);
+				String shortcut = ((AutowiredArgumentMarker) argValue).shortcut;
+				argValue = (shortcut != null ?
+						resolveShortcutArgument(methodParam, beanName, shortcut, converter) :
+						resolveAutowiredArgument(methodParam, beanName, null, converter, fallback));
 			}
 			else if (argValue instanceof BeanMetadataElement) {
 				argValue = valueResolver.resolveValueIfNecessary("constructor argument", argValue);
@@ -922,6 +928,37 @@ class ConstructorResolver {
 		}
 	}
 
+	/**
+	 * Determine the name of the bean to resolve an autowired argument against
+	 * directly on subsequent creation of the same bean, if the argument has been
+	 * resolved to a single bean of the parameter type.
+	 */
+	@Nullable
+	private String determineShortcut(Set<String> argumentBeanNames, Class<?> paramType,
+			@Nullable Object autowiredArgument) {
+
+		if (argumentBeanNames.size() == 1 && paramType.isInstance(autowiredArgument)) {
+			String argumentBeanName = argumentBeanNames.iterator().next();
+			if (this.beanFactory.containsBean(argumentBeanName) &&
+					this.beanFactory.isTypeMatch(argumentBeanName, paramType)) {
+				return argumentBeanName;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Resolve the specified autowired argument against the given pre-resolved
+	 * bean name, bypassing the search for autowire candidates.
+	 */
+	@Nullable
+	private Object resolveShortcutArgument(MethodParameter param, String beanName,
+			String shortcut, TypeConverter typeConverter) {
+
+		return this.beanFactory.resolveDependency(
+				new ShortcutDependencyDescriptor(param, shortcut), beanName, null, typeConverter);
+	}
+
 	static InjectionPoint setCurrentInjectionPoint(@Nullable InjectionPoint injectionPoint) {
 		InjectionPoint old = currentInjectionPoint.get();
 		if (injectionPoint != null) {
@@ -998,9 +1035,40 @@ class ConstructorResolver {
 
 
 	/**
-	 * Marker for autowired arguments in a cached argument array.
+	 * Marker for autowired arguments in a cached argument array,
+	 * possibly carrying the name of the bean that the argument resolved to.
  	 */
 	private static class AutowiredArgumentMarker {
+
+		@Nullable
+		public final String shortcut;
+
+		public AutowiredArgumentMarker(@Nullable String shortcut) {
+			this.shortcut = shortcut;
+		}
+	}
+
+
+	/**
+	 * DependencyDescriptor variant with a pre-resolved target bean name.
+	 */
+	@SuppressWarnings("serial")
+	private static class ShortcutDependencyDescriptor extends DependencyDescriptor {
+
+		private final String shortcut;
+
+		public ShortcutDependencyDescriptor(MethodParameter param, String shortcut) {
+			super(param, true);
+			this.shortcut = shortcut;
+		}
+
+		@Override
+		@Nullable
+		public Object resolveShortcut(BeanFactory beanFactory) {
+			// Fall back to regular resolution if the target bean does not match anymore
+			Object bean = beanFactory.getBean(this.shortcut);
+			return (getDependencyType().isInstance(bean) ? bean : null);
+		}
 	}
 
 
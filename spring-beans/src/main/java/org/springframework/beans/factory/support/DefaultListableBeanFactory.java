@@ -18,12 +18,14 @@ package org.springframework.beans.factory.support;
 
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.BeansException;
+import org.springframework.beans.PropertyValue;
 import org.springframework.beans.TypeConverter;
 import org.springframework.beans.factory.*;
 import org.springframework.beans.factory.config.*;
 import org.springframework.core.OrderComparator;
 import org.springframework.core.ResolvableType;
 import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.core.metrics.StartupStep;
 import org.springframework.lang.Nullable;
 import org.springframework.util.*;
 
@@ -37,6 +39,10 @@ import java.security.AccessController;
 import java.security.PrivilegedAction;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.stream.Stream;
 
 /**
@@ -86,6 +92,9 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		private final List<String> beanDefinitionNames = new ArrayList<String>(64);
 	 */
 
+	/** Maximum number of changes to track for incremental updates of the by-type caches. */
+	private static final int MAX_BY_TYPE_CHANGES = 256;
+
 	@Nullable
 	private static Class<?> javaxInjectProviderClass;
 
@@ -113,6 +122,9 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	/** Whether to allow eager class loading even for lazy-init beans. */
 	private boolean allowEagerClassLoading = true;
 
+	/** Number of threads to pre-instantiate singletons with (1 for sequential). */
+	private int preInstantiationParallelism = 1;
+
 	/** Optional OrderComparator for dependency Lists and arrays. */
 	@Nullable
 	private Comparator<Object> dependencyComparator;
@@ -127,10 +139,13 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	private final Map<String, BeanDefinition> beanDefinitionMap = new ConcurrentHashMap<>(256);
 
 	/** Map of singleton and non-singleton bean names, keyed by dependency type. */
-	private final Map<Class<?>, String[]> allBeanNamesByType = new ConcurrentHashMap<>(64);
+	private final Map<Class<?>, BeanNamesForType> allBeanNamesByType = new ConcurrentHashMap<>(64);
 
 	/** Map of singleton-only bean names, keyed by dependency type. */
-	private final Map<Class<?>, String[]> singletonBeanNamesByType = new ConcurrentHashMap<>(64);
+	private final Map<Class<?>, BeanNamesForType> singletonBeanNamesByType = new ConcurrentHashMap<>(64);
+
+	/** Names of beans registered, replaced or removed since the by-type caches were last cleared. */
+	private volatile List<String> byTypeChanges = new CopyOnWriteArrayList<>();
 
 	/** List of bean definition names, in registration order. */
 	private volatile List<String> beanDefinitionNames = new ArrayList<>(256);
@@ -229,6 +244,35 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		return this.allowEagerClassLoading;
 	}
 
+	/**
+	 * Set the number of threads to pre-instantiate non-lazy singletons with.
+	 * <p>Default is 1, creating all singletons one after the other in registration
+	 * order. A higher value groups the singletons by the dependencies declared in
+	 * their bean definitions and creates independent groups in parallel, which
+	 * speeds up the startup of applications with slow initialization code (e.g.
+	 * connection pools or cache warming) in otherwise unrelated beans.
+	 * <p>Dependencies that are not declared in bean definitions, e.g. autowired
+	 * fields, are still honored at creation time: a thread that needs a singleton
+	 * that is being created by another thread waits for it to be fully initialized.
+	 * Note that the singleton mutex does not exclude singleton creation in this
+	 * mode, and that {@link SmartInitializingSingleton} callbacks are invoked on
+	 * the calling thread once all singletons have been created.
+	 * @since 5.1.1
+	 * @see #preInstantiateSingletons()
+	 */
+	public void setPreInstantiationParallelism(int preInstantiationParallelism) {
+		Assert.isTrue(preInstantiationParallelism > 0, "Pre-instantiation parallelism must be greater than 0");
+		this.preInstantiationParallelism = preInstantiationParallelism;
+	}
+
+	/**
+	 * Return the number of threads to pre-instantiate non-lazy singletons with.
+	 * @since 5.1.1
+	 */
+	public int getPreInstantiationParallelism() {
+		return this.preInstantiationParallelism;
+	}
+
 	/**
 	 * Set a {@link java.util.Comparator} for dependency Lists and arrays.
 	 * @since 4.0
@@ -284,6 +328,7 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 			DefaultListableBeanFactory otherListableFactory = (DefaultListableBeanFactory) otherFactory;
 			this.allowBeanDefinitionOverriding = otherListableFactory.allowBeanDefinitionOverriding;
 			this.allowEagerClassLoading = otherListableFactory.allowEagerClassLoading;
+			this.preInstantiationParallelism = otherListableFactory.preInstantiationParallelism;
 			this.dependencyComparator = otherListableFactory.dependencyComparator;
 			// A clone of the AutowireCandidateResolver since it is potentially BeanFactoryAware...
 			setAutowireCandidateResolver(BeanUtils.instantiateClass(getAutowireCandidateResolver().getClass()));
@@ -424,6 +469,10 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		if (resolved != null && !type.hasGenerics()) {
 			return getBeanNamesForType(resolved, true, true);
 		}
+		else if (resolved != null && isConfigurationFrozen()) {
+			// Only check generics against the (cached) matches for the raw type.
+			return refineBeanNamesForType(getBeanNamesForType(resolved, true, true), type);
+		}
 		else {
 			return doGetBeanNamesForType(type, true, true);
 		}
@@ -439,15 +488,27 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		if (!isConfigurationFrozen() || type == null || !allowEagerInit) {
 			return doGetBeanNamesForType(ResolvableType.forRawClass(type), includeNonSingletons, allowEagerInit);
 		}
-		Map<Class<?>, String[]> cache =
+		Map<Class<?>, BeanNamesForType> cache =
 				(includeNonSingletons ? this.allBeanNamesByType : this.singletonBeanNamesByType);
-		String[] resolvedBeanNames = cache.get(type);
-		if (resolvedBeanNames != null) {
-			return resolvedBeanNames;
+		List<String> changes = this.byTypeChanges;
+		BeanNamesForType cached = cache.get(type);
+		if (cached != null && cached.changes == changes && cached.changeCount == changes.size()) {
+			return cached.beanNames;
+		}
+		// Take a snapshot of the changes before checking any beans,
+		// in order to re-check beans changed in the meantime next time.
+		String[] changedBeanNames = StringUtils.toStringArray(changes);
+		String[] resolvedBeanNames;
+		if (cached != null && cached.changes == changes) {
+			resolvedBeanNames = updateBeanNamesForType(cached.beanNames,
+					Arrays.copyOfRange(changedBeanNames, cached.changeCount, changedBeanNames.length),
+					ResolvableType.forRawClass(type), includeNonSingletons);
+		}
+		else {
+			resolvedBeanNames = doGetBeanNamesForType(ResolvableType.forRawClass(type), includeNonSingletons, true);
 		}
-		resolvedBeanNames = doGetBeanNamesForType(ResolvableType.forRawClass(type), includeNonSingletons, true);
 		if (ClassUtils.isCacheSafe(type, getBeanClassLoader())) {
-			cache.put(type, resolvedBeanNames);
+			cache.put(type, new BeanNamesForType(resolvedBeanNames, changes, changedBeanNames.length));
 		}
 		return resolvedBeanNames;
 	}
@@ -457,83 +518,194 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 
 		// Check all bean definitions.
 		for (String beanName : this.beanDefinitionNames) {
-			// Only consider bean as eligible if the bean name
-			// is not defined as alias for some other bean.
-			if (!isAlias(beanName)) {
-				try {
-					RootBeanDefinition mbd = getMergedLocalBeanDefinition(beanName);
-					// Only check bean definition if it is complete.
-					if (!mbd.isAbstract() && (allowEagerInit ||
-							(mbd.hasBeanClass() || !mbd.isLazyInit() || isAllowEagerClassLoading()) &&
-									!requiresEagerInitForType(mbd.getFactoryBeanName()))) {
-						// In case of FactoryBean, match object created by FactoryBean.
-						boolean isFactoryBean = isFactoryBean(beanName, mbd);
-						BeanDefinitionHolder dbd = mbd.getDecoratedDefinition();
-						boolean matchFound =
-								(allowEagerInit || !isFactoryBean ||
-										(dbd != null && !mbd.isLazyInit()) || containsSingleton(beanName)) &&
-								(includeNonSingletons ||
-										(dbd != null ? mbd.isSingleton() : isSingleton(beanName))) &&
-								isTypeMatch(beanName, type);
-						if (!matchFound && isFactoryBean) {
-							// In case of FactoryBean, try to match FactoryBean instance itself next.
-							beanName = FACTORY_BEAN_PREFIX + beanName;
-							matchFound = (includeNonSingletons || mbd.isSingleton()) && isTypeMatch(beanName, type);
-						}
-						if (matchFound) {
-							result.add(beanName);
-						}
-					}
-				}
-				catch (CannotLoadBeanClassException ex) {
-					if (allowEagerInit) {
-						throw ex;
-					}
-					// Probably a class name with a placeholder: let's ignore it for type matching purposes.
-					if (logger.isTraceEnabled()) {
-						logger.trace("Ignoring bean class loading failure for bean '" + beanName + "'", ex);
-					}
-					onSuppressedException(ex);
-				}
-				catch (BeanDefinitionStoreException ex) {
-					if (allowEagerInit) {
-						throw ex;
-					}
-					// Probably some metadata with a placeholder: let's ignore it for type matching purposes.
-					if (logger.isTraceEnabled()) {
-						logger.trace("Ignoring unresolvable metadata in bean definition '" + beanName + "'", ex);
-					}
-					onSuppressedException(ex);
-				}
+			String matchingBeanName = matchBeanDefinition(beanName, type, includeNonSingletons, allowEagerInit);
+			if (matchingBeanName != null) {
+				result.add(matchingBeanName);
 			}
 		}
 
 		// Check manually registered singletons too.
 		for (String beanName : this.manualSingletonNames) {
-			try {
+			String matchingBeanName = matchManualSingleton(beanName, type, includeNonSingletons);
+			if (matchingBeanName != null) {
+				result.add(matchingBeanName);
+			}
+		}
+
+		return StringUtils.toStringArray(result);
+	}
+
+	/**
+	 * Check whether the specified bean definition matches the given type.
+	 * @param beanName the name of the bean definition to check
+	 * @return the name to expose for a match (the given bean name or the name
+	 * of the corresponding FactoryBean), or {@code null} if the bean does not match
+	 */
+	@Nullable
+	private String matchBeanDefinition(
+			String beanName, ResolvableType type, boolean includeNonSingletons, boolean allowEagerInit) {
+
+		// Only consider bean as eligible if the bean name
+		// is not defined as alias for some other bean.
+		if (isAlias(beanName)) {
+			return null;
+		}
+		try {
+			RootBeanDefinition mbd = getMergedLocalBeanDefinition(beanName);
+			// Only check bean definition if it is complete.
+			if (!mbd.isAbstract() && (allowEagerInit ||
+					(mbd.hasBeanClass() || !mbd.isLazyInit() || isAllowEagerClassLoading()) &&
+							!requiresEagerInitForType(mbd.getFactoryBeanName()))) {
 				// In case of FactoryBean, match object created by FactoryBean.
-				if (isFactoryBean(beanName)) {
-					if ((includeNonSingletons || isSingleton(beanName)) && isTypeMatch(beanName, type)) {
-						result.add(beanName);
-						// Match found for this bean: do not match FactoryBean itself anymore.
-						continue;
-					}
-					// In case of FactoryBean, try to match FactoryBean itself next.
+				boolean isFactoryBean = isFactoryBean(beanName, mbd);
+				BeanDefinitionHolder dbd = mbd.getDecoratedDefinition();
+				boolean matchFound =
+						(allowEagerInit || !isFactoryBean ||
+								(dbd != null && !mbd.isLazyInit()) || containsSingleton(beanName)) &&
+						(includeNonSingletons ||
+								(dbd != null ? mbd.isSingleton() : isSingleton(beanName))) &&
+						isTypeMatch(beanName, type);
+				if (!matchFound && isFactoryBean) {
+					// In case of FactoryBean, try to match FactoryBean instance itself next.
 					beanName = FACTORY_BEAN_PREFIX + beanName;
+					matchFound = (includeNonSingletons || mbd.isSingleton()) && isTypeMatch(beanName, type);
+				}
+				if (matchFound) {
+					return beanName;
 				}
-				// Match raw bean instance (might be raw FactoryBean).
+			}
+		}
+		catch (CannotLoadBeanClassException ex) {
+			if (allowEagerInit) {
+				throw ex;
+			}
+			// Probably a class name with a placeholder: let's ignore it for type matching purposes.
+			if (logger.isTraceEnabled()) {
+				logger.trace("Ignoring bean class loading failure for bean '" + beanName + "'", ex);
+			}
+			onSuppressedException(ex);
+		}
+		catch (BeanDefinitionStoreException ex) {
+			if (allowEagerInit) {
+				throw ex;
+			}
+			// Probably some metadata with a placeholder: let's ignore it for type matching purposes.
+			if (logger.isTraceEnabled()) {
+				logger.trace("Ignoring unresolvable metadata in bean definition '" + beanName + "'", ex);
+			}
+			onSuppressedException(ex);
+		}
+		return null;
+	}
+
+	/**
+	 * Check whether the specified manually registered singleton matches the given type.
+	 * @param beanName the name of the singleton to check
+	 * @return the name to expose for a match (the given bean name or the name
+	 * of the corresponding FactoryBean), or {@code null} if the bean does not match
+	 */
+	@Nullable
+	private String matchManualSingleton(String beanName, ResolvableType type, boolean includeNonSingletons) {
+		try {
+			// In case of FactoryBean, match object created by FactoryBean.
+			if (isFactoryBean(beanName)) {
+				if ((includeNonSingletons || isSingleton(beanName)) && isTypeMatch(beanName, type)) {
+					// Match found for this bean: do not match FactoryBean itself anymore.
+					return beanName;
+				}
+				// In case of FactoryBean, try to match FactoryBean itself next.
+				beanName = FACTORY_BEAN_PREFIX + beanName;
+			}
+			// Match raw bean instance (might be raw FactoryBean).
+			if (isTypeMatch(beanName, type)) {
+				return beanName;
+			}
+		}
+		catch (NoSuchBeanDefinitionException ex) {
+			// Shouldn't happen - probably a result of circular reference resolution...
+			if (logger.isTraceEnabled()) {
+				logger.trace("Failed to check manually registered singleton with name '" + beanName + "'", ex);
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Update previously determined bean names for the given type, re-checking
+	 * the changed beans only and keeping the remaining matches as they are.
+	 * @param beanNames the previously determined bean names for the given type
+	 * @param changedBeanNames the names of beans registered, replaced or removed since
+	 * @return the updated bean names, in registration order
+	 */
+	private String[] updateBeanNamesForType(String[] beanNames, String[] changedBeanNames,
+			ResolvableType type, boolean includeNonSingletons) {
+
+		Set<String> changed = new HashSet<>(Arrays.asList(changedBeanNames));
+		Set<String> matches = new LinkedHashSet<>(beanNames.length + changed.size());
+		for (String beanName : beanNames) {
+			if (!changed.contains(BeanFactoryUtils.transformedBeanName(beanName))) {
+				matches.add(beanName);
+			}
+		}
+		boolean matchAdded = false;
+		for (String beanName : changed) {
+			String matchingBeanName = null;
+			if (this.beanDefinitionMap.containsKey(beanName)) {
+				matchingBeanName = matchBeanDefinition(beanName, type, includeNonSingletons, true);
+			}
+			else if (this.manualSingletonNames.contains(beanName)) {
+				matchingBeanName = matchManualSingleton(beanName, type, includeNonSingletons);
+			}
+			if (matchingBeanName != null) {
+				matches.add(matchingBeanName);
+				matchAdded = true;
+			}
+		}
+		if (!matchAdded) {
+			return StringUtils.toStringArray(matches);
+		}
+
+		// Restore registration order: bean definitions first, then manual singletons.
+		List<String> result = new ArrayList<>(matches.size());
+		for (Iterator<String> it = getBeanNamesIterator(); it.hasNext();) {
+			String beanName = it.next();
+			if (matches.contains(beanName)) {
+				result.add(beanName);
+			}
+			else if (matches.contains(FACTORY_BEAN_PREFIX + beanName)) {
+				result.add(FACTORY_BEAN_PREFIX + beanName);
+			}
+		}
+		return StringUtils.toStringArray(result);
+	}
+
+	/**
+	 * Narrow down the given bean names for a raw type to those matching the
+	 * given generic type, checking the FactoryBean itself in case of a FactoryBean
+	 * which does not produce a matching object.
+	 * @param beanNames the bean names matching the raw type
+	 * @param type the generically typed class or interface to match
+	 * @return the matching bean names, in the order of the given names
+	 */
+	private String[] refineBeanNamesForType(String[] beanNames, ResolvableType type) {
+		List<String> result = new ArrayList<>(beanNames.length);
+		for (String beanName : beanNames) {
+			try {
 				if (isTypeMatch(beanName, type)) {
 					result.add(beanName);
 				}
+				else if (!BeanFactoryUtils.isFactoryDereference(beanName) && isFactoryBean(beanName) &&
+						isTypeMatch(FACTORY_BEAN_PREFIX + beanName, type)) {
+					result.add(FACTORY_BEAN_PREFIX + beanName);
+				}
 			}
 			catch (NoSuchBeanDefinitionException ex) {
-				// Shouldn't happen - probably a result of circular reference resolution...
+				// Bean removed in the meantime - not a match anymore.
 				if (logger.isTraceEnabled()) {
-					logger.trace("Failed to check manually registered singleton with name '" + beanName + "'", ex);
+					logger.trace("Failed to check bean with name '" + beanName + "'", ex);
 				}
 			}
 		}
-
 		return StringUtils.toStringArray(result);
 	}
 
@@ -793,36 +965,12 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 
 		// Trigger initialization of all non-lazy singleton beans...
         // 遍历 Bean 名字的集合，触发 Bean 加载
-		for (String beanName : beanNames) {
-		    // 获得 RootBeanDefinition 对象
-			RootBeanDefinition bd = getMergedLocalBeanDefinition(beanName);
-			// 单例 && 非延迟加载
-			if (!bd.isAbstract() && bd.isSingleton() && !bd.isLazyInit()) {
-			    // 如果是 FactoryBean
-				if (isFactoryBean(beanName)) {
-				    // 获得 FactoryBean 自身这个 Bean
-					Object bean = getBean(FACTORY_BEAN_PREFIX + beanName);
-					if (bean instanceof FactoryBean) {
-						final FactoryBean<?> factory = (FactoryBean<?>) bean;
-						// 判断是否要提前初始化
-						boolean isEagerInit;
-						if (System.getSecurityManager() != null && factory instanceof SmartFactoryBean) {
-							isEagerInit = AccessController.doPrivileged((PrivilegedAction<Boolean>)
-											((SmartFactoryBean<?>) factory)::isEagerInit,
-									getAccessControlContext());
-						} else {
-							isEagerInit = (factory instanceof SmartFactoryBean &&
-									((SmartFactoryBean<?>) factory).isEagerInit());
-						}
-						// 如果要，加载 FactoryBean 要创建的 Bean 对象
-						if (isEagerInit) {
-							getBean(beanName);
-						}
-					}
-				} else {
-                    // 如果非 FactoryBean ，直接加载 Bean 对象
-                    getBean(beanName);
-				}
+		if (this.preInstantiationParallelism > 1) {
+			preInstantiateSingletonsInParallel(beanNames);
+		}
+		else {
+			for (String beanName : beanNames) {
+				preInstantiateSingleton(beanName);
 			}
 		}
 
@@ -832,17 +980,214 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		for (String beanName : beanNames) {
 			Object singletonInstance = getSingleton(beanName);
 			if (singletonInstance instanceof SmartInitializingSingleton) {
+				StartupStep smartInitialize = getApplicationStartup().start("spring.beans.smart-initialize")
+						.tag("beanName", beanName);
 				final SmartInitializingSingleton smartSingleton = (SmartInitializingSingleton) singletonInstance;
-				if (System.getSecurityManager() != null) { // 安全模式
-					AccessController.doPrivileged((PrivilegedAction<Object>) () -> {
+				try {
+					if (System.getSecurityManager() != null) { // 安全模式
+						AccessController.doPrivileged((PrivilegedAction<Object>) () -> {
+							smartSingleton.afterSingletonsInstantiated();
+							return null;
+						}, getAccessControlContext());
+					} else {
 						smartSingleton.afterSingletonsInstantiated();
-						return null;
-					}, getAccessControlContext());
-				} else {
-					smartSingleton.afterSingletonsInstantiated();
+					}
+				}
+				finally {
+					smartInitialize.end();
+				}
+			}
+		}
+	}
+
+
+	/**
+	 * Trigger initialization of the given bean, if it is a non-lazy singleton.
+	 */
+	private void preInstantiateSingleton(String beanName) {
+	    // 获得 RootBeanDefinition 对象
+		RootBeanDefinition bd = getMergedLocalBeanDefinition(beanName);
+		// 单例 && 非延迟加载
+		if (!bd.isAbstract() && bd.isSingleton() && !bd.isLazyInit()) {
+		    // 如果是 FactoryBean
+			if (isFactoryBean(beanName)) {
+			    // 获得 FactoryBean 自身这个 Bean
+				Object bean = getBean(FACTORY_BEAN_PREFIX + beanName);
+				if (bean instanceof FactoryBean) {
+					final FactoryBean<?> factory = (FactoryBean<?>) bean;
+					// 判断是否要提前初始化
+					boolean isEagerInit;
+					if (System.getSecurityManager() != null && factory instanceof SmartFactoryBean) {
+						isEagerInit = AccessController.doPrivileged((PrivilegedAction<Boolean>)
+										((SmartFactoryBean<?>) factory)::isEagerInit,
+								getAccessControlContext());
+					} else {
+						isEagerInit = (factory instanceof SmartFactoryBean &&
+								((SmartFactoryBean<?>) factory).isEagerInit());
+					}
+					// 如果要，加载 FactoryBean 要创建的 Bean 对象
+					if (isEagerInit) {
+						getBean(beanName);
+					}
+				}
+			} else {
+                // 如果非 FactoryBean ，直接加载 Bean 对象
+                getBean(beanName);
+			}
+		}
+	}
+
+	/**
+	 * Trigger initialization of the given beans on a fork-join pool, creating
+	 * groups of beans that do not declare dependencies on each other in parallel.
+	 * <p>If several groups fail, the first failure is rethrown, with the
+	 * failures of the other groups added as suppressed exceptions.
+	 * @see #setPreInstantiationParallelism
+	 */
+	private void preInstantiateSingletonsInParallel(List<String> beanNames) {
+		Collection<List<String>> groups = groupByDeclaredDependencies(beanNames);
+		if (logger.isDebugEnabled()) {
+			logger.debug("Pre-instantiating singletons in " + groups.size() + " independent groups with " +
+					this.preInstantiationParallelism + " threads");
+		}
+		ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+		Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+		ForkJoinPool pool = new ForkJoinPool(this.preInstantiationParallelism);
+		setConcurrentSingletonCreation(true);
+		try {
+			List<ForkJoinTask<?>> tasks = new ArrayList<>(groups.size());
+			for (List<String> group : groups) {
+				tasks.add(pool.submit(() -> {
+					Thread currentThread = Thread.currentThread();
+					ClassLoader originalClassLoader = currentThread.getContextClassLoader();
+					currentThread.setContextClassLoader(contextClassLoader);
+					try {
+						for (String beanName : group) {
+							preInstantiateSingleton(beanName);
+						}
+					}
+					catch (Throwable ex) {
+						failures.add(ex);
+					}
+					finally {
+						currentThread.setContextClassLoader(originalClassLoader);
+					}
+				}));
+			}
+			// Wait for all groups, so that a failure does not leave creation in progress
+			for (ForkJoinTask<?> task : tasks) {
+				task.join();
+			}
+		}
+		finally {
+			setConcurrentSingletonCreation(false);
+			pool.shutdown();
+		}
+
+		Throwable failure = failures.poll();
+		if (failure == null) {
+			return;
+		}
+		for (Throwable otherFailure : failures) {
+			if (otherFailure != failure) {
+				failure.addSuppressed(otherFailure);
+			}
+		}
+		if (failure instanceof RuntimeException) {
+			throw (RuntimeException) failure;
+		}
+		if (failure instanceof Error) {
+			throw (Error) failure;
+		}
+		throw new BeanCreationException("Parallel pre-instantiation of singletons failed", failure);
+	}
+
+	/**
+	 * Group the non-lazy singletons among the given beans by the dependencies
+	 * declared in their bean definitions: "depends-on", factory beans, and bean
+	 * references in constructor arguments and property values.
+	 * @return groups of bean names, in registration order
+	 */
+	private Collection<List<String>> groupByDeclaredDependencies(List<String> beanNames) {
+		Map<String, String> parents = new HashMap<>(beanNames.size());
+		for (String beanName : beanNames) {
+			RootBeanDefinition bd = getMergedLocalBeanDefinition(beanName);
+			Set<String> references = new LinkedHashSet<>();
+			collectDeclaredDependencies(bd, references);
+			for (String reference : references) {
+				String root = findGroupRoot(parents, beanName);
+				String otherRoot = findGroupRoot(parents, canonicalName(transformedBeanName(reference)));
+				if (!root.equals(otherRoot)) {
+					parents.put(otherRoot, root);
 				}
 			}
 		}
+		Map<String, List<String>> groups = new LinkedHashMap<>();
+		for (String beanName : beanNames) {
+			RootBeanDefinition bd = getMergedLocalBeanDefinition(beanName);
+			if (!bd.isAbstract() && bd.isSingleton() && !bd.isLazyInit()) {
+				groups.computeIfAbsent(findGroupRoot(parents, beanName), root -> new ArrayList<>()).add(beanName);
+			}
+		}
+		return groups.values();
+	}
+
+	private static String findGroupRoot(Map<String, String> parents, String beanName) {
+		String root = beanName;
+		String parent;
+		while ((parent = parents.get(root)) != null) {
+			root = parent;
+		}
+		if (!root.equals(beanName)) {
+			parents.put(beanName, root);
+		}
+		return root;
+	}
+
+	private void collectDeclaredDependencies(BeanDefinition bd, Set<String> references) {
+		String[] dependsOn = bd.getDependsOn();
+		if (dependsOn != null) {
+			Collections.addAll(references, dependsOn);
+		}
+		if (bd.getFactoryBeanName() != null) {
+			references.add(bd.getFactoryBeanName());
+		}
+		ConstructorArgumentValues cargs = bd.getConstructorArgumentValues();
+		for (ConstructorArgumentValues.ValueHolder valueHolder : cargs.getIndexedArgumentValues().values()) {
+			collectDeclaredDependencies(valueHolder.getValue(), references);
+		}
+		for (ConstructorArgumentValues.ValueHolder valueHolder : cargs.getGenericArgumentValues()) {
+			collectDeclaredDependencies(valueHolder.getValue(), references);
+		}
+		for (PropertyValue pv : bd.getPropertyValues().getPropertyValues()) {
+			collectDeclaredDependencies(pv.getValue(), references);
+		}
+	}
+
+	private void collectDeclaredDependencies(@Nullable Object value, Set<String> references) {
+		if (value instanceof RuntimeBeanReference && ((RuntimeBeanReference) value).isToParent()) {
+			return;
+		}
+		if (value instanceof BeanReference) {
+			references.add(((BeanReference) value).getBeanName());
+		}
+		else if (value instanceof BeanDefinitionHolder) {
+			collectDeclaredDependencies(((BeanDefinitionHolder) value).getBeanDefinition(), references);
+		}
+		else if (value instanceof BeanDefinition) {
+			collectDeclaredDependencies((BeanDefinition) value, references);
+		}
+		else if (value instanceof Collection) {
+			for (Object element : (Collection<?>) value) {
+				collectDeclaredDependencies(element, references);
+			}
+		}
+		else if (value instanceof Map) {
+			for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+				collectDeclaredDependencies(entry.getKey(), references);
+				collectDeclaredDependencies(entry.getValue(), references);
+			}
+		}
 	}
 
 
@@ -947,6 +1292,7 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 
 			this.frozenBeanDefinitionNames = null;
 		}
+		updateByTypeCache(beanName);
 
 		/*
 			若缓存中存在该 beanName 或者单例 bean 集合中存在该 beanName ，
@@ -983,6 +1329,7 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 			this.beanDefinitionNames.remove(beanName);
 		}
 		this.frozenBeanDefinitionNames = null;
+		updateByTypeCache(beanName);
 
 		resetBeanDefinition(beanName);
 	}
@@ -1055,14 +1402,14 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 			}
 		}
 
-		clearByTypeCache();
+		updateByTypeCache(beanName);
 	}
 
 	@Override
 	public void destroySingleton(String beanName) {
 		super.destroySingleton(beanName);
 		this.manualSingletonNames.remove(beanName);
-		clearByTypeCache();
+		recordByTypeChange(beanName);
 	}
 
 	@Override
@@ -1072,10 +1419,44 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		clearByTypeCache();
 	}
 
+	/**
+	 * Update the by-type caches for a registration or removal of the given bean:
+	 * recording it for an incremental re-check, unless other bean definitions
+	 * refer to it as their factory bean (and therefore might change their type).
+	 * @see #recordByTypeChange
+	 */
+	private void updateByTypeCache(String beanName) {
+		if (!this.allBeanNamesByType.isEmpty() || !this.singletonBeanNamesByType.isEmpty()) {
+			for (BeanDefinition bd : this.beanDefinitionMap.values()) {
+				String factoryBeanName = bd.getFactoryBeanName();
+				if (factoryBeanName != null && beanName.equals(canonicalName(factoryBeanName))) {
+					clearByTypeCache();
+					return;
+				}
+			}
+		}
+		recordByTypeChange(beanName);
+	}
+
+	/**
+	 * Record a change for the given bean, to be re-checked on the next
+	 * access to the by-type caches.
+	 */
+	private void recordByTypeChange(String beanName) {
+		List<String> changes = this.byTypeChanges;
+		if (changes.size() < MAX_BY_TYPE_CHANGES) {
+			changes.add(beanName);
+		}
+		else {
+			clearByTypeCache();
+		}
+	}
+
 	/**
 	 * Remove any assumptions about by-type mappings.
 	 */
 	private void clearByTypeCache() {
+		this.byTypeChanges = new CopyOnWriteArrayList<>();
 		this.allBeanNamesByType.clear();
 		this.singletonBeanNamesByType.clear();
 	}
@@ -1783,6 +2164,26 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	}
 
 
+	/**
+	 * Bean names matching a specific type, along with the change log position that
+	 * they reflect: allowing for an incremental update on bean registration or removal.
+	 */
+	private static final class BeanNamesForType {
+
+		final String[] beanNames;
+
+		final List<String> changes;
+
+		final int changeCount;
+
+		BeanNamesForType(String[] beanNames, List<String> changes, int changeCount) {
+			this.beanNames = beanNames;
+			this.changes = changes;
+			this.changeCount = changeCount;
+		}
+	}
+
+
 	/**
 	 * A dependency descriptor marker for nested elements.
 	 */
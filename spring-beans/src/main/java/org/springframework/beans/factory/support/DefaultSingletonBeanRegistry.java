@@ -119,6 +119,19 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	/** this.singletonsCurrentlyInDestruction是个boolean，记录的是当前这个单例是否正在被销毁， */
 	private boolean singletonsCurrentlyInDestruction = false;
 
+	/** Whether singletons may currently be created by several threads at the same time. */
+	private volatile boolean concurrentSingletonCreation = false;
+
+	/** Singletons being created in concurrent mode: bean name to creation handle. */
+	private final Map<String, SingletonCreation> singletonCreations = new HashMap<>(16);
+
+	/**
+	 * Threads waiting for singletons created by other threads: waiting thread to bean name.
+	 * Guarded by {@link #singletonCreations}, which may be locked within the singleton
+	 * mutex but must never be held when acquiring it.
+	 */
+	private final Map<Thread, String> singletonCreationWaits = new HashMap<>(16);
+
 	/** Disposable bean instances: bean name to disposable instance. */
 	private final Map<String, Object> disposableBeans = new LinkedHashMap<>();
 
@@ -233,6 +246,10 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 		if (singletonObject == null && isSingletonCurrentlyInCreation(beanName)) {
             // 加锁
             synchronized (this.singletonObjects) {
+				// 并发创建模式下，只有创建该 bean 的线程（或与其循环等待的线程）才能拿到早期引用
+				if (!isEarlySingletonReferenceAllowed(beanName)) {
+					return null;
+				}
             	/*
             		bean 在创建过程中就已经加入到 earlySingletonObjects 中了。
 					这个 Map 也是【循环依赖】的关键所在。
@@ -281,6 +298,10 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 */
 	public Object getSingleton(String beanName, ObjectFactory<?> singletonFactory) {
 		Assert.notNull(beanName, "Bean name must not be null");
+		// 并发创建模式：不在全局锁内创建 bean
+		if (this.concurrentSingletonCreation) {
+			return getSingletonConcurrently(beanName, singletonFactory);
+		}
         // 全局加锁
         synchronized (this.singletonObjects) {
             // <1> 从缓存中检查一遍
@@ -353,6 +374,229 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 		}
 	}
 
+	/**
+	 * Variant of {@link #getSingleton(String, ObjectFactory)} for concurrent
+	 * singleton creation: the singleton is created outside of the singleton mutex,
+	 * and threads asking for a singleton that is being created by another thread
+	 * wait for its creation to complete, through a handle per bean name.
+	 * <p>Circular references across threads are resolved through early singleton
+	 * references, just like within a single thread; if none is available,
+	 * a {@link BeanCurrentlyInCreationException} is thrown.
+	 * @see #setConcurrentSingletonCreation
+	 */
+	private Object getSingletonConcurrently(String beanName, ObjectFactory<?> singletonFactory) {
+		Thread currentThread = Thread.currentThread();
+		SingletonCreation creation = null;
+		while (true) {
+			Object singletonObject = this.singletonObjects.get(beanName);
+			if (singletonObject != null) {
+				return singletonObject;
+			}
+			if (this.singletonsCurrentlyInDestruction) {
+				throw new BeanCreationNotAllowedException(beanName,
+						"Singleton bean creation not allowed while singletons of this factory are in destruction " +
+						"(Do not request a bean from a BeanFactory in a destroy method implementation!)");
+			}
+			SingletonCreation otherCreation;
+			boolean circular;
+			synchronized (this.singletonCreations) {
+				otherCreation = this.singletonCreations.get(beanName);
+				if (otherCreation == null) {
+					// The singleton is registered before its creation handle is removed
+					singletonObject = this.singletonObjects.get(beanName);
+					if (singletonObject != null) {
+						return singletonObject;
+					}
+					creation = new SingletonCreation(currentThread);
+					this.singletonCreations.put(beanName, creation);
+					break;
+				}
+				if (otherCreation.thread == currentThread) {
+					// Circular reference within the current thread -> regular in-creation check
+					break;
+				}
+				circular = isWaitingForSingletonOf(otherCreation.thread, currentThread);
+			}
+			if (circular) {
+				// Circular reference across threads: resolve it through an early reference
+				singletonObject = getSingleton(beanName, true);
+				if (singletonObject != null) {
+					return singletonObject;
+				}
+				if (!hasEarlySingletonInWaitCycle(beanName, currentThread)) {
+					throw new BeanCurrentlyInCreationException(beanName);
+				}
+			}
+			awaitSingletonCreation(beanName, otherCreation, circular);
+		}
+
+		try {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Creating shared instance of singleton bean '" + beanName + "'");
+			}
+			beforeSingletonCreation(beanName);
+			Object singletonObject;
+			boolean newSingleton = false;
+			try {
+				singletonObject = singletonFactory.getObject();
+				newSingleton = true;
+			}
+			catch (IllegalStateException ex) {
+				// Has the singleton object implicitly appeared in the meantime ->
+				// if yes, proceed with it since the exception indicates that state.
+				singletonObject = this.singletonObjects.get(beanName);
+				if (singletonObject == null) {
+					throw ex;
+				}
+			}
+			finally {
+				afterSingletonCreation(beanName);
+			}
+			if (newSingleton) {
+				addSingleton(beanName, singletonObject);
+			}
+			return singletonObject;
+		}
+		finally {
+			if (creation != null) {
+				synchronized (this.singletonCreations) {
+					this.singletonCreations.remove(beanName);
+				}
+				creation.complete();
+			}
+		}
+	}
+
+	/**
+	 * Wait for the given creation of a singleton in another thread to complete,
+	 * or for a change in the waiting threads that may resolve a circular reference.
+	 * <p>To be called without the {@link #singletonCreations} lock held.
+	 */
+	private void awaitSingletonCreation(String beanName, SingletonCreation creation, boolean circular) {
+		if (Thread.holdsLock(this.singletonObjects)) {
+			// The creating thread may need the singleton mutex to complete
+			throw new BeanCurrentlyInCreationException(beanName,
+					"Requested bean is currently in creation in another thread: " +
+					"cannot wait for it while holding the singleton mutex");
+		}
+		Thread currentThread = Thread.currentThread();
+		int generation;
+		synchronized (this.singletonCreations) {
+			if (circular) {
+				// Let the other threads in the cycle pick up an early reference
+				for (SingletonCreation otherCreation : this.singletonCreations.values()) {
+					otherCreation.signal();
+				}
+			}
+			if (!circular && isWaitingForSingletonOf(creation.thread, currentThread)) {
+				// Cycle closed by another thread in the meantime -> check for an early reference
+				return;
+			}
+			generation = creation.getGeneration();
+			this.singletonCreationWaits.put(currentThread, beanName);
+		}
+		try {
+			creation.await(generation);
+		}
+		catch (InterruptedException ex) {
+			currentThread.interrupt();
+			throw new BeanCreationException(beanName,
+					"Interrupted while waiting for singleton creation in another thread");
+		}
+		finally {
+			synchronized (this.singletonCreations) {
+				this.singletonCreationWaits.remove(currentThread);
+			}
+		}
+	}
+
+	/**
+	 * Determine whether the current thread may obtain an early reference to the
+	 * given singleton: in concurrent mode, only the thread creating the singleton
+	 * and threads that it (indirectly) waits for may do so. Any other thread has
+	 * to wait for the singleton to be fully initialized.
+	 */
+	private boolean isEarlySingletonReferenceAllowed(String beanName) {
+		if (!this.concurrentSingletonCreation) {
+			return true;
+		}
+		synchronized (this.singletonCreations) {
+			SingletonCreation creation = this.singletonCreations.get(beanName);
+			Thread currentThread = Thread.currentThread();
+			return (creation == null || creation.thread == currentThread ||
+					isWaitingForSingletonOf(creation.thread, currentThread));
+		}
+	}
+
+	/**
+	 * Determine whether the given thread (indirectly) waits for a singleton
+	 * that is being created by the given target thread.
+	 * <p>To be called with the {@link #singletonCreations} lock held.
+	 */
+	private boolean isWaitingForSingletonOf(Thread thread, Thread targetThread) {
+		Set<Thread> visited = new HashSet<>();
+		Thread current = thread;
+		while (current != null && visited.add(current)) {
+			String awaitedBeanName = this.singletonCreationWaits.get(current);
+			if (awaitedBeanName == null) {
+				return false;
+			}
+			SingletonCreation creation = this.singletonCreations.get(awaitedBeanName);
+			current = (creation != null ? creation.thread : null);
+			if (current == targetThread) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Determine whether any singleton awaited within the cycle of waiting threads
+	 * that starts with the given singleton and ends with the given thread has an
+	 * early reference exposed, allowing for the cycle to be resolved.
+	 */
+	private boolean hasEarlySingletonInWaitCycle(String beanName, Thread currentThread) {
+		synchronized (this.singletonObjects) {
+			synchronized (this.singletonCreations) {
+				Set<Thread> visited = new HashSet<>();
+				String awaitedBeanName = beanName;
+				while (awaitedBeanName != null) {
+					if (this.earlySingletonObjects.containsKey(awaitedBeanName) ||
+							this.singletonFactories.containsKey(awaitedBeanName)) {
+						return true;
+					}
+					SingletonCreation creation = this.singletonCreations.get(awaitedBeanName);
+					if (creation == null || creation.thread == currentThread || !visited.add(creation.thread)) {
+						return false;
+					}
+					awaitedBeanName = this.singletonCreationWaits.get(creation.thread);
+				}
+				return false;
+			}
+		}
+	}
+
+	/**
+	 * Switch concurrent singleton creation on or off.
+	 * <p>In concurrent mode, singletons are not created within the singleton mutex,
+	 * allowing several threads to create independent singletons at the same time,
+	 * e.g. for parallel pre-instantiation. Must only be switched while no
+	 * singletons are being created.
+	 * @since 5.1.1
+	 * @see #getSingletonMutex()
+	 */
+	protected void setConcurrentSingletonCreation(boolean concurrentSingletonCreation) {
+		this.concurrentSingletonCreation = concurrentSingletonCreation;
+	}
+
+	/**
+	 * Return whether singletons may currently be created concurrently.
+	 * @since 5.1.1
+	 */
+	protected boolean isConcurrentSingletonCreation() {
+		return this.concurrentSingletonCreation;
+	}
+
 	/**
 	 * Register an Exception that happened to get suppressed during the creation of a
 	 * singleton bean instance, e.g. a temporary circular reference resolution problem.
@@ -733,4 +977,46 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 		return this.singletonObjects;
 	}
 
+
+
+	/**
+	 * Handle for the creation of a singleton in concurrent mode, allowing other
+	 * threads to wait for it without holding the singleton mutex.
+	 */
+	private static final class SingletonCreation {
+
+		final Thread thread;
+
+		private boolean completed;
+
+		private int generation;
+
+		SingletonCreation(Thread thread) {
+			this.thread = thread;
+		}
+
+		synchronized int getGeneration() {
+			return this.generation;
+		}
+
+		/**
+		 * Wake up waiting threads to re-check for circular references.
+		 */
+		synchronized void signal() {
+			this.generation++;
+			notifyAll();
+		}
+
+		synchronized void complete() {
+			this.completed = true;
+			notifyAll();
+		}
+
+		synchronized void await(int generation) throws InterruptedException {
+			while (!this.completed && this.generation == generation) {
+				wait();
+			}
+		}
+	}
+
 }
@@ -49,6 +49,9 @@ public abstract class FactoryBeanRegistrySupport extends DefaultSingletonBeanReg
      */
 	private final Map<String, Object> factoryBeanObjectCache = new ConcurrentHashMap<>(16);
 
+	/** Mutexes for obtaining FactoryBean objects in concurrent singleton creation mode. */
+	private final Map<String, Object> factoryBeanObjectMutexes = new ConcurrentHashMap<>(16);
+
 	/**
 	 * Determine the type for the given FactoryBean.
 	 * @param factoryBean the FactoryBean instance to check
@@ -103,7 +106,7 @@ public abstract class FactoryBeanRegistrySupport extends DefaultSingletonBeanReg
         // <1> 为单例模式且缓存中存在
 		if (factory.isSingleton() && containsSingleton(beanName)) {
 			// 其实我们在前面篇幅中发现了大量的同步锁，锁住的对象都是 this.singletonObjects，主要是因为在单例模式中必须要保证全局唯一。
-			synchronized (getSingletonMutex()) { // <1.1> 单例锁
+			synchronized (getFactoryBeanObjectMutex(beanName)) { // <1.1> 单例锁
 
 				/*
 					从 factoryBeanObjectCache 缓存中获取实例对象 object 。
@@ -258,6 +261,20 @@ public abstract class FactoryBeanRegistrySupport extends DefaultSingletonBeanReg
 		return (FactoryBean<?>) beanInstance;
 	}
 
+	/**
+	 * Return the mutex for obtaining the object of the given FactoryBean:
+	 * the singleton mutex, or a mutex per bean name in concurrent mode, so that
+	 * a FactoryBean may wait for beans being created by other threads.
+	 * @param beanName the name of the FactoryBean
+	 * @see #isConcurrentSingletonCreation()
+	 */
+	private Object getFactoryBeanObjectMutex(String beanName) {
+		if (isConcurrentSingletonCreation()) {
+			return this.factoryBeanObjectMutexes.computeIfAbsent(beanName, name -> new Object());
+		}
+		return getSingletonMutex();
+	}
+
 	/**
 	 * Overridden to clear the FactoryBean object cache as well.
 	 */
@@ -266,6 +283,7 @@ public abstract class FactoryBeanRegistrySupport extends DefaultSingletonBeanReg
 		synchronized (getSingletonMutex()) {
 			super.removeSingleton(beanName);
 			this.factoryBeanObjectCache.remove(beanName);
+			this.factoryBeanObjectMutexes.remove(beanName);
 		}
 	}
 
@@ -277,6 +295,7 @@ public abstract class FactoryBeanRegistrySupport extends DefaultSingletonBeanReg
 		synchronized (getSingletonMutex()) {
 			super.clearSingletonCache();
 			this.factoryBeanObjectCache.clear();
+			this.factoryBeanObjectMutexes.clear();
 		}
 	}
 
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans.factory.support;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+import org.springframework.beans.BeanInstantiationException;
+import org.springframework.lang.Nullable;
+
+/**
+ * Instantiation strategy that calls constructors and factory methods through
+ * CGLIB-generated classes rather than through reflection, building a direct-call
+ * instantiator once per bean definition and reusing it for every subsequent
+ * instance of the bean. Primarily beneficial for prototype and scoped beans
+ * which get instantiated many times.
+ *
+ * <p>Constructors and factory methods which cannot be called from a generated
+ * class - e.g. non-public ones - are invoked reflectively, like with the
+ * {@link CglibSubclassingInstantiationStrategy} superclass which this strategy
+ * also inherits <em>Method Injection</em> support from.
+ *
+ * <p>To be registered through
+ * {@link AbstractAutowireCapableBeanFactory#setInstantiationStrategy}.
+ *
+ * @author agent (agent@local)
+ * @since 5.1.1
+ * @see GeneratedInstantiator
+ */
+public class GeneratedInstantiationStrategy extends CglibSubclassingInstantiationStrategy {
+
+	@Override
+	protected Object instantiateClass(RootBeanDefinition bd, Constructor<?> ctor, Object... args) {
+		GeneratedInstantiator instantiator = getGeneratedInstantiator(bd, ctor);
+		if (instantiator.canInvoke(args)) {
+			try {
+				return instantiator.newInstance(args);
+			}
+			catch (InvocationTargetException ex) {
+				throw new BeanInstantiationException(ctor, "Constructor threw exception", ex.getTargetException());
+			}
+		}
+		return super.instantiateClass(bd, ctor, args);
+	}
+
+	@Override
+	@Nullable
+	protected Object invokeFactoryMethod(RootBeanDefinition bd, @Nullable Object factoryBean,
+			Method factoryMethod, Object... args) throws IllegalAccessException, InvocationTargetException {
+
+		GeneratedInstantiator instantiator = getGeneratedInstantiator(bd, factoryMethod);
+		if (instantiator.canInvoke(args) && (factoryBean != null || Modifier.isStatic(factoryMethod.getModifiers()))) {
+			return instantiator.invoke(factoryBean, args);
+		}
+		return super.invokeFactoryMethod(bd, factoryBean, factoryMethod, args);
+	}
+
+	/**
+	 * Obtain the generated instantiator for the given constructor or factory method,
+	 * as cached in the given bean definition.
+	 */
+	private GeneratedInstantiator getGeneratedInstantiator(RootBeanDefinition bd, Executable executable) {
+		GeneratedInstantiator instantiator = bd.generatedInstantiator;
+		if (instantiator == null || !instantiator.isFor(executable)) {
+			instantiator = GeneratedInstantiator.forExecutable(executable);
+			bd.generatedInstantiator = instantiator;
+		}
+		return instantiator;
+	}
+
+}
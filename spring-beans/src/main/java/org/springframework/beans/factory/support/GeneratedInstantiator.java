@@ -0,0 +1,187 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans.factory.support;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.cglib.reflect.FastClass;
+import org.springframework.core.KotlinDetector;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
+
+/**
+ * Direct-call instantiator for a specific constructor or factory method,
+ * dispatching by index through a CGLIB-generated {@link FastClass} for the
+ * declaring class instead of through reflection.
+ *
+ * <p>Cached per {@link RootBeanDefinition} by {@link GeneratedInstantiationStrategy}.
+ * An instantiator for a constructor or method that cannot be called that way
+ * (e.g. non-public or declared on a Kotlin class) reports {@link #isAvailable()}
+ * as {@code false}, in which case the caller falls back to reflection.
+ *
+ * @author agent (agent@local)
+ * @since 5.1.1
+ */
+final class GeneratedInstantiator {
+
+	private static final Log logger = LogFactory.getLog(GeneratedInstantiator.class);
+
+	/** Generated classes keyed by declaring class, with an empty marker for failed generation. */
+	private static final Map<Class<?>, Object> fastClassCache = new ConcurrentReferenceHashMap<>(64);
+
+	private static final Object NO_FAST_CLASS = new Object();
+
+
+	private final Executable executable;
+
+	private final Class<?>[] parameterTypes;
+
+	@Nullable
+	private final FastClass fastClass;
+
+	private final int index;
+
+
+	private GeneratedInstantiator(Executable executable, @Nullable FastClass fastClass, int index) {
+		this.executable = executable;
+		this.parameterTypes = executable.getParameterTypes();
+		this.fastClass = fastClass;
+		this.index = index;
+	}
+
+
+	/**
+	 * Return whether this instantiator has been built for the given executable.
+	 */
+	public boolean isFor(Executable executable) {
+		return (this.executable == executable || this.executable.equals(executable));
+	}
+
+	/**
+	 * Return whether the target executable can be called through a generated class.
+	 */
+	public boolean isAvailable() {
+		return (this.fastClass != null && this.index >= 0);
+	}
+
+	/**
+	 * Return whether the given arguments can be passed to the generated class as-is.
+	 * <p>Arguments which do not match the parameter types (including {@code null}
+	 * for primitive parameters) are left to reflection, for the same exception
+	 * behavior in such a case.
+	 */
+	public boolean canInvoke(Object[] args) {
+		if (!isAvailable() || args.length != this.parameterTypes.length) {
+			return false;
+		}
+		for (int i = 0; i < args.length; i++) {
+			if (!ClassUtils.isAssignableValue(this.parameterTypes[i], args[i])) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Create a new instance through the target constructor.
+	 * @param args the constructor arguments to apply
+	 * @return the new instance
+	 * @throws InvocationTargetException if the constructor threw an exception
+	 */
+	public Object newInstance(Object[] args) throws InvocationTargetException {
+		Assert.state(this.executable instanceof Constructor, "Not a constructor");
+		return obtainFastClass().newInstance(this.index, args);
+	}
+
+	/**
+	 * Call the target factory method.
+	 * @param target the instance to call the factory method on
+	 * (or {@code null} for a static factory method)
+	 * @param args the method arguments to apply
+	 * @return the object returned by the factory method
+	 * @throws InvocationTargetException if the factory method threw an exception
+	 */
+	@Nullable
+	public Object invoke(@Nullable Object target, Object[] args) throws InvocationTargetException {
+		Assert.state(this.executable instanceof Method, "Not a method");
+		return obtainFastClass().invoke(this.index, target, args);
+	}
+
+	private FastClass obtainFastClass() {
+		FastClass fastClass = this.fastClass;
+		Assert.state(fastClass != null && this.index >= 0, "No generated instantiator available");
+		return fastClass;
+	}
+
+
+	/**
+	 * Build an instantiator for the given constructor or factory method.
+	 * @param executable the constructor or factory method
+	 * @return the instantiator (never {@code null}; potentially not {@link #isAvailable() available})
+	 */
+	static GeneratedInstantiator forExecutable(Executable executable) {
+		Class<?> declaringClass = executable.getDeclaringClass();
+		if (!Modifier.isPublic(executable.getModifiers()) || !Modifier.isPublic(declaringClass.getModifiers()) ||
+				declaringClass.getClassLoader() == null || declaringClass.isInterface() ||
+				(executable instanceof Constructor && (Modifier.isAbstract(declaringClass.getModifiers()) ||
+						KotlinDetector.isKotlinType(declaringClass)))) {
+			return new GeneratedInstantiator(executable, null, -1);
+		}
+		FastClass fastClass = getFastClass(declaringClass);
+		if (fastClass == null) {
+			return new GeneratedInstantiator(executable, null, -1);
+		}
+		int index = (executable instanceof Constructor ?
+				fastClass.getIndex(executable.getParameterTypes()) :
+				fastClass.getIndex(executable.getName(), executable.getParameterTypes()));
+		return new GeneratedInstantiator(executable, fastClass, index);
+	}
+
+	@Nullable
+	private static FastClass getFastClass(Class<?> declaringClass) {
+		Object cached = fastClassCache.get(declaringClass);
+		if (cached == null) {
+			try {
+				FastClass.Generator generator = new FastClass.Generator();
+				generator.setType(declaringClass);
+				generator.setContextClass(declaringClass);
+				generator.setClassLoader(declaringClass.getClassLoader());
+				cached = generator.create();
+			}
+			catch (Throwable ex) {
+				if (logger.isDebugEnabled()) {
+					logger.debug("Failed to generate instantiator class for [" + declaringClass.getName() +
+							"] - falling back to reflective instantiation", ex);
+				}
+				cached = NO_FAST_CLASS;
+			}
+			fastClassCache.put(declaringClass, cached);
+		}
+		return (cached != NO_FAST_CLASS ? (FastClass) cached : null);
+	}
+
+}
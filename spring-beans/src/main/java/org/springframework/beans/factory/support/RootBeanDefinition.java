@@ -89,6 +89,10 @@ public class RootBeanDefinition extends AbstractBeanDefinition {
 	@Nullable
 	Object[] preparedConstructorArguments;
 
+	/** Package-visible field for caching a generated instantiator for the constructor or factory method. */
+	@Nullable
+	volatile GeneratedInstantiator generatedInstantiator;
+
 	/** Common lock for the two post-processing fields below. */
 	final Object postProcessingLock = new Object();
 
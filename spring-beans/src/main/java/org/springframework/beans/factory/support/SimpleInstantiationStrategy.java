@@ -90,7 +90,7 @@ public class SimpleInstantiationStrategy implements InstantiationStrategy {
 				}
 			}
             // 通过 BeanUtils 直接使用构造器对象实例化 Bean 对象
-            return BeanUtils.instantiateClass(constructorToUse);
+            return instantiateClass(bd, constructorToUse);
 		} else {
 			// Must generate CGLIB subclass.
             // 生成 CGLIB 创建的子类对象
@@ -122,13 +122,29 @@ public class SimpleInstantiationStrategy implements InstantiationStrategy {
 				});
 			}
             // 通过 BeanUtils 直接使用构造器对象实例化 Bean 对象
-			return BeanUtils.instantiateClass(ctor, args);
+			return instantiateClass(bd, ctor, args);
 		} else {
             // 生成 CGLIB 创建的子类对象
 			return instantiateWithMethodInjection(bd, beanName, owner, ctor, args);
 		}
 	}
 
+	/**
+	 * Create a new instance through the given constructor.
+	 * <p>The default implementation delegates to
+	 * {@link BeanUtils#instantiateClass(Constructor, Object...)}.
+	 * Subclasses may override this to call the constructor differently.
+	 * @param bd the bean definition
+	 * @param ctor the constructor to use
+	 * @param args the constructor arguments to apply
+	 * @return the new instance
+	 * @throws BeanInstantiationException if the instantiation failed
+	 * @since 5.1.1
+	 */
+	protected Object instantiateClass(RootBeanDefinition bd, Constructor<?> ctor, Object... args) {
+		return BeanUtils.instantiateClass(ctor, args);
+	}
+
 	/**
 	 * Subclasses can override this method, which is implemented to throw
 	 * UnsupportedOperationException, if they can instantiate an object with
@@ -160,7 +176,7 @@ public class SimpleInstantiationStrategy implements InstantiationStrategy {
 			    // 设置新的 Method 对象，到 currentlyInvokedFactoryMethod 中
 				currentlyInvokedFactoryMethod.set(factoryMethod);
 				// 创建 Bean 对象
-				Object result = factoryMethod.invoke(factoryBean, args);
+				Object result = invokeFactoryMethod(bd, factoryBean, factoryMethod, args);
 				// 未创建，则创建 NullBean 对象
 				if (result == null) {
 					result = new NullBean();
@@ -193,4 +209,24 @@ public class SimpleInstantiationStrategy implements InstantiationStrategy {
 		}
 	}
 
+	/**
+	 * Invoke the given factory method with the given arguments.
+	 * <p>The default implementation invokes the method reflectively.
+	 * Subclasses may override this to call the factory method differently,
+	 * throwing the same exceptions as {@link Method#invoke}.
+	 * @param bd the bean definition
+	 * @param factoryBean the factory bean instance to call the factory method on,
+	 * or {@code null} in case of a static factory method
+	 * @param factoryMethod the factory method to use
+	 * @param args the factory method arguments to apply
+	 * @return the object returned by the factory method (may be {@code null})
+	 * @since 5.1.1
+	 */
+	@Nullable
+	protected Object invokeFactoryMethod(RootBeanDefinition bd, @Nullable Object factoryBean,
+			Method factoryMethod, Object... args) throws IllegalAccessException, InvocationTargetException {
+
+		return factoryMethod.invoke(factoryBean, args);
+	}
+
 }
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.core.SpringProperties;
+import org.springframework.tests.sample.beans.TestBean;
+
+import static org.junit.Assert.*;
+
+/**
+ * {@link BeanWrapperImpl} tests with generated accessor classes, running the
+ * common accessor tests against property methods invoked by index.
+ */
+public class BeanWrapperGeneratedAccessorsTests extends AbstractPropertyAccessorTests {
+
+	@Before
+	public void enableGeneratedAccessors() {
+		SpringProperties.setProperty(CachedIntrospectionResults.GENERATE_ACCESSORS_PROPERTY_NAME, "true");
+		CachedIntrospectionResults.clearClassLoader(getClass().getClassLoader());
+	}
+
+	@After
+	public void resetGeneratedAccessors() {
+		SpringProperties.setProperty(CachedIntrospectionResults.GENERATE_ACCESSORS_PROPERTY_NAME, null);
+		CachedIntrospectionResults.clearClassLoader(getClass().getClassLoader());
+	}
+
+
+	@Override
+	protected BeanWrapperImpl createAccessor(Object target) {
+		return new BeanWrapperImpl(target);
+	}
+
+
+	@Test
+	public void accessorGeneratedForPublicClass() {
+		TestBean target = new TestBean();
+		BeanWrapper accessor = createAccessor(target);
+		accessor.setPropertyValue("name", "tom");
+		accessor.setPropertyValue("age", "42");
+		assertEquals("tom", target.getName());
+		assertEquals(42, accessor.getPropertyValue("age"));
+
+		GeneratedPropertyAccessor generated =
+				CachedIntrospectionResults.forClass(TestBean.class).getGeneratedAccessor();
+		assertNotNull(generated);
+		assertTrue(generated.getMethodIndex(accessor.getPropertyDescriptor("name").getReadMethod()) >= 0);
+		assertTrue(generated.getMethodIndex(accessor.getPropertyDescriptor("age").getWriteMethod()) >= 0);
+	}
+
+	@Test
+	public void reflectiveAccessForNonPublicClass() {
+		NonPublicBean target = new NonPublicBean();
+		BeanWrapper accessor = createAccessor(target);
+		accessor.setPropertyValue("name", "tom");
+		assertEquals("tom", accessor.getPropertyValue("name"));
+		assertNull(CachedIntrospectionResults.forClass(NonPublicBean.class).getGeneratedAccessor());
+	}
+
+	@Test
+	public void setterExceptionExposedAsMethodInvocationException() {
+		TestBean target = new TestBean();
+		BeanWrapper accessor = createAccessor(target);
+		try {
+			accessor.setPropertyValue("touchy", ".invalid");
+			fail("Should have thrown MethodInvocationException");
+		}
+		catch (MethodInvocationException ex) {
+			assertTrue(ex.getCause() instanceof Exception);
+			assertEquals("Can't contain a .", ex.getCause().getMessage());
+		}
+	}
+
+	@Test
+	public void nullForPrimitivePropertyHandledReflectively() {
+		TestBean target = new TestBean();
+		target.setAge(42);
+		BeanWrapper accessor = createAccessor(target);
+		try {
+			accessor.setPropertyValue("age", null);
+			fail("Should have thrown TypeMismatchException");
+		}
+		catch (TypeMismatchException ex) {
+			assertEquals(42, target.getAge());
+		}
+	}
+
+
+	static class NonPublicBean {
+
+		private String name;
+
+		public String getName() {
+			return this.name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+	}
+
+}
@@ -218,6 +218,24 @@ public class BeanWrapperTests extends AbstractPropertyAccessorTests {
 		}
 	}
 
+	@Test
+	public void propertyTokensModifiedBySubclassNotShared() {
+		BeanWrapperImpl modifyingAccessor = new BeanWrapperImpl(new TestBean()) {
+			@Override
+			protected void setPropertyValue(PropertyTokenHolder tokens, PropertyValue pv) {
+				super.setPropertyValue(tokens, pv);
+				tokens.actualName = "age";
+				tokens.canonicalName = "age";
+			}
+		};
+		modifyingAccessor.setPropertyValue("name", "x");
+
+		TestBean target = new TestBean();
+		createAccessor(target).setPropertyValue("name", "y");
+		assertEquals("y", target.getName());
+	}
+
+
 
 	private interface BaseProperty {
 
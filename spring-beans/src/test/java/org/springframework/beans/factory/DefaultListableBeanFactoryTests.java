@@ -17,6 +17,7 @@
 package org.springframework.beans.factory;
 
 import java.io.Closeable;
+import java.io.IOException;
 import java.io.Serializable;
 import java.lang.reflect.Field;
 import java.net.MalformedURLException;
@@ -26,6 +27,7 @@ import java.security.Principal;
 import java.security.PrivilegedAction;
 import java.text.NumberFormat;
 import java.text.ParseException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -37,6 +39,9 @@ import java.util.Optional;
 import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import javax.annotation.Priority;
 import javax.security.auth.Subject;
@@ -1832,6 +1837,60 @@ public class DefaultListableBeanFactoryTests {
 		assertEquals(0, lbf.getBeanNamesForType(ResolvableType.forClassWithGenerics(FactoryBean.class, String.class)).length);
 	}
 
+	@Test
+	public void testGetBeanNamesForTypeWithFrozenConfigurationAndLateRegistration() {
+		DefaultListableBeanFactory lbf = new DefaultListableBeanFactory();
+		lbf.registerBeanDefinition("tb1", new RootBeanDefinition(TestBean.class));
+		lbf.registerBeanDefinition("ntb", new RootBeanDefinition(NestedTestBean.class));
+		lbf.freezeConfiguration();
+		assertArrayEquals(new String[] {"tb1"}, lbf.getBeanNamesForType(ITestBean.class));
+		assertArrayEquals(new String[] {"ntb"}, lbf.getBeanNamesForType(NestedTestBean.class));
+
+		lbf.registerBeanDefinition("tb2", new RootBeanDefinition(DerivedTestBean.class));
+		lbf.registerSingleton("tb3", new TestBean());
+		lbf.registerBeanDefinition("factory", new RootBeanDefinition(DummyFactory.class));
+		assertArrayEquals(new String[] {"tb1", "tb2", "factory", "tb3"}, lbf.getBeanNamesForType(ITestBean.class));
+		assertArrayEquals(new String[] {"&factory"}, lbf.getBeanNamesForType(DummyFactory.class));
+		assertArrayEquals(new String[] {"ntb"}, lbf.getBeanNamesForType(NestedTestBean.class));
+
+		lbf.removeBeanDefinition("tb1");
+		lbf.destroySingleton("tb3");
+		assertArrayEquals(new String[] {"tb2", "factory"}, lbf.getBeanNamesForType(ITestBean.class));
+
+		lbf.registerBeanDefinition("ntb", new RootBeanDefinition(TestBean.class));
+		assertArrayEquals(new String[] {"ntb", "tb2", "factory"}, lbf.getBeanNamesForType(ITestBean.class));
+		assertArrayEquals(new String[0], lbf.getBeanNamesForType(NestedTestBean.class));
+	}
+
+	@Test
+	public void testGetBeanNamesForGenericTypeWithFrozenConfiguration() {
+		DefaultListableBeanFactory lbf = new DefaultListableBeanFactory();
+		RootBeanDefinition bd1 = new RootBeanDefinition(ArrayList.class);
+		bd1.setTargetType(ResolvableType.forClassWithGenerics(List.class, String.class));
+		lbf.registerBeanDefinition("strings", bd1);
+		RootBeanDefinition bd2 = new RootBeanDefinition(ArrayList.class);
+		bd2.setTargetType(ResolvableType.forClassWithGenerics(List.class, Integer.class));
+		lbf.registerBeanDefinition("integers", bd2);
+		RootBeanDefinition bd3 = new RootBeanDefinition(ConstructorDependencyFactoryBean.class);
+		bd3.getConstructorArgumentValues().addGenericArgumentValue("dependency");
+		lbf.registerBeanDefinition("factory", bd3);
+		lbf.freezeConfiguration();
+
+		assertArrayEquals(new String[] {"strings", "integers"}, lbf.getBeanNamesForType(List.class));
+		assertArrayEquals(new String[] {"strings"},
+				lbf.getBeanNamesForType(ResolvableType.forClassWithGenerics(List.class, String.class)));
+		assertArrayEquals(new String[] {"integers"},
+				lbf.getBeanNamesForType(ResolvableType.forClassWithGenerics(List.class, Integer.class)));
+		assertArrayEquals(new String[] {"&factory"},
+				lbf.getBeanNamesForType(ResolvableType.forClassWithGenerics(FactoryBean.class, Object.class)));
+		assertArrayEquals(new String[0],
+				lbf.getBeanNamesForType(ResolvableType.forClassWithGenerics(FactoryBean.class, String.class)));
+
+		lbf.removeBeanDefinition("strings");
+		assertArrayEquals(new String[0],
+				lbf.getBeanNamesForType(ResolvableType.forClassWithGenerics(List.class, String.class)));
+	}
+
 	private RootBeanDefinition createConstructorDependencyBeanDefinition(int age) {
 		RootBeanDefinition bd = new RootBeanDefinition(ConstructorDependency.class);
 		bd.setScope(RootBeanDefinition.SCOPE_PROTOTYPE);
@@ -3008,6 +3067,129 @@ public class DefaultListableBeanFactoryTests {
 		}
 	}
 
+	@Test
+	public void testParallelPreInstantiation() {
+		DefaultListableBeanFactory lbf = new DefaultListableBeanFactory();
+		lbf.setPreInstantiationParallelism(2);
+		CountDownLatch latch = new CountDownLatch(2);
+		RootBeanDefinition bd1 = new RootBeanDefinition(LatchedBean.class);
+		bd1.getConstructorArgumentValues().addGenericArgumentValue(latch);
+		lbf.registerBeanDefinition("latched1", bd1);
+		RootBeanDefinition bd2 = new RootBeanDefinition(LatchedBean.class);
+		bd2.getConstructorArgumentValues().addGenericArgumentValue(latch);
+		lbf.registerBeanDefinition("latched2", bd2);
+		RootBeanDefinition bd3 = new RootBeanDefinition(TestBean.class);
+		ManagedList<Object> list = new ManagedList<>();
+		list.add(new RuntimeBeanReference("latched1"));
+		bd3.getPropertyValues().add("someList", list);
+		lbf.registerBeanDefinition("dependent", bd3);
+		lbf.registerBeanDefinition("smart", new RootBeanDefinition(SmartInitBean.class));
+
+		lbf.preInstantiateSingletons();
+		assertTrue(lbf.getBean("latched1", LatchedBean.class).concurrent);
+		assertTrue(lbf.getBean("latched2", LatchedBean.class).concurrent);
+		assertSame(lbf.getBean("latched1"), lbf.getBean("dependent", TestBean.class).getSomeList().get(0));
+		assertTrue(lbf.getBean("smart", SmartInitBean.class).initialized);
+		assertEquals(Thread.currentThread(), lbf.getBean("smart", SmartInitBean.class).initializingThread);
+	}
+
+	@Test
+	public void testParallelPreInstantiationWithCircularReferenceAcrossThreads() {
+		DefaultListableBeanFactory lbf = new DefaultListableBeanFactory();
+		lbf.setPreInstantiationParallelism(2);
+		CountDownLatch latch = new CountDownLatch(2);
+		RootBeanDefinition bd1 = new RootBeanDefinition(PingBean.class);
+		bd1.getConstructorArgumentValues().addGenericArgumentValue(latch);
+		bd1.setAutowireMode(RootBeanDefinition.AUTOWIRE_BY_TYPE);
+		lbf.registerBeanDefinition("ping", bd1);
+		RootBeanDefinition bd2 = new RootBeanDefinition(PongBean.class);
+		bd2.getConstructorArgumentValues().addGenericArgumentValue(latch);
+		bd2.setAutowireMode(RootBeanDefinition.AUTOWIRE_BY_TYPE);
+		lbf.registerBeanDefinition("pong", bd2);
+
+		lbf.preInstantiateSingletons();
+		PingBean ping = lbf.getBean(PingBean.class);
+		PongBean pong = lbf.getBean(PongBean.class);
+		assertSame(pong, ping.getPong());
+		assertSame(ping, pong.getPing());
+	}
+
+	@Test
+	public void testParallelPreInstantiationWithFailure() {
+		DefaultListableBeanFactory lbf = new DefaultListableBeanFactory();
+		lbf.setPreInstantiationParallelism(2);
+		lbf.registerBeanDefinition("ok", new RootBeanDefinition(TestBean.class));
+		RootBeanDefinition bd = new RootBeanDefinition(TestBean.class);
+		bd.getPropertyValues().add("age", "not a number");
+		lbf.registerBeanDefinition("broken", bd);
+
+		try {
+			lbf.preInstantiateSingletons();
+			fail("Should have thrown BeanCreationException");
+		}
+		catch (BeanCreationException ex) {
+			assertEquals("broken", ex.getBeanName());
+		}
+		assertFalse(lbf.containsSingleton("broken"));
+	}
+
+	@Test
+	public void testParallelPreInstantiationWithMultipleFailures() {
+		DefaultListableBeanFactory lbf = new DefaultListableBeanFactory();
+		lbf.setPreInstantiationParallelism(2);
+		RootBeanDefinition bd1 = new RootBeanDefinition(TestBean.class);
+		bd1.getPropertyValues().add("age", "not a number");
+		lbf.registerBeanDefinition("broken1", bd1);
+		RootBeanDefinition bd2 = new RootBeanDefinition(TestBean.class);
+		bd2.getPropertyValues().add("age", "not a number either");
+		lbf.registerBeanDefinition("broken2", bd2);
+
+		try {
+			lbf.preInstantiateSingletons();
+			fail("Should have thrown BeanCreationException");
+		}
+		catch (BeanCreationException ex) {
+			assertEquals(1, ex.getSuppressed().length);
+			BeanCreationException other = (BeanCreationException) ex.getSuppressed()[0];
+			Set<String> beanNames = new HashSet<>(Arrays.asList(ex.getBeanName(), other.getBeanName()));
+			assertEquals(new HashSet<>(Arrays.asList("broken1", "broken2")), beanNames);
+		}
+	}
+
+
+	@Test
+	public void testParallelPreInstantiationWithFactoryBeanWaitingForOtherThread() {
+		DefaultListableBeanFactory lbf = new DefaultListableBeanFactory();
+		lbf.setPreInstantiationParallelism(2);
+		CountDownLatch latch = new CountDownLatch(2);
+		RootBeanDefinition bd1 = new RootBeanDefinition(WaitingFactoryBean.class);
+		bd1.getConstructorArgumentValues().addGenericArgumentValue(latch);
+		lbf.registerBeanDefinition("waiting", bd1);
+		RootBeanDefinition bd2 = new RootBeanDefinition(SlowBean.class);
+		bd2.getConstructorArgumentValues().addGenericArgumentValue(latch);
+		lbf.registerBeanDefinition("slow", bd2);
+
+		lbf.preInstantiateSingletons();
+		assertSame(lbf.getBean("slow"), lbf.getBean("waiting"));
+		assertEquals(1, lbf.getBean("&waiting", WaitingFactoryBean.class).objectCount.get());
+	}
+
+	@Test
+	public void testParallelPreInstantiationWithCheckedFailure() {
+		DefaultListableBeanFactory lbf = new DefaultListableBeanFactory();
+		lbf.setPreInstantiationParallelism(2);
+		lbf.registerBeanDefinition("ok", new RootBeanDefinition(TestBean.class));
+		lbf.registerBeanDefinition("broken", new RootBeanDefinition(CheckedFailureFactoryBean.class));
+
+		try {
+			lbf.preInstantiateSingletons();
+			fail("Should have thrown BeanCreationException");
+		}
+		catch (BeanCreationException ex) {
+			assertTrue(ex.getCause() instanceof IOException);
+		}
+	}
+
 
 	static class A { }
 
@@ -3516,6 +3698,141 @@ public class DefaultListableBeanFactoryTests {
 	}
 
 
+	public static class LatchedBean {
+
+		final boolean concurrent;
+
+		public LatchedBean(CountDownLatch latch) throws InterruptedException {
+			latch.countDown();
+			this.concurrent = latch.await(5, TimeUnit.SECONDS);
+		}
+	}
+
+
+	public static class SlowBean {
+
+		public SlowBean(CountDownLatch latch) throws InterruptedException {
+			latch.countDown();
+			latch.await(5, TimeUnit.SECONDS);
+			// Give the factory bean time to request this bean while it is in creation
+			Thread.sleep(200);
+		}
+	}
+
+
+	public static class WaitingFactoryBean implements SmartFactoryBean<Object>, BeanFactoryAware {
+
+		final AtomicInteger objectCount = new AtomicInteger();
+
+		private final CountDownLatch latch;
+
+		private BeanFactory beanFactory;
+
+		public WaitingFactoryBean(CountDownLatch latch) {
+			this.latch = latch;
+		}
+
+		@Override
+		public void setBeanFactory(BeanFactory beanFactory) {
+			this.beanFactory = beanFactory;
+		}
+
+		@Override
+		public Object getObject() throws Exception {
+			this.objectCount.incrementAndGet();
+			this.latch.countDown();
+			this.latch.await(5, TimeUnit.SECONDS);
+			return this.beanFactory.getBean("slow");
+		}
+
+		@Override
+		public Class<?> getObjectType() {
+			return null;
+		}
+
+		@Override
+		public boolean isEagerInit() {
+			return true;
+		}
+	}
+
+
+	public static class CheckedFailureFactoryBean implements SmartFactoryBean<Object> {
+
+		@Override
+		public Object getObject() {
+			return new Object();
+		}
+
+		@Override
+		public Class<?> getObjectType() {
+			return Object.class;
+		}
+
+		@Override
+		public boolean isEagerInit() {
+			return CheckedFailureFactoryBean.<RuntimeException>sneakyThrow(new IOException("not eager"));
+		}
+
+		@SuppressWarnings("unchecked")
+		private static <T extends Throwable> boolean sneakyThrow(Throwable ex) throws T {
+			throw (T) ex;
+		}
+	}
+
+
+	public static class PingBean {
+
+		private PongBean pong;
+
+		public PingBean(CountDownLatch latch) throws InterruptedException {
+			latch.countDown();
+			latch.await(5, TimeUnit.SECONDS);
+		}
+
+		public PongBean getPong() {
+			return this.pong;
+		}
+
+		public void setPong(PongBean pong) {
+			this.pong = pong;
+		}
+	}
+
+
+	public static class PongBean {
+
+		private PingBean ping;
+
+		public PongBean(CountDownLatch latch) throws InterruptedException {
+			latch.countDown();
+			latch.await(5, TimeUnit.SECONDS);
+		}
+
+		public PingBean getPing() {
+			return this.ping;
+		}
+
+		public void setPing(PingBean ping) {
+			this.ping = ping;
+		}
+	}
+
+
+	public static class SmartInitBean implements SmartInitializingSingleton {
+
+		boolean initialized;
+
+		Thread initializingThread;
+
+		@Override
+		public void afterSingletonsInstantiated() {
+			this.initialized = true;
+			this.initializingThread = Thread.currentThread();
+		}
+	}
+
+
 	static class NonPublicEnumHolder {
 
 		final NonPublicEnum nonPublicEnum;
@@ -0,0 +1,216 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans.factory.support;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.beans.BeanInstantiationException;
+import org.springframework.beans.factory.BeanCreationException;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinitionHolder;
+import org.springframework.beans.factory.config.DependencyDescriptor;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link GeneratedInstantiationStrategy} and for the reuse
+ * of resolved autowired constructor arguments across bean instances.
+ */
+public class GeneratedInstantiationStrategyTests {
+
+	private final DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+
+
+	@Before
+	public void setup() {
+		this.beanFactory.setInstantiationStrategy(new GeneratedInstantiationStrategy());
+		this.beanFactory.registerBeanDefinition("dependency", new RootBeanDefinition(Dependency.class));
+	}
+
+
+	@Test
+	public void prototypeWithAutowiredConstructor() {
+		RootBeanDefinition bd = new RootBeanDefinition(ConstructorBean.class);
+		bd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+		bd.setAutowireMode(RootBeanDefinition.AUTOWIRE_CONSTRUCTOR);
+		this.beanFactory.registerBeanDefinition("bean", bd);
+
+		ConstructorBean bean1 = this.beanFactory.getBean("bean", ConstructorBean.class);
+		ConstructorBean bean2 = this.beanFactory.getBean("bean", ConstructorBean.class);
+		assertNotSame(bean1, bean2);
+		assertSame(this.beanFactory.getBean(Dependency.class), bean1.dependency);
+		assertSame(bean1.dependency, bean2.dependency);
+
+		GeneratedInstantiator instantiator = this.beanFactory.getMergedLocalBeanDefinition("bean").generatedInstantiator;
+		assertNotNull(instantiator);
+		assertTrue(instantiator.isAvailable());
+	}
+
+	@Test
+	public void prototypeWithDefaultConstructor() {
+		RootBeanDefinition bd = new RootBeanDefinition(Dependency.class);
+		bd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+		this.beanFactory.registerBeanDefinition("bean", bd);
+
+		assertNotSame(this.beanFactory.getBean("bean"), this.beanFactory.getBean("bean"));
+		GeneratedInstantiator instantiator = this.beanFactory.getMergedLocalBeanDefinition("bean").generatedInstantiator;
+		assertNotNull(instantiator);
+		assertTrue(instantiator.isAvailable());
+	}
+
+	@Test
+	public void prototypeWithStaticFactoryMethod() {
+		RootBeanDefinition bd = new RootBeanDefinition(FactoryMethods.class);
+		bd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+		bd.setFactoryMethodName("createStatic");
+		bd.getConstructorArgumentValues().addGenericArgumentValue("static");
+		this.beanFactory.registerBeanDefinition("bean", bd);
+
+		ConstructorBean bean1 = this.beanFactory.getBean("bean", ConstructorBean.class);
+		ConstructorBean bean2 = this.beanFactory.getBean("bean", ConstructorBean.class);
+		assertNotSame(bean1, bean2);
+		assertEquals("static", bean1.name);
+		assertTrue(this.beanFactory.getMergedLocalBeanDefinition("bean").generatedInstantiator.isAvailable());
+	}
+
+	@Test
+	public void prototypeWithInstanceFactoryMethod() {
+		this.beanFactory.registerBeanDefinition("factory", new RootBeanDefinition(FactoryMethods.class));
+		RootBeanDefinition bd = new RootBeanDefinition();
+		bd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+		bd.setFactoryBeanName("factory");
+		bd.setFactoryMethodName("create");
+		bd.setAutowireMode(RootBeanDefinition.AUTOWIRE_CONSTRUCTOR);
+		this.beanFactory.registerBeanDefinition("bean", bd);
+
+		ConstructorBean bean1 = this.beanFactory.getBean("bean", ConstructorBean.class);
+		ConstructorBean bean2 = this.beanFactory.getBean("bean", ConstructorBean.class);
+		assertNotSame(bean1, bean2);
+		assertSame(this.beanFactory.getBean(Dependency.class), bean2.dependency);
+		assertTrue(this.beanFactory.getMergedLocalBeanDefinition("bean").generatedInstantiator.isAvailable());
+	}
+
+	@Test
+	public void nullReturnedFromFactoryMethod() {
+		RootBeanDefinition bd = new RootBeanDefinition(FactoryMethods.class);
+		bd.setFactoryMethodName("createNull");
+		this.beanFactory.registerBeanDefinition("bean", bd);
+		assertTrue(this.beanFactory.getBean("bean").equals(null));
+	}
+
+	@Test
+	public void constructorExceptionExposedAsBeanInstantiationException() {
+		this.beanFactory.registerBeanDefinition("bean", new RootBeanDefinition(FailingBean.class));
+		try {
+			this.beanFactory.getBean("bean");
+			fail("Should have thrown BeanCreationException");
+		}
+		catch (BeanCreationException ex) {
+			assertTrue(ex.getCause() instanceof BeanInstantiationException);
+			assertTrue(ex.getCause().getCause() instanceof IllegalStateException);
+		}
+	}
+
+	@Test
+	public void reflectiveFallbackForNonPublicClass() {
+		RootBeanDefinition bd = new RootBeanDefinition(NonPublicBean.class);
+		bd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+		this.beanFactory.registerBeanDefinition("bean", bd);
+
+		assertNotSame(this.beanFactory.getBean("bean"), this.beanFactory.getBean("bean"));
+		GeneratedInstantiator instantiator = this.beanFactory.getMergedLocalBeanDefinition("bean").generatedInstantiator;
+		assertNotNull(instantiator);
+		assertFalse(instantiator.isAvailable());
+	}
+
+	@Test
+	public void autowiredConstructorArgumentResolvedOnce() {
+		AtomicInteger candidateChecks = new AtomicInteger();
+		this.beanFactory.setAutowireCandidateResolver(new SimpleAutowireCandidateResolver() {
+			@Override
+			public boolean isAutowireCandidate(BeanDefinitionHolder bdHolder, DependencyDescriptor descriptor) {
+				candidateChecks.incrementAndGet();
+				return super.isAutowireCandidate(bdHolder, descriptor);
+			}
+		});
+		RootBeanDefinition bd = new RootBeanDefinition(ConstructorBean.class);
+		bd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+		bd.setAutowireMode(RootBeanDefinition.AUTOWIRE_CONSTRUCTOR);
+		this.beanFactory.registerBeanDefinition("bean", bd);
+
+		ConstructorBean bean1 = this.beanFactory.getBean("bean", ConstructorBean.class);
+		int checks = candidateChecks.get();
+		assertTrue(checks > 0);
+		ConstructorBean bean2 = this.beanFactory.getBean("bean", ConstructorBean.class);
+		assertEquals(checks, candidateChecks.get());
+		assertSame(bean1.dependency, bean2.dependency);
+	}
+
+
+	public static class Dependency {
+	}
+
+
+	public static class ConstructorBean {
+
+		private final Dependency dependency;
+
+		private final String name;
+
+		public ConstructorBean(Dependency dependency) {
+			this.dependency = dependency;
+			this.name = null;
+		}
+
+		public ConstructorBean(String name) {
+			this.dependency = null;
+			this.name = name;
+		}
+	}
+
+
+	public static class FactoryMethods {
+
+		public static ConstructorBean createStatic(String name) {
+			return new ConstructorBean(name);
+		}
+
+		public static Object createNull() {
+			return null;
+		}
+
+		public ConstructorBean create(Dependency dependency) {
+			return new ConstructorBean(dependency);
+		}
+	}
+
+
+	public static class FailingBean {
+
+		public FailingBean() {
+			throw new IllegalStateException("Not instantiable");
+		}
+	}
+
+
+	static class NonPublicBean {
+	}
+
+}
@@ -37,7 +37,9 @@ import javax.lang.model.element.TypeElement;
 
 /**
  * Annotation {@link Processor} that writes {@link CandidateComponentsMetadata}
- * file for spring components.
+ * file for spring components, along with the encoded class structure of each
+ * candidate type so that it does not have to be read from the class file at
+ * runtime.
  *
  * @author Stephane Nicoll
  * @author Juergen Hoeller
@@ -54,6 +56,8 @@ public class CandidateComponentsIndexer implements Processor {
 
 	private TypeHelper typeHelper;
 
+	private ClassMetadataEncoder classMetadataEncoder;
+
 	private List<StereotypesProvider> stereotypesProviders;
 
 
@@ -76,8 +80,10 @@ public class CandidateComponentsIndexer implements Processor {
 	public synchronized void init(ProcessingEnvironment env) {
 		this.stereotypesProviders = getStereotypesProviders(env);
 		this.typeHelper = new TypeHelper(env);
+		this.classMetadataEncoder = new ClassMetadataEncoder(env);
 		this.metadataStore = new MetadataStore(env);
-		this.metadataCollector = new MetadataCollector(env, this.metadataStore.readMetadata());
+		this.metadataCollector = new MetadataCollector(env,
+				this.metadataStore.readMetadata(), this.metadataStore.readClassMetadata());
 	}
 
 	@Override
@@ -116,7 +122,20 @@ public class CandidateComponentsIndexer implements Processor {
 		Set<String> stereotypes = new LinkedHashSet<>();
 		this.stereotypesProviders.forEach(p -> stereotypes.addAll(p.getStereotypes(element)));
 		if (!stereotypes.isEmpty()) {
-			this.metadataCollector.add(new ItemMetadata(this.typeHelper.getType(element), stereotypes));
+			String type = this.typeHelper.getType(element);
+			this.metadataCollector.add(new ItemMetadata(type, stereotypes));
+			if (element instanceof TypeElement) {
+				addClassMetadataFor(type, (TypeElement) element);
+			}
+		}
+	}
+
+	private void addClassMetadataFor(String type, TypeElement element) {
+		try {
+			this.metadataCollector.addClassMetadata(type, this.classMetadataEncoder.encode(element));
+		}
+		catch (IOException ex) {
+			// Not representable -> the class file is going to be read at runtime instead.
 		}
 	}
 
@@ -125,6 +144,7 @@ public class CandidateComponentsIndexer implements Processor {
 		if (!metadata.getItems().isEmpty()) {
 			try {
 				this.metadataStore.writeMetadata(metadata);
+				this.metadataStore.writeClassMetadata(this.metadataCollector.getClassMetadata());
 			}
 			catch (IOException ex) {
 				throw new IllegalStateException("Failed to write metadata", ex);
@@ -0,0 +1,371 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.index.processor;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+
+/**
+ * Encode the class structure of a {@link TypeElement} in the form that the
+ * runtime needs for component scanning and configuration class parsing:
+ * name, access flags, super types, member classes, annotations and annotated
+ * methods.
+ *
+ * <p>The encoded form mirrors what an ASM-based class file reader sees, so that
+ * it can be replayed against the same visitors at runtime: annotations with
+ * {@link RetentionPolicy#SOURCE source retention} are not included, class values
+ * are written as type descriptors, and only explicitly specified annotation
+ * attributes are recorded. The layout has to be kept in sync with
+ * {@code org.springframework.context.index.IndexedMetadataReader}.
+ *
+ * @author agent (agent@local)
+ * @since 5.1.1
+ */
+class ClassMetadataEncoder {
+
+	private static final int ACC_PUBLIC = 0x0001;
+
+	private static final int ACC_PRIVATE = 0x0002;
+
+	private static final int ACC_PROTECTED = 0x0004;
+
+	private static final int ACC_STATIC = 0x0008;
+
+	private static final int ACC_FINAL = 0x0010;
+
+	private static final int ACC_SUPER = 0x0020;
+
+	private static final int ACC_INTERFACE = 0x0200;
+
+	private static final int ACC_ABSTRACT = 0x0400;
+
+	private static final int ACC_ANNOTATION = 0x2000;
+
+	private static final int ACC_ENUM = 0x4000;
+
+
+	private final Elements elements;
+
+	private final Types types;
+
+
+	public ClassMetadataEncoder(ProcessingEnvironment env) {
+		this.elements = env.getElementUtils();
+		this.types = env.getTypeUtils();
+	}
+
+
+	/**
+	 * Encode the given type.
+	 * @param type the type to encode
+	 * @return the encoded class structure
+	 * @throws IOException if the type cannot be represented, e.g. because
+	 * of unresolvable types or oversized annotation values
+	 */
+	public byte[] encode(TypeElement type) throws IOException {
+		ByteArrayOutputStream bos = new ByteArrayOutputStream(256);
+		DataOutputStream out = new DataOutputStream(bos);
+		out.writeUTF(getInternalName(type));
+		out.writeInt(getClassAccess(type));
+		TypeMirror superclass = type.getSuperclass();
+		out.writeUTF(superclass.getKind() != TypeKind.NONE ? getInternalName(superclass) : "");
+		List<? extends TypeMirror> interfaces = type.getInterfaces();
+		out.writeShort(interfaces.size());
+		for (TypeMirror ifc : interfaces) {
+			out.writeUTF(getInternalName(ifc));
+		}
+		writeInnerClasses(type, out);
+		writeAnnotations(type, out);
+		writeMethods(type, out);
+		out.flush();
+		return bos.toByteArray();
+	}
+
+	private void writeInnerClasses(TypeElement type, DataOutputStream out) throws IOException {
+		List<TypeElement> innerClasses = new ArrayList<>();
+		if (type.getEnclosingElement() instanceof TypeElement) {
+			innerClasses.add(type);
+		}
+		for (Element member : type.getEnclosedElements()) {
+			if (member instanceof TypeElement) {
+				innerClasses.add((TypeElement) member);
+			}
+		}
+		out.writeShort(innerClasses.size());
+		for (TypeElement innerClass : innerClasses) {
+			out.writeUTF(getInternalName(innerClass));
+			out.writeUTF(getInternalName((TypeElement) innerClass.getEnclosingElement()));
+			out.writeUTF(innerClass.getSimpleName().toString());
+			out.writeInt(getInnerClassAccess(innerClass));
+		}
+	}
+
+	private void writeMethods(TypeElement type, DataOutputStream out) throws IOException {
+		List<ExecutableElement> methods = new ArrayList<>();
+		for (Element member : type.getEnclosedElements()) {
+			if ((member.getKind() == ElementKind.METHOD || member.getKind() == ElementKind.CONSTRUCTOR) &&
+					!getRetainedAnnotations(member).isEmpty()) {
+				methods.add((ExecutableElement) member);
+			}
+		}
+		out.writeShort(methods.size());
+		for (ExecutableElement method : methods) {
+			out.writeInt(getMethodAccess(method));
+			out.writeUTF(method.getKind() == ElementKind.CONSTRUCTOR ? "<init>" : method.getSimpleName().toString());
+			out.writeUTF(getMethodDescriptor(method));
+			writeAnnotations(method, out);
+		}
+	}
+
+	private void writeAnnotations(Element element, DataOutputStream out) throws IOException {
+		List<AnnotationMirror> annotations = getRetainedAnnotations(element);
+		out.writeShort(annotations.size());
+		for (AnnotationMirror annotation : annotations) {
+			out.writeUTF(getDescriptor(annotation.getAnnotationType()));
+			out.writeBoolean(getRetention(annotation) == RetentionPolicy.RUNTIME);
+			writeAnnotationValues(annotation, out);
+		}
+	}
+
+	private void writeAnnotationValues(AnnotationMirror annotation, DataOutputStream out) throws IOException {
+		Map<? extends ExecutableElement, ? extends AnnotationValue> values = annotation.getElementValues();
+		out.writeShort(values.size());
+		for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : values.entrySet()) {
+			out.writeUTF(entry.getKey().getSimpleName().toString());
+			writeValue(entry.getValue().getValue(), out);
+		}
+	}
+
+	private void writeValue(Object value, DataOutputStream out) throws IOException {
+		if (value instanceof Boolean) {
+			out.writeByte('Z');
+			out.writeBoolean((Boolean) value);
+		}
+		else if (value instanceof Byte) {
+			out.writeByte('B');
+			out.writeByte((Byte) value);
+		}
+		else if (value instanceof Character) {
+			out.writeByte('C');
+			out.writeChar((Character) value);
+		}
+		else if (value instanceof Short) {
+			out.writeByte('S');
+			out.writeShort((Short) value);
+		}
+		else if (value instanceof Integer) {
+			out.writeByte('I');
+			out.writeInt((Integer) value);
+		}
+		else if (value instanceof Long) {
+			out.writeByte('J');
+			out.writeLong((Long) value);
+		}
+		else if (value instanceof Float) {
+			out.writeByte('F');
+			out.writeFloat((Float) value);
+		}
+		else if (value instanceof Double) {
+			out.writeByte('D');
+			out.writeDouble((Double) value);
+		}
+		else if (value instanceof String) {
+			out.writeByte('s');
+			out.writeUTF((String) value);
+		}
+		else if (value instanceof TypeMirror) {
+			out.writeByte('c');
+			out.writeUTF(getDescriptor((TypeMirror) value));
+		}
+		else if (value instanceof VariableElement) {
+			VariableElement enumConstant = (VariableElement) value;
+			out.writeByte('e');
+			out.writeUTF(getDescriptor(enumConstant.asType()));
+			out.writeUTF(enumConstant.getSimpleName().toString());
+		}
+		else if (value instanceof AnnotationMirror) {
+			AnnotationMirror annotation = (AnnotationMirror) value;
+			out.writeByte('@');
+			out.writeUTF(getDescriptor(annotation.getAnnotationType()));
+			writeAnnotationValues(annotation, out);
+		}
+		else if (value instanceof List) {
+			List<?> elements = (List<?>) value;
+			out.writeByte('[');
+			out.writeShort(elements.size());
+			for (Object element : elements) {
+				writeValue(((AnnotationValue) element).getValue(), out);
+			}
+		}
+		else {
+			throw new IOException("Unsupported annotation value: " + value);
+		}
+	}
+
+	private List<AnnotationMirror> getRetainedAnnotations(Element element) {
+		List<AnnotationMirror> result = new ArrayList<>();
+		for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+			if (getRetention(annotation) != RetentionPolicy.SOURCE) {
+				result.add(annotation);
+			}
+		}
+		return result;
+	}
+
+	private RetentionPolicy getRetention(AnnotationMirror annotation) {
+		Retention retention = annotation.getAnnotationType().asElement().getAnnotation(Retention.class);
+		return (retention != null ? retention.value() : RetentionPolicy.CLASS);
+	}
+
+	private int getClassAccess(TypeElement type) {
+		Set<Modifier> modifiers = type.getModifiers();
+		// Nested types are public or package-visible at the class file level
+		int access = (modifiers.contains(Modifier.PUBLIC) || modifiers.contains(Modifier.PROTECTED) ? ACC_PUBLIC : 0);
+		if (modifiers.contains(Modifier.FINAL)) {
+			access |= ACC_FINAL;
+		}
+		if (modifiers.contains(Modifier.ABSTRACT)) {
+			access |= ACC_ABSTRACT;
+		}
+		return access | getKindAccess(type);
+	}
+
+	private int getInnerClassAccess(TypeElement type) {
+		int access = getModifierAccess(type.getModifiers()) | getKindAccess(type);
+		if (type.getKind() != ElementKind.CLASS ||
+				type.getEnclosingElement().getKind().isInterface()) {
+			// Nested interfaces, enums and annotations as well as members of interfaces
+			access |= ACC_STATIC;
+		}
+		return access;
+	}
+
+	private int getKindAccess(TypeElement type) {
+		switch (type.getKind()) {
+			case ANNOTATION_TYPE:
+				return ACC_ANNOTATION | ACC_INTERFACE | ACC_ABSTRACT;
+			case INTERFACE:
+				return ACC_INTERFACE | ACC_ABSTRACT;
+			case ENUM:
+				return ACC_ENUM | ACC_SUPER;
+			default:
+				return ACC_SUPER;
+		}
+	}
+
+	private int getMethodAccess(ExecutableElement method) {
+		return getModifierAccess(method.getModifiers());
+	}
+
+	private int getModifierAccess(Set<Modifier> modifiers) {
+		int access = 0;
+		if (modifiers.contains(Modifier.PUBLIC)) {
+			access |= ACC_PUBLIC;
+		}
+		if (modifiers.contains(Modifier.PRIVATE)) {
+			access |= ACC_PRIVATE;
+		}
+		if (modifiers.contains(Modifier.PROTECTED)) {
+			access |= ACC_PROTECTED;
+		}
+		if (modifiers.contains(Modifier.STATIC)) {
+			access |= ACC_STATIC;
+		}
+		if (modifiers.contains(Modifier.FINAL)) {
+			access |= ACC_FINAL;
+		}
+		if (modifiers.contains(Modifier.ABSTRACT)) {
+			access |= ACC_ABSTRACT;
+		}
+		return access;
+	}
+
+	private String getMethodDescriptor(ExecutableElement method) throws IOException {
+		StringBuilder sb = new StringBuilder("(");
+		for (VariableElement parameter : method.getParameters()) {
+			sb.append(getDescriptor(parameter.asType()));
+		}
+		sb.append(')');
+		sb.append(getDescriptor(method.getReturnType()));
+		return sb.toString();
+	}
+
+	private String getDescriptor(TypeMirror type) throws IOException {
+		switch (type.getKind()) {
+			case BOOLEAN:
+				return "Z";
+			case BYTE:
+				return "B";
+			case CHAR:
+				return "C";
+			case SHORT:
+				return "S";
+			case INT:
+				return "I";
+			case LONG:
+				return "J";
+			case FLOAT:
+				return "F";
+			case DOUBLE:
+				return "D";
+			case VOID:
+				return "V";
+			case ARRAY:
+				return "[" + getDescriptor(((ArrayType) type).getComponentType());
+			case DECLARED:
+			case TYPEVAR:
+				return "L" + getInternalName(type) + ";";
+			default:
+				throw new IOException("Unsupported type: " + type);
+		}
+	}
+
+	private String getInternalName(TypeMirror type) throws IOException {
+		TypeMirror erasure = this.types.erasure(type);
+		if (erasure.getKind() != TypeKind.DECLARED) {
+			throw new IOException("Unsupported type: " + type);
+		}
+		return getInternalName((TypeElement) ((DeclaredType) erasure).asElement());
+	}
+
+	private String getInternalName(TypeElement type) {
+		return this.elements.getBinaryName(type).toString().replace('.', '/');
+	}
+
+}
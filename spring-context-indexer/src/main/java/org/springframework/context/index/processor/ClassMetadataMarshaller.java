@@ -0,0 +1,73 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.index.processor;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Marshaller to write the encoded class structure of candidate components
+ * in binary form: a header followed by the encoded form of each type, keyed
+ * by type name.
+ *
+ * @author agent (agent@local)
+ * @since 5.1.1
+ * @see ClassMetadataEncoder
+ */
+abstract class ClassMetadataMarshaller {
+
+	/** Marker at the start of the file ("SPCM"). */
+	static final int MAGIC = 0x5350434D;
+
+	static final short VERSION = 1;
+
+
+	public static void write(Map<String, byte[]> classMetadata, OutputStream out) throws IOException {
+		DataOutputStream dos = new DataOutputStream(out);
+		dos.writeInt(MAGIC);
+		dos.writeShort(VERSION);
+		dos.writeInt(classMetadata.size());
+		for (Map.Entry<String, byte[]> entry : classMetadata.entrySet()) {
+			dos.writeUTF(entry.getKey());
+			dos.writeInt(entry.getValue().length);
+			dos.write(entry.getValue());
+		}
+		dos.flush();
+	}
+
+	public static Map<String, byte[]> read(InputStream in) throws IOException {
+		DataInputStream dis = new DataInputStream(in);
+		if (dis.readInt() != MAGIC || dis.readShort() != VERSION) {
+			throw new IOException("Unsupported class metadata format");
+		}
+		int count = dis.readInt();
+		Map<String, byte[]> result = new LinkedHashMap<>(count);
+		for (int i = 0; i < count; i++) {
+			String type = dis.readUTF();
+			byte[] content = new byte[dis.readInt()];
+			dis.readFully(content);
+			result.put(type, content);
+		}
+		return result;
+	}
+
+}
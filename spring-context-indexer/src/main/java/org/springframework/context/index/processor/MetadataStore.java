@@ -19,12 +19,14 @@ package org.springframework.context.index.processor;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.Map;
 import javax.annotation.processing.ProcessingEnvironment;
 import javax.tools.FileObject;
 import javax.tools.StandardLocation;
 
 /**
- * Store {@link CandidateComponentsMetadata} on the filesystem.
+ * Store {@link CandidateComponentsMetadata} and the encoded class structure
+ * of candidate components on the filesystem.
  *
  * @author Stephane Nicoll
  * @since 5.0
@@ -33,6 +35,8 @@ class MetadataStore {
 
 	static final String METADATA_PATH = "META-INF/spring.components";
 
+	static final String CLASS_METADATA_PATH = "META-INF/spring.components.metadata";
+
 	private final ProcessingEnvironment environment;
 
 
@@ -51,6 +55,16 @@ class MetadataStore {
 		}
 	}
 
+	public Map<String, byte[]> readClassMetadata() {
+		try (InputStream in = getResource(CLASS_METADATA_PATH).openInputStream()) {
+			return ClassMetadataMarshaller.read(in);
+		}
+		catch (IOException ex) {
+			// Failed to read class metadata -> ignore.
+			return null;
+		}
+	}
+
 	public void writeMetadata(CandidateComponentsMetadata metadata) throws IOException {
 		if (!metadata.getItems().isEmpty()) {
 			try (OutputStream outputStream = createMetadataResource().openOutputStream()) {
@@ -59,6 +73,14 @@ class MetadataStore {
 		}
 	}
 
+	public void writeClassMetadata(Map<String, byte[]> classMetadata) throws IOException {
+		if (!classMetadata.isEmpty()) {
+			try (OutputStream outputStream = createResource(CLASS_METADATA_PATH).openOutputStream()) {
+				ClassMetadataMarshaller.write(classMetadata, outputStream);
+			}
+		}
+	}
+
 
 	private CandidateComponentsMetadata readMetadata(InputStream in) throws IOException {
 		try {
@@ -70,11 +92,19 @@ class MetadataStore {
 	}
 
 	private FileObject getMetadataResource() throws IOException {
-		return this.environment.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", METADATA_PATH);
+		return getResource(METADATA_PATH);
 	}
 
 	private FileObject createMetadataResource() throws IOException {
-		return this.environment.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", METADATA_PATH);
+		return createResource(METADATA_PATH);
+	}
+
+	private FileObject getResource(String path) throws IOException {
+		return this.environment.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", path);
+	}
+
+	private FileObject createResource(String path) throws IOException {
+		return this.environment.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", path);
 	}
 
 }
@@ -19,6 +19,13 @@ package org.springframework.context.index.processor;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import javax.annotation.ManagedBean;
 import javax.inject.Named;
 import javax.persistence.Converter;
@@ -32,9 +39,14 @@ import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import org.junit.rules.TemporaryFolder;
 
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Scope;
+import org.springframework.context.index.CandidateComponentsIndex;
+import org.springframework.context.index.CandidateComponentsIndexLoader;
 import org.springframework.context.index.sample.AbstractController;
 import org.springframework.context.index.sample.MetaControllerIndexed;
 import org.springframework.context.index.sample.SampleComponent;
+import org.springframework.context.index.sample.SampleConfiguration;
 import org.springframework.context.index.sample.SampleController;
 import org.springframework.context.index.sample.SampleMetaController;
 import org.springframework.context.index.sample.SampleMetaIndexedController;
@@ -56,8 +68,13 @@ import org.springframework.context.index.sample.type.SampleSpecializedRepo;
 import org.springframework.context.index.sample.type.SmartRepo;
 import org.springframework.context.index.sample.type.SpecializedRepo;
 import org.springframework.context.index.test.TestCompiler;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.core.type.MethodMetadata;
+import org.springframework.core.type.classreading.MetadataReader;
+import org.springframework.core.type.classreading.SimpleMetadataReaderFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.util.ClassUtils;
+import org.springframework.util.ObjectUtils;
 
 import static org.hamcrest.Matchers.*;
 import static org.junit.Assert.*;
@@ -222,6 +239,73 @@ public class CandidateComponentsIndexerTests {
 		assertThat(metadata.getItems(), hasSize(0));
 	}
 
+	@Test
+	public void classMetadataForCandidates() throws IOException {
+		compile(SampleComponent.class, SampleNone.class);
+		Map<String, byte[]> classMetadata = readGeneratedClassMetadata(this.compiler.getOutputLocation());
+		assertThat(classMetadata.keySet(), contains(SampleComponent.class.getName()));
+	}
+
+	@Test
+	public void classMetadataMatchesClassFile() throws IOException {
+		compile(SampleConfiguration.class);
+		ClassLoader classLoader = new URLClassLoader(
+				new URL[] {this.compiler.getOutputLocation().toURI().toURL()}, getClass().getClassLoader());
+		CandidateComponentsIndex index = CandidateComponentsIndexLoader.loadIndex(classLoader);
+		SimpleMetadataReaderFactory metadataReaderFactory = new SimpleMetadataReaderFactory(classLoader);
+		for (Class<?> type : new Class<?>[] {SampleConfiguration.class, SampleConfiguration.Nested.class}) {
+			MetadataReader indexed = index.getMetadataReader(type.getName());
+			assertNotNull(indexed);
+			assertEquals(metadataReaderFactory.getMetadataReader(type.getName()).getResource(), indexed.getResource());
+			assertSameMetadata(metadataReaderFactory.getMetadataReader(type.getName()).getAnnotationMetadata(),
+					indexed.getAnnotationMetadata());
+		}
+	}
+
+	private void assertSameMetadata(AnnotationMetadata expected, AnnotationMetadata actual) {
+		assertEquals(expected.getClassName(), actual.getClassName());
+		assertEquals(expected.isInterface(), actual.isInterface());
+		assertEquals(expected.isAbstract(), actual.isAbstract());
+		assertEquals(expected.isFinal(), actual.isFinal());
+		assertEquals(expected.isIndependent(), actual.isIndependent());
+		assertEquals(expected.getEnclosingClassName(), actual.getEnclosingClassName());
+		assertEquals(expected.getSuperClassName(), actual.getSuperClassName());
+		assertArrayEquals(expected.getInterfaceNames(), actual.getInterfaceNames());
+		// The order of member classes in the class file is compiler-specific
+		assertEquals(new HashSet<>(Arrays.asList(expected.getMemberClassNames())),
+				new HashSet<>(Arrays.asList(actual.getMemberClassNames())));
+		assertEquals(expected.getAnnotationTypes(), actual.getAnnotationTypes());
+		for (String annotationType : expected.getAnnotationTypes()) {
+			assertEquals(expected.getMetaAnnotationTypes(annotationType), actual.getMetaAnnotationTypes(annotationType));
+			assertEquals(describe(expected.getAnnotationAttributes(annotationType, true)),
+					describe(actual.getAnnotationAttributes(annotationType, true)));
+		}
+		List<MethodMetadata> expectedMethods = new ArrayList<>(expected.getAnnotatedMethods(Bean.class.getName()));
+		List<MethodMetadata> actualMethods = new ArrayList<>(actual.getAnnotatedMethods(Bean.class.getName()));
+		assertEquals(expectedMethods.size(), actualMethods.size());
+		for (int i = 0; i < expectedMethods.size(); i++) {
+			MethodMetadata expectedMethod = expectedMethods.get(i);
+			MethodMetadata actualMethod = actualMethods.get(i);
+			assertEquals(expectedMethod.getMethodName(), actualMethod.getMethodName());
+			assertEquals(expectedMethod.getReturnTypeName(), actualMethod.getReturnTypeName());
+			assertEquals(expectedMethod.isStatic(), actualMethod.isStatic());
+			assertEquals(expectedMethod.isOverridable(), actualMethod.isOverridable());
+			assertEquals(describe(expectedMethod.getAnnotationAttributes(Bean.class.getName())),
+					describe(actualMethod.getAnnotationAttributes(Bean.class.getName())));
+			assertEquals(describe(expectedMethod.getAnnotationAttributes(Scope.class.getName())),
+					describe(actualMethod.getAnnotationAttributes(Scope.class.getName())));
+		}
+	}
+
+	private static String describe(Map<String, Object> attributes) {
+		if (attributes == null) {
+			return "null";
+		}
+		StringBuilder sb = new StringBuilder();
+		attributes.forEach((name, value) -> sb.append(name).append('=').append(ObjectUtils.nullSafeToString(value)).append(';'));
+		return sb.toString();
+	}
+
 	private void testComponent(Class<?>... classes) throws IOException {
 		CandidateComponentsMetadata metadata = compile(classes);
 		for (Class<?> c : classes) {
@@ -264,4 +348,13 @@ public class CandidateComponentsIndexerTests {
 		}
 	}
 
+	private Map<String, byte[]> readGeneratedClassMetadata(File outputLocation) {
+		try (FileInputStream in = new FileInputStream(new File(outputLocation, MetadataStore.CLASS_METADATA_PATH))) {
+			return ClassMetadataMarshaller.read(in);
+		}
+		catch (IOException ex) {
+			throw new IllegalStateException("Failed to read class metadata from disk", ex);
+		}
+	}
+
 }
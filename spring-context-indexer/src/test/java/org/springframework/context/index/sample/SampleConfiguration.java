@@ -0,0 +1,87 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.index.sample;
+
+import java.io.Serializable;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.annotation.Scope;
+import org.springframework.context.annotation.ScopedProxyMode;
+
+/**
+ * Test candidate for a {@link Configuration} class with {@link Bean} methods,
+ * covering the kinds of annotation attributes in the recorded class structure.
+ */
+@Configuration
+@Profile({"dev", "test"})
+@Import(SampleComponent.class)
+@ComponentScan(basePackages = "org.springframework.context.index.sample.jpa", lazyInit = true,
+		excludeFilters = @ComponentScan.Filter(type = FilterType.ANNOTATION, classes = Configuration.class))
+@SampleConfiguration.Weights({1, 2, 3})
+public class SampleConfiguration implements Serializable {
+
+	@Autowired
+	public SampleConfiguration(SampleComponent component) {
+	}
+
+	@Bean
+	public SampleService sampleService() {
+		return new SampleService();
+	}
+
+	@Bean(name = {"repository", "sampleRepository"}, initMethod = "init")
+	@Scope(proxyMode = ScopedProxyMode.TARGET_CLASS)
+	@Lazy
+	public static SampleRepository sampleRepository() {
+		return new SampleRepository();
+	}
+
+	@Override
+	public String toString() {
+		return "SampleConfiguration";
+	}
+
+
+	@Configuration
+	public static class Nested {
+
+		@Bean
+		SampleController[] sampleControllers() {
+			return new SampleController[0];
+		}
+	}
+
+
+	@Target(ElementType.TYPE)
+	@Retention(RetentionPolicy.RUNTIME)
+	public @interface Weights {
+
+		int[] value();
+	}
+
+}
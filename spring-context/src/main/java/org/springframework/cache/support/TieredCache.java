@@ -0,0 +1,801 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.support;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.cache.Cache;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link Cache} decorator that layers a bounded in-process tier in front of
+ * a remote or shared target {@link Cache}, keeping the most recently used
+ * entries locally for a limited time.
+ *
+ * <p>Reads are served from the local tier as long as an entry has not expired;
+ * misses are looked up in the target cache, with concurrent misses for the
+ * same key coalesced into a single lookup (and, for {@link #get(Object, Callable)},
+ * into a single invocation of the value loader). Writes go through to the
+ * target cache first and are then applied to the local tier.
+ *
+ * <p>Further options:
+ * <ul>
+ * <li>{@link #setRefreshAheadTime refresh-ahead}: an entry that is accessed
+ * within the given time before its expiration is refreshed from the target cache
+ * asynchronously, while the current value is still being returned;
+ * <li>{@link #setNegativeTimeToLive negative caching}: the absence of an entry in
+ * the target cache is remembered locally for the given time, avoiding repeated
+ * lookups for keys that are not cached at all.
+ * </ul>
+ *
+ * <p>A lookup or load that completes after a concurrent write, eviction or
+ * clear for the same key does not store its (possibly outdated) result locally.
+ * A value loader may access this cache for the same key again: such a nested
+ * access bypasses the coalescing of the outer call instead of waiting for it.
+ *
+ * <p>Note that the local tier is not notified of changes that other processes
+ * apply to a shared target cache: the configured time-to-live determines for
+ * how long a local entry may be stale in such a scenario.
+ *
+ * @author agent (agent@local)
+ * @since 5.1.1
+ * @see TieredCacheManager
+ * @see #getStatistics()
+ */
+public class TieredCache implements Cache {
+
+	/** Marker for a key that is known to be absent from the target cache. */
+	private static final Object ABSENT = new Object();
+
+	private static final Log logger = LogFactory.getLog(TieredCache.class);
+
+
+	private final Cache targetCache;
+
+	private final int maximumSize;
+
+	private final long timeToLive;
+
+	private long refreshAheadTime = 0;
+
+	private long negativeTimeToLive = 0;
+
+	private Executor refreshExecutor = ForkJoinPool.commonPool();
+
+	private final ConcurrentMap<Object, Node> localStore = new ConcurrentHashMap<>(256);
+
+	private final Queue<Node> evictionQueue = new ConcurrentLinkedQueue<>();
+
+	private final ReentrantLock evictionLock = new ReentrantLock();
+
+	private final ConcurrentMap<Object, InFlight> inFlight = new ConcurrentHashMap<>(16);
+
+	/** Counter for local writes, stamping nodes and in-flight lookups. */
+	private final AtomicLong writeCounter = new AtomicLong();
+
+	private volatile long lastClear;
+
+	private final Metrics metrics = new Metrics();
+
+
+	/**
+	 * Create a new TieredCache for the given target cache.
+	 * @param targetCache the remote or shared cache to layer the local tier in front of
+	 * @param maximumSize the maximum number of entries in the local tier
+	 * @param timeToLive the time after which a local entry expires
+	 */
+	public TieredCache(Cache targetCache, int maximumSize, Duration timeToLive) {
+		Assert.notNull(targetCache, "Target Cache must not be null");
+		Assert.isTrue(maximumSize > 0, "Maximum size must be greater than 0");
+		Assert.isTrue(!timeToLive.isNegative() && !timeToLive.isZero(), "Time-to-live must be positive");
+		this.targetCache = targetCache;
+		this.maximumSize = maximumSize;
+		this.timeToLive = timeToLive.toNanos();
+	}
+
+
+	/**
+	 * Return the target cache that this cache delegates to.
+	 */
+	public Cache getTargetCache() {
+		return this.targetCache;
+	}
+
+	/**
+	 * Specify the time before the expiration of a local entry within which an
+	 * access triggers an asynchronous refresh of the entry from the target cache.
+	 * <p>Default is none, letting local entries simply expire.
+	 * @see #setRefreshExecutor
+	 */
+	public void setRefreshAheadTime(Duration refreshAheadTime) {
+		Assert.isTrue(!refreshAheadTime.isNegative(), "Refresh-ahead time must not be negative");
+		this.refreshAheadTime = Math.min(refreshAheadTime.toNanos(), this.timeToLive);
+	}
+
+	/**
+	 * Specify the time for which the absence of an entry in the target cache is
+	 * remembered locally, answering subsequent lookups for the same key without
+	 * hitting the target cache.
+	 * <p>Default is none, always looking up missing entries in the target cache.
+	 * Any {@code put} for the key replaces the negative entry right away.
+	 */
+	public void setNegativeTimeToLive(Duration negativeTimeToLive) {
+		Assert.isTrue(!negativeTimeToLive.isNegative(), "Negative time-to-live must not be negative");
+		this.negativeTimeToLive = negativeTimeToLive.toNanos();
+	}
+
+	/**
+	 * Specify the executor to perform refresh-ahead lookups with.
+	 * <p>Default is the {@link ForkJoinPool#commonPool() common pool}.
+	 */
+	public void setRefreshExecutor(Executor refreshExecutor) {
+		Assert.notNull(refreshExecutor, "Executor must not be null");
+		this.refreshExecutor = refreshExecutor;
+	}
+
+
+	@Override
+	public String getName() {
+		return this.targetCache.getName();
+	}
+
+	@Override
+	public Object getNativeCache() {
+		return this.targetCache.getNativeCache();
+	}
+
+	@Override
+	@Nullable
+	public ValueWrapper get(Object key) {
+		Object storeValue = lookup(key);
+		return (storeValue != ABSENT ? new SimpleValueWrapper(fromStoreValue(storeValue)) : null);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	@Nullable
+	public <T> T get(Object key, @Nullable Class<T> type) {
+		Object storeValue = lookup(key);
+		Object value = (storeValue != ABSENT ? fromStoreValue(storeValue) : null);
+		if (value != null && type != null && !type.isInstance(value)) {
+			throw new IllegalStateException(
+					"Cached value is not of required type [" + type.getName() + "]: " + value);
+		}
+		return (T) value;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	@Nullable
+	public <T> T get(Object key, Callable<T> valueLoader) {
+		Entry entry = getLocalEntry(key);
+		if (entry != null && entry.value != ABSENT) {
+			return (T) fromStoreValue(entry.value);
+		}
+		while (true) {
+			Object storeValue = coalesce(key, true, () -> load(key, valueLoader, entry));
+			// ABSENT: we joined a plain lookup for the same key - load on our own now
+			if (storeValue != ABSENT) {
+				return (T) fromStoreValue(storeValue);
+			}
+		}
+	}
+
+	@Override
+	public void put(Object key, @Nullable Object value) {
+		this.targetCache.put(key, value);
+		storeLocally(key, toStoreValue(value), this.timeToLive);
+	}
+
+	@Override
+	@Nullable
+	public ValueWrapper putIfAbsent(Object key, @Nullable Object value) {
+		ValueWrapper existing = this.targetCache.putIfAbsent(key, value);
+		storeLocally(key, toStoreValue(existing != null ? existing.get() : value), this.timeToLive);
+		return existing;
+	}
+
+	@Override
+	public void evict(Object key) {
+		this.targetCache.evict(key);
+		// Leave a stamped node behind for a lookup in progress, even if there
+		// is no local entry yet, so that it does not store a stale value
+		Node node = (this.inFlight.containsKey(key) ? obtainNode(key) : this.localStore.get(key));
+		if (node != null) {
+			synchronized (node) {
+				node.entry = null;
+				node.lastWrite = this.writeCounter.incrementAndGet();
+			}
+		}
+	}
+
+	@Override
+	public void clear() {
+		this.targetCache.clear();
+		this.lastClear = this.writeCounter.incrementAndGet();
+		this.evictionLock.lock();
+		try {
+			this.localStore.clear();
+			this.evictionQueue.clear();
+		}
+		finally {
+			this.evictionLock.unlock();
+		}
+	}
+
+	/**
+	 * Return a snapshot of the statistics for this cache.
+	 */
+	public Statistics getStatistics() {
+		return new Statistics(this.metrics, this.localStore.size());
+	}
+
+
+	/**
+	 * Look up the given key in the local tier, falling back to the target cache.
+	 * @return the store value, or {@link #ABSENT} if not found
+	 */
+	private Object lookup(Object key) {
+		Entry entry = getLocalEntry(key);
+		if (entry != null) {
+			return entry.value;
+		}
+		return coalesce(key, false, () -> fetch(key, null));
+	}
+
+	/**
+	 * Return the unexpired local entry for the given key, if any,
+	 * triggering a refresh-ahead if due.
+	 */
+	@Nullable
+	private Entry getLocalEntry(Object key) {
+		Node node = this.localStore.get(key);
+		Entry entry = (node != null ? node.entry : null);
+		long now = System.nanoTime();
+		if (entry == null || now - entry.expiresAt >= 0) {
+			this.metrics.localMisses.increment();
+			return null;
+		}
+		node.markUsed();
+		this.metrics.localHits.increment();
+		if (this.refreshAheadTime > 0 && now - entry.refreshAt >= 0 && entry.refreshing.compareAndSet(false, true)) {
+			refresh(key, entry);
+		}
+		return entry;
+	}
+
+	/**
+	 * Fetch the entry for the given key from the target cache, storing the
+	 * result in the local tier unless it has been updated in the meantime.
+	 * @param expected the local entry to replace, or {@code null} for none
+	 * @return the store value, or {@link #ABSENT} if not found
+	 */
+	private Object fetch(Object key, @Nullable Entry expected) {
+		long stamp = this.writeCounter.get();
+		long start = System.nanoTime();
+		ValueWrapper wrapper = this.targetCache.get(key);
+		this.metrics.recordTargetLookup(wrapper != null, System.nanoTime() - start);
+		if (wrapper != null) {
+			Object storeValue = toStoreValue(wrapper.get());
+			storeLocallyIfUnchanged(key, stamp, expected, storeValue, this.timeToLive);
+			return storeValue;
+		}
+		if (this.negativeTimeToLive > 0) {
+			storeLocallyIfUnchanged(key, stamp, expected, ABSENT, this.negativeTimeToLive);
+		}
+		else if (expected != null) {
+			storeLocallyIfUnchanged(key, stamp, expected, null, 0);
+		}
+		return ABSENT;
+	}
+
+	/**
+	 * Obtain the value for the given key from the target cache, loading it
+	 * through the given value loader if necessary.
+	 * @param expected the local entry to replace, or {@code null} for none
+	 * @return the store value (never {@link #ABSENT})
+	 */
+	private Object load(Object key, Callable<?> valueLoader, @Nullable Entry expected) {
+		long stamp = this.writeCounter.get();
+		AtomicBoolean loaded = new AtomicBoolean();
+		long start = System.nanoTime();
+		Object value;
+		try {
+			value = this.targetCache.get(key, () -> {
+				loaded.set(true);
+				return valueLoader.call();
+			});
+		}
+		catch (ValueRetrievalException ex) {
+			this.metrics.loadFailures.increment();
+			throw new ValueRetrievalException(key, valueLoader, (ex.getCause() != null ? ex.getCause() : ex));
+		}
+		long duration = System.nanoTime() - start;
+		if (loaded.get()) {
+			this.metrics.recordLoad(duration);
+		}
+		else {
+			this.metrics.recordTargetLookup(true, duration);
+		}
+		Object storeValue = toStoreValue(value);
+		storeLocallyIfUnchanged(key, stamp, expected, storeValue, this.timeToLive);
+		return storeValue;
+	}
+
+	private void refresh(Object key, Entry entry) {
+		try {
+			this.refreshExecutor.execute(() -> {
+				try {
+					this.metrics.refreshes.increment();
+					coalesce(key, false, () -> fetch(key, entry));
+				}
+				catch (Throwable ex) {
+					entry.refreshing.set(false);
+					if (logger.isDebugEnabled()) {
+						logger.debug("Refresh-ahead failed for key '" + key + "' in cache '" + getName() + "'", ex);
+					}
+				}
+			});
+		}
+		catch (Throwable ex) {
+			// Rejected: let the entry expire or retry on next access
+			entry.refreshing.set(false);
+			if (logger.isDebugEnabled()) {
+				logger.debug("Could not schedule refresh-ahead for cache '" + getName() + "'", ex);
+			}
+		}
+	}
+
+	/**
+	 * Run the given operation for the given key unless another thread is already
+	 * doing so, in which case the result of the other thread is returned instead.
+	 * A nested call from within the operation (e.g. from a value loader) runs
+	 * its operation directly, since waiting for the outer call would deadlock.
+	 * Likewise, if the other thread fails while performing a different kind of
+	 * operation, e.g. a value loader failing underneath a plain lookup, this
+	 * thread runs its own operation rather than propagating a foreign failure.
+	 * @param loading whether the given operation invokes a value loader
+	 */
+	private Object coalesce(Object key, boolean loading, Callable<Object> operation) {
+		InFlight future = new InFlight(loading);
+		InFlight existing = this.inFlight.putIfAbsent(key, future);
+		if (existing != null && existing.thread == Thread.currentThread()) {
+			return invoke(operation);
+		}
+		if (existing != null) {
+			this.metrics.coalesced.increment();
+			try {
+				return existing.join();
+			}
+			catch (CompletionException ex) {
+				if (existing.loading != loading) {
+					return invoke(operation);
+				}
+				Throwable cause = ex.getCause();
+				if (cause instanceof RuntimeException) {
+					throw (RuntimeException) cause;
+				}
+				if (cause instanceof Error) {
+					throw (Error) cause;
+				}
+				throw ex;
+			}
+		}
+		try {
+			Object result = invoke(operation);
+			future.complete(result);
+			return result;
+		}
+		catch (Throwable ex) {
+			future.completeExceptionally(ex);
+			throw ex;
+		}
+		finally {
+			this.inFlight.remove(key, future);
+		}
+	}
+
+	private Object invoke(Callable<Object> operation) {
+		try {
+			return operation.call();
+		}
+		catch (RuntimeException | Error ex) {
+			throw ex;
+		}
+		catch (Throwable ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+
+	private Object toStoreValue(@Nullable Object userValue) {
+		return (userValue != null ? userValue : NullValue.INSTANCE);
+	}
+
+	@Nullable
+	private Object fromStoreValue(Object storeValue) {
+		return (storeValue != NullValue.INSTANCE ? storeValue : null);
+	}
+
+	private void storeLocally(Object key, Object storeValue, long ttl) {
+		Node node = obtainNode(key);
+		synchronized (node) {
+			node.entry = new Entry(storeValue, ttl, this.refreshAheadTime);
+			node.lastWrite = this.writeCounter.incrementAndGet();
+		}
+	}
+
+	/**
+	 * Store the result of a lookup or load in the local tier, unless the local
+	 * entry has been written or the cache has been cleared since the given stamp.
+	 */
+	private void storeLocallyIfUnchanged(
+			Object key, long stamp, @Nullable Entry expected, @Nullable Object storeValue, long ttl) {
+
+		if (this.lastClear > stamp) {
+			return;
+		}
+		Node node = this.localStore.get(key);
+		if (node == null) {
+			if (expected != null || storeValue == null) {
+				return;
+			}
+			node = obtainNode(key);
+		}
+		synchronized (node) {
+			if (node.lastWrite > stamp) {
+				return;
+			}
+			Entry current = node.entry;
+			// Only replace the entry that the lookup was based on, or an expired entry,
+			// not an entry that has been stored by a concurrent lookup in the meantime
+			if (current == expected || current == null || System.nanoTime() - current.expiresAt >= 0) {
+				node.entry = (storeValue != null ? new Entry(storeValue, ttl, this.refreshAheadTime) : null);
+			}
+		}
+	}
+
+	private Node obtainNode(Object key) {
+		Node node = this.localStore.get(key);
+		if (node != null) {
+			return node;
+		}
+		// Register the new node along with its queue entry under the eviction lock,
+		// so that a concurrent clear() cannot drop one but not the other
+		Node newNode = new Node(key);
+		this.evictionLock.lock();
+		try {
+			node = this.localStore.putIfAbsent(key, newNode);
+			if (node != null) {
+				return node;
+			}
+			this.evictionQueue.add(newNode);
+		}
+		finally {
+			this.evictionLock.unlock();
+		}
+		if (this.localStore.size() > this.maximumSize) {
+			evict();
+		}
+		return newNode;
+	}
+
+	private void evict() {
+		this.evictionLock.lock();
+		try {
+			// Every entry gets a second chance within one full pass over the queue,
+			// after which entries are evicted regardless of concurrent use
+			int secondChances = this.maximumSize;
+			while (this.localStore.size() > this.maximumSize) {
+				Node node = this.evictionQueue.poll();
+				if (node == null) {
+					return;
+				}
+				if (this.localStore.get(node.key) != node) {
+					continue;
+				}
+				if (node.used && node.entry != null && secondChances > 0) {
+					node.used = false;
+					secondChances--;
+					this.evictionQueue.add(node);
+				}
+				else {
+					this.localStore.remove(node.key, node);
+					this.metrics.evictions.increment();
+				}
+			}
+		}
+		finally {
+			this.evictionLock.unlock();
+		}
+	}
+
+
+	/**
+	 * A local cache slot for a specific key.
+	 */
+	private static final class Node {
+
+		final Object key;
+
+		@Nullable
+		volatile Entry entry;
+
+		/** Stamp of the last put or evict, guarded by the node monitor. */
+		long lastWrite;
+
+		volatile boolean used;
+
+		Node(Object key) {
+			this.key = key;
+		}
+
+		void markUsed() {
+			// Avoid a volatile write (and cache line invalidation) on every hit
+			if (!this.used) {
+				this.used = true;
+			}
+		}
+	}
+
+
+	/**
+	 * A lookup or load in progress, along with the thread performing it.
+	 */
+	private static final class InFlight extends CompletableFuture<Object> {
+
+		final Thread thread = Thread.currentThread();
+
+		final boolean loading;
+
+		InFlight(boolean loading) {
+			this.loading = loading;
+		}
+	}
+
+
+	/**
+	 * An immutable local cache value with its expiration time.
+	 */
+	private static final class Entry {
+
+		final Object value;
+
+		final long expiresAt;
+
+		final long refreshAt;
+
+		final AtomicBoolean refreshing = new AtomicBoolean();
+
+		Entry(Object value, long timeToLive, long refreshAheadTime) {
+			long now = System.nanoTime();
+			this.value = value;
+			this.expiresAt = now + timeToLive;
+			this.refreshAt = this.expiresAt - Math.min(refreshAheadTime, timeToLive);
+		}
+	}
+
+
+	/**
+	 * Mutable counters behind the {@link Statistics} snapshots.
+	 */
+	private static final class Metrics {
+
+		final LongAdder localHits = new LongAdder();
+
+		final LongAdder localMisses = new LongAdder();
+
+		final LongAdder targetHits = new LongAdder();
+
+		final LongAdder targetMisses = new LongAdder();
+
+		final LongAdder targetLookupTime = new LongAdder();
+
+		final LongAdder loads = new LongAdder();
+
+		final LongAdder loadFailures = new LongAdder();
+
+		final LongAdder loadTime = new LongAdder();
+
+		final LongAdder coalesced = new LongAdder();
+
+		final LongAdder refreshes = new LongAdder();
+
+		final LongAdder evictions = new LongAdder();
+
+		void recordTargetLookup(boolean hit, long duration) {
+			(hit ? this.targetHits : this.targetMisses).increment();
+			this.targetLookupTime.add(duration);
+		}
+
+		void recordLoad(long duration) {
+			this.loads.increment();
+			this.loadTime.add(duration);
+		}
+	}
+
+
+	/**
+	 * A snapshot of the hit, miss and latency statistics of a {@link TieredCache}.
+	 */
+	public static final class Statistics {
+
+		private final long localHitCount;
+
+		private final long localMissCount;
+
+		private final long targetHitCount;
+
+		private final long targetMissCount;
+
+		private final long targetLookupTime;
+
+		private final long loadCount;
+
+		private final long loadFailureCount;
+
+		private final long loadTime;
+
+		private final long coalescedCount;
+
+		private final long refreshCount;
+
+		private final long evictionCount;
+
+		private final int localSize;
+
+		Statistics(Metrics metrics, int localSize) {
+			this.localHitCount = metrics.localHits.sum();
+			this.localMissCount = metrics.localMisses.sum();
+			this.targetHitCount = metrics.targetHits.sum();
+			this.targetMissCount = metrics.targetMisses.sum();
+			this.targetLookupTime = metrics.targetLookupTime.sum();
+			this.loadCount = metrics.loads.sum();
+			this.loadFailureCount = metrics.loadFailures.sum();
+			this.loadTime = metrics.loadTime.sum();
+			this.coalescedCount = metrics.coalesced.sum();
+			this.refreshCount = metrics.refreshes.sum();
+			this.evictionCount = metrics.evictions.sum();
+			this.localSize = localSize;
+		}
+
+		/**
+		 * Return the number of lookups answered by the local tier
+		 * (including negative entries).
+		 */
+		public long getLocalHitCount() {
+			return this.localHitCount;
+		}
+
+		/**
+		 * Return the number of lookups not answered by the local tier.
+		 */
+		public long getLocalMissCount() {
+			return this.localMissCount;
+		}
+
+		/**
+		 * Return the ratio of lookups answered by the local tier.
+		 */
+		public double getLocalHitRatio() {
+			long total = this.localHitCount + this.localMissCount;
+			return (total > 0 ? (double) this.localHitCount / total : 0);
+		}
+
+		/**
+		 * Return the number of lookups in the target cache that found an entry.
+		 */
+		public long getTargetHitCount() {
+			return this.targetHitCount;
+		}
+
+		/**
+		 * Return the number of lookups in the target cache that found no entry.
+		 */
+		public long getTargetMissCount() {
+			return this.targetMissCount;
+		}
+
+		/**
+		 * Return the average latency of a lookup in the target cache.
+		 */
+		public Duration getAverageTargetLookupTime() {
+			long count = this.targetHitCount + this.targetMissCount;
+			return Duration.ofNanos(count > 0 ? this.targetLookupTime / count : 0);
+		}
+
+		/**
+		 * Return the number of values loaded through a value loader.
+		 */
+		public long getLoadCount() {
+			return this.loadCount;
+		}
+
+		/**
+		 * Return the number of value loader invocations that failed.
+		 */
+		public long getLoadFailureCount() {
+			return this.loadFailureCount;
+		}
+
+		/**
+		 * Return the average latency of loading a value, including the
+		 * storage in the target cache.
+		 */
+		public Duration getAverageLoadTime() {
+			return Duration.ofNanos(this.loadCount > 0 ? this.loadTime / this.loadCount : 0);
+		}
+
+		/**
+		 * Return the number of lookups that have been answered by a concurrent
+		 * lookup or load for the same key.
+		 */
+		public long getCoalescedCount() {
+			return this.coalescedCount;
+		}
+
+		/**
+		 * Return the number of refresh-ahead lookups performed.
+		 */
+		public long getRefreshCount() {
+			return this.refreshCount;
+		}
+
+		/**
+		 * Return the number of entries evicted from the local tier due to its size limit.
+		 */
+		public long getEvictionCount() {
+			return this.evictionCount;
+		}
+
+		/**
+		 * Return the current number of entries in the local tier (including expired
+		 * entries that have not been evicted yet).
+		 */
+		public int getLocalSize() {
+			return this.localSize;
+		}
+
+		@Override
+		public String toString() {
+			return "localHits=" + this.localHitCount + ", localMisses=" + this.localMissCount +
+					", targetHits=" + this.targetHitCount + ", targetMisses=" + this.targetMissCount +
+					", averageTargetLookupTime=" + getAverageTargetLookupTime() + ", loads=" + this.loadCount +
+					", loadFailures=" + this.loadFailureCount + ", averageLoadTime=" + getAverageLoadTime() +
+					", coalesced=" + this.coalescedCount + ", refreshes=" + this.refreshCount +
+					", evictions=" + this.evictionCount + ", localSize=" + this.localSize;
+		}
+	}
+
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.support;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link CacheManager} implementation that exposes the caches of a target
+ * {@link CacheManager} (typically backed by a remote or shared cache provider)
+ * as {@link TieredCache} instances, with a bounded in-process tier in front of
+ * each of them.
+ *
+ * <p>Cache names are resolved against the target CacheManager: its initially
+ * known caches are exposed on startup, and further caches are wrapped once they
+ * are requested and the target CacheManager is able to provide them.
+ *
+ * @author agent (agent@local)
+ * @since 5.1.1
+ * @see TieredCache
+ */
+public class TieredCacheManager extends AbstractCacheManager {
+
+	private final CacheManager targetCacheManager;
+
+	private int maximumSize = 1000;
+
+	private Duration timeToLive = Duration.ofMinutes(1);
+
+	private Duration refreshAheadTime = Duration.ZERO;
+
+	private Duration negativeTimeToLive = Duration.ZERO;
+
+	@Nullable
+	private Executor refreshExecutor;
+
+
+	/**
+	 * Create a new TieredCacheManager for the given target CacheManager.
+	 * @param targetCacheManager the CacheManager providing the remote or shared caches
+	 */
+	public TieredCacheManager(CacheManager targetCacheManager) {
+		Assert.notNull(targetCacheManager, "Target CacheManager must not be null");
+		this.targetCacheManager = targetCacheManager;
+	}
+
+
+	/**
+	 * Return the target CacheManager that this manager delegates to.
+	 */
+	public CacheManager getTargetCacheManager() {
+		return this.targetCacheManager;
+	}
+
+	/**
+	 * Specify the maximum number of entries in the local tier of each cache.
+	 * <p>Default is 1000.
+	 */
+	public void setMaximumSize(int maximumSize) {
+		this.maximumSize = maximumSize;
+	}
+
+	/**
+	 * Specify the time after which a local entry expires.
+	 * <p>Default is 1 minute.
+	 */
+	public void setTimeToLive(Duration timeToLive) {
+		this.timeToLive = timeToLive;
+	}
+
+	/**
+	 * Specify the time before the expiration of a local entry within which an
+	 * access triggers an asynchronous refresh from the target cache.
+	 * <p>Default is none.
+	 * @see TieredCache#setRefreshAheadTime
+	 */
+	public void setRefreshAheadTime(Duration refreshAheadTime) {
+		this.refreshAheadTime = refreshAheadTime;
+	}
+
+	/**
+	 * Specify the time for which the absence of an entry in the target cache
+	 * is remembered locally.
+	 * <p>Default is none.
+	 * @see TieredCache#setNegativeTimeToLive
+	 */
+	public void setNegativeTimeToLive(Duration negativeTimeToLive) {
+		this.negativeTimeToLive = negativeTimeToLive;
+	}
+
+	/**
+	 * Specify the executor to perform refresh-ahead lookups with.
+	 * <p>Default is the {@link java.util.concurrent.ForkJoinPool#commonPool() common pool}.
+	 * @see TieredCache#setRefreshExecutor
+	 */
+	public void setRefreshExecutor(Executor refreshExecutor) {
+		this.refreshExecutor = refreshExecutor;
+	}
+
+
+	@Override
+	protected Collection<? extends Cache> loadCaches() {
+		Collection<String> cacheNames = this.targetCacheManager.getCacheNames();
+		List<Cache> caches = new ArrayList<>(cacheNames.size());
+		for (String name : cacheNames) {
+			Cache cache = this.targetCacheManager.getCache(name);
+			if (cache != null) {
+				caches.add(createTieredCache(cache));
+			}
+		}
+		return caches;
+	}
+
+	@Override
+	@Nullable
+	protected Cache getMissingCache(String name) {
+		Cache cache = this.targetCacheManager.getCache(name);
+		return (cache != null ? createTieredCache(cache) : null);
+	}
+
+	/**
+	 * Create a new TieredCache for the given target cache.
+	 * @param targetCache the target cache to layer the local tier in front of
+	 * @return the TieredCache (or a decorator thereof)
+	 */
+	protected Cache createTieredCache(Cache targetCache) {
+		TieredCache cache = new TieredCache(targetCache, this.maximumSize, this.timeToLive);
+		cache.setRefreshAheadTime(this.refreshAheadTime);
+		cache.setNegativeTimeToLive(this.negativeTimeToLive);
+		if (this.refreshExecutor != null) {
+			cache.setRefreshExecutor(this.refreshExecutor);
+		}
+		return cache;
+	}
+
+}
@@ -24,6 +24,7 @@ import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.core.env.ConfigurableEnvironment;
 import org.springframework.core.env.Environment;
 import org.springframework.core.io.ProtocolResolver;
+import org.springframework.core.metrics.ApplicationStartup;
 import org.springframework.lang.Nullable;
 
 /**
@@ -52,6 +53,12 @@ public interface ConfigurableApplicationContext extends ApplicationContext, Life
 
 	String SYSTEM_ENVIRONMENT_BEAN_NAME = "systemEnvironment";
 
+	/**
+	 * Name of the {@link ApplicationStartup} bean in the factory.
+	 * @since 5.1.1
+	 */
+	String APPLICATION_STARTUP_BEAN_NAME = "applicationStartup";
+
 	// 为 ApplicationContext 设置唯一 ID
 	void setId(String id);
 
@@ -66,6 +73,22 @@ public interface ConfigurableApplicationContext extends ApplicationContext, Life
 	@Override
 	ConfigurableEnvironment getEnvironment();
 
+	/**
+	 * Set the {@link ApplicationStartup} for this application context.
+	 * <p>This allows the application context to record metrics
+	 * during startup, e.g. with a {@link org.springframework.core.metrics.BufferingApplicationStartup}.
+	 * Needs to be set before {@link #refresh()} in order to capture the entire startup.
+	 * @param applicationStartup the application startup to use
+	 * @since 5.1.1
+	 */
+	void setApplicationStartup(ApplicationStartup applicationStartup);
+
+	/**
+	 * Return the {@link ApplicationStartup} for this application context.
+	 * @since 5.1.1
+	 */
+	ApplicationStartup getApplicationStartup();
+
 	// 添加 BeanFactoryPostProcessor
 	void addBeanFactoryPostProcessor(BeanFactoryPostProcessor postProcessor);
 
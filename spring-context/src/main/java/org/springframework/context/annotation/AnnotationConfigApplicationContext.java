@@ -16,6 +16,7 @@
 
 package org.springframework.context.annotation;
 
+import java.util.Arrays;
 import java.util.function.Supplier;
 
 import org.springframework.beans.factory.config.BeanDefinitionCustomizer;
@@ -23,6 +24,7 @@ import org.springframework.beans.factory.support.BeanNameGenerator;
 import org.springframework.beans.factory.support.DefaultListableBeanFactory;
 import org.springframework.context.support.GenericApplicationContext;
 import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.metrics.StartupStep;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 
@@ -154,7 +156,14 @@ public class AnnotationConfigApplicationContext extends GenericApplicationContex
 	 */
 	public void register(Class<?>... annotatedClasses) {
 		Assert.notEmpty(annotatedClasses, "At least one annotated class must be specified");
-		this.reader.register(annotatedClasses);
+		StartupStep registerComponentClass = getApplicationStartup().start("spring.context.component-classes.register")
+				.tag("classes", () -> Arrays.toString(annotatedClasses));
+		try {
+			this.reader.register(annotatedClasses);
+		}
+		finally {
+			registerComponentClass.end();
+		}
 	}
 
 	/**
@@ -167,7 +176,14 @@ public class AnnotationConfigApplicationContext extends GenericApplicationContex
 	 */
 	public void scan(String... basePackages) {
 		Assert.notEmpty(basePackages, "At least one base package must be specified");
-		this.scanner.scan(basePackages);
+		StartupStep scanPackages = getApplicationStartup().start("spring.context.base-packages.scan")
+				.tag("packages", () -> Arrays.toString(basePackages));
+		try {
+			this.scanner.scan(basePackages);
+		}
+		finally {
+			scanPackages.end();
+		}
 	}
 
 
@@ -52,6 +52,8 @@ import org.springframework.beans.factory.support.BeanDefinitionRegistry;
 import org.springframework.beans.factory.support.BeanNameGenerator;
 import org.springframework.context.annotation.ConfigurationCondition.ConfigurationPhase;
 import org.springframework.context.annotation.DeferredImportSelector.Group;
+import org.springframework.context.index.CandidateComponentsIndex;
+import org.springframework.context.index.CandidateComponentsIndexLoader;
 import org.springframework.core.NestedIOException;
 import org.springframework.core.OrderComparator;
 import org.springframework.core.Ordered;
@@ -130,6 +132,9 @@ class ConfigurationClassParser {
 
 	private final ConditionEvaluator conditionEvaluator;
 
+	@Nullable
+	private final CandidateComponentsIndex componentsIndex;
+
 	private final Map<ConfigurationClass, ConfigurationClass> configurationClasses = new LinkedHashMap<>();
 
 	private final Map<String, ConfigurationClass> knownSuperclasses = new HashMap<>();
@@ -158,6 +163,7 @@ class ConfigurationClassParser {
 		this.componentScanParser = new ComponentScanAnnotationParser(
 				environment, resourceLoader, componentScanBeanNameGenerator, registry);
 		this.conditionEvaluator = new ConditionEvaluator(registry, environment, resourceLoader);
+		this.componentsIndex = CandidateComponentsIndexLoader.loadIndex(resourceLoader.getClassLoader());
 	}
 
 
@@ -191,7 +197,7 @@ class ConfigurationClassParser {
 
 	protected final void parse(@Nullable String className, String beanName) throws IOException {
 		Assert.notNull(className, "No bean class name for configuration class bean definition");
-		MetadataReader reader = this.metadataReaderFactory.getMetadataReader(className);
+		MetadataReader reader = getMetadataReader(className);
 		processConfigurationClass(new ConfigurationClass(reader, beanName));
 	}
 
@@ -400,7 +406,7 @@ class ConfigurationClassParser {
 			// order, even between different runs of the same application on the same JVM.
 			try {
 				AnnotationMetadata asm =
-						this.metadataReaderFactory.getMetadataReader(original.getClassName()).getAnnotationMetadata();
+						getMetadataReader(original.getClassName()).getAnnotationMetadata();
 				Set<MethodMetadata> asmMethods = asm.getAnnotatedMethods(Bean.class.getName());
 				if (asmMethods.size() >= beanMethods.size()) {
 					Set<MethodMetadata> selectedMethods = new LinkedHashSet<>(asmMethods.size());
@@ -673,6 +679,21 @@ class ConfigurationClassParser {
 	}
 
 
+	/**
+	 * Obtain a {@link MetadataReader} for the given class name, preferring the
+	 * class structure recorded in the candidate components index (if any)
+	 * over reading the class file.
+	 */
+	private MetadataReader getMetadataReader(String className) throws IOException {
+		if (this.componentsIndex != null) {
+			MetadataReader metadataReader = this.componentsIndex.getMetadataReader(className);
+			if (metadataReader != null) {
+				return metadataReader;
+			}
+		}
+		return this.metadataReaderFactory.getMetadataReader(className);
+	}
+
 	/**
 	 * Factory method to obtain a {@link SourceClass} from a {@link ConfigurationClass}.
 	 */
@@ -732,7 +753,7 @@ class ConfigurationClassParser {
 				throw new NestedIOException("Failed to load class [" + className + "]", ex);
 			}
 		}
-		return new SourceClass(this.metadataReaderFactory.getMetadataReader(className));
+		return new SourceClass(getMetadataReader(className));
 	}
 
 
@@ -925,7 +946,7 @@ class ConfigurationClassParser {
 				catch (NoClassDefFoundError err) {
 					// getDeclaredClasses() failed because of non-resolvable dependencies
 					// -> fall back to ASM below
-					sourceToProcess = metadataReaderFactory.getMetadataReader(sourceClass.getName());
+					sourceToProcess = getMetadataReader(sourceClass.getName());
 				}
 			}
 
@@ -1009,7 +1030,7 @@ class ConfigurationClassParser {
 					if (className.startsWith("java")) {
 						throw new NestedIOException("Failed to load class [" + className + "]", ex);
 					}
-					return new SourceClass(metadataReaderFactory.getMetadataReader(className));
+					return new SourceClass(getMetadataReader(className));
 				}
 			}
 			return asSourceClass(className);
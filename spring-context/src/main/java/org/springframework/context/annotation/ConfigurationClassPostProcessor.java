@@ -36,6 +36,7 @@ import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.config.BeanDefinitionHolder;
 import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.beans.factory.config.InstantiationAwareBeanPostProcessorAdapter;
 import org.springframework.beans.factory.config.SingletonBeanRegistry;
@@ -56,6 +57,8 @@ import org.springframework.core.env.Environment;
 import org.springframework.core.env.StandardEnvironment;
 import org.springframework.core.io.DefaultResourceLoader;
 import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
 import org.springframework.core.type.AnnotationMetadata;
 import org.springframework.core.type.classreading.CachingMetadataReaderFactory;
 import org.springframework.core.type.classreading.MetadataReaderFactory;
@@ -311,21 +314,29 @@ public class ConfigurationClassPostProcessor implements BeanDefinitionRegistryPo
 
 		Set<BeanDefinitionHolder> candidates = new LinkedHashSet<>(configCandidates);
 		Set<ConfigurationClass> alreadyParsed = new HashSet<>(configCandidates.size());
+		ApplicationStartup applicationStartup = getApplicationStartup(registry);
 		do {
-			parser.parse(candidates);
-			parser.validate();
+			StartupStep processConfig = applicationStartup.start("spring.context.config-classes.parse");
+			try {
+				parser.parse(candidates);
+				parser.validate();
 
-			Set<ConfigurationClass> configClasses = new LinkedHashSet<>(parser.getConfigurationClasses());
-			configClasses.removeAll(alreadyParsed);
+				Set<ConfigurationClass> configClasses = new LinkedHashSet<>(parser.getConfigurationClasses());
+				configClasses.removeAll(alreadyParsed);
 
-			// Read the model and create bean definitions based on its content
-			if (this.reader == null) {
-				this.reader = new ConfigurationClassBeanDefinitionReader(
-						registry, this.sourceExtractor, this.resourceLoader, this.environment,
-						this.importBeanNameGenerator, parser.getImportRegistry());
+				// Read the model and create bean definitions based on its content
+				if (this.reader == null) {
+					this.reader = new ConfigurationClassBeanDefinitionReader(
+							registry, this.sourceExtractor, this.resourceLoader, this.environment,
+							this.importBeanNameGenerator, parser.getImportRegistry());
+				}
+				this.reader.loadBeanDefinitions(configClasses);
+				alreadyParsed.addAll(configClasses);
+				processConfig.tag("classCount", () -> String.valueOf(configClasses.size()));
+			}
+			finally {
+				processConfig.end();
 			}
-			this.reader.loadBeanDefinitions(configClasses);
-			alreadyParsed.addAll(configClasses);
 
 			candidates.clear();
 			if (registry.getBeanDefinitionCount() > candidateNames.length) {
@@ -390,29 +401,40 @@ public class ConfigurationClassPostProcessor implements BeanDefinitionRegistryPo
 			return;
 		}
 
-		ConfigurationClassEnhancer enhancer = new ConfigurationClassEnhancer();
-		for (Map.Entry<String, AbstractBeanDefinition> entry : configBeanDefs.entrySet()) {
-			AbstractBeanDefinition beanDef = entry.getValue();
-			// If a @Configuration class gets proxied, always proxy the target class
-			beanDef.setAttribute(AutoProxyUtils.PRESERVE_TARGET_CLASS_ATTRIBUTE, Boolean.TRUE);
-			try {
-				// Set enhanced subclass of the user-specified bean class
-				Class<?> configClass = beanDef.resolveBeanClass(this.beanClassLoader);
-				if (configClass != null) {
-					Class<?> enhancedClass = enhancer.enhance(configClass, this.beanClassLoader);
-					if (configClass != enhancedClass) {
-						if (logger.isTraceEnabled()) {
-							logger.trace(String.format("Replacing bean definition '%s' existing class '%s' with " +
-									"enhanced class '%s'", entry.getKey(), configClass.getName(), enhancedClass.getName()));
+		StartupStep enhanceConfigClasses = getApplicationStartup(beanFactory).start("spring.context.config-classes.enhance");
+		try {
+			ConfigurationClassEnhancer enhancer = new ConfigurationClassEnhancer();
+			for (Map.Entry<String, AbstractBeanDefinition> entry : configBeanDefs.entrySet()) {
+				AbstractBeanDefinition beanDef = entry.getValue();
+				// If a @Configuration class gets proxied, always proxy the target class
+				beanDef.setAttribute(AutoProxyUtils.PRESERVE_TARGET_CLASS_ATTRIBUTE, Boolean.TRUE);
+				try {
+					// Set enhanced subclass of the user-specified bean class
+					Class<?> configClass = beanDef.resolveBeanClass(this.beanClassLoader);
+					if (configClass != null) {
+						Class<?> enhancedClass = enhancer.enhance(configClass, this.beanClassLoader);
+						if (configClass != enhancedClass) {
+							if (logger.isTraceEnabled()) {
+								logger.trace(String.format("Replacing bean definition '%s' existing class '%s' with " +
+										"enhanced class '%s'", entry.getKey(), configClass.getName(), enhancedClass.getName()));
+							}
+							beanDef.setBeanClass(enhancedClass);
 						}
-						beanDef.setBeanClass(enhancedClass);
 					}
 				}
+				catch (Throwable ex) {
+					throw new IllegalStateException("Cannot load configuration class: " + beanDef.getBeanClassName(), ex);
+				}
 			}
-			catch (Throwable ex) {
-				throw new IllegalStateException("Cannot load configuration class: " + beanDef.getBeanClassName(), ex);
-			}
 		}
+		finally {
+			enhanceConfigClasses.tag("classCount", () -> String.valueOf(configBeanDefs.keySet().size())).end();
+		}
+	}
+
+	private static ApplicationStartup getApplicationStartup(Object beanFactory) {
+		return (beanFactory instanceof ConfigurableBeanFactory ?
+				((ConfigurableBeanFactory) beanFactory).getApplicationStartup() : ApplicationStartup.DEFAULT);
 	}
 
 
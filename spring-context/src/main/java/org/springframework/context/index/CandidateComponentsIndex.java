@@ -16,12 +16,17 @@
 
 package org.springframework.context.index;
 
+import java.io.IOException;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
+import org.springframework.core.type.classreading.MetadataReader;
+import org.springframework.lang.Nullable;
 import org.springframework.util.AntPathMatcher;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.LinkedMultiValueMap;
@@ -43,6 +48,11 @@ import org.springframework.util.MultiValueMap;
  * not a rule. Similarly, the {@code stereotype} is usually the fully qualified name of
  * a target type but it can be any marker really.
  *
+ * <p>If the class structure of the candidates has been recorded at build time as
+ * well, in {@code META-INF/spring.components.metadata}, the index also provides
+ * a {@link MetadataReader} for each recorded candidate, without reading its class
+ * file: see {@link #getMetadataReader(String)}.
+ *
  * @author Stephane Nicoll
  * @since 5.0
  */
@@ -52,9 +62,24 @@ public class CandidateComponentsIndex {
 
 	private final MultiValueMap<String, Entry> index;
 
+	private final Map<String, byte[]> classMetadata;
+
+	@Nullable
+	private final ClassLoader classLoader;
+
+	private final Map<String, MetadataReader> metadataReaderCache = new ConcurrentHashMap<>();
+
 
 	CandidateComponentsIndex(List<Properties> content) {
+		this(content, Collections.emptyMap(), null);
+	}
+
+	CandidateComponentsIndex(List<Properties> content, Map<String, byte[]> classMetadata,
+			@Nullable ClassLoader classLoader) {
+
 		this.index = parseIndex(content);
+		this.classMetadata = classMetadata;
+		this.classLoader = classLoader;
 	}
 
 
@@ -76,6 +101,34 @@ public class CandidateComponentsIndex {
 		return Collections.emptySet();
 	}
 
+	/**
+	 * Return a {@link MetadataReader} for the specified candidate type, based on
+	 * the class structure that has been recorded at build time.
+	 * @param type the candidate type, as returned from {@link #getCandidateTypes}
+	 * @return the corresponding {@code MetadataReader}, or {@code null} if no
+	 * class structure has been recorded for the specified {@code type}, in which
+	 * case the class file needs to be read instead
+	 */
+	@Nullable
+	public MetadataReader getMetadataReader(String type) {
+		MetadataReader metadataReader = this.metadataReaderCache.get(type);
+		if (metadataReader == null) {
+			byte[] content = this.classMetadata.get(type);
+			if (content == null) {
+				return null;
+			}
+			try {
+				metadataReader = new IndexedMetadataReader(content, this.classLoader);
+			}
+			catch (IOException ex) {
+				// Corrupt entry -> let the caller read the class file instead
+				return null;
+			}
+			this.metadataReaderCache.put(type, metadataReader);
+		}
+		return metadataReader;
+	}
+
 	private static MultiValueMap<String, Entry> parseIndex(List<Properties> content) {
 		MultiValueMap<String, Entry> index = new LinkedMultiValueMap<>();
 		for (Properties entry : content) {
@@ -17,10 +17,13 @@
 package org.springframework.context.index;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.Enumeration;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.ConcurrentMap;
 
@@ -47,6 +50,15 @@ public final class CandidateComponentsIndexLoader {
 	 */
 	public static final String COMPONENTS_RESOURCE_LOCATION = "META-INF/spring.components";
 
+	/**
+	 * The location to look for the class structure of components, as recorded
+	 * alongside {@value #COMPONENTS_RESOURCE_LOCATION} at build time.
+	 * <p>Can be present in multiple JAR files.
+	 * @since 5.1.1
+	 * @see CandidateComponentsIndex#getMetadataReader(String)
+	 */
+	public static final String METADATA_RESOURCE_LOCATION = "META-INF/spring.components.metadata";
+
 	/**
 	 * System property that instructs Spring to ignore the index, i.e.
 	 * to always return {@code null} from {@link #loadIndex(ClassLoader)}.
@@ -110,7 +122,10 @@ public final class CandidateComponentsIndexLoader {
 				logger.debug("Loaded " + result.size() + "] index(es)");
 			}
 			int totalCount = result.stream().mapToInt(Properties::size).sum();
-			return (totalCount > 0 ? new CandidateComponentsIndex(result) : null);
+			if (totalCount == 0) {
+				return null;
+			}
+			return new CandidateComponentsIndex(result, loadClassMetadata(classLoader), classLoader);
 		}
 		catch (IOException ex) {
 			throw new IllegalStateException("Unable to load indexes from location [" +
@@ -118,4 +133,22 @@ public final class CandidateComponentsIndexLoader {
 		}
 	}
 
+	private static Map<String, byte[]> loadClassMetadata(ClassLoader classLoader) throws IOException {
+		Map<String, byte[]> result = new HashMap<>();
+		Enumeration<URL> urls = classLoader.getResources(METADATA_RESOURCE_LOCATION);
+		while (urls.hasMoreElements()) {
+			URL url = urls.nextElement();
+			try (InputStream in = new UrlResource(url).getInputStream()) {
+				result.putAll(IndexedMetadataReader.readIndex(in));
+			}
+			catch (IOException ex) {
+				// Unsupported or corrupt class metadata -> read class files for these components instead
+				if (logger.isDebugEnabled()) {
+					logger.debug("Ignoring class metadata index at [" + url + "]", ex);
+				}
+			}
+		}
+		return result;
+	}
+
 }
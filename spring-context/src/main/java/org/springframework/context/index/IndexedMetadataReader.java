@@ -0,0 +1,248 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.index;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Array;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.asm.AnnotationVisitor;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+import org.springframework.asm.Type;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.core.type.ClassMetadata;
+import org.springframework.core.type.classreading.AnnotationMetadataReadingVisitor;
+import org.springframework.core.type.classreading.MetadataReader;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+
+/**
+ * {@link MetadataReader} implementation based on the class structure that
+ * has been recorded for a candidate component at build time, in
+ * {@code META-INF/spring.components.metadata}.
+ *
+ * <p>The recorded structure is replayed against an
+ * {@link AnnotationMetadataReadingVisitor}, exposing the same metadata as an
+ * ASM-based reader for the corresponding class file without reading it.
+ *
+ * @author agent (agent@local)
+ * @since 5.1.1
+ * @see CandidateComponentsIndexLoader#METADATA_RESOURCE_LOCATION
+ */
+final class IndexedMetadataReader implements MetadataReader {
+
+	/** Marker at the start of the file ("SPCM"). */
+	private static final int MAGIC = 0x5350434D;
+
+	private static final short VERSION = 1;
+
+
+	private final Resource resource;
+
+	private final AnnotationMetadataReadingVisitor metadata;
+
+
+	IndexedMetadataReader(byte[] content, @Nullable ClassLoader classLoader) throws IOException {
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(content));
+		AnnotationMetadataReadingVisitor visitor = new AnnotationMetadataReadingVisitor(classLoader);
+		String internalName = in.readUTF();
+		int access = in.readInt();
+		String superName = in.readUTF();
+		String[] interfaces = new String[in.readUnsignedShort()];
+		for (int i = 0; i < interfaces.length; i++) {
+			interfaces[i] = in.readUTF();
+		}
+		visitor.visit(Opcodes.V1_8, access, internalName, null, (!superName.isEmpty() ? superName : null), interfaces);
+
+		int innerClassCount = in.readUnsignedShort();
+		for (int i = 0; i < innerClassCount; i++) {
+			visitor.visitInnerClass(in.readUTF(), in.readUTF(), in.readUTF(), in.readInt());
+		}
+		int annotationCount = in.readUnsignedShort();
+		for (int i = 0; i < annotationCount; i++) {
+			readAnnotation(visitor.visitAnnotation(in.readUTF(), in.readBoolean()), in);
+		}
+		int methodCount = in.readUnsignedShort();
+		for (int i = 0; i < methodCount; i++) {
+			MethodVisitor methodVisitor = visitor.visitMethod(in.readInt(), in.readUTF(), in.readUTF(), null, null);
+			int methodAnnotationCount = in.readUnsignedShort();
+			for (int j = 0; j < methodAnnotationCount; j++) {
+				readAnnotation(methodVisitor.visitAnnotation(in.readUTF(), in.readBoolean()), in);
+			}
+			methodVisitor.visitEnd();
+		}
+		visitor.visitEnd();
+
+		this.metadata = visitor;
+		this.resource = new ClassPathResource(
+				ClassUtils.convertClassNameToResourcePath(visitor.getClassName()) + ClassUtils.CLASS_FILE_SUFFIX,
+				classLoader);
+	}
+
+
+	@Override
+	public Resource getResource() {
+		return this.resource;
+	}
+
+	@Override
+	public ClassMetadata getClassMetadata() {
+		return this.metadata;
+	}
+
+	@Override
+	public AnnotationMetadata getAnnotationMetadata() {
+		return this.metadata;
+	}
+
+
+	/**
+	 * Read the recorded class structures from the given index resource.
+	 * @param in the content of a {@code META-INF/spring.components.metadata} file
+	 * @return the recorded class structures, keyed by type name
+	 * @throws IOException in case of I/O errors or an unsupported format
+	 */
+	static Map<String, byte[]> readIndex(InputStream in) throws IOException {
+		DataInputStream dis = new DataInputStream(in);
+		if (dis.readInt() != MAGIC || dis.readShort() != VERSION) {
+			throw new IOException("Unsupported class metadata format");
+		}
+		int count = dis.readInt();
+		Map<String, byte[]> result = new LinkedHashMap<>(count);
+		for (int i = 0; i < count; i++) {
+			String type = dis.readUTF();
+			byte[] content = new byte[dis.readInt()];
+			dis.readFully(content);
+			result.put(type, content);
+		}
+		return result;
+	}
+
+	private static void readAnnotation(AnnotationVisitor visitor, DataInputStream in) throws IOException {
+		int count = in.readUnsignedShort();
+		for (int i = 0; i < count; i++) {
+			String name = in.readUTF();
+			readValue(visitor, name, in.readByte(), in);
+		}
+		visitor.visitEnd();
+	}
+
+	private static void readValue(AnnotationVisitor visitor, @Nullable String name, int tag, DataInputStream in)
+			throws IOException {
+
+		switch (tag) {
+			case 'c':
+				visitor.visit(name, Type.getType(in.readUTF()));
+				break;
+			case 'e':
+				visitor.visitEnum(name, in.readUTF(), in.readUTF());
+				break;
+			case '@':
+				readAnnotation(visitor.visitAnnotation(name, in.readUTF()), in);
+				break;
+			case '[':
+				readArray(visitor, name, in);
+				break;
+			default:
+				visitor.visit(name, readSimpleValue(tag, in));
+		}
+	}
+
+	private static void readArray(AnnotationVisitor visitor, @Nullable String name, DataInputStream in)
+			throws IOException {
+
+		int length = in.readUnsignedShort();
+		if (length == 0) {
+			visitor.visitArray(name).visitEnd();
+			return;
+		}
+		// Like ASM's ClassReader: primitive arrays as a whole, any other arrays element by element
+		int tag = in.readByte();
+		Object array;
+		switch (tag) {
+			case 'Z':
+				array = new boolean[length];
+				break;
+			case 'B':
+				array = new byte[length];
+				break;
+			case 'C':
+				array = new char[length];
+				break;
+			case 'S':
+				array = new short[length];
+				break;
+			case 'I':
+				array = new int[length];
+				break;
+			case 'J':
+				array = new long[length];
+				break;
+			case 'F':
+				array = new float[length];
+				break;
+			case 'D':
+				array = new double[length];
+				break;
+			default:
+				AnnotationVisitor arrayVisitor = visitor.visitArray(name);
+				readValue(arrayVisitor, null, tag, in);
+				for (int i = 1; i < length; i++) {
+					readValue(arrayVisitor, null, in.readByte(), in);
+				}
+				arrayVisitor.visitEnd();
+				return;
+		}
+		for (int i = 0; i < length; i++) {
+			Array.set(array, i, readSimpleValue((i == 0 ? tag : in.readByte()), in));
+		}
+		visitor.visit(name, array);
+	}
+
+	private static Object readSimpleValue(int tag, DataInputStream in) throws IOException {
+		switch (tag) {
+			case 'Z':
+				return in.readBoolean();
+			case 'B':
+				return in.readByte();
+			case 'C':
+				return in.readChar();
+			case 'S':
+				return in.readShort();
+			case 'I':
+				return in.readInt();
+			case 'J':
+				return in.readLong();
+			case 'F':
+				return in.readFloat();
+			case 'D':
+				return in.readDouble();
+			case 's':
+				return in.readUTF();
+			default:
+				throw new IOException("Unsupported annotation value tag: " + (char) tag);
+		}
+	}
+
+}
@@ -43,6 +43,8 @@ import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
 import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
 import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.ObjectUtils;
@@ -135,6 +137,9 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
 	/** System time in milliseconds when this context started. */
 	private long startupDate;
 
+	/** Application startup metrics. */
+	private ApplicationStartup applicationStartup = ApplicationStartup.DEFAULT;
+
 	/** Flag that indicates whether this context is currently active. */
 	private final AtomicBoolean active = new AtomicBoolean();
 
@@ -287,6 +292,17 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
 		return new StandardEnvironment();
 	}
 
+	@Override
+	public void setApplicationStartup(ApplicationStartup applicationStartup) {
+		Assert.notNull(applicationStartup, "applicationStartup should not be null");
+		this.applicationStartup = applicationStartup;
+	}
+
+	@Override
+	public ApplicationStartup getApplicationStartup() {
+		return this.applicationStartup;
+	}
+
 	/**
 	 * Return this context's internal bean factory as AutowireCapableBeanFactory,
 	 * if already available.
@@ -473,117 +489,136 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
 		// 来个锁，不然 refresh() 还没结束，你又来个启动或销毁容器的操作，那不就乱套了嘛
 		// 避免 #refresh() 和 #close() 方法，自身或者对方并行执行。
 		synchronized (this.startupShutdownMonitor) {
-
-			/**
-			 * 准备工作，记录下容器的启动时间、标记“已启动”状态、处理配置文件中的占位符
-			 */
-            // 准备刷新的上下文环境，获取容器的当时时间，同时给容器设置同步标识
-			prepareRefresh();
-
-			// 】】】达到这里后 便完成了 创建 Bean 容器，加载并注册成 Bean。但是这步结束后，【Bean 并没有完成初始化】。
-			/*
-				这步比较关键，这步完成后，配置文件就会解析成一个个 Bean 定义(beanDefinition)，注册到 BeanFactory 中，
-				当然，这里说的 Bean 还没有初始化，只是配置信息都提取出来了，
-				注册也只是将这些信息都保存到了注册中心(说到底核心是一个 beanName-> beanDefinition 的 map)
-			 	【达到这里后 便完成了 创建 Bean 容器，加载Bean 并注册 Bean】
-			 */
-            // 创建并初始化 BeanFactory ，并进行 XML 文件读取
-			// 告诉子类重启refreshBeanFactory()方法，Bean定义资源文件的载入从子类的refreshBeanFactory()方法启动
-			ConfigurableListableBeanFactory beanFactory = obtainFreshBeanFactory();
-
-			/**
-			 *  为beanFactory做一些准备，填充配置一些容器特性。对 BeanFactory 设置各种各种的功能。
-			 * 设置 BeanFactory 的类加载器，添加几个 BeanPostProcessor，手动注册几个特殊的 bean
-			 */
-			//为BeanFactory配置容器特性，例如类加载器、事件处理器等
-			prepareBeanFactory(beanFactory);
-
+			StartupStep contextRefresh = this.applicationStartup.start("spring.context.refresh");
 			try {
-				/*
-					为容器的某些子类指定特殊的BeanPost事件处理器
-				 */
-                // 子类覆盖该方法，做 BeanFactory 的额外的处理
-				postProcessBeanFactory(beanFactory);
-
-				/*
-					调用所有注册的BeanFactoryPostProcessor的Bean
-				 */
-                // 激活各种 BeanFactory 处理器，例如 BeanFactoryPostProcessor
-				invokeBeanFactoryPostProcessors(beanFactory);
-
-
-                //】】】 注册拦截 Bean 创建的 BeanPostProcessor。
-				// 】】】这里只是注册，真正的调用在 #getBean(...) 的时，即 Bean 创建的时候。
-                // 注意：
-                //      1. BeanFactoryPostProcessor 作用于 BeanDefinition
-                //      2. BeanPostProcessor 作用于 Bean
-				// 与 BeanFactoryPostProcessor 一样，也是委托给 PostProcessorRegistrationDelegate 来实现的。
-                registerBeanPostProcessors(beanFactory);
-
-				// 【初始化信息源】，和国际化相关.
-                // TODO 芋艿，先暂时不看 为 Context 初始化 Message 源，即不同语言的消息体，国际化处理
-				initMessageSource();
-
-				/*
-					如果当前容器中存在 applicationEventMulticaster 的 bean，则对 applicationEventMulticaster 赋值，
-					否则新建一个 SimpleApplicationEventMulticaster 的对象（默认的），并完成注册。
-				 */
-				// 【初始化容器事件传播器.】
-                // 初始化 上下文事件广播器
-				initApplicationEventMulticaster();
-
-				/**
-				 *  从方法名就可以知道，典型的模板方法(钩子方法)，
-				 *  具体的子类可以在这里初始化一些特殊的 Bean（在初始化 singleton beans 之前）
-				 */
-                // 留给子类，来初始化其他特殊的 Bean 对象们
-				onRefresh();
-
-				/*
-					在所有 bean 中查找 listener bean，然后注册到广播器中
-				 */
-				// 【为事件传播器注册事件监听器.】
-                // 注册监听器们
-				registerListeners();
-
 				/**
-				 * / 重点，重点，重点
-				 *  始化所有的 singleton beans
-				 *  （lazy-init 的除外）
+				 * 准备工作，记录下容器的启动时间、标记“已启动”状态、处理配置文件中的占位符
 				 */
-                // 初始化非延迟加载的单例
-				finishBeanFactoryInitialization(beanFactory);
+                // 准备刷新的上下文环境，获取容器的当时时间，同时给容器设置同步标识
+				prepareRefresh();
 
+				// 】】】达到这里后 便完成了 创建 Bean 容器，加载并注册成 Bean。但是这步结束后，【Bean 并没有完成初始化】。
 				/*
-					完成刷新过程,通知生命周期处理器 lifecycleProcessor 刷新过程,同时发出 ContextRefreshEvent 通知别人
+					这步比较关键，这步完成后，配置文件就会解析成一个个 Bean 定义(beanDefinition)，注册到 BeanFactory 中，
+					当然，这里说的 Bean 还没有初始化，只是配置信息都提取出来了，
+					注册也只是将这些信息都保存到了注册中心(说到底核心是一个 beanName-> beanDefinition 的 map)
+				 	【达到这里后 便完成了 创建 Bean 容器，加载Bean 并注册 Bean】
 				 */
-				// 初始化容器的生命周期事件处理器，并发布容器的生命周期事件
-                // 完成 refresh 逻辑
-				finishRefresh();
-			} catch (BeansException ex) {
-				if (logger.isWarnEnabled()) {
-					logger.warn("Exception encountered during context initialization - " +
-							"cancelling refresh attempt: " + ex);
+                // 创建并初始化 BeanFactory ，并进行 XML 文件读取
+				// 告诉子类重启refreshBeanFactory()方法，Bean定义资源文件的载入从子类的refreshBeanFactory()方法启动
+				StartupStep beanDefinitionLoading = this.applicationStartup.start("spring.context.beans.load");
+				ConfigurableListableBeanFactory beanFactory;
+				try {
+					beanFactory = obtainFreshBeanFactory();
+					beanDefinitionLoading.tag("beanDefinitionCount", () -> String.valueOf(beanFactory.getBeanDefinitionCount()));
+				}
+				finally {
+					beanDefinitionLoading.end();
 				}
+
 				/**
-				 * 加载配置文件出错的时候
-				 * 解析类出错的时候
-				 * 初始化抛出不可预知异常的时候
-				 * 以上都会导致IOC容器异常终止的处理方法
+				 *  为beanFactory做一些准备，填充配置一些容器特性。对 BeanFactory 设置各种各种的功能。
+				 * 设置 BeanFactory 的类加载器，添加几个 BeanPostProcessor，手动注册几个特殊的 bean
 				 */
+				//为BeanFactory配置容器特性，例如类加载器、事件处理器等
+				prepareBeanFactory(beanFactory);
 
-				//销毁已创建的Bean
-				destroyBeans();
-
-				//取消refresh操作，重置容器的同步标识.
-				cancelRefresh(ex);
+				try {
+					/*
+						为容器的某些子类指定特殊的BeanPost事件处理器
+					 */
+                    // 子类覆盖该方法，做 BeanFactory 的额外的处理
+					postProcessBeanFactory(beanFactory);
+
+					StartupStep beanPostProcess = this.applicationStartup.start("spring.context.beans.post-process");
+					try {
+						/*
+							调用所有注册的BeanFactoryPostProcessor的Bean
+						 */
+                        // 激活各种 BeanFactory 处理器，例如 BeanFactoryPostProcessor
+						invokeBeanFactoryPostProcessors(beanFactory);
+
+
+                        //】】】 注册拦截 Bean 创建的 BeanPostProcessor。
+						// 】】】这里只是注册，真正的调用在 #getBean(...) 的时，即 Bean 创建的时候。
+                        // 注意：
+                        //      1. BeanFactoryPostProcessor 作用于 BeanDefinition
+                        //      2. BeanPostProcessor 作用于 Bean
+						// 与 BeanFactoryPostProcessor 一样，也是委托给 PostProcessorRegistrationDelegate 来实现的。
+                        registerBeanPostProcessors(beanFactory);
+					}
+					finally {
+						beanPostProcess.end();
+					}
 
-				// 抛出异常
-				throw ex;
-			} finally {
-				// Reset common introspection caches in Spring's core, since we
-				// might not ever need metadata for singleton beans anymore...
-				resetCommonCaches();
+					// 【初始化信息源】，和国际化相关.
+                    // TODO 芋艿，先暂时不看 为 Context 初始化 Message 源，即不同语言的消息体，国际化处理
+					initMessageSource();
+
+					/*
+						如果当前容器中存在 applicationEventMulticaster 的 bean，则对 applicationEventMulticaster 赋值，
+						否则新建一个 SimpleApplicationEventMulticaster 的对象（默认的），并完成注册。
+					 */
+					// 【初始化容器事件传播器.】
+                    // 初始化 上下文事件广播器
+					initApplicationEventMulticaster();
+
+					/**
+					 *  从方法名就可以知道，典型的模板方法(钩子方法)，
+					 *  具体的子类可以在这里初始化一些特殊的 Bean（在初始化 singleton beans 之前）
+					 */
+                    // 留给子类，来初始化其他特殊的 Bean 对象们
+					onRefresh();
+
+					/*
+						在所有 bean 中查找 listener bean，然后注册到广播器中
+					 */
+					// 【为事件传播器注册事件监听器.】
+                    // 注册监听器们
+					registerListeners();
+
+					/**
+					 * / 重点，重点，重点
+					 *  始化所有的 singleton beans
+					 *  （lazy-init 的除外）
+					 */
+                    // 初始化非延迟加载的单例
+					finishBeanFactoryInitialization(beanFactory);
+
+					/*
+						完成刷新过程,通知生命周期处理器 lifecycleProcessor 刷新过程,同时发出 ContextRefreshEvent 通知别人
+					 */
+					// 初始化容器的生命周期事件处理器，并发布容器的生命周期事件
+                    // 完成 refresh 逻辑
+					finishRefresh();
+				} catch (BeansException ex) {
+					if (logger.isWarnEnabled()) {
+						logger.warn("Exception encountered during context initialization - " +
+								"cancelling refresh attempt: " + ex);
+					}
+					/**
+					 * 加载配置文件出错的时候
+					 * 解析类出错的时候
+					 * 初始化抛出不可预知异常的时候
+					 * 以上都会导致IOC容器异常终止的处理方法
+					 */
+
+					//销毁已创建的Bean
+					destroyBeans();
+
+					//取消refresh操作，重置容器的同步标识.
+					cancelRefresh(ex);
+
+					// 抛出异常
+					throw ex;
+				} finally {
+					// Reset common introspection caches in Spring's core, since we
+					// might not ever need metadata for singleton beans anymore...
+					resetCommonCaches();
+				}
+			}
+			finally {
+				contextRefresh.end();
 			}
 		}
 	}
@@ -655,6 +690,7 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
 
         // 设置 BeanFactory 的 ClassLoader ，和 Context 使用同一个 ClassLoader
 		beanFactory.setBeanClassLoader(getClassLoader());
+		beanFactory.setApplicationStartup(getApplicationStartup());
 
 		// 设置 BeanFactory 的表达式语言表达式，Spring3 增加了表达式语言的支持
         // 默认可以使用 #{bean.xxx} 的形式来调用相关属性
@@ -705,6 +741,10 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
 		if (!beanFactory.containsLocalBean(SYSTEM_ENVIRONMENT_BEAN_NAME)) {
 			beanFactory.registerSingleton(SYSTEM_ENVIRONMENT_BEAN_NAME, getEnvironment().getSystemEnvironment());
 		}
+		// 注册 ApplicationStartup Bean 对象，便于获取启动过程的记录
+		if (!beanFactory.containsLocalBean(APPLICATION_STARTUP_BEAN_NAME)) {
+			beanFactory.registerSingleton(APPLICATION_STARTUP_BEAN_NAME, getApplicationStartup());
+		}
 	}
 
 	/**
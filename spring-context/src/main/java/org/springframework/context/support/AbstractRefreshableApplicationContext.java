@@ -144,6 +144,7 @@ public abstract class AbstractRefreshableApplicationContext extends AbstractAppl
 			// 用于 BeanFactory 的序列化，我想不部分人应该都用不到
 			// 指定序列化编号
 			beanFactory.setSerializationId(getId());
+			beanFactory.setApplicationStartup(getApplicationStartup());
 
 			/*
 				设置 BeanFactory 的两个配置属性：是否允许 Bean 覆盖、是否允许循环引用
@@ -26,6 +26,8 @@ import org.springframework.beans.factory.support.*;
 import org.springframework.core.OrderComparator;
 import org.springframework.core.Ordered;
 import org.springframework.core.PriorityOrdered;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
 import org.springframework.lang.Nullable;
 
 import java.util.*;
@@ -102,7 +104,7 @@ final class PostProcessorRegistrationDelegate {
 			// 添加到 registryProcessors 中
 			registryProcessors.addAll(currentRegistryProcessors);
 			// 后执行
-			invokeBeanDefinitionRegistryPostProcessors(currentRegistryProcessors, registry);
+			invokeBeanDefinitionRegistryPostProcessors(currentRegistryProcessors, registry, beanFactory.getApplicationStartup());
 			// 清空 currentRegistryProcessors
 			currentRegistryProcessors.clear();
 
@@ -120,7 +122,7 @@ final class PostProcessorRegistrationDelegate {
             // 添加到 registryProcessors 中
             registryProcessors.addAll(currentRegistryProcessors);
             // 后执行
-            invokeBeanDefinitionRegistryPostProcessors(currentRegistryProcessors, registry);
+            invokeBeanDefinitionRegistryPostProcessors(currentRegistryProcessors, registry, beanFactory.getApplicationStartup());
             // 清空 currentRegistryProcessors
             currentRegistryProcessors.clear();
 
@@ -143,7 +145,7 @@ final class PostProcessorRegistrationDelegate {
                 // 添加到 registryProcessors 中
                 registryProcessors.addAll(currentRegistryProcessors);
                 // 执行 currentRegistryProcessors
-                invokeBeanDefinitionRegistryPostProcessors(currentRegistryProcessors, registry);
+                invokeBeanDefinitionRegistryPostProcessors(currentRegistryProcessors, registry, beanFactory.getApplicationStartup());
                 // 清空 currentRegistryProcessors
                 currentRegistryProcessors.clear();
 			}
@@ -332,10 +334,18 @@ final class PostProcessorRegistrationDelegate {
 	 * Invoke the given BeanDefinitionRegistryPostProcessor beans.
 	 */
 	private static void invokeBeanDefinitionRegistryPostProcessors(
-			Collection<? extends BeanDefinitionRegistryPostProcessor> postProcessors, BeanDefinitionRegistry registry) {
+			Collection<? extends BeanDefinitionRegistryPostProcessor> postProcessors, BeanDefinitionRegistry registry,
+			ApplicationStartup applicationStartup) {
 
 		for (BeanDefinitionRegistryPostProcessor postProcessor : postProcessors) {
-			postProcessor.postProcessBeanDefinitionRegistry(registry);
+			StartupStep postProcessBeanDefRegistry = applicationStartup.start("spring.context.beandef-registry.post-process")
+					.tag("postProcessor", postProcessor::toString);
+			try {
+				postProcessor.postProcessBeanDefinitionRegistry(registry);
+			}
+			finally {
+				postProcessBeanDefRegistry.end();
+			}
 		}
 	}
 
@@ -346,7 +356,14 @@ final class PostProcessorRegistrationDelegate {
 			Collection<? extends BeanFactoryPostProcessor> postProcessors, ConfigurableListableBeanFactory beanFactory) {
 
 		for (BeanFactoryPostProcessor postProcessor : postProcessors) {
-			postProcessor.postProcessBeanFactory(beanFactory);
+			StartupStep postProcessBeanFactory = beanFactory.getApplicationStartup().start("spring.context.bean-factory.post-process")
+					.tag("postProcessor", postProcessor::toString);
+			try {
+				postProcessor.postProcessBeanFactory(beanFactory);
+			}
+			finally {
+				postProcessBeanFactory.end();
+			}
 		}
 	}
 
@@ -214,6 +214,32 @@ public class CglibProxyTests extends AbstractAopProxyTests implements Serializab
 		return (ITestBean) pf.getProxy();
 	}
 
+	@Test
+	public void testFrozenProxyWithExposedProxy() {
+		TestBean target = new TestBean();
+		target.setAge(20);
+		ProxyFactory pf = new ProxyFactory(target);
+		pf.setProxyTargetClass(true);
+		Object[] exposedProxy = new Object[1];
+		pf.addAdvice((MethodInterceptor) invocation -> {
+			exposedProxy[0] = AopContext.currentProxy();
+			return invocation.proceed();
+		});
+		pf.setExposeProxy(true);
+		pf.setFrozen(true);
+		ITestBean proxy = (ITestBean) pf.getProxy();
+
+		assertEquals(20, proxy.getAge());
+		assertSame(proxy, exposedProxy[0]);
+		try {
+			AopContext.currentProxy();
+			fail("Proxy should not be exposed after invocation");
+		}
+		catch (IllegalStateException ex) {
+			// expected
+		}
+	}
+
 	@Test
 	public void testMultipleProxiesForIntroductionAdvisor() {
 		TestBean target1 = new TestBean();
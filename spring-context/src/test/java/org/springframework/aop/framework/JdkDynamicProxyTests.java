@@ -25,6 +25,7 @@ import org.junit.Test;
 
 import org.springframework.aop.interceptor.ExposeInvocationInterceptor;
 import org.springframework.aop.support.AopUtils;
+import org.springframework.tests.aop.interceptor.NopInterceptor;
 import org.springframework.tests.sample.beans.IOther;
 import org.springframework.tests.sample.beans.ITestBean;
 import org.springframework.tests.sample.beans.TestBean;
@@ -145,6 +146,65 @@ public class JdkDynamicProxyTests extends AbstractAopProxyTests implements Seria
 		assertTrue(proxy.doWithVarargs(MyEnum.A, MyOtherEnum.C));
 	}
 
+	@Test
+	public void testFrozenProxyWithStaticTarget() throws Throwable {
+		TestBean target = new TestBean();
+		ProxyFactory pf = new ProxyFactory(target);
+		NopInterceptor nop = new NopInterceptor();
+		pf.addAdvice(nop);
+		pf.setFrozen(true);
+		ITestBean proxy = (ITestBean) createProxy(pf);
+
+		proxy.setAge(42);
+		assertEquals(42, proxy.getAge());
+		assertEquals(42, target.getAge());
+		assertEquals(2, nop.getCount());
+
+		Exception ex = new Exception();
+		try {
+			proxy.exceptional(ex);
+			fail("Should have thrown checked exception");
+		}
+		catch (Exception thrown) {
+			assertSame(ex, thrown);
+		}
+	}
+
+	@Test
+	public void testFrozenProxyWithoutAdvice() throws Throwable {
+		ProxyFactory pf = new ProxyFactory(new TestBean());
+		pf.setFrozen(true);
+		ITestBean proxy = (ITestBean) createProxy(pf);
+
+		proxy.setName("tom");
+		assertEquals("tom", proxy.getName());
+		try {
+			proxy.exceptional(new IllegalStateException());
+			fail("Should have thrown IllegalStateException");
+		}
+		catch (IllegalStateException ex) {
+			// expected
+		}
+	}
+
+	@Test
+	public void testFrozenProxyWithNonPublicTarget() {
+		Named target = new Named() {
+			@Override
+			public String getName() {
+				return "tom";
+			}
+		};
+		ProxyFactory pf = new ProxyFactory(target);
+		NopInterceptor nop = new NopInterceptor();
+		pf.addAdvice(nop);
+		pf.setFrozen(true);
+		Named proxy = (Named) createProxy(pf);
+
+		assertEquals("tom", proxy.getName());
+		assertEquals(1, nop.getCount());
+	}
+
 
 	public interface Foo {
 
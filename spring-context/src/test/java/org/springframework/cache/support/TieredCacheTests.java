@@ -0,0 +1,341 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.support;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.cache.AbstractCacheTests;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import static org.junit.Assert.*;
+
+/**
+ */
+public class TieredCacheTests extends AbstractCacheTests<TieredCache> {
+
+	private ConcurrentMap<Object, Object> nativeCache;
+
+	private ConcurrentMapCache targetCache;
+
+	private TieredCache cache;
+
+
+	@Before
+	public void setUp() {
+		this.nativeCache = new ConcurrentHashMap<>();
+		this.targetCache = new ConcurrentMapCache(CACHE_NAME, this.nativeCache, true);
+		this.cache = new TieredCache(this.targetCache, 100, Duration.ofMinutes(1));
+	}
+
+	@Override
+	protected TieredCache getCache() {
+		return this.cache;
+	}
+
+	@Override
+	protected Object getNativeCache() {
+		return this.nativeCache;
+	}
+
+
+	@Test
+	public void localTierAnswersRepeatedLookups() {
+		this.targetCache.put("key", "value");
+		assertEquals("value", this.cache.get("key").get());
+		this.nativeCache.clear();
+		assertEquals("value", this.cache.get("key").get());
+		assertEquals("value", this.cache.get("key", String.class));
+
+		TieredCache.Statistics statistics = this.cache.getStatistics();
+		assertEquals(2, statistics.getLocalHitCount());
+		assertEquals(1, statistics.getLocalMissCount());
+		assertEquals(1, statistics.getTargetHitCount());
+		assertEquals(1, statistics.getLocalSize());
+	}
+
+	@Test
+	public void writesGoThroughToTargetCache() {
+		this.cache.put("key", "value");
+		assertEquals("value", this.targetCache.get("key").get());
+		this.cache.evict("key");
+		assertNull(this.targetCache.get("key"));
+		assertNull(this.cache.get("key"));
+	}
+
+	@Test
+	public void expiredEntryIsLookedUpAgain() throws Exception {
+		TieredCache cache = new TieredCache(this.targetCache, 100, Duration.ofMillis(10));
+		cache.put("key", "value");
+		this.targetCache.put("key", "updated");
+		assertEquals("value", cache.get("key").get());
+		Thread.sleep(20);
+		assertEquals("updated", cache.get("key").get());
+	}
+
+	@Test
+	public void negativeEntryAvoidsTargetLookups() {
+		this.cache.setNegativeTimeToLive(Duration.ofMinutes(1));
+		assertNull(this.cache.get("key"));
+		this.targetCache.put("key", "value");
+		assertNull(this.cache.get("key"));
+		assertEquals(1, this.cache.getStatistics().getTargetMissCount());
+		assertEquals(0, this.cache.getStatistics().getTargetHitCount());
+
+		this.cache.put("key", "value");
+		assertEquals("value", this.cache.get("key").get());
+	}
+
+	@Test
+	public void negativeEntryDoesNotPreventLoading() {
+		this.cache.setNegativeTimeToLive(Duration.ofMinutes(1));
+		assertNull(this.cache.get("key"));
+		assertEquals("value", this.cache.get("key", () -> "value"));
+		assertEquals("value", this.cache.get("key").get());
+		assertEquals(1, this.cache.getStatistics().getLoadCount());
+	}
+
+	@Test
+	public void refreshAheadUpdatesLocalEntryFromTargetCache() {
+		TieredCache cache = new TieredCache(this.targetCache, 100, Duration.ofMinutes(1));
+		cache.setRefreshAheadTime(Duration.ofMinutes(1));
+		cache.setRefreshExecutor(Runnable::run);
+		cache.put("key", "value");
+		this.targetCache.put("key", "updated");
+
+		// Refresh happens after the current value has been retrieved
+		assertEquals("value", cache.get("key").get());
+		assertEquals("updated", cache.get("key").get());
+		assertEquals(2, cache.getStatistics().getRefreshCount());
+	}
+
+	@Test
+	public void refreshAheadDoesNotInvokeValueLoader() {
+		TieredCache cache = new TieredCache(this.targetCache, 100, Duration.ofMinutes(1));
+		cache.setRefreshAheadTime(Duration.ofMinutes(1));
+		cache.setRefreshExecutor(Runnable::run);
+		AtomicInteger counter = new AtomicInteger();
+		assertEquals(1, (int) cache.get("key", counter::incrementAndGet));
+		assertEquals(1, (int) cache.get("key", counter::incrementAndGet));
+		assertEquals(1, counter.get());
+	}
+
+	@Test
+	public void localTierIsBounded() {
+		TieredCache cache = new TieredCache(this.targetCache, 10, Duration.ofMinutes(1));
+		for (int i = 0; i < 100; i++) {
+			cache.put(i, i);
+		}
+		TieredCache.Statistics statistics = cache.getStatistics();
+		assertTrue(statistics.getLocalSize() <= 10);
+		assertEquals(90, statistics.getEvictionCount());
+		assertEquals(99, (int) cache.get(99, Integer.class));
+		assertEquals(0, (int) cache.get(0, Integer.class));
+	}
+
+	@Test
+	public void recentlyUsedEntriesSurviveEviction() {
+		TieredCache cache = new TieredCache(this.targetCache, 10, Duration.ofMinutes(1));
+		for (int i = 0; i < 10; i++) {
+			cache.put(i, i);
+		}
+		cache.get(0);
+		cache.put(10, 10);
+		this.nativeCache.clear();
+		assertNotNull(cache.get(0));
+		assertNull(cache.get(1));
+	}
+
+	@Test
+	public void concurrentLookupsAreCoalesced() throws Exception {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger lookups = new AtomicInteger();
+		Cache slowTarget = new ConcurrentMapCache(CACHE_NAME) {
+			@Override
+			public ValueWrapper get(Object key) {
+				lookups.incrementAndGet();
+				started.countDown();
+				try {
+					release.await(10, TimeUnit.SECONDS);
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+				return super.get(key);
+			}
+		};
+		slowTarget.put("key", "value");
+		TieredCache cache = new TieredCache(slowTarget, 100, Duration.ofMinutes(1));
+
+		Thread[] threads = new Thread[5];
+		String[] results = new String[threads.length];
+		for (int i = 0; i < threads.length; i++) {
+			int index = i;
+			threads[i] = new Thread(() -> results[index] = (String) cache.get("key").get());
+		}
+		threads[0].start();
+		assertTrue(started.await(10, TimeUnit.SECONDS));
+		for (int i = 1; i < threads.length; i++) {
+			threads[i].start();
+		}
+		while (cache.getStatistics().getCoalescedCount() < threads.length - 1) {
+			Thread.sleep(5);
+		}
+		release.countDown();
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		assertEquals(1, lookups.get());
+		for (String result : results) {
+			assertEquals("value", result);
+		}
+	}
+
+	@Test
+	public void evictDuringLookupDoesNotResurrectValue() throws Exception {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger lookups = new AtomicInteger();
+		Cache slowTarget = new ConcurrentMapCache(CACHE_NAME) {
+			@Override
+			public ValueWrapper get(Object key) {
+				ValueWrapper wrapper = super.get(key);
+				if (lookups.incrementAndGet() == 1) {
+					started.countDown();
+					try {
+						release.await(10, TimeUnit.SECONDS);
+					}
+					catch (InterruptedException ex) {
+						Thread.currentThread().interrupt();
+					}
+				}
+				return wrapper;
+			}
+		};
+		slowTarget.put("key", "value");
+		TieredCache cache = new TieredCache(slowTarget, 100, Duration.ofMinutes(1));
+
+		Object[] result = new Object[1];
+		Thread thread = new Thread(() -> result[0] = cache.get("key").get());
+		thread.start();
+		assertTrue(started.await(10, TimeUnit.SECONDS));
+		cache.evict("key");
+		release.countDown();
+		thread.join();
+
+		assertEquals("value", result[0]);
+		assertNull(cache.get("key"));
+		assertEquals(2, lookups.get());
+	}
+
+	@Test
+	public void clearDuringLoadDoesNotResurrectValue() {
+		assertEquals("value", this.cache.get("key", () -> {
+			this.cache.clear();
+			return "value";
+		}));
+		this.nativeCache.clear();
+		assertNull(this.cache.get("key"));
+	}
+
+	@Test
+	public void nestedAccessFromValueLoaderDoesNotDeadlock() throws Exception {
+		this.targetCache.put("other", "value");
+		CompletableFuture<Object> result = CompletableFuture.supplyAsync(() -> this.cache.get("key", () -> {
+			assertNull(this.cache.get("key"));
+			return this.cache.get("other", String.class);
+		}));
+		assertEquals("value", result.get(10, TimeUnit.SECONDS));
+		assertEquals("value", this.cache.get("key", String.class));
+	}
+
+	@Test
+	public void loadFailureIsRecorded() {
+		try {
+			this.cache.get("key", () -> {
+				throw new UnsupportedOperationException("Expected exception");
+			});
+			fail("Should have thrown ValueRetrievalException");
+		}
+		catch (Cache.ValueRetrievalException ex) {
+			assertEquals(UnsupportedOperationException.class, ex.getCause().getClass());
+		}
+		assertEquals(1, this.cache.getStatistics().getLoadFailureCount());
+		assertNull(this.cache.get("key"));
+	}
+
+	@Test
+	public void lookupJoiningFailedLoadFallsBackToOwnLookup() throws Exception {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		Thread loader = new Thread(() -> {
+			try {
+				this.cache.get("key", () -> {
+					started.countDown();
+					release.await(10, TimeUnit.SECONDS);
+					throw new UnsupportedOperationException("Expected exception");
+				});
+			}
+			catch (Cache.ValueRetrievalException ex) {
+				// expected
+			}
+		});
+		loader.start();
+		assertTrue(started.await(10, TimeUnit.SECONDS));
+		CompletableFuture<Cache.ValueWrapper> result = CompletableFuture.supplyAsync(() -> this.cache.get("key"));
+		while (this.cache.getStatistics().getCoalescedCount() < 1) {
+			Thread.sleep(5);
+		}
+		release.countDown();
+		loader.join();
+
+		assertNull(result.get(10, TimeUnit.SECONDS));
+		assertEquals(1, this.cache.getStatistics().getLoadFailureCount());
+	}
+
+	@Test
+	public void cacheManagerWrapsTargetCaches() {
+		ConcurrentMapCacheManager targetCacheManager = new ConcurrentMapCacheManager("first");
+		TieredCacheManager cacheManager = new TieredCacheManager(targetCacheManager);
+		cacheManager.afterPropertiesSet();
+		assertTrue(cacheManager.getCacheNames().contains("first"));
+
+		Cache first = cacheManager.getCache("first");
+		assertTrue(first instanceof TieredCache);
+		assertSame(targetCacheManager.getCache("first"), ((TieredCache) first).getTargetCache());
+		assertSame(first, cacheManager.getCache("first"));
+		assertNull(cacheManager.getCache("second"));
+
+		targetCacheManager.setCacheNames(null);
+		Cache second = cacheManager.getCache("second");
+		assertTrue(second instanceof TieredCache);
+		assertEquals("second", second.getName());
+	}
+
+}
@@ -16,6 +16,7 @@
 
 package org.springframework.context.annotation;
 
+import java.util.List;
 import java.util.Map;
 import java.util.regex.Pattern;
 
@@ -31,6 +32,10 @@ import org.springframework.context.annotation6.ComponentForScanning;
 import org.springframework.context.annotation6.ConfigForScanning;
 import org.springframework.context.annotation6.Jsr330NamedForScanning;
 import org.springframework.core.ResolvableType;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.BufferingApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.core.metrics.StartupTimeline;
 import org.springframework.util.ObjectUtils;
 
 import static java.lang.String.*;
@@ -367,6 +372,59 @@ public class AnnotationConfigApplicationContextTests {
 		assertEquals(FactoryBean.class, context.getType("&fb"));
 	}
 
+	@Test
+	public void refreshWithApplicationStartup() {
+		BufferingApplicationStartup applicationStartup = new BufferingApplicationStartup(1000);
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+		context.setApplicationStartup(applicationStartup);
+		context.register(Config.class, NameConfig.class);
+		context.refresh();
+
+		assertSame(applicationStartup, context.getBean(ApplicationStartup.class));
+		StartupTimeline timeline = applicationStartup.getTimeline();
+		assertEquals(1, timeline.getEvents("spring.context.component-classes.register").size());
+		assertEquals(1, timeline.getEvents("spring.context.config-classes.parse").size());
+		assertEquals(1, timeline.getEvents("spring.context.config-classes.enhance").size());
+		List<StartupTimeline.TimelineEvent> refresh = timeline.getEvents("spring.context.refresh");
+		assertEquals(1, refresh.size());
+		long refreshId = refresh.get(0).getStartupStep().getId();
+
+		StartupStep testBeanCreation = null;
+		for (StartupTimeline.TimelineEvent event : timeline.getEvents("spring.beans.instantiate")) {
+			for (StartupStep.Tag tag : event.getStartupStep().getTags()) {
+				if (tag.getKey().equals("beanName") && tag.getValue().equals("testBean")) {
+					testBeanCreation = event.getStartupStep();
+				}
+			}
+		}
+		assertNotNull(testBeanCreation);
+		assertEquals(Long.valueOf(refreshId), testBeanCreation.getParentId());
+		assertFalse(timeline.getEvents("spring.beans.init-methods").isEmpty());
+	}
+
+	@Test
+	public void refreshFailureWithApplicationStartup() {
+		BufferingApplicationStartup applicationStartup = new BufferingApplicationStartup(1000);
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+		context.setApplicationStartup(applicationStartup);
+		context.register(Config.class);
+		context.addBeanFactoryPostProcessor(beanFactory -> {
+			throw new IllegalStateException("Expected exception");
+		});
+		try {
+			context.refresh();
+			fail("Should have thrown IllegalStateException");
+		}
+		catch (IllegalStateException ex) {
+			assertEquals("Expected exception", ex.getMessage());
+		}
+
+		StartupTimeline timeline = applicationStartup.getTimeline();
+		assertFalse(timeline.getEvents("spring.context.bean-factory.post-process").isEmpty());
+		assertEquals(1, timeline.getEvents("spring.context.beans.post-process").size());
+		assertEquals(1, timeline.getEvents("spring.context.refresh").size());
+	}
+
 
 	@Configuration
 	static class Config {
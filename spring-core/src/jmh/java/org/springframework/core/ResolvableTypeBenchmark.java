@@ -0,0 +1,95 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks for {@link ResolvableType} creation and the typical
+ * assignability and generics resolution checks performed on it.
+ */
+@BenchmarkMode(Mode.Throughput)
+public class ResolvableTypeBenchmark {
+
+	@Benchmark
+	public ResolvableType forClass(BenchmarkState state) {
+		return ResolvableType.forClass(state.type);
+	}
+
+	@Benchmark
+	public ResolvableType forClassWithGenerics() {
+		return ResolvableType.forClassWithGenerics(Map.class, String.class, Integer.class);
+	}
+
+	@Benchmark
+	public ResolvableType forField(BenchmarkState state) {
+		return ResolvableType.forField(state.field);
+	}
+
+	@Benchmark
+	public Class<?> resolveGenericOfSuperType(BenchmarkState state) {
+		return ResolvableType.forClass(state.type).as(List.class).resolveGeneric(0);
+	}
+
+	@Benchmark
+	public boolean isAssignableFromGenericType(BenchmarkState state) {
+		return state.listOfCharSequence.isAssignableFrom(state.fieldType);
+	}
+
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		public Class<?> type;
+
+		public Field field;
+
+		public ResolvableType fieldType;
+
+		public ResolvableType listOfCharSequence;
+
+		@Setup
+		public void setup() throws Exception {
+			this.type = StringList.class;
+			this.field = Holder.class.getField("values");
+			this.fieldType = ResolvableType.forField(this.field);
+			this.listOfCharSequence = ResolvableType.forClassWithGenerics(List.class, CharSequence.class);
+		}
+	}
+
+
+	@SuppressWarnings("serial")
+	public static class StringList extends ArrayList<String> {
+	}
+
+
+	public static class Holder {
+
+		public List<String> values;
+	}
+
+}
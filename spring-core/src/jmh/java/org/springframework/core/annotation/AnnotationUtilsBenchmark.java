@@ -0,0 +1,146 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.annotation;
+
+import java.lang.annotation.Annotation;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.lang.reflect.Method;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks for {@link AnnotationUtils#findAnnotation} and
+ * {@link AnnotatedElementUtils#findMergedAnnotation} on meta-annotated
+ * and inherited declarations, with and without the lookup caches.
+ */
+@BenchmarkMode(Mode.Throughput)
+public class AnnotationUtilsBenchmark {
+
+	@Benchmark
+	public Annotation findAnnotationOnClassCached(BenchmarkState state) {
+		return AnnotationUtils.findAnnotation(state.type, Component.class);
+	}
+
+	@Benchmark
+	public Annotation findAnnotationOnClassUncached(BenchmarkState state) {
+		AnnotationUtils.clearCache();
+		return AnnotationUtils.findAnnotation(state.type, Component.class);
+	}
+
+	@Benchmark
+	public Annotation findAnnotationOnInterfaceMethodCached(BenchmarkState state) {
+		return AnnotationUtils.findAnnotation(state.method, Transactional.class);
+	}
+
+	@Benchmark
+	public Annotation findAnnotationOnInterfaceMethodUncached(BenchmarkState state) {
+		AnnotationUtils.clearCache();
+		return AnnotationUtils.findAnnotation(state.method, Transactional.class);
+	}
+
+	@Benchmark
+	public Component findMergedAnnotationOnClass(BenchmarkState state) {
+		return AnnotatedElementUtils.findMergedAnnotation(state.type, Component.class);
+	}
+
+	@Benchmark
+	public AnnotationAttributes getMergedAnnotationAttributesOnClass(BenchmarkState state) {
+		return AnnotatedElementUtils.getMergedAnnotationAttributes(state.type, Component.class);
+	}
+
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		public Class<?> type;
+
+		public Method method;
+
+		@Setup
+		public void setup() throws Exception {
+			this.type = SubService.class;
+			this.method = SubService.class.getMethod("process", String.class);
+		}
+	}
+
+
+	@Retention(RetentionPolicy.RUNTIME)
+	@Target({ElementType.TYPE, ElementType.ANNOTATION_TYPE})
+	public @interface Component {
+
+		String value() default "";
+	}
+
+
+	@Retention(RetentionPolicy.RUNTIME)
+	@Target({ElementType.TYPE, ElementType.ANNOTATION_TYPE})
+	@Component
+	public @interface Service {
+
+		@AliasFor(annotation = Component.class)
+		String value() default "";
+	}
+
+
+	@Retention(RetentionPolicy.RUNTIME)
+	@Target(ElementType.TYPE)
+	@Service
+	public @interface TransactionalService {
+
+		@AliasFor(annotation = Service.class)
+		String value() default "";
+	}
+
+
+	@Retention(RetentionPolicy.RUNTIME)
+	@Target({ElementType.TYPE, ElementType.METHOD})
+	public @interface Transactional {
+	}
+
+
+	public interface ServiceInterface {
+
+		@Transactional
+		void process(String input);
+	}
+
+
+	@TransactionalService("service")
+	public static class BaseService implements ServiceInterface {
+
+		@Override
+		public void process(String input) {
+		}
+	}
+
+
+	public static class SubService extends BaseService {
+
+		@Override
+		public void process(String input) {
+		}
+	}
+
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.util;
+
+import java.util.Map;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks for {@link AntPathMatcher}, matching a request path against
+ * a set of typical request mapping patterns.
+ */
+@BenchmarkMode(Mode.Throughput)
+public class AntPathMatcherBenchmark {
+
+	@Benchmark
+	public void matchAllPatterns(BenchmarkState state, Blackhole bh) {
+		for (String pattern : state.patterns) {
+			bh.consume(state.matcher.match(pattern, state.path));
+		}
+	}
+
+	@Benchmark
+	public boolean matchLiteralPattern(BenchmarkState state) {
+		return state.matcher.match("/api/v1/orders/search", "/api/v1/orders/search");
+	}
+
+	@Benchmark
+	public boolean matchWildcardPattern(BenchmarkState state) {
+		return state.matcher.match("/static/**/*.js", "/static/js/vendor/app.min.js");
+	}
+
+	@Benchmark
+	public Map<String, String> extractUriTemplateVariables(BenchmarkState state) {
+		return state.matcher.extractUriTemplateVariables(
+				"/api/{version}/customers/{customerId}/orders/{orderId}", "/api/v1/customers/42/orders/1337");
+	}
+
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		@Param({"/api/v1/customers/42/orders/1337", "/api/v1/unknown/path/segment"})
+		public String path;
+
+		public String[] patterns;
+
+		public AntPathMatcher matcher;
+
+		@Setup
+		public void setup() {
+			this.matcher = new AntPathMatcher();
+			this.patterns = new String[] {
+					"/api/v1/orders/search",
+					"/api/v1/customers",
+					"/api/v1/customers/{customerId}",
+					"/api/v1/customers/{customerId}/orders",
+					"/api/{version}/customers/{customerId}/orders/{orderId}",
+					"/api/v1/products/{id:[0-9]+}",
+					"/api/v1/products/*.json",
+					"/static/**",
+					"/**/favicon.ico"};
+		}
+	}
+
+}
@@ -17,6 +17,7 @@
 package org.springframework.core.annotation;
 
 import org.springframework.core.BridgeMethodResolver;
+import org.springframework.core.annotation.MergedAnnotations.SearchStrategy;
 import org.springframework.lang.Nullable;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.LinkedMultiValueMap;
@@ -97,8 +98,6 @@ public abstract class AnnotatedElementUtils {
 
 	private static final Annotation[] EMPTY_ANNOTATION_ARRAY = new Annotation[0];
 
-	private static final Processor<Boolean> alwaysTrueAnnotationProcessor = new AlwaysTrueBooleanAnnotationProcessor();
-
 
 	/**
 	 * Build an adapted {@link AnnotatedElement} for the given annotations,
@@ -253,7 +252,7 @@ public abstract class AnnotatedElementUtils {
 		if (element.isAnnotationPresent(annotationType)) {
 			return true;
 		}
-		return Boolean.TRUE.equals(searchWithGetSemantics(element, annotationType, null, alwaysTrueAnnotationProcessor));
+		return MergedAnnotations.from(element).isPresent(annotationType);
 	}
 
 	/**
@@ -269,7 +268,7 @@ public abstract class AnnotatedElementUtils {
 	 * @return {@code true} if a matching annotation is present
 	 */
 	public static boolean isAnnotated(AnnotatedElement element, String annotationName) {
-		return Boolean.TRUE.equals(searchWithGetSemantics(element, null, annotationName, alwaysTrueAnnotationProcessor));
+		return MergedAnnotations.from(element).isPresent(annotationName);
 	}
 
 	/**
@@ -293,10 +292,7 @@ public abstract class AnnotatedElementUtils {
 	public static AnnotationAttributes getMergedAnnotationAttributes(
 			AnnotatedElement element, Class<? extends Annotation> annotationType) {
 
-		AnnotationAttributes attributes = searchWithGetSemantics(element, annotationType, null,
-				new MergedAnnotationAttributesProcessor());
-		AnnotationUtils.postProcessAnnotationAttributes(element, attributes, false, false);
-		return attributes;
+		return getAttributes(MergedAnnotations.from(element).get(annotationType), false, false);
 	}
 
 	/**
@@ -352,10 +348,8 @@ public abstract class AnnotatedElementUtils {
 	public static AnnotationAttributes getMergedAnnotationAttributes(AnnotatedElement element,
 			String annotationName, boolean classValuesAsString, boolean nestedAnnotationsAsMap) {
 
-		AnnotationAttributes attributes = searchWithGetSemantics(element, null, annotationName,
-				new MergedAnnotationAttributesProcessor(classValuesAsString, nestedAnnotationsAsMap));
-		AnnotationUtils.postProcessAnnotationAttributes(element, attributes, classValuesAsString, nestedAnnotationsAsMap);
-		return attributes;
+		return getAttributes(MergedAnnotations.from(element).get(annotationName),
+				classValuesAsString, nestedAnnotationsAsMap);
 	}
 
 	/**
@@ -389,9 +383,8 @@ public abstract class AnnotatedElementUtils {
 			return null;
 		}
 
-		// Exhaustive retrieval of merged annotation attributes...
-		AnnotationAttributes attributes = getMergedAnnotationAttributes(element, annotationType);
-		return (attributes != null ? AnnotationUtils.synthesizeAnnotation(attributes, annotationType, element) : null);
+		// Exhaustive retrieval of merged annotation...
+		return synthesize(MergedAnnotations.from(element).get(annotationType));
 	}
 
 	/**
@@ -591,7 +584,7 @@ public abstract class AnnotatedElementUtils {
 		if (element.isAnnotationPresent(annotationType)) {
 			return true;
 		}
-		return Boolean.TRUE.equals(searchWithFindSemantics(element, annotationType, null, alwaysTrueAnnotationProcessor));
+		return MergedAnnotations.from(element, SearchStrategy.TYPE_HIERARCHY).isPresent(annotationType);
 	}
 
 	/**
@@ -627,10 +620,8 @@ public abstract class AnnotatedElementUtils {
 	public static AnnotationAttributes findMergedAnnotationAttributes(AnnotatedElement element,
 			Class<? extends Annotation> annotationType, boolean classValuesAsString, boolean nestedAnnotationsAsMap) {
 
-		AnnotationAttributes attributes = searchWithFindSemantics(element, annotationType, null,
-				new MergedAnnotationAttributesProcessor(classValuesAsString, nestedAnnotationsAsMap));
-		AnnotationUtils.postProcessAnnotationAttributes(element, attributes, classValuesAsString, nestedAnnotationsAsMap);
-		return attributes;
+		return getAttributes(MergedAnnotations.from(element, SearchStrategy.TYPE_HIERARCHY).get(annotationType),
+				classValuesAsString, nestedAnnotationsAsMap);
 	}
 
 	/**
@@ -664,10 +655,8 @@ public abstract class AnnotatedElementUtils {
 	public static AnnotationAttributes findMergedAnnotationAttributes(AnnotatedElement element,
 			String annotationName, boolean classValuesAsString, boolean nestedAnnotationsAsMap) {
 
-		AnnotationAttributes attributes = searchWithFindSemantics(element, null, annotationName,
-				new MergedAnnotationAttributesProcessor(classValuesAsString, nestedAnnotationsAsMap));
-		AnnotationUtils.postProcessAnnotationAttributes(element, attributes, classValuesAsString, nestedAnnotationsAsMap);
-		return attributes;
+		return getAttributes(MergedAnnotations.from(element, SearchStrategy.TYPE_HIERARCHY).get(annotationName),
+				classValuesAsString, nestedAnnotationsAsMap);
 	}
 
 	/**
@@ -701,9 +690,8 @@ public abstract class AnnotatedElementUtils {
 			return null;
 		}
 
-		// Exhaustive retrieval of merged annotation attributes...
-		AnnotationAttributes attributes = findMergedAnnotationAttributes(element, annotationType, false, false);
-		return (attributes != null ? AnnotationUtils.synthesizeAnnotation(attributes, annotationType, element) : null);
+		// Exhaustive retrieval of merged annotation...
+		return synthesize(MergedAnnotations.from(element, SearchStrategy.TYPE_HIERARCHY).get(annotationType));
 	}
 
 	/**
@@ -826,6 +814,19 @@ public abstract class AnnotatedElementUtils {
 		return postProcessAndSynthesizeAggregatedResults(element, processor.getAggregatedResults());
 	}
 
+	@Nullable
+	private static AnnotationAttributes getAttributes(MergedAnnotation<?> annotation,
+			boolean classValuesAsString, boolean nestedAnnotationsAsMap) {
+
+		return (annotation.isPresent() ?
+				annotation.asAnnotationAttributes(classValuesAsString, nestedAnnotationsAsMap) : null);
+	}
+
+	@Nullable
+	private static <A extends Annotation> A synthesize(MergedAnnotation<A> annotation) {
+		return (annotation.isPresent() ? annotation.synthesize() : null);
+	}
+
 	/**
 	 * Search for annotations of the specified {@code annotationName} or
 	 * {@code annotationType} on the specified {@code element}, following
@@ -1492,21 +1493,6 @@ public abstract class AnnotatedElementUtils {
 	}
 
 
-	/**
-	 * {@link SimpleAnnotationProcessor} that always returns {@link Boolean#TRUE} when
-	 * asked to {@linkplain #process(AnnotatedElement, Annotation, int) process} an
-	 * annotation.
-	 * @since 4.3
-	 */
-	static class AlwaysTrueBooleanAnnotationProcessor extends SimpleAnnotationProcessor<Boolean> {
-
-		@Override
-		public final Boolean process(@Nullable AnnotatedElement annotatedElement, Annotation annotation, int metaDepth) {
-			return Boolean.TRUE;
-		}
-	}
-
-
 	/**
 	 * {@link Processor} that gets the {@code AnnotationAttributes} for the
 	 * target annotation during the {@link #process} phase and then merges
@@ -1528,14 +1514,6 @@ public abstract class AnnotatedElementUtils {
 
 		private final List<AnnotationAttributes> aggregatedResults;
 
-		MergedAnnotationAttributesProcessor() {
-			this(false, false, false);
-		}
-
-		MergedAnnotationAttributesProcessor(boolean classValuesAsString, boolean nestedAnnotationsAsMap) {
-			this(classValuesAsString, nestedAnnotationsAsMap, false);
-		}
-
 		MergedAnnotationAttributesProcessor(boolean classValuesAsString, boolean nestedAnnotationsAsMap,
 				boolean aggregates) {
 
@@ -0,0 +1,285 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.annotation;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * A single annotation (or meta-annotation) within the meta-annotation hierarchy
+ * of a root annotation type, as resolved by {@link AnnotationTypeMappings}.
+ *
+ * <p>For a meta-annotation, the mapping lazily computes and caches the
+ * attribute values that result from applying the overrides of all
+ * intermediate meta-annotations, so that only the overrides of the root
+ * annotation itself need to be applied for a specific annotated element.
+ *
+ * @author agent (agent@local)
+ * @since 5.1.1
+ */
+final class AnnotationTypeMapping {
+
+	private static final AttributeOverride[] NO_OVERRIDES = new AttributeOverride[0];
+
+
+	@Nullable
+	private final AnnotationTypeMapping source;
+
+	private final Class<? extends Annotation> annotationType;
+
+	@Nullable
+	private final Annotation annotation;
+
+	private final int distance;
+
+	@Nullable
+	private volatile Object[] mergedValues;
+
+	@Nullable
+	private volatile AttributeOverride[] rootOverrides;
+
+	private volatile boolean overridden;
+
+
+	/**
+	 * Create a mapping for a root annotation type.
+	 */
+	AnnotationTypeMapping(Class<? extends Annotation> annotationType) {
+		this.source = null;
+		this.annotationType = annotationType;
+		this.annotation = null;
+		this.distance = 0;
+	}
+
+	/**
+	 * Create a mapping for a meta-annotation declared on the annotation type
+	 * of the given source mapping.
+	 */
+	AnnotationTypeMapping(AnnotationTypeMapping source, Annotation annotation) {
+		this.source = source;
+		this.annotationType = annotation.annotationType();
+		this.annotation = annotation;
+		this.distance = source.distance + 1;
+	}
+
+
+	/**
+	 * Return the mapping for the annotation that declares this meta-annotation,
+	 * or {@code null} for a root mapping.
+	 */
+	@Nullable
+	AnnotationTypeMapping getSource() {
+		return this.source;
+	}
+
+	Class<? extends Annotation> getAnnotationType() {
+		return this.annotationType;
+	}
+
+	/**
+	 * Return the meta-annotation instance, or {@code null} for a root mapping.
+	 */
+	@Nullable
+	Annotation getAnnotation() {
+		return this.annotation;
+	}
+
+	int getDistance() {
+		return this.distance;
+	}
+
+	/**
+	 * Determine whether any annotation below this meta-annotation, including
+	 * the root annotation, overrides one of its attributes.
+	 */
+	boolean isOverridden() {
+		getMergedValues();
+		getRootOverrides();
+		return this.overridden;
+	}
+
+	/**
+	 * Return the attribute values of this meta-annotation, in the order of
+	 * {@link AnnotationUtils#getAttributeMethods}, after applying the overrides
+	 * of all intermediate meta-annotations (but not of the root annotation).
+	 * <p>Default values are represented by placeholders, as in
+	 * {@link AnnotationUtils#retrieveAnnotationAttributes}.
+	 * @return the shared array of values (to be copied before modification)
+	 */
+	Object[] getMergedValues() {
+		Object[] values = this.mergedValues;
+		if (values == null) {
+			values = computeMergedValues();
+			this.mergedValues = values;
+		}
+		return values;
+	}
+
+	private Object[] computeMergedValues() {
+		AnnotationTypeMapping source = this.source;
+		Annotation annotation = this.annotation;
+		if (source == null || annotation == null) {
+			throw new IllegalStateException("No merged values for root annotation " + this.annotationType.getName());
+		}
+
+		// Values of the meta-annotation as declared, with placeholders for default values
+		AnnotationAttributes attributes =
+				AnnotationUtils.retrieveAnnotationAttributes(source.annotationType, annotation, false, false);
+		List<Method> attributeMethods = AnnotationUtils.getAttributeMethods(this.annotationType);
+		Object[] values = new Object[attributeMethods.size()];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = attributes.get(attributeMethods.get(i).getName());
+		}
+
+		// Apply the overrides from the nearest meta-annotation down to the one above the root,
+		// with the lowest level winning in case of the same attribute being overridden twice
+		AnnotationTypeMapping level = source;
+		while (level.source != null) {
+			AttributeOverride[] overrides = resolveOverrides(level.annotationType, this.annotationType);
+			if (overrides.length > 0) {
+				Annotation levelAnnotation = level.annotation;
+				if (levelAnnotation != null) {
+					applyOverrides(overrides,
+							AnnotationUtils.synthesizeAnnotation(levelAnnotation, level.source.annotationType), values);
+				}
+				this.overridden = true;
+			}
+			level = level.source;
+		}
+		return values;
+	}
+
+	/**
+	 * Return the overrides that a root annotation applies to this meta-annotation.
+	 */
+	AttributeOverride[] getRootOverrides() {
+		AttributeOverride[] overrides = this.rootOverrides;
+		if (overrides == null) {
+			AnnotationTypeMapping root = this;
+			while (root.source != null) {
+				root = root.source;
+			}
+			overrides = resolveOverrides(root.annotationType, this.annotationType);
+			if (overrides.length > 0) {
+				this.overridden = true;
+			}
+			this.rootOverrides = overrides;
+		}
+		return overrides;
+	}
+
+
+	/**
+	 * Apply the given overrides with the attribute values of the given
+	 * (lower-level) annotation to the given values of this meta-annotation.
+	 */
+	static void applyOverrides(AttributeOverride[] overrides, Annotation annotation, Object[] values) {
+		for (AttributeOverride override : overrides) {
+			Object value = AnnotationUtils.getValue(annotation, override.sourceAttributeName);
+			for (int targetIndex : override.targetIndexes) {
+				values[targetIndex] = value;
+			}
+		}
+	}
+
+	/**
+	 * Resolve the overrides that an annotation of the given type applies to the
+	 * given (higher-level) meta-annotation type: explicit overrides declared via
+	 * {@link AliasFor @AliasFor}, including all aliases of the overridden
+	 * attribute, and implicit overrides based on convention, i.e. for attributes
+	 * of the same name except for {@code value}.
+	 */
+	private static AttributeOverride[] resolveOverrides(
+			Class<? extends Annotation> annotationType, Class<? extends Annotation> metaAnnotationType) {
+
+		List<Method> targetMethods = AnnotationUtils.getAttributeMethods(metaAnnotationType);
+		List<AttributeOverride> overrides = null;
+		Set<String> valuesAlreadyReplaced = new HashSet<>();
+
+		for (Method attributeMethod : AnnotationUtils.getAttributeMethods(annotationType)) {
+			String attributeName = attributeMethod.getName();
+			String attributeOverrideName = AnnotationUtils.getAttributeOverrideName(attributeMethod, metaAnnotationType);
+			List<Integer> targetIndexes = new ArrayList<>(2);
+
+			// Explicit annotation attribute override declared via @AliasFor
+			if (attributeOverrideName != null) {
+				if (!valuesAlreadyReplaced.add(attributeOverrideName)) {
+					continue;
+				}
+				addTargetIndex(targetMethods, attributeOverrideName, targetIndexes);
+				// Ensure all aliased attributes in the target annotation are overridden. (SPR-14069)
+				List<String> aliases = AnnotationUtils.getAttributeAliasMap(metaAnnotationType).get(attributeOverrideName);
+				if (aliases != null) {
+					for (String alias : aliases) {
+						if (valuesAlreadyReplaced.add(alias)) {
+							addTargetIndex(targetMethods, alias, targetIndexes);
+						}
+					}
+				}
+			}
+			// Implicit annotation attribute override based on convention
+			else if (!AnnotationUtils.VALUE.equals(attributeName)) {
+				addTargetIndex(targetMethods, attributeName, targetIndexes);
+			}
+
+			if (!targetIndexes.isEmpty()) {
+				if (overrides == null) {
+					overrides = new ArrayList<>();
+				}
+				overrides.add(new AttributeOverride(attributeName, targetIndexes));
+			}
+		}
+
+		return (overrides != null ? overrides.toArray(NO_OVERRIDES) : NO_OVERRIDES);
+	}
+
+	private static void addTargetIndex(List<Method> targetMethods, String attributeName, List<Integer> targetIndexes) {
+		for (int i = 0; i < targetMethods.size(); i++) {
+			if (targetMethods.get(i).getName().equals(attributeName)) {
+				targetIndexes.add(i);
+				return;
+			}
+		}
+	}
+
+
+	/**
+	 * The override of one or more meta-annotation attributes with the
+	 * value of a single attribute of a lower-level annotation.
+	 */
+	static final class AttributeOverride {
+
+		final String sourceAttributeName;
+
+		final int[] targetIndexes;
+
+		AttributeOverride(String sourceAttributeName, List<Integer> targetIndexes) {
+			this.sourceAttributeName = sourceAttributeName;
+			this.targetIndexes = new int[targetIndexes.size()];
+			for (int i = 0; i < this.targetIndexes.length; i++) {
+				this.targetIndexes[i] = targetIndexes.get(i);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.annotation;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.ConcurrentReferenceHashMap;
+
+/**
+ * The meta-annotation hierarchy of a root annotation type, flattened into
+ * {@link AnnotationTypeMapping} instances in the order in which the search
+ * algorithms of {@link AnnotatedElementUtils} encounter them: the root
+ * annotation first, then all meta-annotations of an annotation type before
+ * descending into each of them, visiting every annotation type only once.
+ *
+ * <p>Annotations from the {@code java.lang.annotation} package are ignored, and
+ * annotation types from {@code java} packages and {@code org.springframework.lang}
+ * are not introspected for meta-annotations.
+ *
+ * @author agent (agent@local)
+ * @since 5.1.1
+ */
+final class AnnotationTypeMappings {
+
+	private static final Map<Class<? extends Annotation>, AnnotationTypeMappings> cache =
+			new ConcurrentReferenceHashMap<>(256);
+
+
+	private final List<AnnotationTypeMapping> mappings = new ArrayList<>();
+
+	private final Set<Class<?>> searchedTypes = new HashSet<>();
+
+
+	private AnnotationTypeMappings(Class<? extends Annotation> annotationType, @Nullable Class<?> excludedType) {
+		AnnotationTypeMapping root = new AnnotationTypeMapping(annotationType);
+		this.mappings.add(root);
+		if (excludedType != null) {
+			this.searchedTypes.add(excludedType);
+		}
+		if (!AnnotationUtils.hasPlainJavaAnnotationsOnly(annotationType) && this.searchedTypes.add(annotationType)) {
+			addMetaAnnotations(root);
+		}
+		if (excludedType != null) {
+			this.searchedTypes.remove(excludedType);
+		}
+	}
+
+	private void addMetaAnnotations(AnnotationTypeMapping source) {
+		Class<? extends Annotation> annotationType = source.getAnnotationType();
+		Annotation[] metaAnnotations;
+		try {
+			metaAnnotations = AnnotationUtils.getDeclaredAnnotations(annotationType);
+		}
+		catch (Throwable ex) {
+			AnnotationUtils.handleIntrospectionFailure(annotationType, ex);
+			return;
+		}
+
+		List<AnnotationTypeMapping> added = new ArrayList<>(metaAnnotations.length);
+		for (Annotation metaAnnotation : metaAnnotations) {
+			if (!AnnotationUtils.isInJavaLangAnnotationPackage(metaAnnotation.annotationType())) {
+				AnnotationTypeMapping mapping = new AnnotationTypeMapping(source, metaAnnotation);
+				this.mappings.add(mapping);
+				added.add(mapping);
+			}
+		}
+		for (AnnotationTypeMapping mapping : added) {
+			Class<? extends Annotation> metaAnnotationType = mapping.getAnnotationType();
+			if (!AnnotationUtils.hasPlainJavaAnnotationsOnly(metaAnnotationType) &&
+					this.searchedTypes.add(metaAnnotationType)) {
+				addMetaAnnotations(mapping);
+			}
+		}
+	}
+
+
+	/**
+	 * Return the number of mappings, including the root mapping.
+	 */
+	int size() {
+		return this.mappings.size();
+	}
+
+	/**
+	 * Return the mapping at the given index, with index 0 being the
+	 * mapping for the root annotation type itself.
+	 */
+	AnnotationTypeMapping get(int index) {
+		return this.mappings.get(index);
+	}
+
+
+	/**
+	 * Return the mappings for the given root annotation type.
+	 * @param annotationType the root annotation type
+	 * @param excludedType a type that has already been searched for annotations
+	 * and therefore must not be searched for meta-annotations again, typically
+	 * the annotated element itself if it is an annotation type (may be {@code null})
+	 * @return the (potentially cached) mappings
+	 */
+	static AnnotationTypeMappings forAnnotationType(
+			Class<? extends Annotation> annotationType, @Nullable Class<?> excludedType) {
+
+		AnnotationTypeMappings mappings = cache.get(annotationType);
+		if (mappings == null) {
+			mappings = new AnnotationTypeMappings(annotationType, null);
+			cache.put(annotationType, mappings);
+		}
+		if (excludedType != null && mappings.searchedTypes.contains(excludedType)) {
+			// Rare case of a meta-annotation cycle through the annotated element:
+			// a dedicated hierarchy without the excluded type, not worth caching.
+			mappings = new AnnotationTypeMappings(annotationType, excludedType);
+		}
+		return mappings;
+	}
+
+	/**
+	 * Clear the internal cache of annotation type mappings.
+	 */
+	static void clearCache() {
+		cache.clear();
+	}
+
+}
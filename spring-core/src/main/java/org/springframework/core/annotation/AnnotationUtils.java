@@ -1757,7 +1757,7 @@ public abstract class AnnotationUtils {
 	 * @see SynthesizedAnnotationInvocationHandler
 	 */
 	@SuppressWarnings("unchecked")
-	private static boolean isSynthesizable(Class<? extends Annotation> annotationType) {
+	static boolean isSynthesizable(Class<? extends Annotation> annotationType) {
 		if (hasPlainJavaAnnotationsOnly(annotationType)) {
 			return false;
 		}
@@ -1981,6 +1981,8 @@ public abstract class AnnotationUtils {
 		attributeAliasesCache.clear();
 		attributeMethodsCache.clear();
 		aliasDescriptorCache.clear();
+		AnnotationTypeMappings.clearCache();
+		TypeMappedAnnotations.clearCache();
 	}
 
 
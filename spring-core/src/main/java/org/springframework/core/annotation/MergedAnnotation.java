@@ -0,0 +1,94 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.annotation;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.util.NoSuchElementException;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * A single annotation as found by {@link MergedAnnotations}: either declared
+ * directly on the source element or present as a meta-annotation, with its
+ * attributes merged with the overrides from lower levels of the annotation
+ * hierarchy.
+ *
+ * @author agent (agent@local)
+ * @since 5.1.1
+ * @param <A> the annotation type
+ * @see MergedAnnotations#get(Class)
+ */
+public interface MergedAnnotation<A extends Annotation> {
+
+	/**
+	 * Return the type of the annotation.
+	 * @throws NoSuchElementException if the annotation is not present
+	 */
+	Class<A> getType();
+
+	/**
+	 * Determine whether the annotation is present on the source.
+	 */
+	boolean isPresent();
+
+	/**
+	 * Return the distance of the annotation from the source element:
+	 * 0 for a directly declared annotation, 1 for a meta-annotation on
+	 * such an annotation, etc; or -1 if the annotation is not present.
+	 */
+	int getDistance();
+
+	/**
+	 * Return the element that declares the annotation (or the annotation that
+	 * it has been found on as a meta-annotation), if present.
+	 */
+	@Nullable
+	AnnotatedElement getSource();
+
+	/**
+	 * Create a new {@link AnnotationAttributes} instance with the merged
+	 * attribute values of this annotation, with {@link AliasFor @AliasFor}
+	 * semantics applied and default values filled in.
+	 * @param classValuesAsString whether to convert Class references into Strings
+	 * or to preserve them as Class references
+	 * @param nestedAnnotationsAsMap whether to convert nested Annotation instances into
+	 * {@code AnnotationAttributes} maps or to preserve them as Annotation instances
+	 * @return the merged attributes (a mutable, newly created instance)
+	 * @throws NoSuchElementException if the annotation is not present
+	 */
+	AnnotationAttributes asAnnotationAttributes(boolean classValuesAsString, boolean nestedAnnotationsAsMap);
+
+	/**
+	 * Return an annotation instance with the merged attribute values:
+	 * the original annotation if no merging is needed, or a synthesized
+	 * annotation otherwise.
+	 * @throws NoSuchElementException if the annotation is not present
+	 * @see AnnotationUtils#synthesizeAnnotation(java.util.Map, Class, AnnotatedElement)
+	 */
+	A synthesize();
+
+
+	/**
+	 * Return a {@link MergedAnnotation} that represents a missing annotation.
+	 */
+	@SuppressWarnings("unchecked")
+	static <A extends Annotation> MergedAnnotation<A> missing() {
+		return (MergedAnnotation<A>) MissingMergedAnnotation.INSTANCE;
+	}
+
+}
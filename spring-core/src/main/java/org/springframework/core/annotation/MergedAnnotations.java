@@ -0,0 +1,132 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.annotation;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+
+import org.springframework.util.Assert;
+
+/**
+ * Provides access to the merged annotations declared on an
+ * {@link AnnotatedElement}, following the semantics of Spring's
+ * meta-annotation programming model with support for attribute overrides
+ * and {@link AliasFor @AliasFor}.
+ *
+ * <p>In contrast to the processor-based algorithms in {@link AnnotatedElementUtils},
+ * the meta-annotation hierarchy above each annotation type is resolved once
+ * and cached, including the attribute override plan for every meta-annotation
+ * within that hierarchy. A search on an element therefore walks the annotations
+ * declared on the element (and, depending on the {@link SearchStrategy}, on its
+ * type or method hierarchy) in a single pass against those precomputed
+ * mappings; the outcome is cached per element and annotation type.
+ *
+ * <p>Merged annotations are only turned into {@link AnnotationAttributes} or
+ * synthesized into annotation proxies on demand, and an annotation that does
+ * not need any merging or alias handling is returned as-is.
+ *
+ * @author agent (agent@local)
+ * @since 5.1.1
+ * @see MergedAnnotation
+ * @see AnnotatedElementUtils
+ */
+public interface MergedAnnotations {
+
+	/**
+	 * Determine if an annotation of the specified type is present, either
+	 * directly or as a meta-annotation.
+	 * @param annotationType the annotation type to check
+	 * @return {@code true} if the annotation is present
+	 */
+	<A extends Annotation> boolean isPresent(Class<A> annotationType);
+
+	/**
+	 * Determine if an annotation of the specified type is present, either
+	 * directly or as a meta-annotation.
+	 * @param annotationType the fully qualified class name of the annotation type to check
+	 * @return {@code true} if the annotation is present
+	 */
+	boolean isPresent(String annotationType);
+
+	/**
+	 * Get the nearest matching annotation of the specified type, merged with
+	 * the attribute overrides from lower levels of the annotation hierarchy.
+	 * @param annotationType the annotation type to get
+	 * @return a {@link MergedAnnotation} instance, potentially
+	 * {@linkplain MergedAnnotation#isPresent() missing}
+	 */
+	<A extends Annotation> MergedAnnotation<A> get(Class<A> annotationType);
+
+	/**
+	 * Get the nearest matching annotation of the specified type, merged with
+	 * the attribute overrides from lower levels of the annotation hierarchy.
+	 * @param annotationType the fully qualified class name of the annotation type to get
+	 * @return a {@link MergedAnnotation} instance, potentially
+	 * {@linkplain MergedAnnotation#isPresent() missing}
+	 */
+	<A extends Annotation> MergedAnnotation<A> get(String annotationType);
+
+
+	/**
+	 * Create a new {@link MergedAnnotations} instance for the annotations
+	 * <em>present</em> on the given element, i.e. declared locally or
+	 * {@linkplain java.lang.annotation.Inherited inherited}.
+	 * @param element the source element
+	 * @return a {@link MergedAnnotations} instance for the element
+	 * @see SearchStrategy#INHERITED_ANNOTATIONS
+	 */
+	static MergedAnnotations from(AnnotatedElement element) {
+		return from(element, SearchStrategy.INHERITED_ANNOTATIONS);
+	}
+
+	/**
+	 * Create a new {@link MergedAnnotations} instance for the annotations
+	 * on the given element, according to the given search strategy.
+	 * @param element the source element
+	 * @param searchStrategy the search strategy to use
+	 * @return a {@link MergedAnnotations} instance for the element
+	 */
+	static MergedAnnotations from(AnnotatedElement element, SearchStrategy searchStrategy) {
+		Assert.notNull(element, "AnnotatedElement must not be null");
+		Assert.notNull(searchStrategy, "SearchStrategy must not be null");
+		return TypeMappedAnnotations.from(element, searchStrategy);
+	}
+
+
+	/**
+	 * Search strategies supported by {@link MergedAnnotations#from(AnnotatedElement, SearchStrategy)}.
+	 */
+	enum SearchStrategy {
+
+		/**
+		 * Find annotations that are <em>present</em> on the element, i.e. declared
+		 * locally or {@linkplain java.lang.annotation.Inherited inherited}, with
+		 * locally declared annotations favored over inherited annotations.
+		 * This corresponds to the <em>get semantics</em> of {@link AnnotatedElementUtils}.
+		 */
+		INHERITED_ANNOTATIONS,
+
+		/**
+		 * Perform a full search of the type hierarchy: superclasses and
+		 * interfaces for a class, bridged methods as well as overridden
+		 * methods in superclasses and interfaces for a method.
+		 * This corresponds to the <em>find semantics</em> of {@link AnnotatedElementUtils}.
+		 */
+		TYPE_HIERARCHY
+	}
+
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.annotation;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.util.NoSuchElementException;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * A {@link MergedAnnotation} representing an annotation that is not present.
+ *
+ * @author agent (agent@local)
+ * @since 5.1.1
+ * @see MergedAnnotation#missing()
+ */
+final class MissingMergedAnnotation implements MergedAnnotation<Annotation> {
+
+	static final MissingMergedAnnotation INSTANCE = new MissingMergedAnnotation();
+
+
+	private MissingMergedAnnotation() {
+	}
+
+
+	@Override
+	public Class<Annotation> getType() {
+		throw new NoSuchElementException("Unable to get type for missing annotation");
+	}
+
+	@Override
+	public boolean isPresent() {
+		return false;
+	}
+
+	@Override
+	public int getDistance() {
+		return -1;
+	}
+
+	@Override
+	@Nullable
+	public AnnotatedElement getSource() {
+		return null;
+	}
+
+	@Override
+	public AnnotationAttributes asAnnotationAttributes(boolean classValuesAsString, boolean nestedAnnotationsAsMap) {
+		throw new NoSuchElementException("Unable to get attributes for missing annotation");
+	}
+
+	@Override
+	public Annotation synthesize() {
+		throw new NoSuchElementException("Unable to synthesize missing annotation");
+	}
+
+	@Override
+	public String toString() {
+		return "(missing)";
+	}
+
+}
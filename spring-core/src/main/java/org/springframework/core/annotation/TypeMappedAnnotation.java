@@ -0,0 +1,128 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.annotation;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Method;
+import java.util.List;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * {@link MergedAnnotation} backed by an {@link AnnotationTypeMapping} and the
+ * root annotation that it has been reached from on a specific element.
+ *
+ * @author agent (agent@local)
+ * @since 5.1.1
+ * @param <A> the annotation type
+ */
+final class TypeMappedAnnotation<A extends Annotation> implements MergedAnnotation<A> {
+
+	private final AnnotationTypeMapping mapping;
+
+	private final Annotation rootAnnotation;
+
+	private final AnnotatedElement source;
+
+	@Nullable
+	private volatile A synthesizedAnnotation;
+
+
+	TypeMappedAnnotation(AnnotationTypeMapping mapping, Annotation rootAnnotation, AnnotatedElement source) {
+		this.mapping = mapping;
+		this.rootAnnotation = rootAnnotation;
+		this.source = source;
+	}
+
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public Class<A> getType() {
+		return (Class<A>) this.mapping.getAnnotationType();
+	}
+
+	@Override
+	public boolean isPresent() {
+		return true;
+	}
+
+	@Override
+	public int getDistance() {
+		return this.mapping.getDistance();
+	}
+
+	@Override
+	public AnnotatedElement getSource() {
+		return this.source;
+	}
+
+	@Override
+	public AnnotationAttributes asAnnotationAttributes(boolean classValuesAsString, boolean nestedAnnotationsAsMap) {
+		AnnotationAttributes attributes;
+		if (this.mapping.getDistance() == 0) {
+			attributes = AnnotationUtils.retrieveAnnotationAttributes(
+					this.source, this.rootAnnotation, classValuesAsString, nestedAnnotationsAsMap);
+		}
+		else {
+			Object[] values = this.mapping.getMergedValues().clone();
+			AnnotationTypeMapping.AttributeOverride[] overrides = this.mapping.getRootOverrides();
+			if (overrides.length > 0) {
+				AnnotationTypeMapping.applyOverrides(overrides,
+						AnnotationUtils.synthesizeAnnotation(this.rootAnnotation, this.source), values);
+			}
+			Class<? extends Annotation> annotationType = this.mapping.getAnnotationType();
+			List<Method> attributeMethods = AnnotationUtils.getAttributeMethods(annotationType);
+			attributes = new AnnotationAttributes(annotationType);
+			for (int i = 0; i < values.length; i++) {
+				attributes.put(attributeMethods.get(i).getName(), AnnotationUtils.adaptValue(
+						this.source, values[i], classValuesAsString, nestedAnnotationsAsMap));
+			}
+		}
+		AnnotationUtils.postProcessAnnotationAttributes(
+				this.source, attributes, classValuesAsString, nestedAnnotationsAsMap);
+		return attributes;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public A synthesize() {
+		A synthesized = this.synthesizedAnnotation;
+		if (synthesized == null) {
+			if (this.mapping.getDistance() == 0) {
+				synthesized = AnnotationUtils.synthesizeAnnotation((A) this.rootAnnotation, this.source);
+			}
+			else if (!this.mapping.isOverridden() &&
+					!AnnotationUtils.isSynthesizable(this.mapping.getAnnotationType())) {
+				// Plain meta-annotation as declared: no need for a Map-based proxy
+				synthesized = (A) this.mapping.getAnnotation();
+			}
+			else {
+				synthesized = AnnotationUtils.synthesizeAnnotation(
+						asAnnotationAttributes(false, false), getType(), this.source);
+			}
+			this.synthesizedAnnotation = synthesized;
+		}
+		return synthesized;
+	}
+
+	@Override
+	public String toString() {
+		return "@" + getType().getName() + " (distance " + getDistance() + ") on " + this.source;
+	}
+
+}
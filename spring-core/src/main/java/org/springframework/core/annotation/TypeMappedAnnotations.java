@@ -0,0 +1,296 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.annotation;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.core.BridgeMethodResolver;
+import org.springframework.util.ConcurrentReferenceHashMap;
+
+/**
+ * {@link MergedAnnotations} implementation that searches the annotations
+ * declared on an element (and, depending on the search strategy, on its
+ * type or method hierarchy) against precomputed {@link AnnotationTypeMappings}.
+ *
+ * <p>The annotated elements to search are collected once per instance, and
+ * the search result for each requested annotation type is cached. Instances
+ * for classes and class members are cached themselves.
+ *
+ * @author agent (agent@local)
+ * @since 5.1.1
+ */
+final class TypeMappedAnnotations implements MergedAnnotations {
+
+	private static final Map<AnnotatedElement, TypeMappedAnnotations> inheritedAnnotationsCache =
+			new ConcurrentReferenceHashMap<>(256);
+
+	private static final Map<AnnotatedElement, TypeMappedAnnotations> typeHierarchyCache =
+			new ConcurrentReferenceHashMap<>(256);
+
+
+	private final AnnotatedElement element;
+
+	private final List<DeclaredAnnotations> declaredAnnotations = new ArrayList<>();
+
+	private final Map<Object, MergedAnnotation<?>> mergedAnnotationCache = new ConcurrentHashMap<>(4);
+
+
+	private TypeMappedAnnotations(AnnotatedElement element, SearchStrategy searchStrategy) {
+		this.element = element;
+		try {
+			if (searchStrategy == SearchStrategy.TYPE_HIERARCHY) {
+				collectTypeHierarchy(element, new HashSet<>());
+			}
+			else {
+				collectInheritedAnnotations(element);
+			}
+		}
+		catch (Throwable ex) {
+			AnnotationUtils.rethrowAnnotationConfigurationException(ex);
+			throw new IllegalStateException("Failed to introspect annotations on " + element, ex);
+		}
+	}
+
+	private void collectInheritedAnnotations(AnnotatedElement element) {
+		try {
+			// Locally declared annotations first, then inherited annotations
+			Annotation[] declared = AnnotationUtils.getDeclaredAnnotations(element);
+			addDeclaredAnnotations(element, declared);
+			if (element instanceof Class) {  // otherwise getAnnotations doesn't return anything new
+				Class<?> superclass = ((Class<?>) element).getSuperclass();
+				if (superclass != null && superclass != Object.class) {
+					List<Annotation> declaredList = Arrays.asList(declared);
+					List<Annotation> inherited = new ArrayList<>();
+					for (Annotation annotation : element.getAnnotations()) {
+						if (!declaredList.contains(annotation)) {
+							inherited.add(annotation);
+						}
+					}
+					addDeclaredAnnotations(element, inherited.toArray(new Annotation[0]));
+				}
+			}
+		}
+		catch (Throwable ex) {
+			AnnotationUtils.handleIntrospectionFailure(element, ex);
+		}
+	}
+
+	private void collectTypeHierarchy(AnnotatedElement element, Set<AnnotatedElement> visited) {
+		if (!visited.add(element)) {
+			return;
+		}
+		try {
+			// Locally declared annotations (ignoring @Inherited)
+			addDeclaredAnnotations(element, AnnotationUtils.getDeclaredAnnotations(element));
+
+			if (element instanceof Method) {
+				Method method = (Method) element;
+
+				// Possibly bridged method
+				Method resolvedMethod = BridgeMethodResolver.findBridgedMethod(method);
+				if (resolvedMethod != method) {
+					collectTypeHierarchy(resolvedMethod, visited);
+				}
+
+				// Methods in interfaces declared locally
+				collectInterfaceMethods(method, method.getDeclaringClass().getInterfaces(), visited);
+
+				// Methods in class hierarchy and interface hierarchy
+				Class<?> clazz = method.getDeclaringClass();
+				while (true) {
+					clazz = clazz.getSuperclass();
+					if (clazz == null || clazz == Object.class) {
+						break;
+					}
+					for (Method annotatedMethod : AnnotationUtils.getAnnotatedMethodsInBaseType(clazz)) {
+						if (AnnotationUtils.isOverride(method, annotatedMethod)) {
+							collectTypeHierarchy(BridgeMethodResolver.findBridgedMethod(annotatedMethod), visited);
+						}
+					}
+					collectInterfaceMethods(method, clazz.getInterfaces(), visited);
+				}
+			}
+			else if (element instanceof Class) {
+				Class<?> clazz = (Class<?>) element;
+				if (!Annotation.class.isAssignableFrom(clazz)) {
+					for (Class<?> ifc : clazz.getInterfaces()) {
+						collectTypeHierarchy(ifc, visited);
+					}
+					Class<?> superclass = clazz.getSuperclass();
+					if (superclass != null && superclass != Object.class) {
+						collectTypeHierarchy(superclass, visited);
+					}
+				}
+			}
+		}
+		catch (Throwable ex) {
+			AnnotationUtils.handleIntrospectionFailure(element, ex);
+		}
+	}
+
+	private void collectInterfaceMethods(Method method, Class<?>[] ifcs, Set<AnnotatedElement> visited) {
+		for (Class<?> ifc : ifcs) {
+			for (Method annotatedMethod : AnnotationUtils.getAnnotatedMethodsInBaseType(ifc)) {
+				if (AnnotationUtils.isOverride(method, annotatedMethod)) {
+					collectTypeHierarchy(annotatedMethod, visited);
+				}
+			}
+		}
+	}
+
+	private void addDeclaredAnnotations(AnnotatedElement source, Annotation[] annotations) {
+		List<Annotation> searchable = new ArrayList<>(annotations.length);
+		for (Annotation annotation : annotations) {
+			if (!AnnotationUtils.isInJavaLangAnnotationPackage(annotation.annotationType())) {
+				searchable.add(annotation);
+			}
+		}
+		if (!searchable.isEmpty()) {
+			this.declaredAnnotations.add(new DeclaredAnnotations(source, searchable.toArray(new Annotation[0])));
+		}
+	}
+
+
+	@Override
+	public <A extends Annotation> boolean isPresent(Class<A> annotationType) {
+		return getMergedAnnotation(annotationType).isPresent();
+	}
+
+	@Override
+	public boolean isPresent(String annotationType) {
+		return getMergedAnnotation(annotationType).isPresent();
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <A extends Annotation> MergedAnnotation<A> get(Class<A> annotationType) {
+		return (MergedAnnotation<A>) getMergedAnnotation(annotationType);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <A extends Annotation> MergedAnnotation<A> get(String annotationType) {
+		return (MergedAnnotation<A>) getMergedAnnotation(annotationType);
+	}
+
+	/**
+	 * Obtain the cached search result for the given annotation type.
+	 * @param annotationType the annotation type as a {@code Class} or as a
+	 * fully qualified class name
+	 */
+	private MergedAnnotation<?> getMergedAnnotation(Object annotationType) {
+		MergedAnnotation<?> mergedAnnotation = this.mergedAnnotationCache.get(annotationType);
+		if (mergedAnnotation == null) {
+			try {
+				mergedAnnotation = search(annotationType);
+			}
+			catch (Throwable ex) {
+				AnnotationUtils.rethrowAnnotationConfigurationException(ex);
+				throw new IllegalStateException("Failed to introspect annotations on " + this.element, ex);
+			}
+			this.mergedAnnotationCache.put(annotationType, mergedAnnotation);
+		}
+		return mergedAnnotation;
+	}
+
+	private MergedAnnotation<?> search(Object annotationType) {
+		Class<?> excludedType = (this.element instanceof Class &&
+				Annotation.class.isAssignableFrom((Class<?>) this.element) ? (Class<?>) this.element : null);
+
+		for (DeclaredAnnotations candidate : this.declaredAnnotations) {
+			// Search in declared annotations
+			for (Annotation annotation : candidate.annotations) {
+				if (matches(annotation.annotationType(), annotationType)) {
+					AnnotationTypeMappings mappings =
+							AnnotationTypeMappings.forAnnotationType(annotation.annotationType(), excludedType);
+					return new TypeMappedAnnotation<>(mappings.get(0), annotation, candidate.source);
+				}
+			}
+			// Search in meta-annotations, one root annotation after the other
+			for (Annotation annotation : candidate.annotations) {
+				AnnotationTypeMappings mappings =
+						AnnotationTypeMappings.forAnnotationType(annotation.annotationType(), excludedType);
+				for (int i = 1; i < mappings.size(); i++) {
+					AnnotationTypeMapping mapping = mappings.get(i);
+					if (matches(mapping.getAnnotationType(), annotationType)) {
+						return new TypeMappedAnnotation<>(mapping, annotation, candidate.source);
+					}
+				}
+			}
+		}
+		return MergedAnnotation.missing();
+	}
+
+	private static boolean matches(Class<? extends Annotation> candidateType, Object annotationType) {
+		return (annotationType instanceof Class ? candidateType == annotationType :
+				candidateType.getName().equals(annotationType));
+	}
+
+
+	/**
+	 * Return the {@link TypeMappedAnnotations} for the given element,
+	 * cached for classes and class members.
+	 */
+	static TypeMappedAnnotations from(AnnotatedElement element, SearchStrategy searchStrategy) {
+		if (!(element instanceof Class || element instanceof Member)) {
+			return new TypeMappedAnnotations(element, searchStrategy);
+		}
+		Map<AnnotatedElement, TypeMappedAnnotations> cache =
+				(searchStrategy == SearchStrategy.TYPE_HIERARCHY ? typeHierarchyCache : inheritedAnnotationsCache);
+		TypeMappedAnnotations annotations = cache.get(element);
+		if (annotations == null) {
+			annotations = new TypeMappedAnnotations(element, searchStrategy);
+			cache.put(element, annotations);
+		}
+		return annotations;
+	}
+
+	/**
+	 * Clear the internal cache of element annotations.
+	 */
+	static void clearCache() {
+		inheritedAnnotationsCache.clear();
+		typeHierarchyCache.clear();
+	}
+
+
+	/**
+	 * The searchable annotations declared on a specific element.
+	 */
+	private static final class DeclaredAnnotations {
+
+		final AnnotatedElement source;
+
+		final Annotation[] annotations;
+
+		DeclaredAnnotations(AnnotatedElement source, Annotation[] annotations) {
+			this.source = source;
+			this.annotations = annotations;
+		}
+	}
+
+}
@@ -21,6 +21,7 @@ import java.util.Map;
 import reactor.core.publisher.Flux;
 
 import org.springframework.core.ResolvableType;
+import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.core.io.buffer.DataBufferFactory;
@@ -73,6 +74,10 @@ public class ResourceEncoder extends AbstractSingleValueEncoder<Resource> {
 			logger.debug(logPrefix + "Writing [" + resource + "]");
 		}
 
+		if (resource instanceof ByteArrayResource) {
+			// Content already in memory: no need to copy it in chunks
+			return Flux.just(dataBufferFactory.wrap(((ByteArrayResource) resource).getByteArray()));
+		}
 		return DataBufferUtils.read(resource, dataBufferFactory, this.bufferSize);
 	}
 
@@ -23,7 +23,6 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 import org.reactivestreams.Publisher;
 import reactor.core.publisher.Flux;
@@ -31,8 +30,8 @@ import reactor.core.publisher.Mono;
 
 import org.springframework.core.ResolvableType;
 import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
 import org.springframework.core.io.buffer.DataBufferUtils;
-import org.springframework.core.io.buffer.DefaultDataBufferFactory;
 import org.springframework.core.log.LogFormatUtils;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
@@ -56,8 +55,6 @@ import org.springframework.util.MimeTypeUtils;
  */
 public final class StringDecoder extends AbstractDataBufferDecoder<String> {
 
-	private static final DataBuffer END_FRAME = new DefaultDataBufferFactory().wrap(new byte[0]);
-
 	/**
 	 * The default charset to use, i.e. "UTF-8".
 	 */
@@ -91,112 +88,27 @@ public final class StringDecoder extends AbstractDataBufferDecoder<String> {
 	public Flux<String> decode(Publisher<DataBuffer> inputStream, ResolvableType elementType,
 			@Nullable MimeType mimeType, @Nullable Map<String, Object> hints) {
 
-		List<byte[]> delimiterBytes = getDelimiterBytes(mimeType);
+		byte[][] delimiterBytes = getDelimiterBytes(mimeType);
 
-		Flux<DataBuffer> inputFlux = Flux.from(inputStream)
-				.flatMap(dataBuffer -> splitOnDelimiter(dataBuffer, delimiterBytes))
-				.bufferUntil(StringDecoder::isEndFrame)
-				.flatMap(StringDecoder::joinUntilEndFrame);
+		Flux<DataBuffer> inputFlux = Flux.defer(() -> {
+			LineSplitter splitter = new LineSplitter(
+					DataBufferUtils.matcher(delimiterBytes), this.stripDelimiter, getMaxInMemorySize());
+			return Flux.from(inputStream)
+					.concatMapIterable(splitter::split)
+					.concatWith(Mono.fromSupplier(splitter::remainder))
+					.doOnTerminate(splitter::releasePending)
+					.doOnCancel(splitter::releasePending);
+		});
 		return super.decode(inputFlux, elementType, mimeType, hints);
 	}
 
-	private List<byte[]> getDelimiterBytes(@Nullable MimeType mimeType) {
+	private byte[][] getDelimiterBytes(@Nullable MimeType mimeType) {
 		Charset charset = getCharset(mimeType);
-		return this.delimiters.stream()
-				.map(s -> s.getBytes(charset))
-				.collect(Collectors.toList());
-	}
-
-	/**
-	 * Splits the given data buffer on delimiter boundaries. The returned Flux contains a
-	 * {@link #END_FRAME} buffer after each delimiter.
-	 */
-	private Flux<DataBuffer> splitOnDelimiter(DataBuffer dataBuffer, List<byte[]> delimiterBytes) {
-		List<DataBuffer> frames = new ArrayList<>();
-		do {
-			int length = Integer.MAX_VALUE;
-			byte[] matchingDelimiter = null;
-			for (byte[] delimiter : delimiterBytes) {
-				int idx = indexOf(dataBuffer, delimiter);
-				if (idx >= 0 && idx < length) {
-					length = idx;
-					matchingDelimiter = delimiter;
-				}
-			}
-			DataBuffer frame;
-			int readPosition = dataBuffer.readPosition();
-			if (matchingDelimiter != null) {
-				if (this.stripDelimiter) {
-					frame = dataBuffer.slice(readPosition, length);
-				}
-				else {
-					frame = dataBuffer.slice(readPosition, length + matchingDelimiter.length);
-				}
-				dataBuffer.readPosition(readPosition + length + matchingDelimiter.length);
-
-				frames.add(DataBufferUtils.retain(frame));
-				frames.add(END_FRAME);
-			}
-			else {
-				frame = dataBuffer.slice(readPosition, dataBuffer.readableByteCount());
-				dataBuffer.readPosition(readPosition + dataBuffer.readableByteCount());
-				frames.add(DataBufferUtils.retain(frame));
-			}
+		byte[][] result = new byte[this.delimiters.size()][];
+		for (int i = 0; i < result.length; i++) {
+			result[i] = this.delimiters.get(i).getBytes(charset);
 		}
-		while (dataBuffer.readableByteCount() > 0);
-
-		DataBufferUtils.release(dataBuffer);
-		return Flux.fromIterable(frames);
-	}
-
-	/**
-	 * Finds the given delimiter in the given data buffer. Return the index of the delimiter, or
-	 * -1 if not found.
-	 */
-	private static int indexOf(DataBuffer dataBuffer, byte[] delimiter) {
-		for (int i = dataBuffer.readPosition(); i < dataBuffer.writePosition(); i++) {
-			int dataBufferPos = i;
-			int delimiterPos = 0;
-			while (delimiterPos < delimiter.length) {
-				if (dataBuffer.getByte(dataBufferPos) != delimiter[delimiterPos]) {
-					break;
-				}
-				else {
-					dataBufferPos++;
-					if (dataBufferPos == dataBuffer.writePosition() &&
-							delimiterPos != delimiter.length - 1) {
-						return -1;
-					}
-				}
-				delimiterPos++;
-			}
-
-			if (delimiterPos == delimiter.length) {
-				return i - dataBuffer.readPosition();
-			}
-		}
-		return -1;
-	}
-
-	/**
-	 * Checks whether the given buffer is {@link #END_FRAME}.
-	 */
-	private static boolean isEndFrame(DataBuffer dataBuffer) {
-		return dataBuffer == END_FRAME;
-	}
-
-	/**
-	 * Joins the given list of buffers into a single buffer.
-	 */
-	private static Mono<DataBuffer> joinUntilEndFrame(List<DataBuffer> dataBuffers) {
-		if (!dataBuffers.isEmpty()) {
-			int lastIdx = dataBuffers.size() - 1;
-			if (isEndFrame(dataBuffers.get(lastIdx))) {
-				dataBuffers.remove(lastIdx);
-			}
-		}
-		Flux<DataBuffer> flux = Flux.fromIterable(dataBuffers);
-		return DataBufferUtils.join(flux);
+		return result;
 	}
 
 	@Override
@@ -277,4 +189,147 @@ public final class StringDecoder extends AbstractDataBufferDecoder<String> {
 	}
 
 
+
+	/**
+	 * Splits a stream of data buffers into frames that end with a delimiter,
+	 * scanning every byte only once. Frames within a single data buffer are
+	 * exposed as slices of that buffer; only frames that span several data
+	 * buffers are joined.
+	 */
+	private static class LineSplitter {
+
+		private final DataBufferUtils.Matcher matcher;
+
+		private final boolean stripDelimiter;
+
+		private final int maxInMemorySize;
+
+		private final List<DataBuffer> pending = new ArrayList<>();
+
+		private int pendingByteCount;
+
+		LineSplitter(DataBufferUtils.Matcher matcher, boolean stripDelimiter, int maxInMemorySize) {
+			this.matcher = matcher;
+			this.stripDelimiter = stripDelimiter;
+			this.maxInMemorySize = maxInMemorySize;
+		}
+
+		/**
+		 * Return the frames completed by the given data buffer, keeping any
+		 * trailing bytes for the next invocation.
+		 */
+		public List<DataBuffer> split(DataBuffer dataBuffer) {
+			List<DataBuffer> frames = new ArrayList<>();
+			try {
+				do {
+					int readPosition = dataBuffer.readPosition();
+					int endIndex = this.matcher.match(dataBuffer);
+					if (endIndex != -1) {
+						int length = endIndex + 1 - readPosition;
+						int delimiterLength = this.matcher.delimiter().length;
+						DataBuffer frame;
+						if (!this.stripDelimiter) {
+							frame = DataBufferUtils.retain(dataBuffer.slice(readPosition, length));
+						}
+						else if (length >= delimiterLength) {
+							frame = DataBufferUtils.retain(dataBuffer.slice(readPosition, length - delimiterLength));
+						}
+						else {
+							// Delimiter started in a previous buffer
+							trimPending(delimiterLength - length);
+							frame = null;
+						}
+						dataBuffer.readPosition(endIndex + 1);
+						frames.add(joinPending(frame));
+					}
+					else {
+						int length = dataBuffer.readableByteCount();
+						this.pending.add(DataBufferUtils.retain(dataBuffer.slice(readPosition, length)));
+						this.pendingByteCount += length;
+						dataBuffer.readPosition(dataBuffer.writePosition());
+						checkLimit(0);
+					}
+				}
+				while (dataBuffer.readableByteCount() > 0);
+			}
+			catch (Throwable ex) {
+				frames.forEach(DataBufferUtils::release);
+				throw ex;
+			}
+			finally {
+				DataBufferUtils.release(dataBuffer);
+			}
+			return frames;
+		}
+
+		/**
+		 * Return the trailing frame without delimiter, if any.
+		 */
+		@Nullable
+		public DataBuffer remainder() {
+			return (!this.pending.isEmpty() ? joinPending(null) : null);
+		}
+
+		public void releasePending() {
+			this.pending.forEach(DataBufferUtils::release);
+			this.pending.clear();
+			this.pendingByteCount = 0;
+		}
+
+		/**
+		 * Check the bytes buffered for the current frame, including the given
+		 * number of additional bytes, against the maximum in-memory size.
+		 */
+		private void checkLimit(int additionalByteCount) {
+			if (this.maxInMemorySize >= 0 && this.pendingByteCount + additionalByteCount > this.maxInMemorySize) {
+				throw new DataBufferLimitException(
+						"Exceeded limit on max bytes per line: " + this.maxInMemorySize);
+			}
+		}
+
+		private DataBuffer joinPending(@Nullable DataBuffer frame) {
+			if (this.pending.isEmpty()) {
+				Assert.state(frame != null, "No frame");
+				return frame;
+			}
+			if (frame != null) {
+				try {
+					checkLimit(frame.readableByteCount());
+				}
+				catch (DataBufferLimitException ex) {
+					DataBufferUtils.release(frame);
+					throw ex;
+				}
+				this.pending.add(frame);
+			}
+			DataBuffer result = (this.pending.size() == 1 ? this.pending.get(0) :
+					this.pending.get(0).factory().join(new ArrayList<>(this.pending)));
+			this.pending.clear();
+			this.pendingByteCount = 0;
+			return result;
+		}
+
+		/**
+		 * Remove the given number of trailing bytes from the pending buffers,
+		 * for a delimiter that spans data buffers.
+		 */
+		private void trimPending(int count) {
+			while (count > 0 && !this.pending.isEmpty()) {
+				int lastIndex = this.pending.size() - 1;
+				DataBuffer last = this.pending.get(lastIndex);
+				int readable = last.readableByteCount();
+				if (readable > count || lastIndex == 0) {
+					int trimmed = Math.min(count, readable);
+					last.writePosition(last.writePosition() - trimmed);
+					this.pendingByteCount -= trimmed;
+					return;
+				}
+				this.pending.remove(lastIndex);
+				DataBufferUtils.release(last);
+				this.pendingByteCount -= readable;
+				count -= readable;
+			}
+		}
+	}
+
 }
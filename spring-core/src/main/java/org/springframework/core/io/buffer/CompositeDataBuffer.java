@@ -0,0 +1,560 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.io.buffer;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntPredicate;
+
+import org.springframework.util.Assert;
+import org.springframework.util.ObjectUtils;
+
+/**
+ * {@link DataBuffer} implementation that presents a number of component
+ * buffers as a single buffer, without copying their content.
+ *
+ * <p>A composite buffer takes ownership of its components: they are
+ * {@linkplain DataBufferUtils#release(DataBuffer) released} once the
+ * composite buffer itself has been released as often as it has been retained.
+ * Slices share the memory as well as the reference count of their composite.
+ *
+ * <p>{@link #asByteBuffers()} exposes the readable bytes of each component
+ * for gathering writes, whereas {@link #asByteBuffer()} has to copy the
+ * content into a single byte buffer if it spans several components.
+ * Writing beyond the capacity of a composite buffer appends a new component
+ * from its {@link #factory() factory}.
+ *
+ * @author agent (agent@local)
+ * @since 5.1.1
+ * @see DefaultDataBufferFactory#compose(List)
+ */
+public class CompositeDataBuffer implements PooledDataBuffer {
+
+	private static final int CAPACITY_THRESHOLD = 1024 * 1024 * 4;
+
+
+	private final DataBufferFactory dataBufferFactory;
+
+	/** The composite that holds the components and the reference count. */
+	private final CompositeDataBuffer root;
+
+	private final List<DataBuffer> components;
+
+	private final AtomicInteger refCount;
+
+	/** Views on the memory of the components, each with position 0. */
+	private ByteBuffer[] views;
+
+	/** The start index of each view within this buffer. */
+	private int[] offsets;
+
+	private int viewCount;
+
+	private int capacity;
+
+	private int readPosition;
+
+	private int writePosition;
+
+
+	/**
+	 * Create a new {@code CompositeDataBuffer} for the readable bytes of the
+	 * given buffers, taking ownership of them.
+	 * @param dataBufferFactory the factory to allocate further components with
+	 * @param dataBuffers the component buffers
+	 */
+	public CompositeDataBuffer(DataBufferFactory dataBufferFactory, List<? extends DataBuffer> dataBuffers) {
+		Assert.notNull(dataBufferFactory, "DataBufferFactory must not be null");
+		Assert.notNull(dataBuffers, "DataBuffers must not be null");
+		this.dataBufferFactory = dataBufferFactory;
+		this.root = this;
+		this.components = new ArrayList<>(dataBuffers);
+		this.refCount = new AtomicInteger(1);
+		this.views = new ByteBuffer[Math.max(dataBuffers.size(), 4)];
+		this.offsets = new int[this.views.length];
+		for (DataBuffer dataBuffer : dataBuffers) {
+			addView(dataBuffer.asByteBuffer());
+		}
+		this.writePosition = this.capacity;
+	}
+
+	private CompositeDataBuffer(CompositeDataBuffer root, ByteBuffer[] views) {
+		this.dataBufferFactory = root.dataBufferFactory;
+		this.root = root;
+		this.components = root.components;
+		this.refCount = root.refCount;
+		this.views = new ByteBuffer[Math.max(views.length, 1)];
+		this.offsets = new int[this.views.length];
+		for (ByteBuffer view : views) {
+			addView(view);
+		}
+		this.writePosition = this.capacity;
+	}
+
+	private void addView(ByteBuffer byteBuffer) {
+		int length = byteBuffer.remaining();
+		if (length == 0) {
+			return;
+		}
+		if (this.viewCount == this.views.length) {
+			this.views = Arrays.copyOf(this.views, this.viewCount * 2);
+			this.offsets = Arrays.copyOf(this.offsets, this.viewCount * 2);
+		}
+		this.views[this.viewCount] = byteBuffer.slice();
+		this.offsets[this.viewCount] = this.capacity;
+		this.viewCount++;
+		this.capacity += length;
+	}
+
+
+	/**
+	 * Return the number of components that hold the content of this buffer.
+	 */
+	public int getComponentCount() {
+		return this.viewCount;
+	}
+
+	@Override
+	public DataBufferFactory factory() {
+		return this.dataBufferFactory;
+	}
+
+	@Override
+	public boolean isAllocated() {
+		return (this.refCount.get() > 0);
+	}
+
+	@Override
+	public PooledDataBuffer retain() {
+		while (true) {
+			int count = this.refCount.get();
+			if (count <= 0) {
+				throw new IllegalStateException("DataBuffer has been released already");
+			}
+			if (this.refCount.compareAndSet(count, count + 1)) {
+				return this;
+			}
+		}
+	}
+
+	@Override
+	public boolean release() {
+		int count = this.refCount.decrementAndGet();
+		if (count > 0) {
+			return false;
+		}
+		if (count < 0) {
+			this.refCount.incrementAndGet();
+			throw new IllegalStateException("DataBuffer has been released already");
+		}
+		this.components.forEach(DataBufferUtils::release);
+		return true;
+	}
+
+	@Override
+	public int indexOf(IntPredicate predicate, int fromIndex) {
+		Assert.notNull(predicate, "'predicate' must not be null");
+		if (fromIndex < 0) {
+			fromIndex = 0;
+		}
+		else if (fromIndex >= this.writePosition) {
+			return -1;
+		}
+		int viewIndex = viewIndex(fromIndex);
+		int i = fromIndex;
+		while (i < this.writePosition) {
+			ByteBuffer view = this.views[viewIndex];
+			int offset = this.offsets[viewIndex];
+			int end = Math.min(offset + view.capacity(), this.writePosition);
+			for (; i < end; i++) {
+				if (predicate.test(view.get(i - offset))) {
+					return i;
+				}
+			}
+			viewIndex++;
+		}
+		return -1;
+	}
+
+	@Override
+	public int lastIndexOf(IntPredicate predicate, int fromIndex) {
+		Assert.notNull(predicate, "'predicate' must not be null");
+		for (int i = Math.min(fromIndex, this.writePosition - 1); i >= 0; i--) {
+			if (predicate.test(getByte(i))) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	@Override
+	public int readableByteCount() {
+		return this.writePosition - this.readPosition;
+	}
+
+	@Override
+	public int writableByteCount() {
+		return this.capacity - this.writePosition;
+	}
+
+	@Override
+	public int capacity() {
+		return this.capacity;
+	}
+
+	@Override
+	public CompositeDataBuffer capacity(int newCapacity) {
+		Assert.isTrue(newCapacity > 0,
+				String.format("'newCapacity' %d must be higher than 0", newCapacity));
+		if (newCapacity > this.capacity) {
+			Assert.state(this.root == this, "Changing the capacity of a sliced buffer is not supported");
+			DataBuffer component = this.dataBufferFactory.allocateBuffer(newCapacity - this.capacity);
+			this.components.add(component);
+			addView(component.asByteBuffer(0, newCapacity - this.capacity));
+		}
+		else if (newCapacity < this.capacity) {
+			if (this.writePosition > newCapacity) {
+				this.writePosition = newCapacity;
+			}
+			if (this.readPosition > newCapacity) {
+				this.readPosition = newCapacity;
+			}
+			int viewIndex = viewIndex(newCapacity - 1);
+			ByteBuffer view = this.views[viewIndex].duplicate();
+			view.limit(newCapacity - this.offsets[viewIndex]);
+			this.views[viewIndex] = view.slice();
+			for (int i = viewIndex + 1; i < this.viewCount; i++) {
+				this.views[i] = null;
+			}
+			this.viewCount = viewIndex + 1;
+			this.capacity = newCapacity;
+		}
+		return this;
+	}
+
+	@Override
+	public int readPosition() {
+		return this.readPosition;
+	}
+
+	@Override
+	public CompositeDataBuffer readPosition(int readPosition) {
+		assertIndex(readPosition >= 0, "'readPosition' %d must be >= 0", readPosition);
+		assertIndex(readPosition <= this.writePosition, "'readPosition' %d must be <= %d",
+				readPosition, this.writePosition);
+		this.readPosition = readPosition;
+		return this;
+	}
+
+	@Override
+	public int writePosition() {
+		return this.writePosition;
+	}
+
+	@Override
+	public CompositeDataBuffer writePosition(int writePosition) {
+		assertIndex(writePosition >= this.readPosition, "'writePosition' %d must be >= %d",
+				writePosition, this.readPosition);
+		assertIndex(writePosition <= this.capacity, "'writePosition' %d must be <= %d",
+				writePosition, this.capacity);
+		this.writePosition = writePosition;
+		return this;
+	}
+
+	@Override
+	public byte getByte(int index) {
+		assertIndex(index >= 0, "index %d must be >= 0", index);
+		assertIndex(index <= this.writePosition - 1, "index %d must be <= %d",
+				index, this.writePosition - 1);
+		int viewIndex = viewIndex(index);
+		return this.views[viewIndex].get(index - this.offsets[viewIndex]);
+	}
+
+	@Override
+	public byte read() {
+		assertIndex(this.readPosition <= this.writePosition - 1, "readPosition %d must be <= %d",
+				this.readPosition, this.writePosition - 1);
+		byte b = getByte(this.readPosition);
+		this.readPosition++;
+		return b;
+	}
+
+	@Override
+	public CompositeDataBuffer read(byte[] destination) {
+		Assert.notNull(destination, "'destination' must not be null");
+		return read(destination, 0, destination.length);
+	}
+
+	@Override
+	public CompositeDataBuffer read(byte[] destination, int offset, int length) {
+		Assert.notNull(destination, "'destination' must not be null");
+		assertIndex(this.readPosition <= this.writePosition - length,
+				"readPosition %d and length %d should be smaller than writePosition %d",
+				this.readPosition, length, this.writePosition);
+		int index = this.readPosition;
+		int end = index + length;
+		while (index < end) {
+			ByteBuffer view = region(index, end);
+			int count = view.remaining();
+			view.get(destination, offset, count);
+			offset += count;
+			index += count;
+		}
+		this.readPosition = end;
+		return this;
+	}
+
+	@Override
+	public CompositeDataBuffer write(byte b) {
+		ensureCapacity(1);
+		int viewIndex = viewIndex(this.writePosition);
+		this.views[viewIndex].put(this.writePosition - this.offsets[viewIndex], b);
+		this.writePosition++;
+		return this;
+	}
+
+	@Override
+	public CompositeDataBuffer write(byte[] source) {
+		Assert.notNull(source, "'source' must not be null");
+		return write(source, 0, source.length);
+	}
+
+	@Override
+	public CompositeDataBuffer write(byte[] source, int offset, int length) {
+		Assert.notNull(source, "'source' must not be null");
+		return write(ByteBuffer.wrap(source, offset, length));
+	}
+
+	@Override
+	public CompositeDataBuffer write(DataBuffer... buffers) {
+		if (!ObjectUtils.isEmpty(buffers)) {
+			for (DataBuffer buffer : buffers) {
+				write(buffer.asByteBuffers());
+			}
+		}
+		return this;
+	}
+
+	@Override
+	public CompositeDataBuffer write(ByteBuffer... byteBuffers) {
+		Assert.notEmpty(byteBuffers, "'byteBuffers' must not be empty");
+		ensureCapacity(Arrays.stream(byteBuffers).mapToInt(ByteBuffer::remaining).sum());
+		for (ByteBuffer source : byteBuffers) {
+			int end = this.writePosition + source.remaining();
+			while (this.writePosition < end) {
+				ByteBuffer view = region(this.writePosition, end);
+				int count = view.remaining();
+				ByteBuffer part = source.duplicate();
+				part.limit(part.position() + count);
+				view.put(part);
+				source.position(source.position() + count);
+				this.writePosition += count;
+			}
+		}
+		return this;
+	}
+
+	@Override
+	public CompositeDataBuffer slice(int index, int length) {
+		checkIndex(index, length);
+		List<ByteBuffer> views = new ArrayList<>();
+		int end = index + length;
+		while (index < end) {
+			ByteBuffer view = region(index, end);
+			views.add(view);
+			index += view.remaining();
+		}
+		return new CompositeDataBuffer(this.root, views.toArray(new ByteBuffer[0]));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>Note that the readable bytes are copied into a new byte buffer if
+	 * they span several components.
+	 * @see #asByteBuffers()
+	 */
+	@Override
+	public ByteBuffer asByteBuffer() {
+		return asByteBuffer(this.readPosition, readableByteCount());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>Note that the requested bytes are copied into a new byte buffer if
+	 * they span several components.
+	 */
+	@Override
+	public ByteBuffer asByteBuffer(int index, int length) {
+		checkIndex(index, length);
+		if (length == 0) {
+			// There may be no component at all, e.g. for empty buffers
+			return ByteBuffer.allocate(0);
+		}
+		int end = index + length;
+		ByteBuffer view = region(index, end);
+		if (view.remaining() == length) {
+			return view.slice();
+		}
+		ByteBuffer result = (view.isDirect() ? ByteBuffer.allocateDirect(length) : ByteBuffer.allocate(length));
+		while (index < end) {
+			view = region(index, end);
+			index += view.remaining();
+			result.put(view);
+		}
+		result.flip();
+		return result;
+	}
+
+	@Override
+	public ByteBuffer[] asByteBuffers() {
+		List<ByteBuffer> result = new ArrayList<>(this.viewCount);
+		int index = this.readPosition;
+		while (index < this.writePosition) {
+			ByteBuffer view = region(index, this.writePosition);
+			result.add(view.slice());
+			index += view.remaining();
+		}
+		return result.toArray(new ByteBuffer[0]);
+	}
+
+	@Override
+	public InputStream asInputStream() {
+		return new CompositeDataBufferInputStream(false);
+	}
+
+	@Override
+	public InputStream asInputStream(boolean releaseOnClose) {
+		return new CompositeDataBufferInputStream(releaseOnClose);
+	}
+
+	@Override
+	public OutputStream asOutputStream() {
+		return new CompositeDataBufferOutputStream();
+	}
+
+
+	/**
+	 * Return a duplicate of the view that contains the given index, positioned
+	 * at that index and limited to the given end index (or the end of the view).
+	 * <p>To be called for an index within the capacity only, i.e. with at least
+	 * one view present.
+	 */
+	private ByteBuffer region(int index, int end) {
+		int viewIndex = viewIndex(index);
+		int offset = this.offsets[viewIndex];
+		ByteBuffer view = this.views[viewIndex].duplicate();
+		view.position(index - offset);
+		view.limit(Math.min(end - offset, view.capacity()));
+		return view;
+	}
+
+	private int viewIndex(int index) {
+		Assert.state(this.viewCount > 0, "No components");
+		int result = Arrays.binarySearch(this.offsets, 0, this.viewCount, index);
+		return (result >= 0 ? result : -result - 2);
+	}
+
+	private void ensureCapacity(int length) {
+		int writable = writableByteCount();
+		if (length > writable) {
+			int growth = Math.max(length - writable,
+					Math.max(DefaultDataBufferFactory.DEFAULT_INITIAL_CAPACITY, Math.min(this.capacity, CAPACITY_THRESHOLD)));
+			capacity(this.capacity + growth);
+		}
+	}
+
+	private void checkIndex(int index, int length) {
+		assertIndex(index >= 0, "index %d must be >= 0", index);
+		assertIndex(length >= 0, "length %d must be >= 0", length);
+		assertIndex(index + length <= this.capacity, "index %d and length %d must be <= %d",
+				index, length, this.capacity);
+	}
+
+	private static void assertIndex(boolean expression, String format, Object... args) {
+		if (!expression) {
+			String message = String.format(format, args);
+			throw new IndexOutOfBoundsException(message);
+		}
+	}
+
+
+	@Override
+	public String toString() {
+		return String.format("CompositeDataBuffer (r: %d, w: %d, c: %d, components: %d)",
+				this.readPosition, this.writePosition, this.capacity, this.viewCount);
+	}
+
+
+	private class CompositeDataBufferInputStream extends InputStream {
+
+		private final boolean releaseOnClose;
+
+		CompositeDataBufferInputStream(boolean releaseOnClose) {
+			this.releaseOnClose = releaseOnClose;
+		}
+
+		@Override
+		public int available() {
+			return readableByteCount();
+		}
+
+		@Override
+		public int read() {
+			return (available() > 0 ? CompositeDataBuffer.this.read() & 0xFF : -1);
+		}
+
+		@Override
+		public int read(byte[] bytes, int off, int len) {
+			int available = available();
+			if (available > 0) {
+				len = Math.min(len, available);
+				CompositeDataBuffer.this.read(bytes, off, len);
+				return len;
+			}
+			else {
+				return -1;
+			}
+		}
+
+		@Override
+		public void close() {
+			if (this.releaseOnClose && isAllocated()) {
+				release();
+			}
+		}
+	}
+
+
+	private class CompositeDataBufferOutputStream extends OutputStream {
+
+		@Override
+		public void write(int b) {
+			CompositeDataBuffer.this.write((byte) b);
+		}
+
+		@Override
+		public void write(byte[] bytes, int off, int len) {
+			CompositeDataBuffer.this.write(bytes, off, len);
+		}
+	}
+
+}
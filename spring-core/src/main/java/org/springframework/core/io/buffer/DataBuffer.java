@@ -247,6 +247,21 @@ public interface DataBuffer {
 	 */
 	ByteBuffer asByteBuffer(int index, int length);
 
+	/**
+	 * Expose this buffer's readable bytes as one or more {@link ByteBuffer ByteBuffers},
+	 * e.g. for a gathering write to a {@link java.nio.channels.GatheringByteChannel}.
+	 * Data between this {@code DataBuffer} and the returned {@code ByteBuffers} is shared,
+	 * analogous to {@link #asByteBuffer()}.
+	 * <p>The default implementation returns the result of {@link #asByteBuffer()}.
+	 * Composite buffers return a byte buffer per component, avoiding a copy.
+	 * @return this data buffer as an array of byte buffers
+	 * @since 5.1.1
+	 * @see CompositeDataBuffer
+	 */
+	default ByteBuffer[] asByteBuffers() {
+		return new ByteBuffer[] {asByteBuffer()};
+	}
+
 	/**
 	 * Expose this buffer's data as an {@link InputStream}. Both data and read position are
 	 * shared between the returned stream and this data buffer. The underlying buffer will
@@ -28,12 +28,12 @@ import java.nio.channels.CompletionHandler;
 import java.nio.channels.ReadableByteChannel;
 import java.nio.channels.WritableByteChannel;
 import java.nio.file.StandardOpenOption;
+import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
-import java.util.function.IntPredicate;
 
 import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscription;
@@ -423,33 +423,117 @@ public abstract class DataBufferUtils {
 	 * contains references to the buffers.
 	 * <p>If {@code dataBuffers} contains an error signal, then all buffers that preceded the error
 	 * will be {@linkplain #release(DataBuffer) released}, and the error is stored in the
-	 * returned {@code Mono}.
+	 * returned {@code Mono}. The same buffers are released if the returned {@code Mono} is
+	 * cancelled before it produces the joined buffer.
 	 * @param dataBuffers the data buffers that are to be composed
 	 * @return a buffer that is composed from the {@code dataBuffers} argument
 	 * @since 5.0.3
 	 */
 	public static Mono<DataBuffer> join(Publisher<DataBuffer> dataBuffers) {
+		return join(dataBuffers, -1);
+	}
+
+	/**
+	 * Variant of {@link #join(Publisher)} that behaves the same way up until
+	 * the specified max number of bytes to buffer. Once the limit is exceeded,
+	 * the buffers collected so far are released and the returned {@code Mono}
+	 * fails with a {@link DataBufferLimitException}.
+	 * @param dataBuffers the data buffers that are to be composed
+	 * @param maxByteCount the max number of bytes to buffer, or -1 for unlimited
+	 * @return a buffer with the aggregated content, possibly an empty Mono if
+	 * the max number of bytes to buffer is exceeded.
+	 * @since 5.1.1
+	 */
+	public static Mono<DataBuffer> join(Publisher<DataBuffer> dataBuffers, int maxByteCount) {
 		Assert.notNull(dataBuffers, "'dataBuffers' must not be null");
 
-		return Flux.from(dataBuffers)
-				.onErrorResume(DataBufferUtils::exceptionDataBuffer)
-				.collectList()
-				.filter(list -> !list.isEmpty())
-				.flatMap(list -> {
-					for (int i = 0; i < list.size(); i++) {
-						DataBuffer dataBuffer = list.get(i);
-						if (dataBuffer instanceof ExceptionDataBuffer) {
-							list.subList(0, i).forEach(DataBufferUtils::release);
-							return Mono.error(((ExceptionDataBuffer) dataBuffer).throwable());
+		return Mono.defer(() -> {
+			LimitedDataBufferList list = new LimitedDataBufferList(maxByteCount);
+			return Flux.from(dataBuffers)
+					.collect(() -> list, (buffers, buffer) -> {
+						try {
+							buffers.add(buffer);
 						}
-					}
-					DataBufferFactory bufferFactory = list.get(0).factory();
-					return Mono.just(bufferFactory.join(list));
-				});
+						catch (DataBufferLimitException ex) {
+							release(buffer);
+							throw ex;
+						}
+					})
+					.doOnCancel(list::releaseAndClear)
+					.doOnError(ex -> list.releaseAndClear())
+					.filter(buffers -> !buffers.isEmpty())
+					.map(buffers -> {
+						DataBuffer result = compose(buffers);
+						// Owned by the result from now on
+						buffers.clear();
+						return result;
+					});
+		});
+	}
+
+	/**
+	 * Compose the given buffers, which are owned by the caller, without copying
+	 * if supported by their factory.
+	 */
+	private static DataBuffer compose(List<DataBuffer> dataBuffers) {
+		DataBufferFactory factory = dataBuffers.get(0).factory();
+		if (factory instanceof DefaultDataBufferFactory) {
+			return ((DefaultDataBufferFactory) factory).compose(dataBuffers);
+		}
+		return factory.join(dataBuffers);
+	}
+
+	/**
+	 * Return a {@link Matcher} for the given delimiters. The matcher keeps its
+	 * state across invocations, so that a delimiter may span the boundaries
+	 * of subsequently matched data buffers.
+	 * <p>If several delimiters overlap, the one that starts first is considered
+	 * a match, or the one given first if they start at the same position.
+	 * A delimiter that started earlier but is not complete by the end of
+	 * the buffer in which another delimiter has been found does not take
+	 * precedence over the latter.
+	 * @param delimiters the delimiters to search for
+	 * @return the matcher
+	 * @since 5.1.1
+	 */
+	public static Matcher matcher(byte[]... delimiters) {
+		Assert.notEmpty(delimiters, "'delimiters' must not be empty");
+		if (delimiters.length == 1) {
+			return new KnuthMorrisPrattMatcher(delimiters[0]);
+		}
+		KnuthMorrisPrattMatcher[] matchers = new KnuthMorrisPrattMatcher[delimiters.length];
+		for (int i = 0; i < delimiters.length; i++) {
+			matchers[i] = new KnuthMorrisPrattMatcher(delimiters[i]);
+		}
+		return new CompositeMatcher(matchers);
 	}
 
-	private static Mono<DataBuffer> exceptionDataBuffer(Throwable throwable) {
-		return Mono.just(new ExceptionDataBuffer(throwable));
+
+	/**
+	 * Stateful matcher that finds delimiters in a stream of data buffers.
+	 * @since 5.1.1
+	 * @see #matcher(byte[]...)
+	 */
+	public interface Matcher {
+
+		/**
+		 * Find the first matching delimiter in the readable bytes of the given
+		 * data buffer, taking bytes from previously matched buffers into account.
+		 * @param dataBuffer the data buffer to search
+		 * @return the index of the last byte of the matching delimiter,
+		 * or {@code -1} if no delimiter ends in the given buffer
+		 */
+		int match(DataBuffer dataBuffer);
+
+		/**
+		 * Return the delimiter matched by the most recent {@link #match} call.
+		 */
+		byte[] delimiter();
+
+		/**
+		 * Reset the state of this matcher.
+		 */
+		void reset();
 	}
 
 
@@ -639,151 +723,162 @@ public abstract class DataBufferUtils {
 	}
 
 	/**
-	 * DataBuffer implementation that holds a {@link Throwable}, used in {@link #join(Publisher)}.
+	 * {@link Matcher} for a single delimiter, based on the Knuth-Morris-Pratt
+	 * algorithm: every byte is inspected only once, with the state of a partial
+	 * match carried over to the next buffer.
 	 */
-	private static final class ExceptionDataBuffer implements DataBuffer {
+	private static class KnuthMorrisPrattMatcher implements Matcher {
 
-		private final Throwable throwable;
+		private final byte[] delimiter;
 
+		private final int[] table;
 
-		public ExceptionDataBuffer(Throwable throwable) {
-			this.throwable = throwable;
-		}
+		private int matches = 0;
 
-		public Throwable throwable() {
-			return this.throwable;
+		KnuthMorrisPrattMatcher(byte[] delimiter) {
+			Assert.isTrue(delimiter.length > 0, "Delimiter must not be empty");
+			this.delimiter = delimiter;
+			this.table = longestSuffixPrefixTable(delimiter);
 		}
 
-		// Unsupported
-
-		@Override
-		public DataBufferFactory factory() {
-			throw new UnsupportedOperationException();
-		}
-
-		@Override
-		public int indexOf(IntPredicate predicate, int fromIndex) {
-			throw new UnsupportedOperationException();
-		}
-
-		@Override
-		public int lastIndexOf(IntPredicate predicate, int fromIndex) {
-			throw new UnsupportedOperationException();
-		}
-
-		@Override
-		public int readableByteCount() {
-			throw new UnsupportedOperationException();
-		}
-
-		@Override
-		public int writableByteCount() {
-			throw new UnsupportedOperationException();
-		}
-
-		@Override
-		public int capacity() {
-			throw new UnsupportedOperationException();
-		}
-
-		@Override
-		public DataBuffer capacity(int capacity) {
-			throw new UnsupportedOperationException();
-		}
-
-		@Override
-		public int readPosition() {
-			throw new UnsupportedOperationException();
-		}
-
-		@Override
-		public DataBuffer readPosition(int readPosition) {
-			throw new UnsupportedOperationException();
-		}
-
-		@Override
-		public int writePosition() {
-			throw new UnsupportedOperationException();
-		}
-
-		@Override
-		public DataBuffer writePosition(int writePosition) {
-			throw new UnsupportedOperationException();
-		}
-
-		@Override
-		public byte getByte(int index) {
-			throw new UnsupportedOperationException();
-		}
-
-		@Override
-		public byte read() {
-			throw new UnsupportedOperationException();
+		private static int[] longestSuffixPrefixTable(byte[] delimiter) {
+			int[] result = new int[delimiter.length];
+			result[0] = 0;
+			for (int i = 1; i < delimiter.length; i++) {
+				int j = result[i - 1];
+				while (j > 0 && delimiter[i] != delimiter[j]) {
+					j = result[j - 1];
+				}
+				if (delimiter[i] == delimiter[j]) {
+					j++;
+				}
+				result[i] = j;
+			}
+			return result;
 		}
 
 		@Override
-		public DataBuffer read(byte[] destination) {
-			throw new UnsupportedOperationException();
+		public int match(DataBuffer dataBuffer) {
+			for (int i = dataBuffer.readPosition(); i < dataBuffer.writePosition(); i++) {
+				if (match(dataBuffer.getByte(i))) {
+					reset();
+					return i;
+				}
+			}
+			return -1;
 		}
 
-		@Override
-		public DataBuffer read(byte[] destination, int offset, int length) {
-			throw new UnsupportedOperationException();
+		/**
+		 * Advance the state of this matcher by the given byte.
+		 * @return {@code true} if the delimiter is complete; {@code false} otherwise
+		 */
+		boolean match(byte b) {
+			if (this.matches == this.delimiter.length) {
+				// Continue after a complete match, e.g. while other matchers decide
+				this.matches = this.table[this.matches - 1];
+			}
+			while (this.matches > 0 && b != this.delimiter[this.matches]) {
+				this.matches = this.table[this.matches - 1];
+			}
+			if (b == this.delimiter[this.matches]) {
+				this.matches++;
+				return (this.matches == this.delimiter.length);
+			}
+			return false;
 		}
 
-		@Override
-		public DataBuffer write(byte b) {
-			throw new UnsupportedOperationException();
+		/**
+		 * Return the number of bytes of the current partial match.
+		 */
+		int partialMatchLength() {
+			return (this.matches < this.delimiter.length ? this.matches : 0);
 		}
 
 		@Override
-		public DataBuffer write(byte[] source) {
-			throw new UnsupportedOperationException();
+		public byte[] delimiter() {
+			return this.delimiter;
 		}
 
 		@Override
-		public DataBuffer write(byte[] source, int offset, int length) {
-			throw new UnsupportedOperationException();
+		public void reset() {
+			this.matches = 0;
 		}
+	}
 
-		@Override
-		public DataBuffer write(DataBuffer... buffers) {
-			throw new UnsupportedOperationException();
-		}
 
-		@Override
-		public DataBuffer write(ByteBuffer... buffers) {
-			throw new UnsupportedOperationException();
-		}
+	/**
+	 * {@link Matcher} for several delimiters, advancing the state of a
+	 * {@link KnuthMorrisPrattMatcher} per delimiter in a single pass.
+	 * Once a delimiter is complete, matching continues as long as another
+	 * delimiter that started before it may still complete.
+	 */
+	private static class CompositeMatcher implements Matcher {
 
-		@Override
-		public DataBuffer slice(int index, int length) {
-			throw new UnsupportedOperationException();
-		}
+		private final KnuthMorrisPrattMatcher[] matchers;
 
-		@Override
-		public ByteBuffer asByteBuffer() {
-			throw new UnsupportedOperationException();
-		}
+		private byte[] delimiter;
 
-		@Override
-		public ByteBuffer asByteBuffer(int index, int length) {
-			throw new UnsupportedOperationException();
+		CompositeMatcher(KnuthMorrisPrattMatcher[] matchers) {
+			this.matchers = matchers;
+			this.delimiter = matchers[0].delimiter();
 		}
 
 		@Override
-		public InputStream asInputStream() {
-			throw new UnsupportedOperationException();
+		public int match(DataBuffer dataBuffer) {
+			int matchedIndex = -1;
+			int matchedEnd = -1;
+			int matchedStart = 0;
+			for (int i = dataBuffer.readPosition(); i < dataBuffer.writePosition(); i++) {
+				byte b = dataBuffer.getByte(i);
+				for (int j = 0; j < this.matchers.length; j++) {
+					if (this.matchers[j].match(b)) {
+						int start = i + 1 - this.matchers[j].delimiter().length;
+						if (matchedIndex == -1 || start < matchedStart || (start == matchedStart && j < matchedIndex)) {
+							matchedIndex = j;
+							matchedEnd = i;
+							matchedStart = start;
+						}
+					}
+				}
+				if (matchedIndex != -1 && !isPrecededByPartialMatch(i, matchedStart, matchedIndex)) {
+					break;
+				}
+			}
+			if (matchedIndex == -1) {
+				return -1;
+			}
+			reset();
+			this.delimiter = this.matchers[matchedIndex].delimiter();
+			return matchedEnd;
+		}
+
+		/**
+		 * Whether a delimiter that may still complete started before the matched
+		 * one, or at the same position while being given before it.
+		 */
+		private boolean isPrecededByPartialMatch(int index, int matchedStart, int matchedIndex) {
+			for (int j = 0; j < this.matchers.length; j++) {
+				int length = this.matchers[j].partialMatchLength();
+				if (length > 0) {
+					int start = index + 1 - length;
+					if (start < matchedStart || (start == matchedStart && j < matchedIndex)) {
+						return true;
+					}
+				}
+			}
+			return false;
 		}
 
 		@Override
-		public InputStream asInputStream(boolean releaseOnClose) {
-			throw new UnsupportedOperationException();
+		public byte[] delimiter() {
+			return this.delimiter;
 		}
 
 		@Override
-		public OutputStream asOutputStream() {
-			throw new UnsupportedOperationException();
+		public void reset() {
+			for (KnuthMorrisPrattMatcher matcher : this.matchers) {
+				matcher.reset();
+			}
 		}
 	}
 
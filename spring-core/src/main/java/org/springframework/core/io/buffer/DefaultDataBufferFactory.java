@@ -107,6 +107,7 @@ public class DefaultDataBufferFactory implements DataBufferFactory {
 	 * {@inheritDoc}
 	 * <p>This implementation creates a single {@link DefaultDataBuffer} to contain the data
 	 * in {@code dataBuffers}.
+	 * @see #compose(List)
 	 */
 	@Override
 	public DataBuffer join(List<? extends DataBuffer> dataBuffers) {
@@ -123,6 +124,26 @@ public class DefaultDataBufferFactory implements DataBufferFactory {
 		return result;
 	}
 
+	/**
+	 * Return a buffer composed of the given buffers without copying their content:
+	 * a single given buffer as-is, and a {@link CompositeDataBuffer} referring to
+	 * the given buffers otherwise.
+	 * <p>In contrast to {@link #join(List)}, the returned buffer shares the memory
+	 * of the given buffers and takes ownership of them: they must neither be
+	 * released nor modified by the caller, as they are released along with the
+	 * returned buffer.
+	 * @param dataBuffers the data buffers to compose
+	 * @return a buffer that refers to the given buffers
+	 * @since 5.1.1
+	 */
+	public DataBuffer compose(List<? extends DataBuffer> dataBuffers) {
+		Assert.notEmpty(dataBuffers, "'dataBuffers' must not be empty");
+		if (dataBuffers.size() == 1) {
+			return dataBuffers.get(0);
+		}
+		return new CompositeDataBuffer(this, dataBuffers);
+	}
+
 	@Override
 	public String toString() {
 		return "DefaultDataBufferFactory (preferDirect=" + this.preferDirect + ")";
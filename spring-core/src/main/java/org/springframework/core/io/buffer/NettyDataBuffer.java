@@ -244,6 +244,11 @@ public class NettyDataBuffer implements PooledDataBuffer {
 		return this.byteBuf.nioBuffer(index, length);
 	}
 
+	@Override
+	public ByteBuffer[] asByteBuffers() {
+		return this.byteBuf.nioBuffers();
+	}
+
 	@Override
 	public InputStream asInputStream() {
 		return new ByteBufInputStream(this.byteBuf);
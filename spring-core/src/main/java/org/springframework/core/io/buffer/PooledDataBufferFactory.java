@@ -0,0 +1,280 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.io.buffer;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link DefaultDataBufferFactory} variant that recycles the memory of the
+ * buffers it allocates, for runtimes that do not come with a buffer pool of
+ * their own (i.e. Servlet containers and Undertow, as opposed to Netty).
+ *
+ * <p>Buffers returned from {@link #allocateBuffer(int)} implement
+ * {@link PooledDataBuffer}: their memory is returned to the pool once they have
+ * been {@linkplain PooledDataBuffer#release() released} as often as they have
+ * been retained, including any slices taken from them. Memory is organized in
+ * power-of-two size classes up to a {@linkplain #DEFAULT_MAX_POOLED_CAPACITY
+ * maximum pooled capacity}, with a number of arenas to reduce contention
+ * between threads; larger buffers are allocated on demand and left to the
+ * garbage collector. Buffers created through {@code wrap} are never pooled.
+ *
+ * <p><b>Note:</b> Accessing a buffer after its final release may expose data
+ * that belongs to another buffer by then. {@linkplain #setLeakDetection
+ * Leak detection} helps with tracking down buffers that are never released.
+ *
+ * @author agent (agent@local)
+ * @since 5.1.1
+ * @see PooledDataBuffer
+ * @see DataBufferUtils#release(DataBuffer)
+ */
+public class PooledDataBufferFactory extends DefaultDataBufferFactory {
+
+	/**
+	 * The default capacity of the largest buffers to be pooled: 64 KB.
+	 */
+	public static final int DEFAULT_MAX_POOLED_CAPACITY = 64 * 1024;
+
+	/**
+	 * The default number of buffers to be kept per size class and arena: 16.
+	 */
+	public static final int DEFAULT_MAX_CACHED_BUFFERS = 16;
+
+	/** The capacity of the smallest size class. */
+	private static final int MIN_POOLED_CAPACITY = 256;
+
+	private static final Log logger = LogFactory.getLog(PooledDataBufferFactory.class);
+
+
+	private final boolean preferDirect;
+
+	private final int maxPooledCapacity;
+
+	private final Arena[] arenas;
+
+	private volatile boolean leakDetection;
+
+	private final ReferenceQueue<PooledDefaultDataBuffer> leakQueue = new ReferenceQueue<>();
+
+	private final Set<LeakTracker> leakTrackers = ConcurrentHashMap.newKeySet();
+
+
+	/**
+	 * Create a new {@code PooledDataBufferFactory} for heap buffers,
+	 * with default settings.
+	 */
+	public PooledDataBufferFactory() {
+		this(false);
+	}
+
+	/**
+	 * Create a new {@code PooledDataBufferFactory} with default settings.
+	 * @param preferDirect {@code true} if direct buffers are to be preferred;
+	 * {@code false} otherwise
+	 */
+	public PooledDataBufferFactory(boolean preferDirect) {
+		this(preferDirect, DEFAULT_MAX_POOLED_CAPACITY, Runtime.getRuntime().availableProcessors(),
+				DEFAULT_MAX_CACHED_BUFFERS);
+	}
+
+	/**
+	 * Create a new {@code PooledDataBufferFactory}.
+	 * @param preferDirect {@code true} if direct buffers are to be preferred;
+	 * {@code false} otherwise
+	 * @param maxPooledCapacity the capacity of the largest buffers to be pooled
+	 * (rounded up to the next power of two)
+	 * @param arenaCount the number of arenas to distribute threads across
+	 * @param maxCachedBuffers the maximum number of buffers to be kept per size
+	 * class and arena
+	 */
+	public PooledDataBufferFactory(boolean preferDirect, int maxPooledCapacity, int arenaCount, int maxCachedBuffers) {
+		super(preferDirect);
+		Assert.isTrue(maxPooledCapacity > 0, "'maxPooledCapacity' must be larger than 0");
+		Assert.isTrue(arenaCount > 0, "'arenaCount' must be larger than 0");
+		Assert.isTrue(maxCachedBuffers > 0, "'maxCachedBuffers' must be larger than 0");
+		this.preferDirect = preferDirect;
+		this.maxPooledCapacity = sizeClassCapacity(sizeClass(maxPooledCapacity));
+		int sizeClasses = sizeClass(this.maxPooledCapacity) + 1;
+		this.arenas = new Arena[arenaCount];
+		for (int i = 0; i < arenaCount; i++) {
+			this.arenas[i] = new Arena(sizeClasses, maxCachedBuffers);
+		}
+	}
+
+
+	/**
+	 * Specify whether to track allocated buffers, logging a warning with the
+	 * allocation stack trace for every buffer that gets garbage-collected
+	 * without having been released.
+	 * <p>Default is "false". This is expensive and therefore recommended
+	 * for testing and troubleshooting only.
+	 */
+	public void setLeakDetection(boolean leakDetection) {
+		this.leakDetection = leakDetection;
+	}
+
+	/**
+	 * Return whether allocated buffers are tracked for leaks.
+	 */
+	public boolean isLeakDetection() {
+		return this.leakDetection;
+	}
+
+	/**
+	 * Return the capacity of the largest buffers to be pooled.
+	 */
+	public int getMaxPooledCapacity() {
+		return this.maxPooledCapacity;
+	}
+
+
+	@Override
+	public DefaultDataBuffer allocateBuffer(int initialCapacity) {
+		Assert.isTrue(initialCapacity >= 0, "'initialCapacity' must not be negative");
+		detectLeaks();
+		ByteBuffer chunk = acquire(initialCapacity, this.preferDirect);
+		ByteBuffer byteBuffer = (chunk != null ? view(chunk, initialCapacity) :
+				(this.preferDirect ? ByteBuffer.allocateDirect(initialCapacity) : ByteBuffer.allocate(initialCapacity)));
+		PooledDefaultDataBuffer dataBuffer = new PooledDefaultDataBuffer(this, byteBuffer, chunk);
+		if (this.leakDetection) {
+			LeakTracker tracker = new LeakTracker(dataBuffer, this.leakQueue);
+			this.leakTrackers.add(tracker);
+			dataBuffer.setLeakTracker(tracker);
+		}
+		return dataBuffer;
+	}
+
+
+	/**
+	 * Obtain pooled memory for a buffer of the given capacity.
+	 * @return the pooled chunk, or {@code null} if the capacity is not pooled
+	 */
+	@Nullable
+	ByteBuffer acquire(int capacity, boolean direct) {
+		if (capacity > this.maxPooledCapacity || direct != this.preferDirect) {
+			return null;
+		}
+		int sizeClass = sizeClass(capacity);
+		ByteBuffer chunk = currentArena().chunks[sizeClass].poll();
+		if (chunk == null) {
+			int chunkCapacity = sizeClassCapacity(sizeClass);
+			chunk = (direct ? ByteBuffer.allocateDirect(chunkCapacity) : ByteBuffer.allocate(chunkCapacity));
+		}
+		return chunk;
+	}
+
+	/**
+	 * Return the given chunk of pooled memory to the pool.
+	 */
+	void release(ByteBuffer chunk) {
+		currentArena().chunks[sizeClass(chunk.capacity())].offer(chunk);
+	}
+
+	/**
+	 * Return a view of the given chunk limited to the given capacity.
+	 */
+	static ByteBuffer view(ByteBuffer chunk, int capacity) {
+		ByteBuffer view = chunk.duplicate();
+		view.clear();
+		view.limit(capacity);
+		return view.slice();
+	}
+
+	/**
+	 * Stop tracking the given buffer for leaks, since it has been released.
+	 */
+	void untrack(LeakTracker tracker) {
+		this.leakTrackers.remove(tracker);
+		tracker.clear();
+	}
+
+	private void detectLeaks() {
+		Reference<? extends PooledDefaultDataBuffer> ref;
+		while ((ref = this.leakQueue.poll()) != null) {
+			LeakTracker tracker = (LeakTracker) ref;
+			if (this.leakTrackers.remove(tracker) && logger.isWarnEnabled()) {
+				logger.warn("DataBuffer was garbage-collected without having been released: " +
+						"check for missing DataBufferUtils.release calls", tracker.allocationSite);
+			}
+		}
+	}
+
+	private Arena currentArena() {
+		return this.arenas[(int) (Thread.currentThread().getId() % this.arenas.length)];
+	}
+
+	private static int sizeClass(int capacity) {
+		if (capacity <= MIN_POOLED_CAPACITY) {
+			return 0;
+		}
+		return (32 - Integer.numberOfLeadingZeros(capacity - 1)) -
+				(32 - Integer.numberOfLeadingZeros(MIN_POOLED_CAPACITY - 1));
+	}
+
+	private static int sizeClassCapacity(int sizeClass) {
+		return MIN_POOLED_CAPACITY << sizeClass;
+	}
+
+
+	@Override
+	public String toString() {
+		return "PooledDataBufferFactory (preferDirect=" + this.preferDirect +
+				", maxPooledCapacity=" + this.maxPooledCapacity + ", arenas=" + this.arenas.length + ")";
+	}
+
+
+	/**
+	 * A set of bounded free lists, one per size class.
+	 */
+	private static final class Arena {
+
+		final ArrayBlockingQueue<ByteBuffer>[] chunks;
+
+		@SuppressWarnings("unchecked")
+		Arena(int sizeClasses, int maxCachedBuffers) {
+			this.chunks = new ArrayBlockingQueue[sizeClasses];
+			for (int i = 0; i < sizeClasses; i++) {
+				this.chunks[i] = new ArrayBlockingQueue<>(maxCachedBuffers);
+			}
+		}
+	}
+
+
+	/**
+	 * Weak reference to an allocated buffer, holding on to its allocation site.
+	 */
+	static final class LeakTracker extends WeakReference<PooledDefaultDataBuffer> {
+
+		final Throwable allocationSite = new Throwable("DataBuffer allocation site");
+
+		LeakTracker(PooledDefaultDataBuffer dataBuffer, ReferenceQueue<PooledDefaultDataBuffer> queue) {
+			super(dataBuffer, queue);
+		}
+	}
+
+}
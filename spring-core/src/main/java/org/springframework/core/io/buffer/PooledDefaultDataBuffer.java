@@ -0,0 +1,170 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.io.buffer;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * {@link DefaultDataBuffer} with reference counting, allocated by a
+ * {@link PooledDataBufferFactory}.
+ *
+ * @author agent (agent@local)
+ * @since 5.1.1
+ */
+final class PooledDefaultDataBuffer extends DefaultDataBuffer implements PooledDataBuffer {
+
+	private final PooledDataBufferFactory dataBufferFactory;
+
+	private final AtomicInteger refCount = new AtomicInteger(1);
+
+	/** The pooled memory backing this buffer, or {@code null} if not pooled. */
+	@Nullable
+	private ByteBuffer chunk;
+
+	/** Whether slices share the memory of the current chunk. */
+	private boolean sliced;
+
+	@Nullable
+	private PooledDataBufferFactory.LeakTracker leakTracker;
+
+
+	PooledDefaultDataBuffer(PooledDataBufferFactory dataBufferFactory, ByteBuffer byteBuffer,
+			@Nullable ByteBuffer chunk) {
+
+		super(dataBufferFactory, byteBuffer);
+		this.dataBufferFactory = dataBufferFactory;
+		this.chunk = chunk;
+	}
+
+
+	void setLeakTracker(PooledDataBufferFactory.LeakTracker leakTracker) {
+		this.leakTracker = leakTracker;
+	}
+
+	@Override
+	public boolean isAllocated() {
+		return (this.refCount.get() > 0);
+	}
+
+	@Override
+	public PooledDataBuffer retain() {
+		while (true) {
+			int count = this.refCount.get();
+			if (count <= 0) {
+				throw new IllegalStateException("DataBuffer has been released already");
+			}
+			if (this.refCount.compareAndSet(count, count + 1)) {
+				return this;
+			}
+		}
+	}
+
+	@Override
+	public boolean release() {
+		int count = this.refCount.decrementAndGet();
+		if (count > 0) {
+			return false;
+		}
+		if (count < 0) {
+			this.refCount.incrementAndGet();
+			throw new IllegalStateException("DataBuffer has been released already");
+		}
+		PooledDataBufferFactory.LeakTracker leakTracker = this.leakTracker;
+		if (leakTracker != null) {
+			this.dataBufferFactory.untrack(leakTracker);
+		}
+		ByteBuffer chunk = this.chunk;
+		if (chunk != null) {
+			this.chunk = null;
+			this.dataBufferFactory.release(chunk);
+		}
+		return true;
+	}
+
+	@Override
+	public DefaultDataBuffer capacity(int newCapacity) {
+		ByteBuffer oldChunk = this.chunk;
+		super.capacity(newCapacity);
+		if (oldChunk != null && oldChunk != this.chunk) {
+			// Slices may still refer to the old memory: only recycle it if there are none
+			if (!this.sliced) {
+				this.dataBufferFactory.release(oldChunk);
+			}
+			this.sliced = false;
+		}
+		return this;
+	}
+
+	@Override
+	ByteBuffer allocateNativeBuffer(int capacity, boolean direct) {
+		ByteBuffer newChunk = this.dataBufferFactory.acquire(capacity, direct);
+		this.chunk = newChunk;
+		return (newChunk != null ? PooledDataBufferFactory.view(newChunk, capacity) :
+				super.allocateNativeBuffer(capacity, direct));
+	}
+
+	@Override
+	public DefaultDataBuffer slice(int index, int length) {
+		this.sliced = true;
+		return new PooledSlicedDataBuffer(this, super.slice(index, length).getNativeBuffer(), length);
+	}
+
+
+	/**
+	 * Slice of a {@link PooledDefaultDataBuffer}, sharing its reference count.
+	 */
+	private static final class PooledSlicedDataBuffer extends DefaultDataBuffer implements PooledDataBuffer {
+
+		private final PooledDefaultDataBuffer parent;
+
+		PooledSlicedDataBuffer(PooledDefaultDataBuffer parent, ByteBuffer byteBuffer, int length) {
+			super(parent.dataBufferFactory, byteBuffer);
+			this.parent = parent;
+			writePosition(length);
+		}
+
+		@Override
+		public boolean isAllocated() {
+			return this.parent.isAllocated();
+		}
+
+		@Override
+		public PooledDataBuffer retain() {
+			this.parent.retain();
+			return this;
+		}
+
+		@Override
+		public boolean release() {
+			return this.parent.release();
+		}
+
+		@Override
+		public DefaultDataBuffer capacity(int newCapacity) {
+			throw new UnsupportedOperationException("Changing the capacity of a sliced buffer is not supported");
+		}
+
+		@Override
+		public DefaultDataBuffer slice(int index, int length) {
+			return new PooledSlicedDataBuffer(this.parent, super.slice(index, length).getNativeBuffer(), length);
+		}
+	}
+
+}
@@ -0,0 +1,280 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.metrics;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import org.springframework.core.NamedThreadLocal;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link ApplicationStartup} implementation that buffers {@link StartupStep steps}
+ * in memory and exposes them as a {@link StartupTimeline} once recorded.
+ *
+ * <p>Steps are recorded when {@link StartupStep#end() ended}, up to the given
+ * capacity; further steps are dropped. A {@link #setFilter filter} can be used
+ * to only record steps of interest, e.g. by name prefix or by duration.
+ *
+ * <p>Parent/child relationships between steps are tracked per thread: the
+ * parent of a new step is the step most recently started (and not yet ended)
+ * on the same thread.
+ *
+ * @author agent (agent@local)
+ * @since 5.1.1
+ * @see #getTimeline()
+ */
+public class BufferingApplicationStartup implements ApplicationStartup {
+
+	private final int capacity;
+
+	private final Instant startTime;
+
+	private final long startNanoTime;
+
+	private final AtomicLong idSequence = new AtomicLong();
+
+	private final AtomicInteger size = new AtomicInteger();
+
+	private final Queue<StartupTimeline.TimelineEvent> events = new ConcurrentLinkedQueue<>();
+
+	private final ThreadLocal<BufferedStartupStep> currentStep = new NamedThreadLocal<>("Current startup step");
+
+	private volatile Predicate<StartupTimeline.TimelineEvent> filter = event -> true;
+
+
+	/**
+	 * Create a new buffered {@code ApplicationStartup} with a limited capacity.
+	 * @param capacity the maximum number of steps to record
+	 */
+	public BufferingApplicationStartup(int capacity) {
+		Assert.isTrue(capacity > 0, "Capacity must be greater than 0");
+		this.capacity = capacity;
+		this.startTime = Instant.now();
+		this.startNanoTime = System.nanoTime();
+	}
+
+
+	/**
+	 * Specify a filter for the steps to record, e.g. {@code event ->
+	 * event.getDuration().toMillis() >= 10} in order to ignore negligible steps.
+	 * <p>Default is to record all steps, up to the capacity of this instance.
+	 */
+	public void setFilter(Predicate<StartupTimeline.TimelineEvent> filter) {
+		Assert.notNull(filter, "Filter must not be null");
+		this.filter = filter;
+	}
+
+	@Override
+	public StartupStep start(String name) {
+		Assert.notNull(name, "Step name must not be null");
+		BufferedStartupStep parent = this.currentStep.get();
+		BufferedStartupStep step = new BufferedStartupStep(
+				this.idSequence.incrementAndGet(), name, parent, System.nanoTime());
+		this.currentStep.set(step);
+		return step;
+	}
+
+	private void record(BufferedStartupStep step, long endNanoTime) {
+		// Pop the step, along with any nested steps that have not been ended (e.g. due to an exception)
+		for (BufferedStartupStep current = this.currentStep.get(); current != null; current = current.parent) {
+			if (current == step) {
+				if (step.parent != null) {
+					this.currentStep.set(step.parent);
+				}
+				else {
+					this.currentStep.remove();
+				}
+				break;
+			}
+		}
+		StartupTimeline.TimelineEvent event = new StartupTimeline.TimelineEvent(
+				step, toInstant(step.startNanoTime), toInstant(endNanoTime));
+		if (this.filter.test(event)) {
+			if (this.size.incrementAndGet() <= this.capacity) {
+				this.events.add(event);
+			}
+			else {
+				this.size.decrementAndGet();
+			}
+		}
+	}
+
+	private Instant toInstant(long nanoTime) {
+		return this.startTime.plusNanos(nanoTime - this.startNanoTime);
+	}
+
+	/**
+	 * Return a snapshot of the currently recorded steps, ordered by start time.
+	 * <p>This does not remove the steps from the buffer: steps ending after
+	 * this call will be part of subsequent snapshots as well.
+	 * @see #drainTimeline()
+	 */
+	public StartupTimeline getTimeline() {
+		return new StartupTimeline(this.startTime, sortByStartTime(new ArrayList<>(this.events)));
+	}
+
+	/**
+	 * Return the currently recorded steps, ordered by start time,
+	 * and remove them from the buffer, freeing capacity for further steps.
+	 */
+	public StartupTimeline drainTimeline() {
+		List<StartupTimeline.TimelineEvent> drained = new ArrayList<>();
+		StartupTimeline.TimelineEvent event;
+		while ((event = this.events.poll()) != null) {
+			drained.add(event);
+			this.size.decrementAndGet();
+		}
+		return new StartupTimeline(this.startTime, sortByStartTime(drained));
+	}
+
+	private static List<StartupTimeline.TimelineEvent> sortByStartTime(List<StartupTimeline.TimelineEvent> events) {
+		events.sort(Comparator.comparing(StartupTimeline.TimelineEvent::getStartTime)
+				.thenComparingLong(event -> event.getStartupStep().getId()));
+		return events;
+	}
+
+
+	/**
+	 * {@link StartupStep} recorded by this {@code ApplicationStartup}.
+	 */
+	private class BufferedStartupStep implements StartupStep {
+
+		private final long id;
+
+		private final String name;
+
+		@Nullable
+		private final BufferedStartupStep parent;
+
+		private final long startNanoTime;
+
+		private final List<Tag> tags = new ArrayList<>();
+
+		private volatile boolean ended;
+
+		BufferedStartupStep(long id, String name, @Nullable BufferedStartupStep parent, long startNanoTime) {
+			this.id = id;
+			this.name = name;
+			this.parent = parent;
+			this.startNanoTime = startNanoTime;
+		}
+
+		@Override
+		public String getName() {
+			return this.name;
+		}
+
+		@Override
+		public long getId() {
+			return this.id;
+		}
+
+		@Override
+		@Nullable
+		public Long getParentId() {
+			return (this.parent != null ? this.parent.id : null);
+		}
+
+		@Override
+		public StartupStep tag(String key, String value) {
+			Assert.state(!this.ended, "StartupStep has already ended");
+			synchronized (this.tags) {
+				this.tags.add(new DefaultTag(key, value));
+			}
+			return this;
+		}
+
+		@Override
+		public StartupStep tag(String key, Supplier<String> value) {
+			return tag(key, value.get());
+		}
+
+		@Override
+		public Tags getTags() {
+			List<Tag> tags;
+			synchronized (this.tags) {
+				tags = Collections.unmodifiableList(new ArrayList<>(this.tags));
+			}
+			return tags::iterator;
+		}
+
+		@Override
+		public void end() {
+			Assert.state(!this.ended, "StartupStep has already ended");
+			this.ended = true;
+			record(this, System.nanoTime());
+		}
+
+		@Override
+		public String toString() {
+			StringBuilder sb = new StringBuilder(this.name);
+			Iterator<Tag> it = getTags().iterator();
+			if (it.hasNext()) {
+				sb.append(" [");
+				while (it.hasNext()) {
+					sb.append(it.next());
+					if (it.hasNext()) {
+						sb.append(", ");
+					}
+				}
+				sb.append("]");
+			}
+			return sb.toString();
+		}
+	}
+
+
+	private static class DefaultTag implements StartupStep.Tag {
+
+		private final String key;
+
+		private final String value;
+
+		DefaultTag(String key, String value) {
+			this.key = key;
+			this.value = value;
+		}
+
+		@Override
+		public String getKey() {
+			return this.key;
+		}
+
+		@Override
+		public String getValue() {
+			return this.value;
+		}
+
+		@Override
+		public String toString() {
+			return this.key + "=" + this.value;
+		}
+	}
+
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.metrics;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Report of the {@link StartupStep steps} recorded by a
+ * {@link BufferingApplicationStartup}, each with its start and end time.
+ *
+ * <p>The events of a timeline are ordered by start time. Since parent steps
+ * enclose their child steps, the duration of a step includes the duration of
+ * its children; see {@link TimelineEvent#getStartupStep()} for the parent id.
+ *
+ * @author agent (agent@local)
+ * @since 5.1.1
+ * @see BufferingApplicationStartup#getTimeline()
+ */
+public class StartupTimeline {
+
+	private final Instant startTime;
+
+	private final List<TimelineEvent> events;
+
+
+	StartupTimeline(Instant startTime, List<TimelineEvent> events) {
+		this.startTime = startTime;
+		this.events = Collections.unmodifiableList(events);
+	}
+
+
+	/**
+	 * Return the start time of this timeline, i.e. the time that the
+	 * {@link BufferingApplicationStartup} was created.
+	 */
+	public Instant getStartTime() {
+		return this.startTime;
+	}
+
+	/**
+	 * Return the recorded events, ordered by start time.
+	 */
+	public List<TimelineEvent> getEvents() {
+		return this.events;
+	}
+
+	/**
+	 * Return the recorded events for steps with the given name,
+	 * e.g. "spring.beans.instantiate", ordered by start time.
+	 */
+	public List<TimelineEvent> getEvents(String stepName) {
+		return this.events.stream()
+				.filter(event -> event.getStartupStep().getName().equals(stepName))
+				.collect(Collectors.toList());
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder("StartupTimeline started at ").append(this.startTime);
+		for (TimelineEvent event : this.events) {
+			sb.append("\n").append(event);
+		}
+		return sb.toString();
+	}
+
+
+	/**
+	 * Event on the timeline: a {@link StartupStep} with its start and end time.
+	 */
+	public static class TimelineEvent {
+
+		private final StartupStep step;
+
+		private final Instant startTime;
+
+		private final Instant endTime;
+
+		private final Duration duration;
+
+		TimelineEvent(StartupStep step, Instant startTime, Instant endTime) {
+			this.step = step;
+			this.startTime = startTime;
+			this.endTime = endTime;
+			this.duration = Duration.between(startTime, endTime);
+		}
+
+		/**
+		 * Return the recorded step, including its name, id, parent id and tags.
+		 */
+		public StartupStep getStartupStep() {
+			return this.step;
+		}
+
+		/**
+		 * Return the start time of this event.
+		 */
+		public Instant getStartTime() {
+			return this.startTime;
+		}
+
+		/**
+		 * Return the end time of this event.
+		 */
+		public Instant getEndTime() {
+			return this.endTime;
+		}
+
+		/**
+		 * Return the duration of this event, i.e. the processing time of the step.
+		 */
+		public Duration getDuration() {
+			return this.duration;
+		}
+
+		@Override
+		public String toString() {
+			return this.step.getId() + (this.step.getParentId() != null ? " (in " + this.step.getParentId() + ")" : "") +
+					": " + this.step + " took " + this.duration.toMillis() + " ms";
+		}
+	}
+
+}
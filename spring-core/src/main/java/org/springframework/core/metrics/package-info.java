@@ -0,0 +1,11 @@
+/**
+ * Support package for recording metrics during application startup:
+ * the ApplicationStartup abstraction with a no-op default implementation
+ * and an in-memory implementation exposing a StartupTimeline.
+ */
+@NonNullApi
+@NonNullFields
+package org.springframework.core.metrics;
+
+import org.springframework.lang.NonNullApi;
+import org.springframework.lang.NonNullFields;
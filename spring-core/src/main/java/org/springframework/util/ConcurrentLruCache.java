@@ -0,0 +1,219 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.util;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Simple bounded cache with an approximated <em>least recently used</em> (LRU)
+ * eviction policy, computing values on demand through a generator function.
+ *
+ * <p>Cache hits do not lock: a cached entry is merely marked as recently used.
+ * On a cache miss, the generated value is stored and, once the size limit is
+ * exceeded, entries are evicted in insertion order, giving each entry that has
+ * been used since it was last examined a second chance (the "CLOCK" algorithm).
+ * As a consequence, a newly stored entry that is not requested again is evicted
+ * before entries that are in repeated use, so a burst of one-off keys does not
+ * flush the cache.
+ *
+ * <p>This is intended as a replacement for a synchronized {@code LinkedHashMap}
+ * with {@code removeEldestEntry} in front of a frequently called parser, e.g.
+ * for SQL statements or mime types. The generator function may be invoked
+ * concurrently for the same key; it is expected to be side-effect free, and
+ * the first value stored for a key wins.
+ *
+ * @author agent (agent@local)
+ * @since 5.1.1
+ * @param <K> the type of the key used for cache retrieval
+ * @param <V> the type of the cached values
+ */
+public class ConcurrentLruCache<K, V> {
+
+	private final int sizeLimit;
+
+	private final Function<K, V> generator;
+
+	private final ConcurrentMap<K, Node<K, V>> cache = new ConcurrentHashMap<>();
+
+	private final Queue<Node<K, V>> evictionQueue = new ConcurrentLinkedQueue<>();
+
+	private final ReentrantLock evictionLock = new ReentrantLock();
+
+
+	/**
+	 * Create a new cache instance with the given limit and generator function.
+	 * @param sizeLimit the maximum number of entries in the cache
+	 * (0 indicates no caching, always generating a new value)
+	 * @param generator a function to generate a new value for a given key
+	 */
+	public ConcurrentLruCache(int sizeLimit, Function<K, V> generator) {
+		Assert.isTrue(sizeLimit >= 0, "Cache size limit must not be negative");
+		Assert.notNull(generator, "Generator function must not be null");
+		this.sizeLimit = sizeLimit;
+		this.generator = generator;
+	}
+
+
+	/**
+	 * Retrieve an entry from the cache, potentially triggering generation
+	 * of the value.
+	 * @param key the key to retrieve the entry for
+	 * @return the cached or newly generated value
+	 */
+	public V get(K key) {
+		if (this.sizeLimit == 0) {
+			return this.generator.apply(key);
+		}
+
+		Node<K, V> node = this.cache.get(key);
+		if (node != null) {
+			node.markUsed();
+			return node.value;
+		}
+
+		V value = this.generator.apply(key);
+		node = new Node<>(key, value);
+		Node<K, V> existing = this.cache.putIfAbsent(key, node);
+		if (existing != null) {
+			existing.markUsed();
+			return existing.value;
+		}
+		this.evictionQueue.add(node);
+		if (this.cache.size() > this.sizeLimit) {
+			evict();
+		}
+		return value;
+	}
+
+	/**
+	 * Determine whether the given key is present in this cache.
+	 * @param key the key to check for
+	 * @return {@code true} if the key is present,
+	 * {@code false} if there was no matching key
+	 */
+	public boolean contains(K key) {
+		return this.cache.containsKey(key);
+	}
+
+	/**
+	 * Immediately remove the given key and any associated value.
+	 * @param key the key to evict the entry for
+	 * @return {@code true} if the key was present before,
+	 * {@code false} if there was no matching key
+	 */
+	public boolean remove(K key) {
+		Node<K, V> node = this.cache.remove(key);
+		if (node == null) {
+			return false;
+		}
+		this.evictionQueue.remove(node);
+		return true;
+	}
+
+	/**
+	 * Immediately remove all entries from this cache.
+	 */
+	public void clear() {
+		this.evictionLock.lock();
+		try {
+			this.cache.clear();
+			this.evictionQueue.clear();
+		}
+		finally {
+			this.evictionLock.unlock();
+		}
+	}
+
+	/**
+	 * Return the current size of the cache.
+	 * @see #sizeLimit()
+	 */
+	public int size() {
+		return this.cache.size();
+	}
+
+	/**
+	 * Return the maximum number of entries in the cache
+	 * (0 indicates no caching, always generating a new value).
+	 * @see #size()
+	 */
+	public int sizeLimit() {
+		return this.sizeLimit;
+	}
+
+
+	private void evict() {
+		this.evictionLock.lock();
+		try {
+			// Every entry gets a second chance within one full pass over the queue,
+			// after which entries are evicted regardless of concurrent use
+			int secondChances = this.sizeLimit;
+			while (this.cache.size() > this.sizeLimit) {
+				Node<K, V> node = this.evictionQueue.poll();
+				if (node == null) {
+					return;
+				}
+				if (this.cache.get(node.key) != node) {
+					// Stale node, already removed or replaced in the meantime
+					continue;
+				}
+				if (node.used && secondChances > 0) {
+					node.used = false;
+					secondChances--;
+					this.evictionQueue.add(node);
+				}
+				else {
+					this.cache.remove(node.key, node);
+				}
+			}
+		}
+		finally {
+			this.evictionLock.unlock();
+		}
+	}
+
+
+	/**
+	 * A cache entry, holding its key for eviction purposes.
+	 */
+	private static final class Node<K, V> {
+
+		final K key;
+
+		final V value;
+
+		volatile boolean used;
+
+		Node(K key, V value) {
+			this.key = key;
+			this.value = value;
+		}
+
+		void markUsed() {
+			// Avoid a volatile write (and cache line invalidation) on every hit
+			if (!this.used) {
+				this.used = true;
+			}
+		}
+	}
+
+}
@@ -102,6 +102,9 @@ public class MimeType implements Comparable<MimeType>, Serializable {
 
 	private final Map<String, String> parameters;
 
+	@Nullable
+	private transient volatile String toStringValue;
+
 
 	/**
 	 * Create a new {@code MimeType} for the given primary type.
@@ -186,6 +189,18 @@ public class MimeType implements Comparable<MimeType>, Serializable {
 		}
 	}
 
+	/**
+	 * Copy-constructor that copies the type, subtype and parameters of the given
+	 * {@code MimeType}, skipping checks performed in other constructors.
+	 * @param other the other MimeType
+	 * @since 5.1.1
+	 */
+	protected MimeType(MimeType other) {
+		this.type = other.type;
+		this.subtype = other.subtype;
+		this.parameters = other.parameters;
+	}
+
 	/**
 	 * Checks the given token string for illegal characters, as defined in RFC 2616,
 	 * section 2.2.
@@ -437,9 +452,14 @@ public class MimeType implements Comparable<MimeType>, Serializable {
 
 	@Override
 	public String toString() {
-		StringBuilder builder = new StringBuilder();
-		appendTo(builder);
-		return builder.toString();
+		String value = this.toStringValue;
+		if (value == null) {
+			StringBuilder builder = new StringBuilder();
+			appendTo(builder);
+			value = builder.toString();
+			this.toStringValue = value;
+		}
+		return value;
 	}
 
 	protected void appendTo(StringBuilder builder) {
@@ -0,0 +1,220 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.annotation;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.reflect.Method;
+
+import org.junit.Test;
+
+import org.springframework.core.annotation.MergedAnnotations.SearchStrategy;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link MergedAnnotations}.
+ *
+ * @since 5.1.1
+ * @see AnnotatedElementUtilsTests
+ */
+public class MergedAnnotationsTests {
+
+	@Test
+	public void getDirectlyPresentAnnotation() {
+		MergedAnnotation<Base> annotation = MergedAnnotations.from(BaseClass.class).get(Base.class);
+		assertTrue(annotation.isPresent());
+		assertEquals(Base.class, annotation.getType());
+		assertEquals(0, annotation.getDistance());
+		assertEquals(BaseClass.class, annotation.getSource());
+		assertEquals("direct", annotation.asAnnotationAttributes(false, false).getString("name"));
+		assertSame(BaseClass.class.getAnnotation(Base.class), annotation.synthesize());
+	}
+
+	@Test
+	public void getMetaAnnotationWithExplicitOverride() {
+		MergedAnnotation<Base> annotation = MergedAnnotations.from(ComposedClass.class).get(Base.class);
+		assertEquals(1, annotation.getDistance());
+		assertEquals(ComposedClass.class, annotation.getSource());
+		AnnotationAttributes attributes = annotation.asAnnotationAttributes(false, false);
+		assertEquals("composed", attributes.getString("name"));
+		assertEquals("meta", attributes.getString("value"));
+		assertEquals(Integer.valueOf(0), attributes.getNumber("order"));
+		Base synthesized = annotation.synthesize();
+		assertEquals("composed", synthesized.name());
+		assertTrue(synthesized instanceof SynthesizedAnnotation);
+	}
+
+	@Test
+	public void getMetaAnnotationWithConventionBasedOverride() {
+		AnnotationAttributes attributes = MergedAnnotations.from(ComposedClass.class).get(Base.class)
+				.asAnnotationAttributes(true, false);
+		assertEquals(String.class.getName(), attributes.getString("type"));
+		assertEquals(Integer.valueOf(0), attributes.getNumber("order"));
+
+		attributes = MergedAnnotations.from(OrderedComposedClass.class).get(Base.class)
+				.asAnnotationAttributes(false, false);
+		assertEquals(Integer.valueOf(5), attributes.getNumber("order"));
+		assertEquals(Object.class, attributes.getClass("type"));
+	}
+
+	@Test
+	public void getMetaAnnotationWithOverridesAcrossLevels() {
+		MergedAnnotation<Base> annotation = MergedAnnotations.from(TwiceComposedClass.class).get(Base.class);
+		assertEquals(2, annotation.getDistance());
+		AnnotationAttributes attributes = annotation.asAnnotationAttributes(false, false);
+		assertEquals("twice", attributes.getString("name"));
+		assertEquals(Integer.valueOf(7), attributes.getNumber("order"));
+		assertEquals("twice", MergedAnnotations.from(TwiceComposedClass.class).get(Composed.class)
+				.asAnnotationAttributes(false, false).getString("name"));
+	}
+
+	@Test
+	public void getMetaAnnotationWithoutOverridesAsDeclared() {
+		Base declared = Plain.class.getAnnotation(Base.class);
+		MergedAnnotation<Base> annotation = MergedAnnotations.from(PlainClass.class).get(Base.class);
+		assertEquals(1, annotation.getDistance());
+		assertSame(declared, annotation.synthesize());
+		assertFalse(annotation.synthesize() instanceof SynthesizedAnnotation);
+	}
+
+	@Test
+	public void getByAnnotationName() {
+		MergedAnnotations annotations = MergedAnnotations.from(ComposedClass.class);
+		assertTrue(annotations.isPresent(Base.class.getName()));
+		assertEquals("composed",
+				annotations.get(Base.class.getName()).asAnnotationAttributes(false, false).getString("name"));
+	}
+
+	@Test
+	public void getMissingAnnotation() {
+		MergedAnnotations annotations = MergedAnnotations.from(Object.class);
+		assertFalse(annotations.isPresent(Base.class));
+		MergedAnnotation<Base> annotation = annotations.get(Base.class);
+		assertFalse(annotation.isPresent());
+		assertEquals(-1, annotation.getDistance());
+		assertNull(annotation.getSource());
+	}
+
+	@Test
+	public void inheritedAnnotationsVersusTypeHierarchy() {
+		assertFalse(MergedAnnotations.from(ImplementingClass.class).isPresent(Base.class));
+		MergedAnnotation<Base> annotation =
+				MergedAnnotations.from(ImplementingClass.class, SearchStrategy.TYPE_HIERARCHY).get(Base.class);
+		assertTrue(annotation.isPresent());
+		assertEquals(AnnotatedInterface.class, annotation.getSource());
+		assertEquals("interface", annotation.synthesize().name());
+	}
+
+	@Test
+	public void typeHierarchyOnOverriddenMethod() throws Exception {
+		Method method = ImplementingClass.class.getMethod("handle");
+		assertFalse(MergedAnnotations.from(method).isPresent(Base.class));
+		MergedAnnotation<Base> annotation = MergedAnnotations.from(method, SearchStrategy.TYPE_HIERARCHY).get(Base.class);
+		assertEquals(1, annotation.getDistance());
+		assertEquals(AnnotatedInterface.class.getMethod("handle"), annotation.getSource());
+		assertEquals("composed", annotation.synthesize().name());
+	}
+
+	@Test
+	public void consistentWithAnnotatedElementUtils() {
+		assertEquals(AnnotatedElementUtils.getMergedAnnotationAttributes(TwiceComposedClass.class, Base.class),
+				MergedAnnotations.from(TwiceComposedClass.class).get(Base.class).asAnnotationAttributes(false, false));
+		assertEquals(AnnotatedElementUtils.findMergedAnnotation(ImplementingClass.class, Base.class),
+				MergedAnnotations.from(ImplementingClass.class, SearchStrategy.TYPE_HIERARCHY).get(Base.class).synthesize());
+	}
+
+
+	@Retention(RetentionPolicy.RUNTIME)
+	@interface Base {
+
+		String value() default "";
+
+		String name() default "";
+
+		int order() default 0;
+
+		Class<?> type() default Object.class;
+	}
+
+	@Retention(RetentionPolicy.RUNTIME)
+	@Base(value = "meta", type = String.class)
+	@interface Composed {
+
+		@AliasFor(annotation = Base.class, attribute = "name")
+		String name() default "";
+
+		String value() default "";
+	}
+
+	@Retention(RetentionPolicy.RUNTIME)
+	@Base(order = 3)
+	@interface OrderedComposed {
+
+		int order() default 5;
+	}
+
+	@Retention(RetentionPolicy.RUNTIME)
+	@Composed
+	@interface TwiceComposed {
+
+		@AliasFor(annotation = Composed.class, attribute = "name")
+		String composedName() default "";
+
+		int order() default 7;
+	}
+
+	@Retention(RetentionPolicy.RUNTIME)
+	@Base("plain")
+	@interface Plain {
+	}
+
+	@Base(name = "direct")
+	static class BaseClass {
+	}
+
+	@Composed(name = "composed", value = "ignored")
+	static class ComposedClass {
+	}
+
+	@OrderedComposed
+	static class OrderedComposedClass {
+	}
+
+	@TwiceComposed(composedName = "twice")
+	static class TwiceComposedClass {
+	}
+
+	@Plain
+	static class PlainClass {
+	}
+
+	@Base(name = "interface")
+	interface AnnotatedInterface {
+
+		@Composed(name = "composed")
+		void handle();
+	}
+
+	static class ImplementingClass implements AnnotatedInterface {
+
+		@Override
+		public void handle() {
+		}
+	}
+
+}
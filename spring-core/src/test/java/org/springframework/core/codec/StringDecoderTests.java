@@ -18,6 +18,7 @@ package org.springframework.core.codec;
 
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -29,6 +30,7 @@ import reactor.test.StepVerifier;
 import org.springframework.core.ResolvableType;
 import org.springframework.core.io.buffer.AbstractDataBufferAllocatingTestCase;
 import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
 import org.springframework.util.MimeTypeUtils;
 
 import static org.junit.Assert.*;
@@ -117,6 +119,49 @@ public class StringDecoderTests extends AbstractDataBufferAllocatingTestCase {
 				.verify();
 	}
 
+	@Test
+	public void decodeDelimiterAcrossBuffers() {
+		this.decoder = StringDecoder.allMimeTypes(Arrays.asList("\r\n", "--"), true);
+
+		Flux<DataBuffer> source = Flux.just(
+				stringBuffer("abc\r"),
+				stringBuffer("\ndef-"),
+				stringBuffer("-"),
+				stringBuffer("-ghi\r"),
+				stringBuffer("\n")
+		);
+
+		Flux<String> output = this.decoder.decode(source, ResolvableType.forClass(String.class),
+				null, Collections.emptyMap());
+
+		StepVerifier.create(output)
+				.expectNext("abc")
+				.expectNext("def")
+				.expectNext("-ghi")
+				.expectComplete()
+				.verify();
+	}
+
+	@Test
+	public void decodeOverlappingDelimiters() {
+		this.decoder = StringDecoder.allMimeTypes(Arrays.asList("\r", "\r\n"), true);
+
+		Flux<DataBuffer> source = Flux.just(
+				stringBuffer("abc\r\ndef\r"),
+				stringBuffer("\nghi")
+		);
+
+		Flux<String> output = this.decoder.decode(source, ResolvableType.forClass(String.class),
+				null, Collections.emptyMap());
+
+		StepVerifier.create(output)
+				.expectNext("abc")
+				.expectNext("\ndef")
+				.expectNext("\nghi")
+				.expectComplete()
+				.verify();
+	}
+
 	@Test
 	public void decodeNewLineIncludeDelimiters() {
 
@@ -148,6 +193,30 @@ public class StringDecoderTests extends AbstractDataBufferAllocatingTestCase {
 				.verify();
 	}
 
+	@Test
+	public void maxInMemoryLimit() {
+		Flux<DataBuffer> source = Flux.just(
+				stringBuffer("abc\n"), stringBuffer("defg\n"), stringBuffer("hi"), stringBuffer("jkl"), stringBuffer("mnop"));
+
+		this.decoder.setMaxInMemorySize(5);
+		Flux<String> output = this.decoder.decode(source, ResolvableType.forClass(String.class), null, null);
+
+		StepVerifier.create(output)
+				.expectNext("abc", "defg")
+				.verifyError(DataBufferLimitException.class);
+	}
+
+	@Test
+	public void maxInMemoryLimitDecodeToMono() {
+		Flux<DataBuffer> source = Flux.just(stringBuffer("foo"), stringBuffer("bar"), stringBuffer("baz"));
+
+		this.decoder.setMaxInMemorySize(8);
+		Mono<String> output = this.decoder.decodeToMono(source, ResolvableType.forClass(String.class), null, null);
+
+		StepVerifier.create(output)
+				.verifyError(DataBufferLimitException.class);
+	}
+
 	@Test
 	public void decodeEmptyFlux() {
 		Flux<DataBuffer> source = Flux.empty();
@@ -0,0 +1,241 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.io.buffer;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ */
+public class CompositeDataBufferTests extends AbstractDataBufferAllocatingTestCase {
+
+	private CompositeDataBuffer composite(String... values) {
+		DataBuffer[] buffers = Arrays.stream(values).map(this::stringBuffer).toArray(DataBuffer[]::new);
+		return new CompositeDataBuffer(this.bufferFactory, Arrays.asList(buffers));
+	}
+
+	private static String string(ByteBuffer byteBuffer) {
+		byte[] bytes = new byte[byteBuffer.remaining()];
+		byteBuffer.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+
+	@Test
+	public void readAcrossComponents() {
+		CompositeDataBuffer buffer = composite("foo", "", "bar", "baz");
+		assertEquals(3, buffer.getComponentCount());
+		assertEquals(9, buffer.readableByteCount());
+		assertEquals(0, buffer.writableByteCount());
+		assertEquals((byte) 'b', buffer.getByte(3));
+		assertEquals((byte) 'z', buffer.getByte(8));
+
+		byte[] result = new byte[5];
+		buffer.read(result);
+		assertEquals("fooba", new String(result, StandardCharsets.UTF_8));
+		assertEquals((byte) 'r', buffer.read());
+		assertEquals(3, buffer.readableByteCount());
+
+		release(buffer);
+	}
+
+	@Test
+	public void writeAppendsComponent() {
+		CompositeDataBuffer buffer = composite("foo", "bar");
+		buffer.write((byte) '!');
+		buffer.write("baz".getBytes(StandardCharsets.UTF_8));
+		assertEquals(3, buffer.getComponentCount());
+		assertEquals(10, buffer.readableByteCount());
+		assertTrue(buffer.capacity() >= 6 + DefaultDataBufferFactory.DEFAULT_INITIAL_CAPACITY);
+
+		byte[] result = new byte[10];
+		buffer.read(result);
+		assertEquals("foobar!baz", new String(result, StandardCharsets.UTF_8));
+
+		release(buffer);
+	}
+
+	@Test
+	public void writeByteBuffersAdvancesSource() {
+		CompositeDataBuffer buffer = composite("foo");
+		ByteBuffer source = ByteBuffer.wrap("barbaz".getBytes(StandardCharsets.UTF_8));
+		buffer.write(source);
+		assertFalse(source.hasRemaining());
+		assertEquals("foobarbaz", string(buffer.asByteBuffer()));
+
+		release(buffer);
+	}
+
+	@Test
+	public void writeDataBuffers() {
+		CompositeDataBuffer buffer = composite("foo");
+		DataBuffer other = composite("bar", "baz");
+		buffer.write(other);
+		assertEquals("foobarbaz", string(buffer.asByteBuffer()));
+
+		release(buffer, other);
+	}
+
+	@Test
+	public void asByteBuffers() {
+		CompositeDataBuffer buffer = composite("foo", "bar", "baz");
+		buffer.readPosition(4);
+		ByteBuffer[] byteBuffers = buffer.asByteBuffers();
+		assertEquals(2, byteBuffers.length);
+		assertEquals("ar", string(byteBuffers[0]));
+		assertEquals("baz", string(byteBuffers[1]));
+		assertEquals(4, buffer.readPosition());
+
+		release(buffer);
+	}
+
+	@Test
+	public void asByteBufferWithinComponentSharesMemory() {
+		CompositeDataBuffer buffer = composite("foo", "bar");
+		ByteBuffer byteBuffer = buffer.asByteBuffer(3, 3);
+		byteBuffer.put(0, (byte) 'c');
+		assertEquals((byte) 'c', buffer.getByte(3));
+		assertEquals("ooca", string(buffer.asByteBuffer(1, 4)));
+
+		release(buffer);
+	}
+
+	@Test
+	public void slice() {
+		CompositeDataBuffer buffer = composite("foo", "bar", "baz");
+		DataBuffer slice = buffer.slice(2, 5);
+		assertEquals(5, slice.readableByteCount());
+		assertEquals("obarb", string(slice.asByteBuffer()));
+
+		slice.writePosition(0);
+		slice.write("xyz".getBytes(StandardCharsets.UTF_8));
+		assertEquals("foxyzrbaz", string(buffer.asByteBuffer()));
+
+		release(buffer);
+	}
+
+	@Test
+	public void sliceSharesReferenceCount() {
+		CompositeDataBuffer buffer = composite("foo", "bar");
+		DataBuffer slice = DataBufferUtils.retain(buffer.slice(1, 4));
+		assertFalse(DataBufferUtils.release(buffer));
+		assertTrue(buffer.isAllocated());
+		assertTrue(DataBufferUtils.release(slice));
+		assertFalse(buffer.isAllocated());
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void sliceCapacityGrowth() {
+		CompositeDataBuffer buffer = composite("foo", "bar");
+		try {
+			buffer.slice(1, 4).capacity(10);
+		}
+		finally {
+			release(buffer);
+		}
+	}
+
+	@Test
+	public void decreaseCapacity() {
+		CompositeDataBuffer buffer = composite("foo", "bar", "baz");
+		buffer.capacity(4);
+		assertEquals(2, buffer.getComponentCount());
+		assertEquals(4, buffer.capacity());
+		assertEquals("foob", string(buffer.asByteBuffer()));
+
+		release(buffer);
+	}
+
+	@Test
+	public void indexOf() {
+		CompositeDataBuffer buffer = composite("foo", "bar", "baz");
+		assertEquals(3, buffer.indexOf(b -> b == 'b', 0));
+		assertEquals(6, buffer.indexOf(b -> b == 'b', 4));
+		assertEquals(-1, buffer.indexOf(b -> b == 'x', 0));
+		assertEquals(7, buffer.lastIndexOf(b -> b == 'a', 8));
+		assertEquals(4, buffer.lastIndexOf(b -> b == 'a', 6));
+
+		release(buffer);
+	}
+
+	@Test
+	public void streams() throws Exception {
+		CompositeDataBuffer buffer = composite("foo", "bar");
+		OutputStream outputStream = buffer.asOutputStream();
+		outputStream.write("baz".getBytes(StandardCharsets.UTF_8));
+
+		InputStream inputStream = buffer.asInputStream(true);
+		byte[] result = new byte[10];
+		assertEquals(9, inputStream.read(result));
+		assertEquals(-1, inputStream.read());
+		assertEquals("foobarbaz", new String(result, 0, 9, StandardCharsets.UTF_8));
+		inputStream.close();
+		assertFalse(buffer.isAllocated());
+	}
+
+	@Test
+	public void emptyComponents() {
+		DataBuffer first = this.bufferFactory.allocateBuffer(8);
+		DataBuffer second = this.bufferFactory.allocateBuffer(8);
+		CompositeDataBuffer buffer = new CompositeDataBuffer(this.bufferFactory, Arrays.asList(first, second));
+		assertEquals(0, buffer.getComponentCount());
+		assertEquals(0, buffer.capacity());
+		assertEquals(0, buffer.asByteBuffer().remaining());
+		assertEquals(0, buffer.asByteBuffer(0, 0).remaining());
+		assertEquals(0, buffer.asByteBuffers().length);
+		assertEquals(-1, buffer.indexOf(b -> true, 0));
+		assertEquals(0, buffer.slice(0, 0).readableByteCount());
+
+		buffer.write((byte) 'a');
+		assertEquals("a", string(buffer.asByteBuffer()));
+
+		release(buffer);
+	}
+
+	@Test
+	public void zeroLengthWithinComponents() {
+		CompositeDataBuffer buffer = composite("foo", "bar");
+		assertEquals(0, buffer.asByteBuffer(3, 0).remaining());
+		assertEquals(0, buffer.asByteBuffer(6, 0).remaining());
+		assertEquals(0, buffer.slice(6, 0).readableByteCount());
+		buffer.readPosition(6);
+		assertEquals(0, buffer.asByteBuffer().remaining());
+		assertEquals(0, buffer.asByteBuffers().length);
+
+		release(buffer);
+	}
+
+	@Test
+	public void releaseReleasesComponents() {
+		DataBuffer foo = stringBuffer("foo");
+		DataBuffer bar = stringBuffer("bar");
+		CompositeDataBuffer buffer = new CompositeDataBuffer(this.bufferFactory, Arrays.asList(foo, bar));
+		assertTrue(buffer.release());
+		if (foo instanceof PooledDataBuffer) {
+			assertFalse(((PooledDataBuffer) foo).isAllocated());
+			assertFalse(((PooledDataBuffer) bar).isAllocated());
+		}
+	}
+
+}
@@ -537,4 +537,94 @@ public class DataBufferUtilsTests extends AbstractDataBufferAllocatingTestCase {
 				.verify();
 	}
 
+	@Test
+	public void joinWithLimit() {
+		DataBuffer foo = stringBuffer("foo");
+		DataBuffer bar = stringBuffer("bar");
+		DataBuffer baz = stringBuffer("baz");
+		Flux<DataBuffer> flux = Flux.just(foo, bar, baz);
+		Mono<DataBuffer> result = DataBufferUtils.join(flux, 8);
+
+		StepVerifier.create(result)
+				.verifyError(DataBufferLimitException.class);
+	}
+
+	@Test
+	public void joinWithinLimit() {
+		Flux<DataBuffer> flux = Flux.just(stringBuffer("foo"), stringBuffer("bar"), stringBuffer("baz"));
+		Mono<DataBuffer> result = DataBufferUtils.join(flux, 9);
+
+		StepVerifier.create(result)
+				.consumeNextWith(dataBuffer -> {
+					assertEquals("foobarbaz",
+							DataBufferTestUtils.dumpString(dataBuffer, StandardCharsets.UTF_8));
+					release(dataBuffer);
+				})
+				.verifyComplete();
+	}
+
+	@Test
+	public void joinCancelled() {
+		DataBuffer foo = stringBuffer("foo");
+		DataBuffer bar = stringBuffer("bar");
+		Flux<DataBuffer> flux = Flux.just(foo, bar).concatWith(Flux.never());
+		Mono<DataBuffer> result = DataBufferUtils.join(flux, 9);
+
+		// Both buffers are collected on subscription, then released on cancellation
+		result.subscribe().dispose();
+	}
+
+	@Test
+	public void matcher() {
+		DataBuffer foo = stringBuffer("foo");
+		DataBuffer bar = stringBuffer("bar");
+
+		byte[] delims = "ooba".getBytes(StandardCharsets.UTF_8);
+		DataBufferUtils.Matcher matcher = DataBufferUtils.matcher(delims);
+		assertEquals(-1, matcher.match(foo));
+		assertEquals(1, matcher.match(bar));
+		assertArrayEquals(delims, matcher.delimiter());
+
+		release(foo, bar);
+	}
+
+	@Test
+	public void matcherMultipleDelimiters() {
+		DataBuffer foo = stringBuffer("foo\r\nbar\n");
+
+		DataBufferUtils.Matcher matcher = DataBufferUtils.matcher(
+				"\n".getBytes(StandardCharsets.UTF_8), "\r\n".getBytes(StandardCharsets.UTF_8));
+		assertEquals(4, matcher.match(foo));
+		assertArrayEquals("\r\n".getBytes(StandardCharsets.UTF_8), matcher.delimiter());
+		foo.readPosition(5);
+		assertEquals(8, matcher.match(foo));
+		assertArrayEquals("\n".getBytes(StandardCharsets.UTF_8), matcher.delimiter());
+
+		release(foo);
+	}
+
+	@Test
+	public void matcherOverlappingDelimiters() {
+		DataBuffer foo = stringBuffer("foo\r\nbar");
+		DataBuffer baz = stringBuffer("xabcy");
+
+		DataBufferUtils.Matcher matcher = DataBufferUtils.matcher(
+				"\r".getBytes(StandardCharsets.UTF_8), "\r\n".getBytes(StandardCharsets.UTF_8));
+		assertEquals(3, matcher.match(foo));
+		assertArrayEquals("\r".getBytes(StandardCharsets.UTF_8), matcher.delimiter());
+
+		matcher = DataBufferUtils.matcher(
+				"b".getBytes(StandardCharsets.UTF_8), "abc".getBytes(StandardCharsets.UTF_8));
+		assertEquals(3, matcher.match(baz));
+		assertArrayEquals("abc".getBytes(StandardCharsets.UTF_8), matcher.delimiter());
+
+		baz.readPosition(0);
+		matcher = DataBufferUtils.matcher(
+				"b".getBytes(StandardCharsets.UTF_8), "abd".getBytes(StandardCharsets.UTF_8));
+		assertEquals(2, matcher.match(baz));
+		assertArrayEquals("b".getBytes(StandardCharsets.UTF_8), matcher.delimiter());
+
+		release(foo, baz);
+	}
+
 }
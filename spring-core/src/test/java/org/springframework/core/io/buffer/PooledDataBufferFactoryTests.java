@@ -0,0 +1,166 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.io.buffer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ */
+public class PooledDataBufferFactoryTests {
+
+	private final PooledDataBufferFactory bufferFactory = new PooledDataBufferFactory(false, 4096, 1, 4);
+
+
+	@Test
+	public void releasedMemoryIsReused() {
+		DefaultDataBuffer buffer = this.bufferFactory.allocateBuffer(100);
+		assertTrue(buffer instanceof PooledDataBuffer);
+		assertEquals(100, buffer.capacity());
+		byte[] memory = buffer.getNativeBuffer().array();
+		assertTrue(DataBufferUtils.release(buffer));
+		assertFalse(((PooledDataBuffer) buffer).isAllocated());
+
+		DefaultDataBuffer other = this.bufferFactory.allocateBuffer(200);
+		assertSame(memory, other.getNativeBuffer().array());
+		assertEquals(200, other.capacity());
+		assertEquals(0, other.readableByteCount());
+		DataBufferUtils.release(other);
+	}
+
+	@Test
+	public void sizeClassesAreSeparate() {
+		DefaultDataBuffer small = this.bufferFactory.allocateBuffer(100);
+		byte[] memory = small.getNativeBuffer().array();
+		DataBufferUtils.release(small);
+
+		DefaultDataBuffer large = this.bufferFactory.allocateBuffer(1000);
+		assertNotSame(memory, large.getNativeBuffer().array());
+		DataBufferUtils.release(large);
+	}
+
+	@Test
+	public void memoryIsOnlyReleasedWithLastReference() {
+		DefaultDataBuffer buffer = this.bufferFactory.allocateBuffer(100);
+		byte[] memory = buffer.getNativeBuffer().array();
+		DataBufferUtils.retain(buffer);
+		assertFalse(DataBufferUtils.release(buffer));
+
+		DefaultDataBuffer other = this.bufferFactory.allocateBuffer(100);
+		assertNotSame(memory, other.getNativeBuffer().array());
+
+		assertTrue(DataBufferUtils.release(buffer));
+		DataBufferUtils.release(other);
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void releaseTwice() {
+		PooledDataBuffer buffer = (PooledDataBuffer) this.bufferFactory.allocateBuffer(100);
+		buffer.release();
+		buffer.release();
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void retainAfterRelease() {
+		PooledDataBuffer buffer = (PooledDataBuffer) this.bufferFactory.allocateBuffer(100);
+		buffer.release();
+		buffer.retain();
+	}
+
+	@Test
+	public void sliceSharesReferenceCount() {
+		DataBuffer buffer = this.bufferFactory.allocateBuffer(100);
+		buffer.write("foobar".getBytes(StandardCharsets.UTF_8));
+		DataBuffer slice = DataBufferUtils.retain(buffer.slice(3, 3));
+		assertTrue(slice instanceof PooledDataBuffer);
+
+		byte[] result = new byte[3];
+		slice.read(result);
+		assertEquals("bar", new String(result, StandardCharsets.UTF_8));
+
+		assertFalse(DataBufferUtils.release(buffer));
+		assertTrue(((PooledDataBuffer) buffer).isAllocated());
+		assertTrue(DataBufferUtils.release(slice));
+		assertFalse(((PooledDataBuffer) buffer).isAllocated());
+	}
+
+	@Test
+	public void capacityGrowthKeepsContent() {
+		DataBuffer buffer = this.bufferFactory.allocateBuffer(4);
+		for (int i = 0; i < 1000; i++) {
+			buffer.write((byte) 'a');
+		}
+		assertEquals(1000, buffer.readableByteCount());
+		assertEquals('a', buffer.getByte(999));
+		assertTrue(DataBufferUtils.release(buffer));
+	}
+
+	@Test
+	public void largeBuffersAreNotPooled() {
+		DefaultDataBuffer buffer = this.bufferFactory.allocateBuffer(10000);
+		byte[] memory = buffer.getNativeBuffer().array();
+		assertTrue(DataBufferUtils.release(buffer));
+
+		DefaultDataBuffer other = this.bufferFactory.allocateBuffer(10000);
+		assertNotSame(memory, other.getNativeBuffer().array());
+		DataBufferUtils.release(other);
+	}
+
+	@Test
+	public void wrappedBuffersAreNotPooled() {
+		DataBuffer buffer = this.bufferFactory.wrap("foo".getBytes(StandardCharsets.UTF_8));
+		assertFalse(buffer instanceof PooledDataBuffer);
+		assertSame(this.bufferFactory, buffer.factory());
+	}
+
+	@Test
+	public void joinCopiesAndReleasesSourceBuffers() {
+		DataBuffer foo = this.bufferFactory.allocateBuffer(3).write("foo".getBytes(StandardCharsets.UTF_8));
+		DataBuffer bar = this.bufferFactory.allocateBuffer(3).write("bar".getBytes(StandardCharsets.UTF_8));
+		DataBuffer result = this.bufferFactory.join(Arrays.asList(foo, bar));
+		assertFalse(result instanceof CompositeDataBuffer);
+		assertFalse(((PooledDataBuffer) foo).isAllocated());
+		assertFalse(((PooledDataBuffer) bar).isAllocated());
+
+		byte[] bytes = new byte[6];
+		result.read(bytes);
+		assertEquals("foobar", new String(bytes, StandardCharsets.UTF_8));
+		assertTrue(DataBufferUtils.release(result));
+	}
+
+	@Test
+	public void composeReleasesSourceBuffersWithResult() {
+		DataBuffer foo = this.bufferFactory.allocateBuffer(3).write("foo".getBytes(StandardCharsets.UTF_8));
+		DataBuffer bar = this.bufferFactory.allocateBuffer(3).write("bar".getBytes(StandardCharsets.UTF_8));
+		DataBuffer result = this.bufferFactory.compose(Arrays.asList(foo, bar));
+		assertTrue(result instanceof CompositeDataBuffer);
+
+		assertTrue(((PooledDataBuffer) foo).isAllocated());
+		assertTrue(((PooledDataBuffer) bar).isAllocated());
+		byte[] bytes = new byte[6];
+		result.read(bytes);
+		assertEquals("foobar", new String(bytes, StandardCharsets.UTF_8));
+		assertTrue(DataBufferUtils.release(result));
+		assertFalse(((PooledDataBuffer) foo).isAllocated());
+		assertFalse(((PooledDataBuffer) bar).isAllocated());
+	}
+
+}
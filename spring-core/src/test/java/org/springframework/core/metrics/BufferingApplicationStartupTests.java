@@ -0,0 +1,101 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.metrics;
+
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link BufferingApplicationStartup}.
+ */
+public class BufferingApplicationStartupTests {
+
+	@Test
+	public void defaultStartupDoesNotRecord() {
+		StartupStep step = ApplicationStartup.DEFAULT.start("test").tag("key", "value");
+		assertSame(step, ApplicationStartup.DEFAULT.start("other"));
+		assertFalse(step.getTags().iterator().hasNext());
+		step.end();
+	}
+
+	@Test
+	public void recordsNestedSteps() {
+		BufferingApplicationStartup applicationStartup = new BufferingApplicationStartup(10);
+		StartupStep outer = applicationStartup.start("spring.outer");
+		StartupStep inner = applicationStartup.start("spring.inner").tag("beanName", "test");
+		inner.end();
+		outer.end();
+		StartupStep next = applicationStartup.start("spring.next");
+		next.end();
+
+		List<StartupTimeline.TimelineEvent> events = applicationStartup.getTimeline().getEvents();
+		assertEquals(3, events.size());
+		assertSame(outer, events.get(0).getStartupStep());
+		assertSame(inner, events.get(1).getStartupStep());
+		assertSame(next, events.get(2).getStartupStep());
+		assertNull(outer.getParentId());
+		assertEquals(Long.valueOf(outer.getId()), inner.getParentId());
+		assertNull(next.getParentId());
+		assertFalse(events.get(0).getStartTime().isAfter(events.get(1).getStartTime()));
+		assertFalse(events.get(0).getEndTime().isBefore(events.get(1).getEndTime()));
+
+		Iterator<StartupStep.Tag> tags = inner.getTags().iterator();
+		StartupStep.Tag tag = tags.next();
+		assertEquals("beanName", tag.getKey());
+		assertEquals("test", tag.getValue());
+		assertFalse(tags.hasNext());
+	}
+
+	@Test
+	public void endingParentStepPopsUnendedChildren() {
+		BufferingApplicationStartup applicationStartup = new BufferingApplicationStartup(10);
+		StartupStep outer = applicationStartup.start("spring.outer");
+		applicationStartup.start("spring.failed");
+		outer.end();
+		StartupStep next = applicationStartup.start("spring.next");
+		assertNull(next.getParentId());
+	}
+
+	@Test
+	public void capacityAndFilterLimitRecordedSteps() {
+		BufferingApplicationStartup applicationStartup = new BufferingApplicationStartup(2);
+		applicationStartup.setFilter(event -> event.getStartupStep().getName().startsWith("spring.beans"));
+		applicationStartup.start("spring.context.refresh").end();
+		applicationStartup.start("spring.beans.instantiate").end();
+		applicationStartup.start("spring.beans.instantiate").end();
+		applicationStartup.start("spring.beans.instantiate").end();
+		assertEquals(2, applicationStartup.getTimeline().getEvents("spring.beans.instantiate").size());
+		assertEquals(0, applicationStartup.getTimeline().getEvents("spring.context.refresh").size());
+
+		assertEquals(2, applicationStartup.drainTimeline().getEvents().size());
+		assertTrue(applicationStartup.getTimeline().getEvents().isEmpty());
+		applicationStartup.start("spring.beans.instantiate").end();
+		assertEquals(1, applicationStartup.getTimeline().getEvents().size());
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void tagAfterEnd() {
+		StartupStep step = new BufferingApplicationStartup(10).start("test");
+		step.end();
+		step.tag("key", "value");
+	}
+
+}
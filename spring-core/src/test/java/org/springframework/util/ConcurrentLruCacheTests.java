@@ -0,0 +1,167 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link ConcurrentLruCache}.
+ */
+public class ConcurrentLruCacheTests {
+
+	private final AtomicInteger generated = new AtomicInteger();
+
+	private final ConcurrentLruCache<String, String> cache = new ConcurrentLruCache<>(2, key -> {
+		this.generated.incrementAndGet();
+		return key + "value";
+	});
+
+
+	@Test
+	public void getAndSize() {
+		assertEquals(2, this.cache.sizeLimit());
+		assertEquals(0, this.cache.size());
+		assertEquals("k1value", this.cache.get("k1"));
+		assertEquals(1, this.cache.size());
+		assertTrue(this.cache.contains("k1"));
+		assertEquals("k1value", this.cache.get("k1"));
+		assertEquals(1, this.generated.get());
+	}
+
+	@Test
+	public void evictLeastRecentlyUsed() {
+		this.cache.get("k1");
+		this.cache.get("k2");
+		assertEquals(2, this.cache.size());
+
+		// k1 has been used since it was stored, so k2 gets evicted first
+		this.cache.get("k1");
+		this.cache.get("k3");
+		assertEquals(2, this.cache.size());
+		assertTrue(this.cache.contains("k1"));
+		assertFalse(this.cache.contains("k2"));
+		assertTrue(this.cache.contains("k3"));
+
+		// k3 has not been used since it was stored, k1 is back in line
+		this.cache.get("k4");
+		assertEquals(2, this.cache.size());
+		assertTrue(this.cache.contains("k1"));
+		assertFalse(this.cache.contains("k3"));
+		assertTrue(this.cache.contains("k4"));
+
+		// k1 has not been used since its second chance
+		this.cache.get("k4");
+		this.cache.get("k5");
+		assertEquals(2, this.cache.size());
+		assertFalse(this.cache.contains("k1"));
+		assertTrue(this.cache.contains("k4"));
+		assertTrue(this.cache.contains("k5"));
+		assertEquals(5, this.generated.get());
+	}
+
+	@Test
+	public void evictWithAllEntriesUsed() {
+		this.cache.get("k1");
+		this.cache.get("k2");
+		this.cache.get("k1");
+		this.cache.get("k2");
+
+		// A new entry that has not been used again does not displace frequently used entries
+		assertEquals("k3value", this.cache.get("k3"));
+		assertEquals(2, this.cache.size());
+		assertTrue(this.cache.contains("k1"));
+		assertTrue(this.cache.contains("k2"));
+
+		// ... but it does once these have not been used for a full pass
+		this.cache.get("k3");
+		this.cache.get("k4");
+		assertEquals(2, this.cache.size());
+		assertTrue(this.cache.contains("k4"));
+	}
+
+	@Test
+	public void removeAndClear() {
+		this.cache.get("k1");
+		this.cache.get("k2");
+		assertTrue(this.cache.remove("k1"));
+		assertFalse(this.cache.remove("k1"));
+		assertEquals(1, this.cache.size());
+
+		this.cache.get("k3");
+		assertEquals(2, this.cache.size());
+		assertTrue(this.cache.contains("k2"));
+		assertTrue(this.cache.contains("k3"));
+
+		this.cache.clear();
+		assertEquals(0, this.cache.size());
+		assertFalse(this.cache.contains("k2"));
+	}
+
+	@Test
+	public void zeroCapacity() {
+		ConcurrentLruCache<String, String> cache = new ConcurrentLruCache<>(0, key -> {
+			this.generated.incrementAndGet();
+			return key + "value";
+		});
+		assertEquals("k1value", cache.get("k1"));
+		assertEquals("k1value", cache.get("k1"));
+		assertEquals(0, cache.size());
+		assertFalse(cache.contains("k1"));
+		assertEquals(2, this.generated.get());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void negativeCapacity() {
+		new ConcurrentLruCache<String, String>(-1, key -> key);
+	}
+
+	@Test
+	public void concurrentAccess() throws Exception {
+		ConcurrentLruCache<Integer, String> cache = new ConcurrentLruCache<>(16, String::valueOf);
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < 8; t++) {
+				int offset = t;
+				futures.add(executor.submit(() -> {
+					for (int i = 0; i < 10000; i++) {
+						int key = (i + offset) % 64;
+						assertEquals(String.valueOf(key), cache.get(key));
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get(30, TimeUnit.SECONDS);
+			}
+		}
+		finally {
+			executor.shutdownNow();
+		}
+		assertTrue(cache.size() <= cache.sizeLimit());
+	}
+
+}
@@ -264,6 +264,18 @@ public class MimeTypeTests {
 		MimeTypeUtils.parseMimeType("audio/*;attr=\"");
 	}
 
+	@Test
+	public void parseMimeTypeCached() {
+		MimeType mimeType = MimeTypeUtils.parseMimeType("text/plain;charset=UTF-8");
+		assertSame(mimeType, MimeTypeUtils.parseMimeType("text/plain;charset=UTF-8"));
+
+		String multipart = "multipart/form-data;boundary=" + new String(MimeTypeUtils.generateMultipartBoundary());
+		assertNotSame(MimeTypeUtils.parseMimeType(multipart), MimeTypeUtils.parseMimeType(multipart));
+
+		String upperCaseMultipart = "MULTIPART/mixed;boundary=" + new String(MimeTypeUtils.generateMultipartBoundary());
+		assertNotSame(MimeTypeUtils.parseMimeType(upperCaseMultipart), MimeTypeUtils.parseMimeType(upperCaseMultipart));
+	}
+
 	@Test
 	public void parseMimeTypes() {
 		String s = "text/plain, text/html, text/x-dvi, text/x-c";
@@ -41,6 +41,12 @@ import org.springframework.util.CollectionUtils;
  */
 public class CodeFlow implements Opcodes {
 
+	/**
+	 * Local variable holding the root object, i.e. the target passed into
+	 * {@code CompiledExpression.getValue(target, context)}.
+	 */
+	private static final int ROOT_OBJECT_VARIABLE = 1;
+
 	/**
 	 * Name of the class being generated. Typically used when generating code
 	 * that accesses freshly generated fields on the generated type.
@@ -60,6 +66,13 @@ public class CodeFlow implements Opcodes {
 	 */
 	private final Deque<List<String>> compilationScopes;
 
+	/**
+	 * Local variables holding the active context object for nested expressions
+	 * which operate on a different object than the root object, e.g. the current
+	 * element within a collection projection or selection.
+	 */
+	private final Deque<Integer> activeContextVariables = new ArrayDeque<>();
+
 	/**
 	 * As SpEL ast nodes are called to generate code for the main evaluation method
 	 * they can register to add a field to this class. Any registered FieldAdders
@@ -85,9 +98,10 @@ public class CodeFlow implements Opcodes {
 
 	/**
 	 * When code generation requires an intermediate variable within a method,
-	 * this method records the next available variable (variable 0 is 'this').
+	 * this method records the next available variable (variable 0 is 'this',
+	 * variables 1 and 2 are the target and the evaluation context).
 	 */
-	private int nextFreeVariableId = 1;
+	private int nextFreeVariableId = 3;
 
 
 	/**
@@ -105,11 +119,43 @@ public class CodeFlow implements Opcodes {
 
 	/**
 	 * Push the byte code to load the target (i.e. what was passed as the first argument
-	 * to CompiledExpression.getValue(target, context))
+	 * to CompiledExpression.getValue(target, context)), or the current active context
+	 * object if it has been changed through {@link #pushActiveContextObject}.
 	 * @param mv the visitor into which the load instruction should be inserted
 	 */
 	public void loadTarget(MethodVisitor mv) {
-		mv.visitVarInsn(ALOAD, 1);
+		Integer activeContextVariable = this.activeContextVariables.peek();
+		mv.visitVarInsn(ALOAD, (activeContextVariable != null ? activeContextVariable : ROOT_OBJECT_VARIABLE));
+	}
+
+	/**
+	 * Make the object held in the given local variable the active context object,
+	 * i.e. the object that {@link #loadTarget} loads for nested expressions,
+	 * until the corresponding {@link #popActiveContextObject()} call.
+	 * @param variableId the local variable holding the active context object
+	 * @since 5.1.1
+	 * @see #nextFreeVariableId()
+	 */
+	public void pushActiveContextObject(int variableId) {
+		this.activeContextVariables.push(variableId);
+	}
+
+	/**
+	 * Make the root object the active context object again, e.g. for the evaluation
+	 * of an index expression, until the corresponding {@link #popActiveContextObject()}
+	 * call.
+	 * @since 5.1.1
+	 */
+	public void pushRootContextObject() {
+		this.activeContextVariables.push(ROOT_OBJECT_VARIABLE);
+	}
+
+	/**
+	 * Restore the previous active context object.
+	 * @since 5.1.1
+	 */
+	public void popActiveContextObject() {
+		this.activeContextVariables.pop();
 	}
 
 	/**
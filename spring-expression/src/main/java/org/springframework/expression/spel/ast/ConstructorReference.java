@@ -447,6 +447,13 @@ public class ConstructorReference extends SpelNodeImpl {
 				Modifier.isPublic(constructor.getDeclaringClass().getModifiers()));
 	}
 
+	@Override
+	@Nullable
+	public Object getCompilationKey() {
+		return (this.cachedExecutor instanceof ReflectiveConstructorExecutor ?
+				((ReflectiveConstructorExecutor) this.cachedExecutor).getConstructor() : null);
+	}
+
 	@Override
 	public void generateCode(MethodVisitor mv, CodeFlow cf) {
 		ReflectiveConstructorExecutor executor = ((ReflectiveConstructorExecutor) this.cachedExecutor);
@@ -183,6 +183,13 @@ public class FunctionReference extends SpelNodeImpl {
 		return true;
 	}
 
+	@Override
+	@Nullable
+	public Object getCompilationKey() {
+		// The registered function is specific to the evaluation context
+		return this.method;
+	}
+
 	@Override
 	public void generateCode(MethodVisitor mv, CodeFlow cf) {
 		Method method = this.method;
@@ -89,6 +89,10 @@ public class Indexer extends SpelNodeImpl {
 	@Nullable
 	private IndexedType indexedType;
 
+	// Indicates whether a map key had to be converted to the key type of the map,
+	// which compiled code does not do
+	private boolean mapKeyConverted;
+
 
 	public Indexer(int pos, SpelNodeImpl expr) {
 		super(pos, expr);
@@ -153,6 +157,7 @@ public class Indexer extends SpelNodeImpl {
 				key = state.convertValue(key, targetDescriptor.getMapKeyTypeDescriptor());
 			}
 			this.indexedType = IndexedType.MAP;
+			this.mapKeyConverted = (key != index);
 			return new MapIndexingValueRef(state.getTypeConverter(), (Map<?, ?>) target, key, targetDescriptor);
 		}
 
@@ -200,7 +205,8 @@ public class Indexer extends SpelNodeImpl {
 			return this.children[0].isCompilable();
 		}
 		else if (this.indexedType == IndexedType.MAP) {
-			return (this.children[0] instanceof PropertyOrFieldReference || this.children[0].isCompilable());
+			return (this.children[0] instanceof PropertyOrFieldReference ||
+					(!this.mapKeyConverted && this.children[0].isCompilable()));
 		}
 		else if (this.indexedType == IndexedType.OBJECT) {
 			// If the string name is changing the accessor is clearly going to change (so no compilation possible)
@@ -211,6 +217,16 @@ public class Indexer extends SpelNodeImpl {
 		return false;
 	}
 
+	@Override
+	@Nullable
+	public Object getCompilationKey() {
+		if (this.indexedType == IndexedType.OBJECT) {
+			return (this.cachedReadAccessor instanceof ReflectivePropertyAccessor.OptimalPropertyAccessor ?
+					((ReflectivePropertyAccessor.OptimalPropertyAccessor) this.cachedReadAccessor).member : null);
+		}
+		return "";
+	}
+
 	@Override
 	public void generateCode(MethodVisitor mv, CodeFlow cf) {
 		String descriptor = cf.lastDescriptor();
@@ -255,18 +271,13 @@ public class Indexer extends SpelNodeImpl {
 						//depthPlusOne(exitTypeDescriptor)+"Ljava/lang/Object;");
 				insn = AALOAD;
 			}
-			SpelNodeImpl index = this.children[0];
-			cf.enterCompilationScope();
-			index.generateCode(mv, cf);
-			cf.exitCompilationScope();
+			generateIndexCode(mv, cf, 'I');
 			mv.visitInsn(insn);
 		}
 
 		else if (this.indexedType == IndexedType.LIST) {
 			mv.visitTypeInsn(CHECKCAST, "java/util/List");
-			cf.enterCompilationScope();
-			this.children[0].generateCode(mv, cf);
-			cf.exitCompilationScope();
+			generateIndexCode(mv, cf, 'I');
 			mv.visitMethodInsn(INVOKEINTERFACE, "java/util/List", "get", "(I)Ljava/lang/Object;", true);
 		}
 
@@ -280,9 +291,7 @@ public class Indexer extends SpelNodeImpl {
 				mv.visitLdcInsn(mapKeyName);
 			}
 			else {
-				cf.enterCompilationScope();
-				this.children[0].generateCode(mv, cf);
-				cf.exitCompilationScope();
+				generateIndexCode(mv, cf, 'L');
 			}
 			mv.visitMethodInsn(
 					INVOKEINTERFACE, "java/util/Map", "get", "(Ljava/lang/Object;)Ljava/lang/Object;", true);
@@ -318,6 +327,28 @@ public class Indexer extends SpelNodeImpl {
 		cf.pushDescriptor(this.exitTypeDescriptor);
 	}
 
+	/**
+	 * Generate the code for the index expression, evaluated against the root object
+	 * like in {@link #getValueRef}, leaving either an int (for an {@code 'I'} target
+	 * descriptor) or an object reference (for {@code 'L'}) on the stack.
+	 */
+	private void generateIndexCode(MethodVisitor mv, CodeFlow cf, char targetDescriptor) {
+		cf.enterCompilationScope();
+		cf.pushRootContextObject();
+		this.children[0].generateCode(mv, cf);
+		String indexDescriptor = cf.lastDescriptor();
+		if (targetDescriptor == 'I') {
+			if (!"I".equals(indexDescriptor)) {
+				CodeFlow.insertNumericUnboxOrPrimitiveTypeCoercion(mv, indexDescriptor, 'I');
+			}
+		}
+		else {
+			CodeFlow.insertBoxIfNecessary(mv, indexDescriptor);
+		}
+		cf.popActiveContextObject();
+		cf.exitCompilationScope();
+	}
+
 	@Override
 	public String toStringAST() {
 		StringBuilder sb = new StringBuilder("[");
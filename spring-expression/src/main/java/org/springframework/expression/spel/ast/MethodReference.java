@@ -301,6 +301,14 @@ public class MethodReference extends SpelNodeImpl {
 		return true;
 	}
 
+	@Override
+	@Nullable
+	public Object getCompilationKey() {
+		CachedMethodExecutor executorToCheck = this.cachedExecutor;
+		return (executorToCheck != null && executorToCheck.get() instanceof ReflectiveMethodExecutor ?
+				((ReflectiveMethodExecutor) executorToCheck.get()).getMethod() : null);
+	}
+
 	@Override
 	public void generateCode(MethodVisitor mv, CodeFlow cf) {
 		CachedMethodExecutor executorToCheck = this.cachedExecutor;
@@ -29,6 +29,7 @@ import org.springframework.expression.spel.CodeFlow;
 import org.springframework.expression.spel.ExpressionState;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
 import org.springframework.util.NumberUtils;
 
 /**
@@ -127,13 +128,15 @@ public class OpPlus extends Operator {
 		}
 
 		if (leftOperand instanceof String) {
-			return new TypedValue(
-					leftOperand + (rightOperand == null ? "null" : convertTypedValueToString(operandTwoValue, state)));
+			String rightString = (rightOperand == null ? "null" : convertTypedValueToString(operandTwoValue, state));
+			this.exitTypeDescriptor = (isAppendable(rightOperand, rightString) ? "Ljava/lang/String" : null);
+			return new TypedValue(leftOperand + rightString);
 		}
 
 		if (rightOperand instanceof String) {
-			return new TypedValue(
-					(leftOperand == null ? "null" : convertTypedValueToString(operandOneValue, state)) + rightOperand);
+			String leftString = (leftOperand == null ? "null" : convertTypedValueToString(operandOneValue, state));
+			this.exitTypeDescriptor = (isAppendable(leftOperand, leftString) ? "Ljava/lang/String" : null);
+			return new TypedValue(leftString + rightOperand);
 		}
 
 		return state.operate(Operation.ADD, leftOperand, rightOperand);
@@ -172,6 +175,19 @@ public class OpPlus extends Operator {
 		return String.valueOf(value.getValue());
 	}
 
+	/**
+	 * Determine whether the given non-String operand of a String concatenation
+	 * can be appended to a {@code StringBuilder} in compiled code, i.e. whether
+	 * it is a primitive wrapper which has been converted to its plain
+	 * {@code toString()} representation.
+	 * @param operand the operand value
+	 * @param convertedOperand the operand as converted to a String
+	 */
+	private static boolean isAppendable(@Nullable Object operand, String convertedOperand) {
+		return (operand != null && ClassUtils.isPrimitiveWrapper(operand.getClass()) &&
+				convertedOperand.equals(operand.toString()));
+	}
+
 	@Override
 	public boolean isCompilable() {
 		if (!getLeftOperand().isCompilable()) {
@@ -190,7 +206,7 @@ public class OpPlus extends Operator {
 	 * them all to the same (on stack) StringBuilder.
 	 */
 	private void walk(MethodVisitor mv, CodeFlow cf, @Nullable SpelNodeImpl operand) {
-		if (operand instanceof OpPlus) {
+		if (operand instanceof OpPlus && "Ljava/lang/String".equals(operand.exitTypeDescriptor)) {
 			OpPlus plus = (OpPlus)operand;
 			walk(mv, cf, plus.getLeftOperand());
 			walk(mv, cf, plus.getRightOperand());
@@ -198,11 +214,23 @@ public class OpPlus extends Operator {
 		else if (operand != null) {
 			cf.enterCompilationScope();
 			operand.generateCode(mv,cf);
-			if (!"Ljava/lang/String".equals(cf.lastDescriptor())) {
-				mv.visitTypeInsn(CHECKCAST, "java/lang/String");
-			}
+			String operandDesc = cf.lastDescriptor();
 			cf.exitCompilationScope();
-			mv.visitMethodInsn(INVOKEVIRTUAL, "java/lang/StringBuilder", "append", "(Ljava/lang/String;)Ljava/lang/StringBuilder;", false);
+			String appendDesc;
+			if ("Ljava/lang/String".equals(operandDesc)) {
+				appendDesc = "Ljava/lang/String;";
+			}
+			else if (CodeFlow.isPrimitive(operandDesc)) {
+				// byte and short values are appended like int values
+				char primitive = operandDesc.charAt(0);
+				appendDesc = (primitive == 'B' || primitive == 'S' ? "I" : operandDesc);
+			}
+			else {
+				// Strings statically typed as Object as well as primitive wrappers
+				appendDesc = "Ljava/lang/Object;";
+			}
+			mv.visitMethodInsn(INVOKEVIRTUAL, "java/lang/StringBuilder", "append",
+					"(" + appendDesc + ")Ljava/lang/StringBuilder;", false);
 		}
 	}
 
@@ -88,6 +88,12 @@ public class OperatorInstanceof extends Operator {
 		return (this.exitTypeDescriptor != null && getLeftOperand().isCompilable());
 	}
 
+	@Override
+	@Nullable
+	public Object getCompilationKey() {
+		return this.type;
+	}
+
 	@Override
 	public void generateCode(MethodVisitor mv, CodeFlow cf) {
 		getLeftOperand().generateCode(mv, cf);
@@ -335,6 +335,14 @@ public class PropertyOrFieldReference extends SpelNodeImpl {
 				((CompilablePropertyAccessor) accessorToUse).isCompilable());
 	}
 
+	@Override
+	@Nullable
+	public Object getCompilationKey() {
+		PropertyAccessor accessorToUse = this.cachedReadAccessor;
+		return (accessorToUse instanceof ReflectivePropertyAccessor.OptimalPropertyAccessor ?
+				((ReflectivePropertyAccessor.OptimalPropertyAccessor) accessorToUse).member : null);
+	}
+
 	@Override
 	public void generateCode(MethodVisitor mv, CodeFlow cf) {
 		PropertyAccessor accessorToUse = this.cachedReadAccessor;
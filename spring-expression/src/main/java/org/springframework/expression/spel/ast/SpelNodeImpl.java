@@ -20,6 +20,7 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.Member;
 import java.lang.reflect.Method;
 
+import org.springframework.asm.Label;
 import org.springframework.asm.MethodVisitor;
 import org.springframework.asm.Opcodes;
 import org.springframework.expression.EvaluationException;
@@ -187,6 +188,24 @@ public abstract class SpelNodeImpl implements SpelNode, Opcodes {
 		throw new IllegalStateException(getClass().getName() +" has no generateCode(..) method");
 	}
 
+	/**
+	 * Return a key for the state that has been resolved against the evaluation context
+	 * and that the code generated for this node depends on, e.g. the method that a
+	 * method reference has been resolved to.
+	 * <p>The compiled form of an expression may only be shared between parsed instances
+	 * of that expression if all of their nodes return equal keys. The default
+	 * implementation returns an empty String, suitable for nodes whose generated code
+	 * only depends on their exit type descriptor and on their child nodes.
+	 * @return the key, or {@code null} if the generated code depends on context state
+	 * which cannot be identified by a key (e.g. a custom property accessor), in which
+	 * case the compiled form of the expression must not be shared
+	 * @since 5.1.1
+	 */
+	@Nullable
+	public Object getCompilationKey() {
+		return "";
+	}
+
 	@Nullable
 	public String getExitDescriptor() {
 		return this.exitTypeDescriptor;
@@ -235,6 +254,12 @@ public abstract class SpelNodeImpl implements SpelNode, Opcodes {
 			if (lastChild != null && arrayType.equals(lastChild.getExitDescriptor())) {
 				generateCodeForArgument(mv, cf, lastChild, paramDescriptors[p]);
 			}
+			else if (lastChild != null && childCount - p == 1 && CodeFlow.isReferenceTypeArray(arrayType) &&
+					isPossibleArray(lastChild.getExitDescriptor())) {
+				// A single argument which may be an array compatible with the varargs
+				// parameter (e.g. a String[] for Object...) - to be decided at runtime
+				generateCodeForPossibleVarargsArray(mv, cf, lastChild, arrayType);
+			}
 			else {
 				arrayType = arrayType.substring(1); // trim the leading '[', may leave other '['
 				// build array big enough to hold remaining arguments
@@ -258,6 +283,44 @@ public abstract class SpelNodeImpl implements SpelNode, Opcodes {
 		}
 	}
 
+	private static boolean isPossibleArray(@Nullable String descriptor) {
+		return (descriptor != null && (descriptor.startsWith("[") || descriptor.equals("Ljava/lang/Object")));
+	}
+
+	/**
+	 * Generate the bytecode for a single argument that satisfies a reference type
+	 * varargs parameter, passing it on as-is if it is an instance of the varargs
+	 * array type, like the Java compiler does, and packaging it into a new array
+	 * of length 1 otherwise.
+	 */
+	private static void generateCodeForPossibleVarargsArray(
+			MethodVisitor mv, CodeFlow cf, SpelNodeImpl argument, String arrayType) {
+
+		cf.enterCompilationScope();
+		argument.generateCode(mv, cf);
+		cf.exitCompilationScope();
+
+		Label packageIntoArray = new Label();
+		Label endOfArgument = new Label();
+		mv.visitInsn(DUP);
+		mv.visitTypeInsn(INSTANCEOF, arrayType + ";");
+		mv.visitJumpInsn(IFEQ, packageIntoArray);
+		CodeFlow.insertCheckCast(mv, arrayType);
+		mv.visitJumpInsn(GOTO, endOfArgument);
+
+		mv.visitLabel(packageIntoArray);
+		String elementType = arrayType.substring(1);
+		CodeFlow.insertCheckCast(mv, elementType);
+		CodeFlow.insertNewArrayCode(mv, 1, elementType);
+		// Stack: element, array -> array, array, 0, element
+		mv.visitInsn(DUP_X1);
+		mv.visitInsn(SWAP);
+		mv.visitInsn(ICONST_0);
+		mv.visitInsn(SWAP);
+		mv.visitInsn(AASTORE);
+		mv.visitLabel(endOfArgument);
+	}
+
 	/**
 	 * Ask an argument to generate its bytecode and then follow it up
 	 * with any boxing/unboxing/checkcasting to ensure it matches the expected parameter descriptor.
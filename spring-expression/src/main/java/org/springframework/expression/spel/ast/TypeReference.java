@@ -99,6 +99,12 @@ public class TypeReference extends SpelNodeImpl {
 		return (this.exitTypeDescriptor != null);
 	}
 
+	@Override
+	@Nullable
+	public Object getCompilationKey() {
+		return this.type;
+	}
+
 	@Override
 	public void generateCode(MethodVisitor mv, CodeFlow cf) {
 		// TODO Future optimization - if followed by a static method call, skip generating code here
@@ -18,6 +18,8 @@ package org.springframework.expression.spel.standard;
 
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -81,6 +83,10 @@ public final class SpelCompiler implements Opcodes {
 	// Counter suffix for generated classes within this SpelCompiler instance
 	private final AtomicInteger suffixId = new AtomicInteger(1);
 
+	// Compiled expressions shared between parsed instances of the same expression
+	private final Map<CompiledExpressionKey, CompiledExpression> compiledExpressionCache =
+			new ConcurrentReferenceHashMap<>(256);
+
 
 	private SpelCompiler(@Nullable ClassLoader classloader) {
 		this.ccl = new ChildClassLoader(classloader);
@@ -119,6 +125,65 @@ public final class SpelCompiler implements Opcodes {
 		return null;
 	}
 
+	/**
+	 * Attempt compilation of the supplied expression, reusing a compiled form
+	 * which has been created for another parsed instance of the same expression
+	 * before, provided that the same root object type and the same types for all
+	 * nodes of the expression have been observed during interpretation, and that
+	 * all nodes have been resolved to the same members (methods, constructors,
+	 * fields and registered functions). Expressions whose compiled form depends
+	 * on other state of the evaluation context, e.g. on custom property accessors,
+	 * are compiled individually.
+	 * @param expressionString the original expression string
+	 * @param expression the expression to compile
+	 * @param rootType the type of the root object that the expression has been
+	 * evaluated against (or {@code null} if none)
+	 * @return an instance of the class implementing the compiled expression,
+	 * or {@code null} if compilation is not possible
+	 * @since 5.1.1
+	 * @see #compile(SpelNodeImpl)
+	 */
+	@Nullable
+	public CompiledExpression compile(String expressionString, SpelNodeImpl expression, @Nullable Class<?> rootType) {
+		if (!expression.isCompilable()) {
+			return null;
+		}
+		CompiledExpressionKey key = CompiledExpressionKey.forExpression(expressionString, expression, rootType);
+		if (key == null) {
+			// Depends on state specific to the evaluation context: not to be shared
+			return compile(expression);
+		}
+		CompiledExpression compiledExpression = this.compiledExpressionCache.get(key);
+		if (compiledExpression == null) {
+			compiledExpression = compile(expression);
+			if (compiledExpression != null) {
+				this.compiledExpressionCache.put(key, compiledExpression);
+			}
+		}
+		return compiledExpression;
+	}
+
+	/**
+	 * Return the compiled form of the supplied expression if it has been created
+	 * for another parsed instance of the same expression already.
+	 * @param expressionString the original expression string
+	 * @param expression the expression to look up a compiled form for
+	 * @param rootType the type of the root object that the expression has been
+	 * evaluated against (or {@code null} if none)
+	 * @return the shared compiled expression, or {@code null} if none
+	 * @since 5.1.1
+	 */
+	@Nullable
+	CompiledExpression getSharedCompiledExpression(
+			String expressionString, SpelNodeImpl expression, @Nullable Class<?> rootType) {
+
+		if (this.compiledExpressionCache.isEmpty() || !expression.isCompilable()) {
+			return null;
+		}
+		CompiledExpressionKey key = CompiledExpressionKey.forExpression(expressionString, expression, rootType);
+		return (key != null ? this.compiledExpressionCache.get(key) : null);
+	}
+
 	private int getNextSuffix() {
 		return this.suffixId.incrementAndGet();
 	}
@@ -243,6 +308,85 @@ public final class SpelCompiler implements Opcodes {
 	}
 
 
+	/**
+	 * Cache key for a compiled expression: the expression string, the root object
+	 * type, the exit type descriptors of all nodes and the members that the nodes
+	 * have been resolved to, which determine the code generated for the expression.
+	 */
+	private static final class CompiledExpressionKey {
+
+		private final String expression;
+
+		@Nullable
+		private final Class<?> rootType;
+
+		private final String exitDescriptors;
+
+		private final List<Object> compilationKeys;
+
+		private CompiledExpressionKey(String expression, @Nullable Class<?> rootType,
+				String exitDescriptors, List<Object> compilationKeys) {
+
+			this.expression = expression;
+			this.rootType = rootType;
+			this.exitDescriptors = exitDescriptors;
+			this.compilationKeys = compilationKeys;
+		}
+
+		/**
+		 * Build the key for the given expression.
+		 * @return the key, or {@code null} if the code generated for the expression
+		 * depends on state which cannot be captured in a key
+		 */
+		@Nullable
+		public static CompiledExpressionKey forExpression(
+				String expression, SpelNodeImpl ast, @Nullable Class<?> rootType) {
+
+			StringBuilder sb = new StringBuilder();
+			List<Object> compilationKeys = new ArrayList<>();
+			if (!collect(ast, sb, compilationKeys)) {
+				return null;
+			}
+			return new CompiledExpressionKey(expression, rootType, sb.toString(), compilationKeys);
+		}
+
+		private static boolean collect(SpelNodeImpl node, StringBuilder sb, List<Object> compilationKeys) {
+			Object compilationKey = node.getCompilationKey();
+			if (compilationKey == null) {
+				return false;
+			}
+			compilationKeys.add(compilationKey);
+			sb.append(node.getExitDescriptor()).append('(');
+			for (int i = 0; i < node.getChildCount(); i++) {
+				if (!collect((SpelNodeImpl) node.getChild(i), sb, compilationKeys)) {
+					return false;
+				}
+			}
+			sb.append(')');
+			return true;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (this == other) {
+				return true;
+			}
+			if (!(other instanceof CompiledExpressionKey)) {
+				return false;
+			}
+			CompiledExpressionKey otherKey = (CompiledExpressionKey) other;
+			return (this.expression.equals(otherKey.expression) && this.rootType == otherKey.rootType &&
+					this.exitDescriptors.equals(otherKey.exitDescriptors) &&
+					this.compilationKeys.equals(otherKey.compilationKeys));
+		}
+
+		@Override
+		public int hashCode() {
+			return (this.expression.hashCode() * 29 + this.exitDescriptors.hashCode());
+		}
+	}
+
+
 	/**
 	 * A ChildClassLoader will load the generated compiled expression classes.
 	 */
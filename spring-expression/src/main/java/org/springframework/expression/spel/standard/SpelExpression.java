@@ -75,6 +75,10 @@ public class SpelExpression implements Expression {
 	// give up trying to compile it when it just doesn't seem to be possible.
 	private volatile int failedAttempts = 0;
 
+	// Whether a compiled form shared by another instance of the same expression
+	// has been looked for already - only done once, after the first interpretation
+	private volatile boolean sharedCompiledExpressionChecked = false;
+
 
 	/**
 	 * Construct an expression, only used by the parser.
@@ -476,15 +480,26 @@ public class SpelExpression implements Expression {
 		this.interpretedCount++;
 		SpelCompilerMode compilerMode = expressionState.getConfiguration().getCompilerMode();
 		if (compilerMode != SpelCompilerMode.OFF) {
+			Object rootObject = expressionState.getRootContextObject().getValue();
+			Class<?> rootType = (rootObject != null ? rootObject.getClass() : null);
 			if (compilerMode == SpelCompilerMode.IMMEDIATE) {
 				if (this.interpretedCount > 1) {
-					compileExpression();
+					compileExpression(true, rootType);
 				}
 			}
 			else {
 				// compilerMode = SpelCompilerMode.MIXED
 				if (this.interpretedCount > INTERPRETED_COUNT_THRESHOLD) {
-					compileExpression();
+					compileExpression(true, rootType);
+				}
+				else if (!this.sharedCompiledExpressionChecked) {
+					// No need to reach the threshold if another instance of the same
+					// expression has been compiled for the same types already
+					this.sharedCompiledExpressionChecked = true;
+					if (this.compiledAst == null && this.failedAttempts == 0) {
+						SpelCompiler compiler = SpelCompiler.getCompiler(this.configuration.getCompilerClassLoader());
+						this.compiledAst = compiler.getSharedCompiledExpression(this.expression, this.ast, rootType);
+					}
 				}
 			}
 		}
@@ -497,6 +512,18 @@ public class SpelExpression implements Expression {
 	 * no longer considered suitable for compilation.
 	 */
 	public boolean compileExpression() {
+		return compileExpression(false, null);
+	}
+
+	/**
+	 * Perform expression compilation, potentially sharing the compiled form with other
+	 * instances of the same expression which have been evaluated against the same
+	 * root object type.
+	 * @param shared whether to share the compiled form
+	 * @param rootType the type of the root object (or {@code null} if none)
+	 * @see SpelCompiler#compile(String, SpelNodeImpl, Class)
+	 */
+	private boolean compileExpression(boolean shared, @Nullable Class<?> rootType) {
 		if (this.failedAttempts > FAILED_ATTEMPTS_THRESHOLD) {
 			// Don't try again
 			return false;
@@ -508,7 +535,8 @@ public class SpelExpression implements Expression {
 					return true;
 				}
 				SpelCompiler compiler = SpelCompiler.getCompiler(this.configuration.getCompilerClassLoader());
-				this.compiledAst = compiler.compile(this.ast);
+				this.compiledAst = (shared ? compiler.compile(this.expression, this.ast, rootType) :
+						compiler.compile(this.ast));
 				if (this.compiledAst == null) {
 					this.failedAttempts++;
 				}
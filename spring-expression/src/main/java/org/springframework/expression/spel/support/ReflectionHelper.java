@@ -284,18 +284,21 @@ public abstract class ReflectionHelper {
 			MethodParameter methodParam = MethodParameter.forExecutable(executable, varargsPosition);
 			if (varargsPosition == arguments.length - 1) {
 				// If the target is varargs and there is just one more argument
-				// then convert it here
-				TypeDescriptor targetType = new TypeDescriptor(methodParam);
+				// then convert it here - unless it is an array that can be passed
+				// as the varargs array as-is (e.g. a String[] for Object...)
 				Object argument = arguments[varargsPosition];
-				TypeDescriptor sourceType = TypeDescriptor.forObject(argument);
-				arguments[varargsPosition] = converter.convertValue(argument, sourceType, targetType);
-				// Three outcomes of that previous line:
-				// 1) the input argument was already compatible (ie. array of valid type) and nothing was done
-				// 2) the input argument was correct type but not in an array so it was made into an array
-				// 3) the input argument was the wrong type and got converted and put into an array
-				if (argument != arguments[varargsPosition] &&
-						!isFirstEntryInArray(argument, arguments[varargsPosition])) {
-					conversionOccurred = true; // case 3
+				if (!methodParam.getParameterType().isInstance(argument)) {
+					TypeDescriptor targetType = new TypeDescriptor(methodParam);
+					TypeDescriptor sourceType = TypeDescriptor.forObject(argument);
+					arguments[varargsPosition] = converter.convertValue(argument, sourceType, targetType);
+					// Three outcomes of that previous line:
+					// 1) the input argument was already compatible (ie. array of valid type) and nothing was done
+					// 2) the input argument was correct type but not in an array so it was made into an array
+					// 3) the input argument was the wrong type and got converted and put into an array
+					if (argument != arguments[varargsPosition] &&
+							!isFirstEntryInArray(argument, arguments[varargsPosition])) {
+						conversionOccurred = true; // case 3
+					}
 				}
 			}
 			else {
@@ -347,8 +350,7 @@ public abstract class ReflectionHelper {
 
 		// Check if repackaging is needed...
 		if (parameterCount != args.length ||
-				requiredParameterTypes[parameterCount - 1] !=
-						(args[argumentCount - 1] != null ? args[argumentCount - 1].getClass() : null)) {
+				!requiredParameterTypes[parameterCount - 1].isInstance(args[argumentCount - 1])) {
 
 			int arraySize = 0;  // zero size array if nothing to pass as the varargs parameter
 			if (argumentCount >= parameterCount) {
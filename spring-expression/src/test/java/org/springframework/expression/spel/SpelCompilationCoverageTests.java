@@ -104,6 +104,8 @@ public class SpelCompilationCoverageTests extends AbstractExpressionTests {
 	 * FunctionReference
 	 * InlineList
 	 * OpModulus
+	 * Projection (on collections)
+	 * Selection (on collections)
 	 *
 	 * Not yet compiled (some may never need to be):
 	 * Assign
@@ -114,9 +116,7 @@ public class SpelCompilationCoverageTests extends AbstractExpressionTests {
 	 * OpMatches
 	 * OpPower
 	 * OpInc
-	 * Projection
 	 * QualifiedId
-	 * Selection
 	 */
 
 
@@ -905,6 +905,14 @@ public class SpelCompilationCoverageTests extends AbstractExpressionTests {
 		assertEquals(42,i);
 	}
 
+	public static String functionA(String s) {
+		return "A:" + s;
+	}
+
+	public static String functionB(String s) {
+		return "B:" + s;
+	}
+
 	public static String concat(String a, String b) {
 		return a+b;
 	}
@@ -1112,12 +1120,11 @@ public class SpelCompilationCoverageTests extends AbstractExpressionTests {
 		assertCanCompile(expression);
 		assertEquals("xyz", expression.getValue(context, new SomeCompareMethod2()).toString());
 
-		// TODO fails due to conversionservice handling of String[] to Object...
-		//	expression = parser.parseExpression("#append2(#stringArray)");
-		//	assertEquals("xyz", expression.getValue(context).toString());
-		//	assertTrue(((SpelNodeImpl)((SpelExpression) expression).getAST()).isCompilable());
-		//	assertCanCompile(expression);
-		//	assertEquals("xyz", expression.getValue(context).toString());
+		expression = parser.parseExpression("#append2(#stringArray)");
+		assertEquals("xyz", expression.getValue(context).toString());
+		assertTrue(((SpelNodeImpl)((SpelExpression) expression).getAST()).isCompilable());
+		assertCanCompile(expression);
+		assertEquals("xyz", expression.getValue(context).toString());
 
 		expression = parser.parseExpression("#sum(1,2,3)");
 		assertEquals(6, expression.getValue(context));
@@ -2371,6 +2378,25 @@ public class SpelCompilationCoverageTests extends AbstractExpressionTests {
 		// Three strings, optimal bytecode would only use one StringBuilder
 		expression = parse("'hello' + 3 + ' spring'");
 		assertEquals("hello3 spring", expression.getValue(new Greeter()));
+		assertCanCompile(expression);
+		assertEquals("hello3 spring", expression.getValue(new Greeter()));
+
+		// Boxed and primitive operands
+		expression = parse("'a' + 2L + true + 1.5d + 'b'.charAt(0) + 4.5f + (1 + 2)");
+		assertEquals("a2true1.5b4.53", expression.getValue());
+		assertCanCompile(expression);
+		assertEquals("a2true1.5b4.53", expression.getValue());
+
+		expression = parse("1 + 2 + 'a' + #x");
+		StandardEvaluationContext context = new StandardEvaluationContext();
+		context.setVariable("x", 42);
+		assertEquals("3a42", expression.getValue(context));
+		assertCanCompile(expression);
+		assertEquals("3a42", expression.getValue(context));
+
+		// A null operand is not compiled
+		expression = parse("'a' + #y");
+		assertEquals("anull", expression.getValue(context));
 		assertCantCompile(expression);
 
 		expression = parse("object + 'a'");
@@ -3617,16 +3643,27 @@ public class SpelCompilationCoverageTests extends AbstractExpressionTests {
 		assertEquals("aaabbbccc", tc.s);
 		tc.reset();
 
-		// TODO Fails related to conversion service converting a String[] to satisfy Object...
-//		expression = parser.parseExpression("sixteen(stringArray)");
-//		assertCantCompile(expression);
-//		expression.getValue(tc);
-//		assertEquals("aaabbbccc", tc.s);
-//		assertCanCompile(expression);
-//		tc.reset();
-//		expression.getValue(tc);
-//		assertEquals("aaabbbccc", tc.s);
-//		tc.reset();
+		expression = parser.parseExpression("sixteen(stringArray)");
+		assertCantCompile(expression);
+		expression.getValue(tc);
+		assertEquals("aaabbbccc", tc.s);
+		assertCanCompile(expression);
+		tc.reset();
+		expression.getValue(tc);
+		assertEquals("aaabbbccc", tc.s);
+		tc.reset();
+
+		// Statically typed as Object, passed as-is or packaged into an array at runtime
+		expression = parser.parseExpression("sixteen(#x)");
+		StandardEvaluationContext context = new StandardEvaluationContext(tc);
+		context.setVariable("x", "aaa");
+		expression.getValue(context);
+		assertEquals("aaa", tc.s);
+		assertCanCompile(expression);
+		tc.reset();
+		expression.getValue(context);
+		assertEquals("aaa", tc.s);
+		tc.reset();
 
 		// varargs int
 		expression = parser.parseExpression("twelve(1,2,3)");
@@ -5019,6 +5056,236 @@ public class SpelCompilationCoverageTests extends AbstractExpressionTests {
 		assertIsCompiled(exp);
 	}
 
+	@Test
+	public void projection() throws Exception {
+		List<String> list = new ArrayList<>();
+		list.add("a");
+		list.add("bb");
+		list.add("ccc");
+
+		expression = parser.parseExpression("![length()]");
+		assertEquals("[1, 2, 3]", expression.getValue(list).toString());
+		assertCanCompile(expression);
+		assertEquals("[1, 2, 3]", expression.getValue(list).toString());
+
+		expression = parser.parseExpression("![#this + '!']");
+		assertEquals("[a!, bb!, ccc!]", expression.getValue(list).toString());
+		assertCanCompile(expression);
+		assertEquals("[a!, bb!, ccc!]", expression.getValue(list).toString());
+
+		// Nested projection
+		expression = parser.parseExpression("![{'x', 'y'}.![concat(#this)]]");
+		assertEquals("[[xx, yy], [xx, yy], [xx, yy]]", expression.getValue(list).toString());
+		assertCanCompile(expression);
+		assertEquals("[[xx, yy], [xx, yy], [xx, yy]]", expression.getValue(list).toString());
+
+		// Root object within a projection
+		expression = parser.parseExpression("![#root.size() + length()]");
+		assertEquals("[4, 5, 6]", expression.getValue(list).toString());
+		assertCanCompile(expression);
+		assertEquals("[4, 5, 6]", expression.getValue(list).toString());
+
+		StandardEvaluationContext context = new StandardEvaluationContext();
+		context.setVariable("list", list);
+		expression = parser.parseExpression("#list?.![toUpperCase()]");
+		assertEquals("[A, BB, CCC]", expression.getValue(context).toString());
+		assertCanCompile(expression);
+		assertEquals("[A, BB, CCC]", expression.getValue(context).toString());
+		context.setVariable("list", null);
+		assertNull(expression.getValue(context));
+
+		// Projection on a map
+		Map<String, Integer> map = new HashMap<>();
+		map.put("a", 1);
+		expression = parser.parseExpression("![key]");
+		assertEquals("[a]", expression.getValue(map).toString());
+		assertCantCompile(expression);
+	}
+
+	@Test
+	public void selection() throws Exception {
+		List<String> list = new ArrayList<>();
+		list.add("a");
+		list.add("bb");
+		list.add("ccc");
+		list.add("dd");
+
+		expression = parser.parseExpression("?[length() == 2]");
+		assertEquals("[bb, dd]", expression.getValue(list).toString());
+		assertCanCompile(expression);
+		assertEquals("[bb, dd]", expression.getValue(list).toString());
+
+		expression = parser.parseExpression("^[length() == 2]");
+		assertEquals("bb", expression.getValue(list));
+		assertCanCompile(expression);
+		assertEquals("bb", expression.getValue(list));
+
+		expression = parser.parseExpression("$[length() == 2]");
+		assertEquals("dd", expression.getValue(list));
+		assertCanCompile(expression);
+		assertEquals("dd", expression.getValue(list));
+
+		expression = parser.parseExpression("^[length() == 4]");
+		assertNull(expression.getValue(list));
+		assertCanCompile(expression);
+		assertNull(expression.getValue(list));
+
+		// Selection criteria with a boxed result
+		expression = parser.parseExpression("?[#this.equals('a')]?.![#this.toUpperCase()]");
+		assertEquals("[A]", expression.getValue(list).toString());
+		assertCanCompile(expression);
+		assertEquals("[A]", expression.getValue(list).toString());
+
+		// Selection on a map
+		Map<String, Integer> map = new HashMap<>();
+		map.put("a", 1);
+		expression = parser.parseExpression("?[value == 1]");
+		assertEquals("{a=1}", expression.getValue(map).toString());
+		assertCantCompile(expression);
+	}
+
+	@Test
+	public void indexerWithNonLiteralKeys() throws Exception {
+		RecordHolder holder = new RecordHolder();
+		holder.add("abc", 3L);
+		StandardEvaluationContext context = new StandardEvaluationContext(holder);
+		context.setVariable("key", "abc");
+
+		expression = parser.parseExpression("record[#key]");
+		assertEquals(3L, expression.getValue(context));
+		assertCanCompile(expression);
+		assertEquals(3L, expression.getValue(context));
+
+		// Key evaluated against the root object rather than the map
+		expression = parser.parseExpression("record[get('abc') > 2L ? 'abc' : 'xyz']");
+		assertEquals(3L, expression.getValue(context));
+		assertCanCompile(expression);
+		assertEquals(3L, expression.getValue(context));
+
+		// Primitive key
+		Map<Integer, String> map = new HashMap<>();
+		map.put(2, "two");
+		expression = parser.parseExpression("#this[1 + 1]");
+		assertEquals("two", expression.getValue(map));
+		assertCanCompile(expression);
+		assertEquals("two", expression.getValue(map));
+
+		// Key converted to the declared key type of the map
+		context.setVariable("key", 3);
+		expression = parser.parseExpression("record[#key]");
+		assertNull(expression.getValue(context));
+		assertCantCompile(expression);
+	}
+
+	@Test
+	public void sharedCompiledExpression() throws Exception {
+		SpelParserConfiguration configuration = new SpelParserConfiguration(SpelCompilerMode.MIXED, null);
+		SpelExpressionParser mixedParser = new SpelExpressionParser(configuration);
+		Greeter greeter = new Greeter();
+
+		Expression first = mixedParser.parseExpression("world.length() + 42");
+		for (int i = 0; i < 101; i++) {
+			assertEquals(47, first.getValue(greeter));
+		}
+		assertIsCompiled(first);
+
+		// Another instance of the same expression adopts the compiled form right away
+		Expression second = mixedParser.parseExpression("world.length() + 42");
+		assertEquals(47, second.getValue(greeter));
+		assertEquals(47, second.getValue(greeter));
+		assertIsCompiled(second);
+
+		// ... but not for a different root object type
+		Expression third = mixedParser.parseExpression("world.length() + 42");
+		assertEquals(47, third.getValue(new Object() {
+			public String getWorld() {
+				return "hello";
+			}
+		}));
+		Field field = SpelExpression.class.getDeclaredField("compiledAst");
+		field.setAccessible(true);
+		assertNull(field.get(third));
+	}
+
+	@Test
+	public void sharedCompiledExpressionNotReusedForDifferentFunction() throws Exception {
+		SpelParserConfiguration configuration = new SpelParserConfiguration(SpelCompilerMode.IMMEDIATE, null);
+		SpelExpressionParser immediateParser = new SpelExpressionParser(configuration);
+
+		StandardEvaluationContext ctx1 = new StandardEvaluationContext();
+		ctx1.registerFunction("fn", getClass().getDeclaredMethod("functionA", String.class));
+		Expression first = immediateParser.parseExpression("#fn('x')");
+		for (int i = 0; i < 3; i++) {
+			assertEquals("A:x", first.getValue(ctx1));
+		}
+		assertIsCompiled(first);
+
+		StandardEvaluationContext ctx2 = new StandardEvaluationContext();
+		ctx2.registerFunction("fn", getClass().getDeclaredMethod("functionB", String.class));
+		Expression second = immediateParser.parseExpression("#fn('x')");
+		for (int i = 0; i < 3; i++) {
+			assertEquals("B:x", second.getValue(ctx2));
+		}
+		assertIsCompiled(second);
+		assertEquals("A:x", first.getValue(ctx1));
+	}
+
+	@Test
+	public void sharedCompiledExpressionNotReusedForDifferentType() throws Exception {
+		SpelParserConfiguration configuration = new SpelParserConfiguration(SpelCompilerMode.IMMEDIATE, null);
+		SpelExpressionParser immediateParser = new SpelExpressionParser(configuration);
+
+		StandardEvaluationContext ctx1 = new StandardEvaluationContext();
+		ctx1.setTypeLocator(typeName -> String.class);
+		Expression first = immediateParser.parseExpression("'x' instanceof T(Widget)");
+		Expression firstType = immediateParser.parseExpression("T(Widget)");
+		for (int i = 0; i < 3; i++) {
+			assertEquals(true, first.getValue(ctx1));
+			assertEquals(String.class, firstType.getValue(ctx1));
+		}
+		assertIsCompiled(first);
+		assertIsCompiled(firstType);
+
+		StandardEvaluationContext ctx2 = new StandardEvaluationContext();
+		ctx2.setTypeLocator(typeName -> Integer.class);
+		Expression second = immediateParser.parseExpression("'x' instanceof T(Widget)");
+		Expression secondType = immediateParser.parseExpression("T(Widget)");
+		for (int i = 0; i < 3; i++) {
+			assertEquals(false, second.getValue(ctx2));
+			assertEquals(Integer.class, secondType.getValue(ctx2));
+		}
+		assertIsCompiled(second);
+		assertIsCompiled(secondType);
+		assertEquals(true, first.getValue(ctx1));
+		assertEquals(String.class, firstType.getValue(ctx1));
+	}
+
+	@Test
+	public void sharedCompiledExpressionNotReusedForCustomPropertyAccessor() throws Exception {
+		SpelParserConfiguration configuration = new SpelParserConfiguration(SpelCompilerMode.IMMEDIATE, null);
+		SpelExpressionParser immediateParser = new SpelExpressionParser(configuration);
+		Map<String, String> map = new HashMap<>();
+		map.put("world", "hello");
+
+		StandardEvaluationContext ctx = new StandardEvaluationContext(map);
+		ctx.addPropertyAccessor(new CompilableMapAccessor());
+		Expression first = immediateParser.parseExpression("world");
+		for (int i = 0; i < 3; i++) {
+			assertEquals("hello", first.getValue(ctx));
+		}
+		assertIsCompiled(first);
+
+		// Compiled individually rather than sharing the compiled form of the first instance
+		Expression second = immediateParser.parseExpression("world");
+		for (int i = 0; i < 3; i++) {
+			assertEquals("hello", second.getValue(ctx));
+		}
+		assertIsCompiled(second);
+		Field field = SpelExpression.class.getDeclaredField("compiledAst");
+		field.setAccessible(true);
+		assertNotSame(field.get(first), field.get(second));
+	}
+
 	@Test
 	public void repeatedCompilation() throws Exception {
 		// Verifying that after a number of compilations, the classloaders
@@ -17,14 +17,15 @@
 package org.springframework.messaging.simp.broker;
 
 import java.util.Collection;
-import java.util.HashSet;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.Expression;
@@ -249,110 +250,133 @@ public class DefaultSubscriptionRegistry extends AbstractSubscriptionRegistry {
 	/**
 	 * A cache for destinations previously resolved via
 	 * {@link DefaultSubscriptionRegistry#findSubscriptionsInternal(String, Message)}.
+	 * <p>Look-ups do not lock: each destination is resolved at most once through
+	 * {@link ConcurrentHashMap#computeIfAbsent}, and subsequent subscription changes
+	 * replace the affected entries with updated copies. A resolution which overlaps
+	 * with a subscription change is invalidated right after it has been cached,
+	 * since the change may have missed the entry while it was being computed.
+	 * Destinations without subscriptions are cached as well, as empty entries
+	 * which get updated like any other. Entries are evicted in the order of their
+	 * resolution once the {@link #getCacheLimit() cache limit} is exceeded.
 	 */
 	private class DestinationCache {
 
 		/** Map from destination to {@code <sessionId, subscriptionId>} for fast look-ups. */
-		private final Map<String, LinkedMultiValueMap<String, String>> accessCache =
+		private final ConcurrentMap<String, LinkedMultiValueMap<String, String>> accessCache =
 				new ConcurrentHashMap<>(DEFAULT_CACHE_LIMIT);
 
-		/** Map from destination to {@code <sessionId, subscriptionId>} with locking. */
-		@SuppressWarnings("serial")
-		private final Map<String, LinkedMultiValueMap<String, String>> updateCache =
-				new LinkedHashMap<String, LinkedMultiValueMap<String, String>>(DEFAULT_CACHE_LIMIT, 0.75f, true) {
-					@Override
-					protected boolean removeEldestEntry(Map.Entry<String, LinkedMultiValueMap<String, String>> eldest) {
-						if (size() > getCacheLimit()) {
-							accessCache.remove(eldest.getKey());
-							return true;
-						}
-						else {
-							return false;
-						}
-					}
-				};
+		/** Resolved destinations in the order of resolution, for eviction purposes. */
+		private final Queue<String> evictionQueue = new ConcurrentLinkedQueue<>();
+
+		private final AtomicInteger cacheSize = new AtomicInteger();
+
+		/** Incremented on every subscription change, before updating cached entries. */
+		private final AtomicInteger updateVersion = new AtomicInteger();
 
 
 		public LinkedMultiValueMap<String, String> getSubscriptions(String destination, Message<?> message) {
 			LinkedMultiValueMap<String, String> result = this.accessCache.get(destination);
 			if (result == null) {
-				synchronized (this.updateCache) {
-					result = new LinkedMultiValueMap<>();
-					for (SessionSubscriptionInfo info : subscriptionRegistry.getAllSubscriptions()) {
-						for (String destinationPattern : info.getDestinations()) {
-							if (getPathMatcher().match(destinationPattern, destination)) {
-								for (Subscription sub : info.getSubscriptions(destinationPattern)) {
-									result.add(info.sessionId, sub.getId());
-								}
-							}
+				int version = this.updateVersion.get();
+				result = this.accessCache.computeIfAbsent(destination, key -> {
+					LinkedMultiValueMap<String, String> matches = computeMatchingSubscriptions(destination);
+					// Add to the queue first, so that the cache size never exceeds the queue size
+					this.evictionQueue.add(destination);
+					this.cacheSize.incrementAndGet();
+					return matches;
+				});
+				if (this.updateVersion.get() != version) {
+					// A concurrent subscription change may not have seen the entry yet
+					invalidate(destination, result);
+				}
+				ensureCacheLimit();
+			}
+			return result;
+		}
+
+		private LinkedMultiValueMap<String, String> computeMatchingSubscriptions(String destination) {
+			LinkedMultiValueMap<String, String> result = new LinkedMultiValueMap<>();
+			for (SessionSubscriptionInfo info : subscriptionRegistry.getAllSubscriptions()) {
+				for (String destinationPattern : info.getDestinations()) {
+					if (getPathMatcher().match(destinationPattern, destination)) {
+						for (Subscription sub : info.getSubscriptions(destinationPattern)) {
+							result.add(info.sessionId, sub.getId());
 						}
 					}
-					if (!result.isEmpty()) {
-						this.updateCache.put(destination, result.deepCopy());
-						this.accessCache.put(destination, result);
-					}
 				}
 			}
 			return result;
 		}
 
+		private void invalidate(String destination, LinkedMultiValueMap<String, String> entry) {
+			// Keep the eviction queue and the cache size in line with the cache,
+			// unless the entry is being evicted concurrently
+			if (this.accessCache.remove(destination, entry) && this.evictionQueue.remove(destination)) {
+				this.cacheSize.decrementAndGet();
+			}
+		}
+
+		private void ensureCacheLimit() {
+			int size = this.cacheSize.get();
+			while (size > getCacheLimit()) {
+				if (this.cacheSize.compareAndSet(size, size - 1)) {
+					String destination = this.evictionQueue.poll();
+					if (destination != null) {
+						this.accessCache.remove(destination);
+					}
+				}
+				size = this.cacheSize.get();
+			}
+		}
+
 		public void updateAfterNewSubscription(String destination, String sessionId, String subsId) {
-			synchronized (this.updateCache) {
-				this.updateCache.forEach((cachedDestination, subscriptions) -> {
-					if (getPathMatcher().match(destination, cachedDestination)) {
+			this.updateVersion.incrementAndGet();
+			for (String cachedDestination : this.accessCache.keySet()) {
+				if (getPathMatcher().match(destination, cachedDestination)) {
+					this.accessCache.computeIfPresent(cachedDestination, (key, subscriptions) -> {
 						// Subscription id's may also be populated via getSubscriptions()
 						List<String> subsForSession = subscriptions.get(sessionId);
-						if (subsForSession == null || !subsForSession.contains(subsId)) {
-							subscriptions.add(sessionId, subsId);
-							this.accessCache.put(cachedDestination, subscriptions.deepCopy());
+						if (subsForSession != null && subsForSession.contains(subsId)) {
+							return subscriptions;
 						}
-					}
-				});
+						LinkedMultiValueMap<String, String> updated = subscriptions.deepCopy();
+						updated.add(sessionId, subsId);
+						return updated;
+					});
+				}
 			}
 		}
 
 		public void updateAfterRemovedSubscription(String sessionId, String subsId) {
-			synchronized (this.updateCache) {
-				Set<String> destinationsToRemove = new HashSet<>();
-				this.updateCache.forEach((destination, sessionMap) -> {
+			this.updateVersion.incrementAndGet();
+			for (String destination : this.accessCache.keySet()) {
+				this.accessCache.computeIfPresent(destination, (key, sessionMap) -> {
 					List<String> subscriptions = sessionMap.get(sessionId);
-					if (subscriptions != null) {
-						subscriptions.remove(subsId);
-						if (subscriptions.isEmpty()) {
-							sessionMap.remove(sessionId);
-						}
-						if (sessionMap.isEmpty()) {
-							destinationsToRemove.add(destination);
-						}
-						else {
-							this.accessCache.put(destination, sessionMap.deepCopy());
-						}
+					if (subscriptions == null || !subscriptions.contains(subsId)) {
+						return sessionMap;
+					}
+					LinkedMultiValueMap<String, String> updated = sessionMap.deepCopy();
+					List<String> updatedSubscriptions = updated.get(sessionId);
+					updatedSubscriptions.remove(subsId);
+					if (updatedSubscriptions.isEmpty()) {
+						updated.remove(sessionId);
 					}
+					return updated;
 				});
-				for (String destination : destinationsToRemove) {
-					this.updateCache.remove(destination);
-					this.accessCache.remove(destination);
-				}
 			}
 		}
 
 		public void updateAfterRemovedSession(SessionSubscriptionInfo info) {
-			synchronized (this.updateCache) {
-				Set<String> destinationsToRemove = new HashSet<>();
-				this.updateCache.forEach((destination, sessionMap) -> {
-					if (sessionMap.remove(info.getSessionId()) != null) {
-						if (sessionMap.isEmpty()) {
-							destinationsToRemove.add(destination);
-						}
-						else {
-							this.accessCache.put(destination, sessionMap.deepCopy());
-						}
+			this.updateVersion.incrementAndGet();
+			for (String destination : this.accessCache.keySet()) {
+				this.accessCache.computeIfPresent(destination, (key, sessionMap) -> {
+					if (!sessionMap.containsKey(info.getSessionId())) {
+						return sessionMap;
 					}
+					LinkedMultiValueMap<String, String> updated = sessionMap.deepCopy();
+					updated.remove(info.getSessionId());
+					return updated;
 				});
-				for (String destination : destinationsToRemove) {
-					this.updateCache.remove(destination);
-					this.accessCache.remove(destination);
-				}
 			}
 		}
 
@@ -21,6 +21,10 @@ import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.Test;
 
@@ -28,10 +32,12 @@ import org.springframework.messaging.Message;
 import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
 import org.springframework.messaging.simp.SimpMessageType;
 import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.AntPathMatcher;
 import org.springframework.util.MultiValueMap;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
 /**
  * Test fixture for
@@ -439,6 +445,99 @@ public class DefaultSubscriptionRegistryTests {
 		assertEquals(2, this.registry.findSubscriptions(createMessage("/bar")).size());
 	}
 
+	@Test
+	public void cachedDestinationWithoutSubscriptions() {
+		assertEquals(0, this.registry.findSubscriptions(createMessage("/foo")).size());
+
+		this.registry.registerSubscription(subscribeMessage("sess1", "1", "/foo"));
+		this.registry.registerSubscription(subscribeMessage("sess2", "1", "/**"));
+		assertEquals(2, this.registry.findSubscriptions(createMessage("/foo")).size());
+
+		this.registry.unregisterSubscription(unsubscribeMessage("sess1", "1"));
+		this.registry.unregisterAllSubscriptions("sess2");
+		assertEquals(0, this.registry.findSubscriptions(createMessage("/foo")).size());
+	}
+
+	@Test
+	public void subscriptionAddedWhileResolvingDestination() throws Exception {
+		CountDownLatch resolving = new CountDownLatch(1);
+		CountDownLatch subscribed = new CountDownLatch(1);
+		AtomicReference<Thread> blockedThread = new AtomicReference<>();
+		this.registry.setPathMatcher(new AntPathMatcher() {
+			@Override
+			public boolean match(String pattern, String path) {
+				if (Thread.currentThread() == blockedThread.get()) {
+					resolving.countDown();
+					try {
+						subscribed.await(5, TimeUnit.SECONDS);
+					}
+					catch (InterruptedException ex) {
+						Thread.currentThread().interrupt();
+					}
+				}
+				return super.match(pattern, path);
+			}
+		});
+		this.registry.registerSubscription(subscribeMessage("sess1", "1", "/foo"));
+
+		Thread lookup = new Thread(() -> this.registry.findSubscriptions(createMessage("/foo")));
+		blockedThread.set(lookup);
+		lookup.start();
+		assertTrue(resolving.await(5, TimeUnit.SECONDS));
+
+		// Subscribe while the lookup is computing the (not yet visible) cache entry
+		this.registry.registerSubscription(subscribeMessage("sess2", "1", "/foo"));
+		subscribed.countDown();
+		lookup.join(5000);
+
+		MultiValueMap<String, String> actual = this.registry.findSubscriptions(createMessage("/foo"));
+		assertEquals(2, actual.size());
+		assertEquals(Collections.singletonList("1"), actual.get("sess2"));
+	}
+
+	@Test
+	public void invalidatedDestinationNotCountedTowardsCacheLimit() throws Exception {
+		CountDownLatch resolving = new CountDownLatch(1);
+		CountDownLatch subscribed = new CountDownLatch(1);
+		AtomicReference<Thread> blockedThread = new AtomicReference<>();
+		AtomicInteger fooResolutions = new AtomicInteger();
+		this.registry.setCacheLimit(2);
+		this.registry.setPathMatcher(new AntPathMatcher() {
+			@Override
+			public boolean match(String pattern, String path) {
+				if (Thread.currentThread() == blockedThread.get()) {
+					resolving.countDown();
+					try {
+						subscribed.await(5, TimeUnit.SECONDS);
+					}
+					catch (InterruptedException ex) {
+						Thread.currentThread().interrupt();
+					}
+				}
+				if (path.equals("/foo")) {
+					fooResolutions.incrementAndGet();
+				}
+				return super.match(pattern, path);
+			}
+		});
+		this.registry.registerSubscription(subscribeMessage("sess1", "1", "/foo"));
+
+		Thread lookup = new Thread(() -> this.registry.findSubscriptions(createMessage("/foo")));
+		blockedThread.set(lookup);
+		lookup.start();
+		assertTrue(resolving.await(5, TimeUnit.SECONDS));
+		this.registry.registerSubscription(subscribeMessage("sess2", "1", "/bar"));
+		subscribed.countDown();
+		lookup.join(5000);
+
+		// The invalidated entry must not take up a place in the cache
+		assertEquals(1, this.registry.findSubscriptions(createMessage("/foo")).size());
+		assertEquals(1, this.registry.findSubscriptions(createMessage("/bar")).size());
+		fooResolutions.set(0);
+		assertEquals(1, this.registry.findSubscriptions(createMessage("/foo")).size());
+		assertEquals(0, fooResolutions.get());
+	}
+
 	private Message<?> createMessage(String destination) {
 		SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create();
 		accessor.setDestination(destination);
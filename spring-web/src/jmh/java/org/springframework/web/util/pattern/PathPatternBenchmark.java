@@ -0,0 +1,128 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.util.pattern;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.springframework.http.server.PathContainer;
+import org.springframework.util.AntPathMatcher;
+
+/**
+ * Benchmarks for {@link PathPattern} matching, side by side with
+ * {@link AntPathMatcher} for the same set of request mapping patterns.
+ */
+@BenchmarkMode(Mode.Throughput)
+public class PathPatternBenchmark {
+
+	@Benchmark
+	public void matchAllPathPatterns(BenchmarkState state, Blackhole bh) {
+		PathContainer path = PathContainer.parsePath(state.path);
+		for (PathPattern pattern : state.pathPatterns) {
+			bh.consume(pattern.matches(path));
+		}
+	}
+
+	@Benchmark
+	public void matchAllPathPatternsPreParsed(BenchmarkState state, Blackhole bh) {
+		for (PathPattern pattern : state.pathPatterns) {
+			bh.consume(pattern.matches(state.parsedPath));
+		}
+	}
+
+	@Benchmark
+	public void matchAllPathPatternsCompiled(BenchmarkState state, Blackhole bh) {
+		for (PathPattern pattern : state.compiledPathPatterns) {
+			bh.consume(pattern.matches(state.parsedPath));
+		}
+	}
+
+	@Benchmark
+	public void matchAndExtractAllPathPatterns(BenchmarkState state, Blackhole bh) {
+		for (PathPattern pattern : state.pathPatterns) {
+			bh.consume(pattern.matchAndExtract(state.parsedPath));
+		}
+	}
+
+	@Benchmark
+	public void matchAllAntPatterns(BenchmarkState state, Blackhole bh) {
+		for (String pattern : state.patterns) {
+			bh.consume(state.antPathMatcher.match(pattern, state.path));
+		}
+	}
+
+	@Benchmark
+	public PathPattern parsePattern(BenchmarkState state) {
+		return state.parser.parse("/api/{version}/customers/{customerId}/orders/{orderId}");
+	}
+
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		@Param({"/api/v1/customers/42/orders/1337", "/api/v1/unknown/path/segment"})
+		public String path;
+
+		public PathContainer parsedPath;
+
+		public String[] patterns;
+
+		public List<PathPattern> pathPatterns;
+
+		public List<PathPattern> compiledPathPatterns;
+
+		public PathPatternParser parser;
+
+		public AntPathMatcher antPathMatcher;
+
+		@Setup
+		public void setup() {
+			this.parsedPath = PathContainer.parsePath(this.path);
+			this.patterns = new String[] {
+					"/api/v1/orders/search",
+					"/api/v1/customers",
+					"/api/v1/customers/{customerId}",
+					"/api/v1/customers/{customerId}/orders",
+					"/api/{version}/customers/{customerId}/orders/{orderId}",
+					"/api/v1/products/{id:[0-9]+}",
+					"/api/v1/products/*.json",
+					"/static/**"};
+			this.parser = new PathPatternParser();
+			this.pathPatterns = new ArrayList<>(this.patterns.length);
+			for (String pattern : this.patterns) {
+				this.pathPatterns.add(this.parser.parse(pattern));
+			}
+			PathPatternParser compilingParser = new PathPatternParser();
+			compilingParser.setCompiledMatching(true);
+			this.compiledPathPatterns = new ArrayList<>(this.patterns.length);
+			for (String pattern : this.patterns) {
+				this.compiledPathPatterns.add(compilingParser.parse(pattern));
+			}
+			this.antPathMatcher = new AntPathMatcher();
+		}
+	}
+
+}
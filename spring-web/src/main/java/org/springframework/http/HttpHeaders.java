@@ -29,6 +29,9 @@ import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
 import java.util.ArrayList;
 import java.util.Base64;
 import java.util.Collection;
@@ -36,7 +39,6 @@ import java.util.Collections;
 import java.util.EnumSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -47,6 +49,7 @@ import java.util.stream.Collectors;
 
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
+import org.springframework.util.CollectionUtils;
 import org.springframework.util.LinkedCaseInsensitiveMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.util.StringUtils;
@@ -78,7 +81,7 @@ public class HttpHeaders implements MultiValueMap<String, String>, Serializable
 	/**
 	 * The empty {@code HttpHeaders} instance (immutable).
 	 */
-	public static final HttpHeaders EMPTY = new HttpHeaders(new LinkedHashMap<>(), true);
+	public static final HttpHeaders EMPTY = new HttpHeaders(CollectionUtils.toMultiValueMap(new LinkedHashMap<>()), true);
 	/**
 	 * The HTTP {@code Accept} header field name.
 	 * @see <a href="http://tools.ietf.org/html/rfc7231#section-5.3.2">Section 5.3.2 of RFC 7231</a>
@@ -401,7 +404,7 @@ public class HttpHeaders implements MultiValueMap<String, String>, Serializable
 	};
 
 
-	private final Map<String, List<String>> headers;
+	private final MultiValueMap<String, String> headers;
 
 	private final boolean readOnly;
 
@@ -410,21 +413,29 @@ public class HttpHeaders implements MultiValueMap<String, String>, Serializable
 	 * Constructs a new, empty instance of the {@code HttpHeaders} object.
 	 */
 	public HttpHeaders() {
-		this(new LinkedCaseInsensitiveMap<>(8, Locale.ENGLISH), false);
+		this(CollectionUtils.toMultiValueMap(new LinkedCaseInsensitiveMap<>(8, Locale.ENGLISH)), false);
 	}
 
 	/**
-	 * Private constructor that can create read-only {@code HttpHeader} instances.
+	 * Construct a new {@code HttpHeaders} instance backed by an existing map.
+	 * <p>This constructor is available as an optimization for adapting to existing
+	 * headers map structures, e.g. the native headers of a server, primarily for
+	 * internal use within the framework. The given map is expected to match
+	 * header names case-insensitively.
+	 * @param headers the headers map
+	 * @since 5.1.1
 	 */
-	private HttpHeaders(Map<String, List<String>> headers, boolean readOnly) {
-		if (readOnly) {
-			Map<String, List<String>> map = new LinkedCaseInsensitiveMap<>(headers.size(), Locale.ENGLISH);
-			headers.forEach((key, valueList) -> map.put(key, Collections.unmodifiableList(valueList)));
-			this.headers = Collections.unmodifiableMap(map);
-		}
-		else {
-			this.headers = headers;
-		}
+	public HttpHeaders(MultiValueMap<String, String> headers) {
+		this(headers, false);
+	}
+
+	/**
+	 * Private constructor that can create read-only {@code HttpHeader} instances,
+	 * as a view on the given headers map.
+	 */
+	private HttpHeaders(MultiValueMap<String, String> headers, boolean readOnly) {
+		Assert.notNull(headers, "Headers map must not be null");
+		this.headers = headers;
 		this.readOnly = readOnly;
 	}
 
@@ -1474,8 +1485,7 @@ public class HttpHeaders implements MultiValueMap<String, String>, Serializable
 	@Override
 	@Nullable
 	public String getFirst(String headerName) {
-		List<String> headerValues = this.headers.get(headerName);
-		return (headerValues != null ? headerValues.get(0) : null);
+		return this.headers.getFirst(headerName);
 	}
 
 	/**
@@ -1488,14 +1498,14 @@ public class HttpHeaders implements MultiValueMap<String, String>, Serializable
 	 */
 	@Override
 	public void add(String headerName, @Nullable String headerValue) {
-		List<String> headerValues = this.headers.computeIfAbsent(headerName, k -> new LinkedList<>());
-		headerValues.add(headerValue);
+		assertWritable();
+		this.headers.add(headerName, headerValue);
 	}
 
 	@Override
 	public void addAll(String key, List<? extends String> values) {
-		List<String> currentValues = this.headers.computeIfAbsent(key, k -> new LinkedList<>());
-		currentValues.addAll(values);
+		assertWritable();
+		this.headers.addAll(key, values);
 	}
 
 	@Override
@@ -1513,9 +1523,8 @@ public class HttpHeaders implements MultiValueMap<String, String>, Serializable
 	 */
 	@Override
 	public void set(String headerName, @Nullable String headerValue) {
-		List<String> headerValues = new LinkedList<>();
-		headerValues.add(headerValue);
-		this.headers.put(headerName, headerValues);
+		assertWritable();
+		this.headers.set(headerName, headerValue);
 	}
 
 	@Override
@@ -1525,9 +1534,7 @@ public class HttpHeaders implements MultiValueMap<String, String>, Serializable
 
 	@Override
 	public Map<String, String> toSingleValueMap() {
-		LinkedHashMap<String, String> singleValueMap = new LinkedHashMap<>(this.headers.size());
-		this.headers.forEach((key, valueList) -> singleValueMap.put(key, valueList.get(0)));
-		return singleValueMap;
+		return this.headers.toSingleValueMap();
 	}
 
 
@@ -1556,45 +1563,56 @@ public class HttpHeaders implements MultiValueMap<String, String>, Serializable
 	@Override
 	@Nullable
 	public List<String> get(Object key) {
-		return this.headers.get(key);
+		List<String> values = this.headers.get(key);
+		return (this.readOnly && values != null ? Collections.unmodifiableList(values) : values);
 	}
 
 	@Override
 	public List<String> put(String key, List<String> value) {
+		assertWritable();
 		return this.headers.put(key, value);
 	}
 
 	@Override
 	public List<String> remove(Object key) {
+		assertWritable();
 		return this.headers.remove(key);
 	}
 
 	@Override
 	public void putAll(Map<? extends String, ? extends List<String>> map) {
+		assertWritable();
 		this.headers.putAll(map);
 	}
 
 	@Override
 	public void clear() {
+		assertWritable();
 		this.headers.clear();
 	}
 
 	@Override
 	public Set<String> keySet() {
-		return this.headers.keySet();
+		return (this.readOnly ? Collections.unmodifiableSet(this.headers.keySet()) : this.headers.keySet());
 	}
 
 	@Override
 	public Collection<List<String>> values() {
-		return this.headers.values();
+		return (this.readOnly ? new ReadOnlyValues(this.headers.values()) : this.headers.values());
 	}
 
 	@Override
 	public Set<Entry<String, List<String>>> entrySet() {
-		return this.headers.entrySet();
+		return (this.readOnly ? new ReadOnlyEntrySet(this.headers.entrySet()) : this.headers.entrySet());
 	}
 
 
+	private void assertWritable() {
+		if (this.readOnly) {
+			throw new UnsupportedOperationException("HttpHeaders are read-only");
+		}
+	}
+
 	@Override
 	public boolean equals(Object other) {
 		if (this == other) {
@@ -1623,7 +1641,98 @@ public class HttpHeaders implements MultiValueMap<String, String>, Serializable
 	 */
 	public static HttpHeaders readOnlyHttpHeaders(HttpHeaders headers) {
 		Assert.notNull(headers, "HttpHeaders must not be null");
-		return (headers.readOnly ? headers : new HttpHeaders(headers, true));
+		if (headers.readOnly) {
+			return headers;
+		}
+		Map<String, List<String>> map = new LinkedCaseInsensitiveMap<>(headers.size(), Locale.ENGLISH);
+		map.putAll(headers.headers);
+		return new HttpHeaders(CollectionUtils.toMultiValueMap(map), true);
+	}
+
+	/**
+	 * Return a {@code HttpHeaders} object that can only be read, not written to,
+	 * as a view on the given headers map rather than a copy of it: changes to
+	 * the given map remain visible through the returned headers.
+	 * @param headers the headers map, matching header names case-insensitively
+	 * @since 5.1.1
+	 * @see #HttpHeaders(MultiValueMap)
+	 */
+	public static HttpHeaders readOnlyHttpHeadersView(MultiValueMap<String, String> headers) {
+		Assert.notNull(headers, "Headers map must not be null");
+		if (headers instanceof HttpHeaders) {
+			HttpHeaders httpHeaders = (HttpHeaders) headers;
+			return (httpHeaders.readOnly ? httpHeaders : new HttpHeaders(httpHeaders.headers, true));
+		}
+		return new HttpHeaders(headers, true);
+	}
+
+
+
+	/**
+	 * Unmodifiable view on the values of read-only headers.
+	 */
+	private static class ReadOnlyValues extends AbstractCollection<List<String>> {
+
+		private final Collection<List<String>> values;
+
+		ReadOnlyValues(Collection<List<String>> values) {
+			this.values = values;
+		}
+
+		@Override
+		public Iterator<List<String>> iterator() {
+			Iterator<List<String>> iterator = this.values.iterator();
+			return new Iterator<List<String>>() {
+				@Override
+				public boolean hasNext() {
+					return iterator.hasNext();
+				}
+				@Override
+				public List<String> next() {
+					return Collections.unmodifiableList(iterator.next());
+				}
+			};
+		}
+
+		@Override
+		public int size() {
+			return this.values.size();
+		}
+	}
+
+
+	/**
+	 * Unmodifiable view on the entries of read-only headers.
+	 */
+	private static class ReadOnlyEntrySet extends AbstractSet<Entry<String, List<String>>> {
+
+		private final Set<Entry<String, List<String>>> entries;
+
+		ReadOnlyEntrySet(Set<Entry<String, List<String>>> entries) {
+			this.entries = entries;
+		}
+
+		@Override
+		public Iterator<Entry<String, List<String>>> iterator() {
+			Iterator<Entry<String, List<String>>> iterator = this.entries.iterator();
+			return new Iterator<Entry<String, List<String>>>() {
+				@Override
+				public boolean hasNext() {
+					return iterator.hasNext();
+				}
+				@Override
+				public Entry<String, List<String>> next() {
+					Entry<String, List<String>> entry = iterator.next();
+					return new AbstractMap.SimpleImmutableEntry<>(
+							entry.getKey(), Collections.unmodifiableList(entry.getValue()));
+				}
+			};
+		}
+
+		@Override
+		public int size() {
+			return this.entries.size();
+		}
 	}
 
 }
@@ -426,6 +426,19 @@ public class MediaType extends MimeType implements Serializable {
 		super(type, subtype, parameters);
 	}
 
+	/**
+	 * Create a new {@code MediaType} for the given {@link MimeType}.
+	 * The type, subtype and parameters information is copied and {@code MediaType}-specific
+	 * checks on parameters are performed.
+	 * @param mimeType the MIME type
+	 * @throws IllegalArgumentException if any of the parameters contains illegal characters
+	 * @since 5.1.1
+	 */
+	public MediaType(MimeType mimeType) {
+		super(mimeType);
+		getParameters().forEach(this::checkParameters);
+	}
+
 
 	@Override
 	protected void checkParameters(String attribute, String value) {
@@ -534,7 +547,7 @@ public class MediaType extends MimeType implements Serializable {
 			throw new InvalidMediaTypeException(ex);
 		}
 		try {
-			return new MediaType(type.getType(), type.getSubtype(), type.getParameters());
+			return new MediaType(type);
 		}
 		catch (IllegalArgumentException ex) {
 			throw new InvalidMediaTypeException(mediaType, ex.getMessage());
@@ -127,6 +127,20 @@ public interface CodecConfigurer {
 		 */
 		void protobufEncoder(Encoder<?> encoder);
 
+		/**
+		 * Configure a limit on the number of bytes that can be buffered whenever
+		 * the input stream needs to be aggregated, e.g. when decoding to a single
+		 * value, or when splitting the input and buffering partial content such
+		 * as a line of text or a JSON value. Exceeding the limit results in a
+		 * {@link org.springframework.core.io.buffer.DataBufferLimitException}.
+		 * For multipart requests, this is the threshold beyond which file parts
+		 * are written to temporary files.
+		 * <p>By default this is not set, in which case codecs apply no limit.
+		 * @param byteCount the max number of bytes to buffer, or -1 for unlimited
+		 * @since 5.1.1
+		 */
+		void maxInMemorySize(int byteCount);
+
 		/**
 		 * Whether to log form data at DEBUG level, and headers at TRACE level.
 		 * Both may contain sensitive information.
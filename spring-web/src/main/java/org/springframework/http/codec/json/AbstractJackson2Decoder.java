@@ -18,10 +18,12 @@ package org.springframework.http.codec.json;
 
 import java.io.IOException;
 import java.lang.annotation.Annotation;
+import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.Map;
 
 import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -38,6 +40,8 @@ import org.springframework.core.codec.CodecException;
 import org.springframework.core.codec.DecodingException;
 import org.springframework.core.codec.Hints;
 import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.core.log.LogFormatUtils;
 import org.springframework.http.codec.HttpMessageDecoder;
 import org.springframework.http.server.reactive.ServerHttpRequest;
@@ -63,6 +67,8 @@ public abstract class AbstractJackson2Decoder extends Jackson2CodecSupport imple
 	 */
 	private final JsonFactory jsonFactory;
 
+	private int maxInMemorySize = -1;
+
 
 	/**
 	 * Constructor with a Jackson {@link ObjectMapper} to use.
@@ -74,6 +80,28 @@ public abstract class AbstractJackson2Decoder extends Jackson2CodecSupport imple
 	}
 
 
+	/**
+	 * Set the max number of bytes that can be buffered by this decoder.
+	 * This is either the size of the entire input when decoding as a whole,
+	 * or the size of one top-level JSON object within a JSON stream.
+	 * When the limit is exceeded, {@link DataBufferLimitException} is raised.
+	 * <p>By default this is set to -1, i.e. unlimited.
+	 * @param byteCount the max number of bytes to buffer, or -1 for unlimited
+	 * @since 5.1.1
+	 */
+	public void setMaxInMemorySize(int byteCount) {
+		this.maxInMemorySize = byteCount;
+	}
+
+	/**
+	 * Return the {@link #setMaxInMemorySize configured} byte count limit.
+	 * @since 5.1.1
+	 */
+	public int getMaxInMemorySize() {
+		return this.maxInMemorySize;
+	}
+
+
 	@Override
 	public boolean canDecode(ResolvableType elementType, @Nullable MimeType mimeType) {
 		JavaType javaType = getObjectMapper().getTypeFactory().constructType(elementType.getType());
@@ -86,16 +114,58 @@ public abstract class AbstractJackson2Decoder extends Jackson2CodecSupport imple
 	public Flux<Object> decode(Publisher<DataBuffer> input, ResolvableType elementType,
 			@Nullable MimeType mimeType, @Nullable Map<String, Object> hints) {
 
-		Flux<TokenBuffer> tokens = Jackson2Tokenizer.tokenize(Flux.from(input), this.jsonFactory, true);
+		Flux<TokenBuffer> tokens = Jackson2Tokenizer.tokenize(
+				Flux.from(input), this.jsonFactory, true, this.maxInMemorySize);
 		return decodeInternal(tokens, elementType, mimeType, hints);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>The input is aggregated and bound to the target type in a single pass,
+	 * without tokenizing it into an intermediate {@link TokenBuffer} first.
+	 */
 	@Override
 	public Mono<Object> decodeToMono(Publisher<DataBuffer> input, ResolvableType elementType,
 			@Nullable MimeType mimeType, @Nullable Map<String, Object> hints) {
 
-		Flux<TokenBuffer> tokens = Jackson2Tokenizer.tokenize(Flux.from(input), this.jsonFactory, false);
-		return decodeInternal(tokens, elementType, mimeType, hints).singleOrEmpty();
+		Assert.notNull(elementType, "'elementType' must not be null");
+		ObjectReader reader = getObjectReader(elementType, hints);
+		return DataBufferUtils.join(input, this.maxInMemorySize)
+				.flatMap(dataBuffer -> Mono.justOrEmpty(decodeDataBuffer(dataBuffer, reader, hints)));
+	}
+
+	@Nullable
+	private Object decodeDataBuffer(DataBuffer dataBuffer, ObjectReader reader, @Nullable Map<String, Object> hints) {
+		try {
+			ByteBuffer byteBuffer = dataBuffer.asByteBuffer();
+			JsonParser parser = (byteBuffer.hasArray() ?
+					this.jsonFactory.createParser(byteBuffer.array(),
+							byteBuffer.arrayOffset() + byteBuffer.position(), byteBuffer.remaining()) :
+					this.jsonFactory.createParser(dataBuffer.asInputStream()));
+			try {
+				// SPR-16151: Smile data format may start with a null document separator
+				if (parser.nextToken() == null && parser.nextToken() == null) {
+					return null;
+				}
+				Object value = readValue(parser, reader, hints);
+				if (parser.nextToken() != null) {
+					throw new DecodingException("JSON decoding error: unexpected content after the top-level value");
+				}
+				return value;
+			}
+			finally {
+				parser.close();
+			}
+		}
+		catch (JsonProcessingException ex) {
+			throw new DecodingException("JSON decoding error: " + ex.getOriginalMessage(), ex);
+		}
+		catch (IOException ex) {
+			throw new DecodingException("I/O error while parsing input stream", ex);
+		}
+		finally {
+			DataBufferUtils.release(dataBuffer);
+		}
 	}
 
 	private Flux<Object> decodeInternal(Flux<TokenBuffer> tokens, ResolvableType elementType,
@@ -104,28 +174,10 @@ public abstract class AbstractJackson2Decoder extends Jackson2CodecSupport imple
 		Assert.notNull(tokens, "'tokens' must not be null");
 		Assert.notNull(elementType, "'elementType' must not be null");
 
-		MethodParameter param = getParameter(elementType);
-		Class<?> contextClass = (param != null ? param.getContainingClass() : null);
-		JavaType javaType = getJavaType(elementType.getType(), contextClass);
-		Class<?> jsonView = (hints != null ? (Class<?>) hints.get(Jackson2CodecSupport.JSON_VIEW_HINT) : null);
-
-		ObjectReader reader = (jsonView != null ?
-				getObjectMapper().readerWithView(jsonView).forType(javaType) :
-				getObjectMapper().readerFor(javaType));
-
+		ObjectReader reader = getObjectReader(elementType, hints);
 		return tokens.map(tokenBuffer -> {
 			try {
-				Object value = reader.readValue(tokenBuffer.asParser(getObjectMapper()));
-				if (!Hints.isLoggingSuppressed(hints)) {
-					LogFormatUtils.traceDebug(logger, traceOn -> {
-						String formatted = LogFormatUtils.formatValue(value, !traceOn);
-						return Hints.getLogPrefix(hints) + "Decoded [" + formatted + "]";
-					});
-				}
-				return value;
-			}
-			catch (InvalidDefinitionException ex) {
-				throw new CodecException("Type definition error: " + ex.getType(), ex);
+				return readValue(tokenBuffer.asParser(getObjectMapper()), reader, hints);
 			}
 			catch (JsonProcessingException ex) {
 				throw new DecodingException("JSON decoding error: " + ex.getOriginalMessage(), ex);
@@ -136,6 +188,34 @@ public abstract class AbstractJackson2Decoder extends Jackson2CodecSupport imple
 		});
 	}
 
+	private ObjectReader getObjectReader(ResolvableType elementType, @Nullable Map<String, Object> hints) {
+		MethodParameter param = getParameter(elementType);
+		Class<?> contextClass = (param != null ? param.getContainingClass() : null);
+		JavaType javaType = getJavaType(elementType.getType(), contextClass);
+		Class<?> jsonView = (hints != null ? (Class<?>) hints.get(Jackson2CodecSupport.JSON_VIEW_HINT) : null);
+		return (jsonView != null ?
+				getObjectMapper().readerWithView(jsonView).forType(javaType) :
+				getObjectMapper().readerFor(javaType));
+	}
+
+	private Object readValue(JsonParser parser, ObjectReader reader, @Nullable Map<String, Object> hints)
+			throws IOException {
+
+		try {
+			Object value = reader.readValue(parser);
+			if (!Hints.isLoggingSuppressed(hints)) {
+				LogFormatUtils.traceDebug(logger, traceOn -> {
+					String formatted = LogFormatUtils.formatValue(value, !traceOn);
+					return Hints.getLogPrefix(hints) + "Decoded [" + formatted + "]";
+				});
+			}
+			return value;
+		}
+		catch (InvalidDefinitionException ex) {
+			throw new CodecException("Type definition error: " + ex.getType(), ex);
+		}
+	}
+
 
 	// HttpMessageDecoder...
 
@@ -17,6 +17,7 @@
 package org.springframework.http.codec.json;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Function;
@@ -31,7 +32,9 @@ import reactor.core.publisher.Flux;
 
 import org.springframework.core.codec.DecodingException;
 import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
 import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 
 /**
@@ -39,6 +42,9 @@ import org.springframework.util.Assert;
  * chunks into a {@code Flux<TokenBuffer>} where each token buffer is a
  * well-formed JSON object.
  *
+ * <p>Heap-backed data buffers are fed to the non-blocking parser as-is, without
+ * copying their content; other buffers are copied into a byte array first.
+ *
  * @author Arjen Poutsma
  * @since 5.0
  */
@@ -48,22 +54,37 @@ final class Jackson2Tokenizer {
 
 	private final boolean tokenizeArrayElements;
 
+	private final int maxInMemorySize;
+
+	/** The number of bytes fed to the parser so far. */
+	private long byteCount;
+
+	/** The number of bytes fed before the current buffer. */
+	private long bufferStart;
+
+	/** The parser location at the start of the current buffer. */
+	private long bufferStartLocation;
+
+	/** The byte offset at which the current value started. */
+	private long valueStart;
+
+	@Nullable
 	private TokenBuffer tokenBuffer;
 
 	private int objectDepth;
 
 	private int arrayDepth;
 
-	// TODO: change to ByteBufferFeeder when supported by Jackson
+	// Jackson 2.9 only supports ByteArrayFeeder (ByteBufferFeeder requires 2.14)
 	private final ByteArrayFeeder inputFeeder;
 
 
-	private Jackson2Tokenizer(JsonParser parser, boolean tokenizeArrayElements) {
+	private Jackson2Tokenizer(JsonParser parser, boolean tokenizeArrayElements, int maxInMemorySize) {
 		Assert.notNull(parser, "'parser' must not be null");
 
 		this.parser = parser;
 		this.tokenizeArrayElements = tokenizeArrayElements;
-		this.tokenBuffer = new TokenBuffer(parser);
+		this.maxInMemorySize = maxInMemorySize;
 		this.inputFeeder = (ByteArrayFeeder) this.parser.getNonBlockingInputFeeder();
 	}
 
@@ -74,14 +95,16 @@ final class Jackson2Tokenizer {
 	 * @param tokenizeArrayElements if {@code true} and the "top level" JSON
 	 * object is an array, each element is returned individually, immediately
 	 * after it is received.
+	 * @param maxInMemorySize the maximum number of bytes to buffer for a single
+	 * value, or -1 for unlimited
 	 * @return the result token buffers
 	 */
 	public static Flux<TokenBuffer> tokenize(Flux<DataBuffer> dataBuffers, JsonFactory jsonFactory,
-			boolean tokenizeArrayElements) {
+			boolean tokenizeArrayElements, int maxInMemorySize) {
 
 		try {
 			JsonParser parser = jsonFactory.createNonBlockingByteArrayParser();
-			Jackson2Tokenizer tokenizer = new Jackson2Tokenizer(parser, tokenizeArrayElements);
+			Jackson2Tokenizer tokenizer = new Jackson2Tokenizer(parser, tokenizeArrayElements, maxInMemorySize);
 			return dataBuffers.flatMap(tokenizer::tokenize, Flux::error, tokenizer::endOfInput);
 		}
 		catch (IOException ex) {
@@ -90,13 +113,29 @@ final class Jackson2Tokenizer {
 	}
 
 	private Flux<TokenBuffer> tokenize(DataBuffer dataBuffer) {
-		byte[] bytes = new byte[dataBuffer.readableByteCount()];
-		dataBuffer.read(bytes);
-		DataBufferUtils.release(dataBuffer);
-
 		try {
-			this.inputFeeder.feedInput(bytes, 0, bytes.length);
-			return parseTokenBufferFlux();
+			int length = dataBuffer.readableByteCount();
+			ByteBuffer byteBuffer = dataBuffer.asByteBuffer();
+			if (byteBuffer.hasArray()) {
+				// The parser consumes all fed input before we release the buffer below
+				int offset = byteBuffer.arrayOffset() + byteBuffer.position();
+				this.inputFeeder.feedInput(byteBuffer.array(), offset, offset + byteBuffer.remaining());
+			}
+			else {
+				byte[] bytes = new byte[length];
+				dataBuffer.read(bytes);
+				this.inputFeeder.feedInput(bytes, 0, bytes.length);
+			}
+			// Parser offsets are only consistent within a buffer: track them relative to its start
+			this.bufferStart = this.byteCount;
+			this.bufferStartLocation = this.parser.getCurrentLocation().getByteOffset();
+			this.byteCount += length;
+			Flux<TokenBuffer> result = parseTokenBufferFlux();
+			if (this.maxInMemorySize >= 0 && this.byteCount - this.valueStart > this.maxInMemorySize) {
+				return Flux.error(new DataBufferLimitException(
+						"Exceeded limit on max bytes per JSON value: " + this.maxInMemorySize));
+			}
+			return result;
 		}
 		catch (JsonProcessingException ex) {
 			return Flux.error(new DecodingException(
@@ -105,6 +144,9 @@ final class Jackson2Tokenizer {
 		catch (IOException ex) {
 			return Flux.error(ex);
 		}
+		finally {
+			DataBufferUtils.release(dataBuffer);
+		}
 	}
 
 	private Flux<TokenBuffer> endOfInput() {
@@ -161,27 +203,47 @@ final class Jackson2Tokenizer {
 	}
 
 	private void processTokenNormal(JsonToken token, List<TokenBuffer> result) throws IOException {
-		this.tokenBuffer.copyCurrentEvent(this.parser);
+		TokenBuffer tokenBuffer = obtainTokenBuffer();
+		tokenBuffer.copyCurrentEvent(this.parser);
 
 		if ((token.isStructEnd() || token.isScalarValue()) &&
 				this.objectDepth == 0 && this.arrayDepth == 0) {
-			result.add(this.tokenBuffer);
-			this.tokenBuffer = new TokenBuffer(this.parser);
+			completeValue(tokenBuffer, result);
 		}
-
 	}
 
 	private void processTokenArray(JsonToken token, List<TokenBuffer> result) throws IOException {
-		if (!isTopLevelArrayToken(token)) {
-			this.tokenBuffer.copyCurrentEvent(this.parser);
+		if (isTopLevelArrayToken(token)) {
+			return;
 		}
+		TokenBuffer tokenBuffer = obtainTokenBuffer();
+		tokenBuffer.copyCurrentEvent(this.parser);
 
 		if (this.objectDepth == 0 &&
 				(this.arrayDepth == 0 || this.arrayDepth == 1) &&
 				(token == JsonToken.END_OBJECT || token.isScalarValue())) {
-			result.add(this.tokenBuffer);
-			this.tokenBuffer = new TokenBuffer(this.parser);
+			completeValue(tokenBuffer, result);
+		}
+	}
+
+	private void completeValue(TokenBuffer tokenBuffer, List<TokenBuffer> result) {
+		result.add(tokenBuffer);
+		this.tokenBuffer = null;
+		this.valueStart = this.bufferStart +
+				(this.parser.getCurrentLocation().getByteOffset() - this.bufferStartLocation);
+	}
+
+	/**
+	 * Return the token buffer for the current value, lazily creating it
+	 * for the first token of each value.
+	 */
+	private TokenBuffer obtainTokenBuffer() {
+		TokenBuffer tokenBuffer = this.tokenBuffer;
+		if (tokenBuffer == null) {
+			tokenBuffer = new TokenBuffer(this.parser);
+			this.tokenBuffer = tokenBuffer;
 		}
+		return tokenBuffer;
 	}
 
 	private boolean isTopLevelArrayToken(JsonToken token) {
@@ -0,0 +1,481 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.http.codec.multipart;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.codec.Hints;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.log.LogFormatUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ReactiveHttpInputMessage;
+import org.springframework.http.codec.HttpMessageReader;
+import org.springframework.http.codec.LoggingCodecSupport;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Default {@code HttpMessageReader} for parsing {@code "multipart/form-data"}
+ * requests to a stream of {@link Part}s, without any third-party dependency.
+ *
+ * <p>Boundaries are matched directly over the incoming {@code DataBuffer}
+ * stream, and part bodies are emitted as slices of the incoming buffers.
+ * Input is requested as part content is being consumed, i.e. with backpressure
+ * applied per part.
+ *
+ * <p>By default, each part is stored before being emitted: in memory up to
+ * the {@link #setMaxInMemorySize in-memory limit}, and beyond that in a
+ * temporary file in case of a file part. In {@link #setStreaming streaming}
+ * mode, parts are emitted as soon as their headers have been parsed, with
+ * content streamed straight from the request body.
+ *
+ * <p>This reader can be provided to {@link MultipartHttpMessageReader} in order
+ * to aggregate all parts into a Map, unless in streaming mode.
+ *
+ * <p>The content of stored parts can be consumed once: temporary files are
+ * deleted, and buffers released, once the content of a part has been consumed,
+ * cancelled or {@linkplain FilePart#transferTo transferred}. Parts whose content
+ * is not consumed are deleted through {@link Part#delete()}, which happens
+ * automatically for {@link org.springframework.web.server.ServerWebExchange#getMultipartData()
+ * multipart data} once the exchange is complete. A temporary directory created
+ * by this reader is deleted along with the last file in it.
+ *
+ * @author agent (agent@local)
+ * @since 5.1.1
+ * @see MultipartHttpMessageReader
+ */
+public class DefaultPartHttpMessageReader extends LoggingCodecSupport implements HttpMessageReader<Part> {
+
+	private static final String FILE_STORAGE_DIRECTORY_PREFIX = "spring-multipart-";
+
+
+	private int maxHeadersSize = 10 * 1024;
+
+	private int maxInMemorySize = 256 * 1024;
+
+	private long maxDiskUsagePerPart = -1;
+
+	private int maxParts = -1;
+
+	private boolean streaming = false;
+
+	private Scheduler blockingOperationScheduler = Schedulers.elastic();
+
+	@Nullable
+	private Path fileStorageDirectory;
+
+	/** Whether the file storage directory has been created by this reader. */
+	private boolean temporaryDirectory;
+
+	/** The number of files in a temporary file storage directory. */
+	private int fileCount;
+
+
+	/**
+	 * Configure the maximum amount of memory allowed for the headers of a part,
+	 * rejecting larger headers with {@link DataBufferLimitException}.
+	 * <p>By default this is set to 10K.
+	 * @param byteCount the headers limit in bytes
+	 */
+	public void setMaxHeadersSize(int byteCount) {
+		this.maxHeadersSize = byteCount;
+	}
+
+	/**
+	 * Return the {@link #setMaxHeadersSize configured} limit on part headers.
+	 */
+	public int getMaxHeadersSize() {
+		return this.maxHeadersSize;
+	}
+
+	/**
+	 * Configure the maximum amount of memory allowed per part.
+	 * When the limit is exceeded, file parts are written to a temporary file,
+	 * while non-file parts are rejected with {@link DataBufferLimitException}.
+	 * <p>By default this is set to 256K. A value of -1 keeps all parts in memory.
+	 * <p>Not applicable in {@link #setStreaming streaming} mode.
+	 * @param byteCount the in-memory limit in bytes, or -1 for unlimited
+	 */
+	public void setMaxInMemorySize(int byteCount) {
+		this.maxInMemorySize = byteCount;
+	}
+
+	/**
+	 * Return the {@link #setMaxInMemorySize configured} in-memory limit.
+	 */
+	public int getMaxInMemorySize() {
+		return this.maxInMemorySize;
+	}
+
+	/**
+	 * Configure the maximum amount of disk space allowed for file parts,
+	 * rejecting larger parts with {@link DataBufferLimitException}.
+	 * <p>By default this is set to -1, i.e. unlimited.
+	 * <p>Not applicable in {@link #setStreaming streaming} mode.
+	 * @param maxDiskUsagePerPart the disk limit in bytes, or -1 for unlimited
+	 */
+	public void setMaxDiskUsagePerPart(long maxDiskUsagePerPart) {
+		this.maxDiskUsagePerPart = maxDiskUsagePerPart;
+	}
+
+	/**
+	 * Return the {@link #setMaxDiskUsagePerPart configured} disk usage limit.
+	 */
+	public long getMaxDiskUsagePerPart() {
+		return this.maxDiskUsagePerPart;
+	}
+
+	/**
+	 * Specify the maximum number of parts allowed in a given multipart request,
+	 * rejecting requests with more parts with {@link DataBufferLimitException}.
+	 * <p>By default this is set to -1, i.e. unlimited.
+	 */
+	public void setMaxParts(int maxParts) {
+		this.maxParts = maxParts;
+	}
+
+	/**
+	 * Return the {@link #setMaxParts configured} limit on the number of parts.
+	 */
+	public int getMaxParts() {
+		return this.maxParts;
+	}
+
+	/**
+	 * Set the directory used to store parts larger than the
+	 * {@link #setMaxInMemorySize in-memory limit}.
+	 * <p>By default, a new temporary directory is created when needed, and
+	 * deleted once it contains no more part files.
+	 * @param fileStorageDirectory the directory to store part files in
+	 */
+	public synchronized void setFileStorageDirectory(Path fileStorageDirectory) {
+		Assert.notNull(fileStorageDirectory, "File storage directory must not be null");
+		this.fileStorageDirectory = fileStorageDirectory;
+		this.temporaryDirectory = false;
+	}
+
+	/**
+	 * Set the Reactor {@link Scheduler} to be used for creating files and
+	 * directories, and writing to files.
+	 * <p>By default, {@link Schedulers#elastic()} is used.
+	 * @param blockingOperationScheduler the scheduler to use for blocking operations
+	 */
+	public void setBlockingOperationScheduler(Scheduler blockingOperationScheduler) {
+		Assert.notNull(blockingOperationScheduler, "Scheduler must not be null");
+		this.blockingOperationScheduler = blockingOperationScheduler;
+	}
+
+	/**
+	 * Specify whether parts should be emitted as soon as their headers have
+	 * been parsed, with their content streamed from the request body, rather
+	 * than stored in memory or on disk first.
+	 * <p>In streaming mode, the content of each part needs to be consumed
+	 * (or cancelled), in order, before the next part is emitted. This makes
+	 * streaming mode unsuitable for {@link MultipartHttpMessageReader}, which
+	 * collects all parts before their content is accessed.
+	 * <p>By default this is set to {@code false}.
+	 */
+	public void setStreaming(boolean streaming) {
+		this.streaming = streaming;
+	}
+
+	/**
+	 * Return whether parts are {@link #setStreaming streamed}.
+	 */
+	public boolean isStreaming() {
+		return this.streaming;
+	}
+
+
+	@Override
+	public List<MediaType> getReadableMediaTypes() {
+		return Collections.singletonList(MediaType.MULTIPART_FORM_DATA);
+	}
+
+	@Override
+	public boolean canRead(ResolvableType elementType, @Nullable MediaType mediaType) {
+		return Part.class.equals(elementType.toClass()) &&
+				(mediaType == null || MediaType.MULTIPART_FORM_DATA.isCompatibleWith(mediaType));
+	}
+
+
+	@Override
+	public Flux<Part> read(ResolvableType elementType, ReactiveHttpInputMessage message, Map<String, Object> hints) {
+		return Flux.defer(() -> {
+			byte[] boundary = getBoundary(message.getHeaders());
+			if (boundary == null) {
+				return Flux.error(new DecodingException("No multipart boundary found in Content-Type: \"" +
+						message.getHeaders().getContentType() + "\""));
+			}
+			Flux<MultipartParser.Token> tokens = MultipartParser.parse(message.getBody(), boundary, this.maxHeadersSize);
+			Flux<Part> parts = PartGenerator.createParts(tokens);
+			if (this.maxParts >= 0) {
+				AtomicInteger partCount = new AtomicInteger();
+				parts = parts.handle((part, sink) -> {
+					if (partCount.incrementAndGet() > this.maxParts) {
+						sink.error(new DataBufferLimitException("Too many parts: more than " + this.maxParts + " allowed"));
+					}
+					else {
+						sink.next(part);
+					}
+				});
+			}
+			if (!this.streaming) {
+				parts = parts.concatMap(this::storePart);
+			}
+			return parts.doOnNext(part -> {
+				if (!Hints.isLoggingSuppressed(hints)) {
+					LogFormatUtils.traceDebug(logger, traceOn -> Hints.getLogPrefix(hints) + "Parsed " +
+							(isEnableLoggingRequestDetails() ?
+									LogFormatUtils.formatValue(part, !traceOn) :
+									"parts '" + part.name() + "' (content masked)"));
+				}
+			});
+		});
+	}
+
+	@Override
+	public Mono<Part> readMono(ResolvableType elementType, ReactiveHttpInputMessage message, Map<String, Object> hints) {
+		return Mono.error(new UnsupportedOperationException("Cannot read multipart request body into single Part"));
+	}
+
+
+	@Nullable
+	private static byte[] getBoundary(HttpHeaders headers) {
+		MediaType contentType = headers.getContentType();
+		if (contentType == null) {
+			return null;
+		}
+		String boundary = contentType.getParameter("boundary");
+		if (boundary == null) {
+			return null;
+		}
+		int length = boundary.length();
+		if (length > 2 && boundary.charAt(0) == '"' && boundary.charAt(length - 1) == '"') {
+			boundary = boundary.substring(1, length - 1);
+		}
+		return boundary.getBytes(StandardCharsets.ISO_8859_1);
+	}
+
+	private Mono<Part> storePart(Part part) {
+		PartStore store = new PartStore(part);
+		return part.content()
+				.concatMap(store::write)
+				.then(Mono.defer(store::complete))
+				.doOnError(ex -> store.dispose())
+				.doOnCancel(store::dispose);
+	}
+
+	private synchronized Path createFile() throws IOException {
+		Path directory = this.fileStorageDirectory;
+		if (directory == null) {
+			directory = Files.createTempDirectory(FILE_STORAGE_DIRECTORY_PREFIX);
+			this.fileStorageDirectory = directory;
+			this.temporaryDirectory = true;
+		}
+		Path file = Files.createTempFile(directory, null, ".multipart");
+		if (this.temporaryDirectory) {
+			this.fileCount++;
+		}
+		return file;
+	}
+
+	private synchronized void deleteFile(Path file) {
+		try {
+			Files.deleteIfExists(file);
+		}
+		catch (IOException ex) {
+			// ignore
+		}
+		Path directory = this.fileStorageDirectory;
+		if (this.temporaryDirectory && directory != null && directory.equals(file.getParent()) &&
+				--this.fileCount == 0) {
+			try {
+				Files.deleteIfExists(directory);
+			}
+			catch (IOException ex) {
+				// ignore
+			}
+			this.fileStorageDirectory = null;
+		}
+	}
+
+
+	/**
+	 * Stores the content of a part in memory, switching to a temporary file
+	 * for file parts beyond the in-memory limit.
+	 */
+	private class PartStore {
+
+		private final Part part;
+
+		private final boolean isFilePart;
+
+		private long byteCount;
+
+		/** The buffers received so far, as long as the part is kept in memory. */
+		@Nullable
+		private volatile List<DataBuffer> memory = new ArrayList<>();
+
+		@Nullable
+		private volatile Path file;
+
+		@Nullable
+		private volatile FileChannel channel;
+
+		PartStore(Part part) {
+			this.part = part;
+			this.isFilePart = (DefaultParts.filename(part.headers()) != null);
+		}
+
+		Mono<Void> write(DataBuffer buffer) {
+			this.byteCount += buffer.readableByteCount();
+			List<DataBuffer> memory = this.memory;
+			if (memory != null && (maxInMemorySize < 0 || this.byteCount <= maxInMemorySize)) {
+				memory.add(buffer);
+				return Mono.empty();
+			}
+			if (!this.isFilePart) {
+				DataBufferUtils.release(buffer);
+				return Mono.error(new DataBufferLimitException("Part '" + this.part.name() +
+						"' exceeded the in-memory limit of " + maxInMemorySize + " bytes"));
+			}
+			if (maxDiskUsagePerPart >= 0 && this.byteCount > maxDiskUsagePerPart) {
+				DataBufferUtils.release(buffer);
+				return Mono.error(new DataBufferLimitException("Part '" + this.part.name() +
+						"' exceeded the disk usage limit of " + maxDiskUsagePerPart + " bytes"));
+			}
+			return Mono.<Void>fromCallable(() -> {
+				try {
+					writeToFile(buffer);
+					return null;
+				}
+				finally {
+					DataBufferUtils.release(buffer);
+				}
+			}).subscribeOn(blockingOperationScheduler);
+		}
+
+		private void writeToFile(DataBuffer buffer) throws IOException {
+			FileChannel channel = this.channel;
+			if (channel == null) {
+				Path file = createFile();
+				this.file = file;
+				channel = FileChannel.open(file, StandardOpenOption.WRITE);
+				this.channel = channel;
+				List<DataBuffer> memory = this.memory;
+				if (memory != null) {
+					this.memory = null;
+					try {
+						for (DataBuffer stored : memory) {
+							writeFully(channel, stored.asByteBuffers());
+						}
+					}
+					finally {
+						memory.forEach(DataBufferUtils::release);
+					}
+				}
+			}
+			writeFully(channel, buffer.asByteBuffers());
+		}
+
+		private void writeFully(FileChannel channel, ByteBuffer... byteBuffers) throws IOException {
+			for (ByteBuffer byteBuffer : byteBuffers) {
+				while (byteBuffer.hasRemaining()) {
+					channel.write(byteBuffer);
+				}
+			}
+		}
+
+		Mono<Part> complete() {
+			List<DataBuffer> memory = this.memory;
+			if (memory != null) {
+				this.memory = null;
+				if (this.isFilePart) {
+					return Mono.just(DefaultParts.filePart(this.part.headers(), memory));
+				}
+				return Mono.just(DefaultParts.part(this.part.headers(), toByteArray(memory)));
+			}
+			return Mono.fromCallable(() -> {
+				FileChannel channel = this.channel;
+				Path file = this.file;
+				Assert.state(channel != null && file != null, "No part file");
+				channel.close();
+				Mono<Void> delete = Mono.<Void>fromRunnable(() -> deleteFile(file))
+						.subscribeOn(blockingOperationScheduler);
+				return (Part) DefaultParts.filePart(this.part.headers(), file, blockingOperationScheduler, delete);
+			}).subscribeOn(blockingOperationScheduler);
+		}
+
+		private byte[] toByteArray(List<DataBuffer> buffers) {
+			byte[] bytes = new byte[(int) this.byteCount];
+			int offset = 0;
+			for (DataBuffer buffer : buffers) {
+				int length = buffer.readableByteCount();
+				buffer.read(bytes, offset, length);
+				offset += length;
+				DataBufferUtils.release(buffer);
+			}
+			return bytes;
+		}
+
+		void dispose() {
+			List<DataBuffer> memory = this.memory;
+			this.memory = null;
+			if (memory != null) {
+				memory.forEach(DataBufferUtils::release);
+			}
+			FileChannel channel = this.channel;
+			Path file = this.file;
+			if (file != null) {
+				blockingOperationScheduler.schedule(() -> {
+					try {
+						if (channel != null) {
+							channel.close();
+						}
+					}
+					catch (IOException ex) {
+						// ignore
+					}
+					deleteFile(file);
+				});
+			}
+		}
+	}
+
+}
@@ -0,0 +1,395 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.http.codec.multipart;
+
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Default implementations of {@link Part} and subtypes, as created by
+ * {@link PartGenerator} and {@link DefaultPartHttpMessageReader}.
+ *
+ * @author agent (agent@local)
+ * @since 5.1.1
+ */
+abstract class DefaultParts {
+
+	private static final DataBufferFactory bufferFactory = new DefaultDataBufferFactory();
+
+	private static final int FILE_BUFFER_SIZE = 8192;
+
+
+	/**
+	 * Create a streaming part, i.e. a {@link FilePart} if the headers specify
+	 * a filename, or a plain {@link Part} otherwise.
+	 * @param headers the part headers
+	 * @param content the part content, to be consumed once
+	 */
+	public static Part part(HttpHeaders headers, Flux<DataBuffer> content) {
+		return create(headers, new FluxContent(content));
+	}
+
+	/**
+	 * Create an in-memory part, i.e. a {@link FilePart} if the headers specify
+	 * a filename, or a {@link FormFieldPart} otherwise.
+	 * @param headers the part headers
+	 * @param content the part content
+	 */
+	public static Part part(HttpHeaders headers, byte[] content) {
+		String filename = filename(headers);
+		if (filename != null) {
+			return new DefaultFilePart(headers, filename, new BytesContent(content));
+		}
+		String value = new String(content, getCharset(headers));
+		return new DefaultFormFieldPart(headers, value, new BytesContent(content));
+	}
+
+	/**
+	 * Create an in-memory file part backed by the given buffers. The content
+	 * can be consumed once, after which the buffers are released.
+	 * @param headers the part headers, specifying a filename
+	 * @param content the buffers holding the part content, owned by the part
+	 */
+	public static FilePart filePart(HttpHeaders headers, List<DataBuffer> content) {
+		String filename = filename(headers);
+		Assert.state(filename != null, "No filename in Content-Disposition header");
+		return new DefaultFilePart(headers, filename, new BuffersContent(content));
+	}
+
+	/**
+	 * Create a file part backed by the given file. The content can be consumed
+	 * once, after which the file is deleted.
+	 * @param headers the part headers, specifying a filename
+	 * @param file the file holding the part content
+	 * @param scheduler the scheduler to use for blocking file operations
+	 * @param delete deletes the file
+	 */
+	public static FilePart filePart(HttpHeaders headers, Path file, Scheduler scheduler, Mono<Void> delete) {
+		String filename = filename(headers);
+		Assert.state(filename != null, "No filename in Content-Disposition header");
+		return new DefaultFilePart(headers, filename, new FileContent(file, scheduler, delete));
+	}
+
+	/**
+	 * Return the filename specified by the given part headers, if any.
+	 */
+	@Nullable
+	static String filename(HttpHeaders headers) {
+		return headers.getContentDisposition().getFilename();
+	}
+
+	private static Part create(HttpHeaders headers, Content content) {
+		String filename = filename(headers);
+		return (filename != null ? new DefaultFilePart(headers, filename, content) : new DefaultPart(headers, content));
+	}
+
+	private static Charset getCharset(HttpHeaders headers) {
+		MediaType contentType = headers.getContentType();
+		Charset charset = (contentType != null ? contentType.getCharset() : null);
+		return (charset != null ? charset : StandardCharsets.UTF_8);
+	}
+
+
+	/**
+	 * Abstraction over the different kinds of part content.
+	 */
+	private interface Content {
+
+		Flux<DataBuffer> content();
+
+		Mono<Void> transferTo(Path dest);
+
+		default Mono<Void> delete() {
+			return Mono.empty();
+		}
+	}
+
+
+	/**
+	 * Content backed by a (single-use) stream of buffers.
+	 */
+	private static class FluxContent implements Content {
+
+		private final Flux<DataBuffer> content;
+
+		FluxContent(Flux<DataBuffer> content) {
+			this.content = content;
+		}
+
+		@Override
+		public Flux<DataBuffer> content() {
+			return this.content;
+		}
+
+		@Override
+		public Mono<Void> transferTo(Path dest) {
+			return Flux.using(
+					() -> AsynchronousFileChannel.open(dest, StandardOpenOption.WRITE,
+							StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING),
+					channel -> DataBufferUtils.write(this.content, channel),
+					channel -> {
+						try {
+							channel.close();
+						}
+						catch (Exception ignored) {
+						}
+					})
+					.doOnNext(DataBufferUtils::release)
+					.then();
+		}
+	}
+
+
+	/**
+	 * Content held in memory.
+	 */
+	private static class BytesContent implements Content {
+
+		private final byte[] content;
+
+		BytesContent(byte[] content) {
+			this.content = content;
+		}
+
+		@Override
+		public Flux<DataBuffer> content() {
+			return Flux.defer(() -> Flux.just(bufferFactory.wrap(this.content)));
+		}
+
+		@Override
+		public Mono<Void> transferTo(Path dest) {
+			return new FluxContent(content()).transferTo(dest);
+		}
+	}
+
+
+	/**
+	 * Content held in memory as the buffers it was received in, joined when
+	 * consumed and released once consumed or deleted.
+	 */
+	private static class BuffersContent implements Content {
+
+		private final AtomicReference<List<DataBuffer>> content;
+
+		BuffersContent(List<DataBuffer> content) {
+			this.content = new AtomicReference<>(content);
+		}
+
+		@Override
+		public Flux<DataBuffer> content() {
+			return Flux.defer(() -> {
+				List<DataBuffer> buffers = this.content.getAndSet(null);
+				if (buffers == null) {
+					return Flux.error(new IllegalStateException("Part content has been consumed already"));
+				}
+				return (buffers.isEmpty() ? Flux.empty() : DataBufferUtils.join(Flux.fromIterable(buffers)).flux());
+			});
+		}
+
+		@Override
+		public Mono<Void> transferTo(Path dest) {
+			return new FluxContent(content()).transferTo(dest);
+		}
+
+		@Override
+		public Mono<Void> delete() {
+			return Mono.fromRunnable(() -> {
+				List<DataBuffer> buffers = this.content.getAndSet(null);
+				if (buffers != null) {
+					buffers.forEach(DataBufferUtils::release);
+				}
+			});
+		}
+	}
+
+
+	/**
+	 * Content stored in a file, deleted once consumed or transferred.
+	 */
+	private static class FileContent implements Content {
+
+		private final Path file;
+
+		private final Scheduler scheduler;
+
+		private final Mono<Void> delete;
+
+		private final AtomicBoolean consumed = new AtomicBoolean();
+
+		FileContent(Path file, Scheduler scheduler, Mono<Void> delete) {
+			this.file = file;
+			this.scheduler = scheduler;
+			this.delete = delete;
+		}
+
+		@Override
+		public Flux<DataBuffer> content() {
+			return Flux.defer(() -> {
+				if (!this.consumed.compareAndSet(false, true)) {
+					return Flux.error(new IllegalStateException("Part content has been consumed already"));
+				}
+				return DataBufferUtils.readAsynchronousFileChannel(
+						() -> AsynchronousFileChannel.open(this.file, StandardOpenOption.READ),
+						bufferFactory, FILE_BUFFER_SIZE)
+						.doFinally(signal -> this.delete.subscribe());
+			});
+		}
+
+		@Override
+		public Mono<Void> transferTo(Path dest) {
+			return Mono.defer(() -> {
+				if (!this.consumed.compareAndSet(false, true)) {
+					return Mono.error(new IllegalStateException("Part content has been consumed already"));
+				}
+				return Mono.fromCallable(() -> Files.move(this.file, dest, StandardCopyOption.REPLACE_EXISTING))
+						.subscribeOn(this.scheduler)
+						.then()
+						.doFinally(signal -> this.delete.subscribe());
+			});
+		}
+
+		@Override
+		public Mono<Void> delete() {
+			return Mono.defer(() -> (this.consumed.compareAndSet(false, true) ? this.delete : Mono.empty()));
+		}
+	}
+
+
+	/**
+	 * Default implementation of {@link Part}.
+	 */
+	private static class DefaultPart implements Part {
+
+		private final String name;
+
+		private final HttpHeaders headers;
+
+		private final Content content;
+
+		DefaultPart(HttpHeaders headers, Content content) {
+			String name = headers.getContentDisposition().getName();
+			Assert.state(name != null, "No name in Content-Disposition header");
+			this.name = name;
+			this.headers = HttpHeaders.readOnlyHttpHeaders(headers);
+			this.content = content;
+		}
+
+		@Override
+		public String name() {
+			return this.name;
+		}
+
+		@Override
+		public HttpHeaders headers() {
+			return this.headers;
+		}
+
+		@Override
+		public Flux<DataBuffer> content() {
+			return this.content.content();
+		}
+
+		@Override
+		public Mono<Void> delete() {
+			return this.content.delete();
+		}
+
+		Content getContent() {
+			return this.content;
+		}
+
+		@Override
+		public String toString() {
+			return "Part '" + this.name + "', headers=" + this.headers;
+		}
+	}
+
+
+	/**
+	 * Default implementation of {@link FilePart}.
+	 */
+	private static class DefaultFilePart extends DefaultPart implements FilePart {
+
+		private final String filename;
+
+		DefaultFilePart(HttpHeaders headers, String filename, Content content) {
+			super(headers, content);
+			this.filename = filename;
+		}
+
+		@Override
+		public String filename() {
+			return this.filename;
+		}
+
+		@Override
+		public Mono<Void> transferTo(Path dest) {
+			return getContent().transferTo(dest);
+		}
+
+		@Override
+		public String toString() {
+			return "Part '" + name() + "', filename='" + this.filename + "'";
+		}
+	}
+
+
+	/**
+	 * Default implementation of {@link FormFieldPart}.
+	 */
+	private static class DefaultFormFieldPart extends DefaultPart implements FormFieldPart {
+
+		private final String value;
+
+		DefaultFormFieldPart(HttpHeaders headers, String value, Content content) {
+			super(headers, content);
+			this.value = value;
+		}
+
+		@Override
+		public String value() {
+			return this.value;
+		}
+
+		@Override
+		public String toString() {
+			return "Part '" + name() + "=" + this.value + "'";
+		}
+	}
+
+}
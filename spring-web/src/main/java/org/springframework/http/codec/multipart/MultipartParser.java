@@ -0,0 +1,488 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.http.codec.multipart;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscription;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.StringUtils;
+
+/**
+ * Subscribes to a buffer stream and produces a flux of {@link Token} instances,
+ * i.e. the headers of each part followed by its body in the form of buffers
+ * that are either the incoming buffers themselves or slices thereof.
+ *
+ * <p>Input is requested one buffer at a time, and only while there is
+ * downstream demand for tokens.
+ *
+ * @author agent (agent@local)
+ * @since 5.1.1
+ */
+final class MultipartParser extends BaseSubscriber<DataBuffer> {
+
+	private static final byte CR = '\r';
+
+	private static final byte LF = '\n';
+
+	private static final byte HYPHEN = '-';
+
+	private static final byte[] CRLF = {CR, LF};
+
+	private static final byte[] DOUBLE_CRLF = {CR, LF, CR, LF};
+
+	private static final Charset HEADERS_CHARSET = StandardCharsets.UTF_8;
+
+
+	private final FluxSink<Token> sink;
+
+	private final byte[] boundary;
+
+	private final int maxHeadersSize;
+
+	private final AtomicBoolean requestOutstanding = new AtomicBoolean();
+
+	private volatile State state;
+
+
+	private MultipartParser(FluxSink<Token> sink, byte[] boundary, int maxHeadersSize) {
+		this.sink = sink;
+		this.boundary = boundary;
+		this.maxHeadersSize = maxHeadersSize;
+		this.state = new PreambleState();
+	}
+
+
+	/**
+	 * Parse the given stream of buffers into a stream of tokens.
+	 * @param buffers the input buffers
+	 * @param boundary the multipart boundary, as found in the Content-Type header
+	 * @param maxHeadersSize the maximum buffered header size per part
+	 * @return the output tokens
+	 */
+	public static Flux<Token> parse(Publisher<DataBuffer> buffers, byte[] boundary, int maxHeadersSize) {
+		return Flux.create(sink -> {
+			MultipartParser parser = new MultipartParser(sink, boundary, maxHeadersSize);
+			sink.onCancel(parser::onSinkCancel);
+			sink.onRequest(n -> parser.requestBuffer());
+			buffers.subscribe(parser);
+		});
+	}
+
+
+	@Override
+	protected void hookOnSubscribe(Subscription subscription) {
+		requestBuffer();
+	}
+
+	@Override
+	protected void hookOnNext(DataBuffer buffer) {
+		this.state.onNext(buffer);
+		// Reset only now, avoiding re-entrant input while emitting tokens
+		this.requestOutstanding.set(false);
+		if (this.sink.requestedFromDownstream() > 0 || this.state == DisposedState.INSTANCE) {
+			requestBuffer();
+		}
+	}
+
+	@Override
+	protected void hookOnComplete() {
+		this.state.onComplete();
+	}
+
+	@Override
+	protected void hookOnError(Throwable ex) {
+		changeState(DisposedState.INSTANCE);
+		this.sink.error(ex);
+	}
+
+	private void onSinkCancel() {
+		changeState(DisposedState.INSTANCE);
+		cancel();
+	}
+
+	private void requestBuffer() {
+		if (upstream() != null && !this.sink.isCancelled() &&
+				!this.requestOutstanding.getAndSet(true)) {
+			request(1);
+		}
+	}
+
+	private void fail(Throwable ex) {
+		changeState(DisposedState.INSTANCE);
+		cancel();
+		this.sink.error(ex);
+	}
+
+	private void changeState(State newState) {
+		State oldState = this.state;
+		this.state = newState;
+		oldState.dispose();
+	}
+
+	private void emit(Token token) {
+		this.sink.next(token);
+	}
+
+	private static byte[] concat(byte[]... byteArrays) {
+		int length = 0;
+		for (byte[] byteArray : byteArrays) {
+			length += byteArray.length;
+		}
+		byte[] result = new byte[length];
+		int offset = 0;
+		for (byte[] byteArray : byteArrays) {
+			System.arraycopy(byteArray, 0, result, offset, byteArray.length);
+			offset += byteArray.length;
+		}
+		return result;
+	}
+
+
+	/**
+	 * Represents the output of {@link #parse}: either the headers of a part,
+	 * or a buffer with (a portion of) its body.
+	 */
+	abstract static class Token {
+
+		/**
+		 * Return the headers of the part, for a headers token.
+		 */
+		public abstract HttpHeaders headers();
+
+		/**
+		 * Return the body buffer, for a body token.
+		 */
+		public abstract DataBuffer buffer();
+
+		/**
+		 * Whether this token marks the start of a new part.
+		 */
+		public boolean isHeaders() {
+			return false;
+		}
+	}
+
+
+	/**
+	 * Token for the headers of a part.
+	 */
+	static final class HeadersToken extends Token {
+
+		private final HttpHeaders headers;
+
+		HeadersToken(HttpHeaders headers) {
+			this.headers = headers;
+		}
+
+		@Override
+		public HttpHeaders headers() {
+			return this.headers;
+		}
+
+		@Override
+		public DataBuffer buffer() {
+			throw new IllegalStateException("Not a body token");
+		}
+
+		@Override
+		public boolean isHeaders() {
+			return true;
+		}
+	}
+
+
+	/**
+	 * Token for a buffer with (a portion of) the body of a part.
+	 */
+	static final class BodyToken extends Token {
+
+		private final DataBuffer buffer;
+
+		BodyToken(DataBuffer buffer) {
+			this.buffer = buffer;
+		}
+
+		@Override
+		public HttpHeaders headers() {
+			throw new IllegalStateException("Not a headers token");
+		}
+
+		@Override
+		public DataBuffer buffer() {
+			return this.buffer;
+		}
+	}
+
+
+	/**
+	 * Parser state. Each state takes ownership of the buffers passed to
+	 * {@link #onNext}: it either releases them or passes them on.
+	 */
+	private interface State {
+
+		void onNext(DataBuffer buffer);
+
+		void onComplete();
+
+		default void dispose() {
+		}
+	}
+
+
+	/**
+	 * Skips the preamble until the first boundary, which (unlike the boundaries
+	 * that follow a body) is not necessarily preceded by CRLF.
+	 */
+	private final class PreambleState implements State {
+
+		private final DataBufferUtils.Matcher firstBoundary = DataBufferUtils.matcher(
+				concat(new byte[] {HYPHEN, HYPHEN}, MultipartParser.this.boundary));
+
+		@Override
+		public void onNext(DataBuffer buffer) {
+			int endIdx = this.firstBoundary.match(buffer);
+			if (endIdx != -1) {
+				buffer.readPosition(endIdx + 1);
+				HeadersState headersState = new HeadersState();
+				changeState(headersState);
+				headersState.onNext(buffer);
+			}
+			else {
+				DataBufferUtils.release(buffer);
+			}
+		}
+
+		@Override
+		public void onComplete() {
+			fail(new DecodingException("Could not find first boundary"));
+		}
+	}
+
+
+	/**
+	 * Reads the bytes following a boundary: either "--" which marks the end
+	 * of the multipart message, or the CRLF-separated headers of the next part,
+	 * ending with an empty line.
+	 */
+	private final class HeadersState implements State {
+
+		private final DataBufferUtils.Matcher endOfHeaders = DataBufferUtils.matcher(DOUBLE_CRLF);
+
+		private final ByteArrayOutputStream headerBytes = new ByteArrayOutputStream();
+
+		@Override
+		public void onNext(DataBuffer buffer) {
+			if (this.headerBytes.size() < 2 && isEndOfMessage(buffer)) {
+				changeState(DisposedState.INSTANCE);
+				DataBufferUtils.release(buffer);
+				sink.complete();
+				return;
+			}
+			int endIdx = this.endOfHeaders.match(buffer);
+			int length = (endIdx != -1 ? endIdx + 1 : buffer.writePosition()) - buffer.readPosition();
+			if (this.headerBytes.size() + length > maxHeadersSize) {
+				DataBufferUtils.release(buffer);
+				fail(new DataBufferLimitException("Part headers exceeded the limit of " + maxHeadersSize + " bytes"));
+				return;
+			}
+			byte[] bytes = new byte[length];
+			buffer.read(bytes);
+			this.headerBytes.write(bytes, 0, length);
+			if (endIdx != -1) {
+				emit(new HeadersToken(parseHeaders()));
+				BodyState bodyState = new BodyState();
+				changeState(bodyState);
+				bodyState.onNext(buffer);
+			}
+			else {
+				DataBufferUtils.release(buffer);
+			}
+		}
+
+		/**
+		 * Check whether the boundary is followed by "--", looking at the bytes
+		 * buffered so far plus the given buffer.
+		 */
+		private boolean isEndOfMessage(DataBuffer buffer) {
+			byte[] bytes = this.headerBytes.toByteArray();
+			for (int i = 0; i < 2; i++) {
+				byte b;
+				if (i < bytes.length) {
+					b = bytes[i];
+				}
+				else {
+					int index = buffer.readPosition() + i - bytes.length;
+					if (index >= buffer.writePosition()) {
+						return false;
+					}
+					b = buffer.getByte(index);
+				}
+				if (b != HYPHEN) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		private HttpHeaders parseHeaders() {
+			HttpHeaders headers = new HttpHeaders();
+			String string = new String(this.headerBytes.toByteArray(), HEADERS_CHARSET);
+			for (String line : StringUtils.delimitedListToStringArray(string, "\r\n")) {
+				int colonIdx = line.indexOf(':');
+				if (colonIdx > 0) {
+					headers.add(line.substring(0, colonIdx).trim(), line.substring(colonIdx + 1).trim());
+				}
+			}
+			return headers;
+		}
+
+		@Override
+		public void onComplete() {
+			fail(new DecodingException("Could not find end of headers"));
+		}
+	}
+
+
+	/**
+	 * Emits the body of a part until the next boundary, preceded by CRLF.
+	 * Buffers that may end with a partial boundary are held back until it is
+	 * known whether the boundary completes.
+	 */
+	private final class BodyState implements State {
+
+		private final byte[] delimiter = concat(CRLF, new byte[] {HYPHEN, HYPHEN}, MultipartParser.this.boundary);
+
+		private final DataBufferUtils.Matcher boundaryMatcher = DataBufferUtils.matcher(this.delimiter);
+
+		private final Deque<DataBuffer> queue = new ArrayDeque<>();
+
+		private int queuedByteCount;
+
+		@Override
+		public void onNext(DataBuffer buffer) {
+			int endIdx = this.boundaryMatcher.match(buffer);
+			if (endIdx == -1) {
+				enqueue(buffer);
+				emitQueue(this.delimiter.length - 1);
+				return;
+			}
+			int delimiterStart = endIdx + 1 - this.delimiter.length;
+			if (delimiterStart >= buffer.readPosition()) {
+				emitQueue(0);
+				int length = delimiterStart - buffer.readPosition();
+				if (length > 0) {
+					emit(new BodyToken(DataBufferUtils.retain(buffer.slice(buffer.readPosition(), length))));
+				}
+			}
+			else {
+				// Boundary started in the held back buffers: truncate those
+				trimQueue(buffer.readPosition() - delimiterStart);
+				emitQueue(0);
+			}
+			buffer.readPosition(endIdx + 1);
+			HeadersState headersState = new HeadersState();
+			changeState(headersState);
+			headersState.onNext(buffer);
+		}
+
+		private void enqueue(DataBuffer buffer) {
+			if (buffer.readableByteCount() > 0) {
+				this.queue.add(buffer);
+				this.queuedByteCount += buffer.readableByteCount();
+			}
+			else {
+				DataBufferUtils.release(buffer);
+			}
+		}
+
+		/**
+		 * Emit queued buffers as long as the remaining ones hold at least the
+		 * given number of bytes.
+		 */
+		private void emitQueue(int byteCountToRetain) {
+			DataBuffer first;
+			while ((first = this.queue.peek()) != null &&
+					this.queuedByteCount - first.readableByteCount() >= byteCountToRetain) {
+				this.queue.poll();
+				this.queuedByteCount -= first.readableByteCount();
+				emit(new BodyToken(first));
+			}
+		}
+
+		private void trimQueue(int byteCount) {
+			while (byteCount > 0) {
+				DataBuffer last = this.queue.peekLast();
+				if (last == null) {
+					break;
+				}
+				int length = Math.min(byteCount, last.readableByteCount());
+				last.writePosition(last.writePosition() - length);
+				this.queuedByteCount -= length;
+				byteCount -= length;
+				if (last.readableByteCount() == 0) {
+					DataBufferUtils.release(this.queue.pollLast());
+				}
+			}
+		}
+
+		@Override
+		public void onComplete() {
+			fail(new DecodingException("Could not find end of body"));
+		}
+
+		@Override
+		public void dispose() {
+			this.queue.forEach(DataBufferUtils::release);
+			this.queue.clear();
+		}
+	}
+
+
+	/**
+	 * State after the end of the multipart message or after an error,
+	 * discarding any remaining input.
+	 */
+	private static final class DisposedState implements State {
+
+		static final DisposedState INSTANCE = new DisposedState();
+
+		@Override
+		public void onNext(DataBuffer buffer) {
+			DataBufferUtils.release(buffer);
+		}
+
+		@Override
+		public void onComplete() {
+		}
+	}
+
+}
@@ -17,6 +17,7 @@
 package org.springframework.http.codec.multipart;
 
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.HttpHeaders;
@@ -57,4 +58,18 @@ public interface Part {
 	 */
 	Flux<DataBuffer> content();
 
+	/**
+	 * Delete the underlying storage for this part, e.g. a temporary file
+	 * that the part content has been stored in. Once deleted, the part
+	 * content is no longer accessible.
+	 * <p>Parts of the {@link org.springframework.web.server.ServerWebExchange#getMultipartData()
+	 * multipart data} of an exchange are deleted once the exchange is complete.
+	 * <p>The default implementation does nothing.
+	 * @return a completion signal for the deletion
+	 * @since 5.1.1
+	 */
+	default Mono<Void> delete() {
+		return Mono.empty();
+	}
+
 }
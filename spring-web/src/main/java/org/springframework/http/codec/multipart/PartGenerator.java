@@ -0,0 +1,220 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.http.codec.multipart;
+
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.reactivestreams.Subscription;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Operators;
+import reactor.core.publisher.UnicastProcessor;
+import reactor.util.concurrent.Queues;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.lang.Nullable;
+
+/**
+ * Subscribes to a token stream (i.e. the result of {@link MultipartParser#parse})
+ * and produces a flux of streaming {@link Part} objects, the content of which
+ * is backed by the body tokens of the respective part.
+ *
+ * <p>Tokens are only requested on behalf of the content subscriber of the
+ * current part, so the content of each part has to be consumed (or cancelled)
+ * for the next part to be produced. They are requested one at a time, as the
+ * previous one has been delivered, so that no more than one token is pending
+ * regardless of the demand of the content subscriber.
+ *
+ * @author agent (agent@local)
+ * @since 5.1.1
+ */
+final class PartGenerator extends BaseSubscriber<MultipartParser.Token> {
+
+	private final FluxSink<Part> sink;
+
+	@Nullable
+	private volatile StreamingContent current;
+
+	private volatile boolean sinkCancelled;
+
+
+	private PartGenerator(FluxSink<Part> sink) {
+		this.sink = sink;
+	}
+
+
+	/**
+	 * Create streaming parts from the given tokens.
+	 * @param tokens the tokens as produced by {@link MultipartParser}
+	 * @return the parts
+	 */
+	public static Flux<Part> createParts(Flux<MultipartParser.Token> tokens) {
+		return Flux.create(sink -> {
+			PartGenerator generator = new PartGenerator(sink);
+			sink.onCancel(generator::onSinkCancel);
+			sink.onRequest(n -> generator.requestHeaders());
+			tokens.subscribe(generator);
+		});
+	}
+
+
+	@Override
+	protected void hookOnSubscribe(Subscription subscription) {
+		requestHeaders();
+	}
+
+	@Override
+	protected void hookOnNext(MultipartParser.Token token) {
+		if (token.isHeaders()) {
+			StreamingContent previous = this.current;
+			if (previous != null) {
+				previous.complete();
+			}
+			if (this.sinkCancelled) {
+				this.current = null;
+				cancel();
+				return;
+			}
+			StreamingContent content = new StreamingContent();
+			this.current = content;
+			this.sink.next(DefaultParts.part(token.headers(), content.flux()));
+		}
+		else {
+			StreamingContent content = this.current;
+			if (content != null) {
+				content.next(token.buffer());
+			}
+			else {
+				DataBufferUtils.release(token.buffer());
+			}
+		}
+	}
+
+	@Override
+	protected void hookOnComplete() {
+		StreamingContent content = this.current;
+		if (content != null) {
+			content.complete();
+		}
+		this.sink.complete();
+	}
+
+	@Override
+	protected void hookOnError(Throwable ex) {
+		StreamingContent content = this.current;
+		if (content != null) {
+			content.error(ex);
+		}
+		this.sink.error(ex);
+	}
+
+	private void requestHeaders() {
+		// Before the first part: afterwards, demand is driven by part content
+		if (this.current == null && upstream() != null) {
+			request(1);
+		}
+	}
+
+	private void onSinkCancel() {
+		this.sinkCancelled = true;
+		StreamingContent content = this.current;
+		if (content == null || !content.subscribed) {
+			// Nobody left to consume the remaining input
+			cancel();
+		}
+	}
+
+
+	/**
+	 * The content of a streaming part, buffered until subscribed to.
+	 */
+	private final class StreamingContent {
+
+		private final Queue<DataBuffer> queue = Queues.<DataBuffer>unbounded().get();
+
+		private final UnicastProcessor<DataBuffer> processor = UnicastProcessor.create(this.queue);
+
+		/** Demand of the content subscriber not yet met. */
+		private final AtomicLong demand = new AtomicLong();
+
+		/** Whether a token has been requested on behalf of this part. */
+		private final AtomicBoolean tokenRequested = new AtomicBoolean();
+
+		private volatile boolean subscribed;
+
+		private volatile boolean cancelled;
+
+		Flux<DataBuffer> flux() {
+			return this.processor
+					.doOnSubscribe(subscription -> this.subscribed = true)
+					.doOnRequest(n -> {
+						this.demand.accumulateAndGet(n, Operators::addCap);
+						requestToken();
+					})
+					.doOnCancel(() -> {
+						this.cancelled = true;
+						releaseQueue();
+						if (current == this && !isDisposed()) {
+							// Keep going, skipping the rest of this part
+							request(1);
+						}
+					});
+		}
+
+		void next(DataBuffer buffer) {
+			this.tokenRequested.set(false);
+			if (this.cancelled) {
+				DataBufferUtils.release(buffer);
+				request(1);
+			}
+			else {
+				if (this.demand.get() != Long.MAX_VALUE) {
+					this.demand.decrementAndGet();
+				}
+				this.processor.onNext(buffer);
+				requestToken();
+			}
+		}
+
+		private void requestToken() {
+			if (current == this && !isDisposed() && !this.cancelled &&
+					this.demand.get() > 0 && this.tokenRequested.compareAndSet(false, true)) {
+				request(1);
+			}
+		}
+
+		void complete() {
+			this.processor.onComplete();
+		}
+
+		void error(Throwable ex) {
+			this.processor.onError(ex);
+		}
+
+		private void releaseQueue() {
+			DataBuffer buffer;
+			while ((buffer = this.queue.poll()) != null) {
+				DataBufferUtils.release(buffer);
+			}
+		}
+	}
+
+}
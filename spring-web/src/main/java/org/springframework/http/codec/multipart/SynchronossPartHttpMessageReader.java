@@ -17,6 +17,8 @@
 package org.springframework.http.codec.multipart;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.nio.channels.Channels;
 import java.nio.channels.FileChannel;
 import java.nio.channels.ReadableByteChannel;
@@ -48,6 +50,7 @@ import org.springframework.core.ResolvableType;
 import org.springframework.core.codec.Hints;
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferLimitException;
 import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.core.io.buffer.DefaultDataBufferFactory;
 import org.springframework.core.log.LogFormatUtils;
@@ -66,6 +69,11 @@ import org.springframework.util.Assert;
  * <p>This reader can be provided to {@link MultipartHttpMessageReader} in order
  * to aggregate all parts into a Map.
  *
+ * <p>Part bodies beyond the {@link #setMaxInMemorySize in-memory threshold}
+ * are written to temporary files by the parser. Part content is subsequently
+ * read through the {@link DataBufferFactory} of the request body, i.e. from
+ * pooled buffers where the server provides them.
+ *
  * @author Sebastien Deleuze
  * @author Rossen Stoyanchev
  * @author Arjen Poutsma
@@ -77,7 +85,70 @@ public class SynchronossPartHttpMessageReader extends LoggingCodecSupport implem
 
 	private final DataBufferFactory bufferFactory = new DefaultDataBufferFactory();
 
-	private final PartBodyStreamStorageFactory streamStorageFactory = new DefaultPartBodyStreamStorageFactory();
+	private int maxInMemorySize = -1;
+
+	private long maxDiskUsagePerPart = -1;
+
+	private int maxParts = -1;
+
+
+	/**
+	 * Configure the maximum amount of memory allowed per part.
+	 * When the limit is exceeded, file parts are written to a temporary file,
+	 * while non-file parts are rejected with {@link DataBufferLimitException}.
+	 * <p>By default this is set to -1, in which case the default threshold
+	 * of the Synchronoss parser applies and non-file parts are not limited.
+	 * @param byteCount the in-memory limit in bytes, or -1 for the default
+	 * @since 5.1.1
+	 */
+	public void setMaxInMemorySize(int byteCount) {
+		this.maxInMemorySize = byteCount;
+	}
+
+	/**
+	 * Return the {@link #setMaxInMemorySize configured} in-memory limit.
+	 * @since 5.1.1
+	 */
+	public int getMaxInMemorySize() {
+		return this.maxInMemorySize;
+	}
+
+	/**
+	 * Configure the maximum amount of disk space allowed for file parts,
+	 * rejecting larger parts with {@link DataBufferLimitException}.
+	 * <p>By default this is set to -1, i.e. unlimited.
+	 * @param maxDiskUsagePerPart the disk limit in bytes, or -1 for unlimited
+	 * @since 5.1.1
+	 */
+	public void setMaxDiskUsagePerPart(long maxDiskUsagePerPart) {
+		this.maxDiskUsagePerPart = maxDiskUsagePerPart;
+	}
+
+	/**
+	 * Return the {@link #setMaxDiskUsagePerPart configured} disk usage limit.
+	 * @since 5.1.1
+	 */
+	public long getMaxDiskUsagePerPart() {
+		return this.maxDiskUsagePerPart;
+	}
+
+	/**
+	 * Specify the maximum number of parts allowed in a given multipart request,
+	 * rejecting requests with more parts with {@link DataBufferLimitException}.
+	 * <p>By default this is set to -1, i.e. unlimited.
+	 * @since 5.1.1
+	 */
+	public void setMaxParts(int maxParts) {
+		this.maxParts = maxParts;
+	}
+
+	/**
+	 * Return the {@link #setMaxParts configured} limit on the number of parts.
+	 * @since 5.1.1
+	 */
+	public int getMaxParts() {
+		return this.maxParts;
+	}
 
 
 	@Override
@@ -94,7 +165,7 @@ public class SynchronossPartHttpMessageReader extends LoggingCodecSupport implem
 
 	@Override
 	public Flux<Part> read(ResolvableType elementType, ReactiveHttpInputMessage message, Map<String, Object> hints) {
-		return Flux.create(new SynchronossPartGenerator(message, this.bufferFactory, this.streamStorageFactory))
+		return Flux.create(new SynchronossPartGenerator(message, this.bufferFactory, createStreamStorageFactory()))
 				.doOnNext(part -> {
 					if (!Hints.isLoggingSuppressed(hints)) {
 						LogFormatUtils.traceDebug(logger, traceOn -> Hints.getLogPrefix(hints) + "Parsed " +
@@ -112,6 +183,18 @@ public class SynchronossPartHttpMessageReader extends LoggingCodecSupport implem
 	}
 
 
+	private PartBodyStreamStorageFactory createStreamStorageFactory() {
+		PartBodyStreamStorageFactory storageFactory = (this.maxInMemorySize > 0 ?
+				new DefaultPartBodyStreamStorageFactory(this.maxInMemorySize) :
+				new DefaultPartBodyStreamStorageFactory());
+		if (this.maxInMemorySize <= 0 && this.maxDiskUsagePerPart < 0 && this.maxParts < 0) {
+			return storageFactory;
+		}
+		return new LimitedPartBodyStreamStorageFactory(
+				storageFactory, this.maxInMemorySize, this.maxDiskUsagePerPart, this.maxParts);
+	}
+
+
 	/**
 	 * Consume and feed input to the Synchronoss parser, then listen for parser
 	 * output events and adapt to {@code Flux<Sink<Part>>}.
@@ -142,19 +225,20 @@ public class SynchronossPartHttpMessageReader extends LoggingCodecSupport implem
 			Charset charset = Optional.ofNullable(mediaType.getCharset()).orElse(StandardCharsets.UTF_8);
 			MultipartContext context = new MultipartContext(mediaType.toString(), length, charset.name());
 
-			NioMultipartParserListener listener = new FluxSinkAdapterListener(emitter, this.bufferFactory, context);
+			FluxSinkAdapterListener listener = new FluxSinkAdapterListener(emitter, this.bufferFactory, context);
 			NioMultipartParser parser = Multipart
 					.multipart(context)
 					.usePartBodyStreamStorageFactory(this.streamStorageFactory)
 					.forNIO(listener);
 
 			this.inputMessage.getBody().subscribe(buffer -> {
-				byte[] resultBytes = new byte[buffer.readableByteCount()];
-				buffer.read(resultBytes);
+				listener.setBufferFactory(buffer.factory());
 				try {
-					parser.write(resultBytes);
+					for (ByteBuffer byteBuffer : buffer.asByteBuffers()) {
+						write(parser, byteBuffer);
+					}
 				}
-				catch (IOException ex) {
+				catch (IOException | RuntimeException ex) {
 					listener.onError("Exception thrown providing input to the parser", ex);
 				}
 				finally {
@@ -178,6 +262,122 @@ public class SynchronossPartHttpMessageReader extends LoggingCodecSupport implem
 			});
 
 		}
+
+		private void write(NioMultipartParser parser, ByteBuffer byteBuffer) throws IOException {
+			if (byteBuffer.hasArray()) {
+				// Feed heap memory as-is, without an intermediate copy
+				parser.write(byteBuffer.array(), byteBuffer.arrayOffset() + byteBuffer.position(), byteBuffer.remaining());
+			}
+			else {
+				byte[] bytes = new byte[byteBuffer.remaining()];
+				byteBuffer.get(bytes);
+				parser.write(bytes);
+			}
+		}
+	}
+
+
+	/**
+	 * Decorate a {@link PartBodyStreamStorageFactory} in order to enforce the
+	 * configured limits on the number of parts and on the size of each part.
+	 */
+	private static class LimitedPartBodyStreamStorageFactory implements PartBodyStreamStorageFactory {
+
+		private final PartBodyStreamStorageFactory storageFactory;
+
+		private final int maxInMemorySize;
+
+		private final long maxDiskUsagePerPart;
+
+		private final int maxParts;
+
+		LimitedPartBodyStreamStorageFactory(PartBodyStreamStorageFactory storageFactory,
+				int maxInMemorySize, long maxDiskUsagePerPart, int maxParts) {
+
+			this.storageFactory = storageFactory;
+			this.maxInMemorySize = maxInMemorySize;
+			this.maxDiskUsagePerPart = maxDiskUsagePerPart;
+			this.maxParts = maxParts;
+		}
+
+		@Override
+		public StreamStorage newStreamStorageForPartBody(Map<String, List<String>> headers, int index) {
+			if (this.maxParts >= 0 && index > this.maxParts) {
+				throw new DataBufferLimitException("Too many parts: more than " + this.maxParts + " allowed");
+			}
+			long maxByteCount;
+			if (MultipartUtils.getFileName(headers) != null) {
+				maxByteCount = this.maxDiskUsagePerPart;
+			}
+			else {
+				maxByteCount = (this.maxInMemorySize > 0 ? this.maxInMemorySize : -1);
+			}
+			StreamStorage storage = this.storageFactory.newStreamStorageForPartBody(headers, index);
+			return (maxByteCount >= 0 ? new LimitedStreamStorage(storage, index, maxByteCount) : storage);
+		}
+	}
+
+
+	/**
+	 * {@link StreamStorage} decorator that rejects part bodies beyond a
+	 * given number of bytes.
+	 */
+	private static class LimitedStreamStorage extends StreamStorage {
+
+		private final StreamStorage delegate;
+
+		private final int index;
+
+		private final long maxByteCount;
+
+		private long byteCount;
+
+		LimitedStreamStorage(StreamStorage delegate, int index, long maxByteCount) {
+			this.delegate = delegate;
+			this.index = index;
+			this.maxByteCount = maxByteCount;
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			increaseByteCount(1);
+			this.delegate.write(b);
+		}
+
+		@Override
+		public void write(byte[] bytes, int off, int len) throws IOException {
+			increaseByteCount(len);
+			this.delegate.write(bytes, off, len);
+		}
+
+		private void increaseByteCount(int count) {
+			this.byteCount += count;
+			if (this.byteCount > this.maxByteCount) {
+				this.delegate.dispose();
+				throw new DataBufferLimitException(
+						"Part[" + this.index + "] exceeded the limit of " + this.maxByteCount + " bytes");
+			}
+		}
+
+		@Override
+		public void flush() throws IOException {
+			this.delegate.flush();
+		}
+
+		@Override
+		public void close() throws IOException {
+			this.delegate.close();
+		}
+
+		@Override
+		public InputStream getInputStream() {
+			return this.delegate.getInputStream();
+		}
+
+		@Override
+		public boolean dispose() {
+			return this.delegate.dispose();
+		}
 	}
 
 
@@ -188,7 +388,7 @@ public class SynchronossPartHttpMessageReader extends LoggingCodecSupport implem
 
 		private final FluxSink<Part> sink;
 
-		private final DataBufferFactory bufferFactory;
+		private volatile DataBufferFactory bufferFactory;
 
 		private final MultipartContext context;
 
@@ -200,6 +400,14 @@ public class SynchronossPartHttpMessageReader extends LoggingCodecSupport implem
 			this.context = context;
 		}
 
+		/**
+		 * Use the buffer factory of the request body for the content of
+		 * subsequent parts, e.g. in order to read from pooled buffers.
+		 */
+		public void setBufferFactory(DataBufferFactory bufferFactory) {
+			this.bufferFactory = bufferFactory;
+		}
+
 		@Override
 		public void onPartFinished(StreamStorage storage, Map<String, List<String>> headers) {
 			HttpHeaders httpHeaders = new HttpHeaders();
@@ -224,8 +432,21 @@ public class SynchronossPartHttpMessageReader extends LoggingCodecSupport implem
 		@Override
 		public void onError(String message, Throwable cause) {
 			if (this.terminated.getAndIncrement() == 0) {
-				this.sink.error(new RuntimeException(message, cause));
+				DataBufferLimitException limitEx = findLimitException(cause);
+				this.sink.error(limitEx != null ? limitEx : new RuntimeException(message, cause));
+			}
+		}
+
+		@Nullable
+		private static DataBufferLimitException findLimitException(@Nullable Throwable ex) {
+			// The parser wraps exceptions from the part body storage...
+			while (ex != null) {
+				if (ex instanceof DataBufferLimitException) {
+					return (DataBufferLimitException) ex;
+				}
+				ex = ex.getCause();
 			}
+			return null;
 		}
 
 		@Override
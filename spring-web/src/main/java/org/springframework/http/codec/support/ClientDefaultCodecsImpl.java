@@ -76,12 +76,19 @@ class ClientDefaultCodecsImpl extends BaseDefaultCodecs implements ClientCodecCo
 
 	@Override
 	protected void extendObjectReaders(List<HttpMessageReader<?>> objectReaders) {
-		objectReaders.add(new ServerSentEventHttpMessageReader(getSseDecoder()));
+		ServerSentEventHttpMessageReader reader = new ServerSentEventHttpMessageReader(getSseDecoder());
+		Integer maxInMemorySize = getMaxInMemorySize();
+		if (maxInMemorySize != null) {
+			reader.setMaxInMemorySize(maxInMemorySize);
+		}
+		objectReaders.add(reader);
 	}
 
 	@Nullable
 	private Decoder<?> getSseDecoder() {
-		return (this.sseDecoder != null ? this.sseDecoder : jackson2Present ? getJackson2JsonDecoder() : null);
+		Decoder<?> decoder = (this.sseDecoder != null ? this.sseDecoder :
+				jackson2Present ? getJackson2JsonDecoder() : null);
+		return (decoder != null ? init(decoder) : null);
 	}
 
 	@Override
@@ -22,7 +22,9 @@ import org.springframework.http.codec.HttpMessageReader;
 import org.springframework.http.codec.HttpMessageWriter;
 import org.springframework.http.codec.ServerCodecConfigurer;
 import org.springframework.http.codec.ServerSentEventHttpMessageWriter;
+import org.springframework.http.codec.multipart.DefaultPartHttpMessageReader;
 import org.springframework.http.codec.multipart.MultipartHttpMessageReader;
+import org.springframework.http.codec.multipart.Part;
 import org.springframework.http.codec.multipart.SynchronossPartHttpMessageReader;
 import org.springframework.lang.Nullable;
 import org.springframework.util.ClassUtils;
@@ -51,17 +53,31 @@ class ServerDefaultCodecsImpl extends BaseDefaultCodecs implements ServerCodecCo
 
 	@Override
 	protected void extendTypedReaders(List<HttpMessageReader<?>> typedReaders) {
-		if (synchronossMultipartPresent) {
-			boolean enable = isEnableLoggingRequestDetails();
-
-			SynchronossPartHttpMessageReader partReader = new SynchronossPartHttpMessageReader();
-			partReader.setEnableLoggingRequestDetails(enable);
-			typedReaders.add(partReader);
+		boolean enable = isEnableLoggingRequestDetails();
+		Integer maxInMemorySize = getMaxInMemorySize();
 
-			MultipartHttpMessageReader reader = new MultipartHttpMessageReader(partReader);
-			reader.setEnableLoggingRequestDetails(enable);
-			typedReaders.add(reader);
+		HttpMessageReader<Part> partReader;
+		if (synchronossMultipartPresent) {
+			SynchronossPartHttpMessageReader synchronossReader = new SynchronossPartHttpMessageReader();
+			if (maxInMemorySize != null) {
+				synchronossReader.setMaxInMemorySize(maxInMemorySize);
+			}
+			synchronossReader.setEnableLoggingRequestDetails(enable);
+			partReader = synchronossReader;
 		}
+		else {
+			DefaultPartHttpMessageReader defaultReader = new DefaultPartHttpMessageReader();
+			if (maxInMemorySize != null) {
+				defaultReader.setMaxInMemorySize(maxInMemorySize);
+			}
+			defaultReader.setEnableLoggingRequestDetails(enable);
+			partReader = defaultReader;
+		}
+		typedReaders.add(partReader);
+
+		MultipartHttpMessageReader reader = new MultipartHttpMessageReader(partReader);
+		reader.setEnableLoggingRequestDetails(enable);
+		typedReaders.add(reader);
 	}
 
 	@Override
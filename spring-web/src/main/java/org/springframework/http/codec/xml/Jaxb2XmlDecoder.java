@@ -81,6 +81,27 @@ public class Jaxb2XmlDecoder extends AbstractDecoder<Object> {
 	}
 
 
+	/**
+	 * Set the max number of bytes that can be buffered by the underlying
+	 * {@link XmlEventDecoder}.
+	 * <p>By default this is set to -1, i.e. unlimited.
+	 * @param byteCount the max number of bytes to buffer
+	 * @since 5.1.1
+	 * @see XmlEventDecoder#setMaxInMemorySize
+	 */
+	public void setMaxInMemorySize(int byteCount) {
+		this.xmlEventDecoder.setMaxInMemorySize(byteCount);
+	}
+
+	/**
+	 * Return the {@link #setMaxInMemorySize configured} byte count limit.
+	 * @since 5.1.1
+	 */
+	public int getMaxInMemorySize() {
+		return this.xmlEventDecoder.getMaxInMemorySize();
+	}
+
+
 	@Override
 	public boolean canDecode(ResolvableType elementType, @Nullable MimeType mimeType) {
 		if (super.canDecode(elementType, mimeType)) {
@@ -39,6 +39,7 @@ import reactor.core.publisher.Mono;
 import org.springframework.core.ResolvableType;
 import org.springframework.core.codec.AbstractDecoder;
 import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
 import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.lang.Nullable;
 import org.springframework.util.ClassUtils;
@@ -87,12 +88,35 @@ public class XmlEventDecoder extends AbstractDecoder<XMLEvent> {
 
 	boolean useAalto = aaltoPresent;
 
+	private int maxInMemorySize = -1;
+
 
 	public XmlEventDecoder() {
 		super(MimeTypeUtils.APPLICATION_XML, MimeTypeUtils.TEXT_XML);
 	}
 
 
+	/**
+	 * Set the max number of bytes that can be buffered by this decoder: with
+	 * Aalto, the input that may be fed without producing an event; otherwise
+	 * the size of the entire input which then has to be aggregated.
+	 * <p>By default this is set to -1, i.e. unlimited.
+	 * @param byteCount the max number of bytes to buffer
+	 * @since 5.1.1
+	 */
+	public void setMaxInMemorySize(int byteCount) {
+		this.maxInMemorySize = byteCount;
+	}
+
+	/**
+	 * Return the {@link #setMaxInMemorySize configured} byte count limit.
+	 * @since 5.1.1
+	 */
+	public int getMaxInMemorySize() {
+		return this.maxInMemorySize;
+	}
+
+
 	@Override
 	@SuppressWarnings({"rawtypes", "unchecked"})  // on JDK 9 where XMLEventReader is Iterator<Object>
 	public Flux<XMLEvent> decode(Publisher<DataBuffer> inputStream, ResolvableType elementType,
@@ -100,12 +124,12 @@ public class XmlEventDecoder extends AbstractDecoder<XMLEvent> {
 
 		Flux<DataBuffer> flux = Flux.from(inputStream);
 		if (this.useAalto) {
-			AaltoDataBufferToXmlEvent aaltoMapper = new AaltoDataBufferToXmlEvent();
+			AaltoDataBufferToXmlEvent aaltoMapper = new AaltoDataBufferToXmlEvent(this.maxInMemorySize);
 			return flux.flatMap(aaltoMapper)
 					.doFinally(signalType -> aaltoMapper.endOfInput());
 		}
 		else {
-			Mono<DataBuffer> singleBuffer = DataBufferUtils.join(flux);
+			Mono<DataBuffer> singleBuffer = DataBufferUtils.join(flux, this.maxInMemorySize);
 			return singleBuffer.
 					flatMapMany(dataBuffer -> {
 						try {
@@ -134,9 +158,18 @@ public class XmlEventDecoder extends AbstractDecoder<XMLEvent> {
 
 		private final XMLEventAllocator eventAllocator = EventAllocatorImpl.getDefaultInstance();
 
+		private final int maxInMemorySize;
+
+		private long pendingByteCount;
+
+		AaltoDataBufferToXmlEvent(int maxInMemorySize) {
+			this.maxInMemorySize = maxInMemorySize;
+		}
+
 		@Override
 		public Publisher<? extends XMLEvent> apply(DataBuffer dataBuffer) {
 			try {
+				this.pendingByteCount += dataBuffer.readableByteCount();
 				this.streamReader.getInputFeeder().feedInput(dataBuffer.asByteBuffer());
 				List<XMLEvent> events = new ArrayList<>();
 				while (true) {
@@ -152,6 +185,13 @@ public class XmlEventDecoder extends AbstractDecoder<XMLEvent> {
 						}
 					}
 				}
+				if (!events.isEmpty()) {
+					this.pendingByteCount = 0;
+				}
+				else if (this.maxInMemorySize >= 0 && this.pendingByteCount > this.maxInMemorySize) {
+					return Mono.error(new DataBufferLimitException(
+							"Exceeded limit on max bytes per XML event: " + this.maxInMemorySize));
+				}
 				return Flux.fromIterable(events);
 			}
 			catch (XMLStreamException ex) {
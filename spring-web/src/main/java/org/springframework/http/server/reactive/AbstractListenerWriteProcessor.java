@@ -170,6 +170,16 @@ public abstract class AbstractListenerWriteProcessor<T> implements Processor<T,
 	 */
 	protected abstract boolean isDataEmpty(T data);
 
+	/**
+	 * Invoked when a data item is not going to be written, i.e. when it is
+	 * {@linkplain #isDataEmpty empty}, for releasing any resources it holds.
+	 * <p>The default implementation is empty.
+	 * @param data the item that is not going to be written
+	 * @since 5.1.1
+	 */
+	protected void discardData(T data) {
+	}
+
 	/**
 	 * Template method invoked after a data item to write is received via
 	 * {@link Subscriber#onNext(Object)}. The default implementation saves the
@@ -300,6 +310,7 @@ public abstract class AbstractListenerWriteProcessor<T> implements Processor<T,
 			@Override
 			public <T> void onNext(AbstractListenerWriteProcessor<T> processor, T data) {
 				if (processor.isDataEmpty(data)) {
+					processor.discardData(data);
 					Assert.state(processor.subscription != null, "No subscription");
 					processor.subscription.request(1);
 				}
@@ -82,6 +82,21 @@ public abstract class AbstractServerHttpRequest implements ServerHttpRequest {
 		this.headers = HttpHeaders.readOnlyHttpHeaders(headers);
 	}
 
+	/**
+	 * Constructor with the URI and a headers map for the request, e.g. an
+	 * adapter for the native headers of the server, which is exposed as a
+	 * read-only view rather than being copied.
+	 * @param uri the URI for the request
+	 * @param contextPath the context path for the request
+	 * @param headers the headers for the request
+	 * @since 5.1.1
+	 */
+	public AbstractServerHttpRequest(URI uri, @Nullable String contextPath, MultiValueMap<String, String> headers) {
+		this.uri = uri;
+		this.path = RequestPath.parse(uri, contextPath);
+		this.headers = HttpHeaders.readOnlyHttpHeadersView(headers);
+	}
+
 
 	public String getId() {
 		if (this.id == null) {
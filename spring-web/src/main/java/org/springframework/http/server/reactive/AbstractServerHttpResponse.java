@@ -75,9 +75,23 @@ public abstract class AbstractServerHttpResponse implements ServerHttpResponse {
 
 
 	public AbstractServerHttpResponse(DataBufferFactory dataBufferFactory) {
+		this(dataBufferFactory, new HttpHeaders());
+	}
+
+	/**
+	 * Constructor with the headers for the response, e.g. backed by an adapter
+	 * for the native headers of the server, in which case headers are written
+	 * to the native response as they are set, and {@link #applyHeaders()} has
+	 * nothing left to copy.
+	 * @param dataBufferFactory the factory for the response body buffers
+	 * @param headers the headers for the response
+	 * @since 5.1.1
+	 */
+	public AbstractServerHttpResponse(DataBufferFactory dataBufferFactory, HttpHeaders headers) {
 		Assert.notNull(dataBufferFactory, "DataBufferFactory must not be null");
+		Assert.notNull(headers, "HttpHeaders must not be null");
 		this.dataBufferFactory = dataBufferFactory;
-		this.headers = new HttpHeaders();
+		this.headers = headers;
 		this.cookies = new LinkedMultiValueMap<>();
 	}
 
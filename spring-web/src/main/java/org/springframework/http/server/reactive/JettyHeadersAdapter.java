@@ -0,0 +1,211 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.http.server.reactive;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.jetty.http.HttpField;
+import org.eclipse.jetty.http.HttpFields;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.MultiValueMap;
+
+/**
+ * {@code MultiValueMap} implementation for wrapping Jetty HTTP headers,
+ * without copying them in either direction.
+ *
+ * @author agent (agent@local)
+ * @since 5.1.1
+ */
+class JettyHeadersAdapter extends AbstractMap<String, List<String>> implements MultiValueMap<String, String> {
+
+	private final HttpFields headers;
+
+
+	JettyHeadersAdapter(HttpFields headers) {
+		this.headers = headers;
+	}
+
+
+	@Override
+	@Nullable
+	public String getFirst(String key) {
+		return this.headers.get(key);
+	}
+
+	@Override
+	public void add(String key, @Nullable String value) {
+		if (value != null) {
+			this.headers.add(key, value);
+		}
+	}
+
+	@Override
+	public void addAll(String key, List<? extends String> values) {
+		for (String value : values) {
+			add(key, value);
+		}
+	}
+
+	@Override
+	public void addAll(MultiValueMap<String, String> values) {
+		values.forEach(this::addAll);
+	}
+
+	@Override
+	public void set(String key, @Nullable String value) {
+		if (value != null) {
+			this.headers.put(key, value);
+		}
+		else {
+			this.headers.remove(key);
+		}
+	}
+
+	@Override
+	public void setAll(Map<String, String> values) {
+		values.forEach(this::set);
+	}
+
+	@Override
+	public Map<String, String> toSingleValueMap() {
+		Map<String, String> singleValueMap = new LinkedHashMap<>(this.headers.size());
+		for (HttpField field : this.headers) {
+			singleValueMap.putIfAbsent(field.getName(), field.getValue());
+		}
+		return singleValueMap;
+	}
+
+	@Override
+	public int size() {
+		return this.headers.getFieldNamesCollection().size();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return (this.headers.size() == 0);
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return (key instanceof String && this.headers.containsKey((String) key));
+	}
+
+	@Override
+	public boolean containsValue(Object value) {
+		if (value instanceof String) {
+			for (HttpField field : this.headers) {
+				if (value.equals(field.getValue())) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	@Override
+	@Nullable
+	public List<String> get(Object key) {
+		if (containsKey(key)) {
+			return this.headers.getValuesList((String) key);
+		}
+		return null;
+	}
+
+	@Override
+	@Nullable
+	public List<String> put(String key, @Nullable List<String> value) {
+		List<String> previousValues = get(key);
+		this.headers.remove(key);
+		if (value != null) {
+			addAll(key, value);
+		}
+		return previousValues;
+	}
+
+	@Override
+	@Nullable
+	public List<String> remove(Object key) {
+		if (key instanceof String) {
+			List<String> previousValues = get(key);
+			this.headers.remove((String) key);
+			return previousValues;
+		}
+		return null;
+	}
+
+	@Override
+	public void putAll(Map<? extends String, ? extends List<String>> map) {
+		map.forEach(this::put);
+	}
+
+	@Override
+	public void clear() {
+		this.headers.clear();
+	}
+
+	@Override
+	public Set<Entry<String, List<String>>> entrySet() {
+		return new EntrySet();
+	}
+
+
+	/**
+	 * Entry set view, resolving the values of each header name on iteration.
+	 */
+	private class EntrySet extends AbstractSet<Entry<String, List<String>>> {
+
+		@Override
+		public Iterator<Entry<String, List<String>>> iterator() {
+			Iterator<String> names = new ArrayList<>(headers.getFieldNamesCollection()).iterator();
+			return new Iterator<Entry<String, List<String>>>() {
+				@Nullable
+				private String current;
+				@Override
+				public boolean hasNext() {
+					return names.hasNext();
+				}
+				@Override
+				public Entry<String, List<String>> next() {
+					this.current = names.next();
+					return new SimpleImmutableEntry<>(this.current, headers.getValuesList(this.current));
+				}
+				@Override
+				public void remove() {
+					if (this.current == null) {
+						throw new IllegalStateException("No current header in iterator");
+					}
+					headers.remove(this.current);
+					this.current = null;
+				}
+			};
+		}
+
+		@Override
+		public int size() {
+			return headers.getFieldNamesCollection().size();
+		}
+	}
+
+}
@@ -17,19 +17,28 @@
 package org.springframework.http.server.reactive;
 
 import java.io.IOException;
+import java.net.URISyntaxException;
 import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
 import javax.servlet.AsyncContext;
 import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
 import org.eclipse.jetty.server.HttpOutput;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.Response;
 
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.util.Assert;
 
 /**
  * {@link ServletHttpHandlerAdapter} extension that uses Jetty APIs for writing
- * to the response with {@link ByteBuffer}.
+ * to the response with {@link ByteBuffer}, and that adapts the native Jetty
+ * request and response headers rather than copying them.
  *
  * @author Violeta Georgieva
  * @since 5.0
@@ -42,6 +51,20 @@ public class JettyHttpHandlerAdapter extends ServletHttpHandlerAdapter {
 	}
 
 
+	@Override
+	protected ServletServerHttpRequest createRequest(HttpServletRequest request, AsyncContext context)
+			throws IOException, URISyntaxException {
+
+		Request jettyRequest = Request.getBaseRequest(request);
+		if (jettyRequest == null) {
+			return super.createRequest(request, context);
+		}
+		String servletPath = getServletPath();
+		Assert.notNull(servletPath, "Servlet path is not initialized");
+		return new ServletServerHttpRequest(new JettyHeadersAdapter(jettyRequest.getHttpFields()),
+				request, context, servletPath, getDataBufferFactory(), getBufferSize());
+	}
+
 	@Override
 	protected ServletServerHttpResponse createResponse(HttpServletResponse response,
 			AsyncContext context, ServletServerHttpRequest request) throws IOException {
@@ -53,19 +76,60 @@ public class JettyHttpHandlerAdapter extends ServletHttpHandlerAdapter {
 
 	private static final class JettyServerHttpResponse extends ServletServerHttpResponse {
 
+		private final boolean nativeHeaders;
+
 		public JettyServerHttpResponse(HttpServletResponse response, AsyncContext asyncContext,
 				DataBufferFactory bufferFactory, int bufferSize, ServletServerHttpRequest request)
 				throws IOException {
 
-			super(response, asyncContext, bufferFactory, bufferSize, request);
+			super(createHeaders(response), response, asyncContext, bufferFactory, bufferSize, request);
+			this.nativeHeaders = (response instanceof Response);
+		}
+
+		private static HttpHeaders createHeaders(HttpServletResponse response) {
+			if (response instanceof Response) {
+				return new HttpHeaders(new JettyHeadersAdapter(((Response) response).getHttpFields()));
+			}
+			return new HttpHeaders();
+		}
+
+		@Override
+		protected void applyHeaders() {
+			if (!this.nativeHeaders) {
+				super.applyHeaders();
+				return;
+			}
+			// Headers are set on the Jetty response directly, just keeping its
+			// content type, character encoding and content length in sync
+			HttpServletResponse response = getNativeResponse();
+			MediaType contentType = getHeaders().getContentType();
+			if (response.getContentType() == null && contentType != null) {
+				response.setContentType(contentType.toString());
+			}
+			Charset charset = (contentType != null ? contentType.getCharset() : null);
+			if (response.getCharacterEncoding() == null && charset != null) {
+				response.setCharacterEncoding(charset.name());
+			}
+			long contentLength = getHeaders().getContentLength();
+			if (contentLength != -1) {
+				response.setContentLengthLong(contentLength);
+			}
 		}
 
 		@Override
 		protected int writeToOutputStream(DataBuffer dataBuffer) throws IOException {
-			ByteBuffer input = dataBuffer.asByteBuffer();
-			int len = input.remaining();
 			ServletResponse response = getNativeResponse();
-			((HttpOutput) response.getOutputStream()).write(input);
+			HttpOutput outputStream = (HttpOutput) response.getOutputStream();
+			int len = 0;
+			for (ByteBuffer input : dataBuffer.asByteBuffers()) {
+				if (len > 0 && !outputStream.isReady()) {
+					// Resume with the remaining components on the next write callback
+					break;
+				}
+				len += input.remaining();
+				outputStream.write(input);
+			}
+			dataBuffer.readPosition(dataBuffer.readPosition() + len);
 			return len;
 		}
 	}
@@ -0,0 +1,247 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.http.server.reactive;
+
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.util.AsciiString;
+
+import org.springframework.http.MediaType;
+import org.springframework.lang.Nullable;
+import org.springframework.util.MultiValueMap;
+
+/**
+ * {@code MultiValueMap} implementation for wrapping Netty HTTP headers,
+ * without copying them in either direction.
+ *
+ * <p>Common {@code Content-Type} values are set as pre-encoded
+ * {@link AsciiString} constants, which Netty writes to the wire as a
+ * plain copy of their bytes.
+ *
+ * <p>The value lists returned by this map are unmodifiable snapshots:
+ * changes must go through the map itself, e.g. through {@link #add}.
+ *
+ * @author agent (agent@local)
+ * @since 5.1.1
+ */
+class NettyHeadersAdapter extends AbstractMap<String, List<String>> implements MultiValueMap<String, String> {
+
+	private static final Map<String, AsciiString> CONTENT_TYPE_VALUES = new HashMap<>(32);
+
+	static {
+		MediaType[] mediaTypes = new MediaType[] {
+				MediaType.APPLICATION_FORM_URLENCODED, MediaType.APPLICATION_JSON, MediaType.APPLICATION_JSON_UTF8,
+				MediaType.APPLICATION_OCTET_STREAM, MediaType.APPLICATION_PROBLEM_JSON,
+				MediaType.APPLICATION_PROBLEM_JSON_UTF8, MediaType.APPLICATION_STREAM_JSON, MediaType.APPLICATION_XML,
+				MediaType.TEXT_EVENT_STREAM, MediaType.TEXT_HTML, MediaType.TEXT_PLAIN, MediaType.TEXT_XML};
+		for (MediaType mediaType : mediaTypes) {
+			cacheContentType(mediaType);
+			if ("text".equals(mediaType.getType())) {
+				cacheContentType(new MediaType(mediaType, StandardCharsets.UTF_8));
+			}
+		}
+	}
+
+	private static void cacheContentType(MediaType mediaType) {
+		String value = mediaType.toString();
+		CONTENT_TYPE_VALUES.put(value, AsciiString.cached(value));
+	}
+
+
+	private final HttpHeaders headers;
+
+
+	NettyHeadersAdapter(HttpHeaders headers) {
+		this.headers = headers;
+	}
+
+
+	@Override
+	@Nullable
+	public String getFirst(String key) {
+		return this.headers.get(key);
+	}
+
+	@Override
+	public void add(String key, @Nullable String value) {
+		if (value != null) {
+			this.headers.add(key, encodeValue(key, value));
+		}
+	}
+
+	@Override
+	public void addAll(String key, List<? extends String> values) {
+		for (String value : values) {
+			add(key, value);
+		}
+	}
+
+	@Override
+	public void addAll(MultiValueMap<String, String> values) {
+		values.forEach(this::addAll);
+	}
+
+	@Override
+	public void set(String key, @Nullable String value) {
+		if (value != null) {
+			this.headers.set(key, encodeValue(key, value));
+		}
+		else {
+			this.headers.remove(key);
+		}
+	}
+
+	@Override
+	public void setAll(Map<String, String> values) {
+		values.forEach(this::set);
+	}
+
+	@Override
+	public Map<String, String> toSingleValueMap() {
+		Map<String, String> singleValueMap = new LinkedHashMap<>(this.headers.size());
+		this.headers.entries().forEach(entry -> singleValueMap.putIfAbsent(entry.getKey(), entry.getValue()));
+		return singleValueMap;
+	}
+
+	@Override
+	public int size() {
+		return this.headers.names().size();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return this.headers.isEmpty();
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return (key instanceof String && this.headers.contains((String) key));
+	}
+
+	@Override
+	public boolean containsValue(Object value) {
+		return (value instanceof String &&
+				this.headers.entries().stream().anyMatch(entry -> value.equals(entry.getValue())));
+	}
+
+	@Override
+	@Nullable
+	public List<String> get(Object key) {
+		if (containsKey(key)) {
+			return Collections.unmodifiableList(this.headers.getAll((String) key));
+		}
+		return null;
+	}
+
+	@Override
+	@Nullable
+	public List<String> put(String key, @Nullable List<String> value) {
+		List<String> previousValues = get(key);
+		this.headers.remove(key);
+		if (value != null) {
+			addAll(key, value);
+		}
+		return previousValues;
+	}
+
+	@Override
+	@Nullable
+	public List<String> remove(Object key) {
+		if (key instanceof String) {
+			List<String> previousValues = get(key);
+			this.headers.remove((String) key);
+			return previousValues;
+		}
+		return null;
+	}
+
+	@Override
+	public void putAll(Map<? extends String, ? extends List<String>> map) {
+		map.forEach(this::put);
+	}
+
+	@Override
+	public void clear() {
+		this.headers.clear();
+	}
+
+	@Override
+	public Set<Entry<String, List<String>>> entrySet() {
+		return new EntrySet();
+	}
+
+
+	private static Object encodeValue(String key, String value) {
+		if (org.springframework.http.HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(key)) {
+			AsciiString cached = CONTENT_TYPE_VALUES.get(value);
+			if (cached != null) {
+				return cached;
+			}
+		}
+		return value;
+	}
+
+
+	/**
+	 * Entry set view, resolving the values of each header name on iteration.
+	 */
+	private class EntrySet extends AbstractSet<Entry<String, List<String>>> {
+
+		@Override
+		public Iterator<Entry<String, List<String>>> iterator() {
+			Iterator<String> names = headers.names().iterator();
+			return new Iterator<Entry<String, List<String>>>() {
+				@Nullable
+				private String current;
+				@Override
+				public boolean hasNext() {
+					return names.hasNext();
+				}
+				@Override
+				public Entry<String, List<String>> next() {
+					this.current = names.next();
+					List<String> values = Collections.unmodifiableList(headers.getAll(this.current));
+					return new SimpleImmutableEntry<>(this.current, values);
+				}
+				@Override
+				public void remove() {
+					if (this.current == null) {
+						throw new IllegalStateException("No current header in iterator");
+					}
+					headers.remove(this.current);
+					this.current = null;
+				}
+			};
+		}
+
+		@Override
+		public int size() {
+			return headers.names().size();
+		}
+	}
+
+}
@@ -19,6 +19,7 @@ package org.springframework.http.server.reactive;
 import java.nio.file.Path;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.handler.codec.http.HttpHeaderNames;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.netty.handler.codec.http.cookie.Cookie;
 import io.netty.handler.codec.http.cookie.DefaultCookie;
@@ -30,6 +31,7 @@ import reactor.netty.http.server.HttpServerResponse;
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.core.io.buffer.DataBufferFactory;
 import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseCookie;
 import org.springframework.http.ZeroCopyHttpOutputMessage;
 import org.springframework.util.Assert;
@@ -45,11 +47,23 @@ class ReactorServerHttpResponse extends AbstractServerHttpResponse implements Ze
 
 	private final HttpServerResponse response;
 
+	private final boolean chunkedTransfer;
+
 
 	public ReactorServerHttpResponse(HttpServerResponse response, DataBufferFactory bufferFactory) {
-		super(bufferFactory);
-		Assert.notNull(response, "HttpServerResponse must not be null");
+		super(bufferFactory, createHeaders(response));
 		this.response = response;
+		// Keep the server's default transfer encoding out of the response headers,
+		// so that a content length can still be set before the response is committed
+		this.chunkedTransfer = response.responseHeaders().contains(HttpHeaderNames.TRANSFER_ENCODING);
+		if (this.chunkedTransfer) {
+			response.chunkedTransfer(false);
+		}
+	}
+
+	private static HttpHeaders createHeaders(HttpServerResponse response) {
+		Assert.notNull(response, "HttpServerResponse must not be null");
+		return new HttpHeaders(new NettyHeadersAdapter(response.responseHeaders()));
 	}
 
 
@@ -80,11 +94,10 @@ class ReactorServerHttpResponse extends AbstractServerHttpResponse implements Ze
 
 	@Override
 	protected void applyHeaders() {
-		getHeaders().forEach((headerName, headerValues) -> {
-			for (String value : headerValues) {
-				this.response.responseHeaders().add(headerName, value);
-			}
-		});
+		// Headers are set on the Netty response directly, apart from the default transfer encoding
+		if (this.chunkedTransfer && !this.response.responseHeaders().contains(HttpHeaderNames.CONTENT_LENGTH)) {
+			this.response.chunkedTransfer(true);
+		}
 	}
 
 	@Override
@@ -74,7 +74,14 @@ class ServletServerHttpRequest extends AbstractServerHttpRequest {
 			String servletPath, DataBufferFactory bufferFactory, int bufferSize)
 			throws IOException, URISyntaxException {
 
-		super(initUri(request), request.getContextPath() + servletPath, initHeaders(request));
+		this(createDefaultHttpHeaders(request), request, asyncContext, servletPath, bufferFactory, bufferSize);
+	}
+
+	public ServletServerHttpRequest(MultiValueMap<String, String> headers, HttpServletRequest request,
+			AsyncContext asyncContext, String servletPath, DataBufferFactory bufferFactory, int bufferSize)
+			throws IOException, URISyntaxException {
+
+		super(initUri(request), request.getContextPath() + servletPath, initHeaders(headers, request));
 
 		Assert.notNull(bufferFactory, "'bufferFactory' must not be null");
 		Assert.isTrue(bufferSize > 0, "'bufferSize' must be higher than 0");
@@ -101,8 +108,8 @@ class ServletServerHttpRequest extends AbstractServerHttpRequest {
 		return new URI(url.toString());
 	}
 
-	private static HttpHeaders initHeaders(HttpServletRequest request) {
-		HttpHeaders headers = new HttpHeaders();
+	private static MultiValueMap<String, String> createDefaultHttpHeaders(HttpServletRequest request) {
+		MultiValueMap<String, String> headers = new HttpHeaders();
 		for (Enumeration<?> names = request.getHeaderNames();
 			names.hasMoreElements(); ) {
 			String name = (String) names.nextElement();
@@ -111,11 +118,28 @@ class ServletServerHttpRequest extends AbstractServerHttpRequest {
 				headers.add(name, (String) values.nextElement());
 			}
 		}
-		MediaType contentType = headers.getContentType();
-		if (contentType == null) {
+		return headers;
+	}
+
+	/**
+	 * Complement the given headers with the content type, character encoding
+	 * and content length as exposed by the Servlet API. The given headers are
+	 * only copied if any of these need to be added.
+	 */
+	private static MultiValueMap<String, String> initHeaders(
+			MultiValueMap<String, String> headerValues, HttpServletRequest request) {
+
+		HttpHeaders headers = null;
+		MediaType contentType = null;
+		String contentTypeValue = headerValues.getFirst(HttpHeaders.CONTENT_TYPE);
+		if (StringUtils.hasLength(contentTypeValue)) {
+			contentType = MediaType.parseMediaType(contentTypeValue);
+		}
+		else {
 			String requestContentType = request.getContentType();
 			if (StringUtils.hasLength(requestContentType)) {
 				contentType = MediaType.parseMediaType(requestContentType);
+				headers = copyHeaders(headerValues);
 				headers.setContentType(contentType);
 			}
 		}
@@ -126,17 +150,25 @@ class ServletServerHttpRequest extends AbstractServerHttpRequest {
 				Map<String, String> params = new LinkedCaseInsensitiveMap<>();
 				params.putAll(contentType.getParameters());
 				params.put("charset", charset.toString());
+				headers = (headers != null ? headers : copyHeaders(headerValues));
 				headers.setContentType(
 						new MediaType(contentType.getType(), contentType.getSubtype(),
 								params));
 			}
 		}
-		if (headers.getContentLength() == -1) {
+		if (headerValues.getFirst(HttpHeaders.CONTENT_LENGTH) == null) {
 			int contentLength = request.getContentLength();
 			if (contentLength != -1) {
+				headers = (headers != null ? headers : copyHeaders(headerValues));
 				headers.setContentLength(contentLength);
 			}
 		}
+		return (headers != null ? headers : headerValues);
+	}
+
+	private static HttpHeaders copyHeaders(MultiValueMap<String, String> headerValues) {
+		HttpHeaders headers = new HttpHeaders();
+		headers.putAll(headerValues);
 		return headers;
 	}
 
@@ -17,7 +17,7 @@
 package org.springframework.http.server.reactive;
 
 import java.io.IOException;
-import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import javax.servlet.AsyncContext;
 import javax.servlet.AsyncEvent;
@@ -33,6 +33,7 @@ import org.reactivestreams.Publisher;
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.core.io.buffer.DataBufferFactory;
 import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseCookie;
 import org.springframework.lang.Nullable;
@@ -66,7 +67,13 @@ class ServletServerHttpResponse extends AbstractListenerServerHttpResponse {
 	public ServletServerHttpResponse(HttpServletResponse response, AsyncContext asyncContext,
 			DataBufferFactory bufferFactory, int bufferSize, ServletServerHttpRequest request) throws IOException {
 
-		super(bufferFactory);
+		this(new HttpHeaders(), response, asyncContext, bufferFactory, bufferSize, request);
+	}
+
+	public ServletServerHttpResponse(HttpHeaders headers, HttpServletResponse response, AsyncContext asyncContext,
+			DataBufferFactory bufferFactory, int bufferSize, ServletServerHttpRequest request) throws IOException {
+
+		super(bufferFactory, headers);
 
 		Assert.notNull(response, "HttpServletResponse must not be null");
 		Assert.notNull(bufferFactory, "DataBufferFactory must not be null");
@@ -151,14 +158,30 @@ class ServletServerHttpResponse extends AbstractListenerServerHttpResponse {
 	 */
 	protected int writeToOutputStream(DataBuffer dataBuffer) throws IOException {
 		ServletOutputStream outputStream = this.outputStream;
-		InputStream input = dataBuffer.asInputStream();
 		int bytesWritten = 0;
-		byte[] buffer = new byte[this.bufferSize];
-		int bytesRead;
-		while (outputStream.isReady() && (bytesRead = input.read(buffer)) != -1) {
-			outputStream.write(buffer, 0, bytesRead);
-			bytesWritten += bytesRead;
+		byte[] buffer = null;
+		for (ByteBuffer input : dataBuffer.asByteBuffers()) {
+			while (input.hasRemaining() && outputStream.isReady()) {
+				int length = Math.min(input.remaining(), this.bufferSize);
+				if (input.hasArray()) {
+					// Write heap memory directly, including each component of a composite buffer
+					outputStream.write(input.array(), input.arrayOffset() + input.position(), length);
+					input.position(input.position() + length);
+				}
+				else {
+					if (buffer == null) {
+						buffer = new byte[this.bufferSize];
+					}
+					input.get(buffer, 0, length);
+					outputStream.write(buffer, 0, length);
+				}
+				bytesWritten += length;
+			}
+			if (input.hasRemaining()) {
+				break;
+			}
 		}
+		dataBuffer.readPosition(dataBuffer.readPosition() + bytesWritten);
 		return bytesWritten;
 	}
 
@@ -316,6 +339,11 @@ class ServletServerHttpResponse extends AbstractListenerServerHttpResponse {
 			return dataBuffer.readableByteCount() == 0;
 		}
 
+		@Override
+		protected void discardData(DataBuffer dataBuffer) {
+			DataBufferUtils.release(dataBuffer);
+		}
+
 		@Override
 		protected boolean write(DataBuffer dataBuffer) throws IOException {
 			if (ServletServerHttpResponse.this.flushOnNext) {
@@ -119,10 +119,18 @@ public class TomcatHttpHandlerAdapter extends ServletHttpHandlerAdapter {
 
 		@Override
 		protected int writeToOutputStream(DataBuffer dataBuffer) throws IOException {
-			ByteBuffer input = dataBuffer.asByteBuffer();
-			int len = input.remaining();
 			ServletResponse response = getNativeResponse();
-			((CoyoteOutputStream) response.getOutputStream()).write(input);
+			CoyoteOutputStream outputStream = (CoyoteOutputStream) response.getOutputStream();
+			int len = 0;
+			for (ByteBuffer input : dataBuffer.asByteBuffers()) {
+				if (len > 0 && !outputStream.isReady()) {
+					// Resume with the remaining components on the next write callback
+					break;
+				}
+				len += input.remaining();
+				outputStream.write(input);
+			}
+			dataBuffer.readPosition(dataBuffer.readPosition() + len);
 			return len;
 		}
 	}
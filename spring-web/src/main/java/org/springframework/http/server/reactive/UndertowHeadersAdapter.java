@@ -0,0 +1,215 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.http.server.reactive;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import io.undertow.util.HeaderMap;
+import io.undertow.util.HeaderValues;
+import io.undertow.util.HttpString;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.MultiValueMap;
+
+/**
+ * {@code MultiValueMap} implementation for wrapping Undertow HTTP headers,
+ * without copying them in either direction.
+ *
+ * <p>Header names are resolved to Undertow's pre-encoded {@link HttpString}
+ * constants where available.
+ *
+ * @author agent (agent@local)
+ * @since 5.1.1
+ */
+class UndertowHeadersAdapter extends AbstractMap<String, List<String>> implements MultiValueMap<String, String> {
+
+	private final HeaderMap headers;
+
+
+	UndertowHeadersAdapter(HeaderMap headers) {
+		this.headers = headers;
+	}
+
+
+	@Override
+	@Nullable
+	public String getFirst(String key) {
+		return this.headers.getFirst(key);
+	}
+
+	@Override
+	public void add(String key, @Nullable String value) {
+		if (value != null) {
+			this.headers.add(HttpString.tryFromString(key), value);
+		}
+	}
+
+	@Override
+	public void addAll(String key, List<? extends String> values) {
+		HttpString name = HttpString.tryFromString(key);
+		for (String value : values) {
+			if (value != null) {
+				this.headers.add(name, value);
+			}
+		}
+	}
+
+	@Override
+	public void addAll(MultiValueMap<String, String> values) {
+		values.forEach(this::addAll);
+	}
+
+	@Override
+	public void set(String key, @Nullable String value) {
+		if (value != null) {
+			this.headers.put(HttpString.tryFromString(key), value);
+		}
+		else {
+			this.headers.remove(key);
+		}
+	}
+
+	@Override
+	public void setAll(Map<String, String> values) {
+		values.forEach(this::set);
+	}
+
+	@Override
+	public Map<String, String> toSingleValueMap() {
+		Map<String, String> singleValueMap = new LinkedHashMap<>(this.headers.size());
+		for (HeaderValues values : this.headers) {
+			singleValueMap.put(values.getHeaderName().toString(), values.getFirst());
+		}
+		return singleValueMap;
+	}
+
+	@Override
+	public int size() {
+		return this.headers.getHeaderNames().size();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return (this.headers.size() == 0);
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return (key instanceof String && this.headers.contains((String) key));
+	}
+
+	@Override
+	public boolean containsValue(Object value) {
+		if (value instanceof String) {
+			for (HeaderValues values : this.headers) {
+				if (values.contains(value)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	@Override
+	@Nullable
+	public List<String> get(Object key) {
+		return (key instanceof String ? this.headers.get((String) key) : null);
+	}
+
+	@Override
+	@Nullable
+	public List<String> put(String key, @Nullable List<String> value) {
+		HttpString name = HttpString.tryFromString(key);
+		Collection<String> previousValues = this.headers.remove(name);
+		if (value != null) {
+			addAll(key, value);
+		}
+		return (previousValues != null ? new ArrayList<>(previousValues) : null);
+	}
+
+	@Override
+	@Nullable
+	public List<String> remove(Object key) {
+		if (key instanceof String) {
+			Collection<String> previousValues = this.headers.remove((String) key);
+			return (previousValues != null ? new ArrayList<>(previousValues) : null);
+		}
+		return null;
+	}
+
+	@Override
+	public void putAll(Map<? extends String, ? extends List<String>> map) {
+		map.forEach(this::put);
+	}
+
+	@Override
+	public void clear() {
+		this.headers.clear();
+	}
+
+	@Override
+	public Set<Entry<String, List<String>>> entrySet() {
+		return new EntrySet();
+	}
+
+
+	/**
+	 * Entry set view, exposing the live {@link HeaderValues} of each header.
+	 */
+	private class EntrySet extends AbstractSet<Entry<String, List<String>>> {
+
+		@Override
+		public Iterator<Entry<String, List<String>>> iterator() {
+			Iterator<HttpString> names = new ArrayList<>(headers.getHeaderNames()).iterator();
+			return new Iterator<Entry<String, List<String>>>() {
+				@Nullable
+				private HttpString current;
+				@Override
+				public boolean hasNext() {
+					return names.hasNext();
+				}
+				@Override
+				public Entry<String, List<String>> next() {
+					this.current = names.next();
+					return new SimpleImmutableEntry<>(this.current.toString(), headers.get(this.current));
+				}
+				@Override
+				public void remove() {
+					if (this.current == null) {
+						throw new IllegalStateException("No current header in iterator");
+					}
+					headers.remove(this.current);
+					this.current = null;
+				}
+			};
+		}
+
+		@Override
+		public int size() {
+			return headers.getHeaderNames().size();
+		}
+	}
+
+}
@@ -25,9 +25,9 @@ import java.nio.file.StandardOpenOption;
 import io.undertow.server.HttpServerExchange;
 import io.undertow.server.handlers.Cookie;
 import io.undertow.server.handlers.CookieImpl;
-import io.undertow.util.HttpString;
 import org.reactivestreams.Processor;
 import org.reactivestreams.Publisher;
+import org.xnio.Buffers;
 import org.xnio.channels.Channels;
 import org.xnio.channels.StreamSinkChannel;
 import reactor.core.publisher.Mono;
@@ -35,6 +35,7 @@ import reactor.core.publisher.Mono;
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.core.io.buffer.DataBufferFactory;
 import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseCookie;
 import org.springframework.http.ZeroCopyHttpOutputMessage;
 import org.springframework.lang.Nullable;
@@ -61,12 +62,16 @@ class UndertowServerHttpResponse extends AbstractListenerServerHttpResponse impl
 	public UndertowServerHttpResponse(
 			HttpServerExchange exchange, DataBufferFactory bufferFactory, UndertowServerHttpRequest request) {
 
-		super(bufferFactory);
-		Assert.notNull(exchange, "HttpServerExchange must not be null");
+		super(bufferFactory, createHeaders(exchange));
 		this.exchange = exchange;
 		this.request = request;
 	}
 
+	private static HttpHeaders createHeaders(HttpServerExchange exchange) {
+		Assert.notNull(exchange, "HttpServerExchange must not be null");
+		return new HttpHeaders(new UndertowHeadersAdapter(exchange.getResponseHeaders()));
+	}
+
 
 	@SuppressWarnings("unchecked")
 	@Override
@@ -85,8 +90,7 @@ class UndertowServerHttpResponse extends AbstractListenerServerHttpResponse impl
 
 	@Override
 	protected void applyHeaders() {
-		getHeaders().forEach((headerName, headerValues) ->
-				this.exchange.getResponseHeaders().addAll(HttpString.tryFromString(headerName), headerValues));
+		// Headers are set on the Undertow exchange directly
 	}
 
 	@Override
@@ -116,6 +120,9 @@ class UndertowServerHttpResponse extends AbstractListenerServerHttpResponse impl
 				Mono.defer(() -> {
 					try (FileChannel source = FileChannel.open(file, StandardOpenOption.READ)) {
 						StreamSinkChannel destination = this.exchange.getResponseChannel();
+						// Write the headers first: while they are still buffered, Undertow
+						// transfers the rest of the file regardless of the given count
+						Channels.flushBlocking(destination);
 						Channels.transferBlocking(destination, source, position, count);
 						return Mono.empty();
 					}
@@ -144,7 +151,7 @@ class UndertowServerHttpResponse extends AbstractListenerServerHttpResponse impl
 		private final StreamSinkChannel channel;
 
 		@Nullable
-		private volatile ByteBuffer byteBuffer;
+		private volatile ByteBuffer[] byteBuffers;
 
 		/** Keep track of write listener calls, for {@link #writePossible}. */
 		private volatile boolean writePossible;
@@ -169,16 +176,16 @@ class UndertowServerHttpResponse extends AbstractListenerServerHttpResponse impl
 
 		@Override
 		protected boolean write(DataBuffer dataBuffer) throws IOException {
-			ByteBuffer buffer = this.byteBuffer;
-			if (buffer == null) {
+			ByteBuffer[] buffers = this.byteBuffers;
+			if (buffers == null) {
 				return false;
 			}
 
 			// Track write listener calls from here on..
 			this.writePossible = false;
 
-			int total = buffer.remaining();
-			int written = writeByteBuffer(buffer);
+			long total = Buffers.remaining(buffers);
+			long written = writeByteBuffers(buffers);
 
 			if (logger.isTraceEnabled()) {
 				logger.trace(getLogPrefix() + "Wrote " + written + " of " + total + " bytes");
@@ -194,25 +201,26 @@ class UndertowServerHttpResponse extends AbstractListenerServerHttpResponse impl
 			this.writePossible = true;
 
 			DataBufferUtils.release(dataBuffer);
-			this.byteBuffer = null;
+			this.byteBuffers = null;
 			return true;
 		}
 
-		private int writeByteBuffer(ByteBuffer byteBuffer) throws IOException {
-			int written;
-			int totalWritten = 0;
+		private long writeByteBuffers(ByteBuffer[] byteBuffers) throws IOException {
+			long written;
+			long totalWritten = 0;
 			do {
-				written = this.channel.write(byteBuffer);
+				// Gathering write: composite buffers go out without being copied first
+				written = this.channel.write(byteBuffers);
 				totalWritten += written;
 			}
-			while (byteBuffer.hasRemaining() && written > 0);
+			while (Buffers.hasRemaining(byteBuffers) && written > 0);
 			return totalWritten;
 		}
 
 		@Override
 		protected void dataReceived(DataBuffer dataBuffer) {
 			super.dataReceived(dataBuffer);
-			this.byteBuffer = dataBuffer.asByteBuffer();
+			this.byteBuffers = dataBuffer.asByteBuffers();
 		}
 
 		@Override
@@ -220,6 +228,11 @@ class UndertowServerHttpResponse extends AbstractListenerServerHttpResponse impl
 			return (dataBuffer.readableByteCount() == 0);
 		}
 
+		@Override
+		protected void discardData(DataBuffer dataBuffer) {
+			DataBufferUtils.release(dataBuffer);
+		}
+
 		@Override
 		protected void writingComplete() {
 			this.channel.getWriteSetter().set(null);
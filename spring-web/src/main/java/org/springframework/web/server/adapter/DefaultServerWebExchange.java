@@ -94,6 +94,8 @@ public class DefaultServerWebExchange implements ServerWebExchange {
 	@Nullable
 	private final ApplicationContext applicationContext;
 
+	private volatile boolean multipartRead;
+
 	private volatile boolean notModified;
 
 	private Function<String, String> urlTransformer = url -> url;
@@ -129,7 +131,7 @@ public class DefaultServerWebExchange implements ServerWebExchange {
 		this.sessionMono = sessionManager.getSession(this).cache();
 		this.localeContextResolver = localeContextResolver;
 		this.formDataMono = initFormData(request, codecConfigurer, getLogPrefix());
-		this.multipartDataMono = initMultipartData(request, codecConfigurer, getLogPrefix());
+		this.multipartDataMono = initMultipartData(codecConfigurer, getLogPrefix());
 		this.applicationContext = applicationContext;
 	}
 
@@ -156,17 +158,16 @@ public class DefaultServerWebExchange implements ServerWebExchange {
 	}
 
 	@SuppressWarnings("unchecked")
-	private static Mono<MultiValueMap<String, Part>> initMultipartData(ServerHttpRequest request,
-			ServerCodecConfigurer configurer, String logPrefix) {
-
+	private Mono<MultiValueMap<String, Part>> initMultipartData(ServerCodecConfigurer configurer, String logPrefix) {
 		try {
-			MediaType contentType = request.getHeaders().getContentType();
+			MediaType contentType = this.request.getHeaders().getContentType();
 			if (MediaType.MULTIPART_FORM_DATA.isCompatibleWith(contentType)) {
 				return ((HttpMessageReader<MultiValueMap<String, Part>>) configurer.getReaders().stream()
 						.filter(reader -> reader.canRead(MULTIPART_DATA_TYPE, MediaType.MULTIPART_FORM_DATA))
 						.findFirst()
 						.orElseThrow(() -> new IllegalStateException("No multipart HttpMessageReader.")))
-						.readMono(MULTIPART_DATA_TYPE, request, Hints.from(Hints.LOG_PREFIX_HINT, logPrefix))
+						.readMono(MULTIPART_DATA_TYPE, this.request, Hints.from(Hints.LOG_PREFIX_HINT, logPrefix))
+						.doOnNext(multipartData -> this.multipartRead = true)
 						.switchIfEmpty(EMPTY_MULTIPART_DATA)
 						.cache();
 			}
@@ -221,6 +222,25 @@ public class DefaultServerWebExchange implements ServerWebExchange {
 		return this.multipartDataMono;
 	}
 
+	/**
+	 * Delete the storage of any {@link Part#delete() parts} that have been read
+	 * through {@link #getMultipartData()}, without reading the request body if
+	 * it has not been read yet.
+	 */
+	Mono<Void> cleanupMultipart() {
+		return Mono.defer(() -> {
+			if (!this.multipartRead) {
+				return Mono.empty();
+			}
+			return getMultipartData()
+					.onErrorResume(ex -> Mono.empty())
+					.flatMapIterable(Map::values)
+					.flatMapIterable(Function.identity())
+					.flatMap(part -> part.delete().onErrorResume(ex -> Mono.empty()))
+					.then();
+		});
+	}
+
 	@Override
 	public LocaleContext getLocaleContext() {
 		return this.localeContextResolver.resolveLocaleContext(this);
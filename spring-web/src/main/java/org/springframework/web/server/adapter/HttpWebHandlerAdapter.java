@@ -246,7 +246,8 @@ public class HttpWebHandlerAdapter extends WebHandlerDecorator implements HttpHa
 		return getDelegate().handle(exchange)
 				.doOnSuccess(aVoid -> logResponse(exchange))
 				.onErrorResume(ex -> handleUnresolvedError(exchange, ex))
-				.then(Mono.defer(response::setComplete));
+				.then(Mono.defer(response::setComplete))
+				.doFinally(signalType -> cleanupMultipart(exchange));
 	}
 
 	protected ServerWebExchange createExchange(ServerHttpRequest request, ServerHttpResponse response) {
@@ -254,6 +255,12 @@ public class HttpWebHandlerAdapter extends WebHandlerDecorator implements HttpHa
 				getCodecConfigurer(), getLocaleContextResolver(), this.applicationContext);
 	}
 
+	private void cleanupMultipart(ServerWebExchange exchange) {
+		if (exchange instanceof DefaultServerWebExchange) {
+			((DefaultServerWebExchange) exchange).cleanupMultipart().subscribe();
+		}
+	}
+
 	private String formatRequest(ServerHttpRequest request) {
 		String rawQuery = request.getURI().getRawQuery();
 		String query = StringUtils.hasText(rawQuery) ? "?" + rawQuery : "";
@@ -20,6 +20,7 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import reactor.core.publisher.Mono;
 
+import org.springframework.core.io.buffer.DataBufferLimitException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.lang.Nullable;
@@ -29,6 +30,7 @@ import org.springframework.web.server.WebExceptionHandler;
 
 /**
  * Handle {@link ResponseStatusException} by setting the response status.
+ * A {@link DataBufferLimitException} from a codec is mapped to 413.
  *
  * <p>By default exception stack traces are not shown for successfully resolved
  * exceptions. Use {@link #setWarnLogCategory(String)} to enable logging with
@@ -109,6 +111,9 @@ public class ResponseStatusExceptionHandler implements WebExceptionHandler {
 		if (ex instanceof ResponseStatusException) {
 			return ((ResponseStatusException) ex).getStatus();
 		}
+		if (ex instanceof DataBufferLimitException) {
+			return HttpStatus.PAYLOAD_TOO_LARGE;
+		}
 		return null;
 	}
 
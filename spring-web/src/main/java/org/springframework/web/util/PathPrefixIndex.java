@@ -0,0 +1,197 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.springframework.http.server.PathContainer;
+
+/**
+ * Prefix tree over the literal leading segments of the path patterns of
+ * request mappings, i.e. the segments before the first segment with a
+ * wildcard or URI variable. A mapping is kept at the node for each of its
+ * prefixes, and the mappings that may match a lookup path are the ones kept
+ * at the nodes along its segments, starting with the root that holds mappings
+ * without literal leading segments (or without patterns at all).
+ *
+ * <p>Segment keys are compared case-insensitively and empty segments are
+ * ignored, so that the candidates are a superset of the actual matches,
+ * independent of the case sensitivity of the pattern matching.
+ *
+ * <p>This class is not thread-safe: it is meant to be guarded by the lock of
+ * a mapping registry, and is mainly for internal use within the framework.
+ *
+ * @author agent (agent@local)
+ * @since 5.1.1
+ * @param <T> the type of mappings in the index
+ */
+public class PathPrefixIndex<T> {
+
+	private final Node<T> root = new Node<>();
+
+
+	/**
+	 * Add the given mapping under each of the given prefixes.
+	 * @param mapping the mapping to add
+	 * @param prefixes the literal leading segments of each of the path
+	 * patterns of the mapping, or a single empty prefix for none
+	 */
+	public void add(T mapping, List<List<String>> prefixes) {
+		for (List<String> prefix : prefixes) {
+			Node<T> node = this.root;
+			for (String segment : prefix) {
+				node = node.children.computeIfAbsent(segment, key -> new Node<>());
+			}
+			if (!node.mappings.contains(mapping)) {
+				node.mappings.add(mapping);
+			}
+		}
+	}
+
+	/**
+	 * Remove the given mapping from under each of the given prefixes.
+	 * @param mapping the mapping to remove
+	 * @param prefixes the prefixes that the mapping has been added with
+	 */
+	public void remove(T mapping, List<List<String>> prefixes) {
+		for (List<String> prefix : prefixes) {
+			remove(this.root, prefix, 0, mapping);
+		}
+	}
+
+	private void remove(Node<T> node, List<String> prefix, int index, T mapping) {
+		if (index == prefix.size()) {
+			node.mappings.remove(mapping);
+			return;
+		}
+		Node<T> child = node.children.get(prefix.get(index));
+		if (child != null) {
+			remove(child, prefix, index + 1, mapping);
+			if (child.isEmpty()) {
+				node.children.remove(prefix.get(index));
+			}
+		}
+	}
+
+	/**
+	 * Return the mappings that may match the given lookup path, as matched
+	 * by an {@link org.springframework.util.AntPathMatcher} with the "/"
+	 * separator. Lookup path segments are trimmed, and any trailing file
+	 * extension is ignored as well, in support of suffix pattern matching,
+	 * and so is any semicolon content (i.e. matrix variables) since it may
+	 * be removed for pattern matching.
+	 * @param lookupPath the lookup path of the request
+	 * @return the candidate mappings (not to be modified)
+	 */
+	public Collection<T> getMappings(String lookupPath) {
+		Collection<T> result = this.root.mappings;
+		Node<T> node = this.root;
+		int start = 0;
+		while (!node.children.isEmpty() && start < lookupPath.length()) {
+			int end = lookupPath.indexOf('/', start);
+			if (end == -1) {
+				end = lookupPath.length();
+			}
+			String segment = lookupPath.substring(start, end);
+			start = end + 1;
+			int semicolonIndex = segment.indexOf(';');
+			if (semicolonIndex != -1) {
+				segment = segment.substring(0, semicolonIndex);
+			}
+			segment = segment.trim();
+			if (segment.isEmpty()) {
+				continue;
+			}
+			int extIndex = segment.indexOf('.');
+			while (extIndex > 0) {
+				Node<T> suffixNode = node.children.get(segment.substring(0, extIndex));
+				if (suffixNode != null) {
+					result = merge(result, suffixNode.mappings);
+				}
+				extIndex = segment.indexOf('.', extIndex + 1);
+			}
+			node = node.children.get(segment);
+			if (node == null) {
+				break;
+			}
+			result = merge(result, node.mappings);
+		}
+		return result;
+	}
+
+	/**
+	 * Return the mappings that may match the given lookup path, as matched
+	 * by a {@link org.springframework.web.util.pattern.PathPattern}.
+	 * @param lookupPath the lookup path of the request
+	 * @return the candidate mappings (not to be modified)
+	 */
+	public Collection<T> getMappings(PathContainer lookupPath) {
+		Collection<T> result = this.root.mappings;
+		Node<T> node = this.root;
+		for (PathContainer.Element element : lookupPath.elements()) {
+			if (node.children.isEmpty()) {
+				break;
+			}
+			if (!(element instanceof PathContainer.PathSegment)) {
+				continue;
+			}
+			String segment = ((PathContainer.PathSegment) element).valueToMatch();
+			if (segment.isEmpty()) {
+				continue;
+			}
+			node = node.children.get(segment);
+			if (node == null) {
+				break;
+			}
+			result = merge(result, node.mappings);
+		}
+		return result;
+	}
+
+	private Collection<T> merge(Collection<T> result, List<T> mappings) {
+		if (mappings.isEmpty()) {
+			return result;
+		}
+		if (result.isEmpty()) {
+			return mappings;
+		}
+		if (!(result instanceof Set)) {
+			result = new LinkedHashSet<>(result);
+		}
+		result.addAll(mappings);
+		return result;
+	}
+
+
+	private static class Node<T> {
+
+		private final List<T> mappings = new ArrayList<>(1);
+
+		private final Map<String, Node<T>> children = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+		public boolean isEmpty() {
+			return (this.mappings.isEmpty() && this.children.isEmpty());
+		}
+	}
+
+}
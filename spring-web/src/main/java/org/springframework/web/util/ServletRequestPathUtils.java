@@ -0,0 +1,122 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.util;
+
+import javax.servlet.ServletRequest;
+import javax.servlet.http.HttpServletRequest;
+
+import org.springframework.http.server.PathContainer;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * Utility methods for parsing the lookup path of a Servlet request into a
+ * {@link PathContainer} once per request, for matching against
+ * {@link org.springframework.web.util.pattern.PathPattern PathPatterns}
+ * by any number of mappings, conditions and interceptors.
+ *
+ * <p>The parsed path reflects the lookup path as determined by a
+ * {@link UrlPathHelper}: its segments, as returned from
+ * {@link PathContainer.PathSegment#valueToMatch()}, hold the same text as the
+ * corresponding segments of the lookup path, i.e. the path is not decoded a
+ * second time. Path parameters are only present if semicolon content is not
+ * removed from the lookup path.
+ *
+ * @author agent (agent@local)
+ * @since 5.1.1
+ */
+public abstract class ServletRequestPathUtils {
+
+	/**
+	 * Name of the request attribute that holds the parsed lookup path.
+	 */
+	public static final String PATH_ATTRIBUTE = ServletRequestPathUtils.class.getName() + ".PATH";
+
+
+	/**
+	 * Parse the lookup path of the given request with the given
+	 * {@link UrlPathHelper}, and cache the result in a request attribute
+	 * for further access via {@link #getParsedRequestPath}.
+	 * @param request the current request
+	 * @param urlPathHelper the helper to determine the lookup path with
+	 * @return the parsed lookup path
+	 */
+	public static PathContainer parseAndCache(HttpServletRequest request, UrlPathHelper urlPathHelper) {
+		PathContainer path = parsePath(urlPathHelper.getLookupPathForRequest(request));
+		request.setAttribute(PATH_ATTRIBUTE, path);
+		return path;
+	}
+
+	/**
+	 * Parse the given lookup path, preserving the text of its segments:
+	 * any '%' is escaped, so that the lookup path is not decoded a second time.
+	 * @param lookupPath the lookup path as determined by a {@link UrlPathHelper}
+	 * @return the parsed lookup path
+	 */
+	public static PathContainer parsePath(String lookupPath) {
+		if (lookupPath.indexOf('%') != -1) {
+			lookupPath = StringUtils.replace(lookupPath, "%", "%25");
+		}
+		return PathContainer.parsePath(lookupPath);
+	}
+
+	/**
+	 * Return a previously {@link #parseAndCache parsed} lookup path.
+	 * @param request the current request
+	 * @return the parsed lookup path
+	 * @throws IllegalArgumentException if the lookup path has not been parsed
+	 */
+	public static PathContainer getParsedRequestPath(ServletRequest request) {
+		PathContainer path = (PathContainer) request.getAttribute(PATH_ATTRIBUTE);
+		Assert.notNull(path, "Expected parsed request path: call parseAndCache first");
+		return path;
+	}
+
+	/**
+	 * Check for a previously {@link #parseAndCache parsed} lookup path.
+	 * @param request the current request
+	 * @return whether a parsed lookup path is available
+	 */
+	public static boolean hasParsedRequestPath(ServletRequest request) {
+		return (request.getAttribute(PATH_ATTRIBUTE) != null);
+	}
+
+	/**
+	 * Set the parsed lookup path of the given request, e.g. to restore the
+	 * one of an enclosing dispatch after a forward or include.
+	 * @param path the parsed lookup path, or {@code null} to remove it
+	 * @param request the current request
+	 */
+	public static void setParsedRequestPath(@Nullable PathContainer path, ServletRequest request) {
+		if (path != null) {
+			request.setAttribute(PATH_ATTRIBUTE, path);
+		}
+		else {
+			request.removeAttribute(PATH_ATTRIBUTE);
+		}
+	}
+
+	/**
+	 * Remove a previously {@link #parseAndCache parsed} lookup path.
+	 * @param request the current request
+	 */
+	public static void clearParsedRequestPath(ServletRequest request) {
+		request.removeAttribute(PATH_ATTRIBUTE);
+	}
+
+}
@@ -129,6 +129,13 @@ class CaptureVariablePathElement extends PathElement {
 		return this.variableName;
 	}
 
+	/**
+	 * Whether the captured value is constrained by a regular expression.
+	 */
+	public boolean hasConstraint() {
+		return (this.constraintPattern != null);
+	}
+
 	@Override
 	public int getNormalizedLength() {
 		return 1;
@@ -0,0 +1,228 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.util.pattern;
+
+import java.util.List;
+
+import org.springframework.http.server.PathContainer.Element;
+import org.springframework.http.server.PathContainer.PathSegment;
+import org.springframework.http.server.PathContainer.Separator;
+import org.springframework.lang.Nullable;
+
+/**
+ * Flat representation of the chain of path elements of a {@link PathPattern},
+ * used for {@link PathPattern#matches} when compiled matching is enabled on
+ * the {@link PathPatternParser}.
+ *
+ * <p>Each path element consumes exactly one element of the candidate path
+ * (apart from a trailing "rest" element), so the chain can be matched with a
+ * single loop over a table of element types and texts, without a
+ * {@link PathPattern.MatchingContext} and without any recursion.
+ *
+ * <p>Only patterns without regular expressions can be compiled: see
+ * {@link #compile}.
+ *
+ * @author agent (agent@local)
+ * @since 5.1.1
+ * @see PathPatternParser#setCompiledMatching
+ */
+final class CompiledPathMatcher {
+
+	private static final byte SEPARATOR = 0;
+
+	private static final byte LITERAL = 1;
+
+	private static final byte SINGLE_CHAR_WILDCARDED = 2;
+
+	private static final byte WILDCARD = 3;
+
+	private static final byte CAPTURE_VARIABLE = 4;
+
+	private static final byte REST = 5;
+
+
+	private final byte[] types;
+
+	private final char[][] texts;
+
+	private final boolean caseSensitive;
+
+	private final boolean matchOptionalTrailingSeparator;
+
+
+	private CompiledPathMatcher(byte[] types, char[][] texts,
+			boolean caseSensitive, boolean matchOptionalTrailingSeparator) {
+
+		this.types = types;
+		this.texts = texts;
+		this.caseSensitive = caseSensitive;
+		this.matchOptionalTrailingSeparator = matchOptionalTrailingSeparator;
+	}
+
+
+	/**
+	 * Whether the given path, known to have a length, matches.
+	 * @param pathElements the elements of the candidate path
+	 * @return {@code true} if the path matches
+	 */
+	public boolean matches(List<Element> pathElements) {
+		int pathLength = pathElements.size();
+		int pathIndex = 0;
+		int last = this.types.length - 1;
+		for (int i = 0; i <= last; i++) {
+			switch (this.types[i]) {
+				case SEPARATOR:
+					if (pathIndex >= pathLength || !(pathElements.get(pathIndex) instanceof Separator)) {
+						return false;
+					}
+					pathIndex++;
+					if (i == last) {
+						return (pathIndex == pathLength);
+					}
+					break;
+				case LITERAL:
+				case SINGLE_CHAR_WILDCARDED:
+					if (pathIndex >= pathLength || !matchesText(pathElements.get(pathIndex), this.texts[i],
+							this.types[i] == SINGLE_CHAR_WILDCARDED)) {
+						return false;
+					}
+					pathIndex++;
+					if (i == last) {
+						return isEndOfPath(pathElements, pathIndex);
+					}
+					break;
+				case WILDCARD:
+					String segmentData = null;
+					if (pathIndex < pathLength) {
+						Element element = pathElements.get(pathIndex);
+						if (!(element instanceof PathSegment)) {
+							return false;
+						}
+						segmentData = ((PathSegment) element).valueToMatch();
+						pathIndex++;
+					}
+					if (i == last) {
+						// At the end of a path the wildcard may match zero characters
+						return (pathIndex == pathLength || (segmentData != null && !segmentData.isEmpty() &&
+								isEndOfPath(pathElements, pathIndex)));
+					}
+					// Within a path there must be at least one character to match the wildcard
+					if (segmentData == null || segmentData.isEmpty()) {
+						return false;
+					}
+					break;
+				case CAPTURE_VARIABLE:
+					if (pathIndex >= pathLength) {
+						return false;
+					}
+					Element element = pathElements.get(pathIndex);
+					if (!(element instanceof PathSegment) || ((PathSegment) element).valueToMatch().isEmpty()) {
+						return false;
+					}
+					pathIndex++;
+					if (i == last) {
+						return isEndOfPath(pathElements, pathIndex);
+					}
+					break;
+				default:
+					// Wildcard or capture for the rest of the path: more data must start with a separator
+					return (pathIndex >= pathLength || pathElements.get(pathIndex) instanceof Separator);
+			}
+		}
+		return true;
+	}
+
+	private boolean matchesText(Element element, char[] text, boolean singleCharWildcards) {
+		if (!(element instanceof PathSegment)) {
+			return false;
+		}
+		PathSegment segment = (PathSegment) element;
+		if (segment.valueToMatch().length() != text.length) {
+			return false;
+		}
+		char[] data = segment.valueToMatchAsChars();
+		for (int i = 0; i < text.length; i++) {
+			char ch = text[i];
+			if (singleCharWildcards && ch == '?') {
+				continue;
+			}
+			if (ch != (this.caseSensitive ? data[i] : Character.toLowerCase(data[i]))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private boolean isEndOfPath(List<Element> pathElements, int pathIndex) {
+		int pathLength = pathElements.size();
+		return (pathIndex == pathLength || (this.matchOptionalTrailingSeparator &&
+				pathIndex + 1 == pathLength && pathElements.get(pathIndex) instanceof Separator));
+	}
+
+
+	/**
+	 * Compile the given chain of path elements into a flat matcher.
+	 * @param head the first path element of the chain
+	 * @param caseSensitive whether the chain was parsed case-sensitively
+	 * @param matchOptionalTrailingSeparator whether a trailing separator in the
+	 * candidate path may be ignored
+	 * @return the compiled matcher, or {@code null} if the chain contains
+	 * regular expressions and therefore needs to be matched element by element
+	 */
+	@Nullable
+	public static CompiledPathMatcher compile(
+			PathElement head, boolean caseSensitive, boolean matchOptionalTrailingSeparator) {
+
+		int length = 0;
+		for (PathElement elem = head; elem != null; elem = elem.next) {
+			length++;
+		}
+		byte[] types = new byte[length];
+		char[][] texts = new char[length][];
+		int i = 0;
+		for (PathElement elem = head; elem != null; elem = elem.next) {
+			if (elem instanceof SeparatorPathElement) {
+				types[i] = SEPARATOR;
+			}
+			else if (elem instanceof LiteralPathElement) {
+				types[i] = LITERAL;
+				texts[i] = elem.getChars();
+			}
+			else if (elem instanceof SingleCharWildcardedPathElement) {
+				types[i] = SINGLE_CHAR_WILDCARDED;
+				texts[i] = elem.getChars();
+			}
+			else if (elem instanceof WildcardPathElement) {
+				types[i] = WILDCARD;
+			}
+			else if (elem instanceof CaptureVariablePathElement &&
+					!((CaptureVariablePathElement) elem).hasConstraint()) {
+				types[i] = CAPTURE_VARIABLE;
+			}
+			else if (elem instanceof WildcardTheRestPathElement || elem instanceof CaptureTheRestPathElement) {
+				types[i] = REST;
+			}
+			else {
+				// RegexPathElement or constrained CaptureVariablePathElement
+				return null;
+			}
+			i++;
+		}
+		return new CompiledPathMatcher(types, texts, caseSensitive, matchOptionalTrailingSeparator);
+	}
+
+}
@@ -141,6 +141,10 @@ public class PathPattern implements Comparable<PathPattern> {
 	/** Does the pattern end with {*...}. */
 	private boolean catchAll = false;
 
+	/** Flat matcher for {@link #matches}, if compiled matching is enabled and applicable. */
+	@Nullable
+	private final CompiledPathMatcher compiledMatcher;
+
 
 	PathPattern(String patternText, PathPatternParser parser, @Nullable PathElement head) {
 		this.patternString = patternText;
@@ -165,6 +169,9 @@ public class PathPattern implements Comparable<PathPattern> {
 			}
 			elem = elem.next;
 		}
+
+		this.compiledMatcher = (head != null && parser.isCompiledMatching() ?
+				CompiledPathMatcher.compile(head, this.caseSensitive, this.matchOptionalTrailingSeparator) : null);
 	}
 
 
@@ -193,6 +200,9 @@ public class PathPattern implements Comparable<PathPattern> {
 				return false;
 			}
 		}
+		if (this.compiledMatcher != null) {
+			return this.compiledMatcher.matches(pathContainer.elements());
+		}
 		MatchingContext matchingContext = new MatchingContext(pathContainer, false);
 		return this.head.matches(0, matchingContext);
 	}
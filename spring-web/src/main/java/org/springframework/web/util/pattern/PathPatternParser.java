@@ -36,6 +36,8 @@ public class PathPatternParser {
 
 	private boolean caseSensitive = true;
 
+	private boolean compiledMatching = false;
+
 
 	/**
 	 * Whether a {@link PathPattern} produced by this parser should should
@@ -74,6 +76,29 @@ public class PathPatternParser {
 		return this.caseSensitive;
 	}
 
+	/**
+	 * Whether a {@link PathPattern} produced by this parser should compile its
+	 * path elements into a flat table for {@link PathPattern#matches}, avoiding
+	 * the per-call matching state and the recursion over the element chain.
+	 * <p>This applies to patterns without regular expressions only, i.e. without
+	 * {@code {name:regex}} variables and without literal text combined with
+	 * variables or {@code *} within a segment; other patterns are always matched
+	 * element by element. Variable extraction is not affected.
+	 * <p>The default is {@code false}.
+	 * @since 5.1.1
+	 */
+	public void setCompiledMatching(boolean compiledMatching) {
+		this.compiledMatching = compiledMatching;
+	}
+
+	/**
+	 * Whether compiled pattern matching is enabled.
+	 * @since 5.1.1
+	 */
+	public boolean isCompiledMatching() {
+		return this.compiledMatching;
+	}
+
 	/**
 	 * Accessor used for the separator to use.
 	 * <p>Currently not exposed for configuration with URI path patterns and
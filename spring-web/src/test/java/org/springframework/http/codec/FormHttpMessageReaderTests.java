@@ -28,6 +28,7 @@ import reactor.test.StepVerifier;
 import org.springframework.core.ResolvableType;
 import org.springframework.core.io.buffer.AbstractDataBufferAllocatingTestCase;
 import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
@@ -115,6 +116,16 @@ public class FormHttpMessageReaderTests extends AbstractDataBufferAllocatingTest
 				.verify();
 	}
 
+	@Test
+	public void readFormExceedingMaxInMemorySize() {
+		Flux<DataBuffer> body = Flux.just(stringBuffer("name+1=value+1&"), stringBuffer("name+2=value+2"));
+		MockServerHttpRequest request = request(body);
+
+		this.reader.setMaxInMemorySize(20);
+		StepVerifier.create(this.reader.readMono(null, request, null))
+				.verifyError(DataBufferLimitException.class);
+	}
+
 
 	private MockServerHttpRequest request(String body) {
 		return request(Mono.just(stringBuffer(body)));
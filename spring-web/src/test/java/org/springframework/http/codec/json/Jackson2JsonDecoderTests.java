@@ -133,6 +133,50 @@ public class Jackson2JsonDecoderTests extends AbstractDataBufferAllocatingTestCa
 				.verify();
 	}
 
+	@Test
+	public void decodeSplitPojoToMono() throws Exception {
+		Flux<DataBuffer> source = Flux.just(stringBuffer("{\"foo\": \"foo"), stringBuffer("foo\", \"bar\""),
+				stringBuffer(": \"barbar\"}"));
+		ResolvableType elementType = forClass(Pojo.class);
+		Mono<Object> mono = new Jackson2JsonDecoder().decodeToMono(source, elementType, null, emptyMap());
+
+		StepVerifier.create(mono)
+				.expectNext(new Pojo("foofoo", "barbar"))
+				.verifyComplete();
+	}
+
+	@Test
+	public void decodeToMonoWithTrailingContent() throws Exception {
+		Flux<DataBuffer> source = Flux.just(stringBuffer("{\"foo\": \"f1\", \"bar\": \"b1\"}"),
+				stringBuffer(" {\"foo\": \"f2\", \"bar\": \"b2\"}"));
+		ResolvableType elementType = forClass(Pojo.class);
+		Mono<Object> mono = new Jackson2JsonDecoder().decodeToMono(source, elementType, null, emptyMap());
+
+		StepVerifier.create(mono).verifyError(DecodingException.class);
+	}
+
+	@Test
+	public void decodeToMonoWithTrailingWhitespace() throws Exception {
+		Flux<DataBuffer> source = Flux.just(stringBuffer("{\"foo\": \"foo\", \"bar\": \"bar\"}\n  "));
+		ResolvableType elementType = forClass(Pojo.class);
+		Mono<Object> mono = new Jackson2JsonDecoder().decodeToMono(source, elementType, null, emptyMap());
+
+		StepVerifier.create(mono)
+				.expectNext(new Pojo("foo", "bar"))
+				.verifyComplete();
+	}
+
+	@Test
+	public void decodeWhitespaceBodyToMono() throws Exception {
+		Flux<DataBuffer> source = Flux.just(stringBuffer("  "));
+		ResolvableType elementType = forClass(Pojo.class);
+		Mono<Object> mono = new Jackson2JsonDecoder().decodeToMono(source, elementType, null, emptyMap());
+
+		StepVerifier.create(mono)
+				.expectNextCount(0)
+				.verifyComplete();
+	}
+
 	@Test
 	public void decodeArrayToFlux() throws Exception {
 		Flux<DataBuffer> source = Flux.just(stringBuffer(
@@ -35,6 +35,7 @@ import reactor.test.StepVerifier;
 import org.springframework.core.codec.DecodingException;
 import org.springframework.core.io.buffer.AbstractDataBufferAllocatingTestCase;
 import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
 
 import static java.util.Arrays.*;
 import static java.util.Collections.*;
@@ -181,17 +182,38 @@ public class Jackson2TokenizerTests extends AbstractDataBufferAllocatingTestCase
 	@Test(expected = DecodingException.class) // SPR-16521
 	public void jsonEOFExceptionIsWrappedAsDecodingError() {
 		Flux<DataBuffer> source = Flux.just(stringBuffer("{\"status\": \"noClosingQuote}"));
-		Flux<TokenBuffer> tokens = Jackson2Tokenizer.tokenize(source, this.jsonFactory, false);
+		Flux<TokenBuffer> tokens = Jackson2Tokenizer.tokenize(source, this.jsonFactory, false, -1);
 		tokens.blockLast();
 	}
 
 
+	@Test
+	public void limitPerValue() {
+		Flux<DataBuffer> source = Flux.just(stringBuffer("[{\"id\":1},"), stringBuffer("{\"id\":2},"),
+				stringBuffer("{\"name\":\"Robert Raide Ford"));
+
+		StepVerifier.create(Jackson2Tokenizer.tokenize(source, this.jsonFactory, true, 15))
+				.expectNextCount(2)
+				.expectError(DataBufferLimitException.class)
+				.verify();
+	}
+
+	@Test
+	public void limitWithinBounds() {
+		Flux<DataBuffer> source = Flux.just(stringBuffer("[{\"id\":1},"), stringBuffer("{\"id\":2}]"));
+
+		StepVerifier.create(Jackson2Tokenizer.tokenize(source, this.jsonFactory, true, 15))
+				.expectNextCount(2)
+				.verifyComplete();
+	}
+
 	private void testTokenize(List<String> source, List<String> expected, boolean tokenizeArrayElements) {
 
 		Flux<TokenBuffer> tokenBufferFlux = Jackson2Tokenizer.tokenize(
 				Flux.fromIterable(source).map(this::stringBuffer),
 				this.jsonFactory,
-				tokenizeArrayElements);
+				tokenizeArrayElements,
+				-1);
 
 		Flux<String> result = tokenBufferFlux
 				.map(tokenBuffer -> {
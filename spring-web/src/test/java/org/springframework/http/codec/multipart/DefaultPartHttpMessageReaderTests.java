@@ -0,0 +1,409 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.http.codec.multipart;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import org.springframework.beans.DirectFieldAccessor;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.MultipartBodyBuilder;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.mock.http.client.reactive.test.MockClientHttpRequest;
+import org.springframework.mock.http.server.reactive.test.MockServerHttpRequest;
+import org.springframework.mock.http.server.reactive.test.MockServerHttpResponse;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.server.adapter.HttpWebHandlerAdapter;
+
+import static java.util.Collections.*;
+import static org.junit.Assert.*;
+import static org.springframework.core.ResolvableType.*;
+
+/**
+ * Unit tests for {@link DefaultPartHttpMessageReader}.
+ */
+public class DefaultPartHttpMessageReaderTests {
+
+	private static final ResolvableType ELEMENT_TYPE =
+			forClassWithGenerics(MultiValueMap.class, String.class, Part.class);
+
+	private final DefaultPartHttpMessageReader partReader = new DefaultPartHttpMessageReader();
+
+	private final MultipartHttpMessageReader reader = new MultipartHttpMessageReader(this.partReader);
+
+
+	@Test
+	public void resolveParts() {
+		MultiValueMap<String, Part> parts = this.reader.readMono(ELEMENT_TYPE, generateMultipartRequest(), emptyMap()).block();
+		assertParts(parts);
+	}
+
+	@Test
+	public void resolvePartsFromSmallBuffers() {
+		for (int chunkSize = 1; chunkSize < 64; chunkSize += 7) {
+			ServerHttpRequest request = generateMultipartRequest(chunkSize);
+			MultiValueMap<String, Part> parts = this.reader.readMono(ELEMENT_TYPE, request, emptyMap()).block();
+			assertParts(parts);
+		}
+	}
+
+	@Test
+	public void resolvePartsWithPreambleAndEpilogue() {
+		String body = "preamble\r\n" +
+				"--boundary\r\n" +
+				"Content-Disposition: form-data; name=\"barPart\"\r\n" +
+				"\r\n" +
+				"bar\r\n--bar\r\n" +
+				"--boundary--\r\n" +
+				"epilogue";
+		ServerHttpRequest request = MockServerHttpRequest.post("/")
+				.contentType(MediaType.parseMediaType("multipart/form-data; boundary=\"boundary\""))
+				.body(Flux.just(new DefaultDataBufferFactory().wrap(body.getBytes(StandardCharsets.UTF_8))));
+
+		MultiValueMap<String, Part> parts = this.reader.readMono(ELEMENT_TYPE, request, emptyMap()).block();
+		assertNotNull(parts);
+		assertEquals(1, parts.size());
+		assertEquals("bar\r\n--bar", ((FormFieldPart) parts.getFirst("barPart")).value());
+	}
+
+	@Test
+	public void transferTo() throws Exception {
+		MultiValueMap<String, Part> parts = this.reader.readMono(ELEMENT_TYPE, generateMultipartRequest(), emptyMap()).block();
+		assertNotNull(parts);
+		FilePart part = (FilePart) parts.getFirst("fooPart");
+		assertNotNull(part);
+
+		File dest = File.createTempFile("DefaultPartHttpMessageReaderTests", ".txt");
+		part.transferTo(dest).block(Duration.ofSeconds(5));
+
+		assertEquals("Lorem Ipsum.", new String(Files.readAllBytes(dest.toPath()), StandardCharsets.UTF_8));
+		assertTrue(dest.delete());
+	}
+
+	@Test
+	public void bodyError() {
+		ServerHttpRequest request = MockServerHttpRequest.post("/")
+				.contentType(MediaType.parseMediaType("multipart/form-data; boundary=boundary"))
+				.body(Flux.just(new DefaultDataBufferFactory().wrap("invalid content".getBytes())));
+		StepVerifier.create(this.reader.readMono(ELEMENT_TYPE, request, emptyMap()))
+				.verifyError(DecodingException.class);
+	}
+
+	@Test
+	public void noBoundary() {
+		ServerHttpRequest request = MockServerHttpRequest.post("/")
+				.contentType(MediaType.MULTIPART_FORM_DATA)
+				.body(Flux.just(new DefaultDataBufferFactory().wrap("invalid content".getBytes())));
+		StepVerifier.create(this.reader.readMono(ELEMENT_TYPE, request, emptyMap()))
+				.verifyError(DecodingException.class);
+	}
+
+	@Test
+	public void streaming() {
+		this.partReader.setStreaming(true);
+		Flux<String> contents = this.partReader.read(forClass(Part.class), generateMultipartRequest(3), emptyMap())
+				.concatMap(part -> content(part).map(content -> part.name() + "=" + content));
+
+		StepVerifier.create(contents)
+				.expectNext("fooPart=Lorem Ipsum.")
+				.expectNext("barPart=bar")
+				.verifyComplete();
+	}
+
+	@Test
+	public void streamingWithSkippedContent() {
+		this.partReader.setStreaming(true);
+		Flux<String> names = this.partReader.read(forClass(Part.class), generateMultipartRequest(3), emptyMap())
+				.concatMap(part -> part.content().take(1).then(Mono.just(part.name())));
+
+		StepVerifier.create(names)
+				.expectNext("fooPart", "barPart")
+				.verifyComplete();
+	}
+
+	@Test
+	public void storeFilePartsBeyondMaxInMemorySize() throws Exception {
+		Path directory = Files.createTempDirectory("DefaultPartHttpMessageReaderTests");
+		this.partReader.setMaxInMemorySize(5);
+		this.partReader.setFileStorageDirectory(directory);
+
+		MultiValueMap<String, Part> parts = this.reader.readMono(ELEMENT_TYPE, generateMultipartRequest(4), emptyMap()).block();
+		try {
+			assertEquals(1, Files.list(directory).count());
+			assertParts(parts);
+		}
+		finally {
+			FileSystemUtils.deleteRecursively(directory);
+		}
+	}
+
+	@Test
+	public void deleteFilePart() throws Exception {
+		Path directory = Files.createTempDirectory("DefaultPartHttpMessageReaderTests");
+		this.partReader.setMaxInMemorySize(5);
+		this.partReader.setFileStorageDirectory(directory);
+
+		MultiValueMap<String, Part> parts = this.reader.readMono(ELEMENT_TYPE, generateMultipartRequest(), emptyMap()).block();
+		try {
+			assertNotNull(parts);
+			assertEquals(1, Files.list(directory).count());
+			Flux.fromIterable(parts.toSingleValueMap().values()).flatMap(Part::delete).blockLast(Duration.ofSeconds(5));
+			assertEquals(0, Files.list(directory).count());
+		}
+		finally {
+			FileSystemUtils.deleteRecursively(directory);
+		}
+	}
+
+	@Test
+	public void deleteFilePartOnceConsumed() throws Exception {
+		Path directory = Files.createTempDirectory("DefaultPartHttpMessageReaderTests");
+		this.partReader.setMaxInMemorySize(5);
+		this.partReader.setFileStorageDirectory(directory);
+
+		try {
+			List<String> contents = this.partReader.read(forClass(Part.class), generateMultipartRequest(), emptyMap())
+					.concatMap(DefaultPartHttpMessageReaderTests::content)
+					.collectList()
+					.block(Duration.ofSeconds(5));
+			assertEquals(Arrays.asList("Lorem Ipsum.", "bar"), contents);
+			awaitEmpty(directory);
+		}
+		finally {
+			FileSystemUtils.deleteRecursively(directory);
+		}
+	}
+
+	@Test
+	public void deleteFilePartOnceCancelled() throws Exception {
+		Path directory = Files.createTempDirectory("DefaultPartHttpMessageReaderTests");
+		this.partReader.setMaxInMemorySize(5);
+		this.partReader.setFileStorageDirectory(directory);
+
+		try {
+			this.partReader.read(forClass(Part.class), generateMultipartRequest(), emptyMap())
+					.concatMap(part -> part.content().take(1).doOnNext(DataBufferUtils::release))
+					.blockLast(Duration.ofSeconds(5));
+			awaitEmpty(directory);
+		}
+		finally {
+			FileSystemUtils.deleteRecursively(directory);
+		}
+	}
+
+	@Test
+	public void deleteTemporaryDirectoryWithLastFile() throws Exception {
+		this.partReader.setMaxInMemorySize(5);
+		DirectFieldAccessor accessor = new DirectFieldAccessor(this.partReader);
+
+		MultiValueMap<String, Part> parts = this.reader.readMono(ELEMENT_TYPE, generateMultipartRequest(), emptyMap()).block();
+		Path directory = (Path) accessor.getPropertyValue("fileStorageDirectory");
+		assertNotNull(directory);
+		try {
+			assertTrue(Files.isDirectory(directory));
+			assertParts(parts);
+			long deadline = System.currentTimeMillis() + 5000;
+			while (Files.exists(directory) && System.currentTimeMillis() < deadline) {
+				Thread.sleep(10);
+			}
+			assertFalse(Files.exists(directory));
+			assertNull(accessor.getPropertyValue("fileStorageDirectory"));
+		}
+		finally {
+			FileSystemUtils.deleteRecursively(directory);
+		}
+	}
+
+	@Test
+	public void consumeStoredContentOnce() {
+		MultiValueMap<String, Part> parts = this.reader.readMono(ELEMENT_TYPE, generateMultipartRequest(), emptyMap()).block();
+		assertParts(parts);
+		StepVerifier.create(parts.getFirst("fooPart").content())
+				.verifyError(IllegalStateException.class);
+	}
+
+	@Test
+	public void streamingRequestsOneTokenAtATime() {
+		DefaultDataBufferFactory bufferFactory = new DefaultDataBufferFactory();
+		HttpHeaders headers = new HttpHeaders();
+		headers.setContentDispositionFormData("fooPart", null);
+		List<Long> requests = new ArrayList<>();
+		Flux<MultipartParser.Token> tokens = Flux.<MultipartParser.Token>just(
+				new MultipartParser.HeadersToken(headers),
+				new MultipartParser.BodyToken(bufferFactory.wrap("foo".getBytes(StandardCharsets.UTF_8))),
+				new MultipartParser.BodyToken(bufferFactory.wrap("bar".getBytes(StandardCharsets.UTF_8))),
+				new MultipartParser.BodyToken(bufferFactory.wrap("baz".getBytes(StandardCharsets.UTF_8))))
+				.doOnRequest(requests::add);
+
+		Flux<String> contents = PartGenerator.createParts(tokens).concatMap(DefaultPartHttpMessageReaderTests::content);
+
+		StepVerifier.create(contents)
+				.expectNext("foobarbaz")
+				.verifyComplete();
+		assertTrue("Unexpected requests " + requests, requests.stream().allMatch(n -> n == 1));
+	}
+
+	@Test
+	public void deleteFilePartsOnExchangeCompletion() throws Exception {
+		Path directory = Files.createTempDirectory("DefaultPartHttpMessageReaderTests");
+		this.partReader.setMaxInMemorySize(5);
+		this.partReader.setFileStorageDirectory(directory);
+
+		ServerCodecConfigurer configurer = ServerCodecConfigurer.create();
+		configurer.registerDefaults(false);
+		configurer.customCodecs().reader(this.reader);
+		List<String> contents = new ArrayList<>();
+		HttpWebHandlerAdapter handler = new HttpWebHandlerAdapter(exchange -> exchange.getMultipartData()
+				.flatMap(parts -> content(parts.getFirst("fooPart")))
+				.doOnNext(contents::add)
+				.then());
+		handler.setCodecConfigurer(configurer);
+
+		try {
+			handler.handle(generateMultipartRequest(), new MockServerHttpResponse()).block(Duration.ofSeconds(5));
+			assertEquals(singletonList("Lorem Ipsum."), contents);
+			long deadline = System.currentTimeMillis() + 5000;
+			while (Files.list(directory).count() > 0 && System.currentTimeMillis() < deadline) {
+				Thread.sleep(10);
+			}
+			assertEquals(0, Files.list(directory).count());
+		}
+		finally {
+			FileSystemUtils.deleteRecursively(directory);
+		}
+	}
+
+	@Test
+	public void rejectFormFieldBeyondMaxInMemorySize() {
+		this.partReader.setMaxInMemorySize(2);
+		StepVerifier.create(this.reader.readMono(ELEMENT_TYPE, generateMultipartRequest(), emptyMap()))
+				.verifyError(DataBufferLimitException.class);
+	}
+
+	@Test
+	public void rejectFilePartBeyondMaxDiskUsage() {
+		this.partReader.setMaxInMemorySize(5);
+		this.partReader.setMaxDiskUsagePerPart(10);
+		StepVerifier.create(this.reader.readMono(ELEMENT_TYPE, generateMultipartRequest(), emptyMap()))
+				.verifyError(DataBufferLimitException.class);
+	}
+
+	@Test
+	public void rejectTooManyParts() {
+		this.partReader.setMaxParts(1);
+		StepVerifier.create(this.reader.readMono(ELEMENT_TYPE, generateMultipartRequest(), emptyMap()))
+				.verifyError(DataBufferLimitException.class);
+	}
+
+	@Test
+	public void rejectHeadersBeyondMaxHeadersSize() {
+		this.partReader.setMaxHeadersSize(10);
+		StepVerifier.create(this.reader.readMono(ELEMENT_TYPE, generateMultipartRequest(), emptyMap()))
+				.verifyError(DataBufferLimitException.class);
+	}
+
+
+	private static void awaitEmpty(Path directory) throws Exception {
+		long deadline = System.currentTimeMillis() + 5000;
+		while (Files.list(directory).count() > 0 && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		assertEquals(0, Files.list(directory).count());
+	}
+
+	private static void assertParts(MultiValueMap<String, Part> parts) {
+		assertNotNull(parts);
+		assertEquals(2, parts.size());
+
+		Part part = parts.getFirst("fooPart");
+		assertTrue(part instanceof FilePart);
+		assertEquals("fooPart", part.name());
+		assertEquals("foo.txt", ((FilePart) part).filename());
+		assertEquals("Lorem Ipsum.", content(part).block());
+
+		part = parts.getFirst("barPart");
+		assertTrue(part instanceof FormFieldPart);
+		assertEquals("barPart", part.name());
+		assertEquals("bar", ((FormFieldPart) part).value());
+	}
+
+	private static Mono<String> content(Part part) {
+		return DataBufferUtils.join(part.content()).map(buffer -> {
+			byte[] bytes = new byte[buffer.readableByteCount()];
+			buffer.read(bytes);
+			DataBufferUtils.release(buffer);
+			return new String(bytes, StandardCharsets.UTF_8);
+		});
+	}
+
+	private ServerHttpRequest generateMultipartRequest() {
+		return generateMultipartRequest(-1);
+	}
+
+	private ServerHttpRequest generateMultipartRequest(int chunkSize) {
+		MultipartBodyBuilder partsBuilder = new MultipartBodyBuilder();
+		partsBuilder.part("fooPart", new ClassPathResource("org/springframework/http/codec/multipart/foo.txt"));
+		partsBuilder.part("barPart", "bar");
+
+		MockClientHttpRequest outputMessage = new MockClientHttpRequest(HttpMethod.POST, "/");
+		new MultipartHttpMessageWriter()
+				.write(Mono.just(partsBuilder.build()), null, MediaType.MULTIPART_FORM_DATA, outputMessage, null)
+				.block(Duration.ofSeconds(5));
+
+		Flux<DataBuffer> body = outputMessage.getBody();
+		if (chunkSize > 0) {
+			body = DataBufferUtils.join(body).flatMapMany(buffer -> {
+				byte[] bytes = new byte[buffer.readableByteCount()];
+				buffer.read(bytes);
+				DataBufferUtils.release(buffer);
+				List<DataBuffer> chunks = new ArrayList<>();
+				for (int offset = 0; offset < bytes.length; offset += chunkSize) {
+					int length = Math.min(chunkSize, bytes.length - offset);
+					chunks.add(new DefaultDataBufferFactory().wrap(ByteBuffer.wrap(bytes, offset, length)));
+				}
+				return Flux.fromIterable(chunks);
+			});
+		}
+		return MockServerHttpRequest.post("/")
+				.contentType(outputMessage.getHeaders().getContentType())
+				.body(body);
+	}
+
+}
@@ -28,6 +28,7 @@ import reactor.test.StepVerifier;
 import org.springframework.core.ResolvableType;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
 import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.core.io.buffer.DefaultDataBufferFactory;
 import org.springframework.http.HttpMethod;
@@ -130,6 +131,62 @@ public class SynchronossPartHttpMessageReaderTests {
 	}
 
 
+	@Test
+	public void spillFilePartsBeyondMaxInMemorySize() {
+		SynchronossPartHttpMessageReader partReader = new SynchronossPartHttpMessageReader();
+		partReader.setMaxInMemorySize(5);
+		MultipartHttpMessageReader reader = new MultipartHttpMessageReader(partReader);
+
+		ServerHttpRequest request = generateMultipartRequest();
+		ResolvableType elementType = forClassWithGenerics(MultiValueMap.class, String.class, Part.class);
+		MultiValueMap<String, Part> parts = reader.readMono(elementType, request, emptyMap()).block();
+		assertNotNull(parts);
+
+		Part part = parts.getFirst("fooPart");
+		assertNotNull(part);
+		DataBuffer buffer = DataBufferUtils.join(part.content()).block();
+		assertEquals(12, buffer.readableByteCount());
+		DataBufferUtils.release(buffer);
+		assertEquals("bar", ((FormFieldPart) parts.getFirst("barPart")).value());
+	}
+
+	@Test
+	public void rejectFormFieldBeyondMaxInMemorySize() {
+		SynchronossPartHttpMessageReader partReader = new SynchronossPartHttpMessageReader();
+		partReader.setMaxInMemorySize(2);
+		MultipartHttpMessageReader reader = new MultipartHttpMessageReader(partReader);
+
+		ServerHttpRequest request = generateMultipartRequest();
+		ResolvableType elementType = forClassWithGenerics(MultiValueMap.class, String.class, Part.class);
+		StepVerifier.create(reader.readMono(elementType, request, emptyMap()))
+				.verifyError(DataBufferLimitException.class);
+	}
+
+	@Test
+	public void rejectFilePartBeyondMaxDiskUsage() {
+		SynchronossPartHttpMessageReader partReader = new SynchronossPartHttpMessageReader();
+		partReader.setMaxDiskUsagePerPart(10);
+		MultipartHttpMessageReader reader = new MultipartHttpMessageReader(partReader);
+
+		ServerHttpRequest request = generateMultipartRequest();
+		ResolvableType elementType = forClassWithGenerics(MultiValueMap.class, String.class, Part.class);
+		StepVerifier.create(reader.readMono(elementType, request, emptyMap()))
+				.verifyError(DataBufferLimitException.class);
+	}
+
+	@Test
+	public void rejectTooManyParts() {
+		SynchronossPartHttpMessageReader partReader = new SynchronossPartHttpMessageReader();
+		partReader.setMaxParts(1);
+		MultipartHttpMessageReader reader = new MultipartHttpMessageReader(partReader);
+
+		ServerHttpRequest request = generateMultipartRequest();
+		ResolvableType elementType = forClassWithGenerics(MultiValueMap.class, String.class, Part.class);
+		StepVerifier.create(reader.readMono(elementType, request, emptyMap()))
+				.verifyError(DataBufferLimitException.class);
+	}
+
+
 	private ServerHttpRequest generateMultipartRequest() {
 
 		MultipartBodyBuilder partsBuilder = new MultipartBodyBuilder();
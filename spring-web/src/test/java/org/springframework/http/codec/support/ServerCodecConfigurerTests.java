@@ -27,6 +27,7 @@ import org.junit.Test;
 import reactor.core.publisher.Flux;
 
 import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.AbstractDataBufferDecoder;
 import org.springframework.core.codec.ByteArrayDecoder;
 import org.springframework.core.codec.ByteArrayEncoder;
 import org.springframework.core.codec.ByteBufferDecoder;
@@ -125,6 +126,43 @@ public class ServerCodecConfigurerTests {
 	}
 
 
+	@Test
+	public void maxInMemorySize() {
+		int size = 99;
+		this.configurer.defaultCodecs().maxInMemorySize(size);
+		List<HttpMessageReader<?>> readers = this.configurer.getReaders();
+		assertEquals(13, readers.size());
+		assertEquals(size, ((AbstractDataBufferDecoder<?>) getNextDecoder(readers)).getMaxInMemorySize());
+		assertEquals(size, ((AbstractDataBufferDecoder<?>) getNextDecoder(readers)).getMaxInMemorySize());
+		assertEquals(size, ((AbstractDataBufferDecoder<?>) getNextDecoder(readers)).getMaxInMemorySize());
+		assertEquals(size, ((AbstractDataBufferDecoder<?>) getNextDecoder(readers)).getMaxInMemorySize());
+		assertEquals(size, ((StringDecoder) getNextDecoder(readers)).getMaxInMemorySize());
+		assertEquals(size, ((ProtobufDecoder) getNextDecoder(readers)).getMaxMessageSize());
+		assertEquals(size, ((FormHttpMessageReader) nextReader(readers)).getMaxInMemorySize());
+		assertEquals(size, ((SynchronossPartHttpMessageReader) nextReader(readers)).getMaxInMemorySize());
+		nextReader(readers);
+		assertEquals(size, ((Jackson2JsonDecoder) getNextDecoder(readers)).getMaxInMemorySize());
+		assertEquals(size, ((Jackson2SmileDecoder) getNextDecoder(readers)).getMaxInMemorySize());
+		assertEquals(size, ((Jaxb2XmlDecoder) getNextDecoder(readers)).getMaxInMemorySize());
+		assertEquals(size, ((StringDecoder) getNextDecoder(readers)).getMaxInMemorySize());
+	}
+
+
+	@Test
+	public void maxInMemorySizeUnlimited() {
+		this.configurer.defaultCodecs().maxInMemorySize(-1);
+		List<HttpMessageReader<?>> readers = this.configurer.getReaders();
+		assertEquals(-1, ((AbstractDataBufferDecoder<?>) getNextDecoder(readers)).getMaxInMemorySize());
+		this.index.set(5);
+		assertEquals(Integer.MAX_VALUE, ((ProtobufDecoder) getNextDecoder(readers)).getMaxMessageSize());
+		assertEquals(-1, ((FormHttpMessageReader) nextReader(readers)).getMaxInMemorySize());
+	}
+
+
+	private HttpMessageReader<?> nextReader(List<HttpMessageReader<?>> readers) {
+		return readers.get(this.index.getAndIncrement());
+	}
+
 	private Decoder<?> getNextDecoder(List<HttpMessageReader<?>> readers) {
 		HttpMessageReader<?> reader = readers.get(this.index.getAndIncrement());
 		assertEquals(DecoderHttpMessageReader.class, reader.getClass());
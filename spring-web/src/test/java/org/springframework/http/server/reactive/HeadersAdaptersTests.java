@@ -0,0 +1,243 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.http.server.reactive;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+import io.netty.util.AsciiString;
+import io.undertow.util.HeaderMap;
+import org.eclipse.jetty.http.HttpFields;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the {@code MultiValueMap} adapters of native server headers,
+ * compared with the default case-insensitive map of {@link HttpHeaders}.
+ */
+@RunWith(Parameterized.class)
+public class HeadersAdaptersTests {
+
+	@Parameterized.Parameter(0)
+	public String name;
+
+	@Parameterized.Parameter(1)
+	public Supplier<MultiValueMap<String, String>> headersFactory;
+
+	private MultiValueMap<String, String> headers;
+
+
+	@Parameterized.Parameters(name = "headers [{0}]")
+	public static Object[][] arguments() {
+		return new Object[][] {
+				{"default", (Supplier<MultiValueMap<String, String>>) HttpHeaders::new},
+				{"netty", (Supplier<MultiValueMap<String, String>>) () -> new NettyHeadersAdapter(new DefaultHttpHeaders())},
+				{"undertow", (Supplier<MultiValueMap<String, String>>) () -> new UndertowHeadersAdapter(new HeaderMap())},
+				{"jetty", (Supplier<MultiValueMap<String, String>>) () -> new JettyHeadersAdapter(new HttpFields())}
+		};
+	}
+
+
+	@Before
+	public void setup() {
+		this.headers = this.headersFactory.get();
+	}
+
+
+	@Test
+	public void getWithUnknownHeaderShouldReturnNull() {
+		assertNull(this.headers.get("Unknown"));
+	}
+
+	@Test
+	public void getFirstWithUnknownHeaderShouldReturnNull() {
+		assertNull(this.headers.getFirst("Unknown"));
+	}
+
+	@Test
+	public void sizeWithMultipleValuesForHeaderShouldCountHeaders() {
+		this.headers.add("TestHeader", "first");
+		this.headers.add("TestHeader", "second");
+		assertEquals(1, this.headers.size());
+		assertEquals(Arrays.asList("first", "second"), this.headers.get("TestHeader"));
+	}
+
+	@Test
+	public void keySetShouldNotDuplicateHeaderNames() {
+		this.headers.add("TestHeader", "first");
+		this.headers.add("OtherHeader", "test");
+		this.headers.add("TestHeader", "second");
+		assertEquals(2, this.headers.keySet().size());
+	}
+
+	@Test
+	public void containsKeyShouldBeCaseInsensitive() {
+		this.headers.add("TestHeader", "first");
+		assertTrue(this.headers.containsKey("testheader"));
+		assertEquals("first", this.headers.getFirst("TESTHEADER"));
+	}
+
+	@Test
+	public void addShouldKeepOrdering() {
+		this.headers.add("TestHeader", "first");
+		this.headers.add("TestHeader", "second");
+		assertEquals("first", this.headers.getFirst("TestHeader"));
+		assertEquals("first", this.headers.get("TestHeader").get(0));
+	}
+
+	@Test
+	public void putShouldOverrideExisting() {
+		this.headers.add("TestHeader", "first");
+		this.headers.put("TestHeader", Collections.singletonList("override"));
+		assertEquals("override", this.headers.getFirst("TestHeader"));
+		assertEquals(1, this.headers.get("TestHeader").size());
+	}
+
+	@Test
+	public void setAndRemove() {
+		this.headers.set("TestHeader", "first");
+		this.headers.set("TestHeader", "second");
+		assertEquals(Collections.singletonList("second"), this.headers.get("TestHeader"));
+		this.headers.remove("TestHeader");
+		assertFalse(this.headers.containsKey("TestHeader"));
+		assertTrue(this.headers.isEmpty());
+	}
+
+	@Test
+	public void toSingleValueMapAndEntries() {
+		this.headers.add("TestHeader", "first");
+		this.headers.add("TestHeader", "second");
+		this.headers.add("OtherHeader", "test");
+		assertEquals("first", this.headers.toSingleValueMap().get("TestHeader"));
+		MultiValueMap<String, String> copy = new LinkedMultiValueMap<>();
+		this.headers.forEach(copy::put);
+		assertEquals(Arrays.asList("first", "second"), copy.get("TestHeader"));
+		assertEquals(Collections.singletonList("test"), copy.get("OtherHeader"));
+	}
+
+	@Test
+	public void removeThroughKeySetIterator() {
+		this.headers.add("TestHeader", "first");
+		this.headers.add("OtherHeader", "test");
+		Iterator<String> names = this.headers.keySet().iterator();
+		assertTrue(names.hasNext());
+		names.next();
+		names.remove();
+		assertEquals(1, this.headers.size());
+	}
+
+	@Test
+	public void setContentTypeThroughHttpHeaders() {
+		HttpHeaders httpHeaders = new HttpHeaders(this.headers);
+		httpHeaders.setContentType(MediaType.APPLICATION_JSON_UTF8);
+		assertEquals(MediaType.APPLICATION_JSON_UTF8, httpHeaders.getContentType());
+		assertEquals(MediaType.APPLICATION_JSON_UTF8_VALUE, this.headers.getFirst("content-type"));
+		httpHeaders.setContentType(null);
+		assertNull(httpHeaders.getContentType());
+	}
+
+	@Test
+	public void readOnlyHttpHeadersView() {
+		HttpHeaders view = HttpHeaders.readOnlyHttpHeadersView(this.headers);
+		this.headers.add("TestHeader", "first");
+		assertEquals("first", view.getFirst("TestHeader"));
+		try {
+			view.add("TestHeader", "second");
+			fail("Should have thrown UnsupportedOperationException");
+		}
+		catch (UnsupportedOperationException ex) {
+			// expected
+		}
+		try {
+			view.get("TestHeader").add("second");
+			fail("Should have thrown UnsupportedOperationException");
+		}
+		catch (UnsupportedOperationException ex) {
+			// expected
+		}
+		assertEquals(1, this.headers.get("TestHeader").size());
+	}
+
+	@Test
+	public void readOnlyHttpHeadersViewEntriesAndValues() {
+		HttpHeaders view = HttpHeaders.readOnlyHttpHeadersView(this.headers);
+		Set<Map.Entry<String, List<String>>> entries = view.entrySet();
+		Collection<List<String>> values = view.values();
+		this.headers.add("TestHeader", "first");
+
+		assertEquals(1, entries.size());
+		Map.Entry<String, List<String>> entry = entries.iterator().next();
+		assertEquals(Collections.singletonList("first"), entry.getValue());
+		assertEquals(1, values.size());
+		List<String> valueList = values.iterator().next();
+		try {
+			entry.getValue().add("second");
+			fail("Should have thrown UnsupportedOperationException");
+		}
+		catch (UnsupportedOperationException ex) {
+			// expected
+		}
+		try {
+			valueList.add("second");
+			fail("Should have thrown UnsupportedOperationException");
+		}
+		catch (UnsupportedOperationException ex) {
+			// expected
+		}
+		try {
+			entries.clear();
+			fail("Should have thrown UnsupportedOperationException");
+		}
+		catch (UnsupportedOperationException ex) {
+			// expected
+		}
+		assertEquals(1, this.headers.get("TestHeader").size());
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void nettyValueListsAreUnmodifiable() {
+		NettyHeadersAdapter adapter = new NettyHeadersAdapter(new DefaultHttpHeaders());
+		adapter.add("TestHeader", "first");
+		adapter.get("TestHeader").add("second");
+	}
+
+	@Test
+	public void nettyContentTypeValuesArePreEncoded() {
+		DefaultHttpHeaders nettyHeaders = new DefaultHttpHeaders();
+		new HttpHeaders(new NettyHeadersAdapter(nettyHeaders)).setContentType(MediaType.TEXT_PLAIN);
+		CharSequence value = nettyHeaders.iteratorCharSequence().next().getValue();
+		assertTrue(value instanceof AsciiString);
+		assertEquals(MediaType.TEXT_PLAIN_VALUE, value.toString());
+	}
+
+}
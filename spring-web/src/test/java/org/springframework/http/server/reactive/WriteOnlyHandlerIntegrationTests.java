@@ -18,10 +18,14 @@ package org.springframework.http.server.reactive;
 
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
 
 import org.junit.Test;
 import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
 import org.springframework.http.RequestEntity;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.server.reactive.HttpHandler;
@@ -42,6 +46,10 @@ public class WriteOnlyHandlerIntegrationTests extends AbstractHttpHandlerIntegra
 
 	private static final int REQUEST_SIZE = 4096 * 3;
 
+	private static final int COMPOSITE_COMPONENT_SIZE = 1024 * 1024;
+
+	private static final int COMPOSITE_COMPONENT_COUNT = 16;
+
 	private Random rnd = new Random();
 
 	private byte[] body;
@@ -66,9 +74,27 @@ public class WriteOnlyHandlerIntegrationTests extends AbstractHttpHandlerIntegra
 		assertArrayEquals(body, response.getBody());
 	}
 
+	@Test  // composite body much larger than the socket buffer, written non-blocking
+	public void writeOnlyCompositeBuffer() throws Exception {
+		RestTemplate restTemplate = new RestTemplate();
+
+		this.body = randomBytes(COMPOSITE_COMPONENT_SIZE * COMPOSITE_COMPONENT_COUNT);
+		RequestEntity<byte[]> request = RequestEntity.post(
+				new URI("http://localhost:" + port + "/composite")).body(
+						"".getBytes(StandardCharsets.UTF_8));
+		ResponseEntity<byte[]> response = restTemplate.exchange(request, byte[].class);
+
+		assertEquals(body.length, response.getBody().length);
+		assertArrayEquals(body, response.getBody());
+	}
+
 
 	private byte[] randomBytes() {
-		byte[] buffer = new byte[REQUEST_SIZE];
+		return randomBytes(REQUEST_SIZE);
+	}
+
+	private byte[] randomBytes(int size) {
+		byte[] buffer = new byte[size];
 		rnd.nextBytes(buffer);
 		return buffer;
 	}
@@ -78,6 +104,19 @@ public class WriteOnlyHandlerIntegrationTests extends AbstractHttpHandlerIntegra
 
 		@Override
 		public Mono<Void> handle(ServerHttpRequest request, ServerHttpResponse response) {
+			if (request.getURI().getPath().endsWith("/composite")) {
+				List<DataBuffer> components = new ArrayList<>(COMPOSITE_COMPONENT_COUNT);
+				for (int i = 0; i < COMPOSITE_COMPONENT_COUNT; i++) {
+					DataBuffer component = response.bufferFactory().allocateBuffer(COMPOSITE_COMPONENT_SIZE);
+					component.write(body, i * COMPOSITE_COMPONENT_SIZE, COMPOSITE_COMPONENT_SIZE);
+					components.add(component);
+				}
+				DataBufferFactory bufferFactory = response.bufferFactory();
+				DataBuffer composite = (bufferFactory instanceof DefaultDataBufferFactory ?
+						((DefaultDataBufferFactory) bufferFactory).compose(components) :
+						bufferFactory.join(components));
+				return response.writeWith(Mono.just(composite));
+			}
 			DataBuffer buffer = response.bufferFactory().allocateBuffer(body.length);
 			buffer.write(body);
 			return response.writeAndFlushWith(Flux.just(Flux.just(buffer)));
@@ -18,6 +18,7 @@ package org.springframework.http.server.reactive;
 
 import java.io.File;
 import java.net.URI;
+import java.util.Arrays;
 
 import org.junit.Test;
 import reactor.core.publisher.Mono;
@@ -30,8 +31,10 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.http.ZeroCopyHttpOutputMessage;
 import org.springframework.http.server.reactive.bootstrap.ReactorHttpServer;
 import org.springframework.http.server.reactive.bootstrap.UndertowHttpServer;
+import org.springframework.util.FileCopyUtils;
 import org.springframework.web.client.RestTemplate;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assume.assumeTrue;
@@ -41,6 +44,11 @@ import static org.junit.Assume.assumeTrue;
  */
 public class ZeroCopyIntegrationTests extends AbstractHttpHandlerIntegrationTests {
 
+	private static final int REGION_POSITION = 100;
+
+	private static final int REGION_COUNT = 500;
+
+
 	private final ZeroCopyHandler handler = new ZeroCopyHandler();
 
 	@Override
@@ -50,7 +58,6 @@ public class ZeroCopyIntegrationTests extends AbstractHttpHandlerIntegrationTest
 
 	@Test
 	public void zeroCopy() throws Exception {
-
 		// Zero-copy only does not support servlet
 		assumeTrue(server instanceof ReactorHttpServer || server instanceof UndertowHttpServer);
 
@@ -64,7 +71,24 @@ public class ZeroCopyIntegrationTests extends AbstractHttpHandlerIntegrationTest
 		assertEquals(logo.contentLength(), response.getHeaders().getContentLength());
 		assertEquals(logo.contentLength(), response.getBody().length);
 		assertEquals(MediaType.IMAGE_PNG, response.getHeaders().getContentType());
+		assertArrayEquals(FileCopyUtils.copyToByteArray(logo.getInputStream()), response.getBody());
+	}
+
+	@Test
+	public void zeroCopyRegion() throws Exception {
+		// Zero-copy only does not support servlet
+		assumeTrue(server instanceof ReactorHttpServer || server instanceof UndertowHttpServer);
+
+		URI url = new URI("http://localhost:" + port + "/region");
+		RequestEntity<?> request = RequestEntity.get(url).build();
+		ResponseEntity<byte[]> response = new RestTemplate().exchange(request, byte[].class);
+
+		Resource logo = new ClassPathResource("spring.png", ZeroCopyIntegrationTests.class);
+		byte[] expected = Arrays.copyOfRange(FileCopyUtils.copyToByteArray(logo.getInputStream()),
+				REGION_POSITION, REGION_POSITION + REGION_COUNT);
 
+		assertEquals(REGION_COUNT, response.getHeaders().getContentLength());
+		assertArrayEquals(expected, response.getBody());
 	}
 
 	private static class ZeroCopyHandler implements HttpHandler {
@@ -76,6 +100,10 @@ public class ZeroCopyIntegrationTests extends AbstractHttpHandlerIntegrationTest
 				Resource logo = new ClassPathResource("spring.png", ZeroCopyIntegrationTests.class);
 				File logoFile = logo.getFile();
 				zeroCopyResponse.getHeaders().setContentType(MediaType.IMAGE_PNG);
+				if (request.getURI().getPath().equals("/region")) {
+					zeroCopyResponse.getHeaders().setContentLength(REGION_COUNT);
+					return zeroCopyResponse.writeWith(logoFile, REGION_POSITION, REGION_COUNT);
+				}
 				zeroCopyResponse.getHeaders().setContentLength(logoFile.length());
 				return zeroCopyResponse.writeWith(logoFile, 0, logoFile.length());
 			}
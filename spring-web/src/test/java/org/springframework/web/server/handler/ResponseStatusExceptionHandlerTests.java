@@ -23,6 +23,7 @@ import org.junit.Test;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import org.springframework.core.io.buffer.DataBufferLimitException;
 import org.springframework.http.HttpStatus;
 import org.springframework.mock.http.server.reactive.test.MockServerHttpRequest;
 import org.springframework.mock.web.test.server.MockServerWebExchange;
@@ -67,6 +68,13 @@ public class ResponseStatusExceptionHandlerTests {
 		assertEquals(HttpStatus.BAD_REQUEST, this.exchange.getResponse().getStatusCode());
 	}
 
+	@Test
+	public void handleDataBufferLimitException() {
+		Throwable ex = new DataBufferLimitException("Exceeded limit");
+		this.handler.handle(this.exchange, ex).block(Duration.ofSeconds(5));
+		assertEquals(HttpStatus.PAYLOAD_TOO_LARGE, this.exchange.getResponse().getStatusCode());
+	}
+
 	@Test
 	public void unresolvedException() {
 		Throwable expected = new IllegalStateException();
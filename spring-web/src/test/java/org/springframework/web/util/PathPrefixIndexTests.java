@@ -0,0 +1,104 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.http.server.PathContainer;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link PathPrefixIndex}.
+ */
+public class PathPrefixIndexTests {
+
+	private final PathPrefixIndex<String> index = new PathPrefixIndex<>();
+
+
+	@Before
+	public void setup() {
+		add("/foo/bar/{id}", "foo", "bar");
+		add("/foo/*", "foo");
+		add("/baz/**", "baz");
+		add("/**");
+	}
+
+
+	@Test
+	public void getMappingsByLookupPath() {
+		assertEquals(new HashSet<>(Arrays.asList("/foo/bar/{id}", "/foo/*", "/**")),
+				new HashSet<>(this.index.getMappings("/foo/bar/1")));
+		assertEquals(new HashSet<>(Arrays.asList("/baz/**", "/**")),
+				new HashSet<>(this.index.getMappings("/baz/1/2")));
+		assertEquals(Collections.singletonList("/**"), new ArrayList<>(this.index.getMappings("/qux")));
+	}
+
+	@Test
+	public void getMappingsByLookupPathIgnoresCaseAndWhitespace() {
+		assertEquals(new HashSet<>(Arrays.asList("/foo/bar/{id}", "/foo/*", "/**")),
+				new HashSet<>(this.index.getMappings("//FOO/ Bar /1")));
+	}
+
+	@Test
+	public void getMappingsByLookupPathIgnoresExtensionAndMatrixVariables() {
+		assertEquals(new HashSet<>(Arrays.asList("/foo/bar/{id}", "/foo/*", "/**")),
+				new HashSet<>(this.index.getMappings("/foo/bar.json")));
+		assertEquals(new HashSet<>(Arrays.asList("/foo/bar/{id}", "/foo/*", "/**")),
+				new HashSet<>(this.index.getMappings("/foo/bar;a=b/1")));
+	}
+
+	@Test
+	public void getMappingsByPathContainer() {
+		assertEquals(new HashSet<>(Arrays.asList("/foo/bar/{id}", "/foo/*", "/**")),
+				new HashSet<>(this.index.getMappings(PathContainer.parsePath("//FOO/bar;a=b/1"))));
+		assertEquals(new HashSet<>(Arrays.asList("/baz/**", "/**")),
+				new HashSet<>(this.index.getMappings(PathContainer.parsePath("/baz/1/2"))));
+		assertEquals(Collections.singletonList("/**"),
+				new ArrayList<>(this.index.getMappings(PathContainer.parsePath("/qux"))));
+	}
+
+	@Test
+	public void mappingWithMultiplePrefixes() {
+		this.index.add("multiple", Arrays.asList(Arrays.asList("foo", "bar"), Collections.singletonList("foo")));
+		List<String> mappings = new ArrayList<>(this.index.getMappings("/foo/bar/1"));
+		assertEquals(1, Collections.frequency(mappings, "multiple"));
+	}
+
+	@Test
+	public void remove() {
+		this.index.remove("/foo/*", Collections.singletonList(Collections.singletonList("foo")));
+		this.index.remove("/**", Collections.singletonList(Collections.emptyList()));
+		assertEquals(Collections.singletonList("/foo/bar/{id}"), new ArrayList<>(this.index.getMappings("/foo/bar/1")));
+
+		this.index.remove("/foo/bar/{id}", Collections.singletonList(Arrays.asList("foo", "bar")));
+		assertTrue(this.index.getMappings("/foo/bar/1").isEmpty());
+	}
+
+
+	private void add(String mapping, String... prefix) {
+		this.index.add(mapping, Collections.singletonList(Arrays.asList(prefix)));
+	}
+
+}
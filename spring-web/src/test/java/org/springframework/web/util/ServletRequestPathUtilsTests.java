@@ -0,0 +1,69 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.util;
+
+import org.junit.Test;
+
+import org.springframework.http.server.PathContainer;
+import org.springframework.mock.web.test.MockHttpServletRequest;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link ServletRequestPathUtils}.
+ */
+public class ServletRequestPathUtilsTests {
+
+	private final MockHttpServletRequest request = new MockHttpServletRequest();
+
+
+	@Test
+	public void parseAndCache() {
+		this.request.setContextPath("/app");
+		this.request.setRequestURI("/app/foo/bar");
+		assertFalse(ServletRequestPathUtils.hasParsedRequestPath(this.request));
+
+		PathContainer path = ServletRequestPathUtils.parseAndCache(this.request, new UrlPathHelper());
+		assertEquals("/foo/bar", path.value());
+		assertTrue(ServletRequestPathUtils.hasParsedRequestPath(this.request));
+		assertSame(path, ServletRequestPathUtils.getParsedRequestPath(this.request));
+
+		ServletRequestPathUtils.clearParsedRequestPath(this.request);
+		assertFalse(ServletRequestPathUtils.hasParsedRequestPath(this.request));
+	}
+
+	@Test
+	public void parseAndCacheDecodedLookupPath() {
+		this.request.setRequestURI("/foo%20bar/100%25");
+
+		PathContainer path = ServletRequestPathUtils.parseAndCache(this.request, new UrlPathHelper());
+		assertEquals("foo bar", ((PathContainer.PathSegment) path.elements().get(1)).valueToMatch());
+		assertEquals("100%", ((PathContainer.PathSegment) path.elements().get(3)).valueToMatch());
+	}
+
+	@Test
+	public void parsePathKeepsPercentCharacters() {
+		PathContainer path = ServletRequestPathUtils.parsePath("/a%20b");
+		assertEquals("a%20b", ((PathContainer.PathSegment) path.elements().get(1)).valueToMatch());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void getParsedRequestPathWithoutParsing() {
+		ServletRequestPathUtils.getParsedRequestPath(this.request);
+	}
+
+}
@@ -88,6 +88,26 @@ public class PathPatternTests {
 		checkNoMatch("/foo/bar", "/foo/baz");
 	}
 
+	@Test
+	public void compiledMatching() {
+		String[] patterns = {"/foo", "/foo/", "/f?o/b?r", "/foo/*", "/foo/*/bar", "/*", "/{foo}", "/foo/{bar}/baz",
+				"/foo/**", "/foo/{*rest}", "/{foo}/**", "/foo/{bar:[a-z]+}", "/foo/b*r", "/"};
+		String[] paths = {"", "/", "/foo", "/FOO", "/foo/", "/foo//", "/fOo/bAr", "/foo/bar", "/foo/bar/", "/foo/bar/baz",
+				"/foo/bar/baz/", "/foo//baz", "/foo;a=b/bar;c=d/baz", "foo", "/foo/bar/baz/qux", "//foo"};
+		for (boolean caseSensitive : new boolean[] {true, false}) {
+			for (boolean matchOptionalTrailingSeparator : new boolean[] {true, false}) {
+				PathPatternParser parser = new PathPatternParser();
+				parser.setCaseSensitive(caseSensitive);
+				parser.setMatchOptionalTrailingSeparator(matchOptionalTrailingSeparator);
+				for (String pattern : patterns) {
+					for (String path : paths) {
+						checkCompiledMatching(parser, pattern, path);
+					}
+				}
+			}
+		}
+	}
+
 	private void assertMatches(PathPattern pp, String path) {
 		assertTrue(pp.matches(toPathContainer(path)));
 	}
@@ -1156,6 +1176,8 @@ public class PathPatternTests {
 		PathPattern p = parser.parse(uriTemplate);
 		PathContainer pc = toPathContainer(path);
 		assertTrue(p.matches(pc));
+		parser.setCompiledMatching(true);
+		assertTrue(parser.parse(uriTemplate).matches(pc));
 	}
 
 	private void checkNoMatch(String uriTemplate, String path) {
@@ -1163,6 +1185,16 @@ public class PathPatternTests {
 		PathPattern pattern = p.parse(uriTemplate);
 		PathContainer PathContainer = toPathContainer(path);
 		assertFalse(pattern.matches(PathContainer));
+		p.setCompiledMatching(true);
+		assertFalse(p.parse(uriTemplate).matches(PathContainer));
+	}
+
+	private void checkCompiledMatching(PathPatternParser parser, String uriTemplate, String path) {
+		PathContainer pc = toPathContainer(path);
+		parser.setCompiledMatching(false);
+		boolean expected = parser.parse(uriTemplate).matches(pc);
+		parser.setCompiledMatching(true);
+		assertEquals(uriTemplate + " against " + path, expected, parser.parse(uriTemplate).matches(pc));
 	}
 
 	private PathPattern.PathMatchInfo checkCapture(String uriTemplate, String path, String... keyValues) {
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.reactive.function.client;
+
+/**
+ * Exception published when an exchange is rejected without being sent,
+ * because the concurrency limit for the target host has been reached.
+ *
+ * @author agent (agent@local)
+ * @since 5.1.1
+ * @see ExchangeFilterFunctions#adaptiveConcurrencyLimit
+ */
+public class ConcurrencyLimitExceededException extends WebClientException {
+
+	private static final long serialVersionUID = -3524215745424839718L;
+
+	private final String host;
+
+	private final int limit;
+
+
+	/**
+	 * Create a new {@code ConcurrencyLimitExceededException}.
+	 * @param host the target host, as scheme and authority
+	 * @param limit the concurrency limit that was reached
+	 */
+	public ConcurrencyLimitExceededException(String host, int limit) {
+		super("Concurrency limit of " + limit + " reached for " + host);
+		this.host = host;
+		this.limit = limit;
+	}
+
+
+	/**
+	 * Return the target host, as scheme and authority.
+	 */
+	public String getHost() {
+		return this.host;
+	}
+
+	/**
+	 * Return the concurrency limit that was reached.
+	 */
+	public int getLimit() {
+		return this.limit;
+	}
+
+}
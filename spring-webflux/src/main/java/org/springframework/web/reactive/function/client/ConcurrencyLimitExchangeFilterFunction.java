@@ -0,0 +1,149 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.reactive.function.client;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.util.Assert;
+
+/**
+ * {@link ExchangeFilterFunction} that limits the number of concurrent
+ * exchanges per host, rejecting exchanges beyond the limit with a
+ * {@link ConcurrencyLimitExceededException} rather than letting them queue up.
+ *
+ * <p>The limit adapts with additive increase and multiplicative decrease
+ * (AIMD): it grows by one for each timely response while at least half of
+ * the current limit is in use, and shrinks by 10% for each error, each
+ * response with status 429 or 503, and each response slower than the
+ * latency threshold. An exchange counts against the limit from subscription
+ * until its response status and headers have been received, or until it
+ * fails or is cancelled.
+ *
+ * @author agent (agent@local)
+ * @since 5.1.1
+ * @see ExchangeFilterFunctions#adaptiveConcurrencyLimit
+ */
+final class ConcurrencyLimitExchangeFilterFunction implements ExchangeFilterFunction {
+
+	private static final double BACKOFF_RATIO = 0.9;
+
+
+	private final int initialLimit;
+
+	private final int maxLimit;
+
+	private final long latencyThreshold;
+
+	private final Map<String, AimdLimit> limits = new ConcurrentHashMap<>();
+
+
+	ConcurrencyLimitExchangeFilterFunction(int initialLimit, int maxLimit, Duration latencyThreshold) {
+		Assert.isTrue(initialLimit > 0, "Initial limit must be positive");
+		Assert.isTrue(maxLimit >= initialLimit, "Max limit must not be lower than the initial limit");
+		Assert.notNull(latencyThreshold, "Latency threshold must not be null");
+		this.initialLimit = initialLimit;
+		this.maxLimit = maxLimit;
+		this.latencyThreshold = latencyThreshold.toNanos();
+	}
+
+
+	@Override
+	public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+		String host = ExchangeFilterFunctions.getHostKey(request.url());
+		return Mono.defer(() -> {
+			AimdLimit limit = this.limits.computeIfAbsent(host, key -> new AimdLimit());
+			if (!limit.tryAcquire()) {
+				return Mono.error(new ConcurrencyLimitExceededException(host, limit.getLimit()));
+			}
+			long startTime = System.nanoTime();
+			AtomicBoolean released = new AtomicBoolean();
+			return next.exchange(request)
+					.doOnNext(response -> {
+						if (released.compareAndSet(false, true)) {
+							int status = response.rawStatusCode();
+							boolean dropped = (status == HttpStatus.TOO_MANY_REQUESTS.value() ||
+									status == HttpStatus.SERVICE_UNAVAILABLE.value());
+							limit.release(System.nanoTime() - startTime, dropped);
+						}
+					})
+					.doFinally(signal -> {
+						if (released.compareAndSet(false, true)) {
+							if (signal == SignalType.ON_ERROR) {
+								limit.release(System.nanoTime() - startTime, true);
+							}
+							else {
+								limit.release();
+							}
+						}
+					});
+		});
+	}
+
+
+	/**
+	 * The adaptive limit for a single host.
+	 */
+	private class AimdLimit {
+
+		private final AtomicInteger inFlight = new AtomicInteger();
+
+		private volatile double limit = initialLimit;
+
+		int getLimit() {
+			return (int) this.limit;
+		}
+
+		boolean tryAcquire() {
+			while (true) {
+				int current = this.inFlight.get();
+				if (current >= getLimit()) {
+					return false;
+				}
+				if (this.inFlight.compareAndSet(current, current + 1)) {
+					return true;
+				}
+			}
+		}
+
+		void release(long latency, boolean dropped) {
+			int inFlight = this.inFlight.getAndDecrement();
+			synchronized (this) {
+				double limit = this.limit;
+				if (dropped || latency > latencyThreshold) {
+					limit = Math.max(1, limit * BACKOFF_RATIO);
+				}
+				else if (inFlight * 2 >= limit) {
+					limit = Math.min(maxLimit, limit + 1);
+				}
+				this.limit = limit;
+			}
+		}
+
+		void release() {
+			this.inFlight.decrementAndGet();
+		}
+	}
+
+}
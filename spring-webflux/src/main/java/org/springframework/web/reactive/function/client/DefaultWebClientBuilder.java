@@ -71,6 +71,9 @@ final class DefaultWebClientBuilder implements WebClient.Builder {
 
 	private ExchangeStrategies exchangeStrategies;
 
+	@Nullable
+	private ExchangeTimingRecorder timingRecorder;
+
 
 	public DefaultWebClientBuilder() {
 		this.exchangeStrategies = ExchangeStrategies.withDefaults();
@@ -97,6 +100,7 @@ final class DefaultWebClientBuilder implements WebClient.Builder {
 		this.connector = other.connector;
 		this.exchangeFunction = other.exchangeFunction;
 		this.exchangeStrategies = other.exchangeStrategies;
+		this.timingRecorder = other.timingRecorder;
 	}
 
 
@@ -202,6 +206,12 @@ final class DefaultWebClientBuilder implements WebClient.Builder {
 		return this;
 	}
 
+	@Override
+	public WebClient.Builder exchangeTimingRecorder(ExchangeTimingRecorder timingRecorder) {
+		this.timingRecorder = timingRecorder;
+		return this;
+	}
+
 	@Override
 	public WebClient build() {
 		ExchangeFunction exchange = initExchangeFunction();
@@ -219,12 +229,11 @@ final class DefaultWebClientBuilder implements WebClient.Builder {
 		if (this.exchangeFunction != null) {
 			return this.exchangeFunction;
 		}
-		else if (this.connector != null) {
-			return ExchangeFunctions.create(this.connector, this.exchangeStrategies);
-		}
-		else {
-			return ExchangeFunctions.create(new ReactorClientHttpConnector(), this.exchangeStrategies);
+		ClientHttpConnector connector = (this.connector != null ? this.connector : new ReactorClientHttpConnector());
+		if (this.timingRecorder != null) {
+			return ExchangeFunctions.create(connector, this.exchangeStrategies, this.timingRecorder);
 		}
+		return ExchangeFunctions.create(connector, this.exchangeStrategies);
 	}
 
 	private UriBuilderFactory initUriBuilderFactory() {
@@ -16,7 +16,9 @@
 
 package org.springframework.web.reactive.function.client;
 
+import java.net.URI;
 import java.nio.charset.Charset;
+import java.time.Duration;
 import java.util.Map;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -34,7 +36,8 @@ import org.springframework.web.reactive.function.BodyExtractors;
 
 /**
  * Static factory methods providing access to built-in implementations of
- * {@link ExchangeFilterFunction} for basic authentication, error handling, etc.
+ * {@link ExchangeFilterFunction} for basic authentication, error handling,
+ * request hedging, concurrency limiting, etc.
  *
  * @author Rob Winch
  * @author Arjen Poutsma
@@ -69,6 +72,68 @@ public abstract class ExchangeFilterFunctions {
 				});
 	}
 
+	/**
+	 * Return a filter that hedges {@code GET}, {@code HEAD}, {@code OPTIONS}
+	 * and {@code TRACE} requests: if no response has arrived after the given
+	 * delay, a second attempt is sent, and the slower of the two attempts is
+	 * cancelled, closing its connection.
+	 * @param delay the delay after which to send the second attempt
+	 * @return the filter to hedge requests with
+	 * @since 5.1.1
+	 */
+	public static ExchangeFilterFunction hedge(Duration delay) {
+		return new HedgingExchangeFilterFunction(delay);
+	}
+
+	/**
+	 * Variant of {@link #hedge(Duration)} with a delay derived from the recent
+	 * response latencies of the target host, sending a second attempt once
+	 * the given latency percentile has been exceeded.
+	 * <p>The latencies of the last 1000 to 2000 responses per host are taken
+	 * into account, and requests are not hedged until 20 responses have been
+	 * received from a host.
+	 * @param percentile the latency percentile, e.g. 95
+	 * @return the filter to hedge requests with
+	 * @since 5.1.1
+	 */
+	public static ExchangeFilterFunction hedge(double percentile) {
+		return new HedgingExchangeFilterFunction(percentile);
+	}
+
+	/**
+	 * Return a filter that applies an adaptive concurrency limit per host,
+	 * starting at 20 concurrent exchanges with a maximum of 1000, and backing
+	 * off for responses slower than 5 seconds.
+	 * @return the filter to limit concurrency with
+	 * @since 5.1.1
+	 * @see #adaptiveConcurrencyLimit(int, int, Duration)
+	 */
+	public static ExchangeFilterFunction adaptiveConcurrencyLimit() {
+		return adaptiveConcurrencyLimit(20, 1000, Duration.ofSeconds(5));
+	}
+
+	/**
+	 * Return a filter that applies an adaptive concurrency limit per host,
+	 * rejecting exchanges beyond the current limit with a
+	 * {@link ConcurrencyLimitExceededException}, i.e. shedding load rather
+	 * than letting requests queue up.
+	 * <p>The limit grows by one for each timely response while at least half
+	 * of the limit is in use, and shrinks by 10% for each error, each response
+	 * with status 429 or 503, and each response slower than the given latency
+	 * threshold. An exchange counts against the limit until its response status
+	 * and headers have been received, or until it fails or is cancelled.
+	 * @param initialLimit the initial concurrency limit per host
+	 * @param maxLimit the maximum concurrency limit per host
+	 * @param latencyThreshold the response latency beyond which to back off
+	 * @return the filter to limit concurrency with
+	 * @since 5.1.1
+	 */
+	public static ExchangeFilterFunction adaptiveConcurrencyLimit(
+			int initialLimit, int maxLimit, Duration latencyThreshold) {
+
+		return new ConcurrencyLimitExchangeFilterFunction(initialLimit, maxLimit, latencyThreshold);
+	}
+
 	/**
 	 * Return a filter that generates an error signal when the given
 	 * {@link HttpStatus} predicate matches.
@@ -132,6 +197,15 @@ public abstract class ExchangeFilterFunctions {
 	}
 
 
+	/**
+	 * Return the key for the target host of the given URL, i.e. its scheme
+	 * and authority.
+	 */
+	static String getHostKey(URI url) {
+		return url.getScheme() + "://" + url.getRawAuthority();
+	}
+
+
 	/**
 	 * Stores user and password for HTTP basic authentication.
 	 * @deprecated as of Spring 5.1 in favor of using
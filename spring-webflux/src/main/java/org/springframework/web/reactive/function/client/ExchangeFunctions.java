@@ -17,18 +17,26 @@
 package org.springframework.web.reactive.function.client;
 
 import java.net.URI;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.core.log.LogFormatUtils;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.client.reactive.ClientHttpConnector;
 import org.springframework.http.client.reactive.ClientHttpResponse;
+import org.springframework.http.client.reactive.ClientHttpResponseDecorator;
 import org.springframework.http.codec.LoggingCodecSupport;
+import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 
 /**
@@ -63,7 +71,24 @@ public abstract class ExchangeFunctions {
 	 * @return the created {@code ExchangeFunction}
 	 */
 	public static ExchangeFunction create(ClientHttpConnector connector, ExchangeStrategies strategies) {
-		return new DefaultExchangeFunction(connector, strategies);
+		return new DefaultExchangeFunction(connector, strategies, null);
+	}
+
+	/**
+	 * Create an {@code ExchangeFunction} with the given
+	 * {@code ClientHttpConnector} and {@code ExchangeStrategies}, reporting the
+	 * {@link ExchangeTimings} of every exchange to the given recorder.
+	 * @param connector the connector to use for connecting to servers
+	 * @param strategies the {@code ExchangeStrategies} to use
+	 * @param timingRecorder the recorder to report exchange timings to
+	 * @return the created {@code ExchangeFunction}
+	 * @since 5.1.1
+	 */
+	public static ExchangeFunction create(ClientHttpConnector connector, ExchangeStrategies strategies,
+			ExchangeTimingRecorder timingRecorder) {
+
+		Assert.notNull(timingRecorder, "ExchangeTimingRecorder must not be null");
+		return new DefaultExchangeFunction(connector, strategies, timingRecorder);
 	}
 
 
@@ -73,14 +98,20 @@ public abstract class ExchangeFunctions {
 
 		private final ExchangeStrategies strategies;
 
+		@Nullable
+		private final ExchangeTimingRecorder timingRecorder;
+
 		private boolean enableLoggingRequestDetails;
 
 
-		public DefaultExchangeFunction(ClientHttpConnector connector, ExchangeStrategies strategies) {
+		public DefaultExchangeFunction(ClientHttpConnector connector, ExchangeStrategies strategies,
+				@Nullable ExchangeTimingRecorder timingRecorder) {
+
 			Assert.notNull(connector, "ClientHttpConnector must not be null");
 			Assert.notNull(strategies, "ExchangeStrategies must not be null");
 			this.connector = connector;
 			this.strategies = strategies;
+			this.timingRecorder = timingRecorder;
 
 			strategies.messageWriters().stream()
 					.filter(LoggingCodecSupport.class::isInstance)
@@ -95,18 +126,41 @@ public abstract class ExchangeFunctions {
 		@Override
 		public Mono<ClientResponse> exchange(ClientRequest clientRequest) {
 			Assert.notNull(clientRequest, "ClientRequest must not be null");
+			ExchangeTimingRecorder timingRecorder = this.timingRecorder;
+			if (timingRecorder != null) {
+				return Mono.defer(() -> exchange(clientRequest, new ExchangeTimer(clientRequest, timingRecorder)));
+			}
+			return exchange(clientRequest, null);
+		}
+
+		private Mono<ClientResponse> exchange(ClientRequest clientRequest, @Nullable ExchangeTimer timer) {
 			HttpMethod httpMethod = clientRequest.method();
 			URI url = clientRequest.url();
 			String logPrefix = clientRequest.logPrefix();
 
-			return this.connector
-					.connect(httpMethod, url, httpRequest -> clientRequest.writeTo(httpRequest, this.strategies))
+			Mono<ClientResponse> responseMono = this.connector
+					.connect(httpMethod, url, httpRequest -> {
+						Mono<Void> writeMono = clientRequest.writeTo(httpRequest, this.strategies);
+						if (timer != null) {
+							timer.connectionAcquired();
+							writeMono = writeMono.doOnSuccess(aVoid -> timer.requestWritten());
+						}
+						return writeMono;
+					})
 					.doOnRequest(n -> logRequest(clientRequest))
 					.doOnCancel(() -> logger.debug(logPrefix + "Cancel signal (to close connection)"))
 					.map(httpResponse -> {
 						logResponse(httpResponse, logPrefix);
+						if (timer != null) {
+							httpResponse = timer.responseReceived(httpResponse);
+						}
 						return new DefaultClientResponse(httpResponse, this.strategies, logPrefix);
 					});
+
+			if (timer != null) {
+				responseMono = responseMono.doOnError(timer::failed).doOnCancel(timer::cancelled);
+			}
+			return responseMono;
 		}
 
 		private void logRequest(ClientRequest request) {
@@ -130,4 +184,105 @@ public abstract class ExchangeFunctions {
 		}
 	}
 
+
+	/**
+	 * Tracks the phases of a single exchange and reports them once the
+	 * response body has been consumed, or the exchange failed or was cancelled.
+	 */
+	private static class ExchangeTimer {
+
+		private final ClientRequest request;
+
+		private final ExchangeTimingRecorder recorder;
+
+		private final long startTime = System.nanoTime();
+
+		private volatile long connectionAcquiredTime;
+
+		private volatile long requestWrittenTime;
+
+		private volatile long responseReceivedTime;
+
+		@Nullable
+		private volatile Integer statusCode;
+
+		private final AtomicBoolean recorded = new AtomicBoolean();
+
+		ExchangeTimer(ClientRequest request, ExchangeTimingRecorder recorder) {
+			this.request = request;
+			this.recorder = recorder;
+		}
+
+		void connectionAcquired() {
+			this.connectionAcquiredTime = System.nanoTime();
+		}
+
+		void requestWritten() {
+			this.requestWrittenTime = System.nanoTime();
+		}
+
+		ClientHttpResponse responseReceived(ClientHttpResponse response) {
+			this.responseReceivedTime = System.nanoTime();
+			this.statusCode = response.getRawStatusCode();
+			return new ClientHttpResponseDecorator(response) {
+				@Override
+				public Flux<DataBuffer> getBody() {
+					return super.getBody()
+							.doOnComplete(() -> complete(null, false))
+							.doOnError(ExchangeTimer.this::failed)
+							.doOnCancel(ExchangeTimer.this::cancelled);
+				}
+			};
+		}
+
+		void failed(Throwable ex) {
+			complete(ex, false);
+		}
+
+		void cancelled() {
+			complete(null, true);
+		}
+
+		private void complete(@Nullable Throwable error, boolean cancelled) {
+			if (!this.recorded.compareAndSet(false, true)) {
+				return;
+			}
+			long endTime = System.nanoTime();
+			Map<ExchangeTimings.Phase, Duration> durations = new EnumMap<>(ExchangeTimings.Phase.class);
+			long connectionAcquiredTime = this.connectionAcquiredTime;
+			long requestWrittenTime = this.requestWrittenTime;
+			long responseReceivedTime = this.responseReceivedTime;
+			if (connectionAcquiredTime != 0) {
+				durations.put(ExchangeTimings.Phase.CONNECTION_ACQUISITION,
+						Duration.ofNanos(connectionAcquiredTime - this.startTime));
+				if (requestWrittenTime != 0) {
+					durations.put(ExchangeTimings.Phase.REQUEST_WRITE,
+							Duration.ofNanos(requestWrittenTime - connectionAcquiredTime));
+				}
+			}
+			if (responseReceivedTime != 0) {
+				long requestSentTime = (requestWrittenTime != 0 ? requestWrittenTime :
+						connectionAcquiredTime != 0 ? connectionAcquiredTime : this.startTime);
+				durations.put(ExchangeTimings.Phase.TIME_TO_FIRST_BYTE,
+						Duration.ofNanos(Math.max(0, responseReceivedTime - requestSentTime)));
+				if (error == null && !cancelled) {
+					durations.put(ExchangeTimings.Phase.BODY_TRANSFER,
+							Duration.ofNanos(endTime - responseReceivedTime));
+				}
+			}
+			durations.put(ExchangeTimings.Phase.TOTAL, Duration.ofNanos(endTime - this.startTime));
+
+			String uriTemplate = (String) this.request.attribute(DefaultWebClient.URI_TEMPLATE_ATTRIBUTE).orElse(null);
+			try {
+				this.recorder.record(new ExchangeTimings(this.request.method(), this.request.url(),
+						uriTemplate, this.statusCode, error, cancelled, durations));
+			}
+			catch (Throwable ex) {
+				if (logger.isDebugEnabled()) {
+					logger.debug(this.request.logPrefix() + "Failed to record exchange timings", ex);
+				}
+			}
+		}
+	}
+
 }
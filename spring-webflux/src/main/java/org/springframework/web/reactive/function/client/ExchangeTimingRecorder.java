@@ -0,0 +1,42 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.reactive.function.client;
+
+/**
+ * Callback for the {@link ExchangeTimings} of every exchange performed by an
+ * {@link ExchangeFunction} created through
+ * {@link ExchangeFunctions#create(org.springframework.http.client.reactive.ClientHttpConnector,
+ * ExchangeStrategies, ExchangeTimingRecorder)}, or by a {@link WebClient}
+ * built with {@link WebClient.Builder#exchangeTimingRecorder}.
+ *
+ * <p>Implementations are invoked on the thread completing the exchange,
+ * typically an event loop thread, and must therefore not block.
+ *
+ * @author agent (agent@local)
+ * @since 5.1.1
+ * @see LatencyHistogramRecorder
+ */
+@FunctionalInterface
+public interface ExchangeTimingRecorder {
+
+	/**
+	 * Record the timings of a completed exchange.
+	 * @param timings the timings of the exchange
+	 */
+	void record(ExchangeTimings timings);
+
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.reactive.function.client;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.lang.Nullable;
+
+/**
+ * Timings for the phases of a single exchange, as reported to an
+ * {@link ExchangeTimingRecorder} once the exchange is complete, i.e. once the
+ * response body has been consumed, or the exchange has failed or been cancelled.
+ *
+ * <p>Phases the exchange did not get to, e.g. the body transfer of a request
+ * that failed to connect, have no duration.
+ *
+ * @author agent (agent@local)
+ * @since 5.1.1
+ * @see ExchangeTimingRecorder
+ */
+public final class ExchangeTimings {
+
+	private final HttpMethod method;
+
+	private final URI url;
+
+	@Nullable
+	private final String uriTemplate;
+
+	@Nullable
+	private final Integer statusCode;
+
+	@Nullable
+	private final Throwable error;
+
+	private final boolean cancelled;
+
+	private final Map<Phase, Duration> durations;
+
+
+	ExchangeTimings(HttpMethod method, URI url, @Nullable String uriTemplate, @Nullable Integer statusCode,
+			@Nullable Throwable error, boolean cancelled, Map<Phase, Duration> durations) {
+
+		this.method = method;
+		this.url = url;
+		this.uriTemplate = uriTemplate;
+		this.statusCode = statusCode;
+		this.error = error;
+		this.cancelled = cancelled;
+		this.durations = new EnumMap<>(durations);
+	}
+
+
+	/**
+	 * Return the HTTP method of the request.
+	 */
+	public HttpMethod getMethod() {
+		return this.method;
+	}
+
+	/**
+	 * Return the URL of the request.
+	 */
+	public URI getUrl() {
+		return this.url;
+	}
+
+	/**
+	 * Return the URI template the request URL was expanded from, if the
+	 * request was prepared through {@link WebClient} with a URI template.
+	 */
+	@Nullable
+	public String getUriTemplate() {
+		return this.uriTemplate;
+	}
+
+	/**
+	 * Return the raw status code of the response, if one was received.
+	 */
+	@Nullable
+	public Integer getStatusCode() {
+		return this.statusCode;
+	}
+
+	/**
+	 * Return the error the exchange failed with, if any.
+	 */
+	@Nullable
+	public Throwable getError() {
+		return this.error;
+	}
+
+	/**
+	 * Return whether the exchange was cancelled before it completed.
+	 */
+	public boolean isCancelled() {
+		return this.cancelled;
+	}
+
+	/**
+	 * Return the duration of the given phase.
+	 * @param phase the phase of the exchange
+	 * @return the duration, or {@code null} if the exchange did not complete
+	 * the given phase
+	 */
+	@Nullable
+	public Duration getDuration(Phase phase) {
+		return this.durations.get(phase);
+	}
+
+	/**
+	 * Return the time from the start of the exchange until its completion.
+	 */
+	public Duration getTotal() {
+		Duration total = this.durations.get(Phase.TOTAL);
+		return (total != null ? total : Duration.ZERO);
+	}
+
+
+	@Override
+	public String toString() {
+		return "ExchangeTimings " + this.method + " " + this.url +
+				(this.statusCode != null ? " [" + this.statusCode + "]" : "") + ": " + this.durations;
+	}
+
+
+	/**
+	 * The phases of an exchange.
+	 * <p>Phase boundaries are determined by the {@code ClientHttpConnector} in use:
+	 * for example, the Reactor Netty connector starts writing the request once
+	 * a connection has been acquired from its pool (or newly established),
+	 * whereas the Jetty connector prepares the request before connecting,
+	 * accounting for connection time as part of the time to first byte.
+	 */
+	public enum Phase {
+
+		/**
+		 * From the start of the exchange until the connector is ready for the
+		 * request to be written, i.e. including any wait for a pooled connection
+		 * and establishing a new connection.
+		 */
+		CONNECTION_ACQUISITION,
+
+		/**
+		 * Writing the request headers and body.
+		 */
+		REQUEST_WRITE,
+
+		/**
+		 * From the request being written until the response status and headers
+		 * have been received.
+		 */
+		TIME_TO_FIRST_BYTE,
+
+		/**
+		 * From the response status and headers having been received until the
+		 * response body has been consumed.
+		 */
+		BODY_TRANSFER,
+
+		/**
+		 * The entire exchange.
+		 */
+		TOTAL
+	}
+
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.reactive.function.client;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentLruCache;
+import org.springframework.web.reactive.function.client.LatencyHistogramRecorder.LatencyHistogram;
+
+/**
+ * {@link ExchangeFilterFunction} that hedges safe requests: if no response
+ * has arrived after a given delay, a second attempt is sent, and whichever
+ * attempt responds first wins while the other one is cancelled, closing its
+ * connection. The exchange fails only if all attempts fail, with the error
+ * of the first failed attempt and those of the others as suppressed exceptions.
+ *
+ * <p>The delay is either fixed, or derived from a percentile of the recent
+ * response latencies of the target host. Only first attempts are sampled:
+ * a first attempt that loses to its hedge is sampled with the time elapsed
+ * until it was cancelled, so that slow responses are not left out.
+ *
+ * @author agent (agent@local)
+ * @since 5.1.1
+ * @see ExchangeFilterFunctions#hedge(Duration)
+ * @see ExchangeFilterFunctions#hedge(double)
+ */
+final class HedgingExchangeFilterFunction implements ExchangeFilterFunction {
+
+	/** Methods that are safe to send twice, with a request body (if any) that can be written again. */
+	private static final Set<HttpMethod> HEDGED_METHODS =
+			EnumSet.of(HttpMethod.GET, HttpMethod.HEAD, HttpMethod.OPTIONS, HttpMethod.TRACE);
+
+	/** The minimum number of latency samples per host before hedging by percentile. */
+	static final int MIN_SAMPLES = 20;
+
+	/** The number of latency samples per host that a percentile is computed over. */
+	static final int WINDOW_SIZE = 1000;
+
+	/** The maximum number of hosts to keep latency samples for. */
+	static final int MAX_HOSTS = 256;
+
+
+	@Nullable
+	private final Duration fixedDelay;
+
+	private final double percentile;
+
+	private final ConcurrentLruCache<String, LatencyWindow> latencies =
+			new ConcurrentLruCache<>(MAX_HOSTS, key -> new LatencyWindow());
+
+
+	HedgingExchangeFilterFunction(Duration delay) {
+		Assert.notNull(delay, "Delay must not be null");
+		Assert.isTrue(!delay.isNegative(), "Delay must not be negative");
+		this.fixedDelay = delay;
+		this.percentile = 0;
+	}
+
+	HedgingExchangeFilterFunction(double percentile) {
+		Assert.isTrue(percentile > 0 && percentile < 100, "Percentile must be between 0 and 100");
+		this.fixedDelay = null;
+		this.percentile = percentile;
+	}
+
+
+	@Override
+	public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+		if (!HEDGED_METHODS.contains(request.method())) {
+			return next.exchange(request);
+		}
+		return Mono.defer(() -> {
+			LatencyWindow window = null;
+			Duration delay = this.fixedDelay;
+			if (delay == null) {
+				window = this.latencies.get(ExchangeFilterFunctions.getHostKey(request.url()));
+				delay = window.getValueAtPercentile(this.percentile);
+			}
+
+			AtomicBoolean responded = new AtomicBoolean();
+			Mono<ClientResponse> primary = attempt(request, next, window, responded);
+			if (delay == null) {
+				// Not enough samples yet
+				return primary;
+			}
+			Mono<ClientResponse> hedge = Mono.delay(delay)
+					.then(Mono.defer(() -> attempt(request, next, null, responded)));
+			Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+			return Flux.merge(recordFailure(primary, failures), recordFailure(hedge, failures))
+					.next()
+					.switchIfEmpty(Mono.defer(() -> Mono.error(combineFailures(failures))));
+		});
+	}
+
+	private static Mono<ClientResponse> recordFailure(Mono<ClientResponse> attempt, Queue<Throwable> failures) {
+		return attempt.onErrorResume(ex -> {
+			failures.add(ex);
+			return Mono.empty();
+		});
+	}
+
+	private static Throwable combineFailures(Queue<Throwable> failures) {
+		Throwable failure = failures.poll();
+		Assert.state(failure != null, "Expected a failed attempt");
+		for (Throwable other : failures) {
+			failure.addSuppressed(other);
+		}
+		return failure;
+	}
+
+	private Mono<ClientResponse> attempt(ClientRequest request, ExchangeFunction next,
+			@Nullable LatencyWindow window, AtomicBoolean responded) {
+
+		long startTime = System.nanoTime();
+		AtomicBoolean recorded = new AtomicBoolean();
+		Runnable recordLatency = () -> {
+			if (window != null && recorded.compareAndSet(false, true)) {
+				window.record(Duration.ofNanos(System.nanoTime() - startTime));
+			}
+		};
+		return next.exchange(request)
+				.flatMap(response -> {
+					recordLatency.run();
+					if (responded.compareAndSet(false, true)) {
+						return Mono.just(response);
+					}
+					// Lost a close race: not cancelled in time, so release the response
+					response.bodyToMono(Void.class).subscribe();
+					return Mono.empty();
+				})
+				.doOnCancel(() -> {
+					// Cancelled in favor of another attempt: the latency is at least this long
+					if (responded.get()) {
+						recordLatency.run();
+					}
+				});
+	}
+
+
+	/**
+	 * The response latencies of a host, rotating over windows of
+	 * {@link #WINDOW_SIZE} samples.
+	 */
+	private static class LatencyWindow {
+
+		private volatile LatencyHistogram current = new LatencyHistogram();
+
+		@Nullable
+		private volatile LatencyHistogram previous;
+
+		void record(Duration latency) {
+			LatencyHistogram current = this.current;
+			current.record(latency);
+			if (current.getCount() >= WINDOW_SIZE) {
+				synchronized (this) {
+					if (this.current == current) {
+						this.previous = current;
+						this.current = new LatencyHistogram();
+					}
+				}
+			}
+		}
+
+		@Nullable
+		Duration getValueAtPercentile(double percentile) {
+			LatencyHistogram histogram = this.previous;
+			if (histogram == null) {
+				histogram = this.current;
+				if (histogram.getCount() < MIN_SAMPLES) {
+					return null;
+				}
+			}
+			return histogram.getValueAtPercentile(percentile);
+		}
+	}
+
+}
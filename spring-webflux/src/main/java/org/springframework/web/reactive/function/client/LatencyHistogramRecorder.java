@@ -0,0 +1,266 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.reactive.function.client;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Default {@link ExchangeTimingRecorder} that keeps a latency histogram per
+ * {@link ExchangeTimings.Phase phase} of the exchange, keyed by HTTP method
+ * and URI template, e.g. {@code "GET https://example.org/orders/{id}"}, for
+ * exchanges performed by a {@link WebClient} with a URI template.
+ *
+ * <p>Requests without a URI template are keyed by their URL without query.
+ * In order to bound memory consumption, exchanges beyond the
+ * {@link #setMaxKeys maximum number of keys} are recorded under the
+ * {@link #OVERFLOW_KEY} instead.
+ *
+ * <p>Histograms use logarithmic buckets with a relative precision of 25%,
+ * at a fixed footprint of about 2K per histogram, and may be read while
+ * exchanges are being recorded.
+ *
+ * @author agent (agent@local)
+ * @since 5.1.1
+ */
+public class LatencyHistogramRecorder implements ExchangeTimingRecorder {
+
+	/**
+	 * The key under which exchanges beyond the maximum number of keys are recorded.
+	 */
+	public static final String OVERFLOW_KEY = "OTHER";
+
+
+	private final Map<String, Map<ExchangeTimings.Phase, LatencyHistogram>> histograms = new ConcurrentHashMap<>();
+
+	private int maxKeys = 1000;
+
+
+	/**
+	 * Set the maximum number of keys to keep histograms for.
+	 * <p>By default this is set to 1000.
+	 */
+	public void setMaxKeys(int maxKeys) {
+		Assert.isTrue(maxKeys > 0, "'maxKeys' must be positive");
+		this.maxKeys = maxKeys;
+	}
+
+	/**
+	 * Return the {@link #setMaxKeys configured} maximum number of keys.
+	 */
+	public int getMaxKeys() {
+		return this.maxKeys;
+	}
+
+
+	@Override
+	public void record(ExchangeTimings timings) {
+		Map<ExchangeTimings.Phase, LatencyHistogram> phaseHistograms = getPhaseHistograms(determineKey(timings));
+		for (ExchangeTimings.Phase phase : ExchangeTimings.Phase.values()) {
+			Duration duration = timings.getDuration(phase);
+			if (duration != null) {
+				phaseHistograms.get(phase).record(duration);
+			}
+		}
+	}
+
+	/**
+	 * Determine the key to record the given exchange under.
+	 * <p>The default implementation uses the HTTP method followed by the
+	 * URI template, or by the URL without query if there is no template.
+	 * Relative URI templates (i.e. relative to a base URL) are prefixed
+	 * with the scheme and authority of the request URL.
+	 * @param timings the timings of the exchange
+	 * @return the key to use
+	 */
+	protected String determineKey(ExchangeTimings timings) {
+		URI url = timings.getUrl();
+		String uriTemplate = timings.getUriTemplate();
+		String path = (uriTemplate != null ? uriTemplate : url.getRawPath() != null ? url.getRawPath() : "");
+		if (!path.contains("://") && url.getRawAuthority() != null) {
+			path = url.getScheme() + "://" + url.getRawAuthority() + path;
+		}
+		return timings.getMethod() + " " + path;
+	}
+
+	private Map<ExchangeTimings.Phase, LatencyHistogram> getPhaseHistograms(String key) {
+		Map<ExchangeTimings.Phase, LatencyHistogram> phaseHistograms = this.histograms.get(key);
+		if (phaseHistograms == null) {
+			if (this.histograms.size() >= this.maxKeys) {
+				key = OVERFLOW_KEY;
+			}
+			phaseHistograms = this.histograms.computeIfAbsent(key, k -> {
+				Map<ExchangeTimings.Phase, LatencyHistogram> map = new EnumMap<>(ExchangeTimings.Phase.class);
+				for (ExchangeTimings.Phase phase : ExchangeTimings.Phase.values()) {
+					map.put(phase, new LatencyHistogram());
+				}
+				return map;
+			});
+		}
+		return phaseHistograms;
+	}
+
+
+	/**
+	 * Return the keys for which histograms have been recorded.
+	 */
+	public Set<String> getKeys() {
+		return Collections.unmodifiableSet(this.histograms.keySet());
+	}
+
+	/**
+	 * Return the histogram for the given key and phase.
+	 * @param key the key, as returned from {@link #getKeys()}
+	 * @param phase the phase of the exchange
+	 * @return the histogram, or {@code null} if nothing was recorded for the key
+	 */
+	@Nullable
+	public LatencyHistogram getHistogram(String key, ExchangeTimings.Phase phase) {
+		Map<ExchangeTimings.Phase, LatencyHistogram> phaseHistograms = this.histograms.get(key);
+		return (phaseHistograms != null ? phaseHistograms.get(phase) : null);
+	}
+
+	/**
+	 * Remove all recorded histograms.
+	 */
+	public void reset() {
+		this.histograms.clear();
+	}
+
+
+	/**
+	 * A latency histogram with logarithmic buckets at microsecond resolution,
+	 * each power of two being split into 4 sub-buckets.
+	 */
+	public static final class LatencyHistogram {
+
+		private static final int SUB_BUCKET_BITS = 2;
+
+		private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+		private static final int BUCKET_COUNT = SUB_BUCKET_COUNT + (63 - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+
+		private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+
+		private final AtomicLong count = new AtomicLong();
+
+		private final AtomicLong totalMicros = new AtomicLong();
+
+		private final AtomicLong maxMicros = new AtomicLong();
+
+
+		LatencyHistogram() {
+		}
+
+
+		void record(Duration duration) {
+			long micros = Math.max(0, duration.toNanos() / 1000);
+			this.counts.incrementAndGet(bucketIndex(micros));
+			this.count.incrementAndGet();
+			this.totalMicros.addAndGet(micros);
+			long max;
+			do {
+				max = this.maxMicros.get();
+			}
+			while (micros > max && !this.maxMicros.compareAndSet(max, micros));
+		}
+
+		/**
+		 * Return the number of recorded values.
+		 */
+		public long getCount() {
+			return this.count.get();
+		}
+
+		/**
+		 * Return the mean of the recorded values.
+		 */
+		public Duration getMean() {
+			long count = this.count.get();
+			return Duration.ofNanos(count > 0 ? this.totalMicros.get() * 1000 / count : 0);
+		}
+
+		/**
+		 * Return the maximum of the recorded values.
+		 */
+		public Duration getMax() {
+			return Duration.ofNanos(this.maxMicros.get() * 1000);
+		}
+
+		/**
+		 * Return an upper bound for the value at the given percentile,
+		 * accurate to the bucket precision of 25%.
+		 * @param percentile the percentile, between 0 and 100
+		 */
+		public Duration getValueAtPercentile(double percentile) {
+			Assert.isTrue(percentile >= 0 && percentile <= 100, "Percentile must be between 0 and 100");
+			long total = this.count.get();
+			if (total == 0) {
+				return Duration.ZERO;
+			}
+			long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+			long max = this.maxMicros.get();
+			long seen = 0;
+			for (int i = 0; i < BUCKET_COUNT; i++) {
+				seen += this.counts.get(i);
+				if (seen >= rank) {
+					return Duration.ofNanos(Math.min(bucketUpperBound(i), max) * 1000);
+				}
+			}
+			return Duration.ofNanos(max * 1000);
+		}
+
+		@Override
+		public String toString() {
+			return "LatencyHistogram [count=" + getCount() + ", mean=" + getMean() +
+					", p50=" + getValueAtPercentile(50) + ", p99=" + getValueAtPercentile(99) +
+					", max=" + getMax() + "]";
+		}
+
+
+		static int bucketIndex(long micros) {
+			if (micros < SUB_BUCKET_COUNT) {
+				return (int) micros;
+			}
+			int exponent = 63 - Long.numberOfLeadingZeros(micros);
+			int subBucket = (int) (micros >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1);
+			return SUB_BUCKET_COUNT + (exponent - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT + subBucket;
+		}
+
+		static long bucketUpperBound(int index) {
+			if (index < SUB_BUCKET_COUNT) {
+				return index;
+			}
+			int exponent = (index - SUB_BUCKET_COUNT) / SUB_BUCKET_COUNT + SUB_BUCKET_BITS;
+			int subBucket = (index - SUB_BUCKET_COUNT) % SUB_BUCKET_COUNT;
+			long lowerBound = (long) (SUB_BUCKET_COUNT + subBucket) << (exponent - SUB_BUCKET_BITS);
+			return lowerBound + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+		}
+	}
+
+}
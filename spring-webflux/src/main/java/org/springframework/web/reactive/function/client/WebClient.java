@@ -302,6 +302,18 @@ public interface WebClient {
 		 */
 		Builder exchangeFunction(ExchangeFunction exchangeFunction);
 
+		/**
+		 * Configure an {@link ExchangeTimingRecorder} to report the timings of
+		 * every exchange to, e.g. a {@link LatencyHistogramRecorder}.
+		 * <p>This applies to the {@code ExchangeFunction} created from the
+		 * {@link #clientConnector configured connector}, but not to an
+		 * {@link #exchangeFunction} provided directly, which may be created
+		 * with timings through {@link ExchangeFunctions} instead.
+		 * @param timingRecorder the recorder to use
+		 * @since 5.1.1
+		 */
+		Builder exchangeTimingRecorder(ExchangeTimingRecorder timingRecorder);
+
 		/**
 		 * Clone this {@code WebClient.Builder}.
 		 */
@@ -24,16 +24,20 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.core.ResolvableType;
 import org.springframework.core.codec.Hints;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.InputStreamResource;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
 import org.springframework.http.CacheControl;
@@ -47,6 +51,9 @@ import org.springframework.http.server.PathContainer;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.FileCopyUtils;
 import org.springframework.util.ObjectUtils;
 import org.springframework.util.ResourceUtils;
 import org.springframework.util.StringUtils;
@@ -80,6 +87,10 @@ import org.springframework.web.server.WebHandler;
  * avoiding unnecessary overhead for resources that are already cached by the
  * client.
  *
+ * <p>Small, frequently requested resources may be {@linkplain
+ * #setContentCacheMaxLength kept in memory}, along with a precomputed
+ * {@code ETag} header value.
+ *
  * @author Rossen Stoyanchev
  * @author Brian Clozel
  * @since 5.0
@@ -116,6 +127,10 @@ public class ResourceWebHandler implements WebHandler, InitializingBean {
 	@Nullable
 	private ResourceLoader resourceLoader;
 
+	private long contentCacheMaxLength = 0;
+
+	private final Map<Resource, CachedResource> contentCache = new ConcurrentReferenceHashMap<>(64);
+
 
 	/**
 	 * Accepts a list of String-based location values to be resolved into
@@ -239,6 +254,29 @@ public class ResourceWebHandler implements WebHandler, InitializingBean {
 		this.resourceLoader = resourceLoader;
 	}
 
+	/**
+	 * Set the maximum content length of resources to be kept in memory,
+	 * along with a strong {@code ETag} computed from their content.
+	 * <p>Resources are cached as resolved, so encoded variants selected by an
+	 * {@link EncodedResourceResolver} (e.g. gzip or brotli) are cached separately,
+	 * including their {@code Content-Encoding} header. Cached content is held
+	 * through soft references and reloaded once the last-modified timestamp of
+	 * the resource changes.
+	 * <p>Default is 0, i.e. no content is cached.
+	 * @since 5.1.1
+	 */
+	public void setContentCacheMaxLength(long contentCacheMaxLength) {
+		this.contentCacheMaxLength = contentCacheMaxLength;
+	}
+
+	/**
+	 * Return the maximum content length of resources to be kept in memory.
+	 * @since 5.1.1
+	 */
+	public long getContentCacheMaxLength() {
+		return this.contentCacheMaxLength;
+	}
+
 
 	@Override
 	public void afterPropertiesSet() throws Exception {
@@ -341,36 +379,9 @@ public class ResourceWebHandler implements WebHandler, InitializingBean {
 						}
 
 						// Header phase
-						if (exchange.checkNotModified(Instant.ofEpochMilli(resource.lastModified()))) {
-							logger.trace(exchange.getLogPrefix() + "Resource not modified");
-							return Mono.empty();
-						}
-
-						// Apply cache settings, if any
-						if (getCacheControl() != null) {
-							String value = getCacheControl().getHeaderValue();
-							if (value != null) {
-								exchange.getResponse().getHeaders().setCacheControl(value);
-							}
-						}
-
-						// Check the media type for the resource
-						MediaType mediaType = MediaTypeFactory.getMediaType(resource).orElse(null);
-
-						// Content phase
-						if (HttpMethod.HEAD.matches(exchange.getRequest().getMethodValue())) {
-							setHeaders(exchange, resource, mediaType);
-							exchange.getResponse().getHeaders().set(HttpHeaders.ACCEPT_RANGES, "bytes");
-							return Mono.empty();
-						}
-
-						setHeaders(exchange, resource, mediaType);
-						ResourceHttpMessageWriter writer = getResourceHttpMessageWriter();
-						Assert.state(writer != null, "No ResourceHttpMessageWriter");
-						return writer.write(Mono.just(resource),
-								null, ResolvableType.forClass(Resource.class), mediaType,
-								exchange.getRequest(), exchange.getResponse(),
-								Hints.from(Hints.LOG_PREFIX_HINT, exchange.getLogPrefix()));
+						long lastModified = resource.lastModified();
+						return getContent(resource, lastModified)
+								.flatMap(content -> writeContent(exchange, resource, content, lastModified));
 					}
 					catch (IOException ex) {
 						return Mono.error(ex);
@@ -378,6 +389,75 @@ public class ResourceWebHandler implements WebHandler, InitializingBean {
 				});
 	}
 
+	private Mono<Void> writeContent(ServerWebExchange exchange, Resource resource, Resource content,
+			long lastModified) {
+
+		try {
+			String eTag = (content instanceof CachedResource ? ((CachedResource) content).getETag() : null);
+			if (exchange.checkNotModified(eTag, Instant.ofEpochMilli(lastModified))) {
+				logger.trace(exchange.getLogPrefix() + "Resource not modified");
+				return Mono.empty();
+			}
+
+			// Apply cache settings, if any
+			if (getCacheControl() != null) {
+				String value = getCacheControl().getHeaderValue();
+				if (value != null) {
+					exchange.getResponse().getHeaders().setCacheControl(value);
+				}
+			}
+
+			// Check the media type for the resource
+			MediaType mediaType = MediaTypeFactory.getMediaType(resource).orElse(null);
+
+			// Content phase
+			if (HttpMethod.HEAD.matches(exchange.getRequest().getMethodValue())) {
+				setHeaders(exchange, content, mediaType);
+				exchange.getResponse().getHeaders().set(HttpHeaders.ACCEPT_RANGES, "bytes");
+				return Mono.empty();
+			}
+
+			setHeaders(exchange, content, mediaType);
+			ResourceHttpMessageWriter writer = getResourceHttpMessageWriter();
+			Assert.state(writer != null, "No ResourceHttpMessageWriter");
+			return writer.write(Mono.just(content),
+					null, ResolvableType.forClass(Resource.class), mediaType,
+					exchange.getRequest(), exchange.getResponse(),
+					Hints.from(Hints.LOG_PREFIX_HINT, exchange.getLogPrefix()));
+		}
+		catch (IOException ex) {
+			return Mono.error(ex);
+		}
+	}
+
+	/**
+	 * Return the in-memory copy of the given resource if it is small enough to
+	 * be cached, or else the resource itself. Resources not cached yet are read
+	 * on the {@link Schedulers#elastic() elastic} scheduler, since reading them
+	 * blocks.
+	 */
+	private Mono<Resource> getContent(Resource resource, long lastModified) {
+		if (this.contentCacheMaxLength <= 0 ||
+				resource instanceof ByteArrayResource || resource instanceof InputStreamResource) {
+			return Mono.just(resource);
+		}
+		CachedResource cachedResource = this.contentCache.get(resource);
+		if (cachedResource != null && cachedResource.lastModified() == lastModified) {
+			return Mono.just(cachedResource);
+		}
+		return Mono.fromCallable(() -> loadContent(resource)).subscribeOn(Schedulers.elastic());
+	}
+
+	private Resource loadContent(Resource resource) throws IOException {
+		if (resource.contentLength() > this.contentCacheMaxLength) {
+			return resource;
+		}
+		CachedResource cachedResource =
+				new CachedResource(resource, FileCopyUtils.copyToByteArray(resource.getInputStream()));
+		this.contentCache.put(resource, cachedResource);
+		return cachedResource;
+	}
+
 	protected Mono<Resource> getResource(ServerWebExchange exchange) {
 		String name = HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE;
 		PathContainer pathWithinHandler = exchange.getRequiredAttribute(name);
@@ -554,4 +634,35 @@ public class ResourceWebHandler implements WebHandler, InitializingBean {
 		}
 		return Collections.emptyList();
 	}
+
+
+	/**
+	 * In-memory copy of a resource, with its response headers and an ETag.
+	 */
+	private static class CachedResource extends TransformedResource implements HttpResource {
+
+		private final HttpHeaders responseHeaders;
+
+		private final String eTag;
+
+		CachedResource(Resource original, byte[] content) {
+			super(original, content);
+			this.responseHeaders = (original instanceof HttpResource ?
+					((HttpResource) original).getResponseHeaders() : new HttpHeaders());
+			this.eTag = "\"" + DigestUtils.md5DigestAsHex(content) + "\"";
+		}
+
+		@Override
+		public HttpHeaders getResponseHeaders() {
+			// Copy, since the header values get added to the response as-is
+			HttpHeaders headers = new HttpHeaders();
+			headers.addAll(this.responseHeaders);
+			return headers;
+		}
+
+		public String getETag() {
+			return this.eTag;
+		}
+	}
+
 }
@@ -19,16 +19,20 @@ package org.springframework.web.reactive.result.method;
 import org.springframework.aop.support.AopUtils;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.core.MethodIntrospector;
+import org.springframework.http.server.PathContainer;
 import org.springframework.http.server.RequestPath;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.reactive.CorsUtils;
 import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.reactive.HandlerMapping;
 import org.springframework.web.reactive.handler.AbstractHandlerMapping;
 import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.PathPrefixIndex;
+import org.springframework.web.util.pattern.PathPattern;
 import reactor.core.publisher.Mono;
 
 import java.lang.reflect.Method;
@@ -314,9 +318,10 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 	 */
 	@Nullable
 	protected HandlerMethod lookupHandlerMethod(ServerWebExchange exchange) throws Exception {
-	    // 将当前请求和注册表中的 Mapping 进行匹配。若匹配成功，则生成 Mapping 记录，添加到 matches 中
+	    // 将当前请求和注册表中路径前缀可能匹配的 Mapping 进行匹配。若匹配成功，则生成 Mapping 记录，添加到 matches 中
 		List<Match> matches = new ArrayList<>();
-		addMatchingMappings(this.mappingRegistry.getMappings().keySet(), matches, exchange);
+		PathContainer lookupPath = exchange.getRequest().getPath().pathWithinApplication();
+		addMatchingMappings(this.mappingRegistry.getMappingsByPathPrefix(lookupPath), matches, exchange);
 
 		// 如果匹配到，则获取最佳匹配的 Match 对象的 handlerMethod 属性
 		if (!matches.isEmpty()) {
@@ -423,6 +428,21 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 	@Nullable
 	protected abstract T getMappingForMethod(Method method, Class<?> handlerType);
 
+	/**
+	 * Extract and return the URL path patterns contained in a mapping.
+	 * <p>A mapping with path patterns is expected to match only lookup paths
+	 * that match one of those patterns, which allows for narrowing down the
+	 * mappings to check for a request by the literal leading segments of their
+	 * patterns. A mapping without path patterns is checked for every request.
+	 * <p>The default implementation returns an empty set.
+	 * @param mapping the mapping to extract the path patterns from
+	 * @return the path patterns of the mapping (never {@code null})
+	 * @since 5.1.1
+	 */
+	protected Set<PathPattern> getMappingPathPatterns(T mapping) {
+		return Collections.emptySet();
+	}
+
 	/**
 	 * Check if a mapping matches the current request and return a (potentially
 	 * new) mapping with conditions relevant to the current request.
@@ -463,6 +483,9 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
          */
 		private final Map<T, HandlerMethod> mappingLookup = new LinkedHashMap<>();
 
+		// 基于路径前缀的 Mapping 索引。按照 Mapping 的路径中开头的非模式部分，缩小需要匹配的 Mapping 的范围
+		private final PathPrefixIndex<T> pathPrefixIndex = new PathPrefixIndex<>();
+
         /**
          * TODO 1012 cors
          */
@@ -481,6 +504,15 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 			return this.mappingLookup;
 		}
 
+		/**
+		 * Return the mappings that may match the given lookup path, based on
+		 * the literal leading segments of their patterns. Not thread-safe.
+		 * @see #acquireReadLock()
+		 */
+		public Collection<T> getMappingsByPathPrefix(PathContainer lookupPath) {
+			return this.pathPrefixIndex.getMappings(lookupPath);
+		}
+
 		/**
          * TODO 1012 cors
          *
@@ -520,6 +552,10 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 				// 添加 mapping + HandlerMethod 到 mappingLookup 中
 				this.mappingLookup.put(mapping, handlerMethod);
 
+				// 添加 mapping 到路径前缀索引中
+				List<List<String>> pathPrefixes = getPathPrefixes(mapping);
+				this.pathPrefixIndex.add(mapping, pathPrefixes);
+
 				// TODO 1012 cors
 				CorsConfiguration corsConfig = initCorsConfiguration(handler, method, mapping);
 				if (corsConfig != null) {
@@ -527,7 +563,7 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 				}
 
 				// 创建 MappingRegistration 对象，并 mapping + MappingRegistration 添加到 registry 中
-				this.registry.put(mapping, new MappingRegistration<>(mapping, handlerMethod));
+				this.registry.put(mapping, new MappingRegistration<>(mapping, handlerMethod, pathPrefixes));
 			} finally {
 			    // 释放写锁
 				this.readWriteLock.writeLock().unlock();
@@ -544,6 +580,26 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 			}
 		}
 
+		// 获得 mapping 对应的路径前缀数组
+		private List<List<String>> getPathPrefixes(T mapping) {
+			Set<PathPattern> patterns = getMappingPathPatterns(mapping);
+			if (patterns.isEmpty()) {
+				return Collections.singletonList(Collections.emptyList());
+			}
+			List<List<String>> prefixes = new ArrayList<>(patterns.size());
+			for (PathPattern pattern : patterns) {
+				List<String> prefix = new ArrayList<>();
+				for (String segment : StringUtils.tokenizeToStringArray(pattern.getPatternString(), "/", false, true)) {
+					if (segment.indexOf('*') != -1 || segment.indexOf('?') != -1 || segment.indexOf('{') != -1) {
+						break;
+					}
+					prefix.add(segment);
+				}
+				prefixes.add(prefix);
+			}
+			return prefixes;
+		}
+
 		public void unregister(T mapping) {
             // 获得写锁
 			this.readWriteLock.writeLock().lock();
@@ -555,6 +611,8 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 				}
 				// 从 mappingLookup 中移除
 				this.mappingLookup.remove(definition.getMapping());
+				// 从 pathPrefixIndex 中移除
+				this.pathPrefixIndex.remove(definition.getMapping(), definition.getPathPrefixes());
 				// 从 corsLookup 中移除
 				this.corsLookup.remove(definition.getHandlerMethod());
 			} finally {
@@ -575,12 +633,15 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
          * HandlerMethod 对象
          */
 		private final HandlerMethod handlerMethod;
+		// 路径前缀数组
+		private final List<List<String>> pathPrefixes;
 
-		public MappingRegistration(T mapping, HandlerMethod handlerMethod) {
+		public MappingRegistration(T mapping, HandlerMethod handlerMethod, List<List<String>> pathPrefixes) {
 			Assert.notNull(mapping, "Mapping must not be null");
 			Assert.notNull(handlerMethod, "HandlerMethod must not be null");
 			this.mapping = mapping;
 			this.handlerMethod = handlerMethod;
+			this.pathPrefixes = pathPrefixes;
 		}
 
 		public T getMapping() {
@@ -591,6 +652,10 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 			return this.handlerMethod;
 		}
 
+		public List<List<String>> getPathPrefixes() {
+			return this.pathPrefixes;
+		}
+
 	}
 
 	/**
@@ -18,8 +18,12 @@ package org.springframework.web.reactive.function.client;
 
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Test;
+import reactor.core.Disposable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
@@ -212,6 +216,219 @@ public class ExchangeFilterFunctionsTests {
 
 	}
 
+	@Test
+	public void hedge() {
+		ClientRequest request = ClientRequest.create(HttpMethod.GET, DEFAULT_URL).build();
+		ClientResponse response = mock(ClientResponse.class);
+		AtomicInteger attempts = new AtomicInteger();
+		AtomicBoolean cancelled = new AtomicBoolean();
+		ExchangeFunction exchange = r -> (attempts.incrementAndGet() == 1 ?
+				Mono.<ClientResponse>never().doOnCancel(() -> cancelled.set(true)) : Mono.just(response));
+
+		StepVerifier.withVirtualTime(() -> ExchangeFilterFunctions.hedge(Duration.ofMillis(100)).filter(request, exchange))
+				.expectSubscription()
+				.expectNoEvent(Duration.ofMillis(99))
+				.thenAwait(Duration.ofMillis(1))
+				.expectNext(response)
+				.verifyComplete();
+
+		assertEquals(2, attempts.get());
+		assertTrue(cancelled.get());
+	}
+
+	@Test
+	public void hedgeWithFailedPrimary() {
+		ClientRequest request = ClientRequest.create(HttpMethod.GET, DEFAULT_URL).build();
+		ClientResponse response = mock(ClientResponse.class);
+		AtomicInteger attempts = new AtomicInteger();
+		ExchangeFunction exchange = r -> (attempts.incrementAndGet() == 1 ?
+				Mono.error(new IllegalStateException("primary")) : Mono.just(response));
+
+		StepVerifier.withVirtualTime(() -> ExchangeFilterFunctions.hedge(Duration.ofMillis(100)).filter(request, exchange))
+				.expectSubscription()
+				.expectNoEvent(Duration.ofMillis(100))
+				.expectNext(response)
+				.verifyComplete();
+		assertEquals(2, attempts.get());
+	}
+
+	@Test
+	public void hedgeWithAllAttemptsFailed() {
+		ClientRequest request = ClientRequest.create(HttpMethod.GET, DEFAULT_URL).build();
+		AtomicInteger attempts = new AtomicInteger();
+		ExchangeFunction exchange = r -> Mono.error(new IllegalStateException("attempt " + attempts.incrementAndGet()));
+
+		StepVerifier.withVirtualTime(() -> ExchangeFilterFunctions.hedge(Duration.ofMillis(100)).filter(request, exchange))
+				.expectSubscription()
+				.thenAwait(Duration.ofMillis(100))
+				.consumeErrorWith(ex -> {
+					assertEquals("attempt 1", ex.getMessage());
+					assertEquals(1, ex.getSuppressed().length);
+					assertEquals("attempt 2", ex.getSuppressed()[0].getMessage());
+				})
+				.verify();
+		assertEquals(2, attempts.get());
+	}
+
+	@Test
+	public void hedgeNotNeeded() {
+		ClientRequest request = ClientRequest.create(HttpMethod.GET, DEFAULT_URL).build();
+		ClientResponse response = mock(ClientResponse.class);
+		AtomicInteger attempts = new AtomicInteger();
+		ExchangeFunction exchange = r -> {
+			attempts.incrementAndGet();
+			return Mono.just(response);
+		};
+
+		StepVerifier.withVirtualTime(() -> ExchangeFilterFunctions.hedge(Duration.ofMillis(100)).filter(request, exchange))
+				.expectNext(response)
+				.verifyComplete();
+		assertEquals(1, attempts.get());
+	}
+
+	@Test
+	public void hedgeNotAppliedToPost() {
+		ClientRequest request = ClientRequest.create(HttpMethod.POST, DEFAULT_URL).build();
+		AtomicInteger attempts = new AtomicInteger();
+		ExchangeFunction exchange = r -> {
+			attempts.incrementAndGet();
+			return Mono.never();
+		};
+
+		StepVerifier.withVirtualTime(() -> ExchangeFilterFunctions.hedge(Duration.ofMillis(100)).filter(request, exchange))
+				.expectSubscription()
+				.expectNoEvent(Duration.ofSeconds(1))
+				.thenCancel()
+				.verify();
+		assertEquals(1, attempts.get());
+	}
+
+	@Test
+	public void hedgeByPercentile() {
+		ClientRequest request = ClientRequest.create(HttpMethod.GET, DEFAULT_URL).build();
+		ClientResponse response = mock(ClientResponse.class);
+		AtomicInteger attempts = new AtomicInteger();
+		ExchangeFilterFunction filter = ExchangeFilterFunctions.hedge(90);
+
+		// Not hedged before enough samples have been collected
+		ExchangeFunction slowExchange = r -> {
+			attempts.incrementAndGet();
+			return Mono.delay(Duration.ofMillis(10)).thenReturn(response);
+		};
+		for (int i = 0; i < HedgingExchangeFilterFunction.MIN_SAMPLES; i++) {
+			StepVerifier.withVirtualTime(() -> filter.filter(request, slowExchange))
+					.expectSubscription()
+					.thenAwait(Duration.ofMillis(10))
+					.expectNext(response)
+					.verifyComplete();
+		}
+		assertEquals(HedgingExchangeFilterFunction.MIN_SAMPLES, attempts.get());
+
+		attempts.set(0);
+		ExchangeFunction stuckExchange = r -> (attempts.incrementAndGet() == 1 ? Mono.never() : Mono.just(response));
+		StepVerifier.withVirtualTime(() -> filter.filter(request, stuckExchange))
+				.expectSubscription()
+				.thenAwait(Duration.ofMillis(15))
+				.expectNext(response)
+				.verifyComplete();
+		assertEquals(2, attempts.get());
+	}
+
+	@Test
+	public void hedgeByPercentileSamplesCancelledFirstAttempts() {
+		ClientRequest request = ClientRequest.create(HttpMethod.GET, DEFAULT_URL).build();
+		ClientResponse response = mock(ClientResponse.class);
+		ExchangeFilterFunction filter = ExchangeFilterFunctions.hedge(50);
+		Duration latency = Duration.ofMillis(50);
+
+		ExchangeFunction slowExchange = r -> Mono.delay(latency).thenReturn(response);
+		for (int i = 0; i < HedgingExchangeFilterFunction.MIN_SAMPLES; i++) {
+			StepVerifier.create(filter.filter(request, slowExchange)).expectNext(response).verifyComplete();
+		}
+
+		// First attempts that lose to an instant hedge are sampled as at least that slow
+		AtomicInteger attempts = new AtomicInteger();
+		ExchangeFunction stuckExchange = r -> (attempts.incrementAndGet() % 2 == 1 ? Mono.never() : Mono.just(response));
+		for (int i = 0; i < HedgingExchangeFilterFunction.MIN_SAMPLES + 1; i++) {
+			StepVerifier.create(filter.filter(request, stuckExchange)).expectNext(response).verifyComplete();
+		}
+		assertEquals(2 * (HedgingExchangeFilterFunction.MIN_SAMPLES + 1), attempts.get());
+
+		attempts.set(0);
+		StepVerifier.create(filter.filter(request, stuckExchange))
+				.expectSubscription()
+				.expectNoEvent(Duration.ofMillis(10))
+				.expectNext(response)
+				.verifyComplete();
+		assertEquals(2, attempts.get());
+	}
+
+	@Test
+	public void adaptiveConcurrencyLimit() {
+		ClientRequest request = ClientRequest.create(HttpMethod.GET, DEFAULT_URL).build();
+		ExchangeFilterFunction filter = ExchangeFilterFunctions.adaptiveConcurrencyLimit(2, 10, Duration.ofSeconds(5));
+		ExchangeFunction exchange = r -> Mono.never();
+
+		Disposable first = filter.filter(request, exchange).subscribe();
+		Disposable second = filter.filter(request, exchange).subscribe();
+		StepVerifier.create(filter.filter(request, exchange))
+				.expectErrorSatisfies(ex -> {
+					assertTrue(ex instanceof ConcurrencyLimitExceededException);
+					assertEquals(2, ((ConcurrencyLimitExceededException) ex).getLimit());
+					assertEquals("http://example.com", ((ConcurrencyLimitExceededException) ex).getHost());
+				})
+				.verify();
+
+		// Cancellation releases the permit
+		first.dispose();
+		Disposable third = filter.filter(request, exchange).subscribe();
+		StepVerifier.create(filter.filter(request, exchange))
+				.verifyError(ConcurrencyLimitExceededException.class);
+
+		// Other hosts are limited separately
+		ClientRequest otherRequest = ClientRequest.create(HttpMethod.GET, URI.create("http://example.org")).build();
+		filter.filter(otherRequest, exchange).subscribe().dispose();
+
+		second.dispose();
+		third.dispose();
+	}
+
+	@Test
+	public void adaptiveConcurrencyLimitBackoffAndIncrease() {
+		ClientRequest request = ClientRequest.create(HttpMethod.GET, DEFAULT_URL).build();
+		ExchangeFilterFunction filter = ExchangeFilterFunctions.adaptiveConcurrencyLimit(2, 10, Duration.ofSeconds(5));
+		ExchangeFunction never = r -> Mono.never();
+
+		// 503 -> limit shrinks to 1
+		ClientResponse unavailable = mock(ClientResponse.class);
+		when(unavailable.rawStatusCode()).thenReturn(503);
+		StepVerifier.create(filter.filter(request, r -> Mono.just(unavailable))).expectNext(unavailable).verifyComplete();
+
+		Disposable pending = filter.filter(request, never).subscribe();
+		StepVerifier.create(filter.filter(request, never)).verifyError(ConcurrencyLimitExceededException.class);
+		pending.dispose();
+
+		// timely 200 at full utilization -> limit grows to 2.8
+		ClientResponse ok = mock(ClientResponse.class);
+		when(ok.rawStatusCode()).thenReturn(200);
+		StepVerifier.create(filter.filter(request, r -> Mono.just(ok))).expectNext(ok).verifyComplete();
+
+		Disposable first = filter.filter(request, never).subscribe();
+		Disposable second = filter.filter(request, never).subscribe();
+		StepVerifier.create(filter.filter(request, never)).verifyError(ConcurrencyLimitExceededException.class);
+		first.dispose();
+		second.dispose();
+
+		// errors -> limit shrinks again, by 10% each: 2.52, 2.27, 2.04, 1.84
+		for (int i = 0; i < 4; i++) {
+			StepVerifier.create(filter.filter(request, r -> Mono.error(new IllegalStateException())))
+					.verifyError(IllegalStateException.class);
+		}
+		pending = filter.filter(request, never).subscribe();
+		StepVerifier.create(filter.filter(request, never)).verifyError(ConcurrencyLimitExceededException.class);
+		pending.dispose();
+	}
+
 	private String string(DataBuffer buffer) {
 		String value = DataBufferTestUtils.dumpString(buffer, StandardCharsets.UTF_8);
 		DataBufferUtils.release(buffer);
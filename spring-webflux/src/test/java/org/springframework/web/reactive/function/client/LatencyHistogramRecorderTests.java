@@ -0,0 +1,161 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.reactive.function.client;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.mock.http.client.reactive.test.MockClientHttpRequest;
+import org.springframework.mock.http.client.reactive.test.MockClientHttpResponse;
+import org.springframework.web.reactive.function.client.ExchangeTimings.Phase;
+import org.springframework.web.reactive.function.client.LatencyHistogramRecorder.LatencyHistogram;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link LatencyHistogramRecorder} and the recording of
+ * {@link ExchangeTimings} by {@link ExchangeFunctions}.
+ */
+public class LatencyHistogramRecorderTests {
+
+	private final LatencyHistogramRecorder recorder = new LatencyHistogramRecorder();
+
+
+	@Test
+	public void histogramBuckets() {
+		for (long micros = 0; micros < 100_000; micros += 7) {
+			int index = LatencyHistogram.bucketIndex(micros);
+			assertTrue(micros <= LatencyHistogram.bucketUpperBound(index));
+			assertTrue(index == 0 || micros > LatencyHistogram.bucketUpperBound(index - 1));
+		}
+		assertEquals(Long.MAX_VALUE, LatencyHistogram.bucketUpperBound(LatencyHistogram.bucketIndex(Long.MAX_VALUE)));
+	}
+
+	@Test
+	public void histogramPercentiles() {
+		for (int millis = 1; millis <= 100; millis++) {
+			record("/orders/{id}", Duration.ofMillis(millis));
+		}
+		LatencyHistogram histogram = this.recorder.getHistogram("GET http://example.org/orders/{id}", Phase.TOTAL);
+		assertNotNull(histogram);
+		assertEquals(100, histogram.getCount());
+		assertEquals(Duration.ofMillis(100), histogram.getMax());
+		assertEquals(Duration.ofNanos(50_500_000), histogram.getMean());
+		assertWithinPrecision(Duration.ofMillis(50), histogram.getValueAtPercentile(50));
+		assertWithinPrecision(Duration.ofMillis(99), histogram.getValueAtPercentile(99));
+		assertEquals(Duration.ofMillis(100), histogram.getValueAtPercentile(100));
+		assertEquals(0, this.recorder.getHistogram("GET http://example.org/orders/{id}", Phase.BODY_TRANSFER).getCount());
+	}
+
+	@Test
+	public void keysWithoutUriTemplate() {
+		record(null, Duration.ofMillis(1));
+		assertEquals("GET http://example.org/orders/42", this.recorder.getKeys().iterator().next());
+	}
+
+	@Test
+	public void maxKeys() {
+		this.recorder.setMaxKeys(2);
+		record("/a", Duration.ofMillis(1));
+		record("/b", Duration.ofMillis(1));
+		record("/c", Duration.ofMillis(1));
+		record("/d", Duration.ofMillis(1));
+		record("/a", Duration.ofMillis(1));
+		assertEquals(3, this.recorder.getKeys().size());
+		assertEquals(2, this.recorder.getHistogram("GET http://example.org/a", Phase.TOTAL).getCount());
+		assertEquals(2, this.recorder.getHistogram(LatencyHistogramRecorder.OVERFLOW_KEY, Phase.TOTAL).getCount());
+	}
+
+	@Test
+	public void webClientExchange() {
+		List<ExchangeTimings> timings = new ArrayList<>();
+		WebClient client = WebClient.builder()
+				.baseUrl("http://example.org")
+				.clientConnector(connector(HttpStatus.OK, "body"))
+				.exchangeTimingRecorder(timing -> {
+					timings.add(timing);
+					this.recorder.record(timing);
+				})
+				.build();
+
+		Mono<String> result = client.get().uri("/orders/{id}", 42).retrieve().bodyToMono(String.class);
+		StepVerifier.create(result).expectNext("body").verifyComplete();
+
+		assertEquals(1, timings.size());
+		ExchangeTimings timing = timings.get(0);
+		assertEquals("/orders/{id}", timing.getUriTemplate());
+		assertEquals(URI.create("http://example.org/orders/42"), timing.getUrl());
+		assertEquals(Integer.valueOf(200), timing.getStatusCode());
+		assertNull(timing.getError());
+		assertFalse(timing.isCancelled());
+		for (Phase phase : Phase.values()) {
+			assertNotNull(phase.name(), timing.getDuration(phase));
+		}
+		assertEquals(1, this.recorder.getHistogram("GET http://example.org/orders/{id}", Phase.TOTAL).getCount());
+	}
+
+	@Test
+	public void webClientExchangeError() {
+		List<ExchangeTimings> timings = new ArrayList<>();
+		ClientHttpConnector connector = (method, uri, requestCallback) -> Mono.error(new IllegalStateException());
+		WebClient client = WebClient.builder().clientConnector(connector).exchangeTimingRecorder(timings::add).build();
+
+		StepVerifier.create(client.get().uri("http://example.org/orders").exchange())
+				.verifyError(IllegalStateException.class);
+
+		assertEquals(1, timings.size());
+		ExchangeTimings timing = timings.get(0);
+		assertTrue(timing.getError() instanceof IllegalStateException);
+		assertNull(timing.getStatusCode());
+		assertNull(timing.getDuration(Phase.CONNECTION_ACQUISITION));
+		assertNull(timing.getDuration(Phase.TIME_TO_FIRST_BYTE));
+		assertNotNull(timing.getDuration(Phase.TOTAL));
+	}
+
+
+	private void record(String uriTemplate, Duration total) {
+		Map<Phase, Duration> durations = new EnumMap<>(Phase.class);
+		durations.put(Phase.TOTAL, total);
+		this.recorder.record(new ExchangeTimings(HttpMethod.GET, URI.create("http://example.org/orders/42?q=1"),
+				uriTemplate, 200, null, false, durations));
+	}
+
+	private static void assertWithinPrecision(Duration expected, Duration actual) {
+		assertTrue(actual + " < " + expected, actual.compareTo(expected) >= 0);
+		assertTrue(actual + " > 1.25 * " + expected, actual.toNanos() <= expected.toNanos() * 1.25);
+	}
+
+	private static ClientHttpConnector connector(HttpStatus status, String body) {
+		return (method, uri, requestCallback) -> {
+			MockClientHttpResponse response = new MockClientHttpResponse(status);
+			response.setBody(body);
+			return requestCallback.apply(new MockClientHttpRequest(method, uri)).then(Mono.just(response));
+		};
+	}
+
+}
@@ -48,6 +48,7 @@ import org.springframework.http.server.PathContainer;
 import org.springframework.mock.http.server.reactive.test.MockServerHttpRequest;
 import org.springframework.mock.http.server.reactive.test.MockServerHttpResponse;
 import org.springframework.mock.web.test.server.MockServerWebExchange;
+import org.springframework.util.DigestUtils;
 import org.springframework.util.StringUtils;
 import org.springframework.web.reactive.HandlerMapping;
 import org.springframework.web.server.MethodNotAllowedException;
@@ -411,6 +412,53 @@ public class ResourceWebHandlerTests {
 		assertResponseBody(exchange, "h1 { color:red; }");
 	}
 
+	@Test
+	public void getCachedResource() throws Exception {
+		this.handler.setContentCacheMaxLength(1024);
+		MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get(""));
+		setPathWithinHandlerMapping(exchange, "foo.css");
+		this.handler.handle(exchange).block(TIMEOUT);
+
+		HttpHeaders headers = exchange.getResponse().getHeaders();
+		String eTag = headers.getETag();
+		assertEquals("\"" + DigestUtils.md5DigestAsHex("h1 { color:red; }".getBytes(StandardCharsets.UTF_8)) + "\"", eTag);
+		assertEquals(MediaType.parseMediaType("text/css"), headers.getContentType());
+		assertEquals(17, headers.getContentLength());
+		assertEquals(headers.getLastModified() / 1000, resourceLastModifiedDate("test/foo.css") / 1000);
+		assertResponseBody(exchange, "h1 { color:red; }");
+
+		exchange = MockServerWebExchange.from(MockServerHttpRequest.get("").ifNoneMatch(eTag));
+		setPathWithinHandlerMapping(exchange, "foo.css");
+		this.handler.handle(exchange).block(TIMEOUT);
+		assertEquals(HttpStatus.NOT_MODIFIED, exchange.getResponse().getStatusCode());
+	}
+
+	@Test
+	public void getCachedResourceWithRange() {
+		this.handler.setContentCacheMaxLength(1024);
+		for (int i = 0; i < 2; i++) {
+			MockServerHttpRequest request = MockServerHttpRequest.get("").header("Range", "bytes=0-1").build();
+			MockServerWebExchange exchange = MockServerWebExchange.from(request);
+			setPathWithinHandlerMapping(exchange, "foo.txt");
+			this.handler.handle(exchange).block(TIMEOUT);
+
+			assertEquals(HttpStatus.PARTIAL_CONTENT, exchange.getResponse().getStatusCode());
+			assertEquals("bytes 0-1/10", exchange.getResponse().getHeaders().getFirst("Content-Range"));
+			assertResponseBody(exchange, "So");
+		}
+	}
+
+	@Test
+	public void getResourceLargerThanContentCache() {
+		this.handler.setContentCacheMaxLength(10);
+		MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get(""));
+		setPathWithinHandlerMapping(exchange, "foo.css");
+		this.handler.handle(exchange).block(TIMEOUT);
+
+		assertNull(exchange.getResponse().getHeaders().getETag());
+		assertResponseBody(exchange, "h1 { color:red; }");
+	}
+
 	@Test
 	public void directory() {
 		MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get(""));
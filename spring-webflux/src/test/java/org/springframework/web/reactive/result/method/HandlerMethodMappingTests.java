@@ -17,7 +17,9 @@
 package org.springframework.web.reactive.result.method;
 
 import java.lang.reflect.Method;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.Set;
 
 import org.hamcrest.Matchers;
 import org.junit.Before;
@@ -101,6 +103,53 @@ public class HandlerMethodMappingTests {
 		StepVerifier.create(result).expectError(IllegalStateException.class).verify();
 	}
 
+	@Test
+	public void patternMatchByPathPrefix() throws Exception {
+		this.mapping = new PathPrefixHandlerMethodMapping();
+		this.mapping.registerMapping("/foo/{id}", this.handler, this.method1);
+		this.mapping.registerMapping("/bar/{id}", this.handler, this.method2);
+
+		Mono<Object> result = this.mapping.getHandler(MockServerWebExchange.from(MockServerHttpRequest.get("/foo/1")));
+		assertEquals(this.method1, ((HandlerMethod) result.block()).getMethod());
+		result = this.mapping.getHandler(MockServerWebExchange.from(MockServerHttpRequest.get("/bar/1")));
+		assertEquals(this.method2, ((HandlerMethod) result.block()).getMethod());
+		result = this.mapping.getHandler(MockServerWebExchange.from(MockServerHttpRequest.get("/baz/1")));
+		assertNull(result.block());
+	}
+
+	@Test
+	public void getMappingsByPathPrefix() throws Exception {
+		this.mapping = new PathPrefixHandlerMethodMapping();
+		this.mapping.registerMapping("/foo/bar/{id}", this.handler, this.method1);
+		this.mapping.registerMapping("/foo/*", this.handler, this.method1);
+		this.mapping.registerMapping("/baz/**", this.handler, this.method1);
+		this.mapping.registerMapping("/**", this.handler, this.method1);
+
+		assertThat(this.mapping.getMappingRegistry().getMappingsByPathPrefix(PathContainer.parsePath("/foo/bar/1")),
+				Matchers.containsInAnyOrder("/foo/bar/{id}", "/foo/*", "/**"));
+		assertThat(this.mapping.getMappingRegistry().getMappingsByPathPrefix(PathContainer.parsePath("//FOO/bar;a=b/1")),
+				Matchers.containsInAnyOrder("/foo/bar/{id}", "/foo/*", "/**"));
+		assertThat(this.mapping.getMappingRegistry().getMappingsByPathPrefix(PathContainer.parsePath("/baz/1/2")),
+				Matchers.containsInAnyOrder("/baz/**", "/**"));
+		assertThat(this.mapping.getMappingRegistry().getMappingsByPathPrefix(PathContainer.parsePath("/qux")),
+				Matchers.contains("/**"));
+	}
+
+	@Test
+	public void unregisterMappingByPathPrefix() throws Exception {
+		this.mapping = new PathPrefixHandlerMethodMapping();
+		this.mapping.registerMapping("/foo/{id}", this.handler, this.method1);
+		this.mapping.registerMapping("/foo/bar/{id}", this.handler, this.method2);
+
+		this.mapping.unregisterMapping("/foo/{id}");
+		assertThat(this.mapping.getMappingRegistry().getMappingsByPathPrefix(PathContainer.parsePath("/foo/bar/1")),
+				Matchers.contains("/foo/bar/{id}"));
+
+		this.mapping.unregisterMapping("/foo/bar/{id}");
+		assertThat(this.mapping.getMappingRegistry().getMappingsByPathPrefix(PathContainer.parsePath("/foo/bar/1")),
+				Matchers.empty());
+	}
+
 	@Test
 	public void registerMapping() throws Exception {
 		String key1 = "/foo";
@@ -169,6 +218,16 @@ public class HandlerMethodMappingTests {
 
 	}
 
+	private static class PathPrefixHandlerMethodMapping extends MyHandlerMethodMapping {
+
+		private PathPatternParser parser = new PathPatternParser();
+
+		@Override
+		protected Set<PathPattern> getMappingPathPatterns(String key) {
+			return Collections.singleton(this.parser.parse(key));
+		}
+	}
+
 	@Controller
 	private static class MyHandler {
 
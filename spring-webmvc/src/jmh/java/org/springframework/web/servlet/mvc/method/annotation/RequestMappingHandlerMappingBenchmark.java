@@ -0,0 +1,110 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.servlet.mvc.method.annotation;
+
+import java.lang.reflect.Method;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import org.springframework.mock.web.test.MockHttpServletRequest;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.context.support.StaticWebApplicationContext;
+import org.springframework.web.servlet.HandlerExecutionChain;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+
+/**
+ * Benchmarks for the handler lookup in {@link RequestMappingHandlerMapping}
+ * with a configurable number of registered direct and pattern mappings.
+ */
+@BenchmarkMode(Mode.Throughput)
+public class RequestMappingHandlerMappingBenchmark {
+
+	@Benchmark
+	public HandlerExecutionChain lookupDirectPath(BenchmarkState state) throws Exception {
+		return state.handlerMapping.getHandler(state.directRequest);
+	}
+
+	@Benchmark
+	public HandlerExecutionChain lookupPatternPath(BenchmarkState state) throws Exception {
+		return state.handlerMapping.getHandler(state.patternRequest);
+	}
+
+	@Benchmark
+	public HandlerExecutionChain lookupUnmappedPath(BenchmarkState state) throws Exception {
+		return state.handlerMapping.getHandler(state.unmappedRequest);
+	}
+
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		@Param({"100", "3000"})
+		public int mappings;
+
+		public RequestMappingHandlerMapping handlerMapping;
+
+		public MockHttpServletRequest directRequest;
+
+		public MockHttpServletRequest patternRequest;
+
+		public MockHttpServletRequest unmappedRequest;
+
+		@Setup
+		public void setup() throws Exception {
+			StaticWebApplicationContext context = new StaticWebApplicationContext();
+			context.refresh();
+			this.handlerMapping = new RequestMappingHandlerMapping();
+			this.handlerMapping.setApplicationContext(context);
+			this.handlerMapping.afterPropertiesSet();
+
+			Object handler = new Handler();
+			Method method = Handler.class.getMethod("handle");
+			RequestMappingInfo.BuilderConfiguration config = new RequestMappingInfo.BuilderConfiguration();
+			config.setUrlPathHelper(this.handlerMapping.getUrlPathHelper());
+			config.setPathMatcher(this.handlerMapping.getPathMatcher());
+			config.setContentNegotiationManager(this.handlerMapping.getContentNegotiationManager());
+			for (int i = 0; i < this.mappings; i++) {
+				this.handlerMapping.registerMapping(RequestMappingInfo.paths("/api/resource" + i)
+						.methods(RequestMethod.GET).options(config).build(), handler, method);
+				this.handlerMapping.registerMapping(RequestMappingInfo.paths("/api/resource" + i + "/{id}")
+						.methods(RequestMethod.GET).options(config).build(), handler, method);
+				this.handlerMapping.registerMapping(RequestMappingInfo.paths("/api/resource" + i + "/{id}/items/**")
+						.methods(RequestMethod.GET, RequestMethod.POST).options(config).build(), handler, method);
+			}
+
+			int middle = this.mappings / 2;
+			this.directRequest = new MockHttpServletRequest("GET", "/api/resource" + middle);
+			this.patternRequest = new MockHttpServletRequest("GET", "/api/resource" + middle + "/42");
+			this.unmappedRequest = new MockHttpServletRequest("GET", "/api/unknown/42");
+		}
+	}
+
+
+	public static class Handler {
+
+		public String handle() {
+			return "handled";
+		}
+	}
+
+}
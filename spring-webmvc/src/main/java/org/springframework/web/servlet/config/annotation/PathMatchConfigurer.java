@@ -23,6 +23,7 @@ import java.util.function.Predicate;
 import org.springframework.lang.Nullable;
 import org.springframework.util.PathMatcher;
 import org.springframework.web.util.UrlPathHelper;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 /**
  * Helps with configuring HandlerMappings path matching options such as trailing
@@ -57,6 +58,9 @@ public class PathMatchConfigurer {
 	@Nullable
 	private PathMatcher pathMatcher;
 
+	@Nullable
+	private PathPatternParser patternParser;
+
 	@Nullable
 	private Map<String, Predicate<Class<?>>> pathPrefixes;
 
@@ -117,6 +121,21 @@ public class PathMatchConfigurer {
 		return this;
 	}
 
+	/**
+	 * Set the PathPatternParser to use for {@code @RequestMapping} methods,
+	 * matching parsed {@link org.springframework.web.util.pattern.PathPattern
+	 * PathPatterns} against the lookup path parsed once per request, instead of
+	 * using the {@link #setPathMatcher PathMatcher}.
+	 * <p>Suffix pattern matching is not supported with a PathPatternParser,
+	 * and trailing slash matching is configured on the parser itself.
+	 * @since 5.1.1
+	 * @see org.springframework.web.servlet.handler.AbstractHandlerMapping#setPatternParser
+	 */
+	public PathMatchConfigurer setPatternParser(PathPatternParser patternParser) {
+		this.patternParser = patternParser;
+		return this;
+	}
+
 	/**
 	 * Configure a path prefix to apply to matching controller methods.
 	 * <p>Prefixes are used to enrich the mappings of every {@code @RequestMapping}
@@ -162,6 +181,11 @@ public class PathMatchConfigurer {
 		return this.pathMatcher;
 	}
 
+	@Nullable
+	public PathPatternParser getPatternParser() {
+		return this.patternParser;
+	}
+
 	@Nullable
 	protected Map<String, Predicate<Class<?>>> getPathPrefixes() {
 		return this.pathPrefixes;
@@ -20,6 +20,7 @@ import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.BeanFactoryUtils;
 import org.springframework.beans.factory.BeanNameAware;
 import org.springframework.core.Ordered;
+import org.springframework.http.server.PathContainer;
 import org.springframework.lang.Nullable;
 import org.springframework.util.AntPathMatcher;
 import org.springframework.util.Assert;
@@ -31,7 +32,9 @@ import org.springframework.web.cors.*;
 import org.springframework.web.servlet.HandlerExecutionChain;
 import org.springframework.web.servlet.HandlerInterceptor;
 import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ServletRequestPathUtils;
 import org.springframework.web.util.UrlPathHelper;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 import javax.servlet.DispatcherType;
 import javax.servlet.http.HttpServletRequest;
@@ -85,6 +88,10 @@ public abstract class AbstractHandlerMapping extends WebApplicationObjectSupport
      */
 	private PathMatcher pathMatcher = new AntPathMatcher();
 
+	// 路径解析器。若非空，则每个请求解析一次请求路径，并使用 PathPattern 进行匹配
+	@Nullable
+	private PathPatternParser patternParser;
+
     /**
      * 配置的拦截器数组.
      *
@@ -216,6 +223,30 @@ public abstract class AbstractHandlerMapping extends WebApplicationObjectSupport
 		return this.pathMatcher;
 	}
 
+	/**
+	 * Set the PathPatternParser to use for matching URL paths against parsed
+	 * {@link org.springframework.web.util.pattern.PathPattern PathPatterns}
+	 * instead of the {@link #setPathMatcher PathMatcher}, where supported.
+	 * <p>If set, the lookup path is parsed once per request in {@link #getHandler}
+	 * and shared with all pattern matching for the request, including
+	 * {@link MappedInterceptor MappedInterceptors} without a custom PathMatcher.
+	 * <p>By default this is not set.
+	 * @since 5.1.1
+	 * @see ServletRequestPathUtils#parseAndCache
+	 */
+	public void setPatternParser(@Nullable PathPatternParser patternParser) {
+		this.patternParser = patternParser;
+	}
+
+	/**
+	 * Return the PathPatternParser to use for matching URL paths, if any.
+	 * @since 5.1.1
+	 */
+	@Nullable
+	public PathPatternParser getPatternParser() {
+		return this.patternParser;
+	}
+
 	/**
 	 * Set the interceptors to apply for all handlers mapped by this handler mapping.
 	 * <p>Supported interceptor types are HandlerInterceptor, WebRequestInterceptor, and MappedInterceptor.
@@ -473,6 +504,10 @@ public abstract class AbstractHandlerMapping extends WebApplicationObjectSupport
 	@Override
 	@Nullable
 	public final HandlerExecutionChain getHandler(HttpServletRequest request) throws Exception {
+		// <0> 如果使用 PathPattern 匹配，则解析请求路径，缓存到请求中
+		if (this.patternParser != null) {
+			ServletRequestPathUtils.parseAndCache(request, this.urlPathHelper);
+		}
 	    // <1> 获得处理器。该方法是抽象方法，由子类实现
 		Object handler = getHandlerInternal(request);
 		// 】】】<2> 获得不到，则使用默认处理器
@@ -560,14 +595,26 @@ public abstract class AbstractHandlerMapping extends WebApplicationObjectSupport
 		HandlerExecutionChain chain = (handler instanceof HandlerExecutionChain ?
 				(HandlerExecutionChain) handler : new HandlerExecutionChain(handler));
 
-		// 获得请求路径
-		String lookupPath = this.urlPathHelper.getLookupPathForRequest(request);
+		// 获得请求路径。若使用 PathPattern 匹配，则获得解析后的请求路径
+		String lookupPath = null;
+		PathContainer path = (this.patternParser != null && ServletRequestPathUtils.hasParsedRequestPath(request) ?
+				ServletRequestPathUtils.getParsedRequestPath(request) : null);
 		// 遍历 adaptedInterceptors 数组，获得请求匹配的拦截器
 		for (HandlerInterceptor interceptor : this.adaptedInterceptors) {
 		    // 需要匹配，若路径匹配，则添加到 chain 中
 			if (interceptor instanceof MappedInterceptor) {
 				MappedInterceptor mappedInterceptor = (MappedInterceptor) interceptor;
-				if (mappedInterceptor.matches(lookupPath, this.pathMatcher)) { // 匹配
+				boolean matches;
+				if (path != null && this.patternParser != null && mappedInterceptor.getPathMatcher() == null) {
+					matches = mappedInterceptor.matches(path, this.patternParser);
+				}
+				else {
+					if (lookupPath == null) {
+						lookupPath = this.urlPathHelper.getLookupPathForRequest(request);
+					}
+					matches = mappedInterceptor.matches(lookupPath, this.pathMatcher);
+				}
+				if (matches) { // 匹配
 					chain.addInterceptor(mappedInterceptor.getInterceptor());
 				}
             // 无需匹配，直接添加到 chain 中
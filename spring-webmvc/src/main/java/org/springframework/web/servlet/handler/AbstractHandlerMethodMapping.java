@@ -21,14 +21,17 @@ import org.springframework.beans.factory.BeanFactoryUtils;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.core.MethodIntrospector;
 import org.springframework.lang.Nullable;
+import org.springframework.util.AntPathMatcher;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
+import org.springframework.util.StringUtils;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsUtils;
 import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.PathPrefixIndex;
 
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
@@ -404,11 +407,11 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 			// 若匹配成功，则生成 Mapping 记录，添加到 matches 中
 			addMatchingMappings(directPathMatches, matches, request);
 		}
-		// 】】】<1.2> 其次，扫描注册表的 Mapping 们，进行匹配
+		// 】】】<1.2> 其次，扫描注册表中路径前缀可能匹配的 Mapping 们，进行匹配
 		if (matches.isEmpty()) {
 			// 将当前请求和注册表中的 Mapping 进行匹配。
 			// 若匹配成功，则生成 Mapping 记录，添加到 matches 中
-			addMatchingMappings(this.mappingRegistry.getMappings().keySet(), matches, request);
+			addMatchingMappings(this.mappingRegistry.getMappingsByPathPrefix(lookupPath), matches, request);
 		}
 
 		// <2> 如果匹配到，则获取最佳匹配的 Match 对象的 handlerMethod 属性
@@ -531,6 +534,10 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 
 	/**
 	 * Extract and return the URL paths contained in a mapping.
+	 * <p>A mapping with URL paths is expected to match only lookup paths that
+	 * match one of those paths, which allows for narrowing down the mappings
+	 * to check for a request by the literal leading segments of their paths.
+	 * A mapping without URL paths is checked for every request.
 	 */
 	protected abstract Set<String> getMappingPathPatterns(T mapping);
 
@@ -586,6 +593,9 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
          */
 		private final MultiValueMap<String, T> urlLookup = new LinkedMultiValueMap<>();
 
+		// 基于路径前缀的 Mapping 索引。按照 Mapping 的路径中开头的非模式部分，缩小需要匹配的 Mapping 的范围
+		private final PathPrefixIndex<T> pathPrefixIndex = new PathPrefixIndex<>();
+
         /**
          * Mapping 的名字与 HandlerMethod 的映射
          *
@@ -621,6 +631,15 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 			return this.urlLookup.get(urlPath);
 		}
 
+		/**
+		 * Return the mappings that may match the given URL path, based on
+		 * the literal leading segments of their paths. Not thread-safe.
+		 * @see #acquireReadLock()
+		 */
+		public Collection<T> getMappingsByPathPrefix(String urlPath) {
+			return this.pathPrefixIndex.getMappings(urlPath);
+		}
+
 		/**
 		 * Return handler methods by mapping name. Thread-safe for concurrent use.
 		 */
@@ -672,6 +691,10 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 					this.urlLookup.add(url, mapping);
 				}
 
+				// <3.3> 添加 mapping 到路径前缀索引中
+				List<List<String>> pathPrefixes = getPathPrefixes(mapping);
+				this.pathPrefixIndex.add(mapping, pathPrefixes);
+
 				// <4> 初始化 nameLookup
 				String name = null;
 				if (getNamingStrategy() != null) {
@@ -689,7 +712,8 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 				}
 
                 // <6> 创建 MappingRegistration 对象，并 mapping + MappingRegistration 添加到 registry 中
-                this.registry.put(mapping, new MappingRegistration<>(mapping, handlerMethod, directUrls, name));
+                this.registry.put(mapping,
+						new MappingRegistration<>(mapping, handlerMethod, directUrls, pathPrefixes, name));
 			} finally {
                 // 释放写锁
                 this.readWriteLock.writeLock().unlock();
@@ -723,6 +747,26 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 			return urls;
 		}
 
+		// <3.3> 获得 mapping 对应的路径前缀数组
+		private List<List<String>> getPathPrefixes(T mapping) {
+			Set<String> patterns = getMappingPathPatterns(mapping);
+			if (patterns.isEmpty() || !(getPathMatcher() instanceof AntPathMatcher)) {
+				return Collections.singletonList(Collections.emptyList());
+			}
+			List<List<String>> prefixes = new ArrayList<>(patterns.size());
+			for (String pattern : patterns) {
+				List<String> prefix = new ArrayList<>();
+				for (String segment : StringUtils.tokenizeToStringArray(pattern, "/")) {
+					if (segment.indexOf('*') != -1 || segment.indexOf('?') != -1 || segment.indexOf('{') != -1) {
+						break;
+					}
+					prefix.add(segment);
+				}
+				prefixes.add(prefix);
+			}
+			return prefixes;
+		}
+
 		private void addMappingName(String name, HandlerMethod handlerMethod) {
 			// 获得 Mapping 的名字，对应的 HandlerMethod 数组
 		    List<HandlerMethod> oldList = this.nameLookup.get(name);
@@ -772,6 +816,9 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 					}
 				}
 
+				// 从 pathPrefixIndex 移除
+				this.pathPrefixIndex.remove(definition.getMapping(), definition.getPathPrefixes());
+
 				// 从 nameLookup 移除
 				removeMappingName(definition);
 
@@ -829,20 +876,24 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
          */
 		private final List<String> directUrls;
 
+		// 路径前缀数组
+		private final List<List<String>> pathPrefixes;
+
         /**
          * {@link #mapping} 的名字
          */
 		@Nullable
 		private final String mappingName;
 
-		public MappingRegistration(T mapping, HandlerMethod handlerMethod,
-				@Nullable List<String> directUrls, @Nullable String mappingName) {
+		public MappingRegistration(T mapping, HandlerMethod handlerMethod, @Nullable List<String> directUrls,
+				@Nullable List<List<String>> pathPrefixes, @Nullable String mappingName) {
 
 			Assert.notNull(mapping, "Mapping must not be null");
 			Assert.notNull(handlerMethod, "HandlerMethod must not be null");
 			this.mapping = mapping;
 			this.handlerMethod = handlerMethod;
 			this.directUrls = (directUrls != null ? directUrls : Collections.emptyList());
+			this.pathPrefixes = (pathPrefixes != null ? pathPrefixes : Collections.emptyList());
 			this.mappingName = mappingName;
 		}
 
@@ -858,6 +909,10 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 			return this.directUrls;
 		}
 
+		public List<List<String>> getPathPrefixes() {
+			return this.pathPrefixes;
+		}
+
 		@Nullable
 		public String getMappingName() {
 			return this.mappingName;
@@ -16,12 +16,15 @@
 
 package org.springframework.web.servlet.handler;
 
+import org.springframework.http.server.PathContainer;
 import org.springframework.lang.Nullable;
 import org.springframework.util.ObjectUtils;
 import org.springframework.util.PathMatcher;
 import org.springframework.web.context.request.WebRequestInterceptor;
 import org.springframework.web.servlet.HandlerInterceptor;
 import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
@@ -89,6 +92,10 @@ public final class MappedInterceptor implements HandlerInterceptor {
      */
 	private final HandlerInterceptor interceptor;
 
+	// 使用 PathPatternParser 解析后的路径，在第一次匹配时初始化
+	@Nullable
+	private volatile ParsedPatterns parsedPatterns;
+
 	/**
 	 * Create a new MappedInterceptor instance.
 	 * @param includePatterns the path patterns to map (empty for matching to all paths)
@@ -200,6 +207,43 @@ public final class MappedInterceptor implements HandlerInterceptor {
 		return false;
 	}
 
+	/**
+	 * Determine a match for the given parsed lookup path, with the path
+	 * patterns of this interceptor parsed by the given parser.
+	 * <p>Note that a {@link #setPathMatcher custom PathMatcher} is not
+	 * considered here: callers are expected to use
+	 * {@link #matches(String, PathMatcher)} in such a case.
+	 * @param path the current request path, as parsed once per request
+	 * @param patternParser the parser to parse the path patterns with
+	 * @return {@code true} if the interceptor applies to the given request path
+	 * @since 5.1.1
+	 * @see org.springframework.web.util.ServletRequestPathUtils#parseAndCache
+	 */
+	public boolean matches(PathContainer path, PathPatternParser patternParser) {
+		ParsedPatterns patterns = this.parsedPatterns;
+		if (patterns == null || patterns.parser != patternParser) {
+			patterns = new ParsedPatterns(patternParser, this.includePatterns, this.excludePatterns);
+			this.parsedPatterns = patterns;
+		}
+		// 先排重
+		for (PathPattern pattern : patterns.excludePatterns) {
+			if (pattern.matches(path)) {
+				return false;
+			}
+		}
+		// 特殊，如果包含为空，则默认就是包含
+		if (patterns.includePatterns.length == 0) {
+			return true;
+		}
+		// 后包含
+		for (PathPattern pattern : patterns.includePatterns) {
+			if (pattern.matches(path)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	@Override
 	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
 			throws Exception {
@@ -218,4 +262,36 @@ public final class MappedInterceptor implements HandlerInterceptor {
 		this.interceptor.afterCompletion(request, response, handler, ex);
 	}
 
+
+	/**
+	 * Include and exclude patterns parsed by a specific {@link PathPatternParser}.
+	 */
+	private static class ParsedPatterns {
+
+		final PathPatternParser parser;
+
+		final PathPattern[] includePatterns;
+
+		final PathPattern[] excludePatterns;
+
+		ParsedPatterns(PathPatternParser parser, @Nullable String[] includePatterns,
+				@Nullable String[] excludePatterns) {
+
+			this.parser = parser;
+			this.includePatterns = parse(parser, includePatterns);
+			this.excludePatterns = parse(parser, excludePatterns);
+		}
+
+		private static PathPattern[] parse(PathPatternParser parser, @Nullable String[] patterns) {
+			if (ObjectUtils.isEmpty(patterns)) {
+				return new PathPattern[0];
+			}
+			PathPattern[] result = new PathPattern[patterns.length];
+			for (int i = 0; i < patterns.length; i++) {
+				result[i] = parser.parse(patterns[i]);
+			}
+			return result;
+		}
+	}
+
 }
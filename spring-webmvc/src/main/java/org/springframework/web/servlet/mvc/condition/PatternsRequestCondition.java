@@ -16,11 +16,16 @@
 
 package org.springframework.web.servlet.mvc.condition;
 
+import org.springframework.http.server.PathContainer;
 import org.springframework.lang.Nullable;
 import org.springframework.util.AntPathMatcher;
+import org.springframework.util.Assert;
 import org.springframework.util.PathMatcher;
 import org.springframework.util.StringUtils;
+import org.springframework.web.util.ServletRequestPathUtils;
 import org.springframework.web.util.UrlPathHelper;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 import javax.servlet.http.HttpServletRequest;
 import java.util.*;
@@ -64,6 +69,14 @@ public final class PatternsRequestCondition extends AbstractRequestCondition<Pat
      */
 	private final List<String> fileExtensions = new ArrayList<>();
 
+	// 路径解析器。若非空，则使用 PathPattern 进行匹配，而不是 PathMatcher
+	@Nullable
+	private final PathPatternParser patternParser;
+
+	// 路径与解析后的 PathPattern 的映射。仅当 patternParser 非空时存在
+	@Nullable
+	private final Map<String, PathPattern> pathPatterns;
+
 	/**
 	 * Creates a new instance with the given URL patterns.
 	 * Each pattern that is not empty and does not start with "/" is prepended with "/".
@@ -104,6 +117,24 @@ public final class PatternsRequestCondition extends AbstractRequestCondition<Pat
 				useTrailingSlashMatch, fileExtensions);
 	}
 
+	/**
+	 * Creates a new instance with the given URL patterns, to be matched with
+	 * {@link PathPattern PathPatterns} against the lookup path of a request
+	 * as {@link ServletRequestPathUtils#parseAndCache parsed} once per request.
+	 * Each pattern that is not empty and does not start with "/" is pre-pended with "/".
+	 * <p>Trailing slash matching is determined by the given parser, and
+	 * suffix pattern matching is not supported.
+	 * @param patterns the URL patterns to use; if 0, the condition will match to every request.
+	 * @param urlPathHelper a {@link UrlPathHelper} for determining the lookup path for a request
+	 * @param patternParser the parser to parse the URL patterns with
+	 * @since 5.1.1
+	 */
+	public PatternsRequestCondition(String[] patterns, @Nullable UrlPathHelper urlPathHelper,
+			PathPatternParser patternParser) {
+
+		this(Arrays.asList(patterns), urlPathHelper, null, false, false, null, patternParser, null);
+	}
+
 	/**
 	 * Private constructor accepting a collection of patterns.
 	 */
@@ -111,6 +142,19 @@ public final class PatternsRequestCondition extends AbstractRequestCondition<Pat
 			@Nullable PathMatcher pathMatcher, boolean useSuffixPatternMatch,
 			boolean useTrailingSlashMatch, @Nullable List<String> fileExtensions) {
 
+		this(patterns, urlPathHelper, pathMatcher, useSuffixPatternMatch, useTrailingSlashMatch,
+				fileExtensions, null, null);
+	}
+
+	/**
+	 * Private constructor accepting a collection of patterns, and optionally a
+	 * parser for {@link PathPattern} matching along with patterns parsed before.
+	 */
+	private PatternsRequestCondition(Collection<String> patterns, @Nullable UrlPathHelper urlPathHelper,
+			@Nullable PathMatcher pathMatcher, boolean useSuffixPatternMatch,
+			boolean useTrailingSlashMatch, @Nullable List<String> fileExtensions,
+			@Nullable PathPatternParser patternParser, @Nullable Map<String, PathPattern> pathPatterns) {
+
 		this.patterns = Collections.unmodifiableSet(prependLeadingSlash(patterns)); // 保证前缀都有 / 。如果没有，则进行补充
 		this.pathHelper = (urlPathHelper != null ? urlPathHelper : new UrlPathHelper());
 		this.pathMatcher = (pathMatcher != null ? pathMatcher : new AntPathMatcher());
@@ -126,6 +170,21 @@ public final class PatternsRequestCondition extends AbstractRequestCondition<Pat
 				this.fileExtensions.add(fileExtension);
 			}
 		}
+
+		// 初始化 pathPatterns 属性，解析每个路径
+		this.patternParser = patternParser;
+		if (patternParser != null) {
+			if (pathPatterns == null) {
+				pathPatterns = new HashMap<>(this.patterns.size());
+				for (String pattern : this.patterns) {
+					pathPatterns.put(pattern, patternParser.parse(pattern));
+				}
+			}
+			this.pathPatterns = pathPatterns;
+		}
+		else {
+			this.pathPatterns = null;
+		}
 	}
 
 
@@ -144,6 +203,19 @@ public final class PatternsRequestCondition extends AbstractRequestCondition<Pat
 		return this.patterns;
 	}
 
+	/**
+	 * Return the parsed {@link PathPattern} for one of the {@link #getPatterns()
+	 * patterns} of this condition, if it has been created with a
+	 * {@link PathPatternParser}.
+	 * @param pattern one of the patterns of this condition
+	 * @return the parsed pattern, or {@code null} if not parsed
+	 * @since 5.1.1
+	 */
+	@Nullable
+	public PathPattern getPathPattern(String pattern) {
+		return (this.pathPatterns != null ? this.pathPatterns.get(pattern) : null);
+	}
+
 	@Override
 	protected Collection<String> getContent() {
 		return this.patterns;
@@ -159,7 +231,8 @@ public final class PatternsRequestCondition extends AbstractRequestCondition<Pat
 	 * the "other" instance as follows:
 	 * <ul>
 	 * <li>If there are patterns in both instances, combine the patterns in "this" with
-	 * the patterns in "other" using {@link PathMatcher#combine(String, String)}.
+	 * the patterns in "other" using {@link PathMatcher#combine(String, String)},
+	 * or {@link PathPattern#combine(PathPattern)} if created with a {@link PathPatternParser}.
 	 * <li>If only one instance has patterns, use them.
 	 * <li>If neither instance has patterns, use an empty String (i.e. "").
 	 * </ul>
@@ -170,7 +243,13 @@ public final class PatternsRequestCondition extends AbstractRequestCondition<Pat
 		if (!this.patterns.isEmpty() && !other.patterns.isEmpty()) {
 			for (String pattern1 : this.patterns) {
 				for (String pattern2 : other.patterns) {
-					result.add(this.pathMatcher.combine(pattern1, pattern2));
+					if (this.pathPatterns != null && other.pathPatterns != null) {
+						result.add(this.pathPatterns.get(pattern1).combine(
+								other.pathPatterns.get(pattern2)).getPatternString());
+					}
+					else {
+						result.add(this.pathMatcher.combine(pattern1, pattern2));
+					}
 				}
 			}
 		}
@@ -184,7 +263,8 @@ public final class PatternsRequestCondition extends AbstractRequestCondition<Pat
 			result.add("");
 		}
 		return new PatternsRequestCondition(result, this.pathHelper, this.pathMatcher,
-				this.useSuffixPatternMatch, this.useTrailingSlashMatch, this.fileExtensions);
+				this.useSuffixPatternMatch, this.useTrailingSlashMatch, this.fileExtensions,
+				this.patternParser, null);
 	}
 
 	/**
@@ -210,6 +290,13 @@ public final class PatternsRequestCondition extends AbstractRequestCondition<Pat
 	    if (this.patterns.isEmpty()) {
 			return this;
 		}
+		// 使用 PathPattern 匹配解析后的请求路径。每个请求仅解析一次，被所有 Mapping 共享
+		if (this.pathPatterns != null) {
+			PathContainer path = (ServletRequestPathUtils.hasParsedRequestPath(request) ?
+					ServletRequestPathUtils.getParsedRequestPath(request) :
+					ServletRequestPathUtils.parseAndCache(request, this.pathHelper));
+			return getMatchingCondition(path);
+		}
         // 获得请求的路径
 		String lookupPath = this.pathHelper.getLookupPathForRequest(request);
 	    // 执行匹配
@@ -231,6 +318,10 @@ public final class PatternsRequestCondition extends AbstractRequestCondition<Pat
 	 * @return a collection of matching patterns sorted with the closest match at the top
 	 */
 	public List<String> getMatchingPatterns(String lookupPath) {
+		if (this.pathPatterns != null) {
+			PatternsRequestCondition match = getMatchingCondition(ServletRequestPathUtils.parsePath(lookupPath));
+			return (match != null ? new ArrayList<>(match.patterns) : Collections.emptyList());
+		}
 		List<String> matches = new ArrayList<>();
 		// 遍历 patterns 数组，逐个匹配
 		for (String pattern : this.patterns) {
@@ -247,6 +338,34 @@ public final class PatternsRequestCondition extends AbstractRequestCondition<Pat
 		return matches;
 	}
 
+	@Nullable
+	private PatternsRequestCondition getMatchingCondition(PathContainer path) {
+		Assert.state(this.pathPatterns != null, "No PathPatterns");
+		List<PathPattern> matches = null;
+		for (String pattern : this.patterns) {
+			PathPattern pathPattern = this.pathPatterns.get(pattern);
+			if (pathPattern.matches(path)) {
+				if (matches == null) {
+					matches = new ArrayList<>(1);
+				}
+				matches.add(pathPattern);
+			}
+		}
+		if (matches == null) {
+			return null;
+		}
+		if (matches.size() > 1) {
+			matches.sort(PathPattern.SPECIFICITY_COMPARATOR);
+		}
+		Map<String, PathPattern> matchingPatterns = new LinkedHashMap<>(matches.size());
+		for (PathPattern match : matches) {
+			matchingPatterns.put(match.getPatternString(), match);
+		}
+		return new PatternsRequestCondition(matchingPatterns.keySet(), this.pathHelper, this.pathMatcher,
+				this.useSuffixPatternMatch, this.useTrailingSlashMatch, this.fileExtensions,
+				this.patternParser, matchingPatterns);
+	}
+
 	@Nullable
 	private String getMatchingPattern(String pattern, String lookupPath) {
 		// 相等，直接返回
@@ -297,10 +416,19 @@ public final class PatternsRequestCondition extends AbstractRequestCondition<Pat
 	@SuppressWarnings("Duplicates")
     @Override
 	public int compareTo(PatternsRequestCondition other, HttpServletRequest request) {
-	    // 获得请求的路径
-		String lookupPath = this.pathHelper.getLookupPathForRequest(request);
-		// 获得路径 Comparator 比较器
-		Comparator<String> patternComparator = this.pathMatcher.getPatternComparator(lookupPath);
+		// 获得路径 Comparator 比较器。若有 PathPattern，则按照 PathPattern 的具体程度比较
+		Comparator<String> patternComparator;
+		if (this.pathPatterns != null && other.pathPatterns != null) {
+			Map<String, PathPattern> pathPatterns = this.pathPatterns;
+			Map<String, PathPattern> otherPathPatterns = other.pathPatterns;
+			patternComparator = (pattern, otherPattern) -> PathPattern.SPECIFICITY_COMPARATOR.compare(
+					pathPatterns.get(pattern), otherPathPatterns.get(otherPattern));
+		}
+		else {
+		    // 获得请求的路径
+			String lookupPath = this.pathHelper.getLookupPathForRequest(request);
+			patternComparator = this.pathMatcher.getPatternComparator(lookupPath);
+		}
 		// 获得当前和 other 的迭代器
 		Iterator<String> iterator = this.patterns.iterator();
 		Iterator<String> iteratorOther = other.patterns.iterator();
@@ -24,6 +24,7 @@ import org.springframework.web.accept.ContentNegotiationManager;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.servlet.mvc.condition.*;
 import org.springframework.web.util.UrlPathHelper;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 import javax.servlet.http.HttpServletRequest;
 import java.util.List;
@@ -541,10 +542,13 @@ public final class RequestMappingInfo implements RequestCondition<RequestMapping
 		public RequestMappingInfo build() {
 			ContentNegotiationManager manager = this.options.getContentNegotiationManager();
 
-			PatternsRequestCondition patternsCondition = new PatternsRequestCondition(
-					this.paths, this.options.getUrlPathHelper(), this.options.getPathMatcher(),
-					this.options.useSuffixPatternMatch(), this.options.useTrailingSlashMatch(),
-					this.options.getFileExtensions());
+			PathPatternParser patternParser = this.options.getPatternParser();
+			PatternsRequestCondition patternsCondition = (patternParser != null ?
+					new PatternsRequestCondition(this.paths, this.options.getUrlPathHelper(), patternParser) :
+					new PatternsRequestCondition(
+							this.paths, this.options.getUrlPathHelper(), this.options.getPathMatcher(),
+							this.options.useSuffixPatternMatch(), this.options.useTrailingSlashMatch(),
+							this.options.getFileExtensions()));
 
 			return new RequestMappingInfo(this.mappingName, patternsCondition,
 					new RequestMethodsRequestCondition(this.methods),
@@ -572,6 +576,9 @@ public final class RequestMappingInfo implements RequestCondition<RequestMapping
 		@Nullable
 		private PathMatcher pathMatcher;
 
+		@Nullable
+		private PathPatternParser patternParser;
+
 		private boolean trailingSlashMatch = true;
 
 		private boolean suffixPatternMatch = true;
@@ -614,6 +621,29 @@ public final class RequestMappingInfo implements RequestCondition<RequestMapping
 			return this.pathMatcher;
 		}
 
+		/**
+		 * Set a PathPatternParser to parse the patterns of the
+		 * PatternsRequestCondition with, for matching with parsed
+		 * {@link org.springframework.web.util.pattern.PathPattern PathPatterns}
+		 * instead of the {@link #setPathMatcher PathMatcher}.
+		 * <p>By default this is not set. If set, the suffix pattern and trailing
+		 * slash options do not apply: trailing slash matching is configured on the
+		 * parser instead, and suffix pattern matching is not supported.
+		 * @since 5.1.1
+		 */
+		public void setPatternParser(@Nullable PathPatternParser patternParser) {
+			this.patternParser = patternParser;
+		}
+
+		/**
+		 * Return the PathPatternParser to use for the PatternsRequestCondition, if any.
+		 * @since 5.1.1
+		 */
+		@Nullable
+		public PathPatternParser getPatternParser() {
+			return this.patternParser;
+		}
+
 		/**
 		 * Set whether to apply trailing slash matching in PatternsRequestCondition.
 		 * <p>By default this is set to 'true'.
@@ -20,6 +20,7 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.InvalidMediaTypeException;
 import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.MultiValueMap;
 import org.springframework.util.StringUtils;
@@ -32,7 +33,9 @@ import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.servlet.HandlerMapping;
 import org.springframework.web.servlet.handler.AbstractHandlerMethodMapping;
 import org.springframework.web.servlet.mvc.condition.NameValueExpression;
+import org.springframework.web.util.ServletRequestPathUtils;
 import org.springframework.web.util.WebUtils;
+import org.springframework.web.util.pattern.PathPattern;
 
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
@@ -113,19 +116,43 @@ public abstract class RequestMappingInfoHandlerMapping extends AbstractHandlerMe
 		// 获得 bestPattern 和 uriVariables
 		String bestPattern; // 最佳路径
 		Map<String, String> uriVariables; // 路径上的变量集合
+		Map<String, MultiValueMap<String, String>> matrixVars = null; // 路径上的矩阵变量集合
 		Set<String> patterns = info.getPatternsCondition().getPatterns();
 		if (patterns.isEmpty()) {
 			bestPattern = lookupPath;
 			uriVariables = Collections.emptyMap();
 		} else {
 			bestPattern = patterns.iterator().next();
-			uriVariables = getPathMatcher().extractUriTemplateVariables(bestPattern, lookupPath);
+			// 若使用 PathPattern 匹配，则从解析后的请求路径中提取变量
+			PathPattern pathPattern = info.getPatternsCondition().getPathPattern(bestPattern);
+			PathPattern.PathMatchInfo matchInfo = null;
+			if (pathPattern != null) {
+				PathContainer path = (ServletRequestPathUtils.hasParsedRequestPath(request) ?
+						ServletRequestPathUtils.getParsedRequestPath(request) :
+						ServletRequestPathUtils.parseAndCache(request, getUrlPathHelper()));
+				matchInfo = pathPattern.matchAndExtract(path);
+			}
+			if (matchInfo != null) {
+				uriVariables = new LinkedHashMap<>(matchInfo.getUriVariables());
+				matrixVars = matchInfo.getMatrixVariables();
+			}
+			else {
+				uriVariables = getPathMatcher().extractUriTemplateVariables(bestPattern, lookupPath);
+			}
 		}
 		request.setAttribute(BEST_MATCHING_PATTERN_ATTRIBUTE, bestPattern);
 
 		// 设置 MATRIX_VARIABLES_ATTRIBUTE 属性，到请求中
 		if (isMatrixVariableContentAvailable()) {
-			Map<String, MultiValueMap<String, String>> matrixVars = extractMatrixVariables(request, uriVariables);
+			if (matrixVars == null) {
+				matrixVars = extractMatrixVariables(request, uriVariables);
+			}
+			else {
+				Map<String, MultiValueMap<String, String>> decodedMatrixVars = new LinkedHashMap<>();
+				matrixVars.forEach((key, vars) ->
+						decodedMatrixVars.put(key, getUrlPathHelper().decodeMatrixVariables(request, vars)));
+				matrixVars = decodedMatrixVars;
+			}
 			request.setAttribute(HandlerMapping.MATRIX_VARIABLES_ATTRIBUTE, matrixVars);
 		}
 
@@ -36,6 +36,7 @@ import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.core.env.ConfigurableEnvironment;
 import org.springframework.core.env.DummyEnvironment;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.PathContainer;
 import org.springframework.mock.web.test.MockHttpServletRequest;
 import org.springframework.mock.web.test.MockHttpServletResponse;
 import org.springframework.mock.web.test.MockServletConfig;
@@ -56,7 +57,9 @@ import org.springframework.web.servlet.handler.SimpleMappingExceptionResolver;
 import org.springframework.web.servlet.handler.SimpleUrlHandlerMapping;
 import org.springframework.web.servlet.mvc.Controller;
 import org.springframework.web.servlet.view.InternalResourceViewResolver;
+import org.springframework.web.util.ServletRequestPathUtils;
 import org.springframework.web.util.WebUtils;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 import static org.hamcrest.CoreMatchers.*;
 import static org.junit.Assert.*;
@@ -675,6 +678,33 @@ public class DispatcherServletTests {
 		assertSame(wac, request.getAttribute(DispatcherServlet.WEB_APPLICATION_CONTEXT_ATTRIBUTE));
 	}
 
+	@Test
+	public void parsedRequestPathRestoredAfterInclude() throws Exception {
+		StaticWebApplicationContext wac = new StaticWebApplicationContext();
+		wac.setServletContext(getServletContext());
+		wac.registerSingleton("pathController", ParsedRequestPathController.class);
+		MutablePropertyValues pvs = new MutablePropertyValues();
+		pvs.add("mappings", "/form.do=pathController");
+		pvs.add("patternParser", new PathPatternParser());
+		wac.registerSingleton("pathMapping", SimpleUrlHandlerMapping.class, pvs);
+		wac.refresh();
+
+		DispatcherServlet servlet = new DispatcherServlet(wac);
+		servlet.setCleanupAfterInclude(false);
+		servlet.init(new MockServletConfig(getServletContext(), "path"));
+
+		MockHttpServletRequest request = new MockHttpServletRequest(getServletContext(), "GET", "/main.do");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		PathContainer mainPath = ServletRequestPathUtils.parsePath("/main.do");
+		ServletRequestPathUtils.setParsedRequestPath(mainPath, request);
+
+		request.setAttribute(WebUtils.INCLUDE_REQUEST_URI_ATTRIBUTE, "/form.do");
+		servlet.service(request, response);
+
+		assertEquals("/form.do", request.getAttribute("parsedRequestPath"));
+		assertSame(mainPath, ServletRequestPathUtils.getParsedRequestPath(request));
+	}
+
 	@Test
 	public void servletHandlerAdapter() throws Exception {
 		MockHttpServletRequest request = new MockHttpServletRequest(getServletContext(), "GET", "/servlet.do");
@@ -880,6 +910,16 @@ public class DispatcherServletTests {
 	}
 
 
+	public static class ParsedRequestPathController implements Controller {
+
+		@Override
+		public ModelAndView handleRequest(HttpServletRequest request, HttpServletResponse response) {
+			request.setAttribute("parsedRequestPath", ServletRequestPathUtils.getParsedRequestPath(request).value());
+			return null;
+		}
+	}
+
+
 	private static class TestWebContextInitializer
 			implements ApplicationContextInitializer<ConfigurableWebApplicationContext> {
 
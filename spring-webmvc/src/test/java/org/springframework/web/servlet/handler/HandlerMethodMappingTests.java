@@ -17,8 +17,12 @@
 package org.springframework.web.servlet.handler;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
@@ -32,6 +36,7 @@ import org.springframework.mock.web.test.MockHttpServletRequest;
 import org.springframework.stereotype.Controller;
 import org.springframework.util.AntPathMatcher;
 import org.springframework.util.PathMatcher;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.context.support.StaticWebApplicationContext;
 import org.springframework.web.cors.CorsConfiguration;
@@ -41,6 +46,7 @@ import org.springframework.web.util.UrlPathHelper;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 
 /**
@@ -102,6 +108,69 @@ public class HandlerMethodMappingTests {
 		this.mapping.getHandlerInternal(new MockHttpServletRequest("GET", "/foo"));
 	}
 
+	@Test
+	public void patternMatchByPathPrefix() throws Exception {
+		this.mapping = new PathPrefixHandlerMethodMapping();
+		this.mapping.registerMapping("/foo/{id}", this.handler, this.method1);
+		this.mapping.registerMapping("/bar/{id}", this.handler, this.method2);
+
+		HandlerMethod result = this.mapping.getHandlerInternal(new MockHttpServletRequest("GET", "/foo/1"));
+		assertEquals(method1, result.getMethod());
+		result = this.mapping.getHandlerInternal(new MockHttpServletRequest("GET", "/bar/1"));
+		assertEquals(method2, result.getMethod());
+		assertNull(this.mapping.getHandlerInternal(new MockHttpServletRequest("GET", "/baz/1")));
+	}
+
+	@Test
+	public void getMappingsByPathPrefix() throws Exception {
+		this.mapping = new PathPrefixHandlerMethodMapping();
+		this.mapping.registerMapping("/foo/bar/{id}", this.handler, this.method1);
+		this.mapping.registerMapping("/foo/*", this.handler, this.method1);
+		this.mapping.registerMapping("/foo/bar", this.handler, this.method1);
+		this.mapping.registerMapping("/baz/**", this.handler, this.method1);
+		this.mapping.registerMapping("/**", this.handler, this.method1);
+
+		assertEquals(new HashSet<>(Arrays.asList("/foo/bar/{id}", "/foo/*", "/foo/bar", "/**")),
+				new HashSet<>(this.mapping.getMappingRegistry().getMappingsByPathPrefix("/foo/bar/1")));
+		assertEquals(new HashSet<>(Arrays.asList("/foo/bar/{id}", "/foo/*", "/foo/bar", "/**")),
+				new HashSet<>(this.mapping.getMappingRegistry().getMappingsByPathPrefix("//FOO/ Bar /1")));
+		assertEquals(new HashSet<>(Arrays.asList("/foo/bar/{id}", "/foo/*", "/foo/bar", "/**")),
+				new HashSet<>(this.mapping.getMappingRegistry().getMappingsByPathPrefix("/foo/bar.json")));
+		assertEquals(new HashSet<>(Arrays.asList("/foo/*", "/**")),
+				new HashSet<>(this.mapping.getMappingRegistry().getMappingsByPathPrefix("/foo/baz")));
+		assertEquals(new HashSet<>(Arrays.asList("/baz/**", "/**")),
+				new HashSet<>(this.mapping.getMappingRegistry().getMappingsByPathPrefix("/baz/1/2")));
+		assertEquals(Collections.singletonList("/**"),
+				new ArrayList<>(this.mapping.getMappingRegistry().getMappingsByPathPrefix("/qux")));
+	}
+
+	@Test
+	public void getMappingsByPathPrefixWithMultiplePatterns() throws Exception {
+		this.mapping = new PathPrefixHandlerMethodMapping();
+		this.mapping.registerMapping("/foo/**,/foo/bar/*", this.handler, this.method1);
+
+		Collection<String> mappings = this.mapping.getMappingRegistry().getMappingsByPathPrefix("/foo/bar/1");
+		assertEquals(Collections.singletonList("/foo/**,/foo/bar/*"), new ArrayList<>(mappings));
+
+		HandlerMethod result = this.mapping.getHandlerInternal(new MockHttpServletRequest("GET", "/foo/bar/1"));
+		assertEquals(method1, result.getMethod());
+	}
+
+	@Test
+	public void unregisterMappingByPathPrefix() throws Exception {
+		this.mapping = new PathPrefixHandlerMethodMapping();
+		this.mapping.registerMapping("/foo/{id}", this.handler, this.method1);
+		this.mapping.registerMapping("/foo/bar/{id}", this.handler, this.method2);
+
+		this.mapping.unregisterMapping("/foo/{id}");
+		assertEquals(Collections.singletonList("/foo/bar/{id}"),
+				new ArrayList<>(this.mapping.getMappingRegistry().getMappingsByPathPrefix("/foo/bar/1")));
+
+		this.mapping.unregisterMapping("/foo/bar/{id}");
+		assertTrue(this.mapping.getMappingRegistry().getMappingsByPathPrefix("/foo/bar/1").isEmpty());
+		assertNull(this.mapping.getHandlerInternal(new MockHttpServletRequest("GET", "/foo/bar/1")));
+	}
+
 	@Test
 	public void detectHandlerMethodsInAncestorContexts() {
 		StaticApplicationContext cxt = new StaticApplicationContext();
@@ -290,6 +359,31 @@ public class HandlerMethodMappingTests {
 
 	}
 
+	/**
+	 * Reports all patterns of a comma-separated mapping, making it eligible
+	 * for the path prefix index.
+	 */
+	private static class PathPrefixHandlerMethodMapping extends MyHandlerMethodMapping {
+
+		private PathMatcher pathMatcher = new AntPathMatcher();
+
+		@Override
+		protected Set<String> getMappingPathPatterns(String key) {
+			return StringUtils.commaDelimitedListToSet(key);
+		}
+
+		@Override
+		protected String getMatchingMapping(String key, HttpServletRequest request) {
+			String lookupPath = getUrlPathHelper().getLookupPathForRequest(request);
+			for (String pattern : getMappingPathPatterns(key)) {
+				if (this.pathMatcher.match(pattern, lookupPath)) {
+					return key;
+				}
+			}
+			return null;
+		}
+	}
+
 	private static class SimpleMappingNamingStrategy implements HandlerMethodMappingNamingStrategy<String> {
 
 		@Override
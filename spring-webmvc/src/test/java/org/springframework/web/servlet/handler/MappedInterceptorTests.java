@@ -23,11 +23,13 @@ import javax.servlet.http.HttpServletResponse;
 import org.junit.Before;
 import org.junit.Test;
 
+import org.springframework.http.server.PathContainer;
 import org.springframework.util.AntPathMatcher;
 import org.springframework.util.PathMatcher;
 import org.springframework.web.servlet.HandlerInterceptor;
 import org.springframework.web.servlet.ModelAndView;
 import org.springframework.web.servlet.i18n.LocaleChangeInterceptor;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 import static org.junit.Assert.*;
 import static org.mockito.BDDMockito.*;
@@ -76,6 +78,19 @@ public class MappedInterceptorTests {
 		assertFalse(mappedInterceptor.matches("/admin/foo", pathMatcher));
 	}
 
+	@Test
+	public void includeAndExcludePathPatterns() {
+		PathPatternParser parser = new PathPatternParser();
+		MappedInterceptor mappedInterceptor = new MappedInterceptor(
+				new String[] { "/**" }, new String[] { "/admin/**" }, this.interceptor);
+
+		assertTrue(mappedInterceptor.matches(PathContainer.parsePath("/foo"), parser));
+		assertFalse(mappedInterceptor.matches(PathContainer.parsePath("/admin/foo"), parser));
+
+		mappedInterceptor = new MappedInterceptor(null, null, this.interceptor);
+		assertTrue(mappedInterceptor.matches(PathContainer.parsePath("/foo"), parser));
+	}
+
 	@Test
 	public void includeAndExcludePatterns() {
 		MappedInterceptor mappedInterceptor = new MappedInterceptor(
@@ -17,12 +17,15 @@
 package org.springframework.web.servlet.mvc.condition;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import javax.servlet.http.HttpServletRequest;
 
 import org.junit.Test;
 
 import org.springframework.mock.web.test.MockHttpServletRequest;
+import org.springframework.web.util.ServletRequestPathUtils;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 import static org.junit.Assert.*;
 
@@ -212,4 +215,87 @@ public class PatternsRequestConditionTests {
 		assertEquals(1, match1.compareTo(match2, request));
 	}
 
+	@Test
+	public void matchPathPatterns() {
+		PatternsRequestCondition condition = pathPatternCondition("/**", "/foo/bar", "/foo/*", "/bar/*");
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/foo/bar");
+		PatternsRequestCondition match = condition.getMatchingCondition(request);
+
+		assertNotNull(match);
+		assertEquals(Arrays.asList("/foo/bar", "/foo/*", "/**"), Arrays.asList(match.getPatterns().toArray()));
+		assertNotNull(match.getPathPattern("/foo/*"));
+		assertTrue(ServletRequestPathUtils.hasParsedRequestPath(request));
+
+		condition = pathPatternCondition("/foo/bar", "/foo/*");
+		assertNull(condition.getMatchingCondition(new MockHttpServletRequest("GET", "/bar")));
+	}
+
+	@Test
+	public void matchPathPatternsTrailingSlash() {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/foo/");
+
+		PatternsRequestCondition match = pathPatternCondition("/foo").getMatchingCondition(request);
+		assertNotNull(match);
+		assertEquals("/foo", match.getPatterns().iterator().next());
+
+		PathPatternParser parser = new PathPatternParser();
+		parser.setMatchOptionalTrailingSeparator(false);
+		request = new MockHttpServletRequest("GET", "/foo/");
+		assertNull(new PatternsRequestCondition(new String[] {"/foo"}, null, parser).getMatchingCondition(request));
+	}
+
+	@Test
+	public void matchPathPatternsWithoutSuffixPattern() {
+		PatternsRequestCondition condition = pathPatternCondition("/{foo}");
+
+		assertNull(condition.getMatchingCondition(new MockHttpServletRequest("GET", "/foo.html/bar")));
+		PatternsRequestCondition match = condition.getMatchingCondition(new MockHttpServletRequest("GET", "/foo.html"));
+		assertNotNull(match);
+		assertEquals("/{foo}", match.getPatterns().iterator().next());
+	}
+
+	@Test
+	public void matchPathPatternsWithEncodedPath() {
+		PatternsRequestCondition condition = pathPatternCondition("/foo bar", "/foo%20bar");
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/foo%20bar");
+		PatternsRequestCondition match = condition.getMatchingCondition(request);
+
+		assertNotNull(match);
+		assertEquals(Collections.singleton("/foo bar"), match.getPatterns());
+	}
+
+	@Test
+	public void combinePathPatterns() {
+		PatternsRequestCondition c1 = pathPatternCondition("/t1", "/t2/**");
+		PatternsRequestCondition c2 = pathPatternCondition("/m1", "/{m2}");
+		PatternsRequestCondition combined = c1.combine(c2);
+
+		assertEquals(new PatternsRequestCondition("/t1/m1", "/t1/{m2}", "/t2/**/m1", "/t2/**/{m2}"), combined);
+		assertNotNull(combined.getPathPattern("/t2/**/{m2}"));
+		assertNotNull(combined.getMatchingCondition(new MockHttpServletRequest("GET", "/t2/a/b")));
+	}
+
+	@Test
+	public void comparePathPatternSpecificity() {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/foo");
+		PatternsRequestCondition c1 = pathPatternCondition("/fo*");
+		PatternsRequestCondition c2 = pathPatternCondition("/foo");
+
+		assertEquals(1, c1.compareTo(c2, request));
+		assertEquals(-1, c2.compareTo(c1, request));
+	}
+
+	@Test
+	public void getMatchingPathPatterns() {
+		PatternsRequestCondition condition = pathPatternCondition("/**", "/foo/{id}", "/foo/*");
+
+		assertEquals(Arrays.asList("/foo/{id}", "/foo/*", "/**"), condition.getMatchingPatterns("/foo/bar"));
+		assertEquals(Collections.singletonList("/**"), condition.getMatchingPatterns("/bar"));
+	}
+
+
+	private PatternsRequestCondition pathPatternCondition(String... patterns) {
+		return new PatternsRequestCondition(patterns, null, new PathPatternParser());
+	}
+
 }
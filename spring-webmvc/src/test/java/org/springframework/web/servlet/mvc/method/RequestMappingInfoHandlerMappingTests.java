@@ -58,6 +58,7 @@ import org.springframework.web.servlet.mvc.condition.PatternsRequestCondition;
 import org.springframework.web.servlet.mvc.condition.ProducesRequestCondition;
 import org.springframework.web.servlet.mvc.condition.RequestMethodsRequestCondition;
 import org.springframework.web.util.UrlPathHelper;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 import static org.hamcrest.Matchers.*;
 import static org.junit.Assert.*;
@@ -265,6 +266,43 @@ public class RequestMappingInfoHandlerMappingTests {
 		assertEquals("2", uriVariables.get("path2"));
 	}
 
+	@Test
+	public void handleMatchUriTemplateVariablesWithPathPatternParser() {
+		RequestMappingInfo.BuilderConfiguration config = new RequestMappingInfo.BuilderConfiguration();
+		config.setPatternParser(new PathPatternParser());
+		RequestMappingInfo key = RequestMappingInfo.paths("/{path1}/{path2}").options(config).build();
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/1/a%20b");
+		String lookupPath = new UrlPathHelper().getLookupPathForRequest(request);
+		this.handlerMapping.handleMatch(key, lookupPath, request);
+
+		Map<String, String> uriVariables = getUriTemplateVariables(request);
+		assertNotNull(uriVariables);
+		assertEquals("1", uriVariables.get("path1"));
+		assertEquals("a b", uriVariables.get("path2"));
+		assertEquals("/{path1}/{path2}", request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE));
+	}
+
+	@Test
+	public void handleMatchMatrixVariablesWithPathPatternParser() {
+		UrlPathHelper urlPathHelper = new UrlPathHelper();
+		urlPathHelper.setUrlDecode(false);
+		urlPathHelper.setRemoveSemicolonContent(false);
+		this.handlerMapping.setUrlPathHelper(urlPathHelper);
+
+		RequestMappingInfo.BuilderConfiguration config = new RequestMappingInfo.BuilderConfiguration();
+		config.setPatternParser(new PathPatternParser());
+		RequestMappingInfo key = RequestMappingInfo.paths("/{cars}").options(config).build();
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/cars;colors=red,blue;mvar=a%2Fb");
+		String lookupPath = urlPathHelper.getLookupPathForRequest(request);
+		this.handlerMapping.handleMatch(key, lookupPath, request);
+
+		MultiValueMap<String, String> matrixVariables = getMatrixVariables(request, "cars");
+		assertNotNull(matrixVariables);
+		assertEquals(Arrays.asList("red", "blue"), matrixVariables.get("colors"));
+		assertEquals(Collections.singletonList("a/b"), matrixVariables.get("mvar"));
+		assertEquals("cars", getUriTemplateVariables(request).get("cars"));
+	}
+
 	@SuppressWarnings("unchecked")
 	@Test  // SPR-9098
 	public void handleMatchUriTemplateVariablesDecode() {
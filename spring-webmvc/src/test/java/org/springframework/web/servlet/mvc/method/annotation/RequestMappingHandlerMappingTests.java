@@ -33,6 +33,7 @@ import org.junit.Test;
 
 import org.springframework.core.annotation.AliasFor;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.test.MockHttpServletRequest;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.accept.ContentNegotiationManager;
 import org.springframework.web.accept.PathExtensionContentNegotiationStrategy;
@@ -45,8 +46,13 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.context.support.StaticWebApplicationContext;
+import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.method.HandlerTypePredicate;
+import org.springframework.web.servlet.HandlerExecutionChain;
+import org.springframework.web.servlet.HandlerMapping;
 import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.util.ServletRequestPathUtils;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
@@ -153,6 +159,47 @@ public class RequestMappingHandlerMappingTests {
 		assertEquals(Collections.singleton("/api/user/{id}"), info.getPatternsCondition().getPatterns());
 	}
 
+	@Test
+	public void pathPatternParser() throws Exception {
+		this.wac.registerSingleton("userController", UserController.class);
+		this.wac.refresh();
+		this.handlerMapping.setPatternParser(new PathPatternParser());
+		this.handlerMapping.setPathPrefixes(Collections.singletonMap(
+				"/api", HandlerTypePredicate.forAnnotation(RestController.class)));
+		this.handlerMapping.afterPropertiesSet();
+
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/user/42");
+		HandlerExecutionChain chain = this.handlerMapping.getHandler(request);
+
+		assertNotNull(chain);
+		assertEquals(UserController.class.getMethod("getUser"), ((HandlerMethod) chain.getHandler()).getMethod());
+		assertTrue(ServletRequestPathUtils.hasParsedRequestPath(request));
+		assertEquals("/api/user/{id}", request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE));
+		assertEquals(Collections.singletonMap("id", "42"),
+				request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE));
+
+		assertNull(this.handlerMapping.getHandler(new MockHttpServletRequest("GET", "/api/user/42/orders")));
+	}
+
+	@Test
+	public void pathPatternParserWithSemicolonContent() throws Exception {
+		this.wac.registerSingleton("userController", UserController.class);
+		this.wac.refresh();
+		this.handlerMapping.setPatternParser(new PathPatternParser());
+		this.handlerMapping.setRemoveSemicolonContent(false);
+		this.handlerMapping.setPathPrefixes(Collections.singletonMap(
+				"/api", HandlerTypePredicate.forAnnotation(RestController.class)));
+		this.handlerMapping.afterPropertiesSet();
+
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api;version=1/user;color=red/42");
+		HandlerExecutionChain chain = this.handlerMapping.getHandler(request);
+
+		assertNotNull(chain);
+		assertEquals(UserController.class.getMethod("getUser"), ((HandlerMethod) chain.getHandler()).getMethod());
+		assertEquals(Collections.singletonMap("id", "42"),
+				request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE));
+	}
+
 	@Test
 	public void resolveRequestMappingViaComposedAnnotation() throws Exception {
 		RequestMappingInfo info = assertComposedAnnotationMapping("postJson", "/postJson", RequestMethod.POST);